@@ -20,6 +20,10 @@
 
 package net.officefloor.compile.impl.mxbean;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 import javax.management.Attribute;
 import javax.management.AttributeList;
 import javax.management.AttributeNotFoundException;
@@ -38,6 +42,11 @@ import net.officefloor.frame.api.manage.InvalidParameterTypeException;
 import net.officefloor.frame.api.manage.OfficeFloor;
 import net.officefloor.frame.api.manage.UnknownFunctionException;
 import net.officefloor.frame.api.manage.UnknownOfficeException;
+import net.officefloor.frame.api.metric.FunctionMetrics;
+import net.officefloor.frame.api.metric.LatencyMetrics;
+import net.officefloor.frame.api.metric.OfficeFloorMetrics;
+import net.officefloor.frame.api.metric.OfficeMetrics;
+import net.officefloor.frame.api.metric.TeamMetrics;
 
 /**
  * {@link DynamicMBean} for the {@link OfficeFloor}.
@@ -46,6 +55,181 @@ import net.officefloor.frame.api.manage.UnknownOfficeException;
  */
 public class OfficeFloorMBeanImpl implements DynamicMBean {
 
+	/**
+	 * Prefix for {@link TeamMetrics} attributes.
+	 */
+	private static final String TEAM_PREFIX = "Team.";
+
+	/**
+	 * Prefix for {@link OfficeMetrics} attributes.
+	 */
+	private static final String OFFICE_PREFIX = "Office.";
+
+	/**
+	 * Prefix for {@link FunctionMetrics} attributes.
+	 */
+	private static final String FUNCTION_PREFIX = "Function.";
+
+	/**
+	 * Metric attribute.
+	 */
+	private static class MetricAttribute<M> {
+
+		/**
+		 * Suffix of the attribute name.
+		 */
+		private final String suffix;
+
+		/**
+		 * Type of the attribute.
+		 */
+		private final Class<?> type;
+
+		/**
+		 * Description of the attribute.
+		 */
+		private final String description;
+
+		/**
+		 * Obtains the value from the metrics.
+		 */
+		private final Function<M, Object> value;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param suffix      Suffix of the attribute name.
+		 * @param type        Type of the attribute.
+		 * @param description Description of the attribute.
+		 * @param value       Obtains the value from the metrics.
+		 */
+		private MetricAttribute(String suffix, Class<?> type, String description, Function<M, Object> value) {
+			this.suffix = suffix;
+			this.type = type;
+			this.description = description;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Adds the {@link LatencyMetrics} attributes.
+	 * 
+	 * @param attributes  Listing to add the {@link LatencyMetrics} attributes.
+	 * @param name        Name of the latency.
+	 * @param description Description of the latency.
+	 * @param latency     Obtains the {@link LatencyMetrics}.
+	 */
+	private static <M> void addLatencyAttributes(List<MetricAttribute<M>> attributes, String name,
+			String description, Function<M, LatencyMetrics> latency) {
+		attributes.add(new MetricAttribute<>(name + ".Mean", Double.class, "Mean " + description + " (ns)",
+				(metrics) -> latency.apply(metrics).getMean()));
+		attributes.add(new MetricAttribute<>(name + ".P50", Long.class, "Median " + description + " (ns)",
+				(metrics) -> latency.apply(metrics).getPercentile(50)));
+		attributes.add(new MetricAttribute<>(name + ".P99", Long.class, "99th percentile " + description + " (ns)",
+				(metrics) -> latency.apply(metrics).getPercentile(99)));
+		attributes.add(new MetricAttribute<>(name + ".Max", Long.class, "Maximum " + description + " (ns)",
+				(metrics) -> latency.apply(metrics).getMax()));
+	}
+
+	/**
+	 * {@link TeamMetrics} attributes.
+	 */
+	private static final List<MetricAttribute<TeamMetrics>> TEAM_ATTRIBUTES = new ArrayList<>();
+
+	/**
+	 * {@link OfficeMetrics} attributes.
+	 */
+	private static final List<MetricAttribute<OfficeMetrics>> OFFICE_ATTRIBUTES = new ArrayList<>();
+
+	/**
+	 * {@link FunctionMetrics} attributes.
+	 */
+	private static final List<MetricAttribute<FunctionMetrics>> FUNCTION_ATTRIBUTES = new ArrayList<>();
+
+	static {
+		TEAM_ATTRIBUTES.add(new MetricAttribute<>("QueueDepth", Long.class, "Number of jobs waiting on the Team",
+				(metrics) -> metrics.getQueueDepth()));
+		TEAM_ATTRIBUTES.add(new MetricAttribute<>("AssignedJobs", Long.class, "Number of jobs assigned to the Team",
+				(metrics) -> metrics.getAssignedJobCount()));
+		TEAM_ATTRIBUTES.add(new MetricAttribute<>("Overloads", Long.class, "Number of times the Team was overloaded",
+				(metrics) -> metrics.getOverloadCount()));
+		addLatencyAttributes(TEAM_ATTRIBUTES, "WaitTime", "wait time of jobs", (metrics) -> metrics.getWaitTime());
+		addLatencyAttributes(TEAM_ATTRIBUTES, "ServiceTime", "execution time of jobs",
+				(metrics) -> metrics.getServiceTime());
+
+		OFFICE_ATTRIBUTES.add(new MetricAttribute<>("ActiveProcesses", Long.class,
+				"Number of processes active within the Office", (metrics) -> metrics.getActiveProcessCount()));
+		OFFICE_ATTRIBUTES.add(new MetricAttribute<>("CompletedProcesses", Long.class,
+				"Number of processes completed within the Office", (metrics) -> metrics.getCompletedProcessCount()));
+		addLatencyAttributes(OFFICE_ATTRIBUTES, "ProcessDuration", "duration of processes",
+				(metrics) -> metrics.getProcessDuration());
+
+		FUNCTION_ATTRIBUTES.add(new MetricAttribute<>("Executions", Long.class,
+				"Number of times the function was executed", (metrics) -> metrics.getExecutionTime().getCount()));
+		addLatencyAttributes(FUNCTION_ATTRIBUTES, "ExecutionTime", "execution time of the function",
+				(metrics) -> metrics.getExecutionTime());
+	}
+
+	/**
+	 * Obtains the metric attribute value.
+	 * 
+	 * @param attribute  Name of the attribute.
+	 * @param prefix     Prefix of the metric attributes.
+	 * @param metrics    Metrics.
+	 * @param getName    Obtains the name of the metrics.
+	 * @param attributes Metric attributes.
+	 * @return Value of the attribute or <code>null</code> if not a metric
+	 *         attribute.
+	 */
+	private static <M> Object getMetricValue(String attribute, String prefix, M[] metrics,
+			Function<M, String> getName, List<MetricAttribute<M>> attributes) {
+
+		// Determine if metric attribute
+		if (!attribute.startsWith(prefix)) {
+			return null;
+		}
+
+		// Find the metric (matching exact name, as name may contain '.')
+		int nameStart = prefix.length();
+		for (M metric : metrics) {
+			String name = getName.apply(metric);
+			int suffixStart = nameStart + name.length() + 1;
+			if ((suffixStart < attribute.length()) && (attribute.charAt(suffixStart - 1) == '.')
+					&& (attribute.regionMatches(nameStart, name, 0, name.length()))) {
+				for (MetricAttribute<M> metricAttribute : attributes) {
+					String suffix = metricAttribute.suffix;
+					if ((attribute.length() - suffixStart == suffix.length())
+							&& (attribute.regionMatches(suffixStart, suffix, 0, suffix.length()))) {
+						return metricAttribute.value.apply(metric);
+					}
+				}
+			}
+		}
+
+		// As here, not a metric attribute
+		return null;
+	}
+
+	/**
+	 * Loads the {@link MBeanAttributeInfo} for the metric attributes.
+	 * 
+	 * @param attributeInfos Listing to load the {@link MBeanAttributeInfo}.
+	 * @param prefix         Prefix of the metric attributes.
+	 * @param metrics        Metrics.
+	 * @param getName        Obtains the name of the metrics.
+	 * @param attributes     Metric attributes.
+	 */
+	private static <M> void loadMetricAttributeInfos(List<MBeanAttributeInfo> attributeInfos, String prefix,
+			M[] metrics, Function<M, String> getName, List<MetricAttribute<M>> attributes) {
+		for (M metric : metrics) {
+			String name = getName.apply(metric);
+			for (MetricAttribute<M> attribute : attributes) {
+				attributeInfos.add(new MBeanAttributeInfo(prefix + name + "." + attribute.suffix,
+						attribute.type.getName(), attribute.description, true, false, false));
+			}
+		}
+	}
+
 	/**
 	 * {@link OfficeFloor}.
 	 */
@@ -72,6 +256,32 @@ public class OfficeFloorMBeanImpl implements DynamicMBean {
 		switch (attribute) {
 		case "OfficeNames":
 			return this.officeFloor.getOfficeNames();
+
+		case "TeamNames":
+			TeamMetrics[] teams = this.officeFloor.getMetrics().getTeamMetrics();
+			String[] teamNames = new String[teams.length];
+			for (int i = 0; i < teams.length; i++) {
+				teamNames[i] = teams[i].getTeamName();
+			}
+			return teamNames;
+		}
+
+		// Determine if metric attribute
+		OfficeFloorMetrics metrics = this.officeFloor.getMetrics();
+		Object value = getMetricValue(attribute, TEAM_PREFIX, metrics.getTeamMetrics(),
+				(team) -> team.getTeamName(), TEAM_ATTRIBUTES);
+		if (value == null) {
+			value = getMetricValue(attribute, OFFICE_PREFIX, metrics.getOfficeMetrics(),
+					(office) -> office.getOfficeName(), OFFICE_ATTRIBUTES);
+		}
+		for (OfficeMetrics office : metrics.getOfficeMetrics()) {
+			if (value == null) {
+				value = getMetricValue(attribute, FUNCTION_PREFIX + office.getOfficeName() + ".",
+						office.getFunctionMetrics(), (function) -> function.getFunctionName(), FUNCTION_ATTRIBUTES);
+			}
+		}
+		if (value != null) {
+			return value;
 		}
 
 		// As here, unknown attribute
@@ -151,8 +361,22 @@ public class OfficeFloorMBeanImpl implements DynamicMBean {
 	public MBeanInfo getMBeanInfo() {
 
 		// Create the attributes
-		MBeanAttributeInfo officeNames = new MBeanAttributeInfo("OfficeNames", String[].class.getName(),
-				"Names of the Offices within the OfficeFloor", true, false, false);
+		List<MBeanAttributeInfo> attributes = new ArrayList<>();
+		attributes.add(new MBeanAttributeInfo("OfficeNames", String[].class.getName(),
+				"Names of the Offices within the OfficeFloor", true, false, false));
+		attributes.add(new MBeanAttributeInfo("TeamNames", String[].class.getName(),
+				"Names of the Teams within the OfficeFloor", true, false, false));
+
+		// Create the metric attributes
+		OfficeFloorMetrics metrics = this.officeFloor.getMetrics();
+		loadMetricAttributeInfos(attributes, TEAM_PREFIX, metrics.getTeamMetrics(), (team) -> team.getTeamName(),
+				TEAM_ATTRIBUTES);
+		loadMetricAttributeInfos(attributes, OFFICE_PREFIX, metrics.getOfficeMetrics(),
+				(office) -> office.getOfficeName(), OFFICE_ATTRIBUTES);
+		for (OfficeMetrics office : metrics.getOfficeMetrics()) {
+			loadMetricAttributeInfos(attributes, FUNCTION_PREFIX + office.getOfficeName() + ".",
+					office.getFunctionMetrics(), (function) -> function.getFunctionName(), FUNCTION_ATTRIBUTES);
+		}
 
 		// Create the operations
 		MBeanOperationInfo getManagedFunctions = new MBeanOperationInfo("getManagedFunctionNames",
@@ -180,7 +404,7 @@ public class OfficeFloorMBeanImpl implements DynamicMBean {
 
 		// Return the MBean Info
 		return new MBeanInfo(OfficeFloorMBeanImpl.class.getName(), "MBean to managed the OfficeFloor",
-				new MBeanAttributeInfo[] { officeNames }, new MBeanConstructorInfo[0],
+				attributes.toArray(new MBeanAttributeInfo[attributes.size()]), new MBeanConstructorInfo[0],
 				new MBeanOperationInfo[] { getManagedFunctions, getManagedFunctionParameterType, invokeFunction, closeOfficeFloor },
 				new MBeanNotificationInfo[0]);
 	}
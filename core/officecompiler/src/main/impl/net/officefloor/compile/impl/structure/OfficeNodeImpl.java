@@ -1210,6 +1210,9 @@ public class OfficeNodeImpl implements OfficeNode, ManagedFunctionVisitor {
 		// Load the profiler (if provided)
 		if (profiler != null) {
 			officeBuilder.setProfiler(profiler);
+
+			// Allow profiler to be managed (e.g. dump flame graph)
+			compileContext.registerPossibleMBean(Profiler.class, this.officeName, profiler);
 		}
 
 		// Create the bindings for the office
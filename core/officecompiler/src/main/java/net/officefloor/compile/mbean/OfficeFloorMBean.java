@@ -25,6 +25,10 @@ import java.lang.reflect.Proxy;
 import net.officefloor.frame.api.function.ManagedFunction;
 import net.officefloor.frame.api.manage.Office;
 import net.officefloor.frame.api.manage.OfficeFloor;
+import net.officefloor.frame.api.metric.FunctionMetrics;
+import net.officefloor.frame.api.metric.OfficeMetrics;
+import net.officefloor.frame.api.metric.TeamMetrics;
+import net.officefloor.frame.api.team.Team;
 
 /**
  * {@link Proxy} interface for the {@link OfficeFloor} MBean.
@@ -42,6 +46,23 @@ public interface OfficeFloorMBean {
 	 */
 	String[] getOfficeNames();
 
+	/**
+	 * <p>
+	 * Obtains the names of the {@link Team} instances within the
+	 * {@link OfficeFloor}.
+	 * <p>
+	 * The {@link TeamMetrics} of each {@link Team} are available as the
+	 * attributes <code>Team.&lt;name&gt;.&lt;metric&gt;</code>. Similarly, the
+	 * {@link OfficeMetrics} of each {@link Office} are available as the
+	 * attributes <code>Office.&lt;name&gt;.&lt;metric&gt;</code>. The
+	 * {@link FunctionMetrics} of each {@link ManagedFunction} are available as
+	 * the attributes
+	 * <code>Function.&lt;office&gt;.&lt;function&gt;.&lt;metric&gt;</code>.
+	 * 
+	 * @return Names of the {@link Team} instances within the {@link OfficeFloor}.
+	 */
+	String[] getTeamNames();
+
 	/**
 	 * Obtains the names of the {@link ManagedFunction} instances within the
 	 * {@link Office}.
@@ -211,6 +211,16 @@ public class MethodFunction implements ManagedFunction<Indexed, Indexed> {
 			this.delegate.doFlow(flowIndex, parameter, callback);
 		}
 
+		@Override
+		public void doConcurrentFlows(Indexed[] keys, Object[] parameters, FlowCallback callback) {
+			this.delegate.doConcurrentFlows(keys, parameters, callback);
+		}
+
+		@Override
+		public void doConcurrentFlows(int[] flowIndexes, Object[] parameters, FlowCallback callback) {
+			this.delegate.doConcurrentFlows(flowIndexes, parameters, callback);
+		}
+
 		@Override
 		public AsynchronousFlow createAsynchronousFlow() {
 			return this.delegate.createAsynchronousFlow();
@@ -578,6 +578,36 @@ public class MethodManagedFunctionBuilderUtil {
 			handler.handle(parameter, callback);
 		}
 
+		@Override
+		public void doConcurrentFlows(Indexed[] keys, Object[] parameters, FlowCallback callback) {
+			fail("Should execute concurrent flows by enum");
+			throw new IllegalStateException("Should not reach here");
+		}
+
+		@Override
+		public void doConcurrentFlows(int[] flowIndexes, Object[] parameters, FlowCallback callback) {
+
+			// Invoke callback with first escalation once all flows complete
+			Throwable[] escalation = new Throwable[1];
+			int[] remaining = new int[] { flowIndexes.length };
+			FlowCallback joinCallback = (callback == null) ? null : (flowEscalation) -> {
+				if ((flowEscalation != null) && (escalation[0] == null)) {
+					escalation[0] = flowEscalation;
+				}
+				remaining[0]--;
+				if (remaining[0] == 0) {
+					callback.run(escalation[0]);
+				}
+			};
+
+			// Handle each flow
+			for (int i = 0; i < flowIndexes.length; i++) {
+				ManagedFunctionFlowHandler handler = this.indexedFlows.get(flowIndexes[i]);
+				assertNotNull("No flow handler for index " + flowIndexes[i], handler);
+				handler.handle(parameters == null ? null : parameters[i], joinCallback);
+			}
+		}
+
 		@Override
 		public AsynchronousFlow createAsynchronousFlow() {
 			MockAsynchronousFlow asyncFlow = new MockAsynchronousFlow();
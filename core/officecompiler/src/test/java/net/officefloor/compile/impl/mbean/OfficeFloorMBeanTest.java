@@ -22,6 +22,7 @@ package net.officefloor.compile.impl.mbean;
 
 import java.lang.management.ManagementFactory;
 
+import javax.management.AttributeNotFoundException;
 import javax.management.JMX;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
@@ -124,8 +125,16 @@ public class OfficeFloorMBeanTest extends OfficeFrameTestCase {
 
 		// Ensure correct attributes
 		MBeanAttributeInfo[] attributes = info.getAttributes();
-		assertEquals("Incorrect number of attributes", 1, attributes.length);
+		assertTrue("Incorrect number of attributes", attributes.length > 2);
 		assertEquals("Incorrect attribute name", "OfficeNames", attributes[0].getName());
+		assertEquals("Incorrect team names attribute", "TeamNames", attributes[1].getName());
+		boolean isOfficeMetric = false;
+		for (MBeanAttributeInfo attribute : attributes) {
+			if ("Office.OFFICE.CompletedProcesses".equals(attribute.getName())) {
+				isOfficeMetric = true;
+			}
+		}
+		assertTrue("Should have Office metric attribute", isOfficeMetric);
 
 		// Ensure correct operations
 		MBeanOperationInfo[] operations = info.getOperations();
@@ -245,6 +254,53 @@ public class OfficeFloorMBeanTest extends OfficeFrameTestCase {
 		assertEquals("Managed function should be invoked with parameter", "TEST", CompileSection.invokedParameter);
 	}
 
+	/**
+	 * Ensure can obtain the metrics.
+	 */
+	public void testMetrics() throws Exception {
+
+		// Open and register MBean
+		this.officeFloor.openOfficeFloor();
+
+		// Obtain the OfficeFloor MBean
+		MBeanServerConnection connection = ManagementFactory.getPlatformMBeanServer();
+		OfficeFloorMBean mbean = JMX.newMBeanProxy(connection, this.objectName, OfficeFloorMBean.class);
+
+		// Ensure team names available
+		assertNotNull("Should have team names", mbean.getTeamNames());
+
+		// Obtain completed processes before invoking function
+		long completed = (Long) connection.getAttribute(this.objectName, "Office.OFFICE.CompletedProcesses");
+
+		// Invoke the function
+		mbean.invokeFunction("OFFICE", "SECTION.function", null);
+
+		// Ensure the process is recorded
+		assertEquals("Process should be recorded", completed + 1,
+				connection.getAttribute(this.objectName, "Office.OFFICE.CompletedProcesses"));
+		long maxDuration = (Long) connection.getAttribute(this.objectName, "Office.OFFICE.ProcessDuration.Max");
+		assertTrue("Should record process duration", maxDuration >= 0);
+
+		// Ensure the function execution is recorded
+		assertTrue("Function execution should be recorded", (Long) connection.getAttribute(this.objectName,
+				"Function.OFFICE.SECTION.function.Executions") > 0);
+		long p99 = (Long) connection.getAttribute(this.objectName,
+				"Function.OFFICE.SECTION.function.ExecutionTime.P99");
+		assertTrue("Should record function execution time", p99 >= 0);
+
+		// Ensure attributes must match the exact name
+		for (String partialName : new String[] { "Office.OFFICE.CompletedProcessesTotal", "Office.OFF.CompletedProcesses",
+				"Office.OFFICE.ProcessDuration", "Function.OFFICE.SECTION.func.Executions",
+				"Function.OFFICE.SECTION.function.", "Team." }) {
+			try {
+				connection.getAttribute(this.objectName, partialName);
+				fail("Should not match attribute " + partialName);
+			} catch (AttributeNotFoundException ex) {
+				// Correctly not matched
+			}
+		}
+	}
+
 	/**
 	 * Ensure able to close {@link OfficeFloor}.
 	 */
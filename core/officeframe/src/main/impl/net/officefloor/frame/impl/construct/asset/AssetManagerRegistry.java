@@ -28,6 +28,7 @@ import java.util.Set;
 import net.officefloor.frame.api.build.OfficeFloorIssues;
 import net.officefloor.frame.api.build.OfficeFloorIssues.AssetType;
 import net.officefloor.frame.impl.execute.asset.AssetManagerHirerImpl;
+import net.officefloor.frame.impl.execute.asset.AssetManagerImpl;
 import net.officefloor.frame.impl.execute.asset.AssetManagerReferenceImpl;
 import net.officefloor.frame.internal.structure.Asset;
 import net.officefloor.frame.internal.structure.AssetManager;
@@ -60,6 +61,11 @@ public class AssetManagerRegistry {
 	 */
 	private final MonitorClock monitorClock;
 
+	/**
+	 * Interval in milliseconds to monitor the {@link Asset} instances.
+	 */
+	private final long monitorInterval;
+
 	/**
 	 * {@link FunctionLoop}.
 	 */
@@ -78,7 +84,20 @@ public class AssetManagerRegistry {
 	 * @param functionLoop {@link FunctionLoop}.
 	 */
 	public AssetManagerRegistry(MonitorClock monitorClock, FunctionLoop functionLoop) {
+		this(monitorClock, AssetManagerImpl.DEFAULT_TICK_DURATION, functionLoop);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param monitorClock    {@link MonitorClock}.
+	 * @param monitorInterval Interval in milliseconds to monitor the {@link Asset}
+	 *                        instances.
+	 * @param functionLoop    {@link FunctionLoop}.
+	 */
+	public AssetManagerRegistry(MonitorClock monitorClock, long monitorInterval, FunctionLoop functionLoop) {
 		this.monitorClock = monitorClock;
+		this.monitorInterval = monitorInterval;
 		this.functionLoop = functionLoop;
 	}
 
@@ -124,7 +143,8 @@ public class AssetManagerRegistry {
 		}
 
 		// Create the asset manager hirer
-		AssetManagerHirer assetManagerHirer = new AssetManagerHirerImpl(this.monitorClock, this.functionLoop);
+		AssetManagerHirer assetManagerHirer = new AssetManagerHirerImpl(this.monitorClock, this.monitorInterval,
+				this.functionLoop);
 
 		// Register the asset manager
 		int referenceIndex = this.assetManagerHirers.size();
@@ -170,6 +170,11 @@ public class OfficeBuilderImpl implements OfficeBuilder, OfficeConfiguration {
 	 */
 	private int maximumFunctionStateChainLength = 1000;
 
+	/**
+	 * Indicates if recycle the frame objects. Default is not to recycle.
+	 */
+	private boolean isRecycleFrameObjects = false;
+
 	/**
 	 * Default {@link AsynchronousFlow} timeout.
 	 */
@@ -180,6 +185,11 @@ public class OfficeBuilderImpl implements OfficeBuilder, OfficeConfiguration {
 	 */
 	private Profiler profiler = null;
 
+	/**
+	 * Proportion of {@link ProcessState} instances to profile.
+	 */
+	private double profilerSampleRate = 1.0;
+
 	/**
 	 * Listing of the {@link ThreadSynchroniserFactory} instances.
 	 */
@@ -213,6 +223,11 @@ public class OfficeBuilderImpl implements OfficeBuilder, OfficeConfiguration {
 		this.maximumFunctionStateChainLength = maximumFunctionStateChainLength;
 	}
 
+	@Override
+	public void setRecycleFrameObjects(boolean isRecycleFrameObjects) {
+		this.isRecycleFrameObjects = isRecycleFrameObjects;
+	}
+
 	@Override
 	public void setDefaultAsynchronousFlowTimeout(long timeout) {
 		this.defaultAsynchronousFlowTimeout = timeout;
@@ -305,6 +320,11 @@ public class OfficeBuilderImpl implements OfficeBuilder, OfficeConfiguration {
 		this.profiler = profiler;
 	}
 
+	@Override
+	public void setProfilerSampleRate(double sampleRate) {
+		this.profilerSampleRate = sampleRate;
+	}
+
 	@Override
 	public void addThreadSynchroniser(ThreadSynchroniserFactory threadSynchroniserFactory) {
 		this.threadSynchronisers.add(threadSynchroniserFactory);
@@ -334,6 +354,11 @@ public class OfficeBuilderImpl implements OfficeBuilder, OfficeConfiguration {
 		return this.maximumFunctionStateChainLength;
 	}
 
+	@Override
+	public boolean isRecycleFrameObjects() {
+		return this.isRecycleFrameObjects;
+	}
+
 	@Override
 	public OfficeBuilder getBuilder() {
 		return this;
@@ -419,6 +444,11 @@ public class OfficeBuilderImpl implements OfficeBuilder, OfficeConfiguration {
 		return this.profiler;
 	}
 
+	@Override
+	public double getProfilerSampleRate() {
+		return this.profilerSampleRate;
+	}
+
 	@Override
 	public ThreadSynchroniserFactory[] getThreadSynchronisers() {
 		return this.threadSynchronisers.toArray(new ThreadSynchroniserFactory[0]);
@@ -228,7 +228,8 @@ public class RawOfficeMetaDataFactory {
 		FunctionLoop functionLoop = new FunctionLoopImpl(defaultTeam);
 
 		// Create the asset manager registry
-		AssetManagerRegistry officeAssetManagerRegistry = new AssetManagerRegistry(monitorClock, functionLoop);
+		AssetManagerRegistry officeAssetManagerRegistry = new AssetManagerRegistry(monitorClock,
+				monitorOfficeInterval, functionLoop);
 
 		// Determine if manually manage governance
 		boolean isManuallyManageGovernance = configuration.isManuallyManageGovernance();
@@ -468,7 +469,8 @@ public class RawOfficeMetaDataFactory {
 		// Create the thread meta-data
 		ThreadMetaData threadMetaData = new ThreadMetaDataImpl(
 				this.constructDefaultManagedObjectMetaData(threadBoundManagedObjects), governanceMetaDatas,
-				maxFunctionChainLength, threadSynchronisers, officeEscalationProcedure, officeFloorEscalation);
+				maxFunctionChainLength, threadSynchronisers, officeEscalationProcedure, officeFloorEscalation,
+				configuration.isRecycleFrameObjects());
 
 		// Obtain the executive
 		Executive executive = rawOfficeFloorMetaData.getExecutive();
@@ -536,7 +538,8 @@ public class RawOfficeMetaDataFactory {
 		OfficeMetaData officeMetaData = new OfficeMetaDataImpl(officeName, officeManagerHirer, monitorClock,
 				functionLoop, threadLocalAwareExecutor, executive, managedExecutionFactory,
 				functionMetaDatas.toArray(new ManagedFunctionMetaData[0]), functionLocator, processMetaData,
-				stateManagerKeepAliveFunction, loadObjectMetaDatas, startupFunctions, profiler);
+				stateManagerKeepAliveFunction, loadObjectMetaDatas, startupFunctions, profiler,
+				configuration.getProfilerSampleRate());
 
 		// Create the factories
 		FlowMetaDataFactory flowMetaDataFactory = new FlowMetaDataFactory(officeMetaData);
@@ -181,7 +181,7 @@ public class RawTeamMetaDataFactory {
 		}
 
 		// Create the management for the team
-		TeamManagement teamManagement = new TeamManagementImpl(team);
+		TeamManagement teamManagement = new TeamManagementImpl(teamName, team);
 
 		// Return the raw meta-data
 		return new RawTeamMetaData(teamName, teamManagement, isRequireThreadLocalAwareness);
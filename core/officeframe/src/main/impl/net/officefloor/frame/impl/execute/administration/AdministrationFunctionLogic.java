@@ -193,6 +193,29 @@ public class AdministrationFunctionLogic<E, F extends Enum<F>, G extends Enum<G>
             this.context.doFlow(flowMetaData, parameter, callback);
         }
 
+        @Override
+        public void doConcurrentFlows(F[] keys, Object[] parameters, FlowCallback callback) {
+            // Delegate with index of keys
+            int[] flowIndexes = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                flowIndexes[i] = keys[i].ordinal();
+            }
+            this.doConcurrentFlows(flowIndexes, parameters, callback);
+        }
+
+        @Override
+        public void doConcurrentFlows(int[] flowIndexes, Object[] parameters, FlowCallback callback) {
+
+            // Obtain the flow meta-data
+            FlowMetaData[] flowMetaData = new FlowMetaData[flowIndexes.length];
+            for (int i = 0; i < flowIndexes.length; i++) {
+                flowMetaData[i] = AdministrationFunctionLogic.this.metaData.getFlow(flowIndexes[i]);
+            }
+
+            // Do the flows concurrently
+            this.context.doConcurrentFlows(flowMetaData, parameters, callback);
+        }
+
         @Override
         public GovernanceManager getGovernance(G key) {
             return this.getGovernance(key.ordinal());
@@ -86,6 +86,38 @@ public class AssetLatchImpl extends AbstractLinkedListSetEntry<AssetLatchImpl, A
 		}
 	};
 
+	/**
+	 * Indicates if registered with the {@link AssetManager} to be checked at
+	 * scheduled times.
+	 */
+	boolean isScheduled = false;
+
+	/**
+	 * Tick of the {@link AssetTimerWheel} to check this {@link AssetLatch}.
+	 */
+	long timerTick;
+
+	/**
+	 * Level within the {@link AssetTimerWheel}. <code>-1</code> if not within the
+	 * {@link AssetTimerWheel}.
+	 */
+	int timerLevel = -1;
+
+	/**
+	 * Slot within the level of the {@link AssetTimerWheel}.
+	 */
+	int timerSlot;
+
+	/**
+	 * Previous {@link AssetLatchImpl} within the {@link AssetTimerWheel} slot.
+	 */
+	AssetLatchImpl timerPrev = null;
+
+	/**
+	 * Next {@link AssetLatchImpl} within the {@link AssetTimerWheel} slot.
+	 */
+	AssetLatchImpl timerNext = null;
+
 	/**
 	 * Initiate.
 	 * 
@@ -105,7 +137,17 @@ public class AssetLatchImpl extends AbstractLinkedListSetEntry<AssetLatchImpl, A
 	 * @return {@link FunctionState} to check this {@link AssetLatch}.
 	 */
 	FunctionState check() {
-		return new CheckOperation();
+		return new CheckOperation(false);
+	}
+
+	/**
+	 * Creates {@link FunctionState} to check this {@link AssetLatch} that is
+	 * re-scheduled once checked.
+	 * 
+	 * @return {@link FunctionState} to check this {@link AssetLatch}.
+	 */
+	FunctionState checkScheduled() {
+		return new CheckOperation(true);
 	}
 
 	/*
@@ -190,6 +232,21 @@ public class AssetLatchImpl extends AbstractLinkedListSetEntry<AssetLatchImpl, A
 	 */
 	private class CheckOperation extends AbstractOperation {
 
+		/**
+		 * Indicates if re-schedule the {@link AssetLatch} once checked.
+		 */
+		private final boolean isReschedule;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param isReschedule Indicates if re-schedule the {@link AssetLatch} once
+		 *                     checked.
+		 */
+		private CheckOperation(boolean isReschedule) {
+			this.isReschedule = isReschedule;
+		}
+
 		/*
 		 * =============== FunctionState ====================
 		 */
@@ -197,17 +254,26 @@ public class AssetLatchImpl extends AbstractLinkedListSetEntry<AssetLatchImpl, A
 		@Override
 		public FunctionState execute(FunctionStateContext context) {
 
+			// Easy access to latch
+			AssetLatchImpl latch = AssetLatchImpl.this;
+
+			FunctionState fail = null;
 			try {
 				// Check on the asset
-				AssetLatchImpl.this.asset.checkOnAsset(AssetLatchImpl.this);
+				latch.asset.checkOnAsset(latch);
 
 			} catch (Throwable ex) {
 				// Fail the functions
-				return new FailOperation(ex, false);
+				fail = new FailOperation(ex, false);
 			}
 
-			// Nothing further, as release/fail functions continue independently
-			return null;
+			// Re-schedule next check (unregistered once released/failed)
+			if (this.isReschedule) {
+				latch.assetManager.rescheduleAssetLatch(latch);
+			}
+
+			// Only possible failure, as release/fail functions continue independently
+			return fail;
 		}
 	}
 
@@ -20,6 +20,7 @@
 
 package net.officefloor.frame.impl.execute.asset;
 
+import net.officefloor.frame.internal.structure.Asset;
 import net.officefloor.frame.internal.structure.AssetManager;
 import net.officefloor.frame.internal.structure.AssetManagerHirer;
 import net.officefloor.frame.internal.structure.FunctionLoop;
@@ -38,6 +39,11 @@ public class AssetManagerHirerImpl implements AssetManagerHirer {
 	 */
 	private final MonitorClock clock;
 
+	/**
+	 * Duration in milliseconds of a tick to check on the {@link Asset} instances.
+	 */
+	private final long tickDuration;
+
 	/**
 	 * {@link FunctionLoop}.
 	 */
@@ -50,7 +56,20 @@ public class AssetManagerHirerImpl implements AssetManagerHirer {
 	 * @param loop  {@link FunctionLoop}.
 	 */
 	public AssetManagerHirerImpl(MonitorClock clock, FunctionLoop loop) {
+		this(clock, AssetManagerImpl.DEFAULT_TICK_DURATION, loop);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param clock        {@link MonitorClock}.
+	 * @param tickDuration Duration in milliseconds of a tick to check on the
+	 *                     {@link Asset} instances.
+	 * @param loop         {@link FunctionLoop}.
+	 */
+	public AssetManagerHirerImpl(MonitorClock clock, long tickDuration, FunctionLoop loop) {
 		this.clock = clock;
+		this.tickDuration = tickDuration;
 		this.loop = loop;
 	}
 
@@ -60,7 +79,7 @@ public class AssetManagerHirerImpl implements AssetManagerHirer {
 
 	@Override
 	public AssetManager hireAssetManager(ProcessState managingProcess) {
-		return new AssetManagerImpl(managingProcess, this.clock, this.loop);
+		return new AssetManagerImpl(managingProcess, this.clock, this.tickDuration, this.loop);
 	}
 
 }
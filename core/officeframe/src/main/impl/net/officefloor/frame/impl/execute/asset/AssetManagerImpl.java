@@ -20,8 +20,10 @@
 
 package net.officefloor.frame.impl.execute.asset;
 
+import net.officefloor.frame.api.manage.Office;
 import net.officefloor.frame.impl.execute.function.LinkedListSetPromise;
 import net.officefloor.frame.impl.execute.function.LinkedListSetPromise.Translate;
+import net.officefloor.frame.impl.execute.function.Promise;
 import net.officefloor.frame.impl.execute.linkedlistset.AbstractLinkedListSetEntry;
 import net.officefloor.frame.impl.execute.linkedlistset.StrictLinkedListSet;
 import net.officefloor.frame.internal.structure.Asset;
@@ -43,6 +45,11 @@ import net.officefloor.frame.internal.structure.ThreadState;
  */
 public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState, Flow> implements AssetManager {
 
+	/**
+	 * Default duration in milliseconds of a tick of the {@link AssetTimerWheel}.
+	 */
+	public static final long DEFAULT_TICK_DURATION = 1000;
+
 	/**
 	 * {@link ProcessState} that is managing this {@link AssetManager}.
 	 */
@@ -59,7 +66,8 @@ public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState,
 	private final FunctionLoop loop;
 
 	/**
-	 * {@link LinkedListSet} of {@link AssetLatch} instances requiring managing.
+	 * {@link LinkedListSet} of {@link AssetLatch} instances requiring managing
+	 * every monitor interval.
 	 */
 	private final LinkedListSet<AssetLatchImpl, AssetManager> latches = new StrictLinkedListSet<AssetLatchImpl, AssetManager>() {
 		@Override
@@ -68,6 +76,18 @@ public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState,
 		}
 	};
 
+	/**
+	 * {@link AssetTimerWheel} of {@link AssetLatch} instances requiring managing
+	 * at particular times.
+	 */
+	private final AssetTimerWheel timerWheel;
+
+	/**
+	 * Indicates if requires checking. Updated within {@link ThreadState} safety,
+	 * but read by the monitoring of the {@link Office}.
+	 */
+	private volatile boolean isRequireCheck = false;
+
 	/**
 	 * Initiate.
 	 * 
@@ -77,9 +97,26 @@ public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState,
 	 * @param loop            {@link FunctionLoop}.
 	 */
 	public AssetManagerImpl(ProcessState managingProcess, MonitorClock clock, FunctionLoop loop) {
+		this(managingProcess, clock, DEFAULT_TICK_DURATION, loop);
+	}
+
+	/**
+	 * Initiate.
+	 * 
+	 * @param managingProcess {@link ProcessState} that is managing this
+	 *                        {@link AssetManager}.
+	 * @param clock           {@link MonitorClock}.
+	 * @param tickDuration    Duration in milliseconds of a tick of the
+	 *                        {@link AssetTimerWheel}. Typically the monitor
+	 *                        interval of the {@link Office}.
+	 * @param loop            {@link FunctionLoop}.
+	 */
+	public AssetManagerImpl(ProcessState managingProcess, MonitorClock clock, long tickDuration,
+			FunctionLoop loop) {
 		this.managingProcess = managingProcess;
 		this.clock = clock;
 		this.loop = loop;
+		this.timerWheel = new AssetTimerWheel(tickDuration);
 	}
 
 	/**
@@ -98,7 +135,38 @@ public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState,
 	 */
 	void registerAssetLatch(AssetLatchImpl latch) {
 		this.getThreadState().runThreadSafeOperation(() -> {
-			this.latches.addEntry(latch);
+
+			// Determine if check on every interval
+			long checkTime = latch.getAsset().getNextCheckTime();
+			if (checkTime == Asset.CHECK_EVERY_INTERVAL) {
+				this.latches.addEntry(latch);
+
+			} else {
+				// Schedule to check at the time
+				latch.isScheduled = true;
+				this.timerWheel.schedule(latch, this.clock.currentTimeMillis(), checkTime);
+			}
+
+			// Now requires checking
+			this.isRequireCheck = true;
+			return null;
+		});
+	}
+
+	/**
+	 * Re-schedules the {@link AssetLatch} after being checked.
+	 * 
+	 * @param latch {@link AssetLatch} to re-schedule.
+	 */
+	void rescheduleAssetLatch(AssetLatchImpl latch) {
+		this.getThreadState().runThreadSafeOperation(() -> {
+
+			// Only re-schedule if still registered
+			if (latch.isScheduled) {
+				long checkTime = latch.getAsset().getNextCheckTime();
+				this.timerWheel.schedule(latch, this.clock.currentTimeMillis(), checkTime);
+				this.isRequireCheck = true;
+			}
 			return null;
 		});
 	}
@@ -110,7 +178,17 @@ public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState,
 	 */
 	void unregisterAssetLatch(AssetLatchImpl latch) {
 		this.getThreadState().runThreadSafeOperation(() -> {
-			this.latches.removeEntry(latch);
+
+			// Remove the latch
+			if (latch.isScheduled) {
+				latch.isScheduled = false;
+				this.timerWheel.cancel(latch);
+			} else {
+				this.latches.removeEntry(latch);
+			}
+
+			// Determine if still requires checking
+			this.isRequireCheck = (this.latches.getHead() != null) || (!this.timerWheel.isEmpty());
 			return null;
 		});
 	}
@@ -124,6 +202,11 @@ public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState,
 		return new AssetLatchImpl(asset, this, this.clock);
 	}
 
+	@Override
+	public boolean isRequireCheck() {
+		return this.isRequireCheck;
+	}
+
 	/*
 	 * ================ FunctionState =====================================
 	 */
@@ -135,8 +218,26 @@ public class AssetManagerImpl extends AbstractLinkedListSetEntry<FunctionState,
 
 	@Override
 	public FunctionState execute(FunctionStateContext context) throws Throwable {
-		// Undertake checks for each of the latches
-		return LinkedListSetPromise.all(this.latches, LATCH_TO_CHECK);
+
+		// Undertake checks for each of the latches checked every interval
+		FunctionState checks = LinkedListSetPromise.all(this.latches, LATCH_TO_CHECK);
+
+		// Undertake checks for the latches due to be checked
+		if (!this.timerWheel.isEmpty()) {
+			AssetLatchImpl latch = this.timerWheel.expire(this.clock.currentTimeMillis());
+			while (latch != null) {
+				AssetLatchImpl next = latch.timerNext;
+				latch.timerNext = null;
+				checks = Promise.then(checks, latch.checkScheduled());
+				latch = next;
+			}
+		}
+
+		// Determine if still requires checking
+		this.isRequireCheck = (this.latches.getHead() != null) || (!this.timerWheel.isEmpty());
+
+		// Return the checks
+		return checks;
 	}
 
 	/**
@@ -0,0 +1,277 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.asset;
+
+import net.officefloor.frame.internal.structure.Asset;
+import net.officefloor.frame.internal.structure.AssetLatch;
+import net.officefloor.frame.internal.structure.AssetManager;
+import net.officefloor.frame.internal.structure.ProcessState;
+
+/**
+ * <p>
+ * Hierarchical timer wheel of the {@link AssetLatchImpl} instances to check on
+ * their {@link Asset} at a particular time.
+ * <p>
+ * The {@link AssetLatchImpl} instances are linked directly into the slots of
+ * the wheel. Therefore, scheduling, cancelling and expiring an
+ * {@link AssetLatch} are O(1), so that checking the {@link AssetManager} only
+ * considers the {@link AssetLatch} instances due for checking (rather than
+ * scanning all {@link AssetLatch} instances).
+ * <p>
+ * This is not thread safe, as the {@link AssetManager} only accesses it within
+ * the {@link Thread} safety of its managing {@link ProcessState}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class AssetTimerWheel {
+
+	/**
+	 * Number of bits for the slot index of a level.
+	 */
+	private static final int SLOT_BITS = 6;
+
+	/**
+	 * Number of slots for each level of the wheel.
+	 */
+	private static final int SLOTS = 1 << SLOT_BITS;
+
+	/**
+	 * Mask to obtain the slot index.
+	 */
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	/**
+	 * Number of levels of the wheel.
+	 */
+	private static final int LEVELS = 4;
+
+	/**
+	 * Maximum number of ticks ahead an {@link AssetLatchImpl} may be scheduled.
+	 * Later checks are scheduled at this maximum, to be re-scheduled once checked.
+	 */
+	private static final long MAXIMUM_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+	/**
+	 * Duration in milliseconds of a tick of the wheel.
+	 */
+	private final long tickDuration;
+
+	/**
+	 * Head {@link AssetLatchImpl} of each slot for each level.
+	 */
+	private final AssetLatchImpl[][] slots = new AssetLatchImpl[LEVELS][SLOTS];
+
+	/**
+	 * Last tick processed by the wheel. Negative until first scheduling.
+	 */
+	private long currentTick = -1;
+
+	/**
+	 * Number of {@link AssetLatchImpl} instances scheduled.
+	 */
+	private int size = 0;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param tickDuration Duration in milliseconds of a tick of the wheel.
+	 */
+	public AssetTimerWheel(long tickDuration) {
+		this.tickDuration = Math.max(1, tickDuration);
+	}
+
+	/**
+	 * Indicates if no {@link AssetLatchImpl} instances are scheduled.
+	 * 
+	 * @return <code>true</code> if no {@link AssetLatchImpl} instances are
+	 *         scheduled.
+	 */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Obtains the time of the next tick of the wheel.
+	 * 
+	 * @return Time of the next tick of the wheel.
+	 */
+	long getNextTickTime() {
+		return (this.currentTick + 1) * this.tickDuration;
+	}
+
+	/**
+	 * Schedules the {@link AssetLatchImpl} to be checked. Should the
+	 * {@link AssetLatchImpl} already be scheduled, it is re-scheduled.
+	 * 
+	 * @param latch       {@link AssetLatchImpl}.
+	 * @param currentTime Current time in milliseconds.
+	 * @param checkTime   Time in milliseconds to check the {@link AssetLatchImpl}.
+	 */
+	void schedule(AssetLatchImpl latch, long currentTime, long checkTime) {
+
+		// Initialise the wheel from the current time
+		if (this.currentTick < 0) {
+			this.currentTick = currentTime / this.tickDuration;
+		}
+
+		// Remove if already scheduled
+		if (latch.timerLevel >= 0) {
+			this.unlink(latch);
+		}
+
+		// Round up the check time to the tick (so never expired before check time)
+		long checkTick = (checkTime / this.tickDuration) + ((checkTime % this.tickDuration) > 0 ? 1 : 0);
+
+		// Check no earlier than the next tick and no later than the wheel spans
+		long delta = Math.min(Math.max(checkTick - this.currentTick, 1), MAXIMUM_TICKS);
+		this.link(latch, this.currentTick + delta);
+	}
+
+	/**
+	 * Cancels the {@link AssetLatchImpl} from being checked.
+	 * 
+	 * @param latch {@link AssetLatchImpl}.
+	 */
+	void cancel(AssetLatchImpl latch) {
+		if (latch.timerLevel >= 0) {
+			this.unlink(latch);
+		}
+	}
+
+	/**
+	 * Expires the {@link AssetLatchImpl} instances due to be checked.
+	 * 
+	 * @param currentTime Current time in milliseconds.
+	 * @return Head of the expired {@link AssetLatchImpl} instances (linked by
+	 *         their timer next) or <code>null</code> if none expired.
+	 */
+	AssetLatchImpl expire(long currentTime) {
+
+		// Determine the tick to expire up to
+		long expireTick = currentTime / this.tickDuration;
+
+		// Nothing to expire if empty (so move straight to the tick)
+		if (this.size == 0) {
+			this.currentTick = Math.max(this.currentTick, expireTick);
+			return null;
+		}
+
+		// Expire the ticks
+		AssetLatchImpl expired = null;
+		while (this.currentTick < expireTick) {
+			long tick = ++this.currentTick;
+
+			// Cascade the higher levels on passing their slots
+			for (int level = LEVELS - 1; level > 0; level--) {
+				int shift = SLOT_BITS * level;
+				if ((tick & ((1L << shift) - 1)) == 0) {
+					this.cascade(level, (int) ((tick >> shift) & SLOT_MASK));
+				}
+			}
+
+			// Expire the latches of the tick
+			int slot = (int) (tick & SLOT_MASK);
+			AssetLatchImpl latch = this.slots[0][slot];
+			while (latch != null) {
+				AssetLatchImpl next = latch.timerNext;
+				this.unlink(latch);
+				latch.timerNext = expired;
+				expired = latch;
+				latch = next;
+			}
+
+			// Stop once no further latches
+			if (this.size == 0) {
+				this.currentTick = expireTick;
+			}
+		}
+		return expired;
+	}
+
+	/**
+	 * Cascades the {@link AssetLatchImpl} instances of a higher level slot down
+	 * to the lower levels.
+	 * 
+	 * @param level Level.
+	 * @param slot  Slot within the level.
+	 */
+	private void cascade(int level, int slot) {
+		AssetLatchImpl latch = this.slots[level][slot];
+		while (latch != null) {
+			AssetLatchImpl next = latch.timerNext;
+			long checkTick = latch.timerTick;
+			this.unlink(latch);
+			this.link(latch, checkTick);
+			latch = next;
+		}
+	}
+
+	/**
+	 * Links the {@link AssetLatchImpl} into its slot.
+	 * 
+	 * @param latch     {@link AssetLatchImpl}.
+	 * @param checkTick Tick to check the {@link AssetLatchImpl}.
+	 */
+	private void link(AssetLatchImpl latch, long checkTick) {
+
+		// Determine the level (by ticks until checked)
+		long delta = checkTick - this.currentTick;
+		int level = 0;
+		while ((level < (LEVELS - 1)) && (delta >= (1L << (SLOT_BITS * (level + 1))))) {
+			level++;
+		}
+		int slot = (int) ((checkTick >> (SLOT_BITS * level)) & SLOT_MASK);
+
+		// Link to head of the slot
+		AssetLatchImpl head = this.slots[level][slot];
+		latch.timerTick = checkTick;
+		latch.timerLevel = level;
+		latch.timerSlot = slot;
+		latch.timerPrev = null;
+		latch.timerNext = head;
+		if (head != null) {
+			head.timerPrev = latch;
+		}
+		this.slots[level][slot] = latch;
+		this.size++;
+	}
+
+	/**
+	 * Unlinks the {@link AssetLatchImpl} from its slot.
+	 * 
+	 * @param latch {@link AssetLatchImpl}.
+	 */
+	private void unlink(AssetLatchImpl latch) {
+		if (latch.timerPrev != null) {
+			latch.timerPrev.timerNext = latch.timerNext;
+		} else {
+			this.slots[latch.timerLevel][latch.timerSlot] = latch.timerNext;
+		}
+		if (latch.timerNext != null) {
+			latch.timerNext.timerPrev = latch.timerPrev;
+		}
+		latch.timerPrev = null;
+		latch.timerNext = null;
+		latch.timerLevel = -1;
+		this.size--;
+	}
+
+}
@@ -93,10 +93,12 @@ public class OfficeManagerImpl implements OfficeManager {
 			this.monitorClock.updateTime();
 		}
 
-		// Trigger the monitoring of the office
+		// Trigger the monitoring of the office (only asset managers requiring check)
 		for (int i = 0; i < this.assetManagers.length; i++) {
 			AssetManager assetManager = this.assetManagers[i];
-			this.functionLoop.delegateFunction(assetManager);
+			if (assetManager.isRequireCheck()) {
+				this.functionLoop.delegateFunction(assetManager);
+			}
 		}
 	}
 
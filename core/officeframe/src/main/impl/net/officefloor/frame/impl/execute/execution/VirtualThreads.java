@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.execution;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * Provides virtual {@link Thread} instances.
+ * <p>
+ * This is the Java 17 implementation that has no virtual {@link Thread}
+ * support. The Java 21+ implementation is provided as a multi-release class
+ * (<code>META-INF/versions/21</code>).
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class VirtualThreads {
+
+	/**
+	 * Indicates if virtual {@link Thread} instances are available.
+	 * 
+	 * @return <code>true</code> if virtual {@link Thread} instances are available.
+	 */
+	public static boolean isAvailable() {
+		return false;
+	}
+
+	/**
+	 * Indicates if the {@link Thread} is a virtual {@link Thread}.
+	 * 
+	 * @param thread {@link Thread}.
+	 * @return <code>true</code> if virtual {@link Thread}.
+	 */
+	public static boolean isVirtual(Thread thread) {
+		return false;
+	}
+
+	/**
+	 * Creates an unstarted virtual {@link Thread}.
+	 * 
+	 * @param threadName Name of the virtual {@link Thread}.
+	 * @param runnable   {@link Runnable} for the virtual {@link Thread}.
+	 * @return Unstarted virtual {@link Thread}.
+	 * @throws UnsupportedOperationException If virtual {@link Thread} instances
+	 *                                       are not available.
+	 */
+	public static Thread createThread(String threadName, Runnable runnable) throws UnsupportedOperationException {
+		throw notAvailable();
+	}
+
+	/**
+	 * Creates a {@link ThreadFactory} for virtual {@link Thread} instances.
+	 * 
+	 * @param name Name prefix for the virtual {@link Thread} instances.
+	 * @return {@link ThreadFactory} for virtual {@link Thread} instances.
+	 * @throws UnsupportedOperationException If virtual {@link Thread} instances
+	 *                                       are not available.
+	 */
+	public static ThreadFactory createThreadFactory(String name) throws UnsupportedOperationException {
+		throw notAvailable();
+	}
+
+	/**
+	 * Creates an {@link ExecutorService} that runs each task on a new virtual
+	 * {@link Thread}.
+	 * 
+	 * @param name Name prefix for the virtual {@link Thread} instances.
+	 * @return {@link ExecutorService} running each task on a new virtual
+	 *         {@link Thread}.
+	 * @throws UnsupportedOperationException If virtual {@link Thread} instances
+	 *                                       are not available.
+	 */
+	public static ExecutorService createThreadPerTaskExecutor(String name) throws UnsupportedOperationException {
+		throw notAvailable();
+	}
+
+	/**
+	 * Creates the failure for virtual {@link Thread} instances not available.
+	 * 
+	 * @return {@link UnsupportedOperationException}.
+	 */
+	private static UnsupportedOperationException notAvailable() {
+		return new UnsupportedOperationException("Virtual threads require Java 21 or above (running Java "
+				+ Runtime.version().feature() + ")");
+	}
+
+	/**
+	 * All access via static methods.
+	 */
+	private VirtualThreads() {
+	}
+
+}
@@ -95,6 +95,16 @@ public class DefaultExecutive extends AbstractExecutiveSource
 		return executionStrategies;
 	}
 
+	/**
+	 * Creates the {@link ExecutorService} for servicing.
+	 * 
+	 * @return {@link ExecutorService} for servicing.
+	 * @throws Exception If fails to create the {@link ExecutorService}.
+	 */
+	protected ExecutorService createServicingExecutor() throws Exception {
+		return Executors.newCachedThreadPool();
+	}
+
 	/*
 	 * ================= ExecutiveSource =================
 	 */
@@ -126,7 +136,7 @@ public class DefaultExecutive extends AbstractExecutiveSource
 	public void startManaging(ExecutiveStartContext context) throws Exception {
 
 		// Start the executor services
-		this.executor = Executors.newCachedThreadPool();
+		this.executor = this.createServicingExecutor();
 		this.scheduler = Executors.newScheduledThreadPool(1);
 
 		// Monitor all the default Offices
@@ -0,0 +1,133 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.executive;
+
+import java.util.concurrent.ExecutorService;
+
+import net.officefloor.frame.api.executive.Executive;
+import net.officefloor.frame.api.executive.ExecutiveContext;
+import net.officefloor.frame.api.executive.TeamOversight;
+import net.officefloor.frame.api.executive.source.ExecutiveSourceContext;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.api.team.ThreadLocalAwareTeam;
+import net.officefloor.frame.api.team.source.TeamSource;
+import net.officefloor.frame.impl.execute.execution.VirtualThreads;
+import net.officefloor.frame.impl.spi.team.OnePersonTeamSource;
+import net.officefloor.frame.impl.spi.team.PassiveTeamSource;
+import net.officefloor.frame.impl.spi.team.ThreadLocalAwareTeamSource;
+import net.officefloor.frame.impl.spi.team.VirtualThreadTeamSource;
+import net.officefloor.frame.impl.spi.team.VirtualThreadTeamSource.VirtualThreadTeam;
+
+/**
+ * <p>
+ * {@link DefaultExecutive} that runs each {@link Job} on its own virtual
+ * {@link Thread}.
+ * <p>
+ * The {@link Team} instances are overseen to be {@link VirtualThreadTeam}
+ * instances, except where requesting no {@link TeamOversight} or the
+ * {@link TeamSource} provides specific {@link Thread} semantics
+ * ({@link PassiveTeamSource}, {@link OnePersonTeamSource} and the
+ * {@link ThreadLocalAwareTeam} of {@link ThreadLocalAwareTeamSource}).
+ * <p>
+ * All {@link Thread} instances created by the {@link Executive} are virtual
+ * {@link Thread} instances, including those of {@link Team} instances not
+ * overseen. Note that virtual {@link Thread} instances are always daemon
+ * {@link Thread} instances and ignore the {@link ThreadGroup}. Servicing by
+ * the {@link Executive} is also undertaken with virtual {@link Thread}
+ * instances.
+ * <p>
+ * Requires Java 21 or above.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class VirtualThreadExecutive extends DefaultExecutive implements TeamOversight {
+
+	/**
+	 * {@link TeamSource} types that are not overseen.
+	 */
+	private static final Class<?>[] NON_OVERSEEN_TEAM_SOURCES = new Class[] { PassiveTeamSource.class,
+			OnePersonTeamSource.class, ThreadLocalAwareTeamSource.class, VirtualThreadTeamSource.class };
+
+	/*
+	 * ================= ExecutiveSource =================
+	 */
+
+	@Override
+	public Executive createExecutive(ExecutiveSourceContext context) throws Exception {
+
+		// Ensure virtual threads are available
+		if (!VirtualThreads.isAvailable()) {
+			throw new IllegalStateException(VirtualThreadExecutive.class.getSimpleName()
+					+ " requires Java 21 or above for virtual threads (running Java " + Runtime.version().feature()
+					+ ")");
+		}
+
+		// Create the executive
+		return super.createExecutive(context);
+	}
+
+	/*
+	 * =================== Executive =====================
+	 */
+
+	@Override
+	public Thread createThread(String threadName, ThreadGroup threadGroup, Runnable runnable) {
+		return VirtualThreads.createThread(threadName, runnable);
+	}
+
+	@Override
+	public TeamOversight getTeamOversight() {
+		return this;
+	}
+
+	/*
+	 * ================ DefaultExecutive =================
+	 */
+
+	@Override
+	protected ExecutorService createServicingExecutor() throws Exception {
+		return VirtualThreads.createThreadPerTaskExecutor(this.getExecutionStrategyName());
+	}
+
+	/*
+	 * ================== TeamOversight ==================
+	 */
+
+	@Override
+	public Team createTeam(ExecutiveContext context) throws Exception {
+
+		// Determine if opt out of virtual threads
+		TeamSource teamSource = context.getTeamSource();
+		if (context.isRequestNoTeamOversight()) {
+			return teamSource.createTeam(context);
+		}
+		for (Class<?> nonOverseenTeamSource : NON_OVERSEEN_TEAM_SOURCES) {
+			if (nonOverseenTeamSource.isInstance(teamSource)) {
+				return teamSource.createTeam(context);
+			}
+		}
+
+		// Run each job on virtual thread (as created by this executive)
+		return new VirtualThreadTeam(context.getThreadFactory());
+	}
+
+}
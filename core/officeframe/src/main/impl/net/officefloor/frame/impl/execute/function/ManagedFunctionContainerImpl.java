@@ -23,12 +23,15 @@ package net.officefloor.frame.impl.execute.function;
 import net.officefloor.frame.api.escalate.AsynchronousFlowTimedOutEscalation;
 import net.officefloor.frame.api.escalate.Escalation;
 import net.officefloor.frame.api.escalate.ProcessCancelledEscalation;
+import net.officefloor.frame.api.escalate.ProcessDeadlineExpiredEscalation;
 import net.officefloor.frame.api.function.AsynchronousFlow;
 import net.officefloor.frame.api.function.AsynchronousFlowCompletion;
 import net.officefloor.frame.api.function.FlowCallback;
 import net.officefloor.frame.api.function.ManagedFunction;
 import net.officefloor.frame.api.governance.Governance;
+import net.officefloor.frame.api.manage.ProcessManager;
 import net.officefloor.frame.api.managedobject.ManagedObject;
+import net.officefloor.frame.api.profile.ProfiledManagedFunction;
 import net.officefloor.frame.impl.execute.linkedlistset.AbstractLinkedListSetEntry;
 import net.officefloor.frame.impl.execute.linkedlistset.StrictLinkedListSet;
 import net.officefloor.frame.impl.execute.managedobject.ManagedObjectContainerImpl;
@@ -45,6 +48,7 @@ import net.officefloor.frame.internal.structure.Flow;
 import net.officefloor.frame.internal.structure.FlowCompletion;
 import net.officefloor.frame.internal.structure.FlowMetaData;
 import net.officefloor.frame.internal.structure.FunctionLogic;
+import net.officefloor.frame.internal.structure.FunctionMetricsRecorder;
 import net.officefloor.frame.internal.structure.FunctionState;
 import net.officefloor.frame.internal.structure.FunctionStateContext;
 import net.officefloor.frame.internal.structure.GovernanceContainer;
@@ -212,6 +216,18 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 	 */
 	private Object nextManagedFunctionParameter;
 
+	/**
+	 * {@link ProfiledManagedFunction} that invoked the {@link Flow} containing
+	 * this {@link ManagedFunctionContainer}. May be <code>null</code>.
+	 */
+	private ProfiledManagedFunction invokingProfiledFunction = null;
+
+	/**
+	 * {@link ProfiledManagedFunction} of this {@link ManagedFunctionContainer}.
+	 * <code>null</code> if not profiled.
+	 */
+	private ProfiledManagedFunction profiledFunction = null;
+
 	/**
 	 * Initiate.
 	 * 
@@ -363,6 +379,11 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 		switch (this.containerState) {
 		case LOAD_MANAGED_OBJECTS:
 
+			// Drop function (before any work) once process deadline passed
+			if (processState.isDeadlineExpired()) {
+				throw new ProcessDeadlineExpiredEscalation();
+			}
+
 			// Load the managed objects
 			if (this.requiredManagedObjects != null) {
 				while (this.loadManagedObjectIndex < this.requiredManagedObjects.length) {
@@ -467,11 +488,20 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 		case EXECUTE_FUNCTION:
 
 			// Profile function being executed
-			threadState.profile(this.functionLogicMetaData);
+			this.profiledFunction = threadState.profile(this.functionLogicMetaData, this.invokingProfiledFunction);
 
-			// Execute the managed function
+			// Execute the managed function (recording execution time)
 			ManagedFunctionLogicContextImpl logicContext = new ManagedFunctionLogicContextImpl();
-			this.managedFunctionLogic.execute(logicContext, this.getThreadState());
+			FunctionMetricsRecorder functionMetrics = this.functionLogicMetaData.getFunctionMetrics();
+			long startTime = (functionMetrics == null) ? 0 : System.nanoTime();
+			try {
+				this.managedFunctionLogic.execute(logicContext, this.getThreadState());
+			} finally {
+				if (functionMetrics != null) {
+					functionMetrics.functionExecuted(System.nanoTime() - startTime);
+				}
+				threadState.profileCompleted();
+			}
 
 			// Must recheck managed objects
 			this.check = null;
@@ -543,6 +573,7 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 					ManagedFunctionContainerImpl<?> nextContainer = (ManagedFunctionContainerImpl<?>) this.flow
 							.createManagedFunction(this.nextManagedFunctionParameter, nextFunctionMetaData, true,
 									this.parallelOwner);
+					nextContainer.invokingProfiledFunction = this.invokingProfiledFunction;
 
 					// Load for sequential execution
 					this.loadSequentialBlock(nextContainer);
@@ -596,8 +627,10 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 				// Escalation handled by this functions escalation procedure
 				ThreadState threadState = this.flow.getThreadState();
 				Flow parallelFlow = threadState.createFlow(null, completion);
-				FunctionState escalationFunction = parallelFlow.createManagedFunction(escalation,
-						escalationFlow.getManagedFunctionMetaData(), false, this.parallelOwner);
+				ManagedFunctionContainerImpl<?> escalationFunction = (ManagedFunctionContainerImpl<?>) parallelFlow
+						.createManagedFunction(escalation, escalationFlow.getManagedFunctionMetaData(), false,
+								this.parallelOwner);
+				escalationFunction.invokingProfiledFunction = this.profiledFunction;
 
 				// Complete this flow (handling escalating)
 				handleFunctions = Promise.then(handleFunctions, this.complete(null, null));
@@ -729,6 +762,7 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 				@SuppressWarnings("unchecked")
 				ManagedFunctionContainerImpl<?> parallelFunction = (ManagedFunctionContainerImpl<?>) parallelFlow
 						.createManagedFunction(parameter, initialFunctionMetaData, true, container);
+				parallelFunction.invokingProfiledFunction = container.profiledFunction;
 
 				// Load the parallel function
 				container.loadParallelBlock(parallelFunction);
@@ -741,12 +775,69 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 				@SuppressWarnings("unchecked")
 				ManagedFunctionContainerImpl<?> sequentialFunction = (ManagedFunctionContainerImpl<?>) container.flow
 						.createManagedFunction(parameter, initialFunctionMetaData, true, container.parallelOwner);
+				sequentialFunction.invokingProfiledFunction = container.profiledFunction;
 
 				// Load the sequential function
 				container.loadSequentialBlock(sequentialFunction);
 			}
 		}
 
+		@Override
+		public void doConcurrentFlows(FlowMetaData[] flowMetaData, Object[] parameters, FlowCallback callback) {
+
+			// Easy access to container
+			final ManagedFunctionContainerImpl<?> container = ManagedFunctionContainerImpl.this;
+
+			// Ensure in appropriate state to invoke flows
+			switch (container.containerState) {
+			case EXECUTE_FUNCTION:
+			case AWAIT_FLOW_COMPLETIONS:
+				break; // correct states to invoke flow
+
+			case FAILED:
+				return; // ignore if failed
+
+			default:
+				throw new IllegalStateException(
+						"Can not invoke concurrent flows outside function/callback execution (state: "
+								+ container.containerState + ", function: "
+								+ container.functionLogicMetaData.getFunctionName() + ")");
+			}
+
+			// Ensure parameter for each flow
+			if ((parameters != null) && (parameters.length != flowMetaData.length)) {
+				throw new IllegalArgumentException("Must provide parameter for each flow (flows: " + flowMetaData.length
+						+ ", parameters: " + parameters.length + ")");
+			}
+
+			// Create the join of the flows
+			ConcurrentFlowJoin join = null;
+			if (callback != null) {
+				FlowCompletion completion = new FlowCompletionImpl(
+						(flowMetaData.length > 0 ? flowMetaData[0] : null), callback);
+				container.awaitingFlowCompletions.addEntry(completion);
+
+				// Complete immediately if no flows
+				if (flowMetaData.length == 0) {
+					container.spawnThreadStateFunction = Promise.then(container.spawnThreadStateFunction,
+							completion.flowComplete(null));
+					return;
+				}
+				join = new ConcurrentFlowJoin(completion, flowMetaData.length);
+			}
+
+			// Register to spawn a thread state for each flow
+			ThreadState threadState = container.flow.getThreadState();
+			for (int i = 0; i < flowMetaData.length; i++) {
+				Object parameter = (parameters == null ? null : parameters[i]);
+				FlowCompletion completion = (join == null ? null : new ConcurrentFlowCompletion(join));
+				FunctionLogic spawnFunctionLogic = new SpawnThreadFunctionLogic(flowMetaData[i], parameter, completion,
+						threadState);
+				container.spawnThreadStateFunction = Promise.then(container.spawnThreadStateFunction,
+						container.flow.createFunction(spawnFunctionLogic));
+			}
+		}
+
 		@Override
 		public AsynchronousFlow createAsynchronousFlow() {
 
@@ -952,6 +1043,29 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 			return ManagedFunctionContainerImpl.this.getThreadState();
 		}
 
+		@Override
+		public long getNextCheckTime() {
+
+			// Check immediately to release if complete
+			if (this.isComplete) {
+				return 0;
+			}
+
+			// Check once asynchronous flow times out (guarding overflow)
+			long timeoutTime = this.startTime
+					+ ManagedFunctionContainerImpl.this.functionLogicMetaData.getAsynchronousFlowTimeout() + 1;
+			if (timeoutTime < this.startTime) {
+				timeoutTime = Long.MAX_VALUE;
+			}
+
+			// Check earlier should the process deadline pass first
+			long deadline = this.getOwningThreadState().getProcessState().getDeadline();
+			if ((deadline != ProcessManager.NO_DEADLINE) && (deadline < timeoutTime - 1)) {
+				timeoutTime = deadline + 1;
+			}
+			return timeoutTime;
+		}
+
 		@Override
 		public void checkOnAsset(CheckAssetContext context) {
 
@@ -967,7 +1081,8 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 			// Determine if asynchronous operation has timed out
 			long idleTime = container.functionLogicMetaData.getOfficeMetaData().getMonitorClock().currentTimeMillis()
 					- this.startTime;
-			if (idleTime > container.functionLogicMetaData.getAsynchronousFlowTimeout()) {
+			if ((idleTime > container.functionLogicMetaData.getAsynchronousFlowTimeout())
+					|| (container.getThreadState().getProcessState().isDeadlineExpired())) {
 
 				// Remove from listing and consider complete
 				ManagedFunctionContainerImpl.this.awaitingAsynchronousFlowCompletions.removeEntry(this);
@@ -1000,7 +1115,8 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 		/**
 		 * Instantiate.
 		 * 
-		 * @param flowMetaData {@link FlowMetaData}.
+		 * @param flowMetaData {@link FlowMetaData}. May be <code>null</code> for
+		 *                     joining no concurrent {@link Flow} instances.
 		 * @param callback     {@link FlowCallback}.
 		 */
 		public FlowCompletionImpl(FlowMetaData flowMetaData, FlowCallback callback) {
@@ -1011,7 +1127,8 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 		@Override
 		public String toString() {
 			return "FlowComplete " + ManagedFunctionContainerImpl.this.functionLogicMetaData.getFunctionName() + " for "
-					+ this.flowMetaData.getInitialFunctionMetaData().getFunctionName();
+					+ (this.flowMetaData == null ? "no flows"
+							: this.flowMetaData.getInitialFunctionMetaData().getFunctionName());
 		}
 
 		/*
@@ -1074,6 +1191,93 @@ public class ManagedFunctionContainerImpl<M extends ManagedFunctionLogicMetaData
 		}
 	}
 
+	/**
+	 * Join of the {@link Flow} instances invoked concurrently.
+	 */
+	private static class ConcurrentFlowJoin {
+
+		/**
+		 * {@link FlowCompletion} for the join.
+		 */
+		private final FlowCompletion completion;
+
+		/**
+		 * Number of {@link Flow} instances still to complete.
+		 */
+		private int remaining;
+
+		/**
+		 * First {@link Escalation} of the {@link Flow} instances.
+		 */
+		private Throwable escalation = null;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param completion {@link FlowCompletion} for the join.
+		 * @param flowCount  Number of {@link Flow} instances to join.
+		 */
+		private ConcurrentFlowJoin(FlowCompletion completion, int flowCount) {
+			this.completion = completion;
+			this.remaining = flowCount;
+		}
+	}
+
+	/**
+	 * {@link FlowCompletion} for a {@link Flow} of a {@link ConcurrentFlowJoin}.
+	 */
+	private class ConcurrentFlowCompletion extends AbstractLinkedListSetEntry<FlowCompletion, ManagedFunctionContainer>
+			implements FlowCompletion {
+
+		/**
+		 * {@link ConcurrentFlowJoin}.
+		 */
+		private final ConcurrentFlowJoin join;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param join {@link ConcurrentFlowJoin}.
+		 */
+		private ConcurrentFlowCompletion(ConcurrentFlowJoin join) {
+			this.join = join;
+		}
+
+		/*
+		 * ================== LinkedListSetEntry =================
+		 */
+
+		@Override
+		public ManagedFunctionContainer getLinkedListSetOwner() {
+			return ManagedFunctionContainerImpl.this;
+		}
+
+		/*
+		 * =================== FlowCompletion =====================
+		 */
+
+		@Override
+		public FunctionState flowComplete(Throwable escalation) {
+			return new ManagedFunctionOperation() {
+				@Override
+				public FunctionState execute(FunctionStateContext context) throws Throwable {
+
+					// Easy access to join (safe as within thread state of container)
+					ConcurrentFlowJoin join = ConcurrentFlowCompletion.this.join;
+
+					// Keep the first escalation
+					if ((escalation != null) && (join.escalation == null)) {
+						join.escalation = escalation;
+					}
+
+					// Complete join once all flows complete
+					join.remaining--;
+					return (join.remaining > 0) ? null : join.completion.flowComplete(join.escalation);
+				}
+			};
+		}
+	}
+
 	/**
 	 * Completes this {@link FunctionState}.
 	 * 
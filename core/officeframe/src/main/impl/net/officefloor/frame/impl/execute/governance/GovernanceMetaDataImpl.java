@@ -260,6 +260,28 @@ public class GovernanceMetaDataImpl<I, F extends Enum<F>> implements GovernanceM
 					context.doFlow(flowMetaData, parameter, callback);
 				}
 
+				@Override
+				public void doConcurrentFlows(F[] keys, Object[] parameters, FlowCallback callback) {
+					int[] flowIndexes = new int[keys.length];
+					for (int i = 0; i < keys.length; i++) {
+						flowIndexes[i] = keys[i].ordinal();
+					}
+					this.doConcurrentFlows(flowIndexes, parameters, callback);
+				}
+
+				@Override
+				public void doConcurrentFlows(int[] flowIndexes, Object[] parameters, FlowCallback callback) {
+
+					// Obtain the flow meta-data
+					FlowMetaData[] flowMetaData = new FlowMetaData[flowIndexes.length];
+					for (int i = 0; i < flowIndexes.length; i++) {
+						flowMetaData[i] = GovernanceMetaDataImpl.this.flowMetaData[flowIndexes[i]];
+					}
+
+					// Undertake the flows concurrently
+					context.doConcurrentFlows(flowMetaData, parameters, callback);
+				}
+
 				@Override
 				public AsynchronousFlow createAsynchronousFlow() {
 					return context.createAsynchronousFlow();
@@ -39,6 +39,7 @@ import net.officefloor.frame.internal.structure.FunctionState;
 import net.officefloor.frame.internal.structure.FunctionStateContext;
 import net.officefloor.frame.internal.structure.ProcessState;
 import net.officefloor.frame.internal.structure.TeamManagement;
+import net.officefloor.frame.internal.structure.TeamMetricsRecorder;
 import net.officefloor.frame.internal.structure.ThreadState;
 import net.officefloor.frame.internal.structure.ThreadStateContext;
 
@@ -99,6 +100,37 @@ public class FunctionLoopImpl implements FunctionLoop {
 		return avoidTeam.getFunctionState().handleEscalation(escalation, escalationCompletion);
 	}
 
+	/**
+	 * Assigns the {@link FunctionState} to its responsible {@link TeamManagement}.
+	 * 
+	 * @param function        {@link FunctionState}.
+	 * @param responsibleTeam Responsible {@link TeamManagement} for the
+	 *                        {@link FunctionState}.
+	 * @return Possible {@link FunctionState} to handle not able to assign to
+	 *         {@link Team} (as likely overloaded).
+	 */
+	private FunctionState assignToTeam(FunctionState function, TeamManagement responsibleTeam) {
+
+		// Create the job (recording assignment before team may execute it)
+		TeamMetricsRecorder teamMetrics = responsibleTeam.getTeamMetrics();
+		SafeLoop loop = new SafeLoop(function, responsibleTeam.getIdentifier(), teamMetrics);
+		teamMetrics.jobAssigned();
+
+		// Assign the job
+		Team team = responsibleTeam.getTeam();
+		try {
+
+			// Ensure handle overloaded team
+			team.assignJob(loop);
+			return null; // job successfully assigned
+
+		} catch (Throwable ex) {
+			// Handle (likely overloaded) team
+			teamMetrics.jobOverloaded();
+			return this.handleOverloadedTeam(function, responsibleTeam, ex);
+		}
+	}
+
 	/*
 	 * =================== FunctionLoop ===========================
 	 */
@@ -120,18 +152,9 @@ public class FunctionLoopImpl implements FunctionLoop {
 		}
 
 		// Delegate function to the responsible team
-		SafeLoop loop = new SafeLoop(function, responsibleTeam.getIdentifier());
-		Team team = responsibleTeam.getTeam();
-		try {
-
-			// Ensure handle overloaded team
-			team.assignJob(loop);
-
-		} catch (Throwable ex) {
-			FunctionState handlerFunction = this.handleOverloadedTeam(function, responsibleTeam, ex);
-			if (handlerFunction != null) {
-				this.delegateFunction(handlerFunction);
-			}
+		FunctionState handlerFunction = this.assignToTeam(function, responsibleTeam);
+		if (handlerFunction != null) {
+			this.delegateFunction(handlerFunction);
 		}
 	}
 
@@ -268,19 +291,8 @@ public class FunctionLoopImpl implements FunctionLoop {
 			// First assigning, so must synchronise thread state
 			function.getThreadState().runThreadSafeOperation(null);
 
-			// Obtain the responsible team
-			SafeLoop loop = new SafeLoop(function, responsibleTeam.getIdentifier());
-			Team team = responsibleTeam.getTeam();
-			try {
-
-				// Assign the function to the responsible team
-				team.assignJob(loop);
-				return null; // job successfully assigned
-
-			} catch (Throwable ex) {
-				// Handle (likely overloaded) team
-				return FunctionLoopImpl.this.handleOverloadedTeam(function, responsibleTeam, ex);
-			}
+			// Assign the function to the responsible team
+			return FunctionLoopImpl.this.assignToTeam(function, responsibleTeam);
 		}
 
 		/*
@@ -322,7 +334,7 @@ public class FunctionLoopImpl implements FunctionLoop {
 
 				// Handle cancellation of the job
 				FunctionState handler = this.initialFunction.handleEscalation(cause, null);
-				SafeLoop loop = new SafeLoop(handler, this.currentTeam);
+				SafeLoop loop = new SafeLoop(handler, this.currentTeam, null);
 				loop.run();
 
 			} catch (Throwable ex) {
@@ -337,14 +349,66 @@ public class FunctionLoopImpl implements FunctionLoop {
 	 */
 	private class SafeLoop extends UnsafeLoop {
 
+		/**
+		 * {@link TeamMetricsRecorder} of the {@link Team} assigned this {@link Job}.
+		 * May be <code>null</code> if not assigned to a {@link Team}.
+		 */
+		private final TeamMetricsRecorder teamMetrics;
+
+		/**
+		 * {@link System#nanoTime()} when assigned to the {@link Team}.
+		 */
+		private final long assignTime;
+
 		/**
 		 * Instantiate.
 		 * 
 		 * @param initialFunction Initial {@link FunctionState}.
 		 * @param currentTeam     Current {@link Team} identifier.
+		 * @param teamMetrics     {@link TeamMetricsRecorder} of the {@link Team}
+		 *                        assigned this {@link Job}. May be
+		 *                        <code>null</code>.
 		 */
-		public SafeLoop(FunctionState initialFunction, Object currentTeam) {
+		public SafeLoop(FunctionState initialFunction, Object currentTeam, TeamMetricsRecorder teamMetrics) {
 			super(initialFunction, currentTeam);
+			this.teamMetrics = teamMetrics;
+			this.assignTime = (teamMetrics != null) ? System.nanoTime() : 0;
+		}
+
+		/*
+		 * ========================= Job =========================
+		 */
+
+		@Override
+		public void run() {
+
+			// Determine if recording metrics
+			TeamMetricsRecorder metrics = this.teamMetrics;
+			if (metrics == null) {
+				super.run();
+				return;
+			}
+
+			// Execute recording the wait and service times
+			long startTime = System.nanoTime();
+			metrics.jobStarted();
+			try {
+				super.run();
+			} finally {
+				metrics.jobExecuted(startTime - this.assignTime, System.nanoTime() - startTime);
+			}
+		}
+
+		@Override
+		public void cancel(Throwable cause) {
+
+			// Record job not executed
+			if (this.teamMetrics != null) {
+				this.teamMetrics.jobCancelled();
+			}
+
+			// Cancel the job
+			super.cancel(cause);
 		}
 
 		/*
@@ -361,18 +425,7 @@ public class FunctionLoopImpl implements FunctionLoop {
 		protected FunctionState assignFunction(FunctionState function, TeamManagement responsibleTeam) {
 
 			// No need to synchronise assigning function, as loop is thread safe
-			SafeLoop loop = new SafeLoop(function, responsibleTeam.getIdentifier());
-			Team team = responsibleTeam.getTeam();
-			try {
-
-				// Assign the job
-				team.assignJob(loop);
-				return null; // job successfully assigned
-
-			} catch (Throwable ex) {
-				// Handle (likely overloaded) team
-				return FunctionLoopImpl.this.handleOverloadedTeam(function, responsibleTeam, ex);
-			}
+			return FunctionLoopImpl.this.assignToTeam(function, responsibleTeam);
 		}
 	}
 
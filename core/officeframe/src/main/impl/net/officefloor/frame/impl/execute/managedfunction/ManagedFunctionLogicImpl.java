@@ -204,6 +204,28 @@ public class ManagedFunctionLogicImpl<O extends Enum<O>, F extends Enum<F>> impl
 			this.context.doFlow(dynamicFlowMetaData, parameter, callback);
 		}
 
+		@Override
+		public void doConcurrentFlows(F[] keys, Object[] parameters, FlowCallback callback) {
+			int[] flowIndexes = new int[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				flowIndexes[i] = keys[i].ordinal();
+			}
+			this.doConcurrentFlows(flowIndexes, parameters, callback);
+		}
+
+		@Override
+		public void doConcurrentFlows(int[] flowIndexes, Object[] parameters, FlowCallback callback) {
+
+			// Obtain the Flow meta-data for each flow
+			FlowMetaData[] flowMetaData = new FlowMetaData[flowIndexes.length];
+			for (int i = 0; i < flowIndexes.length; i++) {
+				flowMetaData[i] = ManagedFunctionLogicImpl.this.functionMetaData.getFlow(flowIndexes[i]);
+			}
+
+			// Do the flows concurrently
+			this.context.doConcurrentFlows(flowMetaData, parameters, callback);
+		}
+
 		@Override
 		public AsynchronousFlow createAsynchronousFlow() {
 			return this.context.createAsynchronousFlow();
@@ -28,12 +28,14 @@ import net.officefloor.frame.api.function.ManagedFunction;
 import net.officefloor.frame.api.function.ManagedFunctionContext;
 import net.officefloor.frame.api.function.ManagedFunctionFactory;
 import net.officefloor.frame.api.governance.Governance;
+import net.officefloor.frame.api.manage.Office;
 import net.officefloor.frame.api.managedobject.ManagedObject;
 import net.officefloor.frame.api.team.Team;
 import net.officefloor.frame.internal.structure.AssetManagerReference;
 import net.officefloor.frame.internal.structure.EscalationProcedure;
 import net.officefloor.frame.internal.structure.Flow;
 import net.officefloor.frame.internal.structure.FlowMetaData;
+import net.officefloor.frame.internal.structure.FunctionMetricsRecorder;
 import net.officefloor.frame.internal.structure.ManagedFunctionAdministrationMetaData;
 import net.officefloor.frame.internal.structure.ManagedFunctionMetaData;
 import net.officefloor.frame.internal.structure.ManagedObjectIndex;
@@ -115,6 +117,12 @@ public class ManagedFunctionMetaDataImpl<O extends Enum<O>, F extends Enum<F>>
 	 */
 	private OfficeMetaData officeMetaData;
 
+	/**
+	 * {@link FunctionMetricsRecorder}. May be <code>null</code> if not a
+	 * {@link ManagedFunction} of the {@link Office}.
+	 */
+	private FunctionMetricsRecorder functionMetrics;
+
 	/**
 	 * <p>
 	 * Meta-data of the available {@link Flow} instances from this
@@ -248,6 +256,10 @@ public class ManagedFunctionMetaDataImpl<O extends Enum<O>, F extends Enum<F>>
 		this.preAdministration = preAdministration;
 		this.postAdministration = postAdministration;
 		this.requiredManagedObjects = requiredManagedObjects;
+
+		// Link to metrics for the function (preallocated by office)
+		this.functionMetrics = (officeMetaData == null) ? null
+				: officeMetaData.getOfficeMetrics().getFunctionMetricsRecorder(this);
 	}
 
 	/*
@@ -324,6 +336,11 @@ public class ManagedFunctionMetaDataImpl<O extends Enum<O>, F extends Enum<F>>
 		return this.officeMetaData;
 	}
 
+	@Override
+	public FunctionMetricsRecorder getFunctionMetrics() {
+		return this.functionMetrics;
+	}
+
 	@Override
 	public ManagedFunctionMetaData<?, ?> getNextManagedFunctionMetaData() {
 		return this.nextFunctionMetaData;
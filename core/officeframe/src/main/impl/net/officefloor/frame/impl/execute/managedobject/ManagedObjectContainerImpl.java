@@ -1092,6 +1092,19 @@ public class ManagedObjectContainerImpl implements ManagedObjectContainer, Asset
 		return this.responsibleThreadState;
 	}
 
+	@Override
+	public long getNextCheckTime() {
+
+		// Check immediately if failed or not undertaking asynchronous operation
+		if ((this.failure != null) || (this.asynchronousStartTime == NO_ASYNC_OPERATION)) {
+			return 0;
+		}
+
+		// Check once asynchronous operation times out (guarding overflow)
+		long timeoutTime = this.asynchronousStartTime + this.metaData.getTimeout() + 1;
+		return (timeoutTime < this.asynchronousStartTime) ? Long.MAX_VALUE : timeoutTime;
+	}
+
 	@Override
 	public void checkOnAsset(CheckAssetContext context) {
 
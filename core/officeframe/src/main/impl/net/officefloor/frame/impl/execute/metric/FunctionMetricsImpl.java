@@ -0,0 +1,76 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.metric;
+
+import net.officefloor.frame.api.metric.FunctionMetrics;
+import net.officefloor.frame.api.metric.LatencyMetrics;
+import net.officefloor.frame.internal.structure.FunctionMetricsRecorder;
+
+/**
+ * {@link FunctionMetrics} implementation.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class FunctionMetricsImpl implements FunctionMetricsRecorder {
+
+	/**
+	 * Name of the function.
+	 */
+	private final String functionName;
+
+	/**
+	 * Execution time {@link LatencyHistogram}.
+	 */
+	private final LatencyHistogram executionTime = new LatencyHistogram();
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param functionName Name of the function.
+	 */
+	public FunctionMetricsImpl(String functionName) {
+		this.functionName = functionName;
+	}
+
+	/*
+	 * ================== FunctionMetricsRecorder ===================
+	 */
+
+	@Override
+	public void functionExecuted(long executionTime) {
+		this.executionTime.record(executionTime);
+	}
+
+	/*
+	 * ===================== FunctionMetrics ========================
+	 */
+
+	@Override
+	public String getFunctionName() {
+		return this.functionName;
+	}
+
+	@Override
+	public LatencyMetrics getExecutionTime() {
+		return this.executionTime;
+	}
+
+}
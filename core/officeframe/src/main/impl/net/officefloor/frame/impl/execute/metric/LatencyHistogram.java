@@ -0,0 +1,225 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.metric;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.officefloor.frame.api.metric.LatencyMetrics;
+
+/**
+ * <p>
+ * Lock free {@link LatencyMetrics} histogram.
+ * <p>
+ * Latencies are recorded into log-linear buckets (each power of two split into
+ * {@link #SUB_BUCKET_COUNT} linear sub-buckets). This keeps the buckets
+ * preallocated with a bounded relative error, so recording is only an atomic
+ * increment.
+ * <p>
+ * To avoid {@link Thread} instances contending on the same buckets, the buckets
+ * are striped by {@link Thread}. Each stripe is created on first use, so memory
+ * is only used for the concurrency actually recording.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class LatencyHistogram implements LatencyMetrics {
+
+	/**
+	 * Number of bits for the linear sub-buckets of each power of two.
+	 */
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/**
+	 * Number of linear sub-buckets for each power of two.
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Maximum exponent (power of two) of a recorded latency. Larger latencies
+	 * (over two hours in nanoseconds) are recorded into the last bucket.
+	 */
+	private static final int MAX_EXPONENT = 43;
+
+	/**
+	 * Number of buckets.
+	 */
+	static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+	/**
+	 * Number of stripes (power of two to mask {@link Thread} identifier).
+	 */
+	private static final int STRIPE_COUNT = Integer
+			.highestOneBit(Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors())) * 2 - 1);
+
+	/**
+	 * Obtains the bucket index for the latency.
+	 * 
+	 * @param latency Latency.
+	 * @return Index of the bucket for the latency.
+	 */
+	static int bucketIndex(long latency) {
+
+		// Linear buckets for small latencies
+		if (latency < SUB_BUCKET_COUNT) {
+			return (latency < 0) ? 0 : (int) latency;
+		}
+
+		// Determine the power of two and sub-bucket within
+		int exponent = 63 - Long.numberOfLeadingZeros(latency);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		int shift = exponent - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((latency >>> shift) & (SUB_BUCKET_COUNT - 1));
+	}
+
+	/**
+	 * Obtains the upper bound latency of the bucket.
+	 * 
+	 * @param bucketIndex Index of the bucket.
+	 * @return Largest latency recorded into the bucket.
+	 */
+	static long bucketUpperBound(int bucketIndex) {
+
+		// Linear buckets for small latencies
+		if (bucketIndex < SUB_BUCKET_COUNT) {
+			return bucketIndex;
+		}
+
+		// Determine the range of the sub-bucket
+		int shift = (bucketIndex >>> SUB_BUCKET_BITS) - 1;
+		long mantissa = (bucketIndex & (SUB_BUCKET_COUNT - 1)) | SUB_BUCKET_COUNT;
+		return ((mantissa + 1) << shift) - 1;
+	}
+
+	/**
+	 * Stripes of counts for each bucket.
+	 */
+	private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+	/**
+	 * Total of the recorded latencies.
+	 */
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * Maximum recorded latency.
+	 */
+	private final AtomicLong max = new AtomicLong(0);
+
+	/**
+	 * Records the latency.
+	 * 
+	 * @param latency Latency in nanoseconds.
+	 */
+	public void record(long latency) {
+
+		// Obtain the stripe for the thread
+		int stripeIndex = (int) Thread.currentThread().getId() & (STRIPE_COUNT - 1);
+		AtomicLongArray buckets = this.stripes.get(stripeIndex);
+		if (buckets == null) {
+			// First use of stripe (use winner if concurrently created)
+			this.stripes.compareAndSet(stripeIndex, null, new AtomicLongArray(BUCKET_COUNT));
+			buckets = this.stripes.get(stripeIndex);
+		}
+
+		// Record the latency
+		buckets.getAndIncrement(bucketIndex(latency));
+		this.total.add(latency);
+
+		// Only contend on maximum when increased (rare once warmed up)
+		long currentMax = this.max.get();
+		while ((latency > currentMax) && (!this.max.compareAndSet(currentMax, latency))) {
+			currentMax = this.max.get();
+		}
+	}
+
+	/**
+	 * Loads the counts of the buckets across the stripes.
+	 * 
+	 * @param counts Counts to load.
+	 * @return Total count.
+	 */
+	private long loadCounts(long[] counts) {
+		long count = 0;
+		for (int s = 0; s < STRIPE_COUNT; s++) {
+			AtomicLongArray buckets = this.stripes.get(s);
+			if (buckets != null) {
+				for (int i = 0; i < BUCKET_COUNT; i++) {
+					long bucketCount = buckets.get(i);
+					if (counts != null) {
+						counts[i] += bucketCount;
+					}
+					count += bucketCount;
+				}
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * ====================== LatencyMetrics ========================
+	 */
+
+	@Override
+	public long getCount() {
+		return this.loadCounts(null);
+	}
+
+	@Override
+	public double getMean() {
+		long count = this.getCount();
+		return (count == 0) ? 0 : ((double) this.total.sum()) / count;
+	}
+
+	@Override
+	public long getMax() {
+		return this.max.get();
+	}
+
+	@Override
+	public long getPercentile(double percentile) {
+
+		// Take snapshot of counts (as may be concurrently recording)
+		long[] counts = new long[BUCKET_COUNT];
+		long count = this.loadCounts(counts);
+		if (count == 0) {
+			return 0; // no latencies
+		}
+
+		// Find the bucket containing the percentile
+		long max = this.max.get();
+		long rank = Math.max(1, (long) Math.ceil((Math.min(Math.max(percentile, 0), 100) / 100.0) * count));
+		long cumulative = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulative += counts[i];
+			if (cumulative >= rank) {
+				return Math.min(bucketUpperBound(i), max);
+			}
+		}
+
+		// Should not get here, but percentile within maximum
+		return max;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.metric;
+
+import net.officefloor.frame.api.metric.MetricsListener;
+import net.officefloor.frame.api.metric.OfficeFloorMetrics;
+import net.officefloor.frame.api.metric.OfficeMetrics;
+import net.officefloor.frame.api.metric.TeamMetrics;
+import net.officefloor.frame.internal.structure.OfficeMetricsRecorder;
+import net.officefloor.frame.internal.structure.TeamMetricsRecorder;
+
+/**
+ * {@link OfficeFloorMetrics} implementation.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class OfficeFloorMetricsImpl implements OfficeFloorMetrics {
+
+	/**
+	 * {@link TeamMetrics} instances.
+	 */
+	private final TeamMetricsRecorder[] teamMetrics;
+
+	/**
+	 * {@link OfficeMetrics} instances.
+	 */
+	private final OfficeMetricsRecorder[] officeMetrics;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param teamMetrics   {@link TeamMetricsRecorder} instances.
+	 * @param officeMetrics {@link OfficeMetricsRecorder} instances.
+	 */
+	public OfficeFloorMetricsImpl(TeamMetricsRecorder[] teamMetrics, OfficeMetricsRecorder[] officeMetrics) {
+		this.teamMetrics = teamMetrics;
+		this.officeMetrics = officeMetrics;
+	}
+
+	/*
+	 * =================== OfficeFloorMetrics =======================
+	 */
+
+	@Override
+	public TeamMetrics[] getTeamMetrics() {
+		return this.teamMetrics;
+	}
+
+	@Override
+	public OfficeMetrics[] getOfficeMetrics() {
+		return this.officeMetrics;
+	}
+
+	@Override
+	public void addMetricsListener(MetricsListener listener) {
+		for (TeamMetricsRecorder team : this.teamMetrics) {
+			team.addMetricsListener(listener);
+		}
+		for (OfficeMetricsRecorder office : this.officeMetrics) {
+			office.addMetricsListener(listener);
+		}
+	}
+
+}
@@ -0,0 +1,162 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.metric;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.officefloor.frame.api.metric.FunctionMetrics;
+import net.officefloor.frame.api.metric.LatencyMetrics;
+import net.officefloor.frame.api.metric.MetricsListener;
+import net.officefloor.frame.api.metric.OfficeMetrics;
+import net.officefloor.frame.internal.structure.FunctionMetricsRecorder;
+import net.officefloor.frame.internal.structure.ManagedFunctionMetaData;
+import net.officefloor.frame.internal.structure.OfficeMetricsRecorder;
+
+/**
+ * {@link OfficeMetrics} implementation.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class OfficeMetricsImpl implements OfficeMetricsRecorder {
+
+	/**
+	 * Name of the office.
+	 */
+	private final String officeName;
+
+	/**
+	 * Number of started processes.
+	 */
+	private final LongAdder started = new LongAdder();
+
+	/**
+	 * Number of completed processes.
+	 */
+	private final LongAdder completed = new LongAdder();
+
+	/**
+	 * Process duration {@link LatencyHistogram}.
+	 */
+	private final LatencyHistogram processDuration = new LatencyHistogram();
+
+	/**
+	 * {@link FunctionMetricsImpl} instances indexed by the
+	 * {@link ManagedFunctionMetaData} index within the office.
+	 */
+	private final FunctionMetricsImpl[] functionMetrics;
+
+	/**
+	 * Index of the {@link ManagedFunctionMetaData} within the office. Only used
+	 * in construction to link the {@link FunctionMetricsRecorder}.
+	 */
+	private final Map<ManagedFunctionMetaData<?, ?>, Integer> functionIndexes = new IdentityHashMap<>();
+
+	/**
+	 * {@link MetricsListener} instances. Copied on add, so notifying does not
+	 * block.
+	 */
+	private volatile MetricsListener[] listeners = new MetricsListener[0];
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param officeName        Name of the office.
+	 * @param functionMetaDatas {@link ManagedFunctionMetaData} instances of the
+	 *                          office.
+	 */
+	public OfficeMetricsImpl(String officeName, ManagedFunctionMetaData<?, ?>[] functionMetaDatas) {
+		this.officeName = officeName;
+
+		// Preallocate the function metrics
+		this.functionMetrics = new FunctionMetricsImpl[functionMetaDatas.length];
+		for (int i = 0; i < functionMetaDatas.length; i++) {
+			ManagedFunctionMetaData<?, ?> functionMetaData = functionMetaDatas[i];
+			this.functionMetrics[i] = new FunctionMetricsImpl(functionMetaData.getFunctionName());
+			this.functionIndexes.put(functionMetaData, i);
+		}
+	}
+
+	/*
+	 * =================== OfficeMetricsRecorder ====================
+	 */
+
+	@Override
+	public void processStarted() {
+		this.started.increment();
+	}
+
+	@Override
+	public void processCompleted(long duration) {
+		this.completed.increment();
+		this.processDuration.record(duration);
+		for (MetricsListener listener : this.listeners) {
+			listener.processCompleted(this, duration);
+		}
+	}
+
+	@Override
+	public synchronized void addMetricsListener(MetricsListener listener) {
+		MetricsListener[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		this.listeners = listeners;
+	}
+
+	@Override
+	public FunctionMetricsRecorder getFunctionMetricsRecorder(ManagedFunctionMetaData<?, ?> functionMetaData) {
+		Integer index = this.functionIndexes.get(functionMetaData);
+		return (index == null) ? null : this.functionMetrics[index];
+	}
+
+	/*
+	 * ====================== OfficeMetrics =========================
+	 */
+
+	@Override
+	public String getOfficeName() {
+		return this.officeName;
+	}
+
+	@Override
+	public long getActiveProcessCount() {
+		// Read completed first, so not negative on concurrent completion
+		long completed = this.completed.sum();
+		return Math.max(0, this.started.sum() - completed);
+	}
+
+	@Override
+	public long getCompletedProcessCount() {
+		return this.completed.sum();
+	}
+
+	@Override
+	public LatencyMetrics getProcessDuration() {
+		return this.processDuration;
+	}
+
+	@Override
+	public FunctionMetrics[] getFunctionMetrics() {
+		return this.functionMetrics;
+	}
+
+}
@@ -0,0 +1,160 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.metric;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.officefloor.frame.api.metric.LatencyMetrics;
+import net.officefloor.frame.api.metric.MetricsListener;
+import net.officefloor.frame.api.metric.TeamMetrics;
+import net.officefloor.frame.internal.structure.TeamMetricsRecorder;
+
+/**
+ * {@link TeamMetrics} implementation.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class TeamMetricsImpl implements TeamMetricsRecorder {
+
+	/**
+	 * Name of the team.
+	 */
+	private final String teamName;
+
+	/**
+	 * Number of assigned jobs.
+	 */
+	private final LongAdder assigned = new LongAdder();
+
+	/**
+	 * Number of assigned jobs that have not yet started.
+	 */
+	private final LongAdder queued = new LongAdder();
+
+	/**
+	 * Number of times the team was overloaded.
+	 */
+	private final LongAdder overloads = new LongAdder();
+
+	/**
+	 * Wait time {@link LatencyHistogram}.
+	 */
+	private final LatencyHistogram waitTime = new LatencyHistogram();
+
+	/**
+	 * Service time {@link LatencyHistogram}.
+	 */
+	private final LatencyHistogram serviceTime = new LatencyHistogram();
+
+	/**
+	 * {@link MetricsListener} instances. Copied on add, so notifying does not
+	 * block.
+	 */
+	private volatile MetricsListener[] listeners = new MetricsListener[0];
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param teamName Name of the team.
+	 */
+	public TeamMetricsImpl(String teamName) {
+		this.teamName = teamName;
+	}
+
+	/*
+	 * ==================== TeamMetricsRecorder =====================
+	 */
+
+	@Override
+	public void jobAssigned() {
+		this.assigned.increment();
+		this.queued.increment();
+	}
+
+	@Override
+	public void jobOverloaded() {
+		this.queued.decrement();
+		this.overloads.increment();
+	}
+
+	@Override
+	public void jobCancelled() {
+		this.queued.decrement();
+	}
+
+	@Override
+	public void jobStarted() {
+		this.queued.decrement();
+	}
+
+	@Override
+	public void jobExecuted(long waitTime, long serviceTime) {
+		this.waitTime.record(waitTime);
+		this.serviceTime.record(serviceTime);
+		for (MetricsListener listener : this.listeners) {
+			listener.jobExecuted(this, waitTime, serviceTime);
+		}
+	}
+
+	@Override
+	public synchronized void addMetricsListener(MetricsListener listener) {
+		MetricsListener[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		this.listeners = listeners;
+	}
+
+	/*
+	 * ======================= TeamMetrics ==========================
+	 */
+
+	@Override
+	public String getTeamName() {
+		return this.teamName;
+	}
+
+	@Override
+	public long getQueueDepth() {
+		// Sum is not atomic, so may be negative on concurrent start
+		return Math.max(0, this.queued.sum());
+	}
+
+	@Override
+	public long getAssignedJobCount() {
+		return this.assigned.sum();
+	}
+
+	@Override
+	public long getOverloadCount() {
+		return this.overloads.sum();
+	}
+
+	@Override
+	public LatencyMetrics getWaitTime() {
+		return this.waitTime;
+	}
+
+	@Override
+	public LatencyMetrics getServiceTime() {
+		return this.serviceTime;
+	}
+
+}
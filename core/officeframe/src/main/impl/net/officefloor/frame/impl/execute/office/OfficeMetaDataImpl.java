@@ -22,6 +22,7 @@ package net.officefloor.frame.impl.execute.office;
 
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 
 import net.officefloor.frame.api.executive.Executive;
@@ -36,6 +37,7 @@ import net.officefloor.frame.api.manage.StateManager;
 import net.officefloor.frame.api.managedobject.ManagedObject;
 import net.officefloor.frame.api.profile.Profiler;
 import net.officefloor.frame.impl.execute.function.Promise;
+import net.officefloor.frame.impl.execute.metric.OfficeMetricsImpl;
 import net.officefloor.frame.impl.execute.process.ProcessStateImpl;
 import net.officefloor.frame.internal.structure.Flow;
 import net.officefloor.frame.internal.structure.FlowMetaData;
@@ -49,6 +51,7 @@ import net.officefloor.frame.internal.structure.MonitorClock;
 import net.officefloor.frame.internal.structure.OfficeManager;
 import net.officefloor.frame.internal.structure.OfficeManagerHirer;
 import net.officefloor.frame.internal.structure.OfficeMetaData;
+import net.officefloor.frame.internal.structure.OfficeMetricsRecorder;
 import net.officefloor.frame.internal.structure.OfficeStartupFunction;
 import net.officefloor.frame.internal.structure.ProcessMetaData;
 import net.officefloor.frame.internal.structure.ProcessState;
@@ -77,6 +80,11 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 	 */
 	private final MonitorClock monitorClock;
 
+	/**
+	 * {@link OfficeMetricsRecorder}.
+	 */
+	private final OfficeMetricsRecorder officeMetrics;
+
 	/**
 	 * {@link FunctionLoop}.
 	 */
@@ -136,6 +144,11 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 	 */
 	private final Profiler profiler;
 
+	/**
+	 * Proportion of {@link ProcessState} instances to profile.
+	 */
+	private final double profilerSampleRate;
+
 	/**
 	 * Default {@link OfficeManager}.
 	 */
@@ -167,6 +180,8 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 	 * @param startupFunctions               {@link OfficeStartupFunction}
 	 *                                       instances.
 	 * @param profiler                       {@link Profiler}.
+	 * @param profilerSampleRate             Proportion of {@link ProcessState}
+	 *                                       instances to profile.
 	 */
 	public OfficeMetaDataImpl(String officeName, OfficeManagerHirer officeManagerHirer, MonitorClock monitorClock,
 			FunctionLoop functionLoop, ThreadLocalAwareExecutor threadLocalAwareExecutor, Executive executive,
@@ -174,10 +189,12 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 			ManagedFunctionLocator functionLocator, ProcessMetaData processMetaData,
 			ManagedFunctionMetaData<?, ?> stateKeepAliveFunctionMetaData,
 			Map<String, ManagedFunctionMetaData<?, ?>> loadObjectMetaDatas, OfficeStartupFunction[] startupFunctions,
-			Profiler profiler) {
+			Profiler profiler, double profilerSampleRate) {
 		this.officeName = officeName;
 		this.officeManagerHirer = officeManagerHirer;
 		this.monitorClock = monitorClock;
+		this.officeMetrics = new OfficeMetricsImpl(officeName,
+				(functionMetaDatas != null) ? functionMetaDatas : new ManagedFunctionMetaData[0]);
 		this.functionLoop = functionLoop;
 		this.threadLocalAwareExecutor = threadLocalAwareExecutor;
 		this.executive = executive;
@@ -189,6 +206,7 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 		this.loadObjectMetaDatas = loadObjectMetaDatas;
 		this.startupFunctions = startupFunctions;
 		this.profiler = profiler;
+		this.profilerSampleRate = profilerSampleRate;
 	}
 
 	/*
@@ -231,6 +249,11 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 		return this.monitorClock;
 	}
 
+	@Override
+	public OfficeMetricsRecorder getOfficeMetrics() {
+		return this.officeMetrics;
+	}
+
 	@Override
 	public FunctionLoop getFunctionLoop() {
 		return this.functionLoop;
@@ -301,8 +324,8 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 	}
 
 	@Override
-	public ProcessManager invokeProcess(FlowMetaData flowMetaData, Object parameter, long delay, FlowCallback callback,
-			ThreadState callbackThreadState, ManagedObject inputManagedObject,
+	public ProcessManager invokeProcess(FlowMetaData flowMetaData, Object parameter, long delay, long deadline,
+			FlowCallback callback, ThreadState callbackThreadState, ManagedObject inputManagedObject,
 			ManagedObjectMetaData<?> inputManagedObjectMetaData, int processBoundIndexForInputManagedObject)
 			throws InvalidParameterTypeException {
 
@@ -327,6 +350,12 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 
 		// Obtain the process state
 		ProcessState processState = function.getThreadState().getProcessState();
+		ProcessManager processManager = processState.getProcessManager();
+
+		// Specify deadline before execution (so applies to all functions)
+		if (deadline != ProcessManager.NO_DEADLINE) {
+			processManager.setDeadline(deadline);
+		}
 
 		// Trigger the process
 		if (delay > 0) {
@@ -341,7 +370,6 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 		}
 
 		// Return the process manager
-		ProcessManager processManager = processState.getProcessManager();
 		return processManager;
 	}
 
@@ -375,16 +403,23 @@ public class OfficeMetaDataImpl implements OfficeMetaData {
 			ManagedObject inputManagedObject, ManagedObjectMetaData<?> inputManagedObjectMetaData,
 			int processBoundIndexForInputManagedObject, Consumer<ProcessState> initialSetup) {
 
+		// Determine if profile the process (sampling to reduce overheads)
+		Profiler profiler = this.profiler;
+		if ((profiler != null) && (this.profilerSampleRate < 1.0)
+				&& (ThreadLocalRandom.current().nextDouble() >= this.profilerSampleRate)) {
+			profiler = null; // not sampled
+		}
+
 		// Create the Process State (based on whether have managed object)
 		ProcessState processState;
 		if (inputManagedObject == null) {
 			// Create Process without an Input Managed Object
 			processState = new ProcessStateImpl(this.processMetaData, this, callback, callbackThreadState,
-					this.threadLocalAwareExecutor, this.profiler, initialSetup);
+					this.threadLocalAwareExecutor, profiler, initialSetup);
 		} else {
 			// Create Process with the Input Managed Object
 			processState = new ProcessStateImpl(this.processMetaData, this, callback, callbackThreadState,
-					this.threadLocalAwareExecutor, this.profiler, inputManagedObject, inputManagedObjectMetaData,
+					this.threadLocalAwareExecutor, profiler, inputManagedObject, inputManagedObjectMetaData,
 					processBoundIndexForInputManagedObject, initialSetup);
 		}
 
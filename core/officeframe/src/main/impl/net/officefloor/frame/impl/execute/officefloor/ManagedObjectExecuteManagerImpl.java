@@ -29,6 +29,7 @@ import java.util.logging.Logger;
 import net.officefloor.frame.api.executive.ExecutionStrategy;
 import net.officefloor.frame.api.function.FlowCallback;
 import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.api.manage.ProcessManager;
 import net.officefloor.frame.api.managedobject.ManagedObject;
 import net.officefloor.frame.api.managedobject.source.ManagedObjectExecuteContext;
 import net.officefloor.frame.api.managedobject.source.ManagedObjectService;
@@ -396,7 +397,7 @@ public class ManagedObjectExecuteManagerImpl<F extends Enum<F>> implements Manag
 		@Override
 		public void run() {
 			this.manager.serviceContext.invokeProcess(this.flowMetaData, this.parameter, this.managedObject, 0,
-					this.callback);
+					ProcessManager.NO_DEADLINE, this.callback);
 		}
 	}
 
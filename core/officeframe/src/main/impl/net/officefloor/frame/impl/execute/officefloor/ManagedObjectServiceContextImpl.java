@@ -105,19 +105,20 @@ public class ManagedObjectServiceContextImpl<F extends Enum<F>> implements Manag
 	 * @param parameter     Parameter.
 	 * @param managedObject {@link ManagedObject}.
 	 * @param delay         Possible delay.
+	 * @param deadline      Deadline for the {@link ProcessState}.
 	 * @param callback      {@link FlowCallback}.
 	 * @return {@link ProcessManager}.
 	 */
 	public ProcessManager invokeProcess(FlowMetaData flowMetaData, Object parameter, ManagedObject managedObject,
-			long delay, FlowCallback callback) {
+			long delay, long deadline, FlowCallback callback) {
 
 		// Ensure execution is managed
 		Execution<RuntimeException> execution = () -> {
 			try {
 
 				// Invoke the process
-				return this.officeMetaData.invokeProcess(flowMetaData, parameter, delay, callback, null, managedObject,
-						this.managedObjectMetaData, this.processMoIndex);
+				return this.officeMetaData.invokeProcess(flowMetaData, parameter, delay, deadline, callback, null,
+						managedObject, this.managedObjectMetaData, this.processMoIndex);
 			} catch (InvalidParameterTypeException ex) {
 				// Propagate (unlikely so no need for checked exception)
 				throw new IllegalArgumentException(ex);
@@ -145,7 +146,19 @@ public class ManagedObjectServiceContextImpl<F extends Enum<F>> implements Manag
 		FlowMetaData flowMetaData = this.getFlowMetaData(flowIndex);
 
 		// Invoke the process
-		return this.invokeProcess(flowMetaData, parameter, managedObject, delay, callback);
+		return this.invokeProcess(flowMetaData, parameter, managedObject, delay, ProcessManager.NO_DEADLINE,
+				callback);
+	}
+
+	@Override
+	public ProcessManager invokeProcess(int flowIndex, Object parameter, ManagedObject managedObject, long delay,
+			long deadline, FlowCallback callback) {
+
+		// Obtain the flow meta-data
+		FlowMetaData flowMetaData = this.getFlowMetaData(flowIndex);
+
+		// Invoke the process
+		return this.invokeProcess(flowMetaData, parameter, managedObject, delay, deadline, callback);
 	}
 
 }
@@ -45,7 +45,9 @@ import net.officefloor.frame.api.manage.UnknownOfficeException;
 import net.officefloor.frame.api.managedobject.pool.ManagedObjectPool;
 import net.officefloor.frame.api.managedobject.source.ManagedObjectService;
 import net.officefloor.frame.api.managedobject.source.ManagedObjectSource;
+import net.officefloor.frame.api.metric.OfficeFloorMetrics;
 import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.impl.execute.metric.OfficeFloorMetricsImpl;
 import net.officefloor.frame.impl.execute.office.OfficeImpl;
 import net.officefloor.frame.internal.structure.AssetManager;
 import net.officefloor.frame.internal.structure.AssetManagerReference;
@@ -61,8 +63,10 @@ import net.officefloor.frame.internal.structure.ManagedObjectStartupRunnable;
 import net.officefloor.frame.internal.structure.OfficeFloorMetaData;
 import net.officefloor.frame.internal.structure.OfficeManager;
 import net.officefloor.frame.internal.structure.OfficeMetaData;
+import net.officefloor.frame.internal.structure.OfficeMetricsRecorder;
 import net.officefloor.frame.internal.structure.OfficeStartupFunction;
 import net.officefloor.frame.internal.structure.TeamManagement;
+import net.officefloor.frame.internal.structure.TeamMetricsRecorder;
 
 /**
  * Implementation of {@link OfficeFloor}.
@@ -110,6 +114,11 @@ public class OfficeFloorImpl implements OfficeFloor {
 	 */
 	private final Object startupNotify;
 
+	/**
+	 * {@link OfficeFloorMetrics}.
+	 */
+	private final OfficeFloorMetrics metrics;
+
 	/**
 	 * {@link Office} instances by their name.
 	 */
@@ -137,6 +146,19 @@ public class OfficeFloorImpl implements OfficeFloor {
 		this.executive = executive;
 		this.backgroundSchedulings = backgroundSchedulings;
 		this.startupNotify = startupNotify;
+
+		// Create the metrics (live, so available before open)
+		TeamManagement[] teams = officeFloorMetaData.getTeams();
+		TeamMetricsRecorder[] teamMetrics = new TeamMetricsRecorder[teams.length];
+		for (int i = 0; i < teams.length; i++) {
+			teamMetrics[i] = teams[i].getTeamMetrics();
+		}
+		OfficeMetaData[] officeMetaDatas = officeFloorMetaData.getOfficeMetaData();
+		OfficeMetricsRecorder[] officeMetrics = new OfficeMetricsRecorder[officeMetaDatas.length];
+		for (int i = 0; i < officeMetaDatas.length; i++) {
+			officeMetrics[i] = officeMetaDatas[i].getOfficeMetrics();
+		}
+		this.metrics = new OfficeFloorMetricsImpl(teamMetrics, officeMetrics);
 	}
 
 	/*
@@ -590,6 +612,11 @@ public class OfficeFloorImpl implements OfficeFloor {
 		return office;
 	}
 
+	@Override
+	public OfficeFloorMetrics getMetrics() {
+		return this.metrics;
+	}
+
 	/**
 	 * Ensures open.
 	 * 
@@ -20,6 +20,8 @@
 
 package net.officefloor.frame.impl.execute.process;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
@@ -63,6 +65,13 @@ import net.officefloor.frame.internal.structure.ThreadState;
  */
 public class ProcessStateImpl implements ProcessState {
 
+	/**
+	 * {@link VarHandle} for thread safe lazy creation of the
+	 * {@link ManagedObjectContainer} instances.
+	 */
+	private static final VarHandle MANAGED_OBJECTS = MethodHandles
+			.arrayElementVarHandle(ManagedObjectContainer[].class);
+
 	/**
 	 * {@link ProcessIdentifier} for this {@link ProcessState}.
 	 */
@@ -82,6 +91,11 @@ public class ProcessStateImpl implements ProcessState {
 				return null;
 			});
 		}
+
+		@Override
+		public void setDeadline(long deadline) {
+			ProcessStateImpl.this.deadline = deadline;
+		}
 	};
 
 	/**
@@ -120,7 +134,10 @@ public class ProcessStateImpl implements ProcessState {
 	private final OfficeMetaData officeMetaData;
 
 	/**
+	 * <p>
 	 * {@link ManagedObjectContainer} instances for the {@link ProcessState}.
+	 * <p>
+	 * Lazily created on first use, so access via {@link #MANAGED_OBJECTS}.
 	 */
 	private final ManagedObjectContainer[] managedObjects;
 
@@ -151,6 +168,17 @@ public class ProcessStateImpl implements ProcessState {
 	 */
 	private boolean isCancelled = false;
 
+	/**
+	 * Deadline for this {@link ProcessState}. Volatile as may be specified by
+	 * another {@link Thread}.
+	 */
+	private volatile long deadline = ProcessManager.NO_DEADLINE;
+
+	/**
+	 * {@link System#nanoTime()} when this {@link ProcessState} started.
+	 */
+	private final long startTime;
+
 	/**
 	 * Initiate.
 	 * 
@@ -236,12 +264,9 @@ public class ProcessStateImpl implements ProcessState {
 				callbackThreadState, this, this.processProfiler);
 		this.activeThreads.addEntry(this.mainThreadState);
 
-		// Create all managed object containers (final for thread safety)
+		// Managed object containers lazily created on first use (final for thread safety)
 		ManagedObjectMetaData<?>[] managedObjectMetaData = this.processMetaData.getManagedObjectMetaData();
 		ManagedObjectContainer[] managedObjectContainers = new ManagedObjectContainer[managedObjectMetaData.length];
-		for (int i = 0; i < managedObjectContainers.length; i++) {
-			managedObjectContainers[i] = new ManagedObjectContainerImpl(managedObjectMetaData[i], this.mainThreadState);
-		}
 		if (inputManagedObject != null) {
 			// Overwrite the Container for the Input Managed Object
 			managedObjectContainers[inputManagedObjectIndex] = new ManagedObjectContainerImpl(inputManagedObject,
@@ -251,6 +276,10 @@ public class ProcessStateImpl implements ProcessState {
 
 		// Create the clean up
 		this.cleanup = new ManagedObjectCleanupImpl(this, this.officeMetaData);
+
+		// Record the process started
+		this.startTime = System.nanoTime();
+		this.officeMetaData.getOfficeMetrics().processStarted();
 	}
 
 	/*
@@ -282,6 +311,18 @@ public class ProcessStateImpl implements ProcessState {
 		return this.isCancelled;
 	}
 
+	@Override
+	public long getDeadline() {
+		return this.deadline;
+	}
+
+	@Override
+	public boolean isDeadlineExpired() {
+		long deadline = this.deadline;
+		return (deadline != ProcessManager.NO_DEADLINE)
+				&& (this.officeMetaData.getMonitorClock().currentTimeMillis() > deadline);
+	}
+
 	@Override
 	public ThreadState getMainThreadState() {
 		return this.mainThreadState;
@@ -389,10 +430,13 @@ public class ProcessStateImpl implements ProcessState {
 					// Clean up process
 					FunctionState cleanUpFunctions = null;
 
-					// Unload managed objects
+					// Unload managed objects (some may not have been used)
 					for (int i = 0; i < process.managedObjects.length; i++) {
-						ManagedObjectContainer container = process.managedObjects[i];
-						cleanUpFunctions = Promise.then(cleanUpFunctions, container.unloadManagedObject());
+						ManagedObjectContainer container = (ManagedObjectContainer) MANAGED_OBJECTS
+								.getAcquire(process.managedObjects, i);
+						if (container != null) {
+							cleanUpFunctions = Promise.then(cleanUpFunctions, container.unloadManagedObject());
+						}
 					}
 
 					// Clean up process state
@@ -430,7 +474,21 @@ public class ProcessStateImpl implements ProcessState {
 
 	@Override
 	public ManagedObjectContainer getManagedObjectContainer(int index) {
-		return this.managedObjects[index];
+
+		// Determine if Managed Object Container already created
+		ManagedObjectContainer container = (ManagedObjectContainer) MANAGED_OBJECTS.getAcquire(this.managedObjects,
+				index);
+		if (container != null) {
+			return container;
+		}
+
+		// Lazy load the Managed Object Container
+		// (process may be accessed by multiple threads, so first created is used)
+		ManagedObjectContainer created = new ManagedObjectContainerImpl(
+				this.processMetaData.getManagedObjectMetaData()[index], this.mainThreadState);
+		container = (ManagedObjectContainer) MANAGED_OBJECTS.compareAndExchange(this.managedObjects, index, null,
+				created);
+		return (container != null) ? container : created;
 	}
 
 	@Override
@@ -472,6 +530,9 @@ public class ProcessStateImpl implements ProcessState {
 				process.processProfiler.processStateCompleted();
 			}
 
+			// Record the process complete
+			process.officeMetaData.getOfficeMetrics().processCompleted(System.nanoTime() - process.startTime);
+
 			// Notify executive that process complete
 			Executive executive = process.officeMetaData.getExecutive();
 			executive.processComplete(process.processIdentifier);
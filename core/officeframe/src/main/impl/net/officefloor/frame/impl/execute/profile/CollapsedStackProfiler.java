@@ -0,0 +1,241 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.profile;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.officefloor.frame.api.function.AsynchronousFlow;
+import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.api.profile.ProfiledManagedFunction;
+import net.officefloor.frame.api.profile.ProfiledProcessState;
+import net.officefloor.frame.api.profile.ProfiledThreadState;
+import net.officefloor.frame.api.profile.Profiler;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.internal.structure.ThreadState;
+
+/**
+ * <p>
+ * {@link Profiler} that folds the profiled processes into collapsed stacks for
+ * flame graph tooling.
+ * <p>
+ * Stacks follow the logical call graph of the {@link ManagedFunction}
+ * instances, rather than the physical {@link Thread} stacks. The frames are the
+ * sections of the {@link ManagedFunction} name followed by the
+ * {@link ManagedFunction}. Flows invoked within the same {@link ThreadState}
+ * are stacked under the invoking {@link ManagedFunction}, while next
+ * {@link ManagedFunction} instances remain siblings. Spawned
+ * {@link ThreadState} instances are stacked under the spawning
+ * {@link ManagedFunction}. Each {@link ManagedFunction} has
+ * a {@link #WAIT_FRAME} for the time waiting to be executed (e.g. hand off
+ * between {@link Team} instances and {@link AsynchronousFlow} completion) and
+ * an {@link #EXECUTE_FRAME} for the time executing. Values are in
+ * microseconds.
+ * <p>
+ * Use with {@link Profiler} sampling to keep overheads low in production.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class CollapsedStackProfiler implements Profiler, CollapsedStackProfilerMBean {
+
+	/**
+	 * Frame for waiting to execute the {@link ManagedFunction}.
+	 */
+	public static final String WAIT_FRAME = "[wait]";
+
+	/**
+	 * Frame for executing the {@link ManagedFunction}.
+	 */
+	public static final String EXECUTE_FRAME = "[execute]";
+
+	/**
+	 * Obtains the frames for the {@link ManagedFunction} name.
+	 * 
+	 * @param functionName Name of the {@link ManagedFunction}.
+	 * @return Frames for the {@link ManagedFunction} name.
+	 */
+	private static String toFrames(String functionName) {
+		return functionName.replace(';', '_').replace('.', ';');
+	}
+
+	/**
+	 * Nanoseconds of each collapsed stack.
+	 */
+	private final Map<String, LongAdder> stacks = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of profiled processes.
+	 */
+	private final LongAdder processCount = new LongAdder();
+
+	/**
+	 * Writes the collapsed stacks.
+	 * 
+	 * @param writer {@link Writer} to receive the collapsed stacks.
+	 * @throws IOException If fails to write.
+	 */
+	public void writeCollapsedStacks(Writer writer) throws IOException {
+
+		// Sort for consistent output
+		Map<String, Long> sorted = new TreeMap<>();
+		this.stacks.forEach((stack, nanoseconds) -> sorted.put(stack, nanoseconds.sum()));
+
+		// Write the stacks
+		for (Map.Entry<String, Long> entry : sorted.entrySet()) {
+			long microseconds = entry.getValue() / 1000;
+			if (microseconds > 0) {
+				writer.write(entry.getKey());
+				writer.write(' ');
+				writer.write(String.valueOf(microseconds));
+				writer.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Records time against the stack.
+	 * 
+	 * @param stack       Stack.
+	 * @param nanoseconds Time in nanoseconds.
+	 */
+	private void record(String stack, long nanoseconds) {
+		if (nanoseconds > 0) {
+			this.stacks.computeIfAbsent(stack, (key) -> new LongAdder()).add(nanoseconds);
+		}
+	}
+
+	/**
+	 * Obtains the stack for the {@link ProfiledManagedFunction}.
+	 * 
+	 * @param function        {@link ProfiledManagedFunction}.
+	 * @param functionThreads {@link ProfiledThreadState} by
+	 *                        {@link ProfiledManagedFunction}.
+	 * @param functionStacks  Stacks by {@link ProfiledManagedFunction}.
+	 * @return Stack for the {@link ProfiledManagedFunction}.
+	 */
+	private static String getStack(ProfiledManagedFunction function,
+			Map<ProfiledManagedFunction, ProfiledThreadState> functionThreads,
+			Map<ProfiledManagedFunction, String> functionStacks) {
+
+		// Determine if already obtained
+		String stack = functionStacks.get(function);
+		if (stack != null) {
+			return stack;
+		}
+
+		// Stack under invoking function (or function spawning the thread)
+		stack = toFrames(function.getFunctionName());
+		ProfiledManagedFunction parentFunction = function.getInvokingManagedFunction();
+		if (parentFunction == null) {
+			ProfiledThreadState thread = functionThreads.get(function);
+			parentFunction = (thread == null) ? null : thread.getSpawningManagedFunction();
+		}
+		if ((parentFunction != null) && (functionThreads.containsKey(parentFunction))) {
+			stack = getStack(parentFunction, functionThreads, functionStacks) + ";" + stack;
+		}
+
+		// Register and return the stack
+		functionStacks.put(function, stack);
+		return stack;
+	}
+
+	/*
+	 * ========================= Profiler ============================
+	 */
+
+	@Override
+	public void profileProcessState(ProfiledProcessState process) {
+
+		// Obtain the threads of each function
+		List<ProfiledThreadState> threads = process.getProfiledThreadStates();
+		Map<ProfiledManagedFunction, ProfiledThreadState> functionThreads = new IdentityHashMap<>();
+		for (ProfiledThreadState thread : threads) {
+			for (ProfiledManagedFunction function : thread.getProfiledManagedFunctions()) {
+				functionThreads.put(function, thread);
+			}
+		}
+
+		// Fold the functions into the stacks
+		Map<ProfiledManagedFunction, String> functionStacks = new IdentityHashMap<>();
+		for (ProfiledThreadState thread : threads) {
+
+			// Functions are ready once previous function in thread completes
+			long readyTimestamp = thread.getStartTimestampNanoseconds();
+			for (ProfiledManagedFunction function : thread.getProfiledManagedFunctions()) {
+				String stack = getStack(function, functionThreads, functionStacks);
+				long start = function.getStartTimestampNanoseconds();
+				long end = function.getEndTimestampNanoseconds();
+				this.record(stack + ";" + WAIT_FRAME, start - readyTimestamp);
+				this.record(stack + ";" + EXECUTE_FRAME, end - start);
+				readyTimestamp = Math.max(end, start);
+			}
+		}
+
+		// Process folded
+		this.processCount.increment();
+	}
+
+	/*
+	 * ================= CollapsedStackProfilerMBean =================
+	 */
+
+	@Override
+	public long getProfiledProcessCount() {
+		return this.processCount.sum();
+	}
+
+	@Override
+	public String dumpCollapsedStacks() {
+		StringWriter writer = new StringWriter();
+		try {
+			this.writeCollapsedStacks(writer);
+		} catch (IOException ex) {
+			// Should not occur writing to string
+			throw new UncheckedIOException(ex);
+		}
+		return writer.toString();
+	}
+
+	@Override
+	public void dumpCollapsedStacksToFile(String filePath) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+			this.writeCollapsedStacks(writer);
+		}
+	}
+
+	@Override
+	public void reset() {
+		this.stacks.clear();
+		this.processCount.reset();
+	}
+
+}
@@ -0,0 +1,59 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.profile;
+
+import java.io.IOException;
+
+/**
+ * MBean interface for the {@link CollapsedStackProfiler}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface CollapsedStackProfilerMBean {
+
+	/**
+	 * Obtains the number of profiled processes folded into the collapsed stacks.
+	 * 
+	 * @return Number of profiled processes folded into the collapsed stacks.
+	 */
+	long getProfiledProcessCount();
+
+	/**
+	 * Dumps the collapsed stacks.
+	 * 
+	 * @return Collapsed stacks.
+	 */
+	String dumpCollapsedStacks();
+
+	/**
+	 * Dumps the collapsed stacks to a file.
+	 * 
+	 * @param filePath Path to the file.
+	 * @throws IOException If fails to write the file.
+	 */
+	void dumpCollapsedStacksToFile(String filePath) throws IOException;
+
+	/**
+	 * Clears the collapsed stacks to start folding afresh.
+	 */
+	void reset();
+
+}
@@ -23,6 +23,7 @@ package net.officefloor.frame.impl.execute.profile;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.officefloor.frame.api.profile.ProfiledManagedFunction;
 import net.officefloor.frame.api.profile.ProfiledProcessState;
 import net.officefloor.frame.api.profile.ProfiledThreadState;
 import net.officefloor.frame.api.profile.Profiler;
@@ -106,10 +107,17 @@ public class ProcessProfilerImpl implements ProcessProfiler, ProfiledProcessStat
 	 */
 
 	@Override
-	public ThreadProfiler addThreadState(ThreadState threadState) {
+	public ThreadProfiler addThreadState(ThreadState threadState, ThreadProfiler spawningThreadProfiler) {
 		long threadStartTimeMilliseconds = System.currentTimeMillis();
 		long threadStartTimestampNanoseconds = System.nanoTime();
-		return new ThreadProfilerImpl(threadState, this, threadStartTimeMilliseconds, threadStartTimestampNanoseconds);
+
+		// Spawned by function currently executing in spawning thread
+		ProfiledManagedFunction spawningFunction = (spawningThreadProfiler instanceof ThreadProfilerImpl)
+				? ((ThreadProfilerImpl) spawningThreadProfiler).getLastProfiledManagedFunction()
+				: null;
+
+		return new ThreadProfilerImpl(threadState, this, spawningFunction, threadStartTimeMilliseconds,
+				threadStartTimestampNanoseconds);
 	}
 
 	@Override
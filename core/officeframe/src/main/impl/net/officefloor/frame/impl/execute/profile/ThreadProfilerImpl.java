@@ -21,6 +21,7 @@
 package net.officefloor.frame.impl.execute.profile;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import net.officefloor.frame.api.function.ManagedFunction;
@@ -53,6 +54,12 @@ public class ThreadProfilerImpl extends AbstractLinkedListSetEntry<FunctionState
 	 */
 	private final ProcessProfilerImpl processProfiler;
 
+	/**
+	 * {@link ProfiledManagedFunction} that spawned the {@link ThreadState}. May
+	 * be <code>null</code>.
+	 */
+	private final ProfiledManagedFunction spawningFunction;
+
 	/**
 	 * Start time stamp in milliseconds.
 	 */
@@ -66,30 +73,46 @@ public class ThreadProfilerImpl extends AbstractLinkedListSetEntry<FunctionState
 	/**
 	 * {@link ProfiledManagedFunction} instances.
 	 */
-	private final List<ProfiledManagedFunction> functions = new ArrayList<ProfiledManagedFunction>(32);
+	private final List<ProfiledManagedFunctionImpl> functions = new ArrayList<ProfiledManagedFunctionImpl>(32);
 
 	/**
 	 * Initiate.
 	 *
 	 * @param threadState                {@link ThreadState} being profiled.
 	 * @param processProfiler            {@link ProcessProfiler}.
+	 * @param spawningFunction           {@link ProfiledManagedFunction} that
+	 *                                   spawned the {@link ThreadState}. May be
+	 *                                   <code>null</code>.
 	 * @param startTimestampMilliseconds Start time stamp in milliseconds.
 	 * @param startTimestampNanoseconds  Start time stamp in nanoseconds.
 	 */
-	ThreadProfilerImpl(ThreadState threadState, ProcessProfilerImpl processProfiler, long startTimestampMilliseconds,
-			long startTimestampNanoseconds) {
+	ThreadProfilerImpl(ThreadState threadState, ProcessProfilerImpl processProfiler,
+			ProfiledManagedFunction spawningFunction, long startTimestampMilliseconds, long startTimestampNanoseconds) {
 		this.threadState = threadState;
 		this.processProfiler = processProfiler;
+		this.spawningFunction = spawningFunction;
 		this.startTimestampMilliseconds = startTimestampMilliseconds;
 		this.startTimestampNanoseconds = startTimestampNanoseconds;
 	}
 
+	/**
+	 * Obtains the last {@link ProfiledManagedFunction}.
+	 * 
+	 * @return Last {@link ProfiledManagedFunction}. May be <code>null</code> if
+	 *         no {@link ManagedFunction} yet profiled.
+	 */
+	ProfiledManagedFunction getLastProfiledManagedFunction() {
+		int size = this.functions.size();
+		return (size == 0) ? null : this.functions.get(size - 1);
+	}
+
 	/*
 	 * ====================== ThreadProfiler ============================
 	 */
 
 	@Override
-	public void profileManagedFunction(ManagedFunctionLogicMetaData functionMetaData) {
+	public ProfiledManagedFunction profileManagedFunction(ManagedFunctionLogicMetaData functionMetaData,
+			ProfiledManagedFunction invokingFunction) {
 
 		// Always invoked in ThreadState safety
 
@@ -104,8 +127,22 @@ public class ThreadProfilerImpl extends AbstractLinkedListSetEntry<FunctionState
 		String executingThreadName = Thread.currentThread().getName();
 
 		// Create and add the profiled function
-		this.functions.add(new ProfiledManagedFunctionImpl(functionName, startTimestampMilliseconds,
-				startTimestampNanoseconds, executingThreadName));
+		ProfiledManagedFunctionImpl function = new ProfiledManagedFunctionImpl(functionName,
+				startTimestampMilliseconds, startTimestampNanoseconds, executingThreadName, invokingFunction);
+		this.functions.add(function);
+		return function;
+	}
+
+	@Override
+	public void profileManagedFunctionCompleted() {
+
+		// Always invoked in ThreadState safety
+
+		// Flag completion of the last function
+		int size = this.functions.size();
+		if (size > 0) {
+			this.functions.get(size - 1).endTimestampNanoseconds = System.nanoTime();
+		}
 	}
 
 	/*
@@ -141,7 +178,13 @@ public class ThreadProfilerImpl extends AbstractLinkedListSetEntry<FunctionState
 
 	@Override
 	public List<ProfiledManagedFunction> getProfiledManagedFunctions() {
-		return this.threadState.runThreadSafeOperation(() -> this.functions);
+		return this.threadState
+				.runThreadSafeOperation(() -> Collections.<ProfiledManagedFunction>unmodifiableList(this.functions));
+	}
+
+	@Override
+	public ProfiledManagedFunction getSpawningManagedFunction() {
+		return this.spawningFunction;
 	}
 
 	/**
@@ -169,19 +212,37 @@ public class ThreadProfilerImpl extends AbstractLinkedListSetEntry<FunctionState
 		 */
 		private final String executingThreadName;
 
+		/**
+		 * {@link ProfiledManagedFunction} that invoked the {@link Flow}
+		 * containing this {@link ManagedFunction}. May be <code>null</code>.
+		 */
+		private final ProfiledManagedFunction invokingFunction;
+
+		/**
+		 * End time stamp in nanoseconds. Start time stamp until completed.
+		 */
+		private long endTimestampNanoseconds;
+
 		/**
 		 * Initiate.
 		 * 
 		 * @param functionName               {@link ManagedFunction} name.
 		 * @param startTimestampMilliseconds Start time stamp in milliseconds.
 		 * @param startTimestampNanoseconds  Start time stamp in nanoseconds.
+		 * @param executingThreadName        Name of the executing {@link Thread}.
+		 * @param invokingFunction           {@link ProfiledManagedFunction} that
+		 *                                   invoked the {@link Flow} containing
+		 *                                   this {@link ManagedFunction}. May be
+		 *                                   <code>null</code>.
 		 */
 		public ProfiledManagedFunctionImpl(String functionName, long startTimestampMilliseconds,
-				long startTimestampNanoseconds, String executingThreadName) {
+				long startTimestampNanoseconds, String executingThreadName, ProfiledManagedFunction invokingFunction) {
 			this.functionName = functionName;
 			this.startTimestampMilliseconds = startTimestampMilliseconds;
 			this.startTimestampNanoseconds = startTimestampNanoseconds;
 			this.executingThreadName = executingThreadName;
+			this.invokingFunction = invokingFunction;
+			this.endTimestampNanoseconds = startTimestampNanoseconds;
 		}
 
 		/*
@@ -207,6 +268,16 @@ public class ThreadProfilerImpl extends AbstractLinkedListSetEntry<FunctionState
 		public long getStartTimestampNanoseconds() {
 			return this.startTimestampNanoseconds;
 		}
+
+		@Override
+		public long getEndTimestampNanoseconds() {
+			return this.endTimestampNanoseconds;
+		}
+
+		@Override
+		public ProfiledManagedFunction getInvokingManagedFunction() {
+			return this.invokingFunction;
+		}
 	}
 
 }
@@ -198,4 +198,11 @@ public class SafeManagedObjectService<F extends Enum<F>> implements ManagedObjec
 				(context) -> context.invokeProcess(flowIndex, parameter, managedObject, delay, callback));
 	}
 
+	@Override
+	public ProcessManager invokeProcess(int flowIndex, Object parameter, ManagedObject managedObject, long delay,
+			long deadline, FlowCallback callback) throws IllegalArgumentException {
+		return this.invokeProcess(
+				(context) -> context.invokeProcess(flowIndex, parameter, managedObject, delay, deadline, callback));
+	}
+
 }
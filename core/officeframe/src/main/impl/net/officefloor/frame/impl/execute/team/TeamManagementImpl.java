@@ -21,7 +21,9 @@
 package net.officefloor.frame.impl.execute.team;
 
 import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.impl.execute.metric.TeamMetricsImpl;
 import net.officefloor.frame.internal.structure.TeamManagement;
+import net.officefloor.frame.internal.structure.TeamMetricsRecorder;
 
 /**
  * {@link TeamManagement} implementation.
@@ -40,14 +42,32 @@ public class TeamManagementImpl implements TeamManagement {
 	 */
 	private final Team team;
 
+	/**
+	 * {@link TeamMetricsRecorder} for the {@link Team}.
+	 */
+	private final TeamMetricsRecorder teamMetrics;
+
 	/**
 	 * Initiate.
 	 * 
+	 * @param teamName
+	 *            Name of the {@link Team}.
 	 * @param team
 	 *            {@link Team} under this {@link TeamManagement}.
 	 */
-	public TeamManagementImpl(Team team) {
+	public TeamManagementImpl(String teamName, Team team) {
 		this.team = team;
+		this.teamMetrics = new TeamMetricsImpl(teamName);
+	}
+
+	/**
+	 * Initiate for unnamed {@link Team}.
+	 * 
+	 * @param team
+	 *            {@link Team} under this {@link TeamManagement}.
+	 */
+	public TeamManagementImpl(Team team) {
+		this(null, team);
 	}
 
 	/*
@@ -64,4 +84,9 @@ public class TeamManagementImpl implements TeamManagement {
 		return this.team;
 	}
 
+	@Override
+	public TeamMetricsRecorder getTeamMetrics() {
+		return this.teamMetrics;
+	}
+
 }
@@ -67,6 +67,11 @@ public class ThreadMetaDataImpl implements ThreadMetaData {
 	 */
 	private final EscalationFlow officeFloorEscalation;
 
+	/**
+	 * Indicates if recycle the frame objects.
+	 */
+	private final boolean isRecycleFrameObjects;
+
 	/**
 	 * Initiate.
 	 * 
@@ -82,12 +87,33 @@ public class ThreadMetaDataImpl implements ThreadMetaData {
 			GovernanceMetaData<?, ?>[] governanceMetaData, int maximumFunctionChainLength,
 			ThreadSynchroniserFactory[] threadSynchronisers, EscalationProcedure officeEscalationProcedure,
 			EscalationFlow officeFloorEscalation) {
+		this(managedObjectMetaData, governanceMetaData, maximumFunctionChainLength, threadSynchronisers,
+				officeEscalationProcedure, officeFloorEscalation, false);
+	}
+
+	/**
+	 * Initiate.
+	 * 
+	 * @param managedObjectMetaData      {@link ManagedObjectMetaData} instances.
+	 * @param governanceMetaData         {@link GovernanceMetaData} instances.
+	 * @param maximumFunctionChainLength Maximum {@link FunctionState} chain length.
+	 * @param threadSynchronisers        {@link ThreadSynchroniserFactory}
+	 *                                   instances.
+	 * @param officeEscalationProcedure  {@link Office} {@link EscalationProcedure}.
+	 * @param officeFloorEscalation      {@link OfficeFloor} {@link EscalationFlow}.
+	 * @param isRecycleFrameObjects      Indicates if recycle the frame objects.
+	 */
+	public ThreadMetaDataImpl(ManagedObjectMetaData<?>[] managedObjectMetaData,
+			GovernanceMetaData<?, ?>[] governanceMetaData, int maximumFunctionChainLength,
+			ThreadSynchroniserFactory[] threadSynchronisers, EscalationProcedure officeEscalationProcedure,
+			EscalationFlow officeFloorEscalation, boolean isRecycleFrameObjects) {
 		this.managedObjectMetaData = managedObjectMetaData;
 		this.governanceMetaData = governanceMetaData;
 		this.maximumFunctionChainLength = maximumFunctionChainLength;
 		this.threadSynchronisers = threadSynchronisers;
 		this.officeEscalationProcedure = officeEscalationProcedure;
 		this.officeFloorEscalation = officeFloorEscalation;
+		this.isRecycleFrameObjects = isRecycleFrameObjects;
 	}
 
 	/*
@@ -124,4 +150,9 @@ public class ThreadMetaDataImpl implements ThreadMetaData {
 		return this.officeFloorEscalation;
 	}
 
+	@Override
+	public boolean isRecycleFrameObjects() {
+		return this.isRecycleFrameObjects;
+	}
+
 }
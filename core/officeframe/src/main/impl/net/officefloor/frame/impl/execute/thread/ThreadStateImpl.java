@@ -31,6 +31,7 @@ import net.officefloor.frame.api.executive.ProcessIdentifier;
 import net.officefloor.frame.api.function.FlowCallback;
 import net.officefloor.frame.api.governance.Governance;
 import net.officefloor.frame.api.managedobject.ProcessSafeOperation;
+import net.officefloor.frame.api.profile.ProfiledManagedFunction;
 import net.officefloor.frame.api.team.Team;
 import net.officefloor.frame.api.thread.ThreadSynchroniser;
 import net.officefloor.frame.api.thread.ThreadSynchroniserFactory;
@@ -84,6 +85,46 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 	 */
 	private static final ThreadLocal<ActiveThreadState> activeThreadState = new ThreadLocal<>();
 
+	/**
+	 * Maximum number of each type of recycled frame object pooled for a
+	 * {@link Thread}.
+	 */
+	private static final int MAXIMUM_RECYCLED_FRAME_OBJECTS = 64;
+
+	/**
+	 * <p>
+	 * Indicates to verify the recycling of frame objects.
+	 * <p>
+	 * When verifying, recycled frame objects are never re-used. This ensures any
+	 * use after being recycled is always detected. As assertions are enabled in
+	 * testing, this verifies recycling without impacting production.
+	 * <p>
+	 * Not final, so that tests may also run with the frame objects re-used.
+	 */
+	private static boolean isVerifyRecycle = ThreadStateImpl.class.desiredAssertionStatus();
+
+	/**
+	 * Specifies whether to verify the recycling of frame objects.
+	 * <p>
+	 * Only to be used by tests (before executing) to also test with the recycled
+	 * frame objects being re-used.
+	 * 
+	 * @param isVerify <code>true</code> to never re-use recycled frame objects.
+	 *                 <code>false</code> to re-use recycled frame objects.
+	 * @return Previous setting.
+	 */
+	static boolean setVerifyRecycle(boolean isVerify) {
+		boolean previous = isVerifyRecycle;
+		isVerifyRecycle = isVerify;
+		return previous;
+	}
+
+	/**
+	 * {@link RecycledFrameObjects} for the executing {@link Thread}.
+	 */
+	private static final ThreadLocal<RecycledFrameObjects> recycledFrameObjects = ThreadLocal
+			.withInitial(RecycledFrameObjects::new);
+
 	/**
 	 * Attaches the {@link ThreadState} to the {@link Thread}.
 	 * 
@@ -116,8 +157,15 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 		}
 
 		// Attach the next thread state to the thread
-		ActiveThreadState active = lockCheck != null ? new ActiveThreadState(threadState, lockCheck.lockState, previous)
-				: new ActiveThreadState(threadState, previous);
+		ThreadStateImpl impl = (ThreadStateImpl) threadState;
+		LockState lockState = (lockCheck != null) ? lockCheck.lockState : null;
+		ActiveThreadState active;
+		if (impl.threadMetaData.isRecycleFrameObjects()) {
+			active = recycledFrameObjects.get().obtainActiveThreadState(threadState, lockState, previous);
+		} else {
+			active = lockState != null ? new ActiveThreadState(threadState, lockState, previous)
+					: new ActiveThreadState(threadState, previous);
+		}
 		activeThreadState.set(active);
 
 		// Determine if require locking thread state to thread
@@ -125,7 +173,6 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 				&& (!active.lockState.isThreadStateSafe)) {
 
 			// Lock thread state to the thread
-			ThreadStateImpl impl = (ThreadStateImpl) threadState;
 			impl.lock.lock();
 			active.lockState.isThreadStateSafe = true;
 		}
@@ -161,12 +208,17 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 		}
 
 		// Determine if unlock thread state from thread
+		ThreadStateImpl impl = (ThreadStateImpl) active.threadState;
 		if ((active.lockState.isThreadStateSafe) && (active == active.lockState.initialActiveThreadState)) {
 
 			// Unlock thread state
-			ThreadStateImpl impl = (ThreadStateImpl) active.threadState;
 			impl.lock.unlock();
 		}
+
+		// Recycle the detached active thread state
+		if (impl.threadMetaData.isRecycleFrameObjects()) {
+			recycledFrameObjects.get().recycle(active);
+		}
 	}
 
 	/**
@@ -441,8 +493,18 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 			this.governanceContainers = new GovernanceContainer[governanceMetaData.length];
 		}
 
-		// Create thread profiler
-		this.profiler = (processProfiler == null ? null : processProfiler.addThreadState(this));
+		// Create thread profiler (linked to possible spawning thread of process)
+		if (processProfiler == null) {
+			this.profiler = null;
+		} else {
+			ThreadProfiler spawningThreadProfiler = null;
+			ActiveThreadState active = activeThreadState.get();
+			if ((active != null) && (active.threadState instanceof ThreadStateImpl)
+					&& (active.threadState.getProcessState() == processState)) {
+				spawningThreadProfiler = ((ThreadStateImpl) active.threadState).profiler;
+			}
+			this.profiler = processProfiler.addThreadState(this, spawningThreadProfiler);
+		}
 	}
 
 	/*
@@ -513,7 +575,7 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 		if (function instanceof ThenFunction) {
 			current = (ThenFunction) function;
 		} else {
-			current = new ThenFunction(function);
+			current = this.createThenFunction(function);
 		}
 
 		// Append then function to chain
@@ -521,7 +583,7 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 		while (append.thenFunction != null) {
 			append = append.thenFunction;
 		}
-		append.thenFunction = new ThenFunction(thenFunction);
+		append.thenFunction = this.createThenFunction(thenFunction);
 
 		// Provide then context below possible higher level context
 		if (thenContext != null) {
@@ -734,6 +796,17 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 		return null;
 	}
 
+	/**
+	 * Creates the {@link ThenFunction}.
+	 * 
+	 * @param function {@link FunctionState} for the {@link ThenFunction}.
+	 * @return {@link ThenFunction}.
+	 */
+	private ThenFunction createThenFunction(FunctionState function) {
+		return this.threadMetaData.isRecycleFrameObjects() ? recycledFrameObjects.get().obtainThenFunction(function)
+				: new ThenFunction(function, false);
+	}
+
 	/**
 	 * Completes the {@link ThreadState}.
 	 * 
@@ -847,15 +920,28 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 	}
 
 	@Override
-	public void profile(ManagedFunctionLogicMetaData functionMetaData) {
+	public ProfiledManagedFunction profile(ManagedFunctionLogicMetaData functionMetaData,
+			ProfiledManagedFunction invokingFunction) {
 
 		// Only profile if have profiler
 		if (this.profiler == null) {
-			return;
+			return null;
 		}
 
 		// Profile the function execution
-		this.profiler.profileManagedFunction(functionMetaData);
+		return this.profiler.profileManagedFunction(functionMetaData, invokingFunction);
+	}
+
+	@Override
+	public void profileCompleted() {
+
+		// Only profile if have profiler
+		if (this.profiler == null) {
+			return;
+		}
+
+		// Profile the function completion
+		this.profiler.profileManagedFunctionCompleted();
 	}
 
 	/**
@@ -998,19 +1084,35 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 		/**
 		 * {@link ThreadState}.
 		 */
-		private final ThreadState threadState;
+		private ThreadState threadState;
 
 		/**
 		 * {@link LockState} for this {@link ActiveThreadState}.
 		 */
-		private final LockState lockState;
+		private LockState lockState;
 
 		/**
 		 * Previous {@link ActiveThreadState}. This enables {@link FunctionLogic} to be
 		 * executed within the context of another {@link FunctionLogic}. Will be
 		 * <code>null</code> for top level {@link ThreadState} of {@link Thread}.
 		 */
-		private final ActiveThreadState previousActiveThreadState;
+		private ActiveThreadState previousActiveThreadState;
+
+		/**
+		 * {@link LockState} initiated by this {@link ActiveThreadState}. Retained to
+		 * be re-used when recycled.
+		 */
+		private LockState initiatedLockState = null;
+
+		/**
+		 * Indicates if recycled.
+		 */
+		private boolean isRecycled = false;
+
+		/**
+		 * Next recycled {@link ActiveThreadState}.
+		 */
+		private ActiveThreadState nextRecycled = null;
 
 		/**
 		 * Instantiate.
@@ -1037,41 +1139,91 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 		 */
 		private ActiveThreadState(ThreadState threadState, ActiveThreadState previousActiveThreadState) {
 			this.threadState = threadState;
-			this.lockState = new LockState(this);
+			this.initiatedLockState = new LockState(this);
+			this.lockState = this.initiatedLockState;
 			this.previousActiveThreadState = previousActiveThreadState;
 		}
 
+		/**
+		 * Initialises this recycled {@link ActiveThreadState} for re-use.
+		 * 
+		 * @param threadState               Active {@link ThreadState}.
+		 * @param lockState                 {@link LockState} for this
+		 *                                  {@link ActiveThreadState}. May be
+		 *                                  <code>null</code> to initiate a
+		 *                                  {@link LockState}.
+		 * @param previousActiveThreadState Previous {@link ActiveThreadState} on the
+		 *                                  {@link Thread}. May be <code>null</code>.
+		 */
+		private void initialise(ThreadState threadState, LockState lockState,
+				ActiveThreadState previousActiveThreadState) {
+			this.threadState = threadState;
+			this.previousActiveThreadState = previousActiveThreadState;
+			this.isRecycled = false;
+
+			// Determine if nested within existing lock state
+			if (lockState != null) {
+				this.lockState = lockState;
+				return;
+			}
+
+			// Initiate the lock state (re-using previous lock state)
+			if (this.initiatedLockState == null) {
+				this.initiatedLockState = new LockState(this);
+			} else {
+				this.initiatedLockState.isThreadStateSafe = false;
+				this.initiatedLockState.isRequireThreadStateSafety = false;
+			}
+			this.lockState = this.initiatedLockState;
+		}
+
+		/**
+		 * Ensures this {@link ActiveThreadState} is not used after being recycled.
+		 */
+		private void ensureNotRecycled() {
+			if (this.isRecycled) {
+				throw new IllegalStateException(
+						"Recycled " + ActiveThreadState.class.getSimpleName() + " used after detached from "
+								+ Thread.class.getSimpleName());
+			}
+		}
+
 		/*
 		 * ======================== ThreadStateContext ========================
 		 */
 
 		@Override
 		public boolean isThreadStateSafe() {
+			this.ensureNotRecycled();
 			return this.lockState.isThreadStateSafe;
 		}
 
 		@Override
 		public boolean isRequireThreadStateSafety() {
+			this.ensureNotRecycled();
 			return this.lockState.isRequireThreadStateSafety;
 		}
 
 		@Override
 		public void flagRequiresThreadStateSafety() {
+			this.ensureNotRecycled();
 			this.lockState.isRequireThreadStateSafety = true;
 		}
 
 		@Override
 		public FunctionState createFunction(FunctionLogic logic, ThreadState fallbackThreadState) {
+			this.ensureNotRecycled();
 
-			// Determine if active thread state
-			if (this.threadState != null) {
+			// Determine if active thread state (captured as may be recycled)
+			ThreadState threadState = this.threadState;
+			if (threadState != null) {
 				// Create function on active thread state
-				Flow flow = this.threadState.createFlow(null, null);
+				Flow flow = threadState.createFlow(null, null);
 				FunctionState logicFunction = flow.createFunction(logic);
-				FunctionState completeFlow = new AbstractFunctionState(this.threadState) {
+				FunctionState completeFlow = new AbstractFunctionState(threadState) {
 					@Override
 					public FunctionState execute(FunctionStateContext context) throws Throwable {
-						return ActiveThreadState.this.threadState.flowComplete(flow, null, null);
+						return threadState.flowComplete(flow, null, null);
 					}
 				};
 				return Promise.then(logicFunction, completeFlow);
@@ -1095,11 +1247,13 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 
 		@Override
 		public FunctionState executeFunction(FunctionState function) throws Throwable {
+			this.ensureNotRecycled();
 			return function.execute(this);
 		}
 
 		@Override
 		public ManagedObjectContainer getManagedObject(ManagedObjectIndex index) {
+			this.ensureNotRecycled();
 
 			// Obtain the scope index
 			int scopeIndex = index.getIndexOfManagedObjectWithinScope();
@@ -1127,6 +1281,7 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 
 		@Override
 		public FunctionState executeDelegate(FunctionState delegate) throws Throwable {
+			this.ensureNotRecycled();
 			return delegate.execute(this);
 		}
 	}
@@ -1134,31 +1289,73 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 	/**
 	 * Then {@link FunctionState}.
 	 */
-	private class ThenFunction extends AbstractLinkedListSetEntry<FunctionState, Flow> implements FunctionState {
+	private static class ThenFunction extends AbstractLinkedListSetEntry<FunctionState, Flow>
+			implements FunctionState {
 
 		/**
 		 * Current {@link FunctionState}.
 		 */
-		protected final FunctionState currentFunction;
+		protected FunctionState currentFunction;
 
 		/**
 		 * Next {@link ThenFunction}.
 		 */
 		protected ThenFunction thenFunction = null;
 
+		/**
+		 * Indicates if recycle this {@link ThenFunction} once executed.
+		 */
+		private final boolean isRecycle;
+
+		/**
+		 * Indicates if recycled.
+		 */
+		private boolean isRecycled = false;
+
+		/**
+		 * Next recycled {@link ThenFunction}.
+		 */
+		private ThenFunction nextRecycled = null;
+
 		/**
 		 * Instantiate.
 		 * 
-		 * @param delegate Delegate {@link FunctionState} to complete it and all
-		 *                 produced {@link FunctionState} instances before continuing.
+		 * @param delegate  Delegate {@link FunctionState} to complete it and all
+		 *                  produced {@link FunctionState} instances before
+		 *                  continuing.
+		 * @param isRecycle Indicates if recycle this {@link ThenFunction} once
+		 *                  executed.
 		 */
-		private ThenFunction(FunctionState delegate) {
+		private ThenFunction(FunctionState delegate, boolean isRecycle) {
 			this.currentFunction = delegate;
+			this.isRecycle = isRecycle;
+		}
+
+		/**
+		 * Obtains the current {@link FunctionState}.
+		 * 
+		 * @return Current {@link FunctionState}.
+		 */
+		private FunctionState currentFunction() {
+			if (this.isRecycled) {
+				throw new IllegalStateException(
+						"Recycled " + ThenFunction.class.getSimpleName() + " used after being executed");
+			}
+			return this.currentFunction;
+		}
+
+		/**
+		 * Recycles this {@link ThenFunction} (if recycling).
+		 */
+		private void recycle() {
+			if (this.isRecycle) {
+				recycledFrameObjects.get().recycle(this);
+			}
 		}
 
 		@Override
 		public String toString() {
-			return this.currentFunction.toString();
+			return this.currentFunction().toString();
 		}
 
 		/**
@@ -1171,7 +1368,9 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 
 			// Determine if next
 			if (next == null) {
-				return this.thenFunction;
+				ThenFunction thenFunction = this.thenFunction;
+				this.recycle();
+				return thenFunction;
 			}
 
 			// Determine if flatten
@@ -1184,13 +1383,19 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 					append = append.thenFunction;
 				}
 				append.thenFunction = this.thenFunction;
+				this.recycle();
 
 				// Return flattened
 				return flatten;
 
+			} else if (this.isRecycle) {
+				// No flattening required, so re-use for next function
+				this.currentFunction = next;
+				return this;
+
 			} else {
 				// No flattening required, so just next function
-				ThenFunction nextFunction = new ThenFunction(next);
+				ThenFunction nextFunction = new ThenFunction(next, false);
 				nextFunction.thenFunction = this.thenFunction;
 				return nextFunction;
 			}
@@ -1202,37 +1407,165 @@ public class ThreadStateImpl extends AbstractLinkedListSetEntry<ThreadState, Pro
 
 		@Override
 		public FunctionState execute(FunctionStateContext context) throws Throwable {
-			return this.flatten(context.executeDelegate(this.currentFunction));
+			return this.flatten(context.executeDelegate(this.currentFunction()));
 		}
 
 		@Override
 		public FunctionState handleEscalation(Throwable escalation, EscalationCompletion escalationCompletion) {
-			return this.flatten(this.currentFunction.handleEscalation(escalation, escalationCompletion));
+			return this.flatten(this.currentFunction().handleEscalation(escalation, escalationCompletion));
 		}
 
 		@Override
 		public FunctionState cancel() {
-			return Promise.then(this.currentFunction.cancel(), this.thenFunction.cancel());
+			return Promise.then(this.currentFunction().cancel(), this.thenFunction.cancel());
 		}
 
 		@Override
 		public Flow getLinkedListSetOwner() {
-			return this.currentFunction.getLinkedListSetOwner();
+			return this.currentFunction().getLinkedListSetOwner();
 		}
 
 		@Override
 		public TeamManagement getResponsibleTeam() {
-			return this.currentFunction.getResponsibleTeam();
+			return this.currentFunction().getResponsibleTeam();
 		}
 
 		@Override
 		public ThreadState getThreadState() {
-			return this.currentFunction.getThreadState();
+			return this.currentFunction().getThreadState();
 		}
 
 		@Override
 		public boolean isRequireThreadStateSafety() {
-			return this.currentFunction.isRequireThreadStateSafety();
+			return this.currentFunction().isRequireThreadStateSafety();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Recycled frame objects for a {@link Thread}.
+	 * <p>
+	 * Frame objects are only recycled once no longer referenced (e.g.
+	 * {@link ActiveThreadState} on being detached from the {@link Thread}). As
+	 * frame objects are only accessed by the one {@link Thread}, no
+	 * synchronisation is required.
+	 */
+	private static class RecycledFrameObjects {
+
+		/**
+		 * Head of the recycled {@link ActiveThreadState} instances.
+		 */
+		private ActiveThreadState activeThreadStates = null;
+
+		/**
+		 * Number of recycled {@link ActiveThreadState} instances.
+		 */
+		private int activeThreadStateCount = 0;
+
+		/**
+		 * Head of the recycled {@link ThenFunction} instances.
+		 */
+		private ThenFunction thenFunctions = null;
+
+		/**
+		 * Number of recycled {@link ThenFunction} instances.
+		 */
+		private int thenFunctionCount = 0;
+
+		/**
+		 * Obtains an {@link ActiveThreadState}.
+		 * 
+		 * @param threadState               Active {@link ThreadState}.
+		 * @param lockState                 {@link LockState} for the
+		 *                                  {@link ActiveThreadState}. May be
+		 *                                  <code>null</code> to initiate a
+		 *                                  {@link LockState}.
+		 * @param previousActiveThreadState Previous {@link ActiveThreadState} on the
+		 *                                  {@link Thread}. May be <code>null</code>.
+		 * @return {@link ActiveThreadState}.
+		 */
+		private ActiveThreadState obtainActiveThreadState(ThreadState threadState, LockState lockState,
+				ActiveThreadState previousActiveThreadState) {
+
+			// Create if none recycled
+			ActiveThreadState active = this.activeThreadStates;
+			if (active == null) {
+				return lockState != null ? new ActiveThreadState(threadState, lockState, previousActiveThreadState)
+						: new ActiveThreadState(threadState, previousActiveThreadState);
+			}
+
+			// Re-use the recycled active thread state
+			this.activeThreadStates = active.nextRecycled;
+			this.activeThreadStateCount--;
+			active.nextRecycled = null;
+			active.initialise(threadState, lockState, previousActiveThreadState);
+			return active;
+		}
+
+		/**
+		 * Recycles the {@link ActiveThreadState}.
+		 * 
+		 * @param active {@link ActiveThreadState} detached from the {@link Thread}.
+		 */
+		private void recycle(ActiveThreadState active) {
+
+			// Release references
+			active.threadState = null;
+			active.lockState = null;
+			active.previousActiveThreadState = null;
+			active.isRecycled = true;
+
+			// Pool for re-use (unless verifying or pool full)
+			if ((!isVerifyRecycle) && (this.activeThreadStateCount < MAXIMUM_RECYCLED_FRAME_OBJECTS)) {
+				active.nextRecycled = this.activeThreadStates;
+				this.activeThreadStates = active;
+				this.activeThreadStateCount++;
+			}
+		}
+
+		/**
+		 * Obtains a {@link ThenFunction}.
+		 * 
+		 * @param function {@link FunctionState} for the {@link ThenFunction}.
+		 * @return {@link ThenFunction}.
+		 */
+		private ThenFunction obtainThenFunction(FunctionState function) {
+
+			// Create if none recycled
+			ThenFunction then = this.thenFunctions;
+			if (then == null) {
+				return new ThenFunction(function, true);
+			}
+
+			// Re-use the recycled then function
+			this.thenFunctions = then.nextRecycled;
+			this.thenFunctionCount--;
+			then.nextRecycled = null;
+			then.currentFunction = function;
+			then.isRecycled = false;
+			return then;
+		}
+
+		/**
+		 * Recycles the {@link ThenFunction}.
+		 * 
+		 * @param then {@link ThenFunction} no longer referenced.
+		 */
+		private void recycle(ThenFunction then) {
+
+			// Release references
+			then.currentFunction = null;
+			then.thenFunction = null;
+			then.setPrev(null);
+			then.setNext(null);
+			then.isRecycled = true;
+
+			// Pool for re-use (unless verifying or pool full)
+			if ((!isVerifyRecycle) && (this.thenFunctionCount < MAXIMUM_RECYCLED_FRAME_OBJECTS)) {
+				then.nextRecycled = this.thenFunctions;
+				this.thenFunctions = then;
+				this.thenFunctionCount++;
+			}
 		}
 	}
 
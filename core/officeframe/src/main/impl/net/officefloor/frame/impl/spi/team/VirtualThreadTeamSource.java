@@ -0,0 +1,128 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.spi.team;
+
+import java.util.concurrent.ThreadFactory;
+
+import net.officefloor.frame.api.executive.Executive;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.api.team.source.TeamSource;
+import net.officefloor.frame.api.team.source.TeamSourceContext;
+import net.officefloor.frame.api.team.source.impl.AbstractTeamSource;
+import net.officefloor.frame.impl.execute.execution.VirtualThreads;
+import net.officefloor.frame.impl.execute.executive.VirtualThreadExecutive;
+
+/**
+ * <p>
+ * {@link TeamSource} for the {@link VirtualThreadTeam}.
+ * <p>
+ * Each {@link Job} is run on its own virtual {@link Thread}. This allows
+ * functions blocking on I/O (e.g. JDBC) to be serviced without sizing a
+ * {@link Team} to hundreds of platform {@link Thread} instances.
+ * <p>
+ * The virtual {@link Thread} instances are created by the {@link Executive}
+ * (via {@link TeamSourceContext#getThreadFactory()}), so that they are
+ * managed as any other {@link Team} {@link Thread}. This requires an
+ * {@link Executive} providing virtual {@link Thread} instances, such as the
+ * {@link VirtualThreadExecutive}.
+ * <p>
+ * Requires Java 21 or above.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class VirtualThreadTeamSource extends AbstractTeamSource {
+
+	/*
+	 * ==================== AbstractTeamSource ===============================
+	 */
+
+	@Override
+	protected void loadSpecification(SpecificationContext context) {
+		// No specification
+	}
+
+	@Override
+	public Team createTeam(TeamSourceContext context) throws Exception {
+
+		// Ensure virtual threads are available
+		if (!VirtualThreads.isAvailable()) {
+			throw new IllegalStateException(
+					"Team " + context.getTeamName() + " requires Java 21 or above for virtual threads (running Java "
+							+ Runtime.version().feature() + ")");
+		}
+
+		// Ensure the executive provides virtual threads
+		ThreadFactory threadFactory = context.getThreadFactory();
+		if (!VirtualThreads.isVirtual(threadFactory.newThread(() -> {
+		}))) {
+			throw new IllegalStateException("Team " + context.getTeamName()
+					+ " requires virtual threads from the " + Executive.class.getSimpleName() + " (e.g. "
+					+ VirtualThreadExecutive.class.getSimpleName() + ")");
+		}
+
+		// Create and return the team
+		return new VirtualThreadTeam(threadFactory);
+	}
+
+	/**
+	 * Virtual {@link Thread} per {@link Job} {@link Team}.
+	 */
+	public static class VirtualThreadTeam implements Team {
+
+		/**
+		 * {@link ThreadFactory} for the virtual {@link Thread} instances.
+		 */
+		private final ThreadFactory threadFactory;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param threadFactory {@link ThreadFactory} for the virtual {@link Thread}
+		 *                      instances.
+		 */
+		public VirtualThreadTeam(ThreadFactory threadFactory) {
+			this.threadFactory = threadFactory;
+		}
+
+		/*
+		 * ======================== Team ========================
+		 */
+
+		@Override
+		public void startWorking() {
+			// No initial workers as hired when required
+		}
+
+		@Override
+		public void assignJob(Job job) {
+
+			// Hire virtual worker to execute the job
+			Thread thread = this.threadFactory.newThread(job);
+			thread.start();
+		}
+
+		@Override
+		public void stopWorking() {
+		}
+	}
+
+}
@@ -0,0 +1,343 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.spi.team;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.internal.structure.ThreadState;
+
+/**
+ * <p>
+ * {@link Team} of {@link Thread} instances that each have their own deque of
+ * {@link Job} instances, stealing {@link Job} instances from other deques when
+ * idle.
+ * <p>
+ * {@link Job} instances assigned by a {@link Worker} are pushed onto that
+ * {@link Worker} deque. As the next {@link Job} of a {@link ThreadState} is
+ * typically assigned by the {@link Job} running for the {@link ThreadState},
+ * this keeps the {@link ThreadState} on the one {@link Worker} (and its core).
+ * {@link Job} instances assigned by other {@link Thread} instances are spread
+ * across the {@link Worker} deques. This avoids all {@link Job} instances
+ * contending on a single queue.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WorkStealingTeam implements Team {
+
+	/**
+	 * {@link ThreadFactory}.
+	 */
+	private final ThreadFactory threadFactory;
+
+	/**
+	 * {@link Worker} instances.
+	 */
+	private final Worker[] workers;
+
+	/**
+	 * Number of spins for a {@link Job} before parking.
+	 */
+	private final int spinCount;
+
+	/**
+	 * Maximum time in milliseconds to park waiting for a {@link Job}.
+	 */
+	private final long parkTime;
+
+	/**
+	 * {@link Worker} of the current {@link Thread}. Allows identifying
+	 * {@link Job} instances assigned by a {@link Worker}.
+	 */
+	private final ThreadLocal<Worker> currentWorker = new ThreadLocal<>();
+
+	/**
+	 * Index of next {@link Worker} to be assigned a {@link Job} from outside this
+	 * {@link Team}.
+	 */
+	private final AtomicInteger nextWorker = new AtomicInteger(0);
+
+	/**
+	 * Number of parked {@link Worker} instances.
+	 */
+	private final AtomicInteger parkedWorkers = new AtomicInteger(0);
+
+	/**
+	 * Flag indicating to continue to work.
+	 */
+	private volatile boolean continueWorking = true;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param workerCount   Number of {@link Worker} instances within this
+	 *                      {@link WorkStealingTeam}.
+	 * @param threadFactory {@link ThreadFactory}.
+	 * @param spinCount     Number of spins for a {@link Job} before parking.
+	 * @param parkTime      Maximum time in milliseconds to park waiting for a
+	 *                      {@link Job}.
+	 */
+	public WorkStealingTeam(int workerCount, ThreadFactory threadFactory, int spinCount, long parkTime) {
+		this.threadFactory = threadFactory;
+		this.spinCount = spinCount;
+		this.parkTime = parkTime;
+
+		// Create the workers
+		this.workers = new Worker[workerCount];
+		for (int i = 0; i < this.workers.length; i++) {
+			this.workers[i] = new Worker(i);
+		}
+	}
+
+	/**
+	 * Unparks a parked {@link Worker} (if any) to service a newly assigned
+	 * {@link Job}.
+	 * 
+	 * @param preferred Preferred {@link Worker} to unpark.
+	 */
+	private void unparkWorker(Worker preferred) {
+
+		// Only wake up if workers parked (avoids scan when busy)
+		if (this.parkedWorkers.get() == 0) {
+			return;
+		}
+
+		// Attempt to wake preferred worker
+		if (preferred.unpark()) {
+			return;
+		}
+
+		// Wake up the next parked worker
+		for (int i = 1; i < this.workers.length; i++) {
+			Worker worker = this.workers[(preferred.index + i) % this.workers.length];
+			if (worker.unpark()) {
+				return;
+			}
+		}
+	}
+
+	/*
+	 * ====================== Team ==========================================
+	 */
+
+	@Override
+	public void startWorking() {
+
+		// Ensure indicate to continue working
+		this.continueWorking = true;
+
+		// Start the workers
+		for (int i = 0; i < this.workers.length; i++) {
+			Worker worker = this.workers[i];
+			worker.finished = false;
+			worker.thread = this.threadFactory.newThread(worker);
+			worker.thread.start();
+		}
+	}
+
+	@Override
+	public void assignJob(Job job) {
+
+		// Determine if assigned by a worker (keeping job local)
+		Worker worker = this.currentWorker.get();
+		if (worker != null) {
+			worker.jobs.offerFirst(job);
+
+		} else {
+			// Spread job across the workers
+			int next = this.nextWorker.getAndAccumulate(1,
+					(prev, increment) -> (prev + increment) % this.workers.length);
+			worker = this.workers[next];
+			worker.jobs.offerLast(job);
+		}
+
+		// Ensure a worker is available to run the job
+		this.unparkWorker(worker);
+	}
+
+	@Override
+	public void stopWorking() {
+
+		// Flag workers to stop working
+		this.continueWorking = false;
+
+		// Wait until workers finished
+		for (Worker worker : this.workers) {
+			while (!worker.finished) {
+
+				// Wake up worker
+				if (worker.thread != null) {
+					LockSupport.unpark(worker.thread);
+				}
+
+				// Allow worker to finish
+				Thread.yield();
+			}
+		}
+	}
+
+	/**
+	 * Worker of the {@link WorkStealingTeam}.
+	 */
+	private class Worker implements Runnable {
+
+		/**
+		 * Index of this {@link Worker} within the {@link WorkStealingTeam}.
+		 */
+		private final int index;
+
+		/**
+		 * Deque of {@link Job} instances. This {@link Worker} takes from the head,
+		 * while other {@link Worker} instances steal from the tail.
+		 */
+		private final ConcurrentLinkedDeque<Job> jobs = new ConcurrentLinkedDeque<>();
+
+		/**
+		 * {@link Thread} running this {@link Worker}.
+		 */
+		private volatile Thread thread = null;
+
+		/**
+		 * Indicates if parked waiting on a {@link Job}.
+		 */
+		private final AtomicInteger parked = new AtomicInteger(0);
+
+		/**
+		 * Flag to indicate finished.
+		 */
+		private volatile boolean finished = false;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param index Index of this {@link Worker} within the
+		 *              {@link WorkStealingTeam}.
+		 */
+		private Worker(int index) {
+			this.index = index;
+		}
+
+		/**
+		 * Unparks this {@link Worker} if parked.
+		 * 
+		 * @return <code>true</code> if this {@link Worker} was parked and is now
+		 *         woken up.
+		 */
+		private boolean unpark() {
+			if ((this.parked.get() == 1) && (this.parked.compareAndSet(1, 0))) {
+				WorkStealingTeam.this.parkedWorkers.decrementAndGet();
+				LockSupport.unpark(this.thread);
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Obtains the next {@link Job}, stealing from other {@link Worker} instances
+		 * if no local {@link Job}.
+		 * 
+		 * @return Next {@link Job} or <code>null</code> if no {@link Job} available.
+		 */
+		private Job nextJob() {
+
+			// Attempt local job first
+			Job job = this.jobs.pollFirst();
+			if (job != null) {
+				return job;
+			}
+
+			// Steal from the other workers
+			Worker[] workers = WorkStealingTeam.this.workers;
+			for (int i = 1; i < workers.length; i++) {
+				job = workers[(this.index + i) % workers.length].jobs.pollLast();
+				if (job != null) {
+					return job;
+				}
+			}
+
+			// No job available
+			return null;
+		}
+
+		/*
+		 * ================== Runnable ======================================
+		 */
+
+		@Override
+		public void run() {
+
+			// Easy access to team
+			WorkStealingTeam team = WorkStealingTeam.this;
+
+			// Register as worker for the thread
+			team.currentWorker.set(this);
+			try {
+				int spins = 0;
+				while (team.continueWorking) {
+
+					// Obtain the next job to run
+					Job job = this.nextJob();
+					if (job != null) {
+						spins = 0;
+						job.run();
+						continue;
+					}
+
+					// Spin for a job
+					if (spins < team.spinCount) {
+						spins++;
+						Thread.onSpinWait();
+						continue;
+					}
+
+					// Flag parking (before checking for jobs to avoid missed wake up)
+					this.parked.set(1);
+					team.parkedWorkers.incrementAndGet();
+					job = this.nextJob();
+					if ((job == null) && (team.continueWorking)) {
+						LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(team.parkTime));
+					}
+
+					// No longer parked (if not already woken up)
+					if (this.parked.compareAndSet(1, 0)) {
+						team.parkedWorkers.decrementAndGet();
+					}
+
+					// Run possible job obtained before parking
+					spins = 0;
+					if (job != null) {
+						job.run();
+					}
+				}
+			} finally {
+				// Flag finished
+				team.currentWorker.remove();
+				this.finished = true;
+			}
+		}
+	}
+
+}
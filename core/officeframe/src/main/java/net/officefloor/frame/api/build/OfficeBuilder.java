@@ -30,6 +30,7 @@ import net.officefloor.frame.api.manage.Office;
 import net.officefloor.frame.api.manage.OfficeFloor;
 import net.officefloor.frame.api.managedobject.ManagedObject;
 import net.officefloor.frame.api.managedobject.source.ManagedObjectSource;
+import net.officefloor.frame.api.metric.FunctionMetrics;
 import net.officefloor.frame.api.profile.Profiler;
 import net.officefloor.frame.api.team.Team;
 import net.officefloor.frame.api.thread.ThreadSynchroniser;
@@ -89,6 +90,20 @@ public interface OfficeBuilder {
 	 */
 	void setMaximumFunctionStateChainLength(int maximumFunctionStateChainLength);
 
+	/**
+	 * <p>
+	 * Specifies whether to recycle the frame objects.
+	 * <p>
+	 * Frame objects are the internal short lived objects created in executing
+	 * {@link FunctionState} instances. Recycling them reduces garbage per
+	 * {@link ProcessState}. This is an opt-in trade off, as the recycled frame
+	 * objects are held in pools per {@link Thread}.
+	 * 
+	 * @param isRecycleFrameObjects <code>true</code> to recycle the frame
+	 *                              objects.
+	 */
+	void setRecycleFrameObjects(boolean isRecycleFrameObjects);
+
 	/**
 	 * Specifies the default timeout for {@link AsynchronousFlow} instances.
 	 *
@@ -252,6 +267,22 @@ public interface OfficeBuilder {
 	 */
 	void setProfiler(Profiler profiler);
 
+	/**
+	 * <p>
+	 * Specifies the proportion of {@link ProcessState} instances to be profiled
+	 * by the {@link Profiler}. By default all {@link ProcessState} instances are
+	 * profiled.
+	 * <p>
+	 * Profiling a {@link ProcessState} retains each {@link ManagedFunction}
+	 * executed. Sampling allows the {@link Profiler} to remain active in
+	 * production, while the {@link FunctionMetrics} always record the execution
+	 * time of every {@link ManagedFunction}.
+	 * 
+	 * @param sampleRate Proportion (<code>0.0</code> to <code>1.0</code>) of
+	 *                   {@link ProcessState} instances to profile.
+	 */
+	void setProfilerSampleRate(double sampleRate);
+
 	/**
 	 * Adds a {@link ThreadSynchroniser} for the {@link ThreadState} of the
 	 * {@link Office}.
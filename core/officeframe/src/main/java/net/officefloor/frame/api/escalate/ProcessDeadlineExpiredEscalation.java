@@ -0,0 +1,40 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.api.escalate;
+
+import net.officefloor.frame.api.manage.ProcessManager;
+import net.officefloor.frame.internal.structure.ProcessState;
+
+/**
+ * Indicates the deadline of the {@link ProcessState} has passed.
+ * 
+ * @see ProcessManager#setDeadline(long)
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class ProcessDeadlineExpiredEscalation extends ProcessCancelledEscalation {
+
+	/**
+	 * Serial version UID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+}
@@ -23,9 +23,12 @@ package net.officefloor.frame.api.function;
 import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
+import net.officefloor.frame.api.escalate.Escalation;
 import net.officefloor.frame.api.manage.OfficeFloor;
+import net.officefloor.frame.api.team.Team;
 import net.officefloor.frame.internal.structure.Flow;
 import net.officefloor.frame.internal.structure.ManagedFunctionLogic;
+import net.officefloor.frame.internal.structure.ThreadState;
 
 /**
  * Context for the {@link Flow} instances from the {@link ManagedFunctionLogic}.
@@ -66,6 +69,45 @@ public interface FunctionFlowContext<F extends Enum<F>> {
 	 */
 	void doFlow(int flowIndex, Object parameter, FlowCallback callback);
 
+	/**
+	 * <p>
+	 * Instigates the {@link Flow} instances concurrently, each within its own
+	 * {@link ThreadState}.
+	 * <p>
+	 * Each {@link Flow} is executed by the {@link Team} responsible for its
+	 * {@link ManagedFunction} instances. Therefore, the time to complete all the
+	 * {@link Flow} instances is that of the longest {@link Flow} (rather than the
+	 * sum of the {@link Flow} instances).
+	 * <p>
+	 * The {@link FlowCallback} is invoked once, after all {@link Flow} instances
+	 * have completed, and is provided the first {@link Escalation} of the
+	 * {@link Flow} instances (or <code>null</code> if all successful). Results are
+	 * provided by the {@link Flow} instances as for
+	 * {@link #doFlow(Enum, Object, FlowCallback)}, such as loading them onto their
+	 * parameter.
+	 * 
+	 * @param keys       Keys identifying the {@link Flow} instances to instigate.
+	 * @param parameters Parameter for the first {@link ManagedFunction} of each
+	 *                   {@link Flow}. May be <code>null</code>.
+	 * @param callback   Optional {@link FlowCallback} invoked once all
+	 *                   {@link Flow} instances complete. May be <code>null</code>.
+	 */
+	void doConcurrentFlows(F[] keys, Object[] parameters, FlowCallback callback);
+
+	/**
+	 * Similar to {@link #doConcurrentFlows(Enum[], Object[], FlowCallback)} except
+	 * that allows dynamic instigation of {@link Flow} instances.
+	 * 
+	 * @param flowIndexes Indexes identifying the {@link Flow} instances to
+	 *                    instigate.
+	 * @param parameters  Parameter for the first {@link ManagedFunction} of each
+	 *                    {@link Flow}. May be <code>null</code>.
+	 * @param callback    Optional {@link FlowCallback} invoked once all
+	 *                    {@link Flow} instances complete. May be
+	 *                    <code>null</code>.
+	 */
+	void doConcurrentFlows(int[] flowIndexes, Object[] parameters, FlowCallback callback);
+
 	/**
 	 * Creates an {@link AsynchronousFlow} that must be completed before any further
 	 * {@link Flow} is executed.
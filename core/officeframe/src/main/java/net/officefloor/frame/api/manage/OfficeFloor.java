@@ -20,7 +20,9 @@
 
 package net.officefloor.frame.api.manage;
 
+import net.officefloor.frame.api.build.OfficeFloorListener;
 import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.api.metric.OfficeFloorMetrics;
 
 /**
  * {@link OfficeFloor} where {@link ManagedFunction} instances are executed
@@ -69,4 +71,16 @@ public interface OfficeFloor extends AutoCloseable {
 	 */
 	Office getOffice(String officeName) throws UnknownOfficeException;
 
+	/**
+	 * <p>
+	 * Obtains the {@link OfficeFloorMetrics} for this {@link OfficeFloor}.
+	 * <p>
+	 * Exporters of the metrics may be plugged in via an
+	 * {@link OfficeFloorListener} to poll the {@link OfficeFloorMetrics} once
+	 * the {@link OfficeFloor} is opened.
+	 * 
+	 * @return {@link OfficeFloorMetrics}.
+	 */
+	OfficeFloorMetrics getMetrics();
+
 }
@@ -20,6 +20,7 @@
 
 package net.officefloor.frame.api.manage;
 
+import net.officefloor.frame.api.function.AsynchronousFlow;
 import net.officefloor.frame.internal.structure.ProcessState;
 
 /**
@@ -29,9 +30,36 @@ import net.officefloor.frame.internal.structure.ProcessState;
  */
 public interface ProcessManager {
 
+	/**
+	 * Deadline indicating the {@link ProcessState} has no deadline.
+	 */
+	long NO_DEADLINE = Long.MAX_VALUE;
+
 	/**
 	 * Cancels execution of the {@link ProcessState}.
 	 */
 	void cancel();
 
+	/**
+	 * <p>
+	 * Specifies the deadline for the {@link ProcessState}.
+	 * <p>
+	 * Once the deadline has passed, functions of the {@link ProcessState} are
+	 * dropped before being executed and any waiting {@link AsynchronousFlow} is
+	 * timed out. As the deadline is compared against the approximate time of the
+	 * {@link Office}, the deadline is only accurate to the {@link Office}
+	 * monitoring interval. Note that {@link AsynchronousFlow} instances already
+	 * waiting when the deadline is specified are only timed out on their next
+	 * check, so preference is to specify the deadline on invoking the
+	 * {@link ProcessState}.
+	 * <p>
+	 * By default, deadlines are not supported and this is ignored.
+	 * 
+	 * @param deadline Deadline as per {@link System#currentTimeMillis()}.
+	 *                 {@link #NO_DEADLINE} to clear the deadline.
+	 */
+	default void setDeadline(long deadline) {
+		// Deadline not supported
+	}
+
 }
@@ -82,4 +82,40 @@ public interface ManagedObjectServiceContext<F extends Enum<F>> {
 	ProcessManager invokeProcess(int flowIndex, Object parameter, ManagedObject managedObject, long delay,
 			FlowCallback callback) throws IllegalArgumentException;
 
+	/**
+	 * Instigates a {@link ProcessState} with a deadline.
+	 * 
+	 * @param flowIndex     Index identifying the {@link Flow} to instigate.
+	 * @param parameter     Parameter that to the first {@link ManagedFunction} of
+	 *                      the {@link Flow}.
+	 * @param managedObject {@link ManagedObject} for the {@link ProcessState} of
+	 *                      the {@link Flow}.
+	 * @param delay         Delay in milliseconds before the {@link Flow} is
+	 *                      invoked. A <code>0</code> or negative value invokes the
+	 *                      {@link Flow} immediately.
+	 * @param deadline      Deadline for the {@link ProcessState} as per
+	 *                      {@link System#currentTimeMillis()}.
+	 *                      {@link ProcessManager#NO_DEADLINE} for no deadline.
+	 * @param callback      {@link FlowCallback} on completion of the {@link Flow}.
+	 * @return {@link ProcessManager} for the {@link ProcessState}.
+	 * @throws IllegalArgumentException If
+	 *                                  <ul>
+	 *                                  <li>unknown {@link Flow} index</li>
+	 *                                  <li>parameter is incorrect type</li>
+	 *                                  <li>no {@link ManagedObject} is
+	 *                                  supplied</li>
+	 *                                  </ul>
+	 * @see ProcessManager#setDeadline(long)
+	 */
+	default ProcessManager invokeProcess(int flowIndex, Object parameter, ManagedObject managedObject, long delay,
+			long deadline, FlowCallback callback) throws IllegalArgumentException {
+
+		// By default, specify deadline once invoked
+		ProcessManager processManager = this.invokeProcess(flowIndex, parameter, managedObject, delay, callback);
+		if (deadline != ProcessManager.NO_DEADLINE) {
+			processManager.setDeadline(deadline);
+		}
+		return processManager;
+	}
+
 }
@@ -0,0 +1,66 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.api.metric;
+
+/**
+ * Latency metrics (in nanoseconds) recorded without locking.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface LatencyMetrics {
+
+	/**
+	 * Obtains the number of recorded latencies.
+	 * 
+	 * @return Number of recorded latencies.
+	 */
+	long getCount();
+
+	/**
+	 * Obtains the mean latency.
+	 * 
+	 * @return Mean latency in nanoseconds. <code>0</code> if no latencies
+	 *         recorded.
+	 */
+	double getMean();
+
+	/**
+	 * Obtains the maximum latency.
+	 * 
+	 * @return Maximum latency in nanoseconds. <code>0</code> if no latencies
+	 *         recorded.
+	 */
+	long getMax();
+
+	/**
+	 * <p>
+	 * Obtains the latency at the percentile.
+	 * <p>
+	 * As latencies are recorded into buckets, the returned latency is the upper
+	 * bound of the bucket containing the percentile.
+	 * 
+	 * @param percentile Percentile (0 to 100).
+	 * @return Latency in nanoseconds at the percentile. <code>0</code> if no
+	 *         latencies recorded.
+	 */
+	long getPercentile(double percentile);
+
+}
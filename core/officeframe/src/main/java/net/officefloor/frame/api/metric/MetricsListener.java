@@ -0,0 +1,60 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.api.metric;
+
+import net.officefloor.frame.api.manage.Office;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.internal.structure.ProcessState;
+
+/**
+ * <p>
+ * Listens to the recording of metrics.
+ * <p>
+ * Notifications are on the executing {@link Thread}, so must not block.
+ * Typically used to push metrics to an exporter, rather than polling the
+ * {@link OfficeFloorMetrics}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface MetricsListener {
+
+	/**
+	 * Notified of a {@link Job} executed by a {@link Team}.
+	 * 
+	 * @param team        {@link TeamMetrics} of the {@link Team}.
+	 * @param waitTime    Time in nanoseconds from assigning the {@link Job} to it
+	 *                    starting execution.
+	 * @param serviceTime Time in nanoseconds to execute the {@link Job}.
+	 */
+	default void jobExecuted(TeamMetrics team, long waitTime, long serviceTime) {
+	}
+
+	/**
+	 * Notified of a {@link ProcessState} completing within an {@link Office}.
+	 * 
+	 * @param office   {@link OfficeMetrics} of the {@link Office}.
+	 * @param duration Duration in nanoseconds of the {@link ProcessState}.
+	 */
+	default void processCompleted(OfficeMetrics office, long duration) {
+	}
+
+}
@@ -0,0 +1,59 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.api.metric;
+
+import net.officefloor.frame.api.manage.Office;
+import net.officefloor.frame.api.manage.OfficeFloor;
+import net.officefloor.frame.api.team.Team;
+
+/**
+ * <p>
+ * Metrics for the {@link OfficeFloor}.
+ * <p>
+ * The metrics are live, so may be polled for exporting.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface OfficeFloorMetrics {
+
+	/**
+	 * Obtains the {@link TeamMetrics} for each {@link Team}.
+	 * 
+	 * @return {@link TeamMetrics} for each {@link Team}.
+	 */
+	TeamMetrics[] getTeamMetrics();
+
+	/**
+	 * Obtains the {@link OfficeMetrics} for each {@link Office}.
+	 * 
+	 * @return {@link OfficeMetrics} for each {@link Office}.
+	 */
+	OfficeMetrics[] getOfficeMetrics();
+
+	/**
+	 * Adds a {@link MetricsListener} to be notified as the {@link TeamMetrics}
+	 * and {@link OfficeMetrics} are recorded.
+	 * 
+	 * @param listener {@link MetricsListener}.
+	 */
+	void addMetricsListener(MetricsListener listener);
+
+}
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.api.metric;
+
+import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.api.manage.Office;
+import net.officefloor.frame.internal.structure.ProcessState;
+
+/**
+ * Metrics for an {@link Office}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface OfficeMetrics {
+
+	/**
+	 * Obtains the name of the {@link Office}.
+	 * 
+	 * @return Name of the {@link Office}.
+	 */
+	String getOfficeName();
+
+	/**
+	 * Obtains the number of active {@link ProcessState} instances.
+	 * 
+	 * @return Number of active {@link ProcessState} instances.
+	 */
+	long getActiveProcessCount();
+
+	/**
+	 * Obtains the number of completed {@link ProcessState} instances.
+	 * 
+	 * @return Number of completed {@link ProcessState} instances.
+	 */
+	long getCompletedProcessCount();
+
+	/**
+	 * Obtains the {@link LatencyMetrics} of the {@link ProcessState} durations.
+	 * 
+	 * @return {@link LatencyMetrics} of the {@link ProcessState} durations.
+	 */
+	LatencyMetrics getProcessDuration();
+
+	/**
+	 * Obtains the {@link FunctionMetrics} for each {@link ManagedFunction} of the
+	 * {@link Office}.
+	 * 
+	 * @return {@link FunctionMetrics} for each {@link ManagedFunction} of the
+	 *         {@link Office}.
+	 */
+	FunctionMetrics[] getFunctionMetrics();
+
+}
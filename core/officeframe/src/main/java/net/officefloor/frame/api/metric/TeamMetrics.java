@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.api.metric;
+
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.api.team.TeamOverloadException;
+
+/**
+ * Metrics for a {@link Team}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface TeamMetrics {
+
+	/**
+	 * Obtains the name of the {@link Team}.
+	 * 
+	 * @return Name of the {@link Team}.
+	 */
+	String getTeamName();
+
+	/**
+	 * Obtains the number of {@link Job} instances assigned to the {@link Team}
+	 * that have yet to start. {@link Job} instances being executed are not
+	 * included.
+	 * 
+	 * @return Number of {@link Job} instances waiting on the {@link Team}.
+	 */
+	long getQueueDepth();
+
+	/**
+	 * Obtains the number of {@link Job} instances assigned to the {@link Team}.
+	 * 
+	 * @return Number of {@link Job} instances assigned to the {@link Team}.
+	 */
+	long getAssignedJobCount();
+
+	/**
+	 * Obtains the number of times the {@link Team} failed to accept a {@link Job}
+	 * (typically by {@link TeamOverloadException}).
+	 * 
+	 * @return Number of times the {@link Team} was overloaded.
+	 */
+	long getOverloadCount();
+
+	/**
+	 * Obtains the {@link LatencyMetrics} from assigning the {@link Job} to the
+	 * {@link Team} until the {@link Job} starts executing.
+	 * 
+	 * @return {@link LatencyMetrics} of waiting on the {@link Team}.
+	 */
+	LatencyMetrics getWaitTime();
+
+	/**
+	 * Obtains the {@link LatencyMetrics} for the {@link Team} to execute the
+	 * {@link Job}.
+	 * 
+	 * @return {@link LatencyMetrics} of executing the {@link Job}.
+	 */
+	LatencyMetrics getServiceTime();
+
+}
@@ -21,6 +21,7 @@
 package net.officefloor.frame.api.profile;
 
 import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.internal.structure.ThreadState;
 
 /**
  * Profiled execution of a {@link ManagedFunction}.
@@ -54,6 +55,19 @@ public interface ProfiledManagedFunction {
 	 */
 	long getStartTimestampNanoseconds();
 
+	/**
+	 * Obtains the time stamp in nanoseconds when the {@link ManagedFunction}
+	 * completed execution. The time waiting on asynchronous operations of the
+	 * {@link ManagedFunction} is not included.
+	 * 
+	 * @return Time stamp in nanoseconds when the {@link ManagedFunction}
+	 *         completed execution. By default, the start time stamp for
+	 *         implementations not tracking completion.
+	 */
+	default long getEndTimestampNanoseconds() {
+		return this.getStartTimestampNanoseconds();
+	}
+
 	/**
 	 * Obtains the name of the executing {@link Thread}.
 	 * 
@@ -61,4 +75,18 @@ public interface ProfiledManagedFunction {
 	 */
 	String getExecutingThreadName();
 
+	/**
+	 * Obtains the {@link ProfiledManagedFunction} that invoked the flow
+	 * containing this {@link ManagedFunction} within the same
+	 * {@link ThreadState}.
+	 * 
+	 * @return {@link ProfiledManagedFunction} that invoked the flow containing
+	 *         this {@link ManagedFunction}. May be <code>null</code> if not
+	 *         invoked by another {@link ManagedFunction} of the
+	 *         {@link ThreadState}.
+	 */
+	default ProfiledManagedFunction getInvokingManagedFunction() {
+		return null;
+	}
+
 }
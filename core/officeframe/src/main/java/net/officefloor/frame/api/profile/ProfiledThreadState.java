@@ -22,6 +22,7 @@ package net.officefloor.frame.api.profile;
 
 import java.util.List;
 
+import net.officefloor.frame.internal.structure.ProcessState;
 import net.officefloor.frame.internal.structure.ThreadState;
 
 /**
@@ -52,4 +53,16 @@ public interface ProfiledThreadState {
 	 */
 	List<ProfiledManagedFunction> getProfiledManagedFunctions();
 
+	/**
+	 * Obtains the {@link ProfiledManagedFunction} that spawned this
+	 * {@link ThreadState}.
+	 * 
+	 * @return {@link ProfiledManagedFunction} that spawned this
+	 *         {@link ThreadState}. May be <code>null</code> if the main
+	 *         {@link ThreadState} of the {@link ProcessState}.
+	 */
+	default ProfiledManagedFunction getSpawningManagedFunction() {
+		return null;
+	}
+
 }
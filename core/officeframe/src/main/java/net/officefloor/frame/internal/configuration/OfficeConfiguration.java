@@ -80,6 +80,13 @@ public interface OfficeConfiguration {
 	 */
 	int getMaximumFunctionStateChainLength();
 
+	/**
+	 * Indicates if recycle the frame objects.
+	 * 
+	 * @return <code>true</code> to recycle the frame objects.
+	 */
+	boolean isRecycleFrameObjects();
+
 	/**
 	 * Obtains the default {@link Team} name for the {@link Office}.
 	 * 
@@ -207,6 +214,14 @@ public interface OfficeConfiguration {
 	 */
 	Profiler getProfiler();
 
+	/**
+	 * Obtains the proportion of {@link ProcessState} instances to profile.
+	 * 
+	 * @return Proportion (<code>0.0</code> to <code>1.0</code>) of
+	 *         {@link ProcessState} instances to profile.
+	 */
+	double getProfilerSampleRate();
+
 	/**
 	 * Obtains the {@link ThreadSynchroniserFactory} instances to synchronise the
 	 * {@link ThreadLocal} state between {@link Team} instances.
@@ -27,6 +27,12 @@ package net.officefloor.frame.internal.structure;
  */
 public interface Asset {
 
+	/**
+	 * Value of {@link #getNextCheckTime()} to check on the {@link Asset} every
+	 * monitor interval.
+	 */
+	long CHECK_EVERY_INTERVAL = -1;
+
 	/**
 	 * Obtains the {@link ThreadState} owning this {@link Asset}.
 	 * 
@@ -42,4 +48,22 @@ public interface Asset {
 	 */
 	void checkOnAsset(CheckAssetContext context);
 
+	/**
+	 * <p>
+	 * Obtains the time (in milliseconds of the {@link MonitorClock}) to next
+	 * check on this {@link Asset}.
+	 * <p>
+	 * This allows the {@link AssetManager} to only check on the {@link Asset}
+	 * when necessary (e.g. on it timing out), rather than every monitor interval.
+	 * A time not in the future will check on the {@link Asset} at the next
+	 * monitor interval.
+	 * 
+	 * @return Time to next check on this {@link Asset}, or
+	 *         {@link #CHECK_EVERY_INTERVAL} to check on this {@link Asset} every
+	 *         monitor interval.
+	 */
+	default long getNextCheckTime() {
+		return CHECK_EVERY_INTERVAL;
+	}
+
 }
@@ -42,4 +42,17 @@ public interface AssetManager extends FunctionState {
 	 */
 	AssetLatch createAssetLatch(Asset asset);
 
+	/**
+	 * <p>
+	 * Indicates if this {@link AssetManager} requires checking on its
+	 * {@link Asset} instances.
+	 * <p>
+	 * This allows not executing this {@link AssetManager} when it has no
+	 * {@link AssetLatch} instances requiring management.
+	 * 
+	 * @return <code>true</code> if requires checking on its {@link Asset}
+	 *         instances.
+	 */
+	boolean isRequireCheck();
+
 }
@@ -0,0 +1,42 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.internal.structure;
+
+import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.api.metric.FunctionMetrics;
+
+/**
+ * Records the {@link FunctionMetrics}. Recording must not block, as undertaken
+ * for every execution of the {@link ManagedFunction}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface FunctionMetricsRecorder extends FunctionMetrics {
+
+	/**
+	 * Records the {@link ManagedFunction} being executed.
+	 * 
+	 * @param executionTime Time in nanoseconds to execute the
+	 *                      {@link ManagedFunction}.
+	 */
+	void functionExecuted(long executionTime);
+
+}
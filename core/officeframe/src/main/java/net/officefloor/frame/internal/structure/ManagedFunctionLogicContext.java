@@ -59,6 +59,19 @@ public interface ManagedFunctionLogicContext {
 	 */
 	void doFlow(FlowMetaData flowMetaData, Object parameter, FlowCallback callback);
 
+	/**
+	 * Invokes the {@link Flow} instances concurrently, each within its own
+	 * {@link ThreadState}.
+	 * 
+	 * @param flowMetaData {@link FlowMetaData} for each {@link Flow}.
+	 * @param parameters   Parameter for the initial {@link ManagedFunction} of each
+	 *                     {@link Flow}. May be <code>null</code>.
+	 * @param callback     Optional {@link FlowCallback} invoked once all
+	 *                     {@link Flow} instances complete. May be
+	 *                     <code>null</code>.
+	 */
+	void doConcurrentFlows(FlowMetaData[] flowMetaData, Object[] parameters, FlowCallback callback);
+
 	/**
 	 * Creates an {@link AsynchronousFlow}.
 	 * 
@@ -97,4 +97,15 @@ public interface ManagedFunctionLogicMetaData {
 	 */
 	OfficeMetaData getOfficeMetaData();
 
+	/**
+	 * Obtains the {@link FunctionMetricsRecorder} to record execution of the
+	 * {@link ManagedFunctionLogic}.
+	 * 
+	 * @return {@link FunctionMetricsRecorder}. May be <code>null</code> if
+	 *         execution is not recorded.
+	 */
+	default FunctionMetricsRecorder getFunctionMetrics() {
+		return null;
+	}
+
 }
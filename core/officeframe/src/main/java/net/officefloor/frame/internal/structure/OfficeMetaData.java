@@ -87,6 +87,13 @@ public interface OfficeMetaData {
 	 */
 	MonitorClock getMonitorClock();
 
+	/**
+	 * Obtains the {@link OfficeMetricsRecorder} for the {@link Office}.
+	 * 
+	 * @return {@link OfficeMetricsRecorder} for the {@link Office}.
+	 */
+	OfficeMetricsRecorder getOfficeMetrics();
+
 	/**
 	 * Obtains the {@link ProcessMetaData} for processes within this {@link Office}.
 	 * 
@@ -166,6 +173,11 @@ public interface OfficeMetaData {
 	 *                                               negative value) will invoke
 	 *                                               immediately on the current
 	 *                                               {@link Thread}.
+	 * @param deadline                               Deadline for the
+	 *                                               {@link ProcessState} as per
+	 *                                               {@link System#currentTimeMillis()}.
+	 *                                               {@link ProcessManager#NO_DEADLINE}
+	 *                                               for no deadline.
 	 * @param callback                               Optional {@link FlowCallback}
 	 *                                               of the {@link ProcessState}.
 	 *                                               May be <code>null</code>.
@@ -196,8 +208,8 @@ public interface OfficeMetaData {
 	 *                                       for the initial
 	 *                                       {@link ManagedFunction}.
 	 */
-	ProcessManager invokeProcess(FlowMetaData flowMetaData, Object parameter, long delay, FlowCallback callback,
-			ThreadState callbackThreadState, ManagedObject inputManagedObject,
+	ProcessManager invokeProcess(FlowMetaData flowMetaData, Object parameter, long delay, long deadline,
+			FlowCallback callback, ThreadState callbackThreadState, ManagedObject inputManagedObject,
 			ManagedObjectMetaData<?> inputManagedObjectMetaData, int processBoundIndexForInputManagedObject)
 			throws InvalidParameterTypeException;
 
@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.internal.structure;
+
+import net.officefloor.frame.api.metric.MetricsListener;
+import net.officefloor.frame.api.metric.OfficeMetrics;
+
+/**
+ * Records the {@link OfficeMetrics}. Recording must not block, as undertaken
+ * for every {@link ProcessState}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface OfficeMetricsRecorder extends OfficeMetrics {
+
+	/**
+	 * Records a {@link ProcessState} starting.
+	 */
+	void processStarted();
+
+	/**
+	 * Records a {@link ProcessState} completing.
+	 * 
+	 * @param duration Duration in nanoseconds of the {@link ProcessState}.
+	 */
+	void processCompleted(long duration);
+
+	/**
+	 * Adds a {@link MetricsListener}.
+	 * 
+	 * @param listener {@link MetricsListener}.
+	 */
+	void addMetricsListener(MetricsListener listener);
+
+	/**
+	 * Obtains the {@link FunctionMetricsRecorder} for the
+	 * {@link ManagedFunctionMetaData}.
+	 * 
+	 * @param functionMetaData {@link ManagedFunctionMetaData}.
+	 * @return {@link FunctionMetricsRecorder} for the
+	 *         {@link ManagedFunctionMetaData} or <code>null</code> if not a
+	 *         {@link ManagedFunctionMetaData} of the {@link OfficeMetaData}.
+	 */
+	FunctionMetricsRecorder getFunctionMetricsRecorder(ManagedFunctionMetaData<?, ?> functionMetaData);
+
+}
@@ -32,9 +32,14 @@ public interface ProcessProfiler {
 	 * 
 	 * @param threadState
 	 *            {@link ThreadState}.
+	 * @param spawningThreadProfiler
+	 *            {@link ThreadProfiler} of the {@link ThreadState} executing
+	 *            the {@link FunctionState} spawning the {@link ThreadState}.
+	 *            May be <code>null</code> if not spawned within the
+	 *            {@link ProcessState}.
 	 * @return {@link ThreadState} to be profiled.
 	 */
-	ThreadProfiler addThreadState(ThreadState threadState);
+	ThreadProfiler addThreadState(ThreadState threadState, ThreadProfiler spawningThreadProfiler);
 
 	/**
 	 * Invoked once the {@link ProcessState} is complete.
@@ -80,6 +80,21 @@ public interface ProcessState {
 	 */
 	boolean isCancelled();
 
+	/**
+	 * Obtains the deadline of the {@link ProcessState}.
+	 * 
+	 * @return Deadline as per {@link System#currentTimeMillis()}, or
+	 *         {@link ProcessManager#NO_DEADLINE} if no deadline.
+	 */
+	long getDeadline();
+
+	/**
+	 * Indicates if the deadline of the {@link ProcessState} has passed.
+	 * 
+	 * @return <code>true</code> if the deadline has passed.
+	 */
+	boolean isDeadlineExpired();
+
 	/**
 	 * <p>
 	 * Obtains the main {@link ThreadState} for this {@link ProcessState}.
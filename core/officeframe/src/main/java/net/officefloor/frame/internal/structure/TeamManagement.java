@@ -43,4 +43,11 @@ public interface TeamManagement {
 	 */
 	Team getTeam();
 
+	/**
+	 * Obtains the {@link TeamMetricsRecorder} for the {@link Team}.
+	 * 
+	 * @return {@link TeamMetricsRecorder} for the {@link Team}.
+	 */
+	TeamMetricsRecorder getTeamMetrics();
+
 }
@@ -0,0 +1,72 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.internal.structure;
+
+import net.officefloor.frame.api.metric.MetricsListener;
+import net.officefloor.frame.api.metric.TeamMetrics;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+
+/**
+ * Records the {@link TeamMetrics}. Recording must not block, as undertaken on
+ * assigning and executing every {@link Job}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface TeamMetricsRecorder extends TeamMetrics {
+
+	/**
+	 * Records a {@link Job} being assigned to the {@link Team}.
+	 */
+	void jobAssigned();
+
+	/**
+	 * Records the {@link Team} failing to accept the assigned {@link Job}.
+	 */
+	void jobOverloaded();
+
+	/**
+	 * Records the {@link Job} being cancelled before being executed.
+	 */
+	void jobCancelled();
+
+	/**
+	 * Records the {@link Job} starting execution.
+	 */
+	void jobStarted();
+
+	/**
+	 * Records the {@link Job} completing execution.
+	 * 
+	 * @param waitTime    Time in nanoseconds from assigning the {@link Job} to it
+	 *                    starting execution.
+	 * @param serviceTime Time in nanoseconds to execute the {@link Job}.
+	 */
+	void jobExecuted(long waitTime, long serviceTime);
+
+	/**
+	 * Adds a {@link MetricsListener}.
+	 * 
+	 * @param listener {@link MetricsListener}.
+	 */
+	void addMetricsListener(MetricsListener listener);
+
+}
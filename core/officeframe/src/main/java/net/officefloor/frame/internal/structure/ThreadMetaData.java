@@ -65,6 +65,17 @@ public interface ThreadMetaData {
 	 */
 	int getMaximumFunctionChainLength();
 
+	/**
+	 * <p>
+	 * Indicates if recycle the frame objects of executing the {@link ThreadState}.
+	 * <p>
+	 * Frame objects are internal short lived objects created in executing the
+	 * {@link FunctionState} instances of the {@link ThreadState}.
+	 * 
+	 * @return <code>true</code> to recycle the frame objects.
+	 */
+	boolean isRecycleFrameObjects();
+
 	/**
 	 * Obtains the {@link ThreadSynchroniserFactory} instances.
 	 * 
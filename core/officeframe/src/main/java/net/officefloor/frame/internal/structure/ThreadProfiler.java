@@ -21,6 +21,7 @@
 package net.officefloor.frame.internal.structure;
 
 import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.api.profile.ProfiledManagedFunction;
 
 /**
  * Profiler of the {@link ThreadState}.
@@ -35,7 +36,18 @@ public interface ThreadProfiler extends FunctionState {
 	 * @param functionMetaData
 	 *            {@link ManagedFunctionLogicMetaData} of the
 	 *            {@link ManagedFunction} being executed.
+	 * @param invokingFunction
+	 *            {@link ProfiledManagedFunction} that invoked the flow
+	 *            containing the {@link ManagedFunction}. May be
+	 *            <code>null</code>.
+	 * @return {@link ProfiledManagedFunction} for the {@link ManagedFunction}.
 	 */
-	void profileManagedFunction(ManagedFunctionLogicMetaData functionMetaData);
+	ProfiledManagedFunction profileManagedFunction(ManagedFunctionLogicMetaData functionMetaData,
+			ProfiledManagedFunction invokingFunction);
+
+	/**
+	 * Profiles completion of executing the last profiled {@link ManagedFunction}.
+	 */
+	void profileManagedFunctionCompleted();
 
 }
@@ -23,6 +23,7 @@ package net.officefloor.frame.internal.structure;
 import net.officefloor.frame.api.escalate.Escalation;
 import net.officefloor.frame.api.governance.Governance;
 import net.officefloor.frame.api.managedobject.ProcessSafeOperation;
+import net.officefloor.frame.api.profile.ProfiledManagedFunction;
 import net.officefloor.frame.api.team.Team;
 
 /**
@@ -223,7 +224,21 @@ public interface ThreadState extends LinkedListSetEntry<ThreadState, ProcessStat
 	 * 
 	 * @param functionMetaData {@link ManagedFunctionLogicMetaData} of the
 	 *                         {@link ManagedFunctionContainer} being executed.
+	 * @param invokingFunction {@link ProfiledManagedFunction} that invoked the
+	 *                         {@link Flow} containing the
+	 *                         {@link ManagedFunctionContainer}. May be
+	 *                         <code>null</code>.
+	 * @return {@link ProfiledManagedFunction} for the
+	 *         {@link ManagedFunctionContainer}. May be <code>null</code> if not
+	 *         profiling.
 	 */
-	void profile(ManagedFunctionLogicMetaData functionMetaData);
+	ProfiledManagedFunction profile(ManagedFunctionLogicMetaData functionMetaData,
+			ProfiledManagedFunction invokingFunction);
+
+	/**
+	 * Profiles that the {@link ManagedFunctionContainer} being executed has
+	 * completed its execution.
+	 */
+	void profileCompleted();
 
 }
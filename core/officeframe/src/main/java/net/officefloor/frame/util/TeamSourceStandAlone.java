@@ -78,6 +78,12 @@ public class TeamSourceStandAlone {
 	 */
 	private ClockFactory clockFactory = new MockClockFactory();
 
+	/**
+	 * {@link Executive}. May be <code>null</code> to use the
+	 * {@link DefaultExecutive}.
+	 */
+	private Executive executive = null;
+
 	/**
 	 * Default instantiation.
 	 */
@@ -159,6 +165,16 @@ public class TeamSourceStandAlone {
 		this.clockFactory = clockFactory;
 	}
 
+	/**
+	 * Specifies the {@link Executive} creating the {@link Thread} instances for
+	 * the {@link Team}.
+	 * 
+	 * @param executive {@link Executive}.
+	 */
+	public void setExecutive(Executive executive) {
+		this.executive = executive;
+	}
+
 	/**
 	 * Returns a {@link Team} from the loaded {@link TeamSource}.
 	 * 
@@ -183,7 +199,8 @@ public class TeamSourceStandAlone {
 				this.threadCompletionListeners.toArray(new ThreadCompletionListener[0]));
 		ThreadFactoryManufacturer threadFactoryManufacturer = new ThreadFactoryManufacturer(managedExecutionFactory,
 				this.threadDecorator);
-		Executive executive = new DefaultExecutive(threadFactoryManufacturer);
+		Executive executive = (this.executive != null ? this.executive
+				: new DefaultExecutive(threadFactoryManufacturer));
 		TeamSourceContext context = new ExecutiveContextImpl(false, teamName, true, this.teamSize, teamSource,
 				executive, threadFactoryManufacturer, this.properties, sourceContext);
 
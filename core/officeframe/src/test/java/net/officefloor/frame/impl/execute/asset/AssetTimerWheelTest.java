@@ -0,0 +1,201 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.asset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link AssetTimerWheel}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class AssetTimerWheelTest {
+
+	/**
+	 * {@link AssetTimerWheel} with 10 millisecond ticks.
+	 */
+	private final AssetTimerWheel wheel = new AssetTimerWheel(10);
+
+	/**
+	 * Ensure nothing expires when empty.
+	 */
+	@Test
+	public void emptyWheel() {
+		assertTrue(this.wheel.isEmpty(), "Should be empty");
+		assertNull(this.wheel.expire(1000), "Nothing to expire");
+		assertEquals(1010, this.wheel.getNextTickTime(), "Should move straight to tick");
+	}
+
+	/**
+	 * Ensure expires {@link AssetLatchImpl} once reaching its check time.
+	 */
+	@Test
+	public void expireAtCheckTime() {
+		AssetLatchImpl latch = createLatch();
+		this.wheel.schedule(latch, 1000, 1055);
+		assertFalse(this.wheel.isEmpty(), "Should have scheduled latch");
+
+		// Should not expire before check time (rounded up to tick)
+		assertNull(this.wheel.expire(1050), "Not yet expired");
+		assertNull(this.wheel.expire(1059), "Still within tick of check time");
+
+		// Should expire once reach check time
+		assertSame(latch, this.wheel.expire(1060), "Should expire latch");
+		assertNull(latch.timerNext, "Should only be the one latch expired");
+		assertTrue(this.wheel.isEmpty(), "Should no longer be scheduled");
+		assertNull(this.wheel.expire(2000), "Should only expire once");
+	}
+
+	/**
+	 * Ensure check time in the past is checked on the next tick.
+	 */
+	@Test
+	public void expirePastCheckTimeOnNextTick() {
+		AssetLatchImpl latch = createLatch();
+		this.wheel.schedule(latch, 1000, 0);
+		assertNull(this.wheel.expire(1005), "Not yet at next tick");
+		assertSame(latch, this.wheel.expire(1010), "Should expire on next tick");
+	}
+
+	/**
+	 * Ensure all {@link AssetLatchImpl} instances expired together are
+	 * returned.
+	 */
+	@Test
+	public void expireMultiple() {
+		AssetLatchImpl one = createLatch();
+		AssetLatchImpl two = createLatch();
+		AssetLatchImpl three = createLatch();
+		this.wheel.schedule(one, 1000, 1010);
+		this.wheel.schedule(two, 1000, 1020);
+		this.wheel.schedule(three, 1000, 1500);
+
+		// Expire the first two
+		Set<AssetLatchImpl> expired = expired(this.wheel.expire(1100));
+		assertEquals(2, expired.size(), "Incorrect number expired");
+		assertTrue(expired.contains(one), "Should expire first");
+		assertTrue(expired.contains(two), "Should expire second");
+		assertFalse(this.wheel.isEmpty(), "Third should still be scheduled");
+
+		// Expire the third
+		assertSame(three, this.wheel.expire(1500), "Should expire third");
+		assertTrue(this.wheel.isEmpty(), "Should be empty");
+	}
+
+	/**
+	 * Ensure can cancel {@link AssetLatchImpl}.
+	 */
+	@Test
+	public void cancel() {
+		AssetLatchImpl cancelled = createLatch();
+		AssetLatchImpl latch = createLatch();
+		this.wheel.schedule(cancelled, 1000, 1050);
+		this.wheel.schedule(latch, 1000, 1050);
+		this.wheel.cancel(cancelled);
+		assertSame(latch, this.wheel.expire(2000), "Should only expire the non-cancelled latch");
+		assertNull(latch.timerNext, "Cancelled latch should not be expired");
+
+		// Ensure cancelling again is ignored
+		this.wheel.cancel(cancelled);
+		assertTrue(this.wheel.isEmpty(), "Should be empty");
+	}
+
+	/**
+	 * Ensure re-scheduling moves the {@link AssetLatchImpl}.
+	 */
+	@Test
+	public void reschedule() {
+		AssetLatchImpl latch = createLatch();
+		this.wheel.schedule(latch, 1000, 1050);
+		this.wheel.schedule(latch, 1000, 1200);
+		assertNull(this.wheel.expire(1100), "Should be moved to later check time");
+		assertSame(latch, this.wheel.expire(1200), "Should expire at re-scheduled time");
+		assertTrue(this.wheel.isEmpty(), "Should only be scheduled once");
+	}
+
+	/**
+	 * Ensure long check times cascade down the levels of the wheel to expire at
+	 * the correct tick.
+	 */
+	@Test
+	public void cascadeLevels() {
+		long[] checkTimes = new long[] { 1000 + (64 * 10), 1000 + (100 * 10), 1000 + (5000 * 10),
+				1000 + (300000 * 10), 1000 + (10000000 * 10) };
+		AssetLatchImpl[] latches = new AssetLatchImpl[checkTimes.length];
+		for (int i = 0; i < latches.length; i++) {
+			latches[i] = createLatch();
+			this.wheel.schedule(latches[i], 1000, checkTimes[i]);
+		}
+
+		// Ensure each expires exactly at its check time
+		for (int i = 0; i < latches.length; i++) {
+			assertNull(this.wheel.expire(checkTimes[i] - 10), "Latch " + i + " should not expire before check time");
+			assertSame(latches[i], this.wheel.expire(checkTimes[i]), "Latch " + i + " should expire at check time");
+		}
+		assertTrue(this.wheel.isEmpty(), "Should be empty");
+	}
+
+	/**
+	 * Ensure check time beyond the span of the wheel is expired at the span (to
+	 * then be re-scheduled).
+	 */
+	@Test
+	public void clampBeyondSpan() {
+		AssetLatchImpl latch = createLatch();
+		this.wheel.schedule(latch, 1000, Long.MAX_VALUE);
+		long spanTime = 1000 + (((1L << 24) - 1) * 10);
+		assertNull(this.wheel.expire(spanTime - 10), "Should not expire before span");
+		assertSame(latch, this.wheel.expire(spanTime), "Should expire at span");
+	}
+
+	/**
+	 * Creates an {@link AssetLatchImpl} for scheduling.
+	 * 
+	 * @return {@link AssetLatchImpl}.
+	 */
+	private static AssetLatchImpl createLatch() {
+		return new AssetLatchImpl(null, null, null);
+	}
+
+	/**
+	 * Obtains the expired {@link AssetLatchImpl} instances.
+	 * 
+	 * @param head Head of the expired {@link AssetLatchImpl} instances.
+	 * @return Expired {@link AssetLatchImpl} instances.
+	 */
+	private static Set<AssetLatchImpl> expired(AssetLatchImpl head) {
+		Set<AssetLatchImpl> expired = new HashSet<>();
+		for (AssetLatchImpl latch = head; latch != null; latch = latch.timerNext) {
+			expired.add(latch);
+		}
+		return expired;
+	}
+
+}
@@ -0,0 +1,214 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.executive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import net.officefloor.frame.api.build.TeamBuilder;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.api.team.ThreadLocalAwareTeam;
+import net.officefloor.frame.api.thread.ThreadSynchroniser;
+import net.officefloor.frame.impl.execute.execution.VirtualThreads;
+import net.officefloor.frame.impl.spi.team.ExecutorFixedTeamSource;
+import net.officefloor.frame.impl.spi.team.OnePersonTeamSource;
+import net.officefloor.frame.impl.spi.team.ThreadLocalAwareTeamSource;
+import net.officefloor.frame.impl.spi.team.VirtualThreadTeamSource;
+import net.officefloor.frame.test.Closure;
+import net.officefloor.frame.test.ConstructTestSupport;
+import net.officefloor.frame.test.ReflectiveFunctionBuilder;
+import net.officefloor.frame.test.TestSupportExtension;
+
+/**
+ * Tests the {@link VirtualThreadExecutive}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+@ExtendWith(TestSupportExtension.class)
+public class VirtualThreadExecutiveTest {
+
+	private final ConstructTestSupport construct = new ConstructTestSupport();
+
+	/**
+	 * {@link ThreadLocal} to keep synchronised.
+	 */
+	private final ThreadLocal<String> threadLocal = new ThreadLocal<>();
+
+	@BeforeEach
+	public void setUp() {
+		assumeTrue(VirtualThreads.isAvailable(), "Virtual threads require Java 21 or above");
+		this.construct.getOfficeFloorBuilder().setExecutive(VirtualThreadExecutive.class);
+	}
+
+	/**
+	 * Ensure overseen {@link Team} runs on virtual {@link Thread}.
+	 */
+	@Test
+	public void overseeTeam() throws Exception {
+		TeamBuilder<?> team = this.construct.constructTeam("TEAM", ExecutorFixedTeamSource.class);
+		team.setTeamSize(1);
+		this.doVirtualThreadTest();
+	}
+
+	/**
+	 * Ensure {@link VirtualThreadTeamSource} runs on virtual {@link Thread}.
+	 */
+	@Test
+	public void virtualThreadTeam() throws Exception {
+		this.construct.constructTeam("TEAM", VirtualThreadTeamSource.class);
+		this.doVirtualThreadTest();
+	}
+
+	/**
+	 * Ensure {@link Team} requesting no oversight still runs on {@link Thread}
+	 * from the {@link VirtualThreadExecutive}.
+	 */
+	@Test
+	public void noTeamOversight() throws Exception {
+		TeamBuilder<?> team = this.construct.constructTeam("TEAM", OnePersonTeamSource.class);
+		team.requestNoTeamOversight();
+		this.doVirtualThreadTest();
+	}
+
+	/**
+	 * Undertakes running function on virtual {@link Thread}.
+	 */
+	private void doVirtualThreadTest() throws Exception {
+
+		// Construct the function
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder function = this.construct.constructFunction(work, "one");
+		function.getBuilder().setResponsibleTeam("TEAM");
+
+		// Invoke the function
+		this.construct.invokeFunction("one", null);
+
+		// Ensure run on managed virtual thread
+		assertTrue(VirtualThreads.isVirtual(work.oneThread), "Should run on virtual thread");
+		this.construct.assertThreadUsed(work.oneThread);
+	}
+
+	/**
+	 * Ensure {@link ThreadLocalAwareTeam} is not overseen, so continues to execute
+	 * with the invoking {@link Thread}.
+	 */
+	@Test
+	public void threadLocalAwareTeam() throws Exception {
+
+		// Construct the function
+		this.construct.constructTeam("TEAM", ThreadLocalAwareTeamSource.class);
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder function = this.construct.constructFunction(work, "one");
+		function.getBuilder().setResponsibleTeam("TEAM");
+
+		// Trigger the function (should block until complete)
+		this.threadLocal.set("TEST");
+		try {
+			Closure<Throwable> failure = new Closure<>();
+			this.construct.triggerFunction("one", null, (escalation) -> failure.value = escalation);
+			assertNull(failure.value, "Should be no failure");
+		} finally {
+			this.threadLocal.remove();
+		}
+
+		// Ensure executed with invoking thread (and its thread locals)
+		assertSame(Thread.currentThread(), work.oneThread, "Should execute with invoking thread");
+		assertEquals("TEST", work.oneValue, "Should have invoking thread local value");
+	}
+
+	/**
+	 * Ensure {@link ThreadSynchroniser} keeps {@link ThreadLocal} in sync across
+	 * the virtual {@link Thread} instances.
+	 */
+	@Test
+	public void threadSynchroniser() throws Exception {
+
+		// Construct the functions on different teams
+		this.construct.constructTeam("ONE", ExecutorFixedTeamSource.class).setTeamSize(1);
+		this.construct.constructTeam("TWO", ExecutorFixedTeamSource.class).setTeamSize(1);
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder one = this.construct.constructFunction(work, "one");
+		one.getBuilder().setResponsibleTeam("ONE");
+		one.setNextFunction("two");
+		ReflectiveFunctionBuilder two = this.construct.constructFunction(work, "two");
+		two.getBuilder().setResponsibleTeam("TWO");
+
+		// Synchronise the thread local
+		this.construct.getOfficeBuilder().addThreadSynchroniser(() -> new ThreadSynchroniser() {
+
+			private String value = null;
+
+			@Override
+			public void suspendThread() {
+				this.value = VirtualThreadExecutiveTest.this.threadLocal.get();
+				VirtualThreadExecutiveTest.this.threadLocal.remove();
+			}
+
+			@Override
+			public void resumeThread() {
+				VirtualThreadExecutiveTest.this.threadLocal.set(this.value);
+			}
+		});
+
+		// Invoke the functions
+		this.construct.invokeFunction("one", null);
+
+		// Ensure thread local synchronised across virtual threads
+		assertTrue(VirtualThreads.isVirtual(work.oneThread), "Should run one on virtual thread");
+		assertTrue(VirtualThreads.isVirtual(work.twoThread), "Should run two on virtual thread");
+		assertNotSame(work.oneThread, work.twoThread, "Should run on different threads");
+		assertEquals("TEST", work.twoValue, "Should synchronise thread local");
+	}
+
+	/**
+	 * Test functionality.
+	 */
+	public class TestWork {
+
+		private volatile Thread oneThread;
+
+		private volatile String oneValue;
+
+		private volatile Thread twoThread;
+
+		private volatile String twoValue;
+
+		public void one() {
+			this.oneThread = Thread.currentThread();
+			this.oneValue = VirtualThreadExecutiveTest.this.threadLocal.get();
+			VirtualThreadExecutiveTest.this.threadLocal.set("TEST");
+		}
+
+		public void two() {
+			this.twoThread = Thread.currentThread();
+			this.twoValue = VirtualThreadExecutiveTest.this.threadLocal.get();
+		}
+	}
+
+}
@@ -0,0 +1,230 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import net.officefloor.frame.api.build.Indexed;
+import net.officefloor.frame.api.function.FlowCallback;
+import net.officefloor.frame.api.function.FunctionFlowContext;
+import net.officefloor.frame.api.function.ManagedFunctionContext;
+import net.officefloor.frame.impl.spi.team.WorkerPerJobTeamSource;
+import net.officefloor.frame.internal.structure.Flow;
+import net.officefloor.frame.internal.structure.ThreadState;
+import net.officefloor.frame.test.ConstructTestSupport;
+import net.officefloor.frame.test.ReflectiveFlow;
+import net.officefloor.frame.test.ReflectiveFunctionBuilder;
+import net.officefloor.frame.test.TestSupportExtension;
+
+/**
+ * Tests invoking {@link Flow} instances concurrently via
+ * {@link FunctionFlowContext#doConcurrentFlows(int[], Object[], FlowCallback)}.
+ *
+ * @author Daniel Sagenschneider
+ */
+@ExtendWith(TestSupportExtension.class)
+public class ConcurrentFlowsTest {
+
+	private final ConstructTestSupport construct = new ConstructTestSupport();
+
+	/**
+	 * Ensure {@link Flow} instances are executed concurrently, each in their own
+	 * {@link ThreadState}, with {@link FlowCallback} once all complete. Note the
+	 * {@link Flow} instances only pass the barrier if executed concurrently.
+	 */
+	@Test
+	public void concurrentFlows() throws Exception {
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		this.constructFunctions(work, "concurrent");
+
+		// Ensure flows run concurrently and join
+		this.construct.invokeFunction("trigger", null);
+		assertTrue(work.isJoined, "Should join the flows");
+		assertNull(work.joinEscalation, "Should be no escalation");
+		assertEquals("one", work.results[0].value, "Incorrect first result");
+		assertEquals("two", work.results[1].value, "Incorrect second result");
+	}
+
+	/**
+	 * Ensure first {@link Throwable} of the {@link Flow} instances is provided to
+	 * the {@link FlowCallback}.
+	 */
+	@Test
+	public void escalation() throws Exception {
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		work.failure = new Exception("TEST");
+		this.constructFunctions(work, "concurrent");
+
+		// Ensure escalation provided to the join
+		this.construct.invokeFunction("trigger", null);
+		assertTrue(work.isJoined, "Should join the flows");
+		assertSame(work.failure, work.joinEscalation, "Should provide flow escalation");
+		assertEquals("one", work.results[0].value, "Other flow should still complete");
+	}
+
+	/**
+	 * Ensure {@link FlowCallback} is invoked when no {@link Flow} instances.
+	 */
+	@Test
+	public void noFlows() throws Exception {
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		this.constructFunctions(work, "none");
+
+		// Ensure join with no flows
+		this.construct.invokeFunction("trigger", null);
+		assertTrue(work.isJoined, "Should join no flows");
+		assertNull(work.joinEscalation, "Should be no escalation");
+	}
+
+	/**
+	 * Ensure can invoke concurrent {@link Flow} instances without a
+	 * {@link FlowCallback}.
+	 */
+	@Test
+	public void noCallback() throws Exception {
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		this.constructFunctions(work, "noCallback");
+
+		// Ensure flows run (process completes once all complete)
+		this.construct.invokeFunction("trigger", null);
+		assertEquals("one", work.results[0].value, "Incorrect first result");
+		assertEquals("two", work.results[1].value, "Incorrect second result");
+	}
+
+	/**
+	 * Ensure must provide parameter for each {@link Flow}.
+	 */
+	@Test
+	public void incorrectParameters() throws Exception {
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		this.constructFunctions(work, "incorrectParameters");
+
+		// Ensure fails
+		IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+				() -> this.construct.invokeFunction("trigger", null));
+		assertEquals("Must provide parameter for each flow (flows: 2, parameters: 1)", failure.getMessage(),
+				"Incorrect failure");
+	}
+
+	/**
+	 * Constructs the {@link TestWork} functions.
+	 * 
+	 * @param work     {@link TestWork}.
+	 * @param scenario Scenario to trigger.
+	 */
+	private void constructFunctions(TestWork work, String scenario) {
+		work.scenario = scenario;
+		this.construct.constructTeam("TEAM", WorkerPerJobTeamSource.class);
+		ReflectiveFunctionBuilder trigger = this.construct.constructFunction(work, "trigger");
+		trigger.buildManagedFunctionContext();
+		trigger.buildFlow("one", Result.class, false);
+		trigger.buildFlow("two", Result.class, false);
+		ReflectiveFunctionBuilder one = this.construct.constructFunction(work, "one");
+		one.buildParameter();
+		one.getBuilder().setResponsibleTeam("TEAM");
+		ReflectiveFunctionBuilder two = this.construct.constructFunction(work, "two");
+		two.buildParameter();
+		two.getBuilder().setResponsibleTeam("TEAM");
+	}
+
+	/**
+	 * Result of a {@link Flow}.
+	 */
+	public static class Result {
+
+		private volatile String value;
+	}
+
+	/**
+	 * Test functionality.
+	 */
+	public class TestWork {
+
+		private final CyclicBarrier barrier = new CyclicBarrier(2);
+
+		private final Result[] results = new Result[] { new Result(), new Result() };
+
+		private String scenario;
+
+		private Exception failure = null;
+
+		private volatile boolean isJoined = false;
+
+		private volatile Throwable joinEscalation = null;
+
+		public void trigger(ManagedFunctionContext<Indexed, Indexed> context, ReflectiveFlow one, ReflectiveFlow two) {
+			FlowCallback join = (escalation) -> {
+				assertFalse(this.isJoined, "Should only join once");
+				this.isJoined = true;
+				this.joinEscalation = escalation;
+			};
+			switch (this.scenario) {
+			case "concurrent":
+				context.doConcurrentFlows(new int[] { 0, 1 }, this.results, join);
+				break;
+			case "none":
+				context.doConcurrentFlows(new int[0], null, join);
+				break;
+			case "noCallback":
+				context.doConcurrentFlows(new int[] { 0, 1 }, this.results, null);
+				break;
+			case "incorrectParameters":
+				context.doConcurrentFlows(new int[] { 0, 1 }, new Object[] { this.results[0] }, join);
+				break;
+			}
+		}
+
+		public void one(Result result) throws Exception {
+			this.barrier.await(10, TimeUnit.SECONDS); // only passes if concurrent
+			result.value = "one";
+		}
+
+		public void two(Result result) throws Exception {
+			this.barrier.await(10, TimeUnit.SECONDS); // only passes if concurrent
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			result.value = "two";
+		}
+	}
+
+}
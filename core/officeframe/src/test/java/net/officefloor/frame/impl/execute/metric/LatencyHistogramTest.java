@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link LatencyHistogram}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class LatencyHistogramTest {
+
+	/**
+	 * {@link LatencyHistogram} to test.
+	 */
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	/**
+	 * Ensure no values when nothing recorded.
+	 */
+	@Test
+	public void empty() {
+		assertEquals(0, this.histogram.getCount(), "Should be no count");
+		assertEquals(0.0, this.histogram.getMean(), "Should be no mean");
+		assertEquals(0, this.histogram.getMax(), "Should be no max");
+		assertEquals(0, this.histogram.getPercentile(99), "Should be no percentile");
+	}
+
+	/**
+	 * Ensure small latencies are recorded exactly.
+	 */
+	@Test
+	public void exactSmallLatencies() {
+		for (int i = 1; i <= 10; i++) {
+			this.histogram.record(i);
+		}
+		assertEquals(10, this.histogram.getCount(), "Incorrect count");
+		assertEquals(5.5, this.histogram.getMean(), "Incorrect mean");
+		assertEquals(10, this.histogram.getMax(), "Incorrect max");
+		assertEquals(5, this.histogram.getPercentile(50), "Incorrect median");
+		assertEquals(10, this.histogram.getPercentile(100), "Incorrect 100th percentile");
+	}
+
+	/**
+	 * Ensure each latency is within its bucket.
+	 */
+	@Test
+	public void bucketContainsLatency() {
+		long[] latencies = new long[] { 0, 15, 16, 17, 31, 32, 33, 1000, 123_456, 1_000_000_007L, Long.MAX_VALUE };
+		for (long latency : latencies) {
+			int index = LatencyHistogram.bucketIndex(latency);
+			assertTrue(index < LatencyHistogram.BUCKET_COUNT, "Index out of range for " + latency);
+			if (index < LatencyHistogram.BUCKET_COUNT - 1) {
+				long upper = LatencyHistogram.bucketUpperBound(index);
+				assertTrue(latency <= upper, "Latency " + latency + " above bucket upper bound " + upper);
+				long lower = (index == 0) ? 0 : LatencyHistogram.bucketUpperBound(index - 1) + 1;
+				assertTrue(latency >= lower, "Latency " + latency + " below bucket lower bound " + lower);
+			}
+		}
+	}
+
+	/**
+	 * Ensure percentile is within relative error of bucket.
+	 */
+	@Test
+	public void percentileRelativeError() {
+		for (int i = 1; i <= 1000; i++) {
+			this.histogram.record(i * 1000L);
+		}
+		long p99 = this.histogram.getPercentile(99);
+		assertTrue((p99 >= 990_000) && (p99 <= 990_000 * 1.07), "Incorrect 99th percentile " + p99);
+		assertEquals(1_000_000, this.histogram.getMax(), "Incorrect max");
+	}
+
+	/**
+	 * Ensure records across stripes of concurrent {@link Thread} instances.
+	 */
+	@Test
+	public void concurrentRecording() throws Exception {
+		final int THREADS = 4;
+		final int RECORDS = 10_000;
+		Thread[] threads = new Thread[THREADS];
+		for (int t = 0; t < THREADS; t++) {
+			long latency = (t + 1) * 100;
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < RECORDS; i++) {
+					this.histogram.record(latency);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(THREADS * RECORDS, this.histogram.getCount(), "Should record all latencies");
+		assertEquals(THREADS * 100, this.histogram.getMax(), "Incorrect max");
+		assertEquals(250.0, this.histogram.getMean(), "Incorrect mean");
+	}
+
+}
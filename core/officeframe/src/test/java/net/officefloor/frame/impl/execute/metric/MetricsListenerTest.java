@@ -0,0 +1,168 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import net.officefloor.frame.api.manage.OfficeFloor;
+import net.officefloor.frame.api.metric.MetricsListener;
+import net.officefloor.frame.api.metric.OfficeMetrics;
+import net.officefloor.frame.api.metric.TeamMetrics;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.impl.spi.team.OnePersonTeamSource;
+import net.officefloor.frame.test.ConstructTestSupport;
+import net.officefloor.frame.test.ReflectiveFunctionBuilder;
+import net.officefloor.frame.test.TestSupportExtension;
+import net.officefloor.frame.test.ThreadedTestSupport;
+
+/**
+ * Tests the {@link MetricsListener}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+@ExtendWith(TestSupportExtension.class)
+public class MetricsListenerTest {
+
+	private final ConstructTestSupport construct = new ConstructTestSupport();
+
+	private final ThreadedTestSupport threading = new ThreadedTestSupport();
+
+	/**
+	 * Ensure {@link MetricsListener} notified of recorded metrics.
+	 */
+	@Test
+	public void notifyListener() throws Exception {
+
+		// Configure
+		this.construct.constructTeam("TEAM", OnePersonTeamSource.class);
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder task = this.construct.constructFunction(work, "task");
+		task.getBuilder().setResponsibleTeam("TEAM");
+
+		// Open the OfficeFloor
+		OfficeFloor officeFloor = this.construct.constructOfficeFloor();
+		officeFloor.openOfficeFloor();
+
+		// Register the listener
+		Map<TeamMetrics, AtomicInteger> jobs = new ConcurrentHashMap<>();
+		Map<OfficeMetrics, AtomicInteger> processes = new ConcurrentHashMap<>();
+		officeFloor.getMetrics().addMetricsListener(new MetricsListener() {
+
+			@Override
+			public void jobExecuted(TeamMetrics team, long waitTime, long serviceTime) {
+				assertTrue(waitTime >= 0, "Invalid wait time");
+				assertTrue(serviceTime >= 0, "Invalid service time");
+				jobs.computeIfAbsent(team, (key) -> new AtomicInteger()).incrementAndGet();
+			}
+
+			@Override
+			public void processCompleted(OfficeMetrics office, long duration) {
+				assertTrue(duration >= 0, "Invalid duration");
+				processes.computeIfAbsent(office, (key) -> new AtomicInteger()).incrementAndGet();
+			}
+		});
+
+		// Invoke the function
+		officeFloor.getOffice(this.construct.getOfficeName()).getFunctionManager("task").invokeProcess(null, null);
+
+		// Ensure notified of the process
+		this.threading.waitForTrue(() -> processes.size() > 0, "Should be notified of process completion");
+		OfficeMetrics officeMetrics = officeFloor.getMetrics().getOfficeMetrics()[0];
+		assertEquals(1, processes.size(), "Should only notify for the office");
+		assertEquals(1, processes.get(officeMetrics).get(), "Incorrect number of processes");
+
+		// Ensure notified of the team executing the function
+		TeamMetrics teamMetrics = getTeamMetrics(officeFloor, "of-TEAM");
+		this.threading.waitForTrue(() -> jobs.containsKey(teamMetrics), "Should be notified of team job");
+		assertEquals(1, jobs.get(teamMetrics).get(), "Incorrect number of team jobs");
+	}
+
+	/**
+	 * Ensure the queue depth excludes executing {@link Team} jobs.
+	 */
+	@Test
+	public void queueDepthExcludesExecutingJobs() throws Exception {
+
+		// Configure
+		this.construct.constructTeam("TEAM", OnePersonTeamSource.class);
+		TestWork work = new TestWork();
+		work.isBlock = true;
+		ReflectiveFunctionBuilder task = this.construct.constructFunction(work, "task");
+		task.getBuilder().setResponsibleTeam("TEAM");
+
+		// Open the OfficeFloor
+		OfficeFloor officeFloor = this.construct.constructOfficeFloor();
+		officeFloor.openOfficeFloor();
+		TeamMetrics teamMetrics = getTeamMetrics(officeFloor, "of-TEAM");
+
+		// Invoke the function (blocking the team)
+		officeFloor.getOffice(this.construct.getOfficeName()).getFunctionManager("task").invokeProcess(null, null);
+		this.threading.waitForTrue(() -> work.isExecuting, "Function should be executing");
+
+		// Ensure executing job not included in queue depth
+		try {
+			assertEquals(0, teamMetrics.getQueueDepth(), "Executing job should not be queued");
+			assertEquals(1, teamMetrics.getAssignedJobCount(), "Should have assigned job");
+		} finally {
+			work.isBlock = false;
+		}
+	}
+
+	/**
+	 * Obtains the {@link TeamMetrics}.
+	 * 
+	 * @param officeFloor {@link OfficeFloor}.
+	 * @param teamName    Name of the {@link Team}.
+	 * @return {@link TeamMetrics}.
+	 */
+	private static TeamMetrics getTeamMetrics(OfficeFloor officeFloor, String teamName) {
+		for (TeamMetrics team : officeFloor.getMetrics().getTeamMetrics()) {
+			if (teamName.equals(team.getTeamName())) {
+				return team;
+			}
+		}
+		throw new AssertionError("No metrics for team " + teamName);
+	}
+
+	/**
+	 * Test functionality.
+	 */
+	public class TestWork {
+
+		private volatile boolean isBlock = false;
+
+		private volatile boolean isExecuting = false;
+
+		public void task() throws Exception {
+			this.isExecuting = true;
+			MetricsListenerTest.this.threading.waitForTrue(() -> !this.isBlock);
+		}
+	}
+
+}
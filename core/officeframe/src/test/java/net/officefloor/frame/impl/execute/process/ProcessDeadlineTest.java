@@ -0,0 +1,172 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.process;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import net.officefloor.frame.api.escalate.AsynchronousFlowTimedOutEscalation;
+import net.officefloor.frame.api.escalate.ProcessDeadlineExpiredEscalation;
+import net.officefloor.frame.api.function.AsynchronousFlow;
+import net.officefloor.frame.api.manage.OfficeFloor;
+import net.officefloor.frame.api.manage.ProcessManager;
+import net.officefloor.frame.internal.structure.ProcessState;
+import net.officefloor.frame.test.Closure;
+import net.officefloor.frame.test.ConstructTestSupport;
+import net.officefloor.frame.test.OfficeManagerTestSupport;
+import net.officefloor.frame.test.ReflectiveFunctionBuilder;
+import net.officefloor.frame.test.TestSupportExtension;
+
+/**
+ * Tests the deadline of a {@link ProcessState}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+@ExtendWith(TestSupportExtension.class)
+public class ProcessDeadlineTest {
+
+	private final ConstructTestSupport construct = new ConstructTestSupport();
+
+	private final OfficeManagerTestSupport officeManager = new OfficeManagerTestSupport();
+
+	/**
+	 * Ensure continues servicing within the deadline.
+	 */
+	@Test
+	public void withinDeadline() throws Exception {
+		TestWork work = new TestWork();
+		Closure<Throwable> escalation = new Closure<>();
+		ProcessManager processManager = this.invokeProcess(work, escalation);
+
+		// Specify deadline in future and complete
+		processManager.setDeadline(this.construct.currentTimeMillis() + 100);
+		work.firstFlow.complete(null);
+		work.secondFlow.complete(null);
+
+		// Ensure serviced
+		assertTrue(work.isServicingComplete, "Should complete servicing");
+		assertNull(escalation.value, "Should be no escalation: " + escalation.value);
+	}
+
+	/**
+	 * Ensure drops function once deadline has passed.
+	 */
+	@Test
+	public void dropFunctionOnceDeadlinePassed() throws Exception {
+		TestWork work = new TestWork();
+		Closure<Throwable> escalation = new Closure<>();
+		ProcessManager processManager = this.invokeProcess(work, escalation);
+
+		// Specify deadline and then have deadline pass
+		processManager.setDeadline(this.construct.currentTimeMillis() + 10);
+		this.construct.adjustCurrentTimeMillis(100);
+
+		// Complete asynchronous flow (so next function dropped)
+		work.firstFlow.complete(null);
+		assertFalse(work.isSecondInvoked, "Should drop function");
+		assertTrue(escalation.value instanceof ProcessDeadlineExpiredEscalation,
+				"Should fail with deadline expired: " + escalation.value);
+	}
+
+	/**
+	 * Ensure times out {@link AsynchronousFlow} once deadline has passed.
+	 */
+	@Test
+	public void timeoutAsynchronousFlowOnceDeadlinePassed() throws Exception {
+		TestWork work = new TestWork();
+		Closure<Throwable> escalation = new Closure<>();
+		ProcessManager processManager = this.invokeProcess(work, escalation);
+
+		// Specify deadline and trigger next asynchronous flow
+		processManager.setDeadline(this.construct.currentTimeMillis() + 10);
+		work.firstFlow.complete(null);
+		assertTrue(work.isSecondInvoked, "Should invoke function within deadline");
+		assertNull(escalation.value, "Should be no escalation: " + escalation.value);
+
+		// Have deadline pass (well before asynchronous flow time out)
+		this.construct.adjustCurrentTimeMillis(100);
+		this.officeManager.runAssetChecks();
+
+		// Should time out the asynchronous flow
+		assertTrue(escalation.value instanceof AsynchronousFlowTimedOutEscalation,
+				"Should time out asynchronous flow: " + escalation.value);
+		assertFalse(work.isServicingComplete, "Should not complete servicing");
+	}
+
+	/**
+	 * Invokes the {@link ProcessState}.
+	 * 
+	 * @param work       {@link TestWork}.
+	 * @param escalation Captures the {@link ProcessState} escalation.
+	 * @return {@link ProcessManager} for the {@link ProcessState}.
+	 */
+	private ProcessManager invokeProcess(TestWork work, Closure<Throwable> escalation) throws Exception {
+
+		// Construct the functions
+		ReflectiveFunctionBuilder first = this.construct.constructFunction(work, "first");
+		first.buildAsynchronousFlow();
+		first.setNextFunction("second");
+		ReflectiveFunctionBuilder second = this.construct.constructFunction(work, "second");
+		second.buildAsynchronousFlow();
+		second.setNextFunction("servicingComplete");
+		this.construct.constructFunction(work, "servicingComplete");
+
+		// Asynchronous flows only time out well after the deadline
+		this.construct.getOfficeBuilder().setDefaultAsynchronousFlowTimeout(10 * 1000);
+
+		// Invoke the process
+		OfficeFloor officeFloor = this.construct.constructOfficeFloor();
+		officeFloor.openOfficeFloor();
+		ProcessManager processManager = officeFloor.getOffice(this.construct.getOfficeName())
+				.getFunctionManager("first").invokeProcess(null, (error) -> escalation.value = error);
+		assertFalse(work.isSecondInvoked, "Should halt on asynchronous flow");
+		return processManager;
+	}
+
+	public class TestWork {
+
+		private AsynchronousFlow firstFlow;
+
+		private AsynchronousFlow secondFlow;
+
+		private boolean isSecondInvoked = false;
+
+		private boolean isServicingComplete = false;
+
+		public void first(AsynchronousFlow flow) {
+			this.firstFlow = flow;
+		}
+
+		public void second(AsynchronousFlow flow) {
+			this.isSecondInvoked = true;
+			this.secondFlow = flow;
+		}
+
+		public void servicingComplete() {
+			this.isServicingComplete = true;
+		}
+	}
+
+}
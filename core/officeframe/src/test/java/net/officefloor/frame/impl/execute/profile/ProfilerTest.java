@@ -21,17 +21,28 @@
 package net.officefloor.frame.impl.execute.profile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import net.officefloor.frame.api.function.ManagedFunction;
+import net.officefloor.frame.api.manage.OfficeFloor;
+import net.officefloor.frame.api.metric.FunctionMetrics;
+import net.officefloor.frame.api.metric.LatencyMetrics;
+import net.officefloor.frame.api.metric.OfficeMetrics;
 import net.officefloor.frame.api.profile.ProfiledManagedFunction;
 import net.officefloor.frame.api.profile.ProfiledProcessState;
 import net.officefloor.frame.api.profile.ProfiledThreadState;
 import net.officefloor.frame.api.profile.Profiler;
+import net.officefloor.frame.internal.structure.ProcessState;
 import net.officefloor.frame.internal.structure.ThreadState;
 import net.officefloor.frame.test.Closure;
 import net.officefloor.frame.test.ConstructTestSupport;
@@ -113,6 +124,159 @@ public class ProfilerTest {
 		List<ProfiledManagedFunction> spawnedThread = threads.get(1).getProfiledManagedFunctions();
 		assertEquals(1, spawnedThread.size(), "Incorrect number of functions for spawned thread");
 		assertEquals("taskTwo", spawnedThread.get(0).getFunctionName(), "Incorrect function for spawned thread");
+		assertNull(threads.get(0).getSpawningManagedFunction(), "Main thread should not be spawned");
+		assertSame(mainThread.get(1), threads.get(1).getSpawningManagedFunction(), "Incorrect spawning function");
+		for (ProfiledManagedFunction function : mainThread) {
+			assertTrue(function.getEndTimestampNanoseconds() >= function.getStartTimestampNanoseconds(),
+					"Function " + function.getFunctionName() + " should complete after starting");
+		}
+	}
+
+	/**
+	 * Ensure able to fold profiled {@link ProcessState} instances into collapsed
+	 * stacks.
+	 */
+	@Test
+	public void collapsedStacks() throws Exception {
+
+		// Configure
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder taskOne = this.construct.constructFunction(work, "taskOne");
+		taskOne.setNextFunction("spawn");
+		this.construct.constructFunction(work, "spawn").buildFlow("taskTwo", null, true);
+		this.construct.constructFunction(work, "taskTwo");
+
+		// Provide the profiler
+		CollapsedStackProfiler profiler = new CollapsedStackProfiler();
+		this.construct.getOfficeBuilder().setProfiler(profiler);
+
+		// Execute the function
+		this.construct.invokeFunction("taskOne", null);
+
+		// Ensure spawned flow stacked under spawning function
+		this.threading.waitForTrue(() -> profiler.getProfiledProcessCount() == 1,
+				"Ensure have profiled process (happens after process completion notification so need to wait for it)");
+		String stacks = profiler.dumpCollapsedStacks();
+		assertTrue(stacks.contains("spawn;taskTwo;" + CollapsedStackProfiler.EXECUTE_FRAME + " "),
+				"Spawned flow should be stacked under spawning function:\n" + stacks);
+		for (String line : stacks.split("\n")) {
+			assertTrue(line.matches("[^ ]+;\\[(wait|execute)\\] [0-9]+"), "Incorrect collapsed stack line: " + line);
+		}
+
+		// Ensure able to reset
+		profiler.reset();
+		assertEquals(0, profiler.getProfiledProcessCount(), "Should reset process count");
+		assertEquals("", profiler.dumpCollapsedStacks(), "Should reset stacks");
+	}
+
+	/**
+	 * Ensure flows invoked within the same {@link ThreadState} are stacked under
+	 * the invoking {@link ManagedFunction}.
+	 */
+	@Test
+	public void collapsedStacksForSameThreadFlow() throws Exception {
+
+		// Configure
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder taskOne = this.construct.constructFunction(work, "taskOne");
+		taskOne.setNextFunction("spawn");
+		this.construct.constructFunction(work, "spawn").buildFlow("taskTwo", null, false);
+		this.construct.constructFunction(work, "taskTwo");
+
+		// Provide the profilers
+		Closure<ProfiledProcessState> profile = new Closure<>();
+		CollapsedStackProfiler profiler = new CollapsedStackProfiler();
+		this.construct.getOfficeBuilder().setProfiler((process) -> {
+			profile.value = process;
+			profiler.profileProcessState(process);
+		});
+
+		// Execute the function
+		this.construct.invokeFunction("taskOne", null);
+
+		// Ensure invoking function recorded
+		assertNotNull(profile.value, "Ensure have profiled process");
+		List<ProfiledThreadState> threads = profile.value.getProfiledThreadStates();
+		assertEquals(1, threads.size(), "Flow should be executed by same thread");
+		List<ProfiledManagedFunction> functions = threads.get(0).getProfiledManagedFunctions();
+		assertEquals(3, functions.size(), "Incorrect number of functions");
+		assertNull(functions.get(0).getInvokingManagedFunction(), "First function not invoked by function");
+		assertNull(functions.get(1).getInvokingManagedFunction(), "Next function should not be nested");
+		assertSame(functions.get(1), functions.get(2).getInvokingManagedFunction(), "Incorrect invoking function");
+
+		// Ensure flow stacked under invoking function
+		String stacks = profiler.dumpCollapsedStacks();
+		assertTrue(stacks.contains("spawn;taskTwo;" + CollapsedStackProfiler.EXECUTE_FRAME + " "),
+				"Flow should be stacked under invoking function:\n" + stacks);
+		assertFalse(stacks.contains("taskOne;spawn"), "Next function should not be stacked:\n" + stacks);
+	}
+
+	/**
+	 * Ensure only profiles sampled {@link ProcessState} instances.
+	 */
+	@Test
+	public void sampleProcessStates() throws Exception {
+
+		// Configure
+		TestWork work = new TestWork();
+		this.construct.constructFunction(work, "taskOne");
+
+		// Provide the profiler (sampling no processes)
+		Closure<ProfiledProcessState> profile = new Closure<>();
+		this.construct.getOfficeBuilder().setProfiler((process) -> profile.value = process);
+		this.construct.getOfficeBuilder().setProfilerSampleRate(0.0);
+
+		// Execute the function
+		OfficeFloor officeFloor = this.construct.invokeFunction("taskOne", null);
+
+		// Ensure not profiled
+		assertNull(profile.value, "Process should not be sampled");
+
+		// Ensure function execution still recorded
+		FunctionMetrics metrics = getFunctionMetrics(officeFloor, "taskOne");
+		assertEquals(1, metrics.getExecutionTime().getCount(), "Function execution should still be recorded");
+	}
+
+	/**
+	 * Ensure records the execution time of each {@link ManagedFunction}.
+	 */
+	@Test
+	public void functionExecutionTime() throws Exception {
+
+		// Configure
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder taskOne = this.construct.constructFunction(work, "taskOne");
+		taskOne.setNextFunction("taskTwo");
+		this.construct.constructFunction(work, "taskTwo");
+
+		// Execute the functions
+		OfficeFloor officeFloor = this.construct.invokeFunction("taskOne", null);
+		this.construct.triggerFunction("taskOne", null, null);
+
+		// Ensure each function recorded
+		LatencyMetrics taskOneTime = getFunctionMetrics(officeFloor, "taskOne").getExecutionTime();
+		assertEquals(2, taskOneTime.getCount(), "Incorrect number of taskOne executions");
+		assertTrue(taskOneTime.getPercentile(99) <= taskOneTime.getMax(), "Percentile should be within maximum");
+		assertEquals(2, getFunctionMetrics(officeFloor, "taskTwo").getExecutionTime().getCount(),
+				"Incorrect number of taskTwo executions");
+	}
+
+	/**
+	 * Obtains the {@link FunctionMetrics}.
+	 * 
+	 * @param officeFloor  {@link OfficeFloor}.
+	 * @param functionName Name of the {@link ManagedFunction}.
+	 * @return {@link FunctionMetrics}.
+	 */
+	private static FunctionMetrics getFunctionMetrics(OfficeFloor officeFloor, String functionName) {
+		for (OfficeMetrics office : officeFloor.getMetrics().getOfficeMetrics()) {
+			for (FunctionMetrics function : office.getFunctionMetrics()) {
+				if (functionName.equals(function.getFunctionName())) {
+					return function;
+				}
+			}
+		}
+		return fail("No metrics for function " + functionName);
 	}
 
 	/**
@@ -127,7 +291,8 @@ public class ProfilerTest {
 			flow.doFlow(null, null);
 		}
 
-		public void taskTwo() {
+		public void taskTwo() throws InterruptedException {
+			Thread.sleep(1);
 		}
 	}
 
@@ -0,0 +1,211 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.thread;
+
+import net.officefloor.frame.internal.structure.ProcessState;
+import net.officefloor.frame.internal.structure.ThreadState;
+import net.officefloor.frame.internal.structure.ThreadStateContext;
+import net.officefloor.frame.test.AbstractOfficeConstructTestCase;
+import net.officefloor.frame.test.ReflectiveFlow;
+import net.officefloor.frame.test.ReflectiveFunctionBuilder;
+
+/**
+ * Ensure correct execution with the frame objects of the {@link ThreadState}
+ * being recycled.
+ * <p>
+ * Tests are run with assertions enabled, so recycled frame objects are never
+ * re-used and any use after being recycled fails. The
+ * {@link ReuseFrameObjectsTest} runs these tests with the recycled frame
+ * objects re-used.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class RecycleFrameObjectsTest extends AbstractOfficeConstructTestCase {
+
+	/**
+	 * Number of {@link ProcessState} instances to execute.
+	 */
+	protected static final int PROCESS_COUNT = 100;
+
+	/**
+	 * Ensure can execute flows and next functions with recycled frame objects.
+	 */
+	public void testFlows() throws Exception {
+
+		// Recycle the frame objects
+		this.getOfficeBuilder().setRecycleFrameObjects(true);
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder trigger = this.constructFunction(work, "trigger");
+		trigger.buildFlow("flow", null, false);
+		trigger.setNextFunction("next");
+		this.constructFunction(work, "flow").setNextFunction("flowNext");
+		this.constructFunction(work, "flowNext");
+		this.constructFunction(work, "next");
+
+		// Ensure execute each process (re-using recycled frame objects)
+		for (int i = 0; i < PROCESS_COUNT; i++) {
+			this.invokeFunction("trigger", null);
+		}
+		assertEquals("Incorrect number of triggers", PROCESS_COUNT, work.triggerCount);
+		assertEquals("Incorrect number of flows", PROCESS_COUNT, work.flowCount);
+		assertEquals("Incorrect number of flow next", PROCESS_COUNT, work.flowNextCount);
+		assertEquals("Incorrect number of callbacks", PROCESS_COUNT, work.callbackCount);
+		assertEquals("Incorrect number of next", PROCESS_COUNT, work.nextCount);
+	}
+
+	/**
+	 * Ensure can spawn {@link ThreadState} instances with recycled frame objects.
+	 */
+	public void testSpawnThreadState() throws Exception {
+
+		// Recycle the frame objects
+		this.getOfficeBuilder().setRecycleFrameObjects(true);
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder trigger = this.constructFunction(work, "trigger");
+		trigger.buildFlow("flow", null, true);
+		trigger.setNextFunction("next");
+		this.constructFunction(work, "flow").setNextFunction("flowNext");
+		this.constructFunction(work, "flowNext");
+		this.constructFunction(work, "next");
+
+		// Ensure execute each process (spawning thread state)
+		for (int i = 0; i < PROCESS_COUNT; i++) {
+			this.invokeFunction("trigger", null);
+		}
+		this.waitForTrue(() -> work.callbackCount == PROCESS_COUNT);
+		assertEquals("Incorrect number of triggers", PROCESS_COUNT, work.triggerCount);
+		assertEquals("Incorrect number of spawned flows", PROCESS_COUNT, work.flowCount);
+		assertEquals("Incorrect number of spawned flow next", PROCESS_COUNT, work.flowNextCount);
+		assertEquals("Incorrect number of next", PROCESS_COUNT, work.nextCount);
+	}
+
+	/**
+	 * Ensure can handle escalations with recycled frame objects.
+	 */
+	public void testEscalation() throws Exception {
+
+		// Recycle the frame objects
+		this.getOfficeBuilder().setRecycleFrameObjects(true);
+
+		// Construct the functions
+		TestWork work = new TestWork();
+		this.constructFunction(work, "fail").setNextFunction("next");
+		this.constructFunction(work, "handle").buildParameter();
+		this.constructFunction(work, "next");
+
+		// Handle the escalation
+		this.getOfficeBuilder().addEscalation(Exception.class, "handle");
+
+		// Ensure handle escalation for each process
+		for (int i = 0; i < PROCESS_COUNT; i++) {
+			this.invokeFunction("fail", null);
+		}
+		assertEquals("Incorrect number of failures", PROCESS_COUNT, work.failCount);
+		assertEquals("Incorrect number of handled escalations", PROCESS_COUNT, work.handleCount);
+		assertEquals("Should not continue to next after escalation", 0, work.nextCount);
+	}
+
+	/**
+	 * Ensure recycled frame object can not be used.
+	 */
+	public void testNotUseAfterRecycled() throws Exception {
+
+		// Recycle the frame objects
+		this.getOfficeBuilder().setRecycleFrameObjects(true);
+
+		// Construct the function
+		TestWork work = new TestWork();
+		this.constructFunction(work, "capture");
+
+		// Capture the context
+		this.invokeFunction("capture", null);
+		assertNotNull("Should capture context", work.context);
+
+		// Ensure recycled context can not be used
+		try {
+			work.context.isThreadStateSafe();
+			fail("Should not be able to use recycled frame object");
+		} catch (IllegalStateException ex) {
+			assertTrue("Incorrect cause", ex.getMessage().startsWith("Recycled "));
+		}
+	}
+
+	/**
+	 * Test functionality.
+	 */
+	public class TestWork {
+
+		private volatile int triggerCount = 0;
+
+		private volatile int flowCount = 0;
+
+		private volatile int flowNextCount = 0;
+
+		private volatile int callbackCount = 0;
+
+		private volatile int nextCount = 0;
+
+		private volatile int failCount = 0;
+
+		private volatile int handleCount = 0;
+
+		protected volatile ThreadStateContext context = null;
+
+		public void trigger(ReflectiveFlow flow) {
+			this.triggerCount++;
+			flow.doFlow(null, (escalation) -> {
+				assertNull("Should be no escalation", escalation);
+				this.callbackCount++;
+			});
+		}
+
+		public void flow() {
+			this.flowCount++;
+		}
+
+		public void flowNext() {
+			this.flowNextCount++;
+		}
+
+		public void next() {
+			this.nextCount++;
+		}
+
+		public void fail() throws Exception {
+			this.failCount++;
+			throw new Exception("TEST");
+		}
+
+		public void handle(Exception escalation) {
+			assertEquals("Incorrect escalation", "TEST", escalation.getMessage());
+			this.handleCount++;
+		}
+
+		public void capture() {
+			this.context = ThreadStateImpl.currentThreadContext(null);
+		}
+	}
+
+}
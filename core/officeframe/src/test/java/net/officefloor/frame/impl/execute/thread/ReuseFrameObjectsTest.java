@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.execute.thread;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import net.officefloor.frame.internal.structure.ThreadState;
+import net.officefloor.frame.internal.structure.ThreadStateContext;
+
+/**
+ * Ensure correct execution with the recycled frame objects of the
+ * {@link ThreadState} being re-used.
+ * <p>
+ * As assertions are enabled in tests, recycled frame objects are by default
+ * never re-used. This runs the {@link RecycleFrameObjectsTest} tests with the
+ * recycled frame objects re-used.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class ReuseFrameObjectsTest extends RecycleFrameObjectsTest {
+
+	/**
+	 * Previous setting for verifying recycling.
+	 */
+	private boolean isPreviousVerifyRecycle;
+
+	@Override
+	protected void setUp() throws Exception {
+		this.isPreviousVerifyRecycle = ThreadStateImpl.setVerifyRecycle(false);
+		super.setUp();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		try {
+			super.tearDown();
+		} finally {
+			ThreadStateImpl.setVerifyRecycle(this.isPreviousVerifyRecycle);
+		}
+	}
+
+	/**
+	 * Ensure the recycled frame objects are re-used.
+	 */
+	public void testFrameObjectsReused() throws Exception {
+
+		// Recycle the frame objects
+		this.getOfficeBuilder().setRecycleFrameObjects(true);
+
+		// Construct the function
+		TestWork work = new TestWork();
+		this.constructFunction(work, "capture");
+
+		// Capture the context of each process
+		Set<ThreadStateContext> contexts = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < PROCESS_COUNT; i++) {
+			this.invokeFunction("capture", null);
+			contexts.add(work.context);
+		}
+
+		// Ensure the context is re-used
+		assertTrue("Should re-use recycled context (contexts: " + contexts.size() + ")",
+				contexts.size() < PROCESS_COUNT);
+	}
+
+}
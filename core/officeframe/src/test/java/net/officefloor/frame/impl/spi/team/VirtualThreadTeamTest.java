@@ -0,0 +1,265 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.spi.team;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.officefloor.frame.api.executive.Executive;
+import net.officefloor.frame.api.executive.ProcessIdentifier;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.api.team.source.TeamSourceContext;
+import net.officefloor.frame.impl.execute.execution.VirtualThreads;
+import net.officefloor.frame.impl.execute.executive.VirtualThreadExecutive;
+import net.officefloor.frame.test.OfficeFrameTestCase;
+import net.officefloor.frame.util.TeamSourceStandAlone;
+
+/**
+ * Tests the {@link VirtualThreadTeamSource}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class VirtualThreadTeamTest extends OfficeFrameTestCase {
+
+	/**
+	 * Ensure indicates virtual {@link Thread} instances are required.
+	 */
+	public void testRequiresVirtualThreads() throws Exception {
+
+		// Only able to test on JVM without virtual threads
+		if (VirtualThreads.isAvailable()) {
+			return;
+		}
+
+		// Ensure unable to create the team
+		try {
+			new TeamSourceStandAlone().loadTeam(VirtualThreadTeamSource.class);
+			fail("Should not create team without virtual threads");
+		} catch (IllegalStateException ex) {
+			assertTrue("Incorrect cause: " + ex.getMessage(), ex.getMessage().contains("requires Java 21"));
+		}
+	}
+
+	/**
+	 * Ensure indicates virtual {@link Thread} instances are required from the
+	 * {@link Executive}.
+	 */
+	public void testRequiresVirtualThreadExecutive() throws Exception {
+
+		// Only able to test on JVM with virtual threads
+		if (!VirtualThreads.isAvailable()) {
+			return;
+		}
+
+		// Ensure unable to create the team with platform threads
+		try {
+			new TeamSourceStandAlone().loadTeam(VirtualThreadTeamSource.class);
+			fail("Should not create team without virtual threads from executive");
+		} catch (IllegalStateException ex) {
+			assertTrue("Incorrect cause: " + ex.getMessage(), ex.getMessage().contains("requires virtual threads"));
+		}
+	}
+
+	/**
+	 * Ensure the virtual {@link Thread} instances are created by the
+	 * {@link TeamSourceContext} {@link ThreadFactory}.
+	 */
+	public void testManagedThreads() throws Exception {
+
+		// Only able to test on JVM with virtual threads
+		if (!VirtualThreads.isAvailable()) {
+			return;
+		}
+
+		// Create the team (capturing decorated threads and completion)
+		List<Thread> decoratedThreads = new CopyOnWriteArrayList<>();
+		AtomicInteger completeCount = new AtomicInteger(0);
+		TeamSourceStandAlone standAlone = new TeamSourceStandAlone("TEAM");
+		standAlone.setExecutive(new VirtualThreadExecutive());
+		standAlone.setThreadDecorator((thread) -> decoratedThreads.add(thread));
+		standAlone.addThreadCompletionListener(() -> completeCount.incrementAndGet());
+		Team team = standAlone.loadTeam(VirtualThreadTeamSource.class);
+		team.startWorking();
+		try {
+
+			// Run the job
+			Thread[] jobThread = new Thread[1];
+			CountDownLatch complete = new CountDownLatch(1);
+			team.assignJob(new BlockedJob(() -> {
+				jobThread[0] = Thread.currentThread();
+				complete.countDown();
+			}));
+			assertTrue("Job should complete", complete.await(10, TimeUnit.SECONDS));
+
+			// Ensure managed virtual thread
+			assertTrue("Should run on virtual thread", VirtualThreads.isVirtual(jobThread[0]));
+			assertTrue("Should decorate thread", decoratedThreads.contains(jobThread[0]));
+			assertTrue("Incorrect thread name: " + jobThread[0].getName(),
+					jobThread[0].getName().startsWith("TEAM-"));
+			this.waitForTrue(() -> completeCount.get() == 1);
+
+		} finally {
+			team.stopWorking();
+		}
+	}
+
+	/**
+	 * Ensures runs the {@link Job} on a virtual {@link Thread}.
+	 */
+	public void testRunning() throws Exception {
+
+		// Only able to test on JVM with virtual threads
+		if (!VirtualThreads.isAvailable()) {
+			return;
+		}
+
+		// Create the team
+		TeamSourceStandAlone standAlone = new TeamSourceStandAlone();
+		standAlone.setExecutive(new VirtualThreadExecutive());
+		Team team = standAlone.loadTeam(VirtualThreadTeamSource.class);
+		team.startWorking();
+		try {
+
+			// Assign job and wait on it to be started for execution
+			MockJob job = new MockJob();
+			job.assignJobToTeam(team, 10);
+
+			// Ensure run on virtual thread
+			Thread[] jobThread = new Thread[1];
+			CountDownLatch complete = new CountDownLatch(1);
+			team.assignJob(new BlockedJob(() -> {
+				jobThread[0] = Thread.currentThread();
+				complete.countDown();
+			}));
+			assertTrue("Job should complete", complete.await(10, TimeUnit.SECONDS));
+			assertTrue("Should run on virtual thread", VirtualThreads.isVirtual(jobThread[0]));
+
+		} finally {
+			team.stopWorking();
+		}
+	}
+
+	/**
+	 * Ensure many blocked {@link Job} instances are run concurrently.
+	 */
+	public void testConcurrentBlockedJobs() throws Exception {
+
+		// Only able to test on JVM with virtual threads
+		if (!VirtualThreads.isAvailable()) {
+			return;
+		}
+
+		final int JOB_COUNT = 1000;
+
+		// Create the team
+		TeamSourceStandAlone standAlone = new TeamSourceStandAlone();
+		standAlone.setExecutive(new VirtualThreadExecutive());
+		Team team = standAlone.loadTeam(VirtualThreadTeamSource.class);
+		team.startWorking();
+		try {
+
+			// Assign jobs that block until all are running
+			CountDownLatch running = new CountDownLatch(JOB_COUNT);
+			CountDownLatch release = new CountDownLatch(1);
+			AtomicInteger completeCount = new AtomicInteger(0);
+			for (int i = 0; i < JOB_COUNT; i++) {
+				team.assignJob(new BlockedJob(() -> {
+					running.countDown();
+					assertTrue("Should be released", release.await(10, TimeUnit.SECONDS));
+					completeCount.incrementAndGet();
+				}));
+			}
+
+			// Ensure all jobs block concurrently
+			assertTrue("All jobs should be running concurrently", running.await(10, TimeUnit.SECONDS));
+
+			// Release the jobs and ensure all complete
+			release.countDown();
+			this.waitForTrue(() -> completeCount.get() == JOB_COUNT);
+
+		} finally {
+			team.stopWorking();
+		}
+	}
+
+	/**
+	 * Logic of the {@link BlockedJob}.
+	 */
+	@FunctionalInterface
+	private static interface BlockedLogic {
+
+		/**
+		 * Undertakes the logic.
+		 * 
+		 * @throws Exception If fails.
+		 */
+		void run() throws Exception;
+	}
+
+	/**
+	 * {@link Job} that may block.
+	 */
+	private static class BlockedJob implements Job, ProcessIdentifier {
+
+		/**
+		 * {@link BlockedLogic}.
+		 */
+		private final BlockedLogic logic;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param logic {@link BlockedLogic}.
+		 */
+		private BlockedJob(BlockedLogic logic) {
+			this.logic = logic;
+		}
+
+		/*
+		 * ===================== Job ======================
+		 */
+
+		@Override
+		public void run() {
+			try {
+				this.logic.run();
+			} catch (Exception ex) {
+				throw fail(ex);
+			}
+		}
+
+		@Override
+		public ProcessIdentifier getProcessIdentifier() {
+			return this;
+		}
+
+		@Override
+		public void cancel(Throwable cause) {
+			fail("Should not cancel job");
+		}
+	}
+
+}
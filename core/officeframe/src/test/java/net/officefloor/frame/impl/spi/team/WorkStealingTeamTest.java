@@ -0,0 +1,262 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.spi.team;
+
+import java.lang.Thread.State;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.officefloor.frame.api.executive.ProcessIdentifier;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.test.OfficeFrameTestCase;
+import net.officefloor.frame.util.TeamSourceStandAlone;
+
+/**
+ * Tests the {@link WorkStealingTeam}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WorkStealingTeamTest extends OfficeFrameTestCase {
+
+	/**
+	 * {@link Thread} instances of the {@link Team}.
+	 */
+	private final List<Thread> teamThreads = new ArrayList<>();
+
+	/**
+	 * Single worker and single job.
+	 */
+	public void testSingleWorkerOneJob() throws Exception {
+		this.workStealingTest(1, 1);
+	}
+
+	/**
+	 * Multiple workers and single job.
+	 */
+	public void testMultipleWorkersOneJob() throws Exception {
+		this.workStealingTest(3, 1);
+	}
+
+	/**
+	 * Single worker and multiple jobs.
+	 */
+	public void testSingleWorkerMultipleJobs() throws Exception {
+		this.workStealingTest(1, 6);
+	}
+
+	/**
+	 * Multiple workers and multiple jobs.
+	 */
+	public void testMultipleWorkersMultipleJobs() throws Exception {
+		this.workStealingTest(3, 6);
+	}
+
+	/**
+	 * High load test.
+	 */
+	public void testHighLoad() throws Exception {
+		this.workStealingTest(10, 100);
+	}
+
+	/**
+	 * Ensure {@link Job} assigned by a worker is run by the worker when no other
+	 * workers.
+	 */
+	public void testLocalJob() throws Exception {
+		Team team = this.createTeam(1);
+		try {
+			AtomicReference<Thread> assigningThread = new AtomicReference<>();
+			AtomicReference<Thread> runningThread = new AtomicReference<>();
+			CountDownLatch complete = new CountDownLatch(1);
+
+			// Job assigned by a worker
+			Job localJob = new ThreadJob(() -> {
+				runningThread.set(Thread.currentThread());
+				complete.countDown();
+			});
+
+			// Assign job from worker
+			team.assignJob(new ThreadJob(() -> {
+				assigningThread.set(Thread.currentThread());
+				team.assignJob(localJob);
+			}));
+
+			// Ensure local job run by same worker
+			assertTrue("Local job should be run", complete.await(10, TimeUnit.SECONDS));
+			assertSame("Should run on same worker", assigningThread.get(), runningThread.get());
+
+		} finally {
+			team.stopWorking();
+		}
+	}
+
+	/**
+	 * Ensure another worker steals the {@link Job} of a busy worker.
+	 */
+	public void testStealJob() throws Exception {
+		Team team = this.createTeam(2);
+		try {
+			AtomicReference<Thread> stealingThread = new AtomicReference<>();
+			CountDownLatch stolen = new CountDownLatch(1);
+
+			// Job only runs if stolen (as assigning worker blocked)
+			Job stealJob = new ThreadJob(() -> {
+				stealingThread.set(Thread.currentThread());
+				stolen.countDown();
+			});
+
+			// Worker assigns job locally and then blocks until stolen
+			AtomicReference<Thread> blockedThread = new AtomicReference<>();
+			team.assignJob(new ThreadJob(() -> {
+				blockedThread.set(Thread.currentThread());
+				team.assignJob(stealJob);
+				assertTrue("Job should be stolen", stolen.await(10, TimeUnit.SECONDS));
+			}));
+
+			// Ensure job stolen by other worker
+			assertTrue("Job should be stolen", stolen.await(10, TimeUnit.SECONDS));
+			assertNotSame("Should be stolen by other worker", blockedThread.get(), stealingThread.get());
+
+		} finally {
+			team.stopWorking();
+		}
+	}
+
+	/**
+	 * Runs the test on the {@link WorkStealingTeam}.
+	 * 
+	 * @param workerCount Count of workers in the team.
+	 * @param jobCount    Count of jobs to run.
+	 */
+	private void workStealingTest(int workerCount, int jobCount) throws Exception {
+
+		// Create the team
+		Team team = this.createTeam(workerCount);
+
+		// Ensure have appropriate number of threads
+		assertEquals("Incorrect number of threads", workerCount, this.teamThreads.size());
+
+		// Wait some time before assigning jobs (allow workers to park)
+		Thread.sleep(10);
+
+		// Assign jobs and wait on them to be started for execution
+		MockJob[] jobs = new MockJob[jobCount];
+		for (int i = 0; i < jobCount; i++) {
+			jobs[i] = new MockJob();
+			jobs[i].assignJobToTeam(team, 10);
+		}
+
+		// Stop processing (should have all threads finished)
+		team.stopWorking();
+
+		// Ensure all threads are stopped
+		this.waitForTrue(() -> {
+			for (Thread thread : this.teamThreads) {
+				if (!State.TERMINATED.equals(thread.getState())) {
+					return false;
+				}
+			}
+			return true;
+		});
+
+		// Should have invoked each job at least once
+		for (int i = 0; i < jobs.length; i++) {
+			assertTrue("Should have invoked job " + i + " at least once", jobs[i].doTaskInvocationCount >= 1);
+		}
+	}
+
+	/**
+	 * Creates the {@link WorkStealingTeam} and starts it working.
+	 * 
+	 * @param workerCount Number of workers.
+	 * @return {@link WorkStealingTeam}.
+	 */
+	private Team createTeam(int workerCount) throws Exception {
+		TeamSourceStandAlone standAlone = new TeamSourceStandAlone();
+		standAlone.setThreadDecorator((thread) -> this.teamThreads.add(thread));
+		standAlone.setTeamSize(workerCount);
+		Team team = standAlone.loadTeam(WorkStealingTeamSource.class);
+		team.startWorking();
+		return team;
+	}
+
+	/**
+	 * {@link Job} running logic.
+	 */
+	@FunctionalInterface
+	private static interface ThreadJobLogic {
+
+		/**
+		 * Runs the logic.
+		 * 
+		 * @throws Exception If fails.
+		 */
+		void run() throws Exception;
+	}
+
+	/**
+	 * {@link Job} for testing.
+	 */
+	private static class ThreadJob implements Job, ProcessIdentifier {
+
+		/**
+		 * {@link ThreadJobLogic}.
+		 */
+		private final ThreadJobLogic logic;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param logic {@link ThreadJobLogic}.
+		 */
+		private ThreadJob(ThreadJobLogic logic) {
+			this.logic = logic;
+		}
+
+		/*
+		 * ===================== Job ========================
+		 */
+
+		@Override
+		public void run() {
+			try {
+				this.logic.run();
+			} catch (Exception ex) {
+				throw fail(ex);
+			}
+		}
+
+		@Override
+		public ProcessIdentifier getProcessIdentifier() {
+			return this;
+		}
+
+		@Override
+		public void cancel(Throwable cause) {
+			fail("Should not cancel job");
+		}
+	}
+
+}
@@ -35,6 +35,7 @@ import net.officefloor.frame.impl.execute.escalation.EscalationProcedureImpl;
 import net.officefloor.frame.impl.execute.execution.ManagedExecutionFactoryImpl;
 import net.officefloor.frame.impl.execute.executive.DefaultExecutive;
 import net.officefloor.frame.impl.execute.job.FunctionLoopImpl;
+import net.officefloor.frame.impl.execute.metric.TeamMetricsImpl;
 import net.officefloor.frame.impl.execute.office.OfficeMetaDataImpl;
 import net.officefloor.frame.impl.execute.process.ProcessMetaDataImpl;
 import net.officefloor.frame.impl.execute.process.ProcessStateImpl;
@@ -51,6 +52,7 @@ import net.officefloor.frame.internal.structure.OfficeStartupFunction;
 import net.officefloor.frame.internal.structure.ProcessMetaData;
 import net.officefloor.frame.internal.structure.ProcessState;
 import net.officefloor.frame.internal.structure.TeamManagement;
+import net.officefloor.frame.internal.structure.TeamMetricsRecorder;
 import net.officefloor.frame.internal.structure.ThreadMetaData;
 
 /**
@@ -100,6 +102,11 @@ public class MockUtil {
 		}
 	};
 
+	/**
+	 * Default {@link TeamMetricsRecorder}.
+	 */
+	private static TeamMetricsRecorder TEAM_METRICS = new TeamMetricsImpl("MOCK");
+
 	/**
 	 * Default {@link TeamManagement}
 	 */
@@ -114,6 +121,11 @@ public class MockUtil {
 		public Team getTeam() {
 			return TEAM;
 		}
+
+		@Override
+		public TeamMetricsRecorder getTeamMetrics() {
+			return TEAM_METRICS;
+		}
 	};
 
 	/**
@@ -132,7 +144,7 @@ public class MockUtil {
 		ManagedFunctionLocator functionLocator = (functionName) -> null;
 		return new OfficeMetaDataImpl("MOCK", officeManagerHirer, monitorClock, functionLoop, null, executive,
 				managedExecutionFactory, new ManagedFunctionMetaData[0], functionLocator, PROCESS_META_DATA, null,
-				new HashMap<>(), new OfficeStartupFunction[0], null);
+				new HashMap<>(), new OfficeStartupFunction[0], null, 0);
 	}
 
 	/**
@@ -0,0 +1,179 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.spi.team.stress;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.officefloor.frame.api.executive.ProcessIdentifier;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.api.team.source.TeamSource;
+import net.officefloor.frame.impl.spi.team.ExecutorFixedTeamSource;
+import net.officefloor.frame.impl.spi.team.LeaderFollowerTeamSource;
+import net.officefloor.frame.impl.spi.team.WorkStealingTeamSource;
+import net.officefloor.frame.test.OfficeFrameTestCase;
+import net.officefloor.frame.util.TeamSourceStandAlone;
+
+/**
+ * Compares the throughput of the {@link TeamSource} implementations.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class TeamThroughputStressTest extends OfficeFrameTestCase {
+
+	/**
+	 * Number of {@link Job} instances run for each chain.
+	 */
+	private static final int JOBS_PER_CHAIN = 100000;
+
+	/**
+	 * Number of times to run each {@link Team} (allowing warm up).
+	 */
+	private static final int ITERATIONS = 3;
+
+	/**
+	 * Compares throughput of the {@link Team} instances.
+	 */
+	@StressTest
+	public void testCompareThroughput() throws Exception {
+		this.setVerbose(true);
+
+		// Team size and chains to keep all workers busy
+		int teamSize = Runtime.getRuntime().availableProcessors();
+		int chains = teamSize * 4;
+
+		// Compare the throughput
+		for (int i = 0; i < ITERATIONS; i++) {
+			this.printMessage("Iteration " + (i + 1) + " (" + teamSize + " threads, " + chains + " chains)");
+			this.runTeam(LeaderFollowerTeamSource.class, teamSize, chains);
+			this.runTeam(ExecutorFixedTeamSource.class, teamSize, chains);
+			this.runTeam(WorkStealingTeamSource.class, teamSize, chains);
+		}
+	}
+
+	/**
+	 * Runs the {@link Team} reporting its throughput.
+	 * 
+	 * @param teamSourceClass {@link TeamSource} {@link Class}.
+	 * @param teamSize        Size of the {@link Team}.
+	 * @param chains          Number of concurrent chains of {@link Job} instances.
+	 */
+	private void runTeam(Class<? extends TeamSource> teamSourceClass, int teamSize, int chains) throws Exception {
+
+		// Create the team
+		TeamSourceStandAlone standAlone = new TeamSourceStandAlone();
+		standAlone.setTeamSize(teamSize);
+		Team team = standAlone.loadTeam(teamSourceClass);
+		team.startWorking();
+		try {
+
+			// Start the chains
+			CountDownLatch complete = new CountDownLatch(chains);
+			long startTime = System.nanoTime();
+			for (int i = 0; i < chains; i++) {
+				team.assignJob(new ChainJob(team, complete));
+			}
+
+			// Wait for completion
+			assertTrue("Timed out running " + teamSourceClass.getSimpleName(), complete.await(60, TimeUnit.SECONDS));
+			long runTime = System.nanoTime() - startTime;
+
+			// Report the throughput
+			long jobCount = (long) chains * JOBS_PER_CHAIN;
+			long jobsPerSecond = (jobCount * TimeUnit.SECONDS.toNanos(1)) / runTime;
+			this.printMessage("    " + teamSourceClass.getSimpleName() + ": " + jobsPerSecond + " jobs/second ("
+					+ TimeUnit.NANOSECONDS.toMillis(runTime) + " milliseconds)");
+
+		} finally {
+			team.stopWorking();
+		}
+	}
+
+	/**
+	 * {@link Job} that assigns its next {@link Job} (as a function of a
+	 * {@link ProcessIdentifier} would).
+	 */
+	private static class ChainJob implements Job, ProcessIdentifier {
+
+		/**
+		 * {@link Team}.
+		 */
+		private final Team team;
+
+		/**
+		 * {@link CountDownLatch} to notify on completion of the chain.
+		 */
+		private final CountDownLatch complete;
+
+		/**
+		 * Number of {@link Job} instances run.
+		 */
+		private int runCount = 0;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param team     {@link Team}.
+		 * @param complete {@link CountDownLatch} to notify on completion of the
+		 *                 chain.
+		 */
+		private ChainJob(Team team, CountDownLatch complete) {
+			this.team = team;
+			this.complete = complete;
+		}
+
+		/*
+		 * ==================== Job ======================
+		 */
+
+		@Override
+		public void run() {
+
+			// Synchronised as locked on ThreadState when running
+			synchronized (this) {
+				this.runCount++;
+				if (this.runCount >= JOBS_PER_CHAIN) {
+					this.complete.countDown();
+					return;
+				}
+			}
+
+			// Assign the next job of the chain
+			try {
+				this.team.assignJob(this);
+			} catch (Exception ex) {
+				throw fail(ex);
+			}
+		}
+
+		@Override
+		public ProcessIdentifier getProcessIdentifier() {
+			return this;
+		}
+
+		@Override
+		public void cancel(Throwable cause) {
+			fail("Should not cancel job");
+		}
+	}
+
+}
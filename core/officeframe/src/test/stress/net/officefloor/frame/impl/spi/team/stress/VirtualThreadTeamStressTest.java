@@ -0,0 +1,261 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.impl.spi.team.stress;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.officefloor.frame.api.executive.ProcessIdentifier;
+import net.officefloor.frame.api.team.Job;
+import net.officefloor.frame.api.team.Team;
+import net.officefloor.frame.api.team.source.TeamSource;
+import net.officefloor.frame.impl.execute.execution.VirtualThreads;
+import net.officefloor.frame.impl.execute.executive.VirtualThreadExecutive;
+import net.officefloor.frame.impl.spi.team.ExecutorFixedTeamSource;
+import net.officefloor.frame.impl.spi.team.VirtualThreadTeamSource;
+import net.officefloor.frame.test.OfficeFrameTestCase;
+import net.officefloor.frame.util.TeamSourceStandAlone;
+
+/**
+ * Compares memory and throughput of the {@link VirtualThreadTeamSource} against
+ * a platform {@link Thread} {@link Team} for blocked functions (e.g. JDBC).
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class VirtualThreadTeamStressTest extends OfficeFrameTestCase {
+
+	/**
+	 * Number of concurrently blocked {@link Job} instances.
+	 */
+	private static final int CONCURRENT_JOBS = 10000;
+
+	/**
+	 * Time in milliseconds each {@link Job} is blocked.
+	 */
+	private static final int BLOCK_TIME = 100;
+
+	/**
+	 * Number of times each {@link Job} is run (as chain of blocking calls).
+	 */
+	private static final int CALLS_PER_JOB = 10;
+
+	/**
+	 * Size of the platform {@link Thread} {@link Team} (typical sizing for
+	 * blocking functions).
+	 */
+	private static final int PLATFORM_TEAM_SIZE = 500;
+
+	/**
+	 * Compares the {@link Team} instances.
+	 */
+	@StressTest
+	public void testCompareBlockedJobs() throws Exception {
+		this.setVerbose(true);
+
+		// Determine if able to run
+		if (!VirtualThreads.isAvailable()) {
+			this.printMessage("Virtual threads not available (requires Java 21 or above)");
+			return;
+		}
+
+		// Compare the teams
+		this.printMessage(CONCURRENT_JOBS + " concurrent jobs each blocking " + CALLS_PER_JOB + " times for "
+				+ BLOCK_TIME + " milliseconds");
+		this.runTeam(ExecutorFixedTeamSource.class, PLATFORM_TEAM_SIZE);
+		this.runTeam(VirtualThreadTeamSource.class, PLATFORM_TEAM_SIZE);
+		this.runTeam(ExecutorFixedTeamSource.class, PLATFORM_TEAM_SIZE);
+		this.runTeam(VirtualThreadTeamSource.class, PLATFORM_TEAM_SIZE);
+	}
+
+	/**
+	 * Runs the {@link Team} reporting its memory and throughput.
+	 * 
+	 * @param teamSourceClass {@link TeamSource} {@link Class}.
+	 * @param teamSize        Size of the {@link Team}.
+	 */
+	private void runTeam(Class<? extends TeamSource> teamSourceClass, int teamSize) throws Exception {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+		// Obtain base line memory
+		System.gc();
+		long baseHeap = memory.getHeapMemoryUsage().getUsed();
+		long baseNonHeap = memory.getNonHeapMemoryUsage().getUsed();
+		threads.resetPeakThreadCount();
+		int basePlatformThreads = threads.getThreadCount();
+
+		// Create the team
+		TeamSourceStandAlone standAlone = new TeamSourceStandAlone();
+		standAlone.setTeamSize(teamSize);
+		if (VirtualThreadTeamSource.class.equals(teamSourceClass)) {
+			standAlone.setExecutive(new VirtualThreadExecutive());
+		}
+		Team team = standAlone.loadTeam(teamSourceClass);
+		team.startWorking();
+		try {
+
+			// Run the jobs
+			CountDownLatch complete = new CountDownLatch(CONCURRENT_JOBS);
+			MemorySample sample = new MemorySample();
+			long startTime = System.nanoTime();
+			for (int i = 0; i < CONCURRENT_JOBS; i++) {
+				team.assignJob(new BlockedJob(team, complete, sample));
+			}
+
+			// Wait for completion
+			assertTrue("Timed out running " + teamSourceClass.getSimpleName(), complete.await(10, TimeUnit.MINUTES));
+			long runTime = System.nanoTime() - startTime;
+
+			// Report the memory and throughput
+			long callCount = (long) CONCURRENT_JOBS * CALLS_PER_JOB;
+			long callsPerSecond = (callCount * TimeUnit.SECONDS.toNanos(1)) / runTime;
+			this.printMessage("    " + teamSourceClass.getSimpleName() + ": " + callsPerSecond + " calls/second ("
+					+ TimeUnit.NANOSECONDS.toMillis(runTime) + " milliseconds), heap "
+					+ toMegabytes(sample.heap - baseHeap) + ", non-heap " + toMegabytes(sample.nonHeap - baseNonHeap)
+					+ ", platform threads " + (threads.getPeakThreadCount() - basePlatformThreads));
+
+		} finally {
+			team.stopWorking();
+		}
+	}
+
+	/**
+	 * Formats bytes to megabytes.
+	 * 
+	 * @param bytes Bytes.
+	 * @return Megabytes for display.
+	 */
+	private static String toMegabytes(long bytes) {
+		return String.format("%.1fMB", bytes / (1024.0 * 1024.0));
+	}
+
+	/**
+	 * Sample of memory while {@link Job} instances are blocked.
+	 */
+	private static class MemorySample {
+
+		/**
+		 * Maximum used heap memory.
+		 */
+		private volatile long heap = 0;
+
+		/**
+		 * Maximum used non-heap memory.
+		 */
+		private volatile long nonHeap = 0;
+
+		/**
+		 * Samples the memory.
+		 */
+		private synchronized void sample() {
+			MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+			this.heap = Math.max(this.heap, memory.getHeapMemoryUsage().getUsed());
+			this.nonHeap = Math.max(this.nonHeap, memory.getNonHeapMemoryUsage().getUsed());
+		}
+	}
+
+	/**
+	 * {@link Job} that blocks (as a function calling JDBC would).
+	 */
+	private static class BlockedJob implements Job, ProcessIdentifier {
+
+		/**
+		 * {@link Team}.
+		 */
+		private final Team team;
+
+		/**
+		 * {@link CountDownLatch} to notify on completion.
+		 */
+		private final CountDownLatch complete;
+
+		/**
+		 * {@link MemorySample}.
+		 */
+		private final MemorySample sample;
+
+		/**
+		 * Number of blocking calls made.
+		 */
+		private int callCount = 0;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param team     {@link Team}.
+		 * @param complete {@link CountDownLatch} to notify on completion.
+		 * @param sample   {@link MemorySample}.
+		 */
+		private BlockedJob(Team team, CountDownLatch complete, MemorySample sample) {
+			this.team = team;
+			this.complete = complete;
+			this.sample = sample;
+		}
+
+		/*
+		 * ==================== Job ======================
+		 */
+
+		@Override
+		public void run() {
+
+			// Block (as would calling database)
+			try {
+				Thread.sleep(BLOCK_TIME);
+			} catch (InterruptedException ex) {
+				throw fail(ex);
+			}
+
+			// Sample memory while other jobs blocked
+			this.callCount++;
+			if (this.callCount == 1) {
+				this.sample.sample();
+			}
+
+			// Determine if complete
+			if (this.callCount >= CALLS_PER_JOB) {
+				this.complete.countDown();
+				return;
+			}
+
+			// Assign for next call
+			try {
+				this.team.assignJob(this);
+			} catch (Exception ex) {
+				throw fail(ex);
+			}
+		}
+
+		@Override
+		public ProcessIdentifier getProcessIdentifier() {
+			return this;
+		}
+
+		@Override
+		public void cancel(Throwable cause) {
+			fail("Should not cancel job");
+		}
+	}
+
+}
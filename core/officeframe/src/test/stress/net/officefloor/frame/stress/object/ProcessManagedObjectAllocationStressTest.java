@@ -0,0 +1,137 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.stress.object;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import net.officefloor.frame.api.manage.FunctionManager;
+import net.officefloor.frame.api.manage.Office;
+import net.officefloor.frame.api.managedobject.ManagedObject;
+import net.officefloor.frame.internal.structure.ManagedObjectContainer;
+import net.officefloor.frame.internal.structure.ProcessState;
+import net.officefloor.frame.test.AbstractOfficeConstructTestCase;
+import net.officefloor.frame.test.ReflectiveFunctionBuilder;
+
+/**
+ * Reports the bytes allocated per {@link ProcessState} as the number of
+ * {@link ProcessState} bound {@link ManagedObject} instances increases (with
+ * only two used).
+ * <p>
+ * As {@link ManagedObjectContainer} instances are lazily created, the unused
+ * {@link ManagedObject} instances should only add a reference to the bytes per
+ * request.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class ProcessManagedObjectAllocationStressTest extends AbstractOfficeConstructTestCase {
+
+	/**
+	 * Number of requests to warm up.
+	 */
+	private static final int WARM_UP_REQUESTS = 100000;
+
+	/**
+	 * Number of requests to measure.
+	 */
+	private static final int REQUESTS = 1000000;
+
+	/**
+	 * Allocation with only the two used {@link ProcessState} bound
+	 * {@link ManagedObject} instances.
+	 */
+	@StressTest
+	public void testTwoProcessManagedObjects() throws Exception {
+		this.doAllocationTest(2);
+	}
+
+	/**
+	 * Allocation with many {@link ProcessState} bound {@link ManagedObject}
+	 * instances (with only two used).
+	 */
+	@StressTest
+	public void testEightyProcessManagedObjects() throws Exception {
+		this.doAllocationTest(80);
+	}
+
+	/**
+	 * Undertakes reporting the allocation per request.
+	 * 
+	 * @param processManagedObjectCount Number of {@link ProcessState} bound
+	 *                                  {@link ManagedObject} instances.
+	 */
+	private void doAllocationTest(int processManagedObjectCount) throws Exception {
+		this.setVerbose(true);
+
+		// Construct the process bound managed objects
+		for (int i = 0; i < processManagedObjectCount; i++) {
+			String name = "MO" + i;
+			this.constructManagedObject(name, name, this.getOfficeName());
+			this.getOfficeBuilder().addProcessManagedObject(name, name);
+		}
+
+		// Construct function using only two of the managed objects
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder task = this.constructFunction(work, "task");
+		task.buildObject("MO0");
+		task.buildObject("MO1");
+
+		// Warm up
+		Office office = this.triggerFunction("task", null, null);
+		FunctionManager function = office.getFunctionManager("task");
+		for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+			function.invokeProcess(null, null);
+		}
+
+		// Measure allocation of requests (all executed on this thread)
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		int startCount = work.invocationCount;
+		long startBytes = threads.getThreadAllocatedBytes(threadId);
+		long startTime = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			function.invokeProcess(null, null);
+		}
+		long runTime = System.nanoTime() - startTime;
+		long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+		// Ensure all requests serviced
+		assertEquals("Incorrect number of requests serviced", REQUESTS, work.invocationCount - startCount);
+
+		// Report the allocation
+		this.printMessage(processManagedObjectCount + " process managed objects (2 used): "
+				+ (allocatedBytes / REQUESTS) + " bytes/request, " + (runTime / REQUESTS) + " nanoseconds/request");
+	}
+
+	/**
+	 * Test functionality.
+	 */
+	public static class TestWork {
+
+		private int invocationCount = 0;
+
+		public void task(String first, String second) {
+			this.invocationCount++;
+		}
+	}
+
+}
@@ -0,0 +1,147 @@
+/*-
+ * #%L
+ * OfficeFrame
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.frame.stress.thread;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import net.officefloor.frame.api.build.OfficeBuilder;
+import net.officefloor.frame.api.manage.FunctionManager;
+import net.officefloor.frame.api.manage.Office;
+import net.officefloor.frame.impl.execute.thread.ThreadStateImpl;
+import net.officefloor.frame.internal.structure.ProcessState;
+import net.officefloor.frame.test.AbstractOfficeConstructTestCase;
+import net.officefloor.frame.test.ReflectiveFlow;
+import net.officefloor.frame.test.ReflectiveFunctionBuilder;
+
+/**
+ * Reports the bytes allocated per {@link ProcessState} with and without
+ * recycling the frame objects.
+ * <p>
+ * Note that with assertions enabled, recycled frame objects are verified rather
+ * than re-used. Run with <code>-DenableAssertions=false</code> to report the
+ * allocation of re-using the frame objects.
+ * 
+ * @author Daniel Sagenschneider
+ * @see OfficeBuilder#setRecycleFrameObjects(boolean)
+ */
+public class FrameObjectRecyclingStressTest extends AbstractOfficeConstructTestCase {
+
+	/**
+	 * Number of requests to warm up.
+	 */
+	private static final int WARM_UP_REQUESTS = 100000;
+
+	/**
+	 * Number of requests to measure.
+	 */
+	private static final int REQUESTS = 1000000;
+
+	/**
+	 * Allocation without recycling the frame objects.
+	 */
+	@StressTest
+	public void testNotRecycleFrameObjects() throws Exception {
+		this.doAllocationTest(false);
+	}
+
+	/**
+	 * Allocation recycling the frame objects.
+	 */
+	@StressTest
+	public void testRecycleFrameObjects() throws Exception {
+		this.doAllocationTest(true);
+	}
+
+	/**
+	 * Undertakes reporting the allocation per request.
+	 * 
+	 * @param isRecycleFrameObjects Indicates if recycle the frame objects.
+	 */
+	private void doAllocationTest(boolean isRecycleFrameObjects) throws Exception {
+		this.setVerbose(true);
+
+		// Determine if recycle frame objects
+		this.getOfficeBuilder().setRecycleFrameObjects(isRecycleFrameObjects);
+
+		// Construct functions with parallel flow and next function
+		TestWork work = new TestWork();
+		ReflectiveFunctionBuilder task = this.constructFunction(work, "task");
+		task.buildFlow("flow", null, false);
+		task.setNextFunction("next");
+		this.constructFunction(work, "flow");
+		this.constructFunction(work, "next");
+
+		// Warm up
+		Office office = this.triggerFunction("task", null, null);
+		FunctionManager function = office.getFunctionManager("task");
+		for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+			function.invokeProcess(null, null);
+		}
+
+		// Measure allocation of requests (all executed on this thread)
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		int startCount = work.invocationCount;
+		long startBytes = threads.getThreadAllocatedBytes(threadId);
+		long startTime = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			function.invokeProcess(null, null);
+		}
+		long runTime = System.nanoTime() - startTime;
+		long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+		// Ensure all requests serviced
+		assertEquals("Incorrect number of requests serviced", REQUESTS, work.invocationCount - startCount);
+
+		// Report the allocation
+		String verifying = (isRecycleFrameObjects && ThreadStateImpl.class.desiredAssertionStatus())
+				? " (verifying, so not re-used)"
+				: "";
+		this.printMessage((isRecycleFrameObjects ? "Recycle" : "Not recycle") + " frame objects" + verifying + ": "
+				+ (allocatedBytes / REQUESTS) + " bytes/request, " + (runTime / REQUESTS) + " nanoseconds/request");
+	}
+
+	/**
+	 * Test functionality.
+	 */
+	public static class TestWork {
+
+		private int invocationCount = 0;
+
+		public void task(ReflectiveFlow flow) {
+			flow.doFlow(null, (escalation) -> {
+				if (escalation != null) {
+					throw escalation;
+				}
+			});
+		}
+
+		public void flow() {
+		}
+
+		public void next() {
+			this.invocationCount++;
+		}
+	}
+
+}
@@ -190,6 +190,56 @@ public interface HttpResponse {
 	 */
 	ServerWriter getEntityWriter() throws IOException;
 
+	/**
+	 * Indicates if streaming the entity of the {@link HttpResponse}.
+	 * 
+	 * @return <code>true</code> if streaming the entity.
+	 * 
+	 * @see #setStreaming(boolean)
+	 */
+	boolean isStreaming();
+
+	/**
+	 * <p>
+	 * Specifies whether to stream the entity of the {@link HttpResponse}.
+	 * <p>
+	 * By default, the entity is held until the {@link HttpResponse} is sent so
+	 * that a <code>Content-Length</code> can be provided. When streaming,
+	 * flushing the {@link ServerOutputStream} (or {@link ServerWriter}) sends
+	 * the status, headers and entity written so far with
+	 * <code>Transfer-Encoding: chunked</code>. Once flushed, the status and
+	 * headers can no longer be changed.
+	 * <p>
+	 * Streaming is only undertaken should both the HTTP server implementation
+	 * and the client support it. Otherwise, the entity is held until sent.
+	 * 
+	 * @param isStreaming
+	 *            <code>true</code> to stream the entity.
+	 * @throws IOException
+	 *             If already committed to send the {@link HttpResponse}.
+	 */
+	void setStreaming(boolean isStreaming) throws IOException;
+
+	/**
+	 * <p>
+	 * Opens a {@link ServerSentEventStream} for the {@link HttpResponse}.
+	 * <p>
+	 * This commits the {@link HttpResponse} to streaming
+	 * <code>text/event-stream</code>, with the status and headers sent
+	 * immediately. The {@link HttpResponse} is then held open after servicing
+	 * completes, enabling any {@link Thread} to send events until the
+	 * {@link ServerSentEventStream} is closed.
+	 * <p>
+	 * Should the {@link ServerSentEventStream} already be open, the same
+	 * {@link ServerSentEventStream} is returned.
+	 * 
+	 * @return {@link ServerSentEventStream}.
+	 * @throws IOException
+	 *             If already committed to send the {@link HttpResponse} or
+	 *             streaming is not supported.
+	 */
+	ServerSentEventStream openServerSentEventStream() throws IOException;
+
 	/**
 	 * Obtains the {@link HttpEscalationHandler}.
 	 * 
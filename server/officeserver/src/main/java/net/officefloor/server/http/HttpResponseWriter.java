@@ -60,6 +60,87 @@ public interface HttpResponseWriter<B> {
 			WritableHttpCookie headHttpCookie, long contentLength, HttpHeaderValue contentType,
 			StreamBuffer<B> contentHeadStreamBuffer);
 
+	/**
+	 * Indicates if able to stream the {@link HttpResponse}.
+	 * 
+	 * @return <code>true</code> if able to stream the {@link HttpResponse}.
+	 */
+	default boolean isStreamingSupported() {
+		return false; // by default, entity is written once complete
+	}
+
+	/**
+	 * Writes the status line and headers of a streamed {@link HttpResponse}.
+	 * The entity then follows in parts via
+	 * {@link #writeStreamedHttpResponseEntity(long, StreamBuffer, boolean)}.
+	 * 
+	 * @param version
+	 *            {@link HttpVersion}.
+	 * @param status
+	 *            {@link HttpStatus}.
+	 * @param headHttpHeader
+	 *            Head {@link WritableHttpHeader} to the linked list of
+	 *            {@link WritableHttpHeader} instances for the
+	 *            {@link HttpResponse}.
+	 * @param headHttpCookie
+	 *            Head {@link WritableHttpCookie} to the linked list of
+	 *            {@link WritableHttpCookie} instances for the
+	 *            {@link HttpResponse}.
+	 * @param contentType
+	 *            <code>Content-Type</code> of the HTTP entity.
+	 */
+	default void writeStreamedHttpResponseHead(HttpVersion version, HttpStatus status,
+			WritableHttpHeader headHttpHeader, WritableHttpCookie headHttpCookie, HttpHeaderValue contentType) {
+		throw new UnsupportedOperationException(
+				"Streaming " + HttpResponse.class.getSimpleName() + " not supported by " + this.getClass().getName());
+	}
+
+	/**
+	 * Writes part of the entity of a streamed {@link HttpResponse}.
+	 * 
+	 * @param contentLength
+	 *            Number of bytes in this part of the HTTP entity.
+	 * @param contentHeadStreamBuffer
+	 *            Head {@link StreamBuffer} to the linked list of
+	 *            {@link StreamBuffer} instances containing this part of the
+	 *            HTTP entity. May be <code>null</code> if no content.
+	 * @param isLastPart
+	 *            <code>true</code> if last part, completing the
+	 *            {@link HttpResponse}.
+	 */
+	default void writeStreamedHttpResponseEntity(long contentLength, StreamBuffer<B> contentHeadStreamBuffer,
+			boolean isLastPart) {
+		throw new UnsupportedOperationException(
+				"Streaming " + HttpResponse.class.getSimpleName() + " not supported by " + this.getClass().getName());
+	}
+
+	/**
+	 * Aborts a streamed {@link HttpResponse}. As the status and headers have
+	 * already been written, the failure can not be sent. The connection is
+	 * therefore closed to indicate to the client the {@link HttpResponse} is
+	 * incomplete.
+	 * 
+	 * @param failure
+	 *            Failure in servicing after the {@link HttpResponse} started
+	 *            streaming.
+	 */
+	default void abortStreamedHttpResponse(Throwable failure) {
+		throw new UnsupportedOperationException(
+				"Streaming " + HttpResponse.class.getSimpleName() + " not supported by " + this.getClass().getName());
+	}
+
+	/**
+	 * Indicates if the connection for the streamed {@link HttpResponse} is
+	 * closed. Typically this is due to the client disconnecting, with no
+	 * further parts of the entity to be written.
+	 * 
+	 * @return <code>true</code> if connection for the streamed
+	 *         {@link HttpResponse} is closed.
+	 */
+	default boolean isStreamedHttpResponseClosed() {
+		return false; // by default, assume connected
+	}
+
 	/**
 	 * Invoked to indicate serviced and should send external response.
 	 */
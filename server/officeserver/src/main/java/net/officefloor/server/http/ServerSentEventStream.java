@@ -0,0 +1,84 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * Stream of Server-Sent Events (<code>text/event-stream</code>) for the
+ * {@link HttpResponse}.
+ * <p>
+ * Events may be sent from any {@link Thread}. No {@link Thread} is held for the
+ * {@link ServerSentEventStream}, so idle subscribers only retain the connection.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface ServerSentEventStream {
+
+	/**
+	 * Sends an event.
+	 * 
+	 * @param id    Identifier of the event. May be <code>null</code>.
+	 * @param event Name of the event. May be <code>null</code> for default
+	 *              <code>message</code> event.
+	 * @param data  Data of the event. Multiple lines are sent as multiple
+	 *              <code>data</code> fields.
+	 * @throws IOException If {@link ServerSentEventStream} is closed (typically
+	 *                     from the client disconnecting).
+	 */
+	void sendEvent(String id, String event, String data) throws IOException;
+
+	/**
+	 * Sends data as the default <code>message</code> event.
+	 * 
+	 * @param data Data of the event.
+	 * @throws IOException If {@link ServerSentEventStream} is closed.
+	 */
+	default void sendData(String data) throws IOException {
+		this.sendEvent(null, null, data);
+	}
+
+	/**
+	 * Sends a comment. Clients ignore comments, so this is typically used to
+	 * keep idle connections alive (and detect disconnected clients).
+	 * 
+	 * @param comment Comment.
+	 * @throws IOException If {@link ServerSentEventStream} is closed.
+	 */
+	void sendComment(String comment) throws IOException;
+
+	/**
+	 * Indicates if the {@link ServerSentEventStream} is closed.
+	 * 
+	 * @return <code>true</code> if closed.
+	 */
+	boolean isClosed();
+
+	/**
+	 * Closes the {@link ServerSentEventStream}, completing the
+	 * {@link HttpResponse}.
+	 * 
+	 * @throws IOException If fails to close.
+	 */
+	void close() throws IOException;
+
+}
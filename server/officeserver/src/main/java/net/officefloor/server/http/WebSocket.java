@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * WebSocket upgraded from a {@link ServerHttpConnection}.
+ * <p>
+ * Messages may be sent from any {@link Thread}. No {@link Thread} is held for
+ * the {@link WebSocket}, so idle clients only retain the connection.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface WebSocket {
+
+	/**
+	 * Normal closure status code.
+	 */
+	int NORMAL_CLOSURE = 1000;
+
+	/**
+	 * Obtains the request URI of the {@link HttpRequest} upgraded to this
+	 * {@link WebSocket}.
+	 * 
+	 * @return Request URI.
+	 */
+	String getRequestUri();
+
+	/**
+	 * Sends a text message.
+	 * 
+	 * @param text Text of the message.
+	 * @throws IOException If {@link WebSocket} is closed.
+	 */
+	void sendText(String text) throws IOException;
+
+	/**
+	 * Sends a binary message.
+	 * 
+	 * @param data Data of the message.
+	 * @throws IOException If {@link WebSocket} is closed.
+	 */
+	void sendBinary(byte[] data) throws IOException;
+
+	/**
+	 * Indicates if the {@link WebSocket} is closed.
+	 * 
+	 * @return <code>true</code> if closed.
+	 */
+	boolean isClosed();
+
+	/**
+	 * Closes the {@link WebSocket} with the status code and reason.
+	 * 
+	 * @param statusCode Status code.
+	 * @param reason     Reason. May be <code>null</code>.
+	 * @throws IOException If fails to close.
+	 */
+	void close(int statusCode, String reason) throws IOException;
+
+	/**
+	 * Closes the {@link WebSocket} normally.
+	 * 
+	 * @throws IOException If fails to close.
+	 */
+	default void close() throws IOException {
+		this.close(NORMAL_CLOSURE, null);
+	}
+
+}
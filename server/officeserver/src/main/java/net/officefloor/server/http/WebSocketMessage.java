@@ -0,0 +1,68 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http;
+
+import java.io.InputStream;
+
+/**
+ * Message received on a {@link WebSocket}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public interface WebSocketMessage {
+
+	/**
+	 * Obtains the {@link WebSocket} receiving the {@link WebSocketMessage}.
+	 * 
+	 * @return {@link WebSocket} receiving the {@link WebSocketMessage}.
+	 */
+	WebSocket getWebSocket();
+
+	/**
+	 * Indicates if a text message.
+	 * 
+	 * @return <code>true</code> if a text message. <code>false</code> for a binary
+	 *         message.
+	 */
+	boolean isText();
+
+	/**
+	 * Obtains the number of bytes in the message.
+	 * 
+	 * @return Number of bytes in the message.
+	 */
+	int getLength();
+
+	/**
+	 * Obtains the message as text.
+	 * 
+	 * @return Message decoded as UTF-8 text.
+	 */
+	String getText();
+
+	/**
+	 * Obtains the {@link InputStream} to the message bytes.
+	 * 
+	 * @return {@link InputStream} to the message bytes.
+	 */
+	InputStream getInputStream();
+
+}
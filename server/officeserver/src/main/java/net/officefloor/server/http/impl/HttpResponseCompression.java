@@ -0,0 +1,433 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import net.officefloor.server.http.HttpHeader;
+import net.officefloor.server.http.HttpHeaderName;
+import net.officefloor.server.http.HttpHeaderValue;
+import net.officefloor.server.http.HttpResponse;
+import net.officefloor.server.stream.BufferJvmFix;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBuffer.FileBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * <p>
+ * Compresses the {@link HttpResponse} entity.
+ * <p>
+ * Compression is negotiated by the <code>Accept-Encoding</code>
+ * {@link HttpHeader} and only undertaken for configured
+ * <code>Content-Type</code> values above a minimum content length. The
+ * compressed content is deflated directly into pooled {@link StreamBuffer}
+ * instances, with the {@link Deflater} instances re-used per {@link Thread}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class HttpResponseCompression {
+
+	/**
+	 * Default minimum content length to compress.
+	 */
+	public static final long DEFAULT_MINIMUM_CONTENT_LENGTH = 1024;
+
+	/**
+	 * Default <code>Content-Type</code> values to compress.
+	 */
+	public static final String[] DEFAULT_CONTENT_TYPES = new String[] { "text/*", "application/json",
+			"application/javascript", "application/xml", "image/svg+xml" };
+
+	/**
+	 * <code>Accept-Encoding</code> {@link HttpHeader} name.
+	 */
+	public static final String ACCEPT_ENCODING_HEADER_NAME = "accept-encoding";
+
+	/**
+	 * <code>Content-Encoding</code> {@link HttpHeaderName}.
+	 */
+	public static final HttpHeaderName CONTENT_ENCODING = new HttpHeaderName("Content-Encoding");
+
+	/**
+	 * <code>Vary</code> {@link HttpHeaderName}.
+	 */
+	public static final HttpHeaderName VARY = new HttpHeaderName("Vary");
+
+	/**
+	 * <code>Accept-Encoding</code> {@link HttpHeaderValue} for the
+	 * <code>Vary</code> {@link HttpHeader}.
+	 */
+	public static final HttpHeaderValue VARY_ACCEPT_ENCODING = new HttpHeaderValue("Accept-Encoding");
+
+	/**
+	 * <code>gzip</code> content encoding.
+	 */
+	public static final HttpHeaderValue GZIP = new HttpHeaderValue("gzip");
+
+	/**
+	 * <code>deflate</code> content encoding.
+	 */
+	public static final HttpHeaderValue DEFLATE = new HttpHeaderValue("deflate");
+
+	/**
+	 * <code>gzip</code> header (deflate, no flags, no time, unknown OS).
+	 */
+	private static final byte[] GZIP_HEADER = new byte[] { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0,
+			(byte) 0xff };
+
+	/**
+	 * Size of buffer to read file content for compression.
+	 */
+	private static final int FILE_READ_BUFFER_SIZE = 8192;
+
+	/**
+	 * {@link CompressionState} for the {@link Thread}.
+	 */
+	private static final ThreadLocal<CompressionState> threadCompressionState = ThreadLocal
+			.withInitial(() -> new CompressionState());
+
+	/**
+	 * {@link Deflater} state re-used by the {@link Thread}.
+	 */
+	private static class CompressionState {
+
+		/**
+		 * {@link Deflater} for <code>gzip</code> (raw deflate with header and
+		 * trailer written separately).
+		 */
+		private final Deflater gzipDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+		/**
+		 * {@link Deflater} for <code>deflate</code> (zlib format).
+		 */
+		private final Deflater deflateDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, false);
+
+		/**
+		 * {@link CRC32} for the <code>gzip</code> trailer.
+		 */
+		private final CRC32 crc = new CRC32();
+
+		/**
+		 * Buffer to read file content. Lazy created as files are typically not
+		 * compressed.
+		 */
+		private ByteBuffer fileReadBuffer = null;
+	}
+
+	/**
+	 * Negotiates the content encoding from the <code>Accept-Encoding</code>
+	 * {@link HttpHeader} value.
+	 * 
+	 * @param acceptEncoding <code>Accept-Encoding</code> {@link HttpHeader} value.
+	 *                       May be <code>null</code>.
+	 * @return {@link #GZIP} or {@link #DEFLATE}. <code>null</code> if neither is
+	 *         acceptable to the client.
+	 */
+	public static HttpHeaderValue negotiateContentEncoding(String acceptEncoding) {
+
+		// Determine if accepts encoding
+		if (acceptEncoding == null) {
+			return null;
+		}
+
+		// Obtain the qualities of the supported encodings
+		float gzipQuality = -1;
+		float deflateQuality = -1;
+		float wildcardQuality = -1;
+		for (String coding : acceptEncoding.split(",")) {
+
+			// Obtain the name and quality
+			int parametersStart = coding.indexOf(';');
+			String name = (parametersStart < 0 ? coding : coding.substring(0, parametersStart)).trim();
+			float quality = 1;
+			if (parametersStart >= 0) {
+				for (String parameter : coding.substring(parametersStart + 1).split(";")) {
+					parameter = parameter.trim();
+					if ((parameter.length() > 2) && (parameter.regionMatches(true, 0, "q=", 0, 2))) {
+						try {
+							quality = Float.parseFloat(parameter.substring(2));
+						} catch (NumberFormatException ex) {
+							quality = 0; // invalid quality, so not acceptable
+						}
+					}
+				}
+			}
+
+			// Load the quality
+			if (("gzip".equalsIgnoreCase(name)) || ("x-gzip".equalsIgnoreCase(name))) {
+				gzipQuality = quality;
+			} else if ("deflate".equalsIgnoreCase(name)) {
+				deflateQuality = quality;
+			} else if ("*".equals(name)) {
+				wildcardQuality = quality;
+			}
+		}
+
+		// Wild card applies to encodings not specified
+		if (gzipQuality < 0) {
+			gzipQuality = wildcardQuality;
+		}
+		if (deflateQuality < 0) {
+			deflateQuality = wildcardQuality;
+		}
+
+		// Use the preferred encoding (favouring gzip)
+		if ((gzipQuality <= 0) && (deflateQuality <= 0)) {
+			return null; // neither acceptable
+		}
+		return (gzipQuality >= deflateQuality) ? GZIP : DEFLATE;
+	}
+
+	/**
+	 * Minimum content length to compress.
+	 */
+	private final long minimumContentLength;
+
+	/**
+	 * Compression level for the {@link Deflater}.
+	 */
+	private final int compressionLevel;
+
+	/**
+	 * <code>Content-Type</code> values to compress. Values ending with
+	 * <code>/</code> match all sub types.
+	 */
+	private final String[] contentTypes;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param minimumContentLength Minimum content length to compress.
+	 * @param compressionLevel     Compression level for the {@link Deflater}.
+	 * @param contentTypes         <code>Content-Type</code> values to compress.
+	 *                             Values may end with <code>/*</code> to match
+	 *                             all sub types.
+	 */
+	public HttpResponseCompression(long minimumContentLength, int compressionLevel, String... contentTypes) {
+		if ((compressionLevel < Deflater.DEFAULT_COMPRESSION) || (compressionLevel > Deflater.BEST_COMPRESSION)) {
+			throw new IllegalArgumentException("Invalid compression level " + compressionLevel);
+		}
+		this.minimumContentLength = minimumContentLength;
+		this.compressionLevel = compressionLevel;
+		this.contentTypes = new String[contentTypes.length];
+		for (int i = 0; i < contentTypes.length; i++) {
+			String contentType = contentTypes[i].trim();
+			this.contentTypes[i] = contentType.endsWith("/*") ? contentType.substring(0, contentType.length() - 1)
+					: contentType;
+		}
+	}
+
+	/**
+	 * Determines if the entity is to be compressed.
+	 * 
+	 * @param contentLength Length of the entity.
+	 * @param contentType   <code>Content-Type</code> of the entity.
+	 * @return <code>true</code> if compress the entity.
+	 */
+	public boolean isCompressible(long contentLength, HttpHeaderValue contentType) {
+
+		// Determine if large enough to compress
+		if ((contentLength < this.minimumContentLength) || (contentType == null)) {
+			return false;
+		}
+
+		// Determine if content type to compress (ignoring parameters)
+		String value = contentType.getValue();
+		for (int i = 0; i < this.contentTypes.length; i++) {
+			String compressType = this.contentTypes[i];
+			int length = compressType.length();
+			if (value.regionMatches(true, 0, compressType, 0, length)) {
+				if ((compressType.charAt(length - 1) == '/') || (value.length() == length)
+						|| (value.charAt(length) == ';') || (value.charAt(length) == ' ')) {
+					return true;
+				}
+			}
+		}
+		return false; // not compressible content type
+	}
+
+	/**
+	 * Compresses the content.
+	 * 
+	 * @param <B>             Buffer type.
+	 * @param content         Head {@link StreamBuffer} of the content. The
+	 *                        content is not released.
+	 * @param contentEncoding {@link #GZIP} or {@link #DEFLATE}.
+	 * @param target          Empty pooled {@link StreamBuffer} to receive the
+	 *                        compressed content. Further pooled
+	 *                        {@link StreamBuffer} instances are appended as
+	 *                        necessary.
+	 * @param bufferPool      {@link StreamBufferPool}.
+	 * @return Length of the compressed content. <code>-1</code> if unable to
+	 *         compress as pooled buffers are not {@link ByteBuffer} instances.
+	 * @throws IOException If fails to read the content.
+	 */
+	public <B> long compress(StreamBuffer<B> content, HttpHeaderValue contentEncoding, StreamBuffer<B> target,
+			StreamBufferPool<B> bufferPool) throws IOException {
+
+		// Ensure able to deflate into the pooled buffers
+		if (!(target.pooledBuffer instanceof ByteBuffer)) {
+			return -1;
+		}
+
+		// Prepare the deflater
+		CompressionState state = threadCompressionState.get();
+		boolean isGzip = (contentEncoding == GZIP);
+		Deflater deflater = isGzip ? state.gzipDeflater : state.deflateDeflater;
+		deflater.reset();
+		deflater.setLevel(this.compressionLevel);
+		CRC32 crc = state.crc;
+		crc.reset();
+
+		// Write the gzip header
+		if (isGzip) {
+			StreamBuffer.write(GZIP_HEADER, target, bufferPool);
+		}
+
+		// Deflate the content
+		long inputLength = 0;
+		StreamBuffer<B> output = StreamBuffer.getWriteStreamBuffer(target, bufferPool);
+		for (StreamBuffer<B> buffer = content; buffer != null; buffer = buffer.next) {
+
+			// Deflate the buffer
+			if (buffer.pooledBuffer != null) {
+				if (!(buffer.pooledBuffer instanceof ByteBuffer)) {
+					return -1;
+				}
+				ByteBuffer input = ((ByteBuffer) buffer.pooledBuffer).duplicate();
+				BufferJvmFix.flip(input);
+				inputLength += input.remaining();
+				output = deflate(input, deflater, crc, isGzip, output, bufferPool);
+
+			} else if (buffer.unpooledByteBuffer != null) {
+				ByteBuffer input = buffer.unpooledByteBuffer.duplicate();
+				inputLength += input.remaining();
+				output = deflate(input, deflater, crc, isGzip, output, bufferPool);
+
+			} else {
+				// Deflate the file content
+				if (state.fileReadBuffer == null) {
+					state.fileReadBuffer = ByteBuffer.allocate(FILE_READ_BUFFER_SIZE);
+				}
+				ByteBuffer input = state.fileReadBuffer;
+				FileBuffer fileBuffer = buffer.fileBuffer;
+				long position = fileBuffer.position;
+				long end = (fileBuffer.count < 0) ? fileBuffer.file.size() : position + fileBuffer.count;
+				while (position < end) {
+					BufferJvmFix.clear(input);
+					BufferJvmFix.limit(input, (int) Math.min(input.capacity(), end - position));
+					int bytesRead = fileBuffer.file.read(input, position);
+					if (bytesRead < 0) {
+						throw new IOException("File shorter than response entity");
+					}
+					position += bytesRead;
+					inputLength += bytesRead;
+					BufferJvmFix.flip(input);
+					output = deflate(input, deflater, crc, isGzip, output, bufferPool);
+				}
+			}
+		}
+
+		// Complete the deflate
+		deflater.finish();
+		while (!deflater.finished()) {
+			output = deflateToOutput(deflater, output, bufferPool);
+		}
+
+		// Write the gzip trailer
+		if (isGzip) {
+			writeIntLittleEndian((int) crc.getValue(), target, bufferPool);
+			writeIntLittleEndian((int) inputLength, target, bufferPool);
+		}
+
+		// Return the compressed length
+		long compressedLength = 0;
+		for (StreamBuffer<B> buffer = target; buffer != null; buffer = buffer.next) {
+			compressedLength += BufferJvmFix.position((ByteBuffer) buffer.pooledBuffer);
+		}
+		return compressedLength;
+	}
+
+	/**
+	 * Deflates the input.
+	 * 
+	 * @param <B>        Buffer type.
+	 * @param input      Input {@link ByteBuffer}.
+	 * @param deflater   {@link Deflater}.
+	 * @param crc        {@link CRC32}.
+	 * @param isGzip     Indicates if <code>gzip</code> to update the
+	 *                   {@link CRC32}.
+	 * @param output     Output {@link StreamBuffer}.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 * @return Output {@link StreamBuffer} to continue writing.
+	 */
+	private static <B> StreamBuffer<B> deflate(ByteBuffer input, Deflater deflater, CRC32 crc, boolean isGzip,
+			StreamBuffer<B> output, StreamBufferPool<B> bufferPool) {
+		if (isGzip) {
+			crc.update(input.duplicate());
+		}
+		deflater.setInput(input);
+		while (!deflater.needsInput()) {
+			output = deflateToOutput(deflater, output, bufferPool);
+		}
+		return output;
+	}
+
+	/**
+	 * Deflates into the output.
+	 * 
+	 * @param <B>        Buffer type.
+	 * @param deflater   {@link Deflater}.
+	 * @param output     Output {@link StreamBuffer}.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 * @return Output {@link StreamBuffer} to continue writing.
+	 */
+	private static <B> StreamBuffer<B> deflateToOutput(Deflater deflater, StreamBuffer<B> output,
+			StreamBufferPool<B> bufferPool) {
+		ByteBuffer buffer = (ByteBuffer) output.pooledBuffer;
+		if (!buffer.hasRemaining()) {
+			output.next = bufferPool.getPooledStreamBuffer();
+			output = output.next;
+			buffer = (ByteBuffer) output.pooledBuffer;
+		}
+		deflater.deflate(buffer);
+		return output;
+	}
+
+	/**
+	 * Writes an integer in little endian byte order.
+	 * 
+	 * @param <B>        Buffer type.
+	 * @param value      Value.
+	 * @param head       Head {@link StreamBuffer}.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	private static <B> void writeIntLittleEndian(int value, StreamBuffer<B> head, StreamBufferPool<B> bufferPool) {
+		StreamBuffer<B> buffer = StreamBuffer.getWriteStreamBuffer(head, bufferPool);
+		for (int i = 0; i < 4; i++) {
+			buffer = StreamBuffer.writeByte((byte) (value >>> (i * 8)), buffer, bufferPool);
+		}
+	}
+
+}
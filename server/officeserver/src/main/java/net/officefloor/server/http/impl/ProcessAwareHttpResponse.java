@@ -45,12 +45,16 @@ import net.officefloor.server.http.HttpResponseHeaders;
 import net.officefloor.server.http.HttpResponseWriter;
 import net.officefloor.server.http.HttpStatus;
 import net.officefloor.server.http.HttpVersion;
+import net.officefloor.server.http.HttpVersion.HttpVersionEnum;
 import net.officefloor.server.http.ServerHttpConnection;
+import net.officefloor.server.http.ServerSentEventStream;
 import net.officefloor.server.http.WritableHttpHeader;
 import net.officefloor.server.stream.ServerOutputStream;
 import net.officefloor.server.stream.ServerWriter;
+import net.officefloor.server.stream.StreamBuffer;
 import net.officefloor.server.stream.impl.BufferPoolServerOutputStream;
 import net.officefloor.server.stream.impl.CloseHandler;
+import net.officefloor.server.stream.impl.FlushHandler;
 import net.officefloor.server.stream.impl.ProcessAwareServerOutputStream;
 import net.officefloor.server.stream.impl.ProcessAwareServerWriter;
 
@@ -59,7 +63,7 @@ import net.officefloor.server.stream.impl.ProcessAwareServerWriter;
  * 
  * @author Daniel Sagenschneider
  */
-public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalResponse, CloseHandler {
+public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalResponse, CloseHandler, FlushHandler {
 
 	/**
 	 * <code>Server</code> {@link HttpHeaderName}.
@@ -81,6 +85,21 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 	 */
 	private static final HttpHeaderValue TEXT_CONTENT = new HttpHeaderValue("text/plain");
 
+	/**
+	 * Server-Sent Events <code>Content-Type</code>.
+	 */
+	private static final HttpHeaderValue EVENT_STREAM_CONTENT = new HttpHeaderValue("text/event-stream");
+
+	/**
+	 * <code>Cache-Control</code> {@link HttpHeaderName}.
+	 */
+	private static final HttpHeaderName CACHE_CONTROL_HTTP_HEADER_NAME = new HttpHeaderName("Cache-Control");
+
+	/**
+	 * <code>no-cache</code> {@link HttpHeaderValue}.
+	 */
+	private static final HttpHeaderValue NO_CACHE_HTTP_HEADER_VALUE = new HttpHeaderValue("no-cache");
+
 	/**
 	 * {@link ProcessAwareServerHttpConnectionManagedObject}.
 	 */
@@ -168,6 +187,23 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 	 */
 	private boolean isExternal = false;
 
+	/**
+	 * Indicates if to stream the entity of this {@link HttpResponse}.
+	 */
+	private boolean isStreaming = false;
+
+	/**
+	 * Indicates if the status and headers of this {@link HttpResponse} have
+	 * been streamed to the {@link HttpResponseWriter}.
+	 */
+	private boolean isStreamed = false;
+
+	/**
+	 * {@link ServerSentEventStreamImpl}. Will be <code>null</code> if not
+	 * streaming Server-Sent Events.
+	 */
+	private ServerSentEventStreamImpl<B> serverSentEventStream = null;
+
 	/**
 	 * Instantiate.
 	 * 
@@ -182,7 +218,8 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 		this.version = version;
 		this.headers = new ProcessAwareHttpResponseHeaders(managedObjectContext);
 		this.cookies = new ProcessAwareHttpResponseCookies(managedObjectContext);
-		this.bufferPoolOutputStream = new BufferPoolServerOutputStream<>(this.serverHttpConnection.bufferPool, this);
+		this.bufferPoolOutputStream = new BufferPoolServerOutputStream<>(this.serverHttpConnection.bufferPool, this,
+				this);
 		this.safeOutputStream = new ProcessAwareServerOutputStream(this.bufferPoolOutputStream, managedObjectContext);
 		this.managedObjectContext = managedObjectContext;
 	}
@@ -251,6 +288,12 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 			escalation = new CleanupException(this.cleanupEscalations);
 		}
 
+		// Determine if streamed (status and headers already written)
+		if (this.isStreamed) {
+			this.unsafeCompleteStreamedResponse(escalation);
+			return; // streamed response
+		}
+
 		// Handle escalation
 		if (escalation != null) {
 
@@ -347,6 +390,143 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 			this.status = HttpStatus.NO_CONTENT;
 		}
 
+		// Compress the content (if applicable)
+		StreamBuffer<B> content = this.bufferPoolOutputStream.getBuffers();
+		HttpResponseCompression compression = this.serverHttpConnection.responseCompression;
+		if ((compression != null) && (this.status != HttpStatus.PARTIAL_CONTENT)
+				&& (this.headers.getHeader(HttpResponseCompression.CONTENT_ENCODING.getName()) == null)
+				&& (compression.isCompressible(contentLength, contentType))) {
+
+			// Response varies by accepted encoding
+			this.headers.addHeader(HttpResponseCompression.VARY, HttpResponseCompression.VARY_ACCEPT_ENCODING);
+
+			// Determine if client accepts compressed content
+			HttpHeader acceptEncoding = this.serverHttpConnection.getClientRequest().getHeaders()
+					.getHeader(HttpResponseCompression.ACCEPT_ENCODING_HEADER_NAME);
+			HttpHeaderValue contentEncoding = HttpResponseCompression
+					.negotiateContentEncoding(acceptEncoding == null ? null : acceptEncoding.getValue());
+			if (contentEncoding != null) {
+
+				// Compress the content
+				StreamBuffer<B> compressed = this.serverHttpConnection.bufferPool.getPooledStreamBuffer();
+				long compressedLength = -1;
+				try {
+					compressedLength = compression.compress(content, contentEncoding, compressed,
+							this.serverHttpConnection.bufferPool);
+				} finally {
+					// Only use compressed content if smaller
+					if ((compressedLength < 0) || (compressedLength >= contentLength)) {
+						releaseStreamBuffers(compressed);
+						compressedLength = -1;
+					}
+				}
+
+				// Send the compressed content
+				if (compressedLength >= 0) {
+					this.bufferPoolOutputStream.clear();
+					this.headers.addHeader(HttpResponseCompression.CONTENT_ENCODING, contentEncoding);
+					contentLength = compressedLength;
+					content = compressed;
+				}
+			}
+		}
+
+		// Obtain the headers
+		WritableHttpHeader httpHeaders = this.getWritableHttpHeaders();
+
+		// Write the response (and consider written)
+		this.isWritten = true;
+		this.serverHttpConnection.httpResponseWriter.writeHttpResponse(this.version, this.status, httpHeaders,
+				this.cookies.getWritableHttpCookie(), contentLength, contentType, content);
+	}
+
+	/**
+	 * Releases the {@link StreamBuffer} instances.
+	 * 
+	 * @param <B>  Buffer type.
+	 * @param head Head {@link StreamBuffer}.
+	 */
+	private static <B> void releaseStreamBuffers(StreamBuffer<B> head) {
+		while (head != null) {
+			StreamBuffer<B> release = head;
+			head = head.next;
+			release.release();
+		}
+	}
+
+	/**
+	 * Completes the streamed {@link HttpResponse}.
+	 * 
+	 * @param escalation Possible escalation in servicing. Will be <code>null</code>
+	 *                   if successful.
+	 * @throws IOException If fails to complete the streamed {@link HttpResponse}.
+	 */
+	private void unsafeCompleteStreamedResponse(Throwable escalation) throws IOException {
+		HttpResponseWriter<B> writer = this.serverHttpConnection.httpResponseWriter;
+
+		// Determine if failure after streaming started
+		if (escalation != null) {
+
+			// Too late to send escalation, so abort the response
+			this.isWritten = true;
+			this.bufferPoolOutputStream.clear();
+			if (this.serverSentEventStream != null) {
+				this.serverSentEventStream.abort(escalation);
+			} else {
+				writer.abortStreamedHttpResponse(escalation);
+			}
+			return;
+		}
+
+		// Ensure send (flushing any remaining content)
+		this.unsafeSend();
+
+		// Obtain the remaining content
+		this.isWritten = true;
+		long contentLength = this.bufferPoolOutputStream.getContentLength();
+		StreamBuffer<B> content = this.bufferPoolOutputStream.detachBuffers();
+
+		// Determine if events continue to be streamed after servicing
+		if (this.serverSentEventStream != null) {
+			this.serverSentEventStream.completeServicing(contentLength, content);
+			return;
+		}
+
+		// Write the remaining content to complete the response
+		writer.writeStreamedHttpResponseEntity(contentLength, content, true);
+	}
+
+	/**
+	 * Determines if able to stream the entity.
+	 * 
+	 * @return <code>true</code> if able to stream the entity.
+	 */
+	private boolean isStreamingAvailable() {
+
+		// Determine if streaming requested (and not yet written)
+		if ((!this.isStreaming) || (this.isWritten) || (this.isExternal)) {
+			return false;
+		}
+
+		// Chunked transfer encoding requires HTTP 1.1
+		if ((this.clientVersion.getEnum() != HttpVersionEnum.HTTP_1_1)
+				|| (this.version.getEnum() != HttpVersionEnum.HTTP_1_1)) {
+			return false;
+		}
+
+		// Determine if server implementation supports streaming
+		return this.serverHttpConnection.httpResponseWriter.isStreamingSupported();
+	}
+
+	/**
+	 * Obtains the {@link WritableHttpHeader} instances for the
+	 * {@link HttpResponse}.
+	 * 
+	 * @return Head {@link WritableHttpHeader} to the linked list of
+	 *         {@link WritableHttpHeader} instances.
+	 */
+	private WritableHttpHeader getWritableHttpHeaders() {
+
 		// Obtain the headers
 		WritableHttpHeader httpHeaders = this.headers.getWritableHttpHeaders();
 
@@ -367,11 +547,8 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 			httpHeaders = serverHeader;
 		}
 
-		// Write the response (and consider written)
-		this.isWritten = true;
-		this.serverHttpConnection.httpResponseWriter.writeHttpResponse(this.version, this.status, httpHeaders,
-				this.cookies.getWritableHttpCookie(), contentLength, contentType,
-				this.bufferPoolOutputStream.getBuffers());
+		// Return the headers
+		return httpHeaders;
 	}
 
 	/**
@@ -595,6 +772,67 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 		});
 	}
 
+	@Override
+	public boolean isStreaming() {
+		return this.safe(() -> this.isStreaming);
+	}
+
+	@Override
+	public void setStreaming(boolean isStreaming) throws IOException {
+		this.safe(() -> {
+
+			// Ensure not already committed
+			if ((this.isSent) || (this.isStreamed)) {
+				throw new IOException("Already committed to send response");
+			}
+
+			// Specify whether streaming
+			this.isStreaming = isStreaming;
+
+			// Void return
+			return null;
+		});
+	}
+
+	@Override
+	public ServerSentEventStream openServerSentEventStream() throws IOException {
+		return this.safe(() -> {
+
+			// Determine if already open
+			if (this.serverSentEventStream != null) {
+				return this.serverSentEventStream;
+			}
+
+			// Ensure not already committed
+			if ((this.isSent) || (this.isStreamed)) {
+				throw new IOException("Already committed to send response");
+			}
+			this.allowContentTypeChange();
+
+			// Ensure able to stream the events
+			boolean isPreviouslyStreaming = this.isStreaming;
+			this.isStreaming = true;
+			if (!this.isStreamingAvailable()) {
+				this.isStreaming = isPreviouslyStreaming;
+				throw new IOException("Unable to stream " + ServerSentEventStream.class.getSimpleName()
+						+ " (requires HTTP/1.1 and server implementation support)");
+			}
+
+			// Specify event stream
+			this.contentType = EVENT_STREAM_CONTENT;
+			this.charset = ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET;
+			this.headers.addHeader(CACHE_CONTROL_HTTP_HEADER_NAME, NO_CACHE_HTTP_HEADER_VALUE);
+
+			// Create the stream and send the status and headers
+			this.serverSentEventStream = new ServerSentEventStreamImpl<>(this.serverHttpConnection.httpResponseWriter,
+					this.serverHttpConnection.bufferPool);
+			this.flush();
+
+			// Return the stream
+			return this.serverSentEventStream;
+		});
+	}
+
 	@Override
 	public HttpEscalationHandler getEscalationHandler() {
 		return this.safe(() -> this.escalationHandler);
@@ -613,7 +851,7 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 		this.safe(() -> {
 
 			// Ensure not written
-			if (this.isSent) {
+			if ((this.isSent) || (this.isStreamed)) {
 				throw new IOException("Already committed to send response");
 			}
 
@@ -671,4 +909,37 @@ public class ProcessAwareHttpResponse<B> implements HttpResponse, HttpExternalRe
 		this.send();
 	}
 
+	/*
+	 * ======================= FlushHandler =================================
+	 */
+
+	@Override
+	public void flush() throws IOException {
+
+		// Determine if streaming the entity
+		if (!this.isStreamingAvailable()) {
+			return; // entity held until response sent
+		}
+
+		// On first flush, write the status and headers
+		HttpResponseWriter<B> writer = this.serverHttpConnection.httpResponseWriter;
+		if (!this.isStreamed) {
+			this.isStreamed = true;
+			writer.writeStreamedHttpResponseHead(this.version, this.status, this.getWritableHttpHeaders(),
+					this.cookies.getWritableHttpCookie(), this.deriveContentType());
+		}
+
+		// Stream the content written so far
+		long contentLength = this.bufferPoolOutputStream.getContentLength();
+		if (contentLength > 0) {
+			StreamBuffer<B> content = this.bufferPoolOutputStream.detachBuffers();
+			if (this.serverSentEventStream != null) {
+				// Ensure ordered with events sent from other threads
+				this.serverSentEventStream.writeEntity(contentLength, content);
+			} else {
+				writer.writeStreamedHttpResponseEntity(contentLength, content, false);
+			}
+		}
+	}
+
 }
@@ -115,6 +115,12 @@ public class ProcessAwareServerHttpConnectionManagedObject<B>
 	 */
 	final HttpResponseWriter<B> httpResponseWriter;
 
+	/**
+	 * {@link HttpResponseCompression}. May be <code>null</code> to not compress
+	 * {@link HttpResponse} entities.
+	 */
+	final HttpResponseCompression responseCompression;
+
 	/**
 	 * {@link ManagedObjectContext}.
 	 */
@@ -154,6 +160,48 @@ public class ProcessAwareServerHttpConnectionManagedObject<B>
 			NonMaterialisedHttpHeaders requestHeaders, ByteSequence requestEntity, HttpHeaderValue serverName,
 			DateHttpHeaderClock dateHttpHeaderClock, boolean isIncludeStackTraceOnEscalation,
 			HttpResponseWriter<B> writer, StreamBufferPool<B> bufferPool) {
+		this(serverLocation, isSecure, methodSupplier, requestUriSupplier, version, requestHeaders, requestEntity,
+				serverName, dateHttpHeaderClock, isIncludeStackTraceOnEscalation, writer, bufferPool, null);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param serverLocation                  {@link HttpServerLocation}.
+	 * @param isSecure                        Indicates if secure.
+	 * @param methodSupplier                  {@link Supplier} for the
+	 *                                        {@link HttpRequest}
+	 *                                        {@link HttpMethod}.
+	 * @param requestUriSupplier              {@link Supplier} for the
+	 *                                        {@link HttpRequest} URI.
+	 * @param version                         {@link HttpVersion} for the
+	 *                                        {@link HttpRequest}.
+	 * @param requestHeaders                  {@link NonMaterialisedHttpHeaders} for
+	 *                                        the {@link HttpRequest}.
+	 * @param requestEntity                   {@link ByteSequence} for the
+	 *                                        {@link HttpRequest} entity.
+	 * @param serverName                      Name of the server. May be
+	 *                                        <code>null</code> if not sending
+	 *                                        <code>Server</code>
+	 *                                        {@link HttpHeader}.
+	 * @param dateHttpHeaderClock             {@link DateHttpHeaderClock}. May be
+	 *                                        <code>null</code> to not send
+	 *                                        <code>Date</code> {@link HttpHeader}.
+	 * @param isIncludeStackTraceOnEscalation <code>true</code> to include the
+	 *                                        {@link Escalation} stack trace in the
+	 *                                        {@link HttpResponse}.
+	 * @param writer                          {@link HttpResponseWriter}.
+	 * @param bufferPool                      {@link StreamBufferPool}.
+	 * @param responseCompression             {@link HttpResponseCompression}. May
+	 *                                        be <code>null</code> to not compress
+	 *                                        {@link HttpResponse} entities.
+	 */
+	public ProcessAwareServerHttpConnectionManagedObject(HttpServerLocation serverLocation, boolean isSecure,
+			Supplier<HttpMethod> methodSupplier, Supplier<String> requestUriSupplier, HttpVersion version,
+			NonMaterialisedHttpHeaders requestHeaders, ByteSequence requestEntity, HttpHeaderValue serverName,
+			DateHttpHeaderClock dateHttpHeaderClock, boolean isIncludeStackTraceOnEscalation,
+			HttpResponseWriter<B> writer, StreamBufferPool<B> bufferPool,
+			HttpResponseCompression responseCompression) {
 		this.serverLocation = serverLocation;
 
 		// Indicate if secure
@@ -173,6 +221,7 @@ public class ProcessAwareServerHttpConnectionManagedObject<B>
 		this.isIncludeStackTraceOnEscalation = isIncludeStackTraceOnEscalation;
 		this.httpResponseWriter = writer;
 		this.bufferPool = bufferPool;
+		this.responseCompression = responseCompression;
 	}
 
 	/**
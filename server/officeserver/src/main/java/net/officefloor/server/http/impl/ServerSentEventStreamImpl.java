@@ -0,0 +1,236 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.impl;
+
+import java.io.IOException;
+
+import net.officefloor.server.http.HttpResponse;
+import net.officefloor.server.http.HttpResponseWriter;
+import net.officefloor.server.http.ServerHttpConnection;
+import net.officefloor.server.http.ServerSentEventStream;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * <p>
+ * {@link ServerSentEventStream} writing events as parts of the streamed
+ * {@link HttpResponse}.
+ * <p>
+ * Events are written directly to the {@link HttpResponseWriter}, so that any
+ * {@link Thread} may send events without requiring the process servicing the
+ * {@link HttpResponse} to be active.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class ServerSentEventStreamImpl<B> implements ServerSentEventStream {
+
+	/**
+	 * Validates the field value does not contain line breaks.
+	 * 
+	 * @param fieldName Name of field.
+	 * @param value     Value of the field.
+	 */
+	private static void validateFieldValue(String fieldName, String value) {
+		if ((value != null) && ((value.indexOf('\n') >= 0) || (value.indexOf('\r') >= 0))) {
+			throw new IllegalArgumentException("Event " + fieldName + " can not contain line breaks");
+		}
+	}
+
+	/**
+	 * Appends the lines of the value prefixed with the field.
+	 * 
+	 * @param fieldPrefix Prefix for each line.
+	 * @param value       Value to be split into lines.
+	 * @param event       Event being built.
+	 */
+	private static void appendLines(String fieldPrefix, String value, StringBuilder event) {
+		String[] lines = (value == null ? "" : value).split("\r\n|\r|\n", -1);
+		for (int i = 0; i < lines.length; i++) {
+			event.append(fieldPrefix).append(lines[i]).append('\n');
+		}
+	}
+
+	/**
+	 * {@link HttpResponseWriter}.
+	 */
+	private final HttpResponseWriter<B> writer;
+
+	/**
+	 * {@link StreamBufferPool}.
+	 */
+	private final StreamBufferPool<B> bufferPool;
+
+	/**
+	 * Indicates if closed.
+	 */
+	private boolean isClosed = false;
+
+	/**
+	 * Indicates if the {@link HttpResponse} is still being serviced. While
+	 * servicing, completing the {@link HttpResponse} is left to the end of
+	 * servicing.
+	 */
+	private boolean isServicing = true;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param writer     {@link HttpResponseWriter}.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	public ServerSentEventStreamImpl(HttpResponseWriter<B> writer, StreamBufferPool<B> bufferPool) {
+		this.writer = writer;
+		this.bufferPool = bufferPool;
+	}
+
+	/**
+	 * Writes entity content from servicing the {@link HttpResponse}.
+	 * 
+	 * @param contentLength           Number of bytes of content.
+	 * @param contentHeadStreamBuffer Head {@link StreamBuffer} of the content.
+	 */
+	synchronized void writeEntity(long contentLength, StreamBuffer<B> contentHeadStreamBuffer) {
+		this.writer.writeStreamedHttpResponseEntity(contentLength, contentHeadStreamBuffer, false);
+	}
+
+	/**
+	 * Flags servicing of the {@link HttpResponse} is complete. Should the
+	 * {@link ServerSentEventStream} already be closed, this completes the
+	 * {@link HttpResponse}.
+	 * 
+	 * @param contentLength           Number of bytes of remaining content.
+	 * @param contentHeadStreamBuffer Head {@link StreamBuffer} of the remaining
+	 *                                content. May be <code>null</code>.
+	 */
+	synchronized void completeServicing(long contentLength, StreamBuffer<B> contentHeadStreamBuffer) {
+		this.isServicing = false;
+		this.writer.writeStreamedHttpResponseEntity(contentLength, contentHeadStreamBuffer, this.isClosed);
+	}
+
+	/**
+	 * Aborts the {@link ServerSentEventStream} due to failure in servicing.
+	 * 
+	 * @param failure Failure in servicing.
+	 */
+	synchronized void abort(Throwable failure) {
+		this.isServicing = false;
+		this.isClosed = true;
+		this.writer.abortStreamedHttpResponse(failure);
+	}
+
+	/**
+	 * Ensures the {@link ServerSentEventStream} is open.
+	 * 
+	 * @throws IOException If closed.
+	 */
+	private void ensureOpen() throws IOException {
+		if (this.isClosedOrDisconnected()) {
+			throw new IOException(ServerSentEventStream.class.getSimpleName() + " closed");
+		}
+	}
+
+	/**
+	 * Determines if closed, including the client disconnecting.
+	 * 
+	 * @return <code>true</code> if closed.
+	 */
+	private boolean isClosedOrDisconnected() {
+		if ((!this.isClosed) && (this.writer.isStreamedHttpResponseClosed())) {
+			this.isClosed = true; // client disconnected
+		}
+		return this.isClosed;
+	}
+
+	/**
+	 * Writes the event.
+	 * 
+	 * @param event Event content.
+	 */
+	private void writeEvent(StringBuilder event) {
+		byte[] content = event.toString().getBytes(ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET);
+		StreamBuffer<B> head = this.bufferPool.getPooledStreamBuffer();
+		StreamBuffer.write(content, head, this.bufferPool);
+		this.writer.writeStreamedHttpResponseEntity(content.length, head, false);
+	}
+
+	/*
+	 * ================== ServerSentEventStream =====================
+	 */
+
+	@Override
+	public synchronized void sendEvent(String id, String event, String data) throws IOException {
+
+		// Ensure valid event
+		validateFieldValue("id", id);
+		validateFieldValue("name", event);
+
+		// Ensure able to send
+		this.ensureOpen();
+
+		// Build the event
+		StringBuilder content = new StringBuilder();
+		if (id != null) {
+			content.append("id: ").append(id).append('\n');
+		}
+		if (event != null) {
+			content.append("event: ").append(event).append('\n');
+		}
+		appendLines("data: ", data, content);
+		content.append('\n');
+
+		// Send the event
+		this.writeEvent(content);
+	}
+
+	@Override
+	public synchronized void sendComment(String comment) throws IOException {
+
+		// Ensure able to send
+		this.ensureOpen();
+
+		// Send the comment
+		StringBuilder content = new StringBuilder();
+		appendLines(": ", comment, content);
+		content.append('\n');
+		this.writeEvent(content);
+	}
+
+	@Override
+	public synchronized boolean isClosed() {
+		return this.isClosedOrDisconnected();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+
+		// Determine if already closed
+		if (this.isClosed) {
+			return;
+		}
+		this.isClosed = true;
+
+		// Complete response (if servicing complete, otherwise on completion)
+		if (!this.isServicing) {
+			this.writer.writeStreamedHttpResponseEntity(0, null, true);
+		}
+	}
+
+}
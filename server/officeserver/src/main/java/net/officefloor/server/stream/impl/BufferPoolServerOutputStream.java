@@ -52,6 +52,11 @@ public class BufferPoolServerOutputStream<B> extends ServerOutputStream {
 	 */
 	private final CloseHandler closeHandler;
 
+	/**
+	 * {@link FlushHandler}. May be <code>null</code>.
+	 */
+	private final FlushHandler flushHandler;
+
 	/**
 	 * Head {@link StreamBuffer}.
 	 */
@@ -72,10 +77,23 @@ public class BufferPoolServerOutputStream<B> extends ServerOutputStream {
 	 * 
 	 * @param bufferPool   {@link StreamBufferPool}.
 	 * @param closeHandler {@link CloseHandler}.
+	 * @param flushHandler {@link FlushHandler}. May be <code>null</code>.
 	 */
-	public BufferPoolServerOutputStream(StreamBufferPool<B> bufferPool, CloseHandler closeHandler) {
+	public BufferPoolServerOutputStream(StreamBufferPool<B> bufferPool, CloseHandler closeHandler,
+			FlushHandler flushHandler) {
 		this.bufferPool = bufferPool;
 		this.closeHandler = closeHandler;
+		this.flushHandler = flushHandler;
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param bufferPool   {@link StreamBufferPool}.
+	 * @param closeHandler {@link CloseHandler}.
+	 */
+	public BufferPoolServerOutputStream(StreamBufferPool<B> bufferPool, CloseHandler closeHandler) {
+		this(bufferPool, closeHandler, null);
 	}
 
 	/**
@@ -132,6 +150,29 @@ public class BufferPoolServerOutputStream<B> extends ServerOutputStream {
 		return this.head;
 	}
 
+	/**
+	 * Detaches the {@link StreamBuffer} instances written so far. This allows
+	 * the content written so far to be sent, while further content is written
+	 * to new {@link StreamBuffer} instances. The content length is reset to
+	 * only include the further content.
+	 * 
+	 * @return Head {@link StreamBuffer} to the detached {@link StreamBuffer}
+	 *         instances. May be <code>null</code> if no content written.
+	 */
+	public StreamBuffer<B> detachBuffers() {
+
+		// Detach the buffers
+		StreamBuffer<B> detached = this.head;
+		this.head = null;
+		this.tail = null;
+
+		// Further content to follow
+		this.contentLength = 0;
+
+		// Return the detached buffers
+		return detached;
+	}
+
 	/**
 	 * Clears this {@link OutputStream} and releases the {@link StreamBuffer}
 	 * instances.
@@ -310,7 +351,10 @@ public class BufferPoolServerOutputStream<B> extends ServerOutputStream {
 	public void flush() throws IOException {
 		this.ensureOpen();
 
-		// Nothing to flush, as always writes straight to buffers
+		// Always writes straight to buffers, so notify to possibly send content
+		if (this.flushHandler != null) {
+			this.flushHandler.flush();
+		}
 	}
 
 	@Override
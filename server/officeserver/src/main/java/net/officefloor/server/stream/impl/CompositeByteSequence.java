@@ -0,0 +1,153 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.stream.impl;
+
+import java.util.Arrays;
+
+/**
+ * {@link ByteSequence} composed of further {@link ByteSequence} segments.
+ * <p>
+ * This allows an entity received in parts (e.g. chunked transfer encoding) to
+ * be read as a single {@link ByteSequence} without copying the bytes of each
+ * part.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class CompositeByteSequence implements ByteSequence {
+
+	/**
+	 * {@link ByteSequence} segments.
+	 */
+	private ByteSequence[] segments;
+
+	/**
+	 * Starting index of each segment within this {@link ByteSequence}.
+	 */
+	private int[] segmentStarts;
+
+	/**
+	 * Number of segments.
+	 */
+	private int segmentCount = 0;
+
+	/**
+	 * Length of this {@link ByteSequence}.
+	 */
+	private int length = 0;
+
+	/**
+	 * Index of the last segment read. As bytes are typically read
+	 * sequentially, this avoids searching for the segment on each read.
+	 */
+	private int lastSegmentIndex = 0;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param initialSegmentCapacity Initial capacity for the number of segments.
+	 */
+	public CompositeByteSequence(int initialSegmentCapacity) {
+		int capacity = Math.max(1, initialSegmentCapacity);
+		this.segments = new ByteSequence[capacity];
+		this.segmentStarts = new int[capacity];
+	}
+
+	/**
+	 * Appends a {@link ByteSequence} segment.
+	 * 
+	 * @param segment {@link ByteSequence} segment.
+	 * @throws IllegalStateException If appending the segment would exceed the
+	 *                               maximum length of a {@link ByteSequence}.
+	 */
+	public void appendByteSequence(ByteSequence segment) throws IllegalStateException {
+
+		// Ignore empty segments (as no bytes to read)
+		int segmentLength = segment.length();
+		if (segmentLength == 0) {
+			return;
+		}
+
+		// Ensure length can be indexed
+		if (segmentLength > (Integer.MAX_VALUE - this.length)) {
+			throw new IllegalStateException(
+					ByteSequence.class.getSimpleName() + " length can not exceed " + Integer.MAX_VALUE);
+		}
+
+		// Ensure capacity for the segment
+		if (this.segmentCount == this.segments.length) {
+			int capacity = this.segments.length * 2;
+			this.segments = Arrays.copyOf(this.segments, capacity);
+			this.segmentStarts = Arrays.copyOf(this.segmentStarts, capacity);
+		}
+
+		// Append the segment
+		this.segments[this.segmentCount] = segment;
+		this.segmentStarts[this.segmentCount] = this.length;
+		this.segmentCount++;
+		this.length += segmentLength;
+	}
+
+	/**
+	 * Obtains the number of {@link ByteSequence} segments.
+	 * 
+	 * @return Number of {@link ByteSequence} segments.
+	 */
+	public int getSegmentCount() {
+		return this.segmentCount;
+	}
+
+	/*
+	 * ===================== ByteSequence ========================
+	 */
+
+	@Override
+	public byte byteAt(int index) {
+
+		// Ensure valid index
+		if ((index < 0) || (index >= this.length)) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.length);
+		}
+
+		// Determine if within last segment read
+		int segmentIndex = this.lastSegmentIndex;
+		int segmentStart = this.segmentStarts[segmentIndex];
+		if ((index < segmentStart) || (index >= (segmentStart + this.segments[segmentIndex].length()))) {
+
+			// Not in last segment, so search for the segment
+			segmentIndex = Arrays.binarySearch(this.segmentStarts, 0, this.segmentCount, index);
+			if (segmentIndex < 0) {
+				// Not start of segment, so within previous segment to insertion point
+				segmentIndex = (-segmentIndex) - 2;
+			}
+			segmentStart = this.segmentStarts[segmentIndex];
+			this.lastSegmentIndex = segmentIndex;
+		}
+
+		// Obtain the byte from the segment
+		return this.segments[segmentIndex].byteAt(index - segmentStart);
+	}
+
+	@Override
+	public int length() {
+		return this.length;
+	}
+
+}
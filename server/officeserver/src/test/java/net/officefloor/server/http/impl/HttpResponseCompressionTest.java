@@ -0,0 +1,218 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.officefloor.server.http.HttpHeaderValue;
+import net.officefloor.server.http.mock.MockStreamBufferPool;
+import net.officefloor.server.http.stream.TemporaryFiles;
+import net.officefloor.server.stream.StreamBuffer;
+
+/**
+ * Tests the {@link HttpResponseCompression}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class HttpResponseCompressionTest {
+
+	/**
+	 * {@link MockStreamBufferPool}.
+	 */
+	private final MockStreamBufferPool bufferPool = new MockStreamBufferPool(() -> ByteBuffer.allocate(16));
+
+	/**
+	 * {@link HttpResponseCompression} to test.
+	 */
+	private final HttpResponseCompression compression = new HttpResponseCompression(10, Deflater.DEFAULT_COMPRESSION,
+			HttpResponseCompression.DEFAULT_CONTENT_TYPES);
+
+	@AfterEach
+	public void ensureBuffersReleased() {
+		this.bufferPool.assertAllBuffersReturned();
+	}
+
+	/**
+	 * Ensure negotiates the content encoding.
+	 */
+	@Test
+	public void negotiateContentEncoding() {
+		assertNull(HttpResponseCompression.negotiateContentEncoding(null), "No header");
+		assertNull(HttpResponseCompression.negotiateContentEncoding(""), "Empty header");
+		assertNull(HttpResponseCompression.negotiateContentEncoding("identity"), "Only identity");
+		assertNull(HttpResponseCompression.negotiateContentEncoding("br"), "Unsupported encoding");
+		assertSame(HttpResponseCompression.GZIP, HttpResponseCompression.negotiateContentEncoding("gzip"), "gzip");
+		assertSame(HttpResponseCompression.GZIP, HttpResponseCompression.negotiateContentEncoding("GZIP"),
+				"Case insensitive");
+		assertSame(HttpResponseCompression.GZIP, HttpResponseCompression.negotiateContentEncoding("x-gzip"),
+				"Legacy gzip");
+		assertSame(HttpResponseCompression.DEFLATE, HttpResponseCompression.negotiateContentEncoding("deflate"),
+				"deflate");
+		assertSame(HttpResponseCompression.GZIP,
+				HttpResponseCompression.negotiateContentEncoding("gzip, deflate, br"), "Prefer gzip");
+		assertSame(HttpResponseCompression.DEFLATE,
+				HttpResponseCompression.negotiateContentEncoding("gzip;q=0.5, deflate"), "Higher quality");
+		assertSame(HttpResponseCompression.DEFLATE,
+				HttpResponseCompression.negotiateContentEncoding("gzip; q=0, deflate; q=0.1"), "gzip not acceptable");
+		assertSame(HttpResponseCompression.GZIP, HttpResponseCompression.negotiateContentEncoding("*"), "Wildcard");
+		assertSame(HttpResponseCompression.DEFLATE, HttpResponseCompression.negotiateContentEncoding("gzip;q=0, *"),
+				"Wildcard for not specified");
+		assertNull(HttpResponseCompression.negotiateContentEncoding("*;q=0"), "Wildcard not acceptable");
+		assertNull(HttpResponseCompression.negotiateContentEncoding("gzip;q=invalid"), "Invalid quality");
+	}
+
+	/**
+	 * Ensure only compresses configured content types above minimum length.
+	 */
+	@Test
+	public void isCompressible() {
+		assertTrue(this.isCompressible(10, "application/json"), "Should compress JSON");
+		assertTrue(this.isCompressible(10, "Application/JSON; charset=UTF-8"), "Should ignore case and parameters");
+		assertTrue(this.isCompressible(10, "text/html"), "Should compress text sub type");
+		assertTrue(this.isCompressible(10, "text/css;charset=UTF-8"), "Should compress text sub type with charset");
+		assertFalse(this.isCompressible(9, "application/json"), "Should not compress below minimum length");
+		assertFalse(this.isCompressible(10, "application/jsonp"), "Should not compress other type");
+		assertFalse(this.isCompressible(10, "image/png"), "Should not compress image");
+		assertFalse(this.isCompressible(10, "application/octet-stream"), "Should not compress binary");
+		assertFalse(this.compression.isCompressible(10, null), "Should not compress without content type");
+	}
+
+	/**
+	 * Ensure <code>gzip</code> content across pooled, unpooled and file buffers.
+	 */
+	@Test
+	public void gzip() throws IOException {
+		this.assertCompress(HttpResponseCompression.GZIP);
+	}
+
+	/**
+	 * Ensure <code>deflate</code> content across pooled, unpooled and file
+	 * buffers.
+	 */
+	@Test
+	public void deflate() throws IOException {
+		this.assertCompress(HttpResponseCompression.DEFLATE);
+	}
+
+	/**
+	 * Ensure re-uses the {@link Deflater} for the {@link Thread}.
+	 */
+	@Test
+	public void reuseDeflater() throws IOException {
+		for (int i = 0; i < 3; i++) {
+			this.assertCompress(HttpResponseCompression.GZIP);
+			this.assertCompress(HttpResponseCompression.DEFLATE);
+		}
+	}
+
+	/**
+	 * Ensure invalid compression level.
+	 */
+	@Test
+	public void invalidCompressionLevel() {
+		try {
+			new HttpResponseCompression(0, 10, "text/*");
+			fail("Should not allow invalid compression level");
+		} catch (IllegalArgumentException ex) {
+			assertEquals("Invalid compression level 10", ex.getMessage(), "Incorrect cause");
+		}
+	}
+
+	/**
+	 * Asserts compressing content.
+	 * 
+	 * @param contentEncoding Content encoding.
+	 */
+	private void assertCompress(HttpHeaderValue contentEncoding) throws IOException {
+
+		// Create the content (pooled, unpooled and file)
+		StringBuilder expected = new StringBuilder();
+		StreamBuffer<ByteBuffer> content = this.bufferPool.getPooledStreamBuffer();
+		for (int i = 0; i < 20; i++) {
+			String line = "Pooled line " + i + "\n";
+			expected.append(line);
+			StreamBuffer.write(line, content, this.bufferPool);
+		}
+		StreamBuffer<ByteBuffer> tail = content;
+		while (tail.next != null) {
+			tail = tail.next;
+		}
+		String unpooled = "Unpooled content\n";
+		expected.append(unpooled);
+		tail.next = this.bufferPool.getUnpooledStreamBuffer(
+				ByteBuffer.wrap(unpooled.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer());
+		tail = tail.next;
+		StringBuilder fileContent = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			fileContent.append("File line " + i + "\n");
+		}
+		expected.append(fileContent.substring(5, fileContent.length() - 5));
+		FileChannel file = TemporaryFiles.getDefault().createTempFile("compress", fileContent.toString());
+		tail.next = this.bufferPool.getFileStreamBuffer(file, 5, fileContent.length() - 10, null);
+
+		// Compress the content
+		StreamBuffer<ByteBuffer> compressed = this.bufferPool.getPooledStreamBuffer();
+		long compressedLength = this.compression.compress(content, contentEncoding, compressed, this.bufferPool);
+		MockStreamBufferPool.releaseStreamBuffers(content);
+
+		// Ensure correctly compressed
+		String actual;
+		try (InputStream input = MockStreamBufferPool.createInputStream(compressed)) {
+			InputStream decompress = (contentEncoding == HttpResponseCompression.GZIP) ? new GZIPInputStream(input)
+					: new InflaterInputStream(input);
+			actual = new String(decompress.readAllBytes(), StandardCharsets.US_ASCII);
+		}
+		assertEquals(expected.toString(), actual, "Incorrect decompressed content");
+		assertEquals(MockStreamBufferPool.getContent(compressed, StandardCharsets.ISO_8859_1).length(),
+				compressedLength, "Incorrect compressed length");
+		assertTrue(compressedLength < expected.length(), "Should be compressed");
+		MockStreamBufferPool.releaseStreamBuffers(compressed);
+	}
+
+	/**
+	 * Determines if compressible.
+	 * 
+	 * @param contentLength Content length.
+	 * @param contentType   <code>Content-Type</code>.
+	 * @return <code>true</code> if compressible.
+	 */
+	private boolean isCompressible(long contentLength, String contentType) {
+		return this.compression.isCompressible(contentLength, new HttpHeaderValue(contentType));
+	}
+
+}
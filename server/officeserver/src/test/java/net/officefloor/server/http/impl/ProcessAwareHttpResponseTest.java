@@ -35,7 +35,11 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -53,9 +57,11 @@ import net.officefloor.server.http.HttpResponseWriter;
 import net.officefloor.server.http.HttpStatus;
 import net.officefloor.server.http.HttpVersion;
 import net.officefloor.server.http.ServerHttpConnection;
+import net.officefloor.server.http.ServerSentEventStream;
 import net.officefloor.server.http.WritableHttpCookie;
 import net.officefloor.server.http.WritableHttpHeader;
 import net.officefloor.server.http.mock.MockManagedObjectContext;
+import net.officefloor.server.http.mock.MockNonMaterialisedHttpHeaders;
 import net.officefloor.server.http.mock.MockStreamBufferPool;
 import net.officefloor.server.stream.ServerOutputStream;
 import net.officefloor.server.stream.ServerWriter;
@@ -660,6 +666,338 @@ public class ProcessAwareHttpResponseTest implements HttpResponseWriter<ByteBuff
 				ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET), "Incorrect content");
 	}
 
+	/**
+	 * Ensure streams the entity on flush.
+	 */
+	@Test
+	public void streamEntityOnFlush() throws IOException {
+		this.isStreamingSupported = true;
+
+		// Stream the response
+		this.response.setStreaming(true);
+		assertTrue(this.response.isStreaming(), "Should be streaming");
+		this.response.getHeaders().addHeader("test", "value");
+		ServerWriter writer = this.response.getEntityWriter();
+		writer.write("FIRST");
+		writer.flush();
+
+		// Ensure status and headers with first part written
+		assertSame(HttpStatus.OK, this.streamedStatus, "Incorrect streamed status");
+		assertEquals("test", this.streamedHttpHeader.getName(), "Incorrect streamed header");
+		assertEquals("text/plain", this.streamedContentType.getValue(), "Incorrect streamed content-type");
+		assertEquals(1, this.streamedParts.size(), "Should stream first part");
+		assertEquals("FIRST", this.streamedParts.get(0), "Incorrect first part");
+		assertFalse(this.isStreamedLastPart, "Should not be complete");
+
+		// Ensure can not reset once streamed
+		try {
+			this.response.reset();
+			fail("Should not be able to reset once streamed");
+		} catch (IOException ex) {
+			assertEquals("Already committed to send response", ex.getMessage(), "Incorrect cause");
+		}
+
+		// Complete the response
+		writer.write("SECOND");
+		this.response.flushResponseToHttpResponseWriter(null);
+		assertEquals(2, this.streamedParts.size(), "Should stream remaining part");
+		assertEquals("SECOND", this.streamedParts.get(1), "Incorrect remaining part");
+		assertTrue(this.isStreamedLastPart, "Should be complete");
+		assertNull(this.status, "Should not write as non-streamed response");
+	}
+
+	/**
+	 * Ensure holds the entity if streaming not supported.
+	 */
+	@Test
+	public void streamingNotSupported() throws IOException {
+		this.isStreamingSupported = false;
+
+		// Attempt to stream the response
+		this.response.setStreaming(true);
+		ServerOutputStream output = this.response.getEntity();
+		output.write(1);
+		output.flush();
+		assertNull(this.streamedStatus, "Should not stream");
+
+		// Ensure written on completion
+		this.response.flushResponseToHttpResponseWriter(null);
+		assertSame(HttpStatus.OK, this.status, "Incorrect status");
+		assertEquals(1, this.contentLength, "Incorrect Content-Length");
+		MockStreamBufferPool.releaseStreamBuffers(this.contentHeadStreamBuffer);
+	}
+
+	/**
+	 * Ensure holds the entity if HTTP 1.0 (as chunking not available).
+	 */
+	@Test
+	public void noStreamingForHttp10() throws IOException {
+		this.isStreamingSupported = true;
+
+		// Attempt to stream the response
+		this.response.setStreaming(true);
+		this.response.setVersion(HttpVersion.HTTP_1_0);
+		ServerOutputStream output = this.response.getEntity();
+		output.write(1);
+		output.flush();
+		assertNull(this.streamedStatus, "Should not stream");
+
+		// Ensure written on completion
+		this.response.flushResponseToHttpResponseWriter(null);
+		assertEquals(1, this.contentLength, "Incorrect Content-Length");
+		MockStreamBufferPool.releaseStreamBuffers(this.contentHeadStreamBuffer);
+	}
+
+	/**
+	 * Ensure aborts streamed response on escalation.
+	 */
+	@Test
+	public void abortStreamedResponseOnEscalation() throws IOException {
+		this.isStreamingSupported = true;
+
+		// Stream part of the response
+		this.response.setStreaming(true);
+		ServerOutputStream output = this.response.getEntity();
+		output.write(1);
+		output.flush();
+		assertEquals(1, this.streamedParts.size(), "Should stream part");
+
+		// Fail after streaming
+		output.write(2);
+		Exception escalation = new Exception("TEST");
+		this.response.flushResponseToHttpResponseWriter(escalation);
+		assertSame(escalation, this.streamAbortFailure, "Should abort streamed response");
+		assertFalse(this.isStreamedLastPart, "Should not complete response");
+		assertNull(this.status, "Should not write escalation response");
+		this.bufferPool.assertAllBuffersReturned();
+	}
+
+	/**
+	 * Ensure can stream Server-Sent Events after servicing completes.
+	 */
+	@Test
+	public void serverSentEvents() throws IOException {
+		this.isStreamingSupported = true;
+
+		// Open the event stream (sending status and headers)
+		ServerSentEventStream eventStream = this.response.openServerSentEventStream();
+		assertSame(eventStream, this.response.openServerSentEventStream(), "Should be same stream");
+		assertSame(HttpStatus.OK, this.streamedStatus, "Incorrect streamed status");
+		assertEquals("text/event-stream", this.streamedContentType.getValue(), "Incorrect content-type");
+		assertEquals("cache-control", this.streamedHttpHeader.getName(), "Should not cache events");
+		assertEquals("no-cache", this.streamedHttpHeader.getValue(), "Incorrect Cache-Control");
+
+		// Complete servicing (should keep response open)
+		eventStream.sendData("SERVICING");
+		this.response.flushResponseToHttpResponseWriter(null);
+		assertFalse(this.isStreamedLastPart, "Should keep response open");
+		assertFalse(eventStream.isClosed(), "Stream should be open");
+
+		// Send events after servicing
+		eventStream.sendEvent("1", "update", "FIRST\nSECOND");
+		eventStream.sendComment("keep alive");
+		assertEquals(3, this.streamedParts.size(), "Incorrect number of parts");
+		assertEquals("data: SERVICING\n\n", this.streamedParts.get(0), "Incorrect servicing event");
+		assertEquals("id: 1\nevent: update\ndata: FIRST\ndata: SECOND\n\n", this.streamedParts.get(1),
+				"Incorrect event");
+		assertEquals(": keep alive\n\n", this.streamedParts.get(2), "Incorrect comment");
+
+		// Close the stream (completing the response)
+		eventStream.close();
+		assertTrue(eventStream.isClosed(), "Should be closed");
+		assertTrue(this.isStreamedLastPart, "Should complete response");
+		try {
+			eventStream.sendData("CLOSED");
+			fail("Should not be able to send on closed stream");
+		} catch (IOException ex) {
+			assertEquals("ServerSentEventStream closed", ex.getMessage(), "Incorrect cause");
+		}
+		this.bufferPool.assertAllBuffersReturned();
+	}
+
+	/**
+	 * Ensure closing {@link ServerSentEventStream} during servicing completes the
+	 * response on servicing completing.
+	 */
+	@Test
+	public void closeServerSentEventsWhileServicing() throws IOException {
+		this.isStreamingSupported = true;
+
+		// Open and close the stream while servicing
+		ServerSentEventStream eventStream = this.response.openServerSentEventStream();
+		eventStream.sendData("EVENT");
+		eventStream.close();
+		assertFalse(this.isStreamedLastPart, "Should only complete once serviced");
+
+		// Complete servicing
+		this.response.flushResponseToHttpResponseWriter(null);
+		assertTrue(this.isStreamedLastPart, "Should complete response");
+	}
+
+	/**
+	 * Ensure aborts {@link ServerSentEventStream} on escalation.
+	 */
+	@Test
+	public void abortServerSentEventsOnEscalation() throws IOException {
+		this.isStreamingSupported = true;
+
+		// Open the stream and fail servicing
+		ServerSentEventStream eventStream = this.response.openServerSentEventStream();
+		Exception escalation = new Exception("TEST");
+		this.response.flushResponseToHttpResponseWriter(escalation);
+		assertSame(escalation, this.streamAbortFailure, "Should abort stream");
+		assertTrue(eventStream.isClosed(), "Stream should be closed");
+	}
+
+	/**
+	 * Ensure {@link ServerSentEventStream} is closed on client disconnecting.
+	 */
+	@Test
+	public void serverSentEventsClientDisconnect() throws IOException {
+		this.isStreamingSupported = true;
+
+		// Open the stream
+		ServerSentEventStream eventStream = this.response.openServerSentEventStream();
+		this.response.flushResponseToHttpResponseWriter(null);
+
+		// Client disconnects
+		this.isStreamedResponseClosed = true;
+		assertTrue(eventStream.isClosed(), "Should be closed on client disconnect");
+		try {
+			eventStream.sendComment("keep alive");
+			fail("Should not be able to send to disconnected client");
+		} catch (IOException ex) {
+			assertEquals("ServerSentEventStream closed", ex.getMessage(), "Incorrect cause");
+		}
+	}
+
+	/**
+	 * Ensure indicates if unable to stream {@link ServerSentEventStream}.
+	 */
+	@Test
+	public void serverSentEventsNotSupported() throws IOException {
+		this.isStreamingSupported = false;
+		try {
+			this.response.openServerSentEventStream();
+			fail("Should not be able to open stream");
+		} catch (IOException ex) {
+			assertEquals("Unable to stream ServerSentEventStream (requires HTTP/1.1 and server implementation support)",
+					ex.getMessage(), "Incorrect cause");
+		}
+		assertFalse(this.response.isStreaming(), "Should not be streaming");
+	}
+
+	/**
+	 * Ensure compresses the entity when accepted by the client.
+	 */
+	@Test
+	public void compressEntity() throws IOException {
+		ProcessAwareHttpResponse<ByteBuffer> response = this.createCompressionResponse("gzip, deflate");
+		String entity = "Compressed content. ".repeat(20);
+		response.getEntityWriter().write(entity);
+		response.flushResponseToHttpResponseWriter(null);
+
+		// Ensure compressed
+		assertSame(HttpStatus.OK, this.status, "Incorrect status");
+		assertEquals("Accept-Encoding", this.getHeaderValue("vary"), "Should vary by encoding");
+		assertEquals("gzip", this.getHeaderValue("content-encoding"), "Should be compressed");
+		assertEquals("text/plain", this.contentType.getValue(), "Content type should be unchanged");
+		assertTrue(this.contentLength < entity.length(), "Should be compressed length");
+		try (InputStream input = new GZIPInputStream(
+				MockStreamBufferPool.createInputStream(this.contentHeadStreamBuffer))) {
+			assertEquals(entity, new String(input.readAllBytes(), ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET),
+					"Incorrect decompressed entity");
+		}
+		MockStreamBufferPool.releaseStreamBuffers(this.contentHeadStreamBuffer);
+	}
+
+	/**
+	 * Ensure does not compress if client does not accept compression.
+	 */
+	@Test
+	public void noCompressionIfNotAccepted() throws IOException {
+		ProcessAwareHttpResponse<ByteBuffer> response = this.createCompressionResponse(null);
+		String entity = "Not compressed content. ".repeat(20);
+		response.getEntityWriter().write(entity);
+		response.flushResponseToHttpResponseWriter(null);
+
+		// Ensure not compressed
+		assertEquals("Accept-Encoding", this.getHeaderValue("vary"), "Should vary by encoding");
+		assertNull(this.getHeaderValue("content-encoding"), "Should not be compressed");
+		assertEquals(entity.length(), this.contentLength, "Incorrect content length");
+		assertEquals(entity, MockStreamBufferPool.getContent(this.contentHeadStreamBuffer,
+				ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET), "Incorrect entity");
+		MockStreamBufferPool.releaseStreamBuffers(this.contentHeadStreamBuffer);
+	}
+
+	/**
+	 * Ensure does not compress entity below minimum length or of other content
+	 * type.
+	 */
+	@Test
+	public void noCompressionIfNotCompressible() throws IOException {
+
+		// Ensure not compress small entity
+		ProcessAwareHttpResponse<ByteBuffer> response = this.createCompressionResponse("gzip");
+		response.getEntityWriter().write("Small");
+		response.flushResponseToHttpResponseWriter(null);
+		assertNull(this.httpHeader, "Should be no headers for small entity");
+		assertEquals(5, this.contentLength, "Incorrect small content length");
+		MockStreamBufferPool.releaseStreamBuffers(this.contentHeadStreamBuffer);
+
+		// Ensure not compress other content types
+		response = this.createCompressionResponse("gzip");
+		response.getEntity().write(new byte[100]);
+		response.flushResponseToHttpResponseWriter(null);
+		assertNull(this.httpHeader, "Should be no headers for binary entity");
+		assertEquals(100, this.contentLength, "Incorrect binary content length");
+		MockStreamBufferPool.releaseStreamBuffers(this.contentHeadStreamBuffer);
+
+		// Ensure not compress if already encoded
+		response = this.createCompressionResponse("gzip");
+		response.getHeaders().addHeader("Content-Encoding", "identity");
+		response.getEntityWriter().write("Already encoded. ".repeat(20));
+		response.flushResponseToHttpResponseWriter(null);
+		assertEquals("identity", this.getHeaderValue("content-encoding"), "Should keep content encoding");
+		assertNull(this.getHeaderValue("vary"), "Should not consider compression");
+		MockStreamBufferPool.releaseStreamBuffers(this.contentHeadStreamBuffer);
+	}
+
+	/**
+	 * Creates a {@link ProcessAwareHttpResponse} with
+	 * {@link HttpResponseCompression}.
+	 * 
+	 * @param acceptEncoding <code>Accept-Encoding</code> {@link HttpHeader} value.
+	 *                       May be <code>null</code>.
+	 * @return {@link ProcessAwareHttpResponse}.
+	 */
+	private ProcessAwareHttpResponse<ByteBuffer> createCompressionResponse(String acceptEncoding) {
+		MockNonMaterialisedHttpHeaders headers = new MockNonMaterialisedHttpHeaders();
+		if (acceptEncoding != null) {
+			headers.addHttpHeader("Accept-Encoding", acceptEncoding);
+		}
+		ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = new ProcessAwareServerHttpConnectionManagedObject<>(
+				new HttpServerLocationImpl(), false, () -> HttpMethod.GET, () -> "/", HttpVersion.HTTP_1_1, headers,
+				null, null, null, true, this, this.bufferPool,
+				new HttpResponseCompression(100, Deflater.DEFAULT_COMPRESSION, "text/*"));
+		return new ProcessAwareHttpResponse<>(connection, HttpVersion.HTTP_1_1, new MockManagedObjectContext());
+	}
+
+	/**
+	 * Obtains the written {@link HttpHeader} value.
+	 * 
+	 * @param name Name of the {@link HttpHeader}.
+	 * @return Value of the {@link HttpHeader}. <code>null</code> if not written.
+	 */
+	private String getHeaderValue(String name) {
+		for (WritableHttpHeader header = this.httpHeader; header != null; header = header.next) {
+			if (name.equalsIgnoreCase(header.getName())) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Obtains the stack trace.
 	 * 
@@ -692,6 +1030,56 @@ public class ProcessAwareHttpResponseTest implements HttpResponseWriter<ByteBuff
 
 	private StreamBuffer<ByteBuffer> contentHeadStreamBuffer = null;
 
+	private boolean isStreamingSupported = false;
+
+	private HttpStatus streamedStatus = null;
+
+	private WritableHttpHeader streamedHttpHeader = null;
+
+	private HttpHeaderValue streamedContentType = null;
+
+	private final List<String> streamedParts = new ArrayList<>();
+
+	private boolean isStreamedLastPart = false;
+
+	private Throwable streamAbortFailure = null;
+
+	private boolean isStreamedResponseClosed = false;
+
+	@Override
+	public boolean isStreamingSupported() {
+		return this.isStreamingSupported;
+	}
+
+	@Override
+	public void writeStreamedHttpResponseHead(HttpVersion version, HttpStatus status,
+			WritableHttpHeader headHttpHeader, WritableHttpCookie headHttpCookie, HttpHeaderValue contentType) {
+		this.streamedStatus = status;
+		this.streamedHttpHeader = headHttpHeader;
+		this.streamedContentType = contentType;
+	}
+
+	@Override
+	public void writeStreamedHttpResponseEntity(long contentLength, StreamBuffer<ByteBuffer> contentHeadStreamBuffer,
+			boolean isLastPart) {
+		if (contentLength > 0) {
+			this.streamedParts.add(MockStreamBufferPool.getContent(contentHeadStreamBuffer,
+					ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET));
+			MockStreamBufferPool.releaseStreamBuffers(contentHeadStreamBuffer);
+		}
+		this.isStreamedLastPart = isLastPart;
+	}
+
+	@Override
+	public void abortStreamedHttpResponse(Throwable failure) {
+		this.streamAbortFailure = failure;
+	}
+
+	@Override
+	public boolean isStreamedHttpResponseClosed() {
+		return this.isStreamedResponseClosed;
+	}
+
 	@Override
 	public void writeHttpResponse(HttpVersion version, HttpStatus status, WritableHttpHeader httpHeader,
 			WritableHttpCookie httpCookie, long contentLength, HttpHeaderValue contentType,
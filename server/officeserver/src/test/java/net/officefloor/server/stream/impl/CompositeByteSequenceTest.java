@@ -0,0 +1,128 @@
+/*-
+ * #%L
+ * HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.stream.impl;
+
+import net.officefloor.frame.test.OfficeFrameTestCase;
+import net.officefloor.server.http.ServerHttpConnection;
+
+/**
+ * Tests the {@link CompositeByteSequence}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class CompositeByteSequenceTest extends OfficeFrameTestCase {
+
+	/**
+	 * {@link CompositeByteSequence} to test.
+	 */
+	private final CompositeByteSequence sequence = new CompositeByteSequence(1);
+
+	/**
+	 * Ensure empty.
+	 */
+	public void testEmpty() {
+		assertEquals("Should be empty", 0, this.sequence.length());
+		assertEquals("Should be no segments", 0, this.sequence.getSegmentCount());
+		try {
+			this.sequence.byteAt(0);
+			fail("Should not be successful");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Ensure ignores empty segments.
+	 */
+	public void testIgnoreEmptySegments() {
+		this.append("");
+		this.append("TEST");
+		this.append("");
+		assertEquals("Should ignore empty segments", 1, this.sequence.getSegmentCount());
+		this.assertContent("TEST");
+	}
+
+	/**
+	 * Ensure can read sequentially across segments.
+	 */
+	public void testSequentialRead() {
+		this.append("A");
+		this.append("BC");
+		this.append("DEF");
+		this.append("GHIJ");
+		assertEquals("Incorrect number of segments", 4, this.sequence.getSegmentCount());
+		this.assertContent("ABCDEFGHIJ");
+	}
+
+	/**
+	 * Ensure can read randomly across segments.
+	 */
+	public void testRandomRead() {
+		String content = "";
+		for (int i = 0; i < 20; i++) {
+			String segment = String.valueOf((char) ('a' + i)).repeat(i + 1);
+			this.append(segment);
+			content += segment;
+		}
+		byte[] expected = content.getBytes(ServerHttpConnection.HTTP_CHARSET);
+		for (int i = expected.length - 1; i >= 0; i -= 7) {
+			assertEquals("Incorrect byte " + i, expected[i], this.sequence.byteAt(i));
+		}
+		for (int i = 0; i < expected.length; i += 3) {
+			assertEquals("Incorrect byte " + i, expected[i], this.sequence.byteAt(i));
+		}
+	}
+
+	/**
+	 * Ensure can not read past the end.
+	 */
+	public void testReadPastEnd() {
+		this.append("TEST");
+		try {
+			this.sequence.byteAt(4);
+			fail("Should not be successful");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Appends the segment.
+	 * 
+	 * @param segment Segment content.
+	 */
+	private void append(String segment) {
+		this.sequence.appendByteSequence(new ByteArrayByteSequence(segment.getBytes(ServerHttpConnection.HTTP_CHARSET)));
+	}
+
+	/**
+	 * Asserts the content of the {@link CompositeByteSequence}.
+	 * 
+	 * @param expected Expected content.
+	 */
+	private void assertContent(String expected) {
+		byte[] bytes = expected.getBytes(ServerHttpConnection.HTTP_CHARSET);
+		assertEquals("Incorrect length", bytes.length, this.sequence.length());
+		for (int i = 0; i < bytes.length; i++) {
+			assertEquals("Incorrect byte " + i, bytes[i], this.sequence.byteAt(i));
+		}
+	}
+}
@@ -72,6 +72,24 @@ public interface RequestHandler<R> {
 	 */
 	void handleRequest(R request) throws IOException, IllegalStateException;
 
+	/**
+	 * <p>
+	 * Handles a request initiated by the server (e.g. pushing a message to the
+	 * client).
+	 * <p>
+	 * As the request is not read from the {@link Socket}, it does not take
+	 * responsibility for releasing the read {@link StreamBuffer} instances. This
+	 * allows the request to be handled while part of the next request is still
+	 * being read.
+	 * <p>
+	 * This may only be invoked by the {@link Socket} {@link Thread}.
+	 * 
+	 * @param request Request.
+	 * @throws IOException           If fails to handle the request.
+	 * @throws IllegalStateException If invoked from another {@link Thread}.
+	 */
+	void handlePushRequest(R request) throws IOException, IllegalStateException;
+
 	/**
 	 * <p>
 	 * Sends data immediately.
@@ -85,6 +103,28 @@ public interface RequestHandler<R> {
 	 */
 	void sendImmediateData(StreamBuffer<ByteBuffer> immediateHead) throws IllegalStateException;
 
+	/**
+	 * <p>
+	 * Indicates the header of the current request has been read, with only its
+	 * entity remaining to be read.
+	 * <p>
+	 * The request read timeout only covers reading the header, so that large
+	 * entities may be uploaded. The idle timeout continues to apply.
+	 * <p>
+	 * This may only be invoked by the {@link Socket} {@link Thread}.
+	 */
+	void requestHeaderRead();
+
+	/**
+	 * <p>
+	 * Indicates the connection is upgraded to a protocol with its own framing
+	 * (e.g. WebSocket).
+	 * <p>
+	 * Reads on the connection then need not correspond to requests, so the
+	 * connection is no longer subject to the keep alive and request read timeouts.
+	 */
+	void upgradedConnection();
+
 	/**
 	 * Allows to close connection.
 	 * 
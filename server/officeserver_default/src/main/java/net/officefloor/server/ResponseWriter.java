@@ -59,6 +59,26 @@ public interface ResponseWriter {
 	 */
 	void write(ResponseHeaderWriter responseHeaderWriter, StreamBuffer<ByteBuffer> headResponseBuffer);
 
+	/**
+	 * <p>
+	 * Writes part of the response.
+	 * <p>
+	 * This enables streaming the response to the {@link Socket} before the
+	 * response is complete. Further parts are appended to the response in the
+	 * order they are written, with
+	 * {@link #write(ResponseHeaderWriter, StreamBuffer)} writing the final part
+	 * to complete the response.
+	 * 
+	 * @param responseHeaderWriter {@link ResponseHeaderWriter} for this part. May
+	 *                             be <code>null</code>.
+	 * @param headResponseBuffer   Head {@link StreamBuffer} for the linked list of
+	 *                             {@link StreamBuffer} instances for this part.
+	 *                             Once the {@link StreamBuffer} is written back to
+	 *                             the {@link Socket}, it is released back to its
+	 *                             {@link StreamBufferPool}.
+	 */
+	void writePartial(ResponseHeaderWriter responseHeaderWriter, StreamBuffer<ByteBuffer> headResponseBuffer);
+
 	/**
 	 * <p>
 	 * Indicates failure processing connection.
@@ -70,4 +90,14 @@ public interface ResponseWriter {
 	 */
 	void closeConnection(Throwable failure);
 
+	/**
+	 * Indicates if the connection is closed.
+	 * <p>
+	 * This enables long lived responses (e.g. streaming events) to determine
+	 * whether the client is still connected.
+	 * 
+	 * @return <code>true</code> if the connection is closed.
+	 */
+	boolean isClosed();
+
 }
@@ -27,6 +27,7 @@ import java.net.BindException;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.ClosedChannelException;
@@ -39,7 +40,10 @@ import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -64,6 +68,12 @@ public class SocketManager {
 	 */
 	public static final int DEFAULT_SERVER_SOCKET_BACKLOG_SIZE = 8192;
 
+	/**
+	 * Default maximum number of {@link StreamBuffer} instances written to the
+	 * {@link SocketChannel} by a single gathering write.
+	 */
+	public static final int DEFAULT_MAX_GATHERING_WRITE_BUFFERS = 16;
+
 	/**
 	 * {@link ThreadLocal} to determine if {@link SocketListener} {@link Thread}.
 	 */
@@ -100,6 +110,13 @@ public class SocketManager {
 	 */
 	private final List<ServerSocket> boundServerSockets = new ArrayList<>();
 
+	/**
+	 * Indicates for each {@link SocketListener} to bind its own
+	 * {@link ServerSocketChannel} to the port via
+	 * {@link StandardSocketOptions#SO_REUSEPORT}.
+	 */
+	private final boolean isReusePort;
+
 	/**
 	 * Obtains the max direct memory.
 	 * 
@@ -211,13 +228,173 @@ public class SocketManager {
 	public SocketManager(int listenerCount, int socketReceiveBufferSize, int maxReadsOnSelect,
 			int maxActiveSocketRequests, StreamBufferPool<ByteBuffer> bufferPool, int socketSendBufferSize)
 			throws IOException {
+		this(listenerCount, socketReceiveBufferSize, maxReadsOnSelect, maxActiveSocketRequests, bufferPool,
+				socketSendBufferSize, false, DEFAULT_MAX_GATHERING_WRITE_BUFFERS);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param listenerCount            Number of {@link SocketListener} instances.
+	 * @param socketReceiveBufferSize  Receive buffer size for the {@link Socket}.
+	 * @param maxReadsOnSelect         Maximum number of reads per
+	 *                                 {@link SocketChannel} per select.
+	 * @param maxActiveSocketRequests  Maximum number of active
+	 *                                 {@link SocketRequest} instances per accepted
+	 *                                 {@link Socket}.
+	 * @param bufferPool               {@link StreamBufferPool}.
+	 * @param socketSendBufferSize     Send buffer size for the {@link Socket}.
+	 * @param isLockFreeEvents         Indicates to hand off events from other
+	 *                                 {@link Thread} instances to the
+	 *                                 {@link SocketListener} via lock free queues
+	 *                                 (with coalesced {@link Selector#wakeup()}),
+	 *                                 rather than notifying via a {@link Pipe}.
+	 * @param maxGatheringWriteBuffers Maximum number of consecutive
+	 *                                 {@link StreamBuffer} instances written to the
+	 *                                 {@link SocketChannel} by a single gathering
+	 *                                 write. A value of <code>1</code> (or less)
+	 *                                 writes each {@link StreamBuffer}
+	 *                                 individually.
+	 * @throws IOException If fails to initialise {@link Socket} management.
+	 */
+	public SocketManager(int listenerCount, int socketReceiveBufferSize, int maxReadsOnSelect,
+			int maxActiveSocketRequests, StreamBufferPool<ByteBuffer> bufferPool, int socketSendBufferSize,
+			boolean isLockFreeEvents, int maxGatheringWriteBuffers) throws IOException {
+		this(listenerCount, socketReceiveBufferSize, maxReadsOnSelect, maxActiveSocketRequests, bufferPool,
+				socketSendBufferSize, isLockFreeEvents, maxGatheringWriteBuffers, false);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param listenerCount            Number of {@link SocketListener} instances.
+	 * @param socketReceiveBufferSize  Receive buffer size for the {@link Socket}.
+	 * @param maxReadsOnSelect         Maximum number of reads per
+	 *                                 {@link SocketChannel} per select.
+	 * @param maxActiveSocketRequests  Maximum number of active
+	 *                                 {@link SocketRequest} instances per accepted
+	 *                                 {@link Socket}.
+	 * @param bufferPool               {@link StreamBufferPool}.
+	 * @param socketSendBufferSize     Send buffer size for the {@link Socket}.
+	 * @param isLockFreeEvents         Indicates to hand off events from other
+	 *                                 {@link Thread} instances to the
+	 *                                 {@link SocketListener} via lock free queues.
+	 * @param maxGatheringWriteBuffers Maximum number of consecutive
+	 *                                 {@link StreamBuffer} instances written to the
+	 *                                 {@link SocketChannel} by a single gathering
+	 *                                 write.
+	 * @param isReusePort              Indicates for each {@link SocketListener} to
+	 *                                 bind its own {@link ServerSocketChannel} to
+	 *                                 the port with
+	 *                                 {@link StandardSocketOptions#SO_REUSEPORT}.
+	 *                                 The kernel then spreads connections across the
+	 *                                 {@link SocketListener} instances, with each
+	 *                                 servicing the {@link Socket} instances it
+	 *                                 accepts. Should the platform not support
+	 *                                 {@link StandardSocketOptions#SO_REUSEPORT},
+	 *                                 a single {@link ServerSocketChannel} is
+	 *                                 bound.
+	 * @throws IOException If fails to initialise {@link Socket} management.
+	 */
+	public SocketManager(int listenerCount, int socketReceiveBufferSize, int maxReadsOnSelect,
+			int maxActiveSocketRequests, StreamBufferPool<ByteBuffer> bufferPool, int socketSendBufferSize,
+			boolean isLockFreeEvents, int maxGatheringWriteBuffers, boolean isReusePort) throws IOException {
+		this(listenerCount, socketReceiveBufferSize, maxReadsOnSelect, maxActiveSocketRequests, bufferPool,
+				socketSendBufferSize, isLockFreeEvents, maxGatheringWriteBuffers, isReusePort, 0, 0, 0);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param listenerCount            Number of {@link SocketListener} instances.
+	 * @param socketReceiveBufferSize  Receive buffer size for the {@link Socket}.
+	 * @param maxReadsOnSelect         Maximum number of reads per
+	 *                                 {@link SocketChannel} per select.
+	 * @param maxActiveSocketRequests  Maximum number of active
+	 *                                 {@link SocketRequest} instances per accepted
+	 *                                 {@link Socket}.
+	 * @param bufferPool               {@link StreamBufferPool}.
+	 * @param socketSendBufferSize     Send buffer size for the {@link Socket}.
+	 * @param isLockFreeEvents         Indicates to hand off events from other
+	 *                                 {@link Thread} instances to the
+	 *                                 {@link SocketListener} via lock free queues.
+	 * @param maxGatheringWriteBuffers Maximum number of consecutive
+	 *                                 {@link StreamBuffer} instances written to the
+	 *                                 {@link SocketChannel} by a single gathering
+	 *                                 write.
+	 * @param isReusePort              Indicates for each {@link SocketListener} to
+	 *                                 bind its own {@link ServerSocketChannel} to
+	 *                                 the port with
+	 *                                 {@link StandardSocketOptions#SO_REUSEPORT}.
+	 * @param keepAliveTimeout         Milliseconds a connection may be without
+	 *                                 requests (or read/written data) before it is
+	 *                                 closed. <code>0</code> (or less) for no
+	 *                                 timeout.
+	 * @param requestReadTimeout       Milliseconds from receiving the first bytes
+	 *                                 of a request until the request header must be
+	 *                                 read (see
+	 *                                 {@link RequestHandler#requestHeaderRead()}).
+	 *                                 This guards against slowly sent headers.
+	 *                                 <code>0</code> (or less) for no timeout.
+	 * @param idleTimeout              Milliseconds a connection may be without
+	 *                                 reading or writing data (regardless of
+	 *                                 servicing requests) before it is closed.
+	 *                                 <code>0</code> (or less) for no timeout.
+	 * @throws IOException If fails to initialise {@link Socket} management.
+	 */
+	public SocketManager(int listenerCount, int socketReceiveBufferSize, int maxReadsOnSelect,
+			int maxActiveSocketRequests, StreamBufferPool<ByteBuffer> bufferPool, int socketSendBufferSize,
+			boolean isLockFreeEvents, int maxGatheringWriteBuffers, boolean isReusePort, long keepAliveTimeout,
+			long requestReadTimeout, long idleTimeout) throws IOException {
+		this.isReusePort = isReusePort;
 
 		// Create the listeners
 		this.listeners = new SocketListener[listenerCount];
 		for (int i = 0; i < listeners.length; i++) {
 			listeners[i] = new SocketListener(socketReceiveBufferSize, maxReadsOnSelect, maxActiveSocketRequests,
-					bufferPool, socketSendBufferSize);
+					bufferPool, socketSendBufferSize, isLockFreeEvents, maxGatheringWriteBuffers, keepAliveTimeout,
+					requestReadTimeout, idleTimeout);
+		}
+	}
+
+	/**
+	 * Obtains the number of responses written.
+	 * 
+	 * @return Number of responses written.
+	 */
+	public long getResponseCount() {
+		long count = 0;
+		for (int i = 0; i < this.listeners.length; i++) {
+			count += this.listeners[i].responseCount;
 		}
+		return count;
+	}
+
+	/**
+	 * Obtains the number of system calls made to write to {@link SocketChannel}
+	 * instances.
+	 * 
+	 * @return Number of write system calls.
+	 */
+	public long getWriteSystemCallCount() {
+		long count = 0;
+		for (int i = 0; i < this.listeners.length; i++) {
+			count += this.listeners[i].writeSystemCallCount;
+		}
+		return count;
+	}
+
+	/**
+	 * Obtains the number of connections closed due to timing out.
+	 * 
+	 * @return Number of connections closed due to timing out.
+	 */
+	public long getTimedOutConnectionCount() {
+		long count = 0;
+		for (int i = 0; i < this.listeners.length; i++) {
+			count += this.listeners[i].timedOutConnectionCount;
+		}
+		return count;
 	}
 
 	/**
@@ -318,13 +495,42 @@ public class SocketManager {
 			AcceptedSocketDecorator acceptedSocketDecorator, SocketServicerFactory<R> socketServicerFactory,
 			RequestServicerFactory<R> requestServicerFactory) throws IOException {
 
+		// Determine if each listener accepts on its own server socket
+		if (this.isReusePort) {
+			try (ServerSocketChannel check = ServerSocketChannel.open()) {
+				if (check.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT)) {
+
+					// Bind first listener (to resolve any ephemeral port)
+					ServerSocket serverSocket = this.listeners[0].bindServerSocket(port, serverSocketDecorator,
+							acceptedSocketDecorator, socketServicerFactory, requestServicerFactory, true);
+					this.boundServerSockets.add(serverSocket);
+
+					// Bind remaining listeners to the same port
+					int boundPort = serverSocket.getLocalPort();
+					for (int i = 1; i < this.listeners.length; i++) {
+						ServerSocket listenerServerSocket = this.listeners[i].bindServerSocket(boundPort,
+								serverSocketDecorator, acceptedSocketDecorator, socketServicerFactory,
+								requestServicerFactory, true);
+						this.boundServerSockets.add(listenerServerSocket);
+					}
+
+					// Return the first server socket
+					return serverSocket;
+				}
+			}
+
+			// Not supported, so fall back to single server socket
+			LOGGER.log(Level.INFO, StandardSocketOptions.SO_REUSEPORT.name()
+					+ " not supported, so accepting connections on single " + SocketListener.class.getSimpleName());
+		}
+
 		// Spread acceptances listening across the listeners
 		int next = this.nextServerSocketListener;
 		this.nextServerSocketListener = (this.nextServerSocketListener + 1) % this.listeners.length;
 
 		// Register server socket listening
 		ServerSocket serverSocket = this.listeners[next].bindServerSocket(port, serverSocketDecorator,
-				acceptedSocketDecorator, socketServicerFactory, requestServicerFactory);
+				acceptedSocketDecorator, socketServicerFactory, requestServicerFactory, false);
 		this.boundServerSockets.add(serverSocket);
 
 		// Return the server socket
@@ -460,6 +666,60 @@ public class SocketManager {
 		 */
 		private final Pipe shutdownPipe;
 
+		/**
+		 * Indicates if handing off events via lock free queues. Otherwise, events are
+		 * notified via {@link Pipe}.
+		 */
+		private final boolean isLockFreeEvents;
+
+		/**
+		 * {@link AbstractSafeReadHandler} instances to drain of lock free events.
+		 */
+		private final AbstractSafeReadHandler<?>[] lockFreeEventHandlers;
+
+		/**
+		 * Indicates if the {@link SocketListener} is about to block (or is blocked) on
+		 * the {@link Selector}. Only when parked is a {@link Selector#wakeup()}
+		 * required, so that wake ups are coalesced.
+		 */
+		private final AtomicBoolean isParked = new AtomicBoolean(false);
+
+		/**
+		 * Re-used array for gathering {@link ByteBuffer} instances to write to the
+		 * {@link SocketChannel}. <code>null</code> if not gathering writes.
+		 */
+		private final ByteBuffer[] gatheringWriteBuffers;
+
+		/**
+		 * Number of responses written. Only updated by the {@link SocketListener}
+		 * {@link Thread}.
+		 */
+		private volatile long responseCount = 0;
+
+		/**
+		 * Number of write system calls. Only updated by the {@link SocketListener}
+		 * {@link Thread}.
+		 */
+		private volatile long writeSystemCallCount = 0;
+
+		/**
+		 * {@link ConnectionTimerWheel} to time out connections. <code>null</code> if no
+		 * connection timeouts.
+		 */
+		private final ConnectionTimerWheel timerWheel;
+
+		/**
+		 * Time (in milliseconds) of the current select. Only maintained if
+		 * {@link ConnectionTimerWheel} in use.
+		 */
+		private long currentTime = System.currentTimeMillis();
+
+		/**
+		 * Number of connections closed due to timing out. Only updated by the
+		 * {@link SocketListener} {@link Thread}.
+		 */
+		private volatile long timedOutConnectionCount = 0;
+
 		/**
 		 * Indicates whether to shutdown.
 		 */
@@ -468,62 +728,75 @@ public class SocketManager {
 		/**
 		 * Instantiate.
 		 * 
-		 * @param socketReceiveBufferSize Receive buffer size for the {@link Socket}.
-		 * @param maxReadsOnSelect        Maximum number of reads per
-		 *                                {@link SocketChannel} per select.
-		 * @param maxActiveSocketRequests Maximum number of active {@link SocketRequest}
-		 *                                instances on a particular {@link Socket}.
-		 * @param bufferPool              {@link StreamBufferPool}.
-		 * @param socketSendBufferSize    Send buffer size for the {@link Socket}.
+		 * @param socketReceiveBufferSize  Receive buffer size for the {@link Socket}.
+		 * @param maxReadsOnSelect         Maximum number of reads per
+		 *                                 {@link SocketChannel} per select.
+		 * @param maxActiveSocketRequests  Maximum number of active
+		 *                                 {@link SocketRequest} instances on a
+		 *                                 particular {@link Socket}.
+		 * @param bufferPool               {@link StreamBufferPool}.
+		 * @param socketSendBufferSize     Send buffer size for the {@link Socket}.
+		 * @param isLockFreeEvents         Indicates to hand off events via lock free
+		 *                                 queues.
+		 * @param maxGatheringWriteBuffers Maximum number of {@link StreamBuffer}
+		 *                                 instances for a gathering write.
+		 * @param keepAliveTimeout         Keep alive timeout in milliseconds.
+		 * @param requestReadTimeout       Request read timeout in milliseconds.
+		 * @param idleTimeout              Idle timeout in milliseconds.
 		 * @throws IOException If fails to establish necessary {@link Socket} and
 		 *                     {@link Pipe} facilities.
 		 */
 		private SocketListener(int socketReceiveBufferSize, int maxReadsOnSelect, int maxActiveSocketRequests,
-				StreamBufferPool<ByteBuffer> bufferPool, int socketSendBufferSize) throws IOException {
+				StreamBufferPool<ByteBuffer> bufferPool, int socketSendBufferSize, boolean isLockFreeEvents,
+				int maxGatheringWriteBuffers, long keepAliveTimeout, long requestReadTimeout, long idleTimeout)
+				throws IOException {
 			this.socketReceiveBufferSize = socketReceiveBufferSize;
 			this.maxReadsOnSelect = maxReadsOnSelect;
 			this.maxActiveSocketRequests = maxActiveSocketRequests;
 			this.bufferPool = bufferPool;
 			this.socketSendBufferSize = socketReceiveBufferSize;
+			this.isLockFreeEvents = isLockFreeEvents;
+			this.gatheringWriteBuffers = (maxGatheringWriteBuffers > 1) ? new ByteBuffer[maxGatheringWriteBuffers]
+					: null;
+			this.timerWheel = ((keepAliveTimeout > 0) || (requestReadTimeout > 0) || (idleTimeout > 0))
+					? new ConnectionTimerWheel(this, keepAliveTimeout, requestReadTimeout, idleTimeout)
+					: null;
 
 			// Create the selector
 			this.selector = Selector.open();
 
-			// Create pipe to listen for accepted sockets
-			Pipe acceptedSocketPipe = Pipe.open();
-			acceptedSocketPipe.source().configureBlocking(false);
-			this.acceptSocketHandler = new AcceptSocketHandler(acceptedSocketPipe, this,
-					bufferPool.getPooledStreamBuffer());
-			acceptedSocketPipe.source().register(this.selector, SelectionKey.OP_READ, this.acceptSocketHandler);
-
-			// Create pipe to listen for socket runnables
-			Pipe socketRunnablePipe = Pipe.open();
-			socketRunnablePipe.source().configureBlocking(false);
-			this.socketRunnableHandler = new SocketRunnableHandler(socketRunnablePipe,
-					bufferPool.getPooledStreamBuffer());
-			socketRunnablePipe.source().register(this.selector, SelectionKey.OP_READ, this.socketRunnableHandler);
-
-			// Create pipe to listen for safe socket writing
-			Pipe safeWriteSocketPipe = Pipe.open();
-			safeWriteSocketPipe.source().configureBlocking(false);
-			this.safeWriteSocketHandler = new SafeWriteSocketHandler(safeWriteSocketPipe,
-					bufferPool.getPooledStreamBuffer());
-			safeWriteSocketPipe.source().register(this.selector, SelectionKey.OP_READ, this.safeWriteSocketHandler);
-
-			// Create pipe to bulk flush writes
-			Pipe bulkFlushWritesPipe = Pipe.open();
-			bulkFlushWritesPipe.source().configureBlocking(false);
-			this.bulkFlushWritesHandler = new BulkFlushWritesHandler(bulkFlushWritesPipe,
-					bufferPool.getPooledStreamBuffer());
-			bulkFlushWritesPipe.source().register(this.selector, SelectionKey.OP_READ, this.bulkFlushWritesHandler);
-
-			// Create pipe to listen for connection close
-			Pipe safeCloseConectionPipe = Pipe.open();
-			safeCloseConectionPipe.source().configureBlocking(false);
-			this.safeCloseConnectionHandler = new SafeCloseConnectionHandler(safeCloseConectionPipe,
-					bufferPool.getPooledStreamBuffer());
-			safeCloseConectionPipe.source().register(this.selector, SelectionKey.OP_READ,
-					this.safeCloseConnectionHandler);
+			// Create handler to listen for accepted sockets
+			Pipe acceptedSocketPipe = this.openEventPipe();
+			this.acceptSocketHandler = new AcceptSocketHandler(acceptedSocketPipe, this, this.getEventReadBuffer());
+			this.registerEventPipe(acceptedSocketPipe, this.acceptSocketHandler);
+
+			// Create handler to listen for socket runnables
+			Pipe socketRunnablePipe = this.openEventPipe();
+			this.socketRunnableHandler = new SocketRunnableHandler(socketRunnablePipe, this, this.getEventReadBuffer());
+			this.registerEventPipe(socketRunnablePipe, this.socketRunnableHandler);
+
+			// Create handler to listen for safe socket writing
+			Pipe safeWriteSocketPipe = this.openEventPipe();
+			this.safeWriteSocketHandler = new SafeWriteSocketHandler(safeWriteSocketPipe, this,
+					this.getEventReadBuffer());
+			this.registerEventPipe(safeWriteSocketPipe, this.safeWriteSocketHandler);
+
+			// Create handler to bulk flush writes
+			Pipe bulkFlushWritesPipe = this.openEventPipe();
+			this.bulkFlushWritesHandler = new BulkFlushWritesHandler(bulkFlushWritesPipe, this,
+					this.getEventReadBuffer());
+			this.registerEventPipe(bulkFlushWritesPipe, this.bulkFlushWritesHandler);
+
+			// Create handler to listen for connection close
+			Pipe safeCloseConectionPipe = this.openEventPipe();
+			this.safeCloseConnectionHandler = new SafeCloseConnectionHandler(safeCloseConectionPipe, this,
+					this.getEventReadBuffer());
+			this.registerEventPipe(safeCloseConectionPipe, this.safeCloseConnectionHandler);
+
+			// Drain lock free events in order (bulk flush after writes)
+			this.lockFreeEventHandlers = new AbstractSafeReadHandler<?>[] { this.acceptSocketHandler,
+					this.socketRunnableHandler, this.safeWriteSocketHandler, this.bulkFlushWritesHandler,
+					this.safeCloseConnectionHandler };
 
 			// Create pipe to listen for shutdown
 			this.shutdownPipe = Pipe.open();
@@ -533,6 +806,104 @@ public class SocketManager {
 			this.shutdownPipe.source().register(this.selector, SelectionKey.OP_READ, this.shutdownHandler);
 		}
 
+		/**
+		 * Opens the {@link Pipe} to notify of events.
+		 * 
+		 * @return {@link Pipe} to notify of events. <code>null</code> if lock free
+		 *         events.
+		 * @throws IOException If fails to open the {@link Pipe}.
+		 */
+		private Pipe openEventPipe() throws IOException {
+
+			// No pipe if lock free events
+			if (this.isLockFreeEvents) {
+				return null;
+			}
+
+			// Open the pipe
+			Pipe pipe = Pipe.open();
+			pipe.source().configureBlocking(false);
+			return pipe;
+		}
+
+		/**
+		 * Obtains the {@link StreamBuffer} to read event notifications.
+		 * 
+		 * @return {@link StreamBuffer} to read event notifications. <code>null</code>
+		 *         if lock free events (as no notifications to read).
+		 */
+		private StreamBuffer<ByteBuffer> getEventReadBuffer() {
+			return this.isLockFreeEvents ? null : this.bufferPool.getPooledStreamBuffer();
+		}
+
+		/**
+		 * Registers the {@link Pipe} for handling events.
+		 * 
+		 * @param pipe    {@link Pipe}. May be <code>null</code> if lock free events.
+		 * @param handler {@link AbstractSafeReadHandler} to handle the events.
+		 * @throws IOException If fails to register the {@link Pipe}.
+		 */
+		private void registerEventPipe(Pipe pipe, AbstractSafeReadHandler<?> handler) throws IOException {
+			if (pipe != null) {
+				pipe.source().register(this.selector, SelectionKey.OP_READ, handler);
+			}
+		}
+
+		/**
+		 * Notifies that a lock free event is available.
+		 */
+		private final void notifyLockFreeEvent() {
+
+			// Only wake up if parked (coalesces wake ups)
+			if (this.isParked.compareAndSet(true, false)) {
+				this.selector.wakeup();
+			}
+		}
+
+		/**
+		 * Indicates if lock free events are awaiting handling.
+		 * 
+		 * @return <code>true</code> if lock free events awaiting handling.
+		 */
+		private final boolean isLockFreeEventsAvailable() {
+			for (int i = 0; i < this.lockFreeEventHandlers.length; i++) {
+				if (!this.lockFreeEventHandlers[i].lockFreeEvents.isEmpty()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Selects the {@link SelectionKey} instances with lock free events.
+		 * 
+		 * @throws IOException If fails to select.
+		 */
+		private final void selectWithLockFreeEvents() throws IOException {
+
+			// Flag parking (before checking for events to avoid missed wake up)
+			this.isParked.set(true);
+
+			// Select (only blocking if no events awaiting handling)
+			if (this.isLockFreeEventsAvailable()) {
+				this.isParked.set(false);
+				this.selector.selectNow();
+			} else {
+				this.selector.select(50);
+				this.isParked.set(false);
+			}
+
+			// Track time of select (for timing out connections)
+			if (this.timerWheel != null) {
+				this.currentTime = System.currentTimeMillis();
+			}
+
+			// Handle the events
+			for (int i = 0; i < this.lockFreeEventHandlers.length; i++) {
+				this.lockFreeEventHandlers[i].handleLockFreeEvents();
+			}
+		}
+
 		/**
 		 * Binds the {@link SocketServicer} to the port.
 		 * 
@@ -543,12 +914,16 @@ public class SocketManager {
 		 *                                be <code>null</code>.
 		 * @param socketServicerFactory   {@link SocketServicerFactory}.
 		 * @param requestServicerFactory  {@link RequestServicerFactory}.
+		 * @param isReusePort             Indicates to bind with
+		 *                                {@link StandardSocketOptions#SO_REUSEPORT}
+		 *                                and service accepted {@link Socket} instances
+		 *                                on this {@link SocketListener}.
 		 * @return Bound {@link ServerSocket}.
 		 * @throws IOException If fails to bind the {@link ServerSocket}.
 		 */
 		private final <R> ServerSocket bindServerSocket(int port, ServerSocketDecorator serverSocketDecorator,
 				AcceptedSocketDecorator acceptedSocketDecorator, SocketServicerFactory<R> socketServicerFactory,
-				RequestServicerFactory<R> requestServicerFactory) throws IOException {
+				RequestServicerFactory<R> requestServicerFactory, boolean isReusePort) throws IOException {
 
 			// Create the port socket address
 			InetSocketAddress portAddress = new InetSocketAddress(port);
@@ -569,6 +944,9 @@ public class SocketManager {
 					channel.configureBlocking(false);
 					socket = channel.socket();
 					socket.setReuseAddress(true);
+					if (isReusePort) {
+						channel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+					}
 					socket.setReceiveBufferSize(this.socketReceiveBufferSize);
 					int serverSocketBackLogSize = DEFAULT_SERVER_SOCKET_BACKLOG_SIZE;
 					if (serverSocketDecorator != null) {
@@ -609,7 +987,7 @@ public class SocketManager {
 
 			// Register the channel with the selector
 			channel.register(this.selector, SelectionKey.OP_ACCEPT, new AcceptHandler<R>(channel,
-					acceptedSocketDecorator, socketServicerFactory, requestServicerFactory));
+					acceptedSocketDecorator, socketServicerFactory, requestServicerFactory, isReusePort));
 
 			// Return the server socket
 			return socket;
@@ -677,13 +1055,22 @@ public class SocketManager {
 
 					// Select keys
 					try {
-						this.selector.select(50);
+						if (this.isLockFreeEvents) {
+							this.selectWithLockFreeEvents();
+						} else {
+							this.selector.select(50);
+						}
 					} catch (IOException ex) {
 						// Should not occur
 						LOGGER.log(Level.SEVERE, "Selector failure", ex);
 						return; // fatal error, so can not continue
 					}
 
+					// Track time of select (for timing out connections)
+					if ((this.timerWheel != null) && (!this.isLockFreeEvents)) {
+						this.currentTime = System.currentTimeMillis();
+					}
+
 					// Obtain the selected keys
 					Set<SelectionKey> selectedKeys = this.selector.selectedKeys();
 
@@ -722,7 +1109,12 @@ public class SocketManager {
 									// Manage the accepted socket
 									AcceptedSocket<Object> acceptedSocket = new AcceptedSocket<>(handler,
 											socketChannel);
-									SocketManager.this.manageAcceptedSocket(acceptedSocket);
+									if (handler.isAcceptLocally) {
+										// Service on this listener (avoids hand off)
+										new AcceptedSocketServicer<>(acceptedSocket, this);
+									} else {
+										SocketManager.this.manageAcceptedSocket(acceptedSocket);
+									}
 
 								} catch (IOException ex) {
 									// Should not fail to accept connection
@@ -808,6 +1200,11 @@ public class SocketManager {
 							continue NEXT_KEY;
 						}
 					}
+
+					// Time out connections
+					if (this.timerWheel != null) {
+						this.timerWheel.expireConnections(this.currentTime);
+					}
 				}
 
 			} finally {
@@ -836,6 +1233,237 @@ public class SocketManager {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Hashed timer wheel to time out the {@link AcceptedSocketServicer} instances
+	 * of a {@link SocketListener}.
+	 * <p>
+	 * The {@link AcceptedSocketServicer} instances are linked directly into the
+	 * slots (avoiding timer objects per connection). Activity on the connection
+	 * only updates times on the {@link AcceptedSocketServicer}, with the time out
+	 * re-evaluated (and possibly re-scheduled) when its slot expires. This avoids
+	 * re-scheduling on every read/write and scanning all {@link SelectionKey}
+	 * instances.
+	 * <p>
+	 * Only used by the {@link SocketListener} {@link Thread}.
+	 */
+	private static class ConnectionTimerWheel {
+
+		/**
+		 * Number of slots in the wheel. Must be a power of two.
+		 */
+		private static final int SLOT_COUNT = 512;
+
+		/**
+		 * Maximum duration (in milliseconds) of a tick of the wheel.
+		 */
+		private static final long MAX_TICK_DURATION = 1000;
+
+		/**
+		 * {@link SocketListener}.
+		 */
+		private final SocketListener socketListener;
+
+		/**
+		 * Keep alive timeout in milliseconds.
+		 */
+		private final long keepAliveTimeout;
+
+		/**
+		 * Request read timeout in milliseconds.
+		 */
+		private final long requestReadTimeout;
+
+		/**
+		 * Idle timeout in milliseconds.
+		 */
+		private final long idleTimeout;
+
+		/**
+		 * Maximum interval (in milliseconds) between checks of a connection. This
+		 * bounds how late a time out is detected, should the state of the connection
+		 * change between checks.
+		 */
+		private final long checkInterval;
+
+		/**
+		 * Duration (in milliseconds) of a tick of the wheel.
+		 */
+		private final long tickDuration;
+
+		/**
+		 * Head {@link AcceptedSocketServicer} for each slot.
+		 */
+		private final AcceptedSocketServicer<?>[] slots = new AcceptedSocketServicer<?>[SLOT_COUNT];
+
+		/**
+		 * Last tick expired.
+		 */
+		private long currentTick;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param socketListener     {@link SocketListener}.
+		 * @param keepAliveTimeout   Keep alive timeout in milliseconds.
+		 * @param requestReadTimeout Request read timeout in milliseconds.
+		 * @param idleTimeout        Idle timeout in milliseconds.
+		 */
+		private ConnectionTimerWheel(SocketListener socketListener, long keepAliveTimeout, long requestReadTimeout,
+				long idleTimeout) {
+			this.socketListener = socketListener;
+			this.keepAliveTimeout = keepAliveTimeout;
+			this.requestReadTimeout = requestReadTimeout;
+			this.idleTimeout = idleTimeout;
+
+			// Check at least as often as the smallest timeout
+			long checkInterval = Long.MAX_VALUE;
+			for (long timeout : new long[] { keepAliveTimeout, requestReadTimeout, idleTimeout }) {
+				if ((timeout > 0) && (timeout < checkInterval)) {
+					checkInterval = timeout;
+				}
+			}
+			this.checkInterval = checkInterval;
+
+			// Tick fine enough to time out close to the smallest timeout
+			this.tickDuration = Math.max(1, Math.min(MAX_TICK_DURATION, checkInterval / 16));
+			this.currentTick = System.currentTimeMillis() / this.tickDuration;
+		}
+
+		/**
+		 * Schedules checking the {@link AcceptedSocketServicer} for time out.
+		 * 
+		 * @param servicer  {@link AcceptedSocketServicer}.
+		 * @param checkTime Time (in milliseconds) to check for time out.
+		 */
+		private void scheduleConnection(AcceptedSocketServicer<?> servicer, long checkTime) {
+
+			// Determine the tick (rounding up to not check early)
+			long tick = Math.max((checkTime + this.tickDuration - 1) / this.tickDuration, this.currentTick + 1);
+
+			// Link into the slot
+			int slot = (int) (tick & (SLOT_COUNT - 1));
+			AcceptedSocketServicer<?> head = this.slots[slot];
+			servicer.timerTick = tick;
+			servicer.timerPrevious = null;
+			servicer.timerNext = head;
+			if (head != null) {
+				head.timerPrevious = servicer;
+			}
+			this.slots[slot] = servicer;
+		}
+
+		/**
+		 * Cancels checking the {@link AcceptedSocketServicer} for time out.
+		 * 
+		 * @param servicer {@link AcceptedSocketServicer}.
+		 */
+		private void cancelConnection(AcceptedSocketServicer<?> servicer) {
+
+			// Ignore if not scheduled
+			if (servicer.timerTick < 0) {
+				return;
+			}
+
+			// Unlink from the slot
+			if (servicer.timerPrevious != null) {
+				servicer.timerPrevious.timerNext = servicer.timerNext;
+			} else {
+				this.slots[(int) (servicer.timerTick & (SLOT_COUNT - 1))] = servicer.timerNext;
+			}
+			if (servicer.timerNext != null) {
+				servicer.timerNext.timerPrevious = servicer.timerPrevious;
+			}
+			servicer.timerTick = -1;
+			servicer.timerPrevious = null;
+			servicer.timerNext = null;
+		}
+
+		/**
+		 * Expires the ticks up to the current time, closing connections that have
+		 * timed out.
+		 * 
+		 * @param currentTime Current time in milliseconds.
+		 */
+		private void expireConnections(long currentTime) {
+
+			// Only need to expire each slot once (on falling behind)
+			long expireTick = currentTime / this.tickDuration;
+			if ((expireTick - this.currentTick) > SLOT_COUNT) {
+				this.currentTick = expireTick - SLOT_COUNT;
+			}
+
+			// Expire the ticks
+			while (this.currentTick < expireTick) {
+				this.currentTick++;
+
+				// Check the connections due (others are for later rotations)
+				AcceptedSocketServicer<?> servicer = this.slots[(int) (this.currentTick & (SLOT_COUNT - 1))];
+				while (servicer != null) {
+					AcceptedSocketServicer<?> next = servicer.timerNext;
+					if (servicer.timerTick <= this.currentTick) {
+						this.cancelConnection(servicer);
+						this.checkConnection(servicer, currentTime);
+					}
+					servicer = next;
+				}
+			}
+		}
+
+		/**
+		 * Checks whether the {@link AcceptedSocketServicer} has timed out. If timed
+		 * out, the connection is closed. Otherwise, it is re-scheduled.
+		 * 
+		 * @param servicer    {@link AcceptedSocketServicer}.
+		 * @param currentTime Current time in milliseconds.
+		 */
+		private void checkConnection(AcceptedSocketServicer<?> servicer, long currentTime) {
+
+			// Ignore if connection already closed
+			if ((servicer.isClosed) || (!servicer.selectionKey.isValid())) {
+				return;
+			}
+
+			// Determine the time out for the state of the connection
+			long deadline = Long.MAX_VALUE;
+			String timeout = null;
+			if (this.idleTimeout > 0) {
+				deadline = servicer.lastActivityTime + this.idleTimeout;
+				timeout = "idle";
+			}
+			if (!servicer.isUpgraded) {
+				if (servicer.requestReadStartTime > 0) {
+					// Reading the header of a request
+					if ((this.requestReadTimeout > 0)
+							&& (servicer.requestReadStartTime + this.requestReadTimeout < deadline)) {
+						deadline = servicer.requestReadStartTime + this.requestReadTimeout;
+						timeout = "request read";
+					}
+				} else if ((!servicer.isRequestHeaderRead) && (servicer.head == null)
+						&& (servicer.compactedResponseHead == null) && (servicer.writeResponseHead == null)) {
+					// No requests being read or serviced
+					if ((this.keepAliveTimeout > 0) && (servicer.lastActivityTime + this.keepAliveTimeout < deadline)) {
+						deadline = servicer.lastActivityTime + this.keepAliveTimeout;
+						timeout = "keep alive";
+					}
+				}
+			}
+
+			// Determine if timed out
+			if (deadline <= currentTime) {
+				this.socketListener.timedOutConnectionCount++;
+				if (LOGGER.isLoggable(Level.FINE)) {
+					LOGGER.log(Level.FINE, "Closing connection due to " + timeout + " timeout");
+				}
+				servicer.unsafeCloseConnection(null);
+				return;
+			}
+
+			// Check again (in case state of connection changes)
+			this.scheduleConnection(servicer, Math.min(deadline, currentTime + this.checkInterval));
+		}
+	}
+
 	/**
 	 * Accept handler.
 	 */
@@ -861,6 +1489,12 @@ public class SocketManager {
 		 */
 		private final RequestServicerFactory<R> requestServicerFactory;
 
+		/**
+		 * Indicates to service the accepted {@link Socket} on the accepting
+		 * {@link SocketListener}.
+		 */
+		private final boolean isAcceptLocally;
+
 		/**
 		 * Instantiate.
 		 * 
@@ -868,13 +1502,18 @@ public class SocketManager {
 		 * @param acceptedSocketDecorator {@link AcceptedSocketDecorator}.
 		 * @param socketServicerFactory   {@link SocketServicer}.
 		 * @param requestServicerFactory  {@link RequestServicer}.
+		 * @param isAcceptLocally         Indicates to service the accepted
+		 *                                {@link Socket} on the accepting
+		 *                                {@link SocketListener}.
 		 */
 		private AcceptHandler(ServerSocketChannel channel, AcceptedSocketDecorator acceptedSocketDecorator,
-				SocketServicerFactory<R> socketServicerFactory, RequestServicerFactory<R> requestServicerFactory) {
+				SocketServicerFactory<R> socketServicerFactory, RequestServicerFactory<R> requestServicerFactory,
+				boolean isAcceptLocally) {
 			this.channel = channel;
 			this.acceptedSocketDecorator = acceptedSocketDecorator;
 			this.socketServicerFactory = socketServicerFactory;
 			this.requestServicerFactory = requestServicerFactory;
+			this.isAcceptLocally = isAcceptLocally;
 		}
 	}
 
@@ -934,15 +1573,26 @@ public class SocketManager {
 	private static abstract class AbstractSafeReadHandler<E> extends AbstractReadHandler {
 
 		/**
-		 * {@link Pipe} to send unsafe operations.
+		 * {@link Pipe} to send unsafe operations. <code>null</code> if lock free
+		 * events.
 		 */
 		private final Pipe pipe;
 
+		/**
+		 * {@link SocketListener}.
+		 */
+		private final SocketListener socketListener;
+
 		/**
 		 * Unsafe events to be run in safe context.
 		 */
 		private final List<E> events = new ArrayList<>();
 
+		/**
+		 * Unsafe events to be run in safe context, when handing off lock free.
+		 */
+		private final Queue<E> lockFreeEvents = new ConcurrentLinkedQueue<>();
+
 		/**
 		 * Indicates if notified.
 		 */
@@ -951,12 +1601,16 @@ public class SocketManager {
 		/**
 		 * Instantiate.
 		 * 
-		 * @param pipe       {@link Pipe} to send unsafe events to be handled safely.
-		 * @param readBuffer {@link StreamBuffer} to read notifications.
-		 */
-		public AbstractSafeReadHandler(Pipe pipe, StreamBuffer<ByteBuffer> readBuffer) {
-			super(pipe.source());
+		 * @param pipe           {@link Pipe} to send unsafe events to be handled
+		 *                       safely. <code>null</code> to hand off events lock
+		 *                       free.
+		 * @param socketListener {@link SocketListener}.
+		 * @param readBuffer     {@link StreamBuffer} to read notifications.
+		 */
+		public AbstractSafeReadHandler(Pipe pipe, SocketListener socketListener, StreamBuffer<ByteBuffer> readBuffer) {
+			super(pipe != null ? pipe.source() : null);
 			this.pipe = pipe;
+			this.socketListener = socketListener;
 			this.readBuffer = readBuffer;
 		}
 
@@ -965,7 +1619,29 @@ public class SocketManager {
 		 * 
 		 * @param event Unsafe event.
 		 */
-		protected synchronized final void sendUnsafeEvent(E event) {
+		protected final void sendUnsafeEvent(E event) {
+
+			// Determine if hand off lock free
+			if (this.pipe == null) {
+
+				// Queue the event
+				this.lockFreeEvents.offer(event);
+
+				// Notify (only wakes up if parked)
+				this.socketListener.notifyLockFreeEvent();
+				return;
+			}
+
+			// Notify via pipe
+			this.sendPipeEvent(event);
+		}
+
+		/**
+		 * Sends the unsafe event via the {@link Pipe}.
+		 * 
+		 * @param event Unsafe event.
+		 */
+		private synchronized final void sendPipeEvent(E event) {
 
 			// Queue the event
 			this.events.add(event);
@@ -984,6 +1660,21 @@ public class SocketManager {
 			}
 		}
 
+		/**
+		 * Handles the lock free events.
+		 */
+		private final void handleLockFreeEvents() {
+			E event;
+			while ((event = this.lockFreeEvents.poll()) != null) {
+				try {
+					this.safelyHandleEvent(event);
+				} catch (Throwable ex) {
+					LOGGER.log(Level.WARNING,
+							"Failed to handle event " + event + " [" + event.getClass().getName() + "]", ex);
+				}
+			}
+		}
+
 		/**
 		 * Safely handles the event.
 		 * 
@@ -1045,7 +1736,7 @@ public class SocketManager {
 		 */
 		private AcceptSocketHandler(Pipe acceptedSocketPipe, SocketListener listener,
 				StreamBuffer<ByteBuffer> readBuffer) {
-			super(acceptedSocketPipe, readBuffer);
+			super(acceptedSocketPipe, listener, readBuffer);
 			this.socketListener = listener;
 		}
 
@@ -1185,6 +1876,53 @@ public class SocketManager {
 		 */
 		private int writeOps = 0;
 
+		/**
+		 * Indicates if the connection is closed. May be read by any {@link Thread} to
+		 * determine whether to continue streaming a response.
+		 */
+		private volatile boolean isClosed = false;
+
+		/**
+		 * Time (in milliseconds) data was last read or written. Only maintained if
+		 * {@link ConnectionTimerWheel} in use.
+		 */
+		private long lastActivityTime = 0;
+
+		/**
+		 * Time (in milliseconds) the first bytes of the next request were read.
+		 * <code>0</code> if not reading the header of a request.
+		 */
+		private long requestReadStartTime = 0;
+
+		/**
+		 * Indicates if the header of the current request has been read, so only
+		 * reading its entity.
+		 */
+		private boolean isRequestHeaderRead = false;
+
+		/**
+		 * Indicates if the connection has been upgraded to a protocol with its own
+		 * framing, so is no longer subject to keep alive and request read timeouts.
+		 */
+		private volatile boolean isUpgraded = false;
+
+		/**
+		 * Tick of the {@link ConnectionTimerWheel} to check for time out.
+		 * <code>-1</code> if not scheduled.
+		 */
+		private long timerTick = -1;
+
+		/**
+		 * Previous {@link AcceptedSocketServicer} in the {@link ConnectionTimerWheel}
+		 * slot.
+		 */
+		private AcceptedSocketServicer<?> timerPrevious = null;
+
+		/**
+		 * Next {@link AcceptedSocketServicer} in the {@link ConnectionTimerWheel} slot.
+		 */
+		private AcceptedSocketServicer<?> timerNext = null;
+
 		/**
 		 * Instantiate.
 		 * 
@@ -1209,6 +1947,13 @@ public class SocketManager {
 			// Register for servicing
 			this.selectionKey = acceptedSocket.socketChannel.register(this.socketListener.selector,
 					SelectionKey.OP_READ, this);
+
+			// Schedule timing out the connection
+			ConnectionTimerWheel timerWheel = this.socketListener.timerWheel;
+			if (timerWheel != null) {
+				this.lastActivityTime = System.currentTimeMillis();
+				timerWheel.scheduleConnection(this, this.lastActivityTime + timerWheel.checkInterval);
+			}
 		}
 
 		/**
@@ -1241,21 +1986,67 @@ public class SocketManager {
 		 * @param headResponseBuffer   Head response {@link StreamBuffer} of the linked
 		 *                             list of {@link StreamBuffer} instances for the
 		 *                             {@link SocketRequest}.
+		 * @param isResponseComplete   Indicates if the response is complete. Will be
+		 *                             <code>false</code> for a part of a streamed
+		 *                             response.
 		 */
 		private final void unsafeWriteResponse(SocketRequest<R> socketRequest,
-				ResponseHeaderWriter responseHeaderWriter, StreamBuffer<ByteBuffer> headResponseBuffer) {
+				ResponseHeaderWriter responseHeaderWriter, StreamBuffer<ByteBuffer> headResponseBuffer,
+				boolean isResponseComplete) {
+
+			// Determine if connection closed (e.g. part of long lived response)
+			if (this.isClosed) {
+				while (headResponseBuffer != null) {
+					StreamBuffer<ByteBuffer> release = headResponseBuffer;
+					headResponseBuffer = headResponseBuffer.next;
+					release.release();
+				}
+				return; // connection closed, so discard response
+			}
+
+			// Determine if appending to a response part not yet written
+			if ((responseHeaderWriter != null)
+					&& ((socketRequest.responseHeaderWriter != null) || (socketRequest.headResponseBuffer != null))) {
+
+				// Header must follow previous part, so write header into the part
+				StreamBuffer<ByteBuffer> partHeadBuffer = this.socketListener.bufferPool.getPooledStreamBuffer();
+				responseHeaderWriter.write(partHeadBuffer, this.socketListener.bufferPool);
+				StreamBuffer<ByteBuffer> partHeadTail = partHeadBuffer;
+				while (partHeadTail.next != null) {
+					partHeadTail = partHeadTail.next;
+				}
+				partHeadTail.next = headResponseBuffer;
+				headResponseBuffer = partHeadBuffer;
+				responseHeaderWriter = null;
+			}
 
 			// Provide the response for the request
-			socketRequest.responseHeaderWriter = responseHeaderWriter;
-			socketRequest.headResponseBuffer = headResponseBuffer;
+			if (responseHeaderWriter != null) {
+				socketRequest.responseHeaderWriter = responseHeaderWriter;
+			}
+			if (socketRequest.headResponseBuffer == null) {
+				socketRequest.headResponseBuffer = headResponseBuffer;
+			} else {
+				// Append to response part not yet written
+				StreamBuffer<ByteBuffer> responseTail = socketRequest.headResponseBuffer;
+				while (responseTail.next != null) {
+					responseTail = responseTail.next;
+				}
+				responseTail.next = headResponseBuffer;
+			}
 
-			// Response written (so release all request buffers)
-			while (socketRequest.headRequestBuffer != null) {
-				StreamBuffer<ByteBuffer> release = socketRequest.headRequestBuffer;
-				socketRequest.headRequestBuffer = socketRequest.headRequestBuffer.next;
+			// Determine if response complete
+			if (isResponseComplete) {
+				socketRequest.isResponseComplete = true;
 
-				// Must release buffer after released from chain
-				release.release();
+				// Response written (so release all request buffers)
+				while (socketRequest.headRequestBuffer != null) {
+					StreamBuffer<ByteBuffer> release = socketRequest.headRequestBuffer;
+					socketRequest.headRequestBuffer = socketRequest.headRequestBuffer.next;
+
+					// Must release buffer after released from chain
+					release.release();
+				}
 			}
 
 			// Prepare the pooled response buffers
@@ -1284,7 +2075,8 @@ public class SocketManager {
 				while (this.head != null) {
 
 					// Ensure a response for request
-					if ((this.head.responseHeaderWriter == null) && (this.head.headResponseBuffer == null)) {
+					if ((this.head.responseHeaderWriter == null) && (this.head.headResponseBuffer == null)
+							&& (!this.head.isResponseComplete)) {
 						return; // no response yet
 					}
 
@@ -1377,8 +2169,14 @@ public class SocketManager {
 						}
 					}
 
+					// Determine if only part of the response (streaming)
+					if (!this.head.isResponseComplete) {
+						break; // flush part, with further parts to follow
+					}
+
 					// Compacted head response, so move onto next request
 					this.head = this.head.next;
+					this.socketListener.responseCount++;
 
 					// Determine if start reading again
 					this.activeSocketRequests--;
@@ -1480,6 +2278,10 @@ public class SocketManager {
 
 					// Write the file content to the socket
 					long bytesWritten = writeBuffer.file.transferTo(position, count, this.socketChannel);
+					this.socketListener.writeSystemCallCount++;
+					if (bytesWritten > 0) {
+						this.lastActivityTime = this.socketListener.currentTime;
+					}
 
 					// Increment the number of bytes written
 					writeBuffer.bytesWritten += bytesWritten;
@@ -1501,6 +2303,13 @@ public class SocketManager {
 						writeBuffer.callback.complete(writeBuffer.file, true);
 					}
 
+				} else if (this.socketListener.gatheringWriteBuffers != null) {
+					// Gather consecutive pooled / unpooled buffers into single write
+					if (!this.unsafeGatheringWrite()) {
+						return false; // require further writes
+					}
+					continue; // written buffers released
+
 				} else {
 					// Pooled / Unpooled buffer
 					ByteBuffer writeBuffer = (this.writeResponseHead.pooledBuffer != null)
@@ -1508,7 +2317,11 @@ public class SocketManager {
 							: this.writeResponseHead.unpooledByteBuffer;
 
 					// Write the buffer to the socket
-					this.socketChannel.write(writeBuffer);
+					int bytesWritten = this.socketChannel.write(writeBuffer);
+					this.socketListener.writeSystemCallCount++;
+					if (bytesWritten > 0) {
+						this.lastActivityTime = this.socketListener.currentTime;
+					}
 
 					// Determine if written all bytes
 					if (writeBuffer.remaining() != 0) {
@@ -1535,6 +2348,68 @@ public class SocketManager {
 			return true;
 		}
 
+		/**
+		 * Undertakes a gathering write of the consecutive pooled / unpooled
+		 * {@link StreamBuffer} instances at the head of the writes. Fully written
+		 * {@link StreamBuffer} instances are released.
+		 * 
+		 * @return <code>true</code> if all gathered data written. Otherwise,
+		 *         <code>false</code> indicating the {@link Socket} buffer filled.
+		 */
+		private final boolean unsafeGatheringWrite() throws IOException {
+
+			// Gather the consecutive buffers (stopping at file buffer)
+			ByteBuffer[] gather = this.socketListener.gatheringWriteBuffers;
+			int gatherCount = 0;
+			StreamBuffer<ByteBuffer> streamBuffer = this.writeResponseHead;
+			while ((streamBuffer != null) && (streamBuffer.fileBuffer == null) && (gatherCount < gather.length)) {
+				gather[gatherCount++] = (streamBuffer.pooledBuffer != null) ? streamBuffer.pooledBuffer
+						: streamBuffer.unpooledByteBuffer;
+				streamBuffer = streamBuffer.next;
+			}
+
+			try {
+				// Write the buffers to the socket
+				long bytesWritten = this.socketChannel.write(gather, 0, gatherCount);
+				this.socketListener.writeSystemCallCount++;
+				if (bytesWritten > 0) {
+					this.lastActivityTime = this.socketListener.currentTime;
+				}
+
+				// Release the written buffers
+				for (int i = 0; i < gatherCount; i++) {
+
+					// Determine if written all bytes
+					if (gather[i].remaining() != 0) {
+						// Not all bytes written, so write when buffer emptied
+
+						// Flag interest in write (as buffer full)
+						this.writeOps = SelectionKey.OP_WRITE;
+						this.selectionKey.interestOps(this.readOps() | this.writeOps);
+
+						// Can not write anything further
+						return false; // require further writes
+					}
+
+					// Capture buffer for release, and move to next buffer
+					StreamBuffer<ByteBuffer> release = this.writeResponseHead;
+					this.writeResponseHead = this.writeResponseHead.next;
+
+					// Release the written buffer
+					release.release();
+				}
+
+			} finally {
+				// Clear gathered (allows buffers to be garbage collected)
+				for (int i = 0; i < gatherCount; i++) {
+					gather[i] = null;
+				}
+			}
+
+			// As here, all gathered data written
+			return true;
+		}
+
 		/**
 		 * Closes the connection.
 		 * 
@@ -1559,6 +2434,14 @@ public class SocketManager {
 
 			// Only invoked by Socket Listener thread
 
+			// Track reading (for timing out connection)
+			if (bytesRead > 0) {
+				this.lastActivityTime = this.socketListener.currentTime;
+				if ((this.requestReadStartTime == 0) && (!this.isRequestHeaderRead)) {
+					this.requestReadStartTime = this.socketListener.currentTime;
+				}
+			}
+
 			// Going to flush at end of read
 			this.isGoingToFlush = true;
 
@@ -1583,6 +2466,14 @@ public class SocketManager {
 
 			// Only invoked by Socket Listener thread
 
+			// Releasing buffers, as connection closed
+			this.isClosed = true;
+
+			// No longer time out the connection
+			if (this.socketListener.timerWheel != null) {
+				this.socketListener.timerWheel.cancelConnection(this);
+			}
+
 			// Release socket read buffer
 			if (this.previousRequestBuffer != null) {
 				if (this.readBuffer == this.previousRequestBuffer) {
@@ -1675,10 +2566,40 @@ public class SocketManager {
 			// Ensure only handle requests on socket listener thread
 			this.socketListener.ensureSocketListenerThread();
 
-			// Create the socket request
+			// Create the socket request (releasing read buffers on response)
 			SocketRequest<R> socketRequest = new SocketRequest<>(this, this.releaseRequestBuffers);
 			this.releaseRequestBuffers = null;
 
+			// Request read (so no longer timing the read)
+			this.requestReadStartTime = 0;
+			this.isRequestHeaderRead = false;
+
+			// Service the request
+			this.unsafeHandleRequest(request, socketRequest);
+		}
+
+		@Override
+		public final void handlePushRequest(R request) throws IOException {
+
+			// Ensure only handle requests on socket listener thread
+			this.socketListener.ensureSocketListenerThread();
+
+			// Create the socket request (read buffers may still be in use)
+			SocketRequest<R> socketRequest = new SocketRequest<>(this, null);
+
+			// Service the request
+			this.unsafeHandleRequest(request, socketRequest);
+		}
+
+		/**
+		 * {@link Thread} unsafe handling of the request.
+		 * 
+		 * @param request       Request.
+		 * @param socketRequest {@link SocketRequest} for the request.
+		 * @throws IOException If fails to handle the request.
+		 */
+		private final void unsafeHandleRequest(R request, SocketRequest<R> socketRequest) throws IOException {
+
 			// Add to pipeline of requests
 			if (this.head == null) {
 				// First request
@@ -1726,6 +2647,19 @@ public class SocketManager {
 			}
 		}
 
+		@Override
+		public final void requestHeaderRead() {
+
+			// Header read (so no longer timing the read of the entity)
+			this.requestReadStartTime = 0;
+			this.isRequestHeaderRead = true;
+		}
+
+		@Override
+		public final void upgradedConnection() {
+			this.isUpgraded = true;
+		}
+
 		@Override
 		public final void closeConnection(Throwable exception) {
 			// Appropriately execute based on thread safety
@@ -1748,10 +2682,12 @@ public class SocketManager {
 		 * Instantiate.
 		 * 
 		 * @param socketRunnablePipe Notify execution {@link Pipe}.
+		 * @param socketListener     {@link SocketListener}.
 		 * @param readBuffer         {@link StreamBuffer} to read notifications.
 		 */
-		private SocketRunnableHandler(Pipe socketRunnablePipe, StreamBuffer<ByteBuffer> readBuffer) {
-			super(socketRunnablePipe, readBuffer);
+		private SocketRunnableHandler(Pipe socketRunnablePipe, SocketListener socketListener,
+				StreamBuffer<ByteBuffer> readBuffer) {
+			super(socketRunnablePipe, socketListener, readBuffer);
 		}
 
 		/**
@@ -1816,10 +2752,12 @@ public class SocketManager {
 		 * Instantiate.
 		 * 
 		 * @param writeSocketPipe Notify write {@link Pipe}.
+		 * @param socketListener  {@link SocketListener}.
 		 * @param readBuffer      {@link StreamBuffer} to read notifications.
 		 */
-		private SafeWriteSocketHandler(Pipe writeSocketPipe, StreamBuffer<ByteBuffer> readBuffer) {
-			super(writeSocketPipe, readBuffer);
+		private SafeWriteSocketHandler(Pipe writeSocketPipe, SocketListener socketListener,
+				StreamBuffer<ByteBuffer> readBuffer) {
+			super(writeSocketPipe, socketListener, readBuffer);
 		}
 
 		/**
@@ -1835,12 +2773,13 @@ public class SocketManager {
 		 * @param responseHeaderWriter {@link ResponseHeaderWriter}.
 		 * @param headResponseBuffer   Head {@link StreamBuffer} to the linked list of
 		 *                             {@link StreamBuffer} instances for the response.
+		 * @param isResponseComplete   Indicates if the response is complete.
 		 */
 		private final <R> void safeWriteResponse(AcceptedSocketServicer<R> acceptedSocket,
 				SocketRequest<R> socketRequest, ResponseHeaderWriter responseHeaderWriter,
-				StreamBuffer<ByteBuffer> headResponseBuffer) {
-			this.sendUnsafeEvent(
-					new SafeWriteResponse<>(acceptedSocket, socketRequest, responseHeaderWriter, headResponseBuffer));
+				StreamBuffer<ByteBuffer> headResponseBuffer, boolean isResponseComplete) {
+			this.sendUnsafeEvent(new SafeWriteResponse<>(acceptedSocket, socketRequest, responseHeaderWriter,
+					headResponseBuffer, isResponseComplete));
 		}
 
 		/*
@@ -1851,7 +2790,7 @@ public class SocketManager {
 		@SuppressWarnings({ "unchecked", "rawtypes" })
 		protected void safelyHandleEvent(SafeWriteResponse response) {
 			response.acceptedSocket.unsafeWriteResponse(response.socketRequest, response.responseHeaderWriter,
-					response.headResponseBuffer);
+					response.headResponseBuffer, response.isResponseComplete);
 		}
 	}
 
@@ -1881,6 +2820,11 @@ public class SocketManager {
 		 */
 		private final StreamBuffer<ByteBuffer> headResponseBuffer;
 
+		/**
+		 * Indicates if the response is complete.
+		 */
+		private final boolean isResponseComplete;
+
 		/**
 		 * Instantiate.
 		 * 
@@ -1889,13 +2833,16 @@ public class SocketManager {
 		 * @param responseHeaderWriter {@link ResponseHeaderWriter}.
 		 * @param headResponseBuffer   Head {@link StreamBuffer} to the linked list of
 		 *                             {@link StreamBuffer} instances for the response.
+		 * @param isResponseComplete   Indicates if the response is complete.
 		 */
 		public SafeWriteResponse(AcceptedSocketServicer<R> acceptedSocket, SocketRequest<R> socketRequest,
-				ResponseHeaderWriter responseHeaderWriter, StreamBuffer<ByteBuffer> headResponseBuffer) {
+				ResponseHeaderWriter responseHeaderWriter, StreamBuffer<ByteBuffer> headResponseBuffer,
+				boolean isResponseComplete) {
 			this.acceptedSocket = acceptedSocket;
 			this.socketRequest = socketRequest;
 			this.responseHeaderWriter = responseHeaderWriter;
 			this.headResponseBuffer = headResponseBuffer;
+			this.isResponseComplete = isResponseComplete;
 		}
 	}
 
@@ -1926,6 +2873,19 @@ public class SocketManager {
 		 */
 		private StreamBuffer<ByteBuffer> headResponseBuffer = null;
 
+		/**
+		 * Indicates if the response is complete. A streamed response is written in
+		 * parts before being complete.
+		 */
+		private boolean isResponseComplete = false;
+
+		/**
+		 * Indicates if a write has been handed to the {@link SafeWriteSocketHandler}.
+		 * Once handed off, all further writes must also be handed off to ensure the
+		 * parts of a streamed response are written in order.
+		 */
+		private volatile boolean isSafeWrite = false;
+
 		/**
 		 * Next {@link SocketRequest}.
 		 */
@@ -1947,6 +2907,30 @@ public class SocketManager {
 			this.headRequestBuffer = headRequestBuffer;
 		}
 
+		/**
+		 * Writes the response.
+		 * 
+		 * @param responseHeaderWriter {@link ResponseHeaderWriter}.
+		 * @param headResponseBuffers  Head {@link StreamBuffer} to the linked list of
+		 *                             {@link StreamBuffer} instances for the response.
+		 * @param isResponseComplete   Indicates if the response is complete.
+		 */
+		private final void writeResponse(ResponseHeaderWriter responseHeaderWriter,
+				StreamBuffer<ByteBuffer> headResponseBuffers, boolean isResponseComplete) {
+
+			// Appropriately write the response based on thread safety
+			if ((!this.isSafeWrite) && (this.acceptedSocket.socketListener.isSocketListenerThread())) {
+				this.acceptedSocket.unsafeWriteResponse(this, responseHeaderWriter, headResponseBuffers,
+						isResponseComplete);
+
+			} else {
+				// Writes to the request, so may happen in any order
+				this.isSafeWrite = true;
+				this.acceptedSocket.socketListener.safeWriteSocketHandler.safeWriteResponse(this.acceptedSocket, this,
+						responseHeaderWriter, headResponseBuffers, isResponseComplete);
+			}
+		}
+
 		/*
 		 * ================== ResponseWriter ==================
 		 */
@@ -1964,22 +2948,24 @@ public class SocketManager {
 		@Override
 		public final void write(ResponseHeaderWriter responseHeaderWriter,
 				StreamBuffer<ByteBuffer> headResponseBuffers) {
+			this.writeResponse(responseHeaderWriter, headResponseBuffers, true);
+		}
 
-			// Appropriately write the response based on thread safety
-			if (this.acceptedSocket.socketListener.isSocketListenerThread()) {
-				this.acceptedSocket.unsafeWriteResponse(this, responseHeaderWriter, headResponseBuffers);
-
-			} else {
-				// Writes to the request, so may happen in any order
-				this.acceptedSocket.socketListener.safeWriteSocketHandler.safeWriteResponse(this.acceptedSocket, this,
-						responseHeaderWriter, headResponseBuffers);
-			}
+		@Override
+		public final void writePartial(ResponseHeaderWriter responseHeaderWriter,
+				StreamBuffer<ByteBuffer> headResponseBuffers) {
+			this.writeResponse(responseHeaderWriter, headResponseBuffers, false);
 		}
 
 		@Override
 		public void closeConnection(Throwable failure) {
 			this.acceptedSocket.closeConnection(failure);
 		}
+
+		@Override
+		public boolean isClosed() {
+			return this.acceptedSocket.isClosed;
+		}
 	}
 
 	/**
@@ -1992,10 +2978,12 @@ public class SocketManager {
 		 * Instantiate.
 		 * 
 		 * @param flushWritesPipe Notify flush writes {@link Pipe}.
+		 * @param socketListener  {@link SocketListener}.
 		 * @param readBuffer      {@link StreamBuffer} to read notifications.
 		 */
-		private BulkFlushWritesHandler(Pipe flushWritesPipe, StreamBuffer<ByteBuffer> readBuffer) {
-			super(flushWritesPipe, readBuffer);
+		private BulkFlushWritesHandler(Pipe flushWritesPipe, SocketListener socketListener,
+				StreamBuffer<ByteBuffer> readBuffer) {
+			super(flushWritesPipe, socketListener, readBuffer);
 		}
 
 		/**
@@ -2035,10 +3023,12 @@ public class SocketManager {
 		 * Instantiate.
 		 * 
 		 * @param closeConnectionPipe Close connection {@link Pipe}.
+		 * @param socketListener      {@link SocketListener}.
 		 * @param readBuffer          {@link StreamBuffer} to read notifications.
 		 */
-		private SafeCloseConnectionHandler(Pipe closeConnectionPipe, StreamBuffer<ByteBuffer> readBuffer) {
-			super(closeConnectionPipe, readBuffer);
+		private SafeCloseConnectionHandler(Pipe closeConnectionPipe, SocketListener socketListener,
+				StreamBuffer<ByteBuffer> readBuffer) {
+			super(closeConnectionPipe, socketListener, readBuffer);
 		}
 
 		/**
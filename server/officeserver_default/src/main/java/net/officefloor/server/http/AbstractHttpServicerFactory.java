@@ -23,9 +23,19 @@ package net.officefloor.server.http;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import net.officefloor.frame.api.escalate.Escalation;
+import net.officefloor.frame.api.function.FlowCallback;
 import net.officefloor.frame.api.manage.ProcessManager;
 import net.officefloor.server.RequestHandler;
 import net.officefloor.server.RequestServicer;
@@ -33,11 +43,28 @@ import net.officefloor.server.RequestServicerFactory;
 import net.officefloor.server.ResponseWriter;
 import net.officefloor.server.SocketServicer;
 import net.officefloor.server.SocketServicerFactory;
+import net.officefloor.server.buffer.StreamBufferByteSequence;
+import net.officefloor.server.http.http2.HpackDecoder;
+import net.officefloor.server.http.http2.HpackEncoder;
+import net.officefloor.server.http.http2.Http2Exception;
+import net.officefloor.server.http.http2.Http2FrameParser;
+import net.officefloor.server.http.http2.Http2FrameWriter;
+import net.officefloor.server.http.http2.Http2ResponseEntity;
+import net.officefloor.server.http.impl.HttpResponseCompression;
+import net.officefloor.server.http.impl.NonMaterialisedHttpHeader;
 import net.officefloor.server.http.impl.NonMaterialisedHttpHeaders;
 import net.officefloor.server.http.impl.ProcessAwareServerHttpConnectionManagedObject;
+import net.officefloor.server.http.impl.SerialisableHttpHeader;
 import net.officefloor.server.http.parse.HttpRequestParser;
 import net.officefloor.server.http.parse.HttpRequestParser.HttpRequestParserMetaData;
+import net.officefloor.server.http.websocket.WebSocketException;
+import net.officefloor.server.http.websocket.WebSocketFrameParser;
+import net.officefloor.server.http.websocket.WebSocketFrameWriter;
+import net.officefloor.server.http.websocket.WebSocketHandshake;
+import net.officefloor.server.http.websocket.WebSocketMessageImpl;
+import net.officefloor.server.stream.BufferJvmFix;
 import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
 import net.officefloor.server.stream.impl.ByteSequence;
 
 /**
@@ -54,13 +81,45 @@ public abstract class AbstractHttpServicerFactory
 	private static byte[] HEADER_EOLN = "\r\n".getBytes(ServerHttpConnection.HTTP_CHARSET);
 	private static byte[] COLON_SPACE = ": ".getBytes(ServerHttpConnection.HTTP_CHARSET);
 
+	private static byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(ServerHttpConnection.HTTP_CHARSET);
+
 	private static final HttpHeaderName CONTENT_LENGTH_NAME = new HttpHeaderName("Content-Length");
 	private static final HttpHeaderName CONTENT_TYPE_NAME = new HttpHeaderName("Content-Type");
+	private static final HttpHeaderName TRANSFER_ENCODING_NAME = new HttpHeaderName("Transfer-Encoding");
+	private static final HttpHeaderValue CHUNKED_VALUE = new HttpHeaderValue("chunked");
+
+	private static final HttpHeaderName UPGRADE_NAME = new HttpHeaderName("Upgrade");
+	private static final HttpHeaderValue WEBSOCKET_VALUE = new HttpHeaderValue("websocket");
+	private static final HttpHeaderName CONNECTION_NAME = new HttpHeaderName("Connection");
+	private static final HttpHeaderValue UPGRADE_VALUE = new HttpHeaderValue("Upgrade");
+	private static final HttpHeaderName SEC_WEBSOCKET_ACCEPT_NAME = new HttpHeaderName("Sec-WebSocket-Accept");
+
+	private static final HttpVersion HTTP_2 = new HttpVersion("HTTP/2");
+	private static final int HTTP2_MAX_CONCURRENT_STREAMS = 100;
+	private static final int HTTP2_DEFAULT_WINDOW_SIZE = 65535;
+	private static final int HTTP2_HEADER_TABLE_SIZE = 4096;
+	private static final Set<String> HTTP2_CONNECTION_HEADER_NAMES = new HashSet<>(
+			Arrays.asList("connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade"));
+
+	private static final Supplier<HttpException> exceptionInvalidConnectionStart = () -> new HttpException(
+			new HttpStatus(HttpStatus.BAD_REQUEST.getStatusCode(), "Invalid start of connection"));
 
 	private static final ProcessManager FAIL_PROCESSING = () -> {
 		// nothing to cancel, as already failed
 	};
 
+	private static final ProcessManager NO_PROCESSING = () -> {
+		// nothing to cancel, as serviced on socket thread
+	};
+
+	private static final HttpResponseWriter<ByteBuffer> WEB_SOCKET_MESSAGE_RESPONSE_WRITER = (version, status,
+			headHttpHeader, headHttpCookie, contentLength, contentType, contentHeadStreamBuffer) -> {
+		// Upgrade was the response, so no response for messages (nor streaming)
+		releaseStreamBuffers(contentHeadStreamBuffer);
+		throw new IllegalStateException(
+				"No " + HttpResponse.class.getSimpleName() + " for " + WebSocketMessage.class.getSimpleName());
+	};
+
 	/**
 	 * {@link HttpServerLocation}.
 	 */
@@ -104,6 +163,66 @@ public abstract class AbstractHttpServicerFactory
 	protected abstract ProcessManager service(ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection)
 			throws IOException, HttpException;
 
+	/**
+	 * <p>
+	 * Indicates if upgrade to {@link WebSocket} is supported.
+	 * <p>
+	 * By default, {@link WebSocket} upgrade requests are serviced as any other
+	 * {@link HttpRequest}.
+	 * 
+	 * @return <code>true</code> to upgrade {@link WebSocket} requests.
+	 */
+	protected boolean isWebSocketSupported() {
+		return false;
+	}
+
+	/**
+	 * Services the {@link WebSocketMessage}.
+	 * 
+	 * @param message    {@link WebSocketMessage}.
+	 * @param connection {@link ProcessAwareServerHttpConnectionManagedObject} of
+	 *                   the {@link HttpRequest} upgraded to the
+	 *                   {@link WebSocket}.
+	 * @param callback   {@link FlowCallback} to be invoked once the
+	 *                   {@link WebSocketMessage} is serviced.
+	 * @return {@link ProcessManager} to servicing the {@link WebSocketMessage}.
+	 * @throws IOException If IO failure.
+	 */
+	protected ProcessManager service(WebSocketMessage message,
+			ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection, FlowCallback callback)
+			throws IOException {
+		throw new IOException(WebSocket.class.getSimpleName() + " not supported by " + this.getClass().getName());
+	}
+
+	/**
+	 * <p>
+	 * Indicates if HTTP/2 is supported.
+	 * <p>
+	 * HTTP/2 connections are detected by the connection preface (prior knowledge
+	 * for clear text, or negotiated by ALPN for secure {@link Socket}). Each
+	 * stream of the connection is then serviced as a separate
+	 * {@link ServerHttpConnection}.
+	 * <p>
+	 * By default, only HTTP/1.x is supported.
+	 * 
+	 * @return <code>true</code> to service HTTP/2 connections.
+	 */
+	protected boolean isHttp2Supported() {
+		return false;
+	}
+
+	/**
+	 * Obtains the {@link HttpResponseCompression}.
+	 * <p>
+	 * By default, {@link HttpResponse} entities are not compressed.
+	 * 
+	 * @return {@link HttpResponseCompression}. May be <code>null</code> to not
+	 *         compress {@link HttpResponse} entities.
+	 */
+	protected HttpResponseCompression getHttpResponseCompression() {
+		return null;
+	}
+
 	/*
 	 * =============== SocketServicerFactory =================
 	 */
@@ -162,6 +281,43 @@ public abstract class AbstractHttpServicerFactory
 		 */
 		private HttpException parseFailure = null;
 
+		/**
+		 * {@link SocketWebSocket} once upgraded. <code>null</code> while servicing
+		 * {@link HttpRequest} instances.
+		 */
+		private SocketWebSocket webSocket = null;
+
+		/**
+		 * {@link WebSocketMessageImpl} to be serviced.
+		 */
+		private WebSocketMessageImpl webSocketMessage = null;
+
+		/**
+		 * Head {@link StreamBuffer} of {@link WebSocket} frames to be written.
+		 */
+		private StreamBuffer<ByteBuffer> webSocketFrames = null;
+
+		/**
+		 * Indicates if protocol of the connection has been determined.
+		 */
+		private boolean isProtocolDetermined = false;
+
+		/**
+		 * {@link SocketHttp2} if HTTP/2 connection. <code>null</code> for HTTP/1.x
+		 * connection.
+		 */
+		private SocketHttp2 http2 = null;
+
+		/**
+		 * Head {@link StreamBuffer} of HTTP/2 frames to be written.
+		 */
+		private StreamBuffer<ByteBuffer> http2Frames = null;
+
+		/**
+		 * {@link Http2Stream} to be serviced.
+		 */
+		private Http2Stream http2Stream = null;
+
 		/**
 		 * Instantiate.
 		 * 
@@ -183,12 +339,55 @@ public abstract class AbstractHttpServicerFactory
 			// Add the buffer
 			this.appendStreamBuffer(readBuffer);
 
+			// Determine if upgraded to WebSocket
+			if (this.webSocket != null) {
+				this.webSocket.service();
+				return;
+			}
+
+			// Determine if HTTP/2
+			if (this.http2 != null) {
+				this.http2.service();
+				return;
+			}
+
 			// Parse out the requests
 			try {
+
+				// Determine if HTTP/2 prior knowledge (only at start of connection)
+				if (!this.isProtocolDetermined) {
+					if (AbstractHttpServicerFactory.this.isHttp2Supported()) {
+						long start = this.buildLong(exceptionInvalidConnectionStart);
+						if (start == -1) {
+							return; // require further bytes to determine protocol
+						}
+						if (start == Http2FrameParser.PREFACE_START) {
+							this.isProtocolDetermined = true;
+							this.http2 = new SocketHttp2(this);
+							this.requestHandler.upgradedConnection();
+							this.http2.start();
+							this.http2.service();
+							return;
+						}
+					}
+					this.isProtocolDetermined = true;
+				}
+
 				while (this.parse()) {
 
 					// Create request from parser
 					this.requestHandler.handleRequest(this);
+
+					// Determine if upgraded (remaining data being frames)
+					if (this.webSocket != null) {
+						this.webSocket.service();
+						return;
+					}
+				}
+
+				// Only time reading the headers (allowing large entities)
+				if (this.isParsingEntity()) {
+					this.requestHandler.requestHeaderRead();
 				}
 			} catch (HttpException ex) {
 				// Failed to parse request
@@ -197,6 +396,20 @@ public abstract class AbstractHttpServicerFactory
 			}
 		}
 
+		@Override
+		public void release() {
+
+			// Release possible partially received WebSocket message
+			if (this.webSocket != null) {
+				this.webSocket.frameParser.release();
+			}
+
+			// Release the HTTP/2 streams
+			if (this.http2 != null) {
+				this.http2.release();
+			}
+		}
+
 		/*
 		 * ===================== RequestServicer ====================
 		 */
@@ -204,6 +417,31 @@ public abstract class AbstractHttpServicerFactory
 		@Override
 		public ProcessManager service(HttpRequestParser request, ResponseWriter responseWriter) {
 
+			// Determine if HTTP/2 (writing frames and/or servicing stream)
+			if (this.http2 != null) {
+				StreamBuffer<ByteBuffer> frames = this.http2Frames;
+				Http2Stream stream = this.http2Stream;
+				this.http2Frames = null;
+				this.http2Stream = null;
+				responseWriter.write(null, frames);
+				return (stream == null) ? NO_PROCESSING : this.http2.service(stream);
+			}
+
+			// Determine if writing WebSocket frames
+			if (this.webSocketFrames != null) {
+				StreamBuffer<ByteBuffer> frames = this.webSocketFrames;
+				this.webSocketFrames = null;
+				responseWriter.write(null, frames);
+				return NO_PROCESSING;
+			}
+
+			// Determine if servicing WebSocket message
+			if (this.webSocketMessage != null) {
+				WebSocketMessageImpl message = this.webSocketMessage;
+				this.webSocketMessage = null;
+				return this.webSocket.service(message, responseWriter);
+			}
+
 			// Determine if parse failure
 			if (this.parseFailure != null) {
 				// Write parse failure
@@ -222,46 +460,22 @@ public abstract class AbstractHttpServicerFactory
 			NonMaterialisedHttpHeaders requestHeaders = this.getHeaders();
 			ByteSequence requestEntity = this.getEntity();
 
-			// Create the HTTP response writer
-			HttpResponseWriter<ByteBuffer> writer = (responseVersion, status, httpHeader, httpCookie, contentLength,
-					contentType, content) -> {
-
-						// Write the response
-						responseWriter.write((responseHead, socketBufferPool) -> {
-
-							// Write the status line
-							responseVersion.write(responseHead, socketBufferPool);
-							StreamBuffer.write(SPACE, 0, SPACE.length, responseHead, socketBufferPool);
-							status.write(responseHead, socketBufferPool);
-							StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
-
-							// Write the headers
-							if (contentType != null) {
-								CONTENT_TYPE_NAME.write(responseHead, socketBufferPool);
-								StreamBuffer.write(COLON_SPACE, 0, COLON_SPACE.length, responseHead, socketBufferPool);
-								contentType.write(responseHead, socketBufferPool);
-								StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
-							}
-							if (contentLength >= 0) {
-								CONTENT_LENGTH_NAME.write(responseHead, socketBufferPool);
-								StreamBuffer.write(COLON_SPACE, 0, COLON_SPACE.length, responseHead, socketBufferPool);
-								StreamBuffer.write(contentLength, responseHead, socketBufferPool);
-								StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
-							}
-							WritableHttpHeader header = httpHeader;
-							while (header != null) {
-								header.write(responseHead, socketBufferPool);
-								header = header.next;
-							}
-							WritableHttpCookie cookie = httpCookie;
-							while (cookie != null) {
-								cookie.write(responseHead, socketBufferPool);
-								cookie = cookie.next;
-							}
-							StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
+			// Determine if upgrade to WebSocket
+			if (AbstractHttpServicerFactory.this.isWebSocketSupported()) {
+				String webSocketKey = WebSocketHandshake.getWebSocketKey(methodSupplier.get(), version,
+						requestHeaders);
+				if (webSocketKey != null) {
+					this.webSocket = new SocketWebSocket(this, requestUriSupplier.get(), requestHeaders,
+							responseWriter);
+					this.requestHandler.upgradedConnection();
+					this.webSocket.upgrade(webSocketKey);
+					return NO_PROCESSING;
+				}
+			}
 
-						}, content);
-					};
+			// Create the HTTP response writer
+			HttpResponseWriter<ByteBuffer> writer = new SocketHttpResponseWriter(responseWriter,
+					this.requestHandler.getStreamBufferPool());
 
 			// Create the connection
 			ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = new ProcessAwareServerHttpConnectionManagedObject<ByteBuffer>(
@@ -269,7 +483,8 @@ public abstract class AbstractHttpServicerFactory
 					methodSupplier, requestUriSupplier, version, requestHeaders, requestEntity,
 					AbstractHttpServicerFactory.this.serverName, AbstractHttpServicerFactory.this.dateHttpHeaderClock,
 					AbstractHttpServicerFactory.this.isIncludeEscalationStackTrace, writer,
-					this.requestHandler.getStreamBufferPool());
+					this.requestHandler.getStreamBufferPool(),
+					AbstractHttpServicerFactory.this.getHttpResponseCompression());
 
 			try {
 				try {
@@ -293,4 +508,1358 @@ public abstract class AbstractHttpServicerFactory
 
 	}
 
+	/**
+	 * {@link WebSocket} upgraded from the {@link HttpServicer}.
+	 */
+	private class SocketWebSocket implements WebSocket {
+
+		/**
+		 * {@link HttpServicer} upgraded to this {@link WebSocket}.
+		 */
+		private final HttpServicer servicer;
+
+		/**
+		 * Request URI of the upgraded {@link HttpRequest}.
+		 */
+		private final String requestUri;
+
+		/**
+		 * Materialised {@link HttpHeader} instances of the upgraded
+		 * {@link HttpRequest}.
+		 */
+		private final List<HttpHeader> requestHeaders;
+
+		/**
+		 * {@link ResponseWriter} of the upgraded {@link HttpRequest}.
+		 */
+		private final ResponseWriter upgradeResponseWriter;
+
+		/**
+		 * {@link StreamBufferPool}.
+		 */
+		private final StreamBufferPool<ByteBuffer> bufferPool;
+
+		/**
+		 * {@link WebSocketFrameParser}.
+		 */
+		private final WebSocketFrameParser frameParser;
+
+		/**
+		 * Indicates if close frame sent.
+		 */
+		private volatile boolean isClosed = false;
+
+		/**
+		 * Indicates if close frame received. Only accessed by {@link Socket}
+		 * {@link Thread}.
+		 */
+		private boolean isCloseReceived = false;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param servicer              {@link HttpServicer} upgraded to this
+		 *                              {@link WebSocket}.
+		 * @param requestUri            Request URI of the upgraded
+		 *                              {@link HttpRequest}.
+		 * @param requestHeaders        {@link NonMaterialisedHttpHeaders} of the
+		 *                              upgraded {@link HttpRequest}.
+		 * @param upgradeResponseWriter {@link ResponseWriter} of the upgraded
+		 *                              {@link HttpRequest}.
+		 */
+		private SocketWebSocket(HttpServicer servicer, String requestUri, NonMaterialisedHttpHeaders requestHeaders,
+				ResponseWriter upgradeResponseWriter) {
+			this.servicer = servicer;
+			this.requestUri = requestUri;
+			this.upgradeResponseWriter = upgradeResponseWriter;
+			this.bufferPool = servicer.requestHandler.getStreamBufferPool();
+			this.frameParser = new WebSocketFrameParser(this.bufferPool,
+					AbstractHttpServicerFactory.this.metaData.maxEntityLength);
+
+			// Materialise headers (as read buffers released after upgrade)
+			this.requestHeaders = new ArrayList<>(requestHeaders.length());
+			for (NonMaterialisedHttpHeader header : requestHeaders) {
+				this.requestHeaders.add(header.materialiseHttpHeader());
+			}
+		}
+
+		/**
+		 * Writes the <code>101 Switching Protocols</code> response.
+		 * 
+		 * @param webSocketKey <code>Sec-WebSocket-Key</code>.
+		 */
+		private void upgrade(String webSocketKey) {
+			WritableHttpHeader headers = new WritableHttpHeader(UPGRADE_NAME, WEBSOCKET_VALUE);
+			headers.next = new WritableHttpHeader(CONNECTION_NAME, UPGRADE_VALUE);
+			headers.next.next = new WritableHttpHeader(SEC_WEBSOCKET_ACCEPT_NAME,
+					WebSocketHandshake.createAcceptValue(webSocketKey));
+			this.upgradeResponseWriter.write((responseHead, socketBufferPool) -> SocketHttpResponseWriter.writeHead(
+					responseHead, socketBufferPool, HttpVersion.HTTP_1_1, HttpStatus.SWITCHING_PROTOCOLS, headers, null,
+					-1, null, false), null);
+		}
+
+		/**
+		 * Services the received frames.
+		 * <p>
+		 * Only invoked by the {@link Socket} {@link Thread}.
+		 * 
+		 * @throws IOException If fails to service the frames.
+		 */
+		private void service() throws IOException {
+
+			// Client should not send further frames after close
+			if (this.isCloseReceived) {
+				this.servicer.requestHandler.closeConnection(null);
+				return;
+			}
+
+			try {
+				while (this.frameParser.parse(this.servicer)) {
+					byte opCode = this.frameParser.getOpCode();
+					switch (opCode) {
+					case WebSocketFrameParser.OPCODE_TEXT:
+					case WebSocketFrameParser.OPCODE_BINARY:
+						// Service the message
+						this.servicer.webSocketMessage = new WebSocketMessageImpl(this,
+								(opCode == WebSocketFrameParser.OPCODE_TEXT), this.frameParser.removeMessage(),
+								this.frameParser.getMessageLength());
+						this.servicer.requestHandler.handleRequest(this.servicer);
+						break;
+
+					case WebSocketFrameParser.OPCODE_PING:
+						// Reply with pong
+						byte[] pingPayload = this.frameParser.getControlPayload();
+						this.servicer.webSocketFrames = WebSocketFrameWriter
+								.writeFrame(WebSocketFrameParser.OPCODE_PONG, pingPayload, this.bufferPool);
+						this.servicer.requestHandler.handleRequest(this.servicer);
+						break;
+
+					case WebSocketFrameParser.OPCODE_PONG:
+						// Unsolicited pong, so ignore
+						break;
+
+					case WebSocketFrameParser.OPCODE_CLOSE:
+						this.isCloseReceived = true;
+
+						// Determine if client acknowledging close
+						if (this.isClosed) {
+							this.servicer.requestHandler.closeConnection(null);
+							return;
+						}
+						this.isClosed = true;
+
+						// Acknowledge close (client to close connection)
+						byte[] payload = this.frameParser.getControlPayload();
+						int statusCode = (payload.length >= 2) ? (((payload[0] & 0xff) << 8) | (payload[1] & 0xff))
+								: NORMAL_CLOSURE;
+						this.servicer.webSocketFrames = WebSocketFrameWriter.writeCloseFrame(statusCode, null,
+								this.bufferPool);
+						this.servicer.requestHandler.handleRequest(this.servicer);
+						return;
+					}
+				}
+			} catch (WebSocketException ex) {
+				// Fail the connection
+				this.isClosed = true;
+				this.servicer.requestHandler.closeConnection(ex);
+			}
+		}
+
+		/**
+		 * Services the {@link WebSocketMessageImpl}.
+		 * 
+		 * @param message        {@link WebSocketMessageImpl}.
+		 * @param responseWriter {@link ResponseWriter}.
+		 * @return {@link ProcessManager} to servicing the {@link WebSocketMessage}.
+		 */
+		private ProcessManager service(WebSocketMessageImpl message, ResponseWriter responseWriter) {
+
+			// Payload unmasked into own buffers, so release read buffers
+			responseWriter.write(null, null);
+
+			// Create the connection for the upgraded request
+			NonMaterialisedHttpHeaders headers = new MaterialisedHttpHeaders(this.requestHeaders);
+			ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = new ProcessAwareServerHttpConnectionManagedObject<ByteBuffer>(
+					AbstractHttpServicerFactory.this.serverLocation, AbstractHttpServicerFactory.this.isSecure,
+					() -> HttpMethod.GET, () -> this.requestUri, HttpVersion.HTTP_1_1, headers, ByteSequence.EMPTY,
+					AbstractHttpServicerFactory.this.serverName, AbstractHttpServicerFactory.this.dateHttpHeaderClock,
+					AbstractHttpServicerFactory.this.isIncludeEscalationStackTrace, WEB_SOCKET_MESSAGE_RESPONSE_WRITER,
+					this.bufferPool);
+
+			try {
+				// Service the message
+				return AbstractHttpServicerFactory.this.service(message, connection, (escalation) -> {
+
+					// Serviced, so release the message
+					message.release();
+
+					// Close on failure to service message
+					if ((escalation != null) && (!this.isClosed())) {
+						this.close(WebSocketException.INTERNAL_ERROR, null);
+					}
+				});
+
+			} catch (IOException ex) {
+				// Unable to service messages
+				message.release();
+				this.isClosed = true;
+				this.servicer.requestHandler.closeConnection(ex);
+				return FAIL_PROCESSING;
+			}
+		}
+
+		/**
+		 * Writes the frame.
+		 * 
+		 * @param frame Head {@link StreamBuffer} of the frame.
+		 */
+		private void writeFrame(StreamBuffer<ByteBuffer> frame) {
+			this.servicer.requestHandler.execute(() -> {
+
+				// Determine if connection closed
+				if (this.upgradeResponseWriter.isClosed()) {
+					StreamBuffer<ByteBuffer> release = frame;
+					while (release != null) {
+						StreamBuffer<ByteBuffer> next = release.next;
+						release.release();
+						release = next;
+					}
+					return;
+				}
+
+				// Write the frame (not reading, so must not release read buffers)
+				this.servicer.webSocketFrames = frame;
+				this.servicer.requestHandler.handlePushRequest(this.servicer);
+			});
+		}
+
+		/**
+		 * Sends the frame.
+		 * 
+		 * @param opCode  Op code of the frame.
+		 * @param payload Payload of the frame.
+		 * @throws IOException If {@link WebSocket} is closed.
+		 */
+		private void send(byte opCode, byte[] payload) throws IOException {
+
+			// Ensure open
+			if (this.isClosed()) {
+				throw new IOException(WebSocket.class.getSimpleName() + " closed");
+			}
+
+			// Send the frame
+			this.writeFrame(WebSocketFrameWriter.writeFrame(opCode, payload, this.bufferPool));
+		}
+
+		/*
+		 * ===================== WebSocket ====================
+		 */
+
+		@Override
+		public String getRequestUri() {
+			return this.requestUri;
+		}
+
+		@Override
+		public void sendText(String text) throws IOException {
+			this.send(WebSocketFrameParser.OPCODE_TEXT, text.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void sendBinary(byte[] data) throws IOException {
+			this.send(WebSocketFrameParser.OPCODE_BINARY, data);
+		}
+
+		@Override
+		public boolean isClosed() {
+			return this.isClosed || this.upgradeResponseWriter.isClosed();
+		}
+
+		@Override
+		public synchronized void close(int statusCode, String reason) throws IOException {
+
+			// Determine if already closed
+			if (this.isClosed()) {
+				return;
+			}
+			this.isClosed = true;
+
+			// Send close (connection closed on client acknowledging)
+			this.writeFrame(WebSocketFrameWriter.writeCloseFrame(statusCode, reason, this.bufferPool));
+		}
+	}
+
+	/**
+	 * HTTP/2 connection serviced by the {@link HttpServicer}.
+	 * <p>
+	 * Frames are parsed on the {@link Socket} {@link Thread}, with each stream
+	 * serviced by its own process. Frames in reply to the client (and
+	 * <code>DATA</code> frames allowed by flow control) are written via the
+	 * {@link RequestHandler}. As {@link RequestHandler#handleRequest(Object)}
+	 * releases the read {@link StreamBuffer} instances, it is only invoked after
+	 * a frame is parsed. Responses written by stream processes are instead written
+	 * via {@link RequestHandler#handlePushRequest(Object)}.
+	 */
+	private class SocketHttp2 {
+
+		/**
+		 * {@link HttpServicer} of the HTTP/2 connection.
+		 */
+		private final HttpServicer servicer;
+
+		/**
+		 * {@link StreamBufferPool}.
+		 */
+		private final StreamBufferPool<ByteBuffer> bufferPool;
+
+		/**
+		 * {@link Http2FrameParser}.
+		 */
+		private final Http2FrameParser frameParser;
+
+		/**
+		 * {@link HpackDecoder}.
+		 */
+		private final HpackDecoder headerDecoder = new HpackDecoder(HTTP2_HEADER_TABLE_SIZE);
+
+		/**
+		 * {@link HpackEncoder}.
+		 */
+		private final HpackEncoder headerEncoder = new HpackEncoder();
+
+		/**
+		 * Active {@link Http2Stream} instances by stream identifier. Only accessed
+		 * by the {@link Socket} {@link Thread}.
+		 */
+		private final Map<Integer, Http2Stream> streams = new LinkedHashMap<>();
+
+		/**
+		 * Identifier of the last stream started by the client.
+		 */
+		private int lastStreamId = 0;
+
+		/**
+		 * Length of the request entities buffered for the {@link Http2Stream}
+		 * instances still receiving their request. This is bounded by the maximum
+		 * entity length, as the receive windows are replenished on buffering the
+		 * <code>DATA</code>.
+		 */
+		private long receivingEntityLength = 0;
+
+		/**
+		 * Connection flow control window for sending <code>DATA</code>.
+		 */
+		private int sendWindow = HTTP2_DEFAULT_WINDOW_SIZE;
+
+		/**
+		 * Initial stream flow control window for sending <code>DATA</code>.
+		 */
+		private int initialStreamSendWindow = HTTP2_DEFAULT_WINDOW_SIZE;
+
+		/**
+		 * Maximum frame size to send to the client.
+		 */
+		private int maxSendFrameSize = Http2FrameParser.DEFAULT_MAX_FRAME_SIZE;
+
+		/**
+		 * Indicates if the client is going away (no further streams).
+		 */
+		private boolean isGoAway = false;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param servicer {@link HttpServicer} of the HTTP/2 connection.
+		 */
+		private SocketHttp2(HttpServicer servicer) {
+			this.servicer = servicer;
+			this.bufferPool = servicer.requestHandler.getStreamBufferPool();
+			HttpRequestParserMetaData metaData = AbstractHttpServicerFactory.this.metaData;
+			int maxHeaderBlockLength = (int) Math.min(Integer.MAX_VALUE,
+					((long) metaData.maxHeaderCount) * metaData.maxTextLength);
+			this.frameParser = new Http2FrameParser(this.bufferPool, maxHeaderBlockLength);
+		}
+
+		/**
+		 * Starts the connection by sending the server <code>SETTINGS</code>.
+		 * 
+		 * @throws IOException If fails to send the <code>SETTINGS</code>.
+		 */
+		private void start() throws IOException {
+			StreamBuffer<ByteBuffer> frames = this.bufferPool.getPooledStreamBuffer();
+			Http2FrameWriter.writeSettings(HTTP2_MAX_CONCURRENT_STREAMS,
+					this.frameParser.getMaxHeaderBlockLength(), frames, this.bufferPool);
+			this.pushFrames(frames);
+		}
+
+		/**
+		 * Services the received frames.
+		 * <p>
+		 * Only invoked by the {@link Socket} {@link Thread}.
+		 * 
+		 * @throws IOException If fails to service the frames.
+		 */
+		private void service() throws IOException {
+			try {
+				while (this.frameParser.parse(this.servicer)) {
+					int streamId = this.frameParser.getStreamId();
+					StreamBuffer<ByteBuffer> frames;
+					switch (this.frameParser.getType()) {
+					case Http2FrameParser.FRAME_HEADERS:
+						this.receiveHeaders(streamId);
+						break;
+
+					case Http2FrameParser.FRAME_DATA:
+						this.receiveData(streamId);
+						break;
+
+					case Http2FrameParser.FRAME_WINDOW_UPDATE:
+						this.receiveWindowUpdate(streamId);
+						break;
+
+					case Http2FrameParser.FRAME_SETTINGS:
+						if (this.frameParser.isFlag(Http2FrameParser.FLAG_ACK)) {
+							break; // client acknowledging server settings
+						}
+
+						// Apply settings and acknowledge
+						this.applySettings();
+						frames = this.bufferPool.getPooledStreamBuffer();
+						Http2FrameWriter.writeSettingsAck(frames, this.bufferPool);
+						this.writeFrames(this.sendData(frames), null);
+						break;
+
+					case Http2FrameParser.FRAME_PING:
+						if (this.frameParser.isFlag(Http2FrameParser.FLAG_ACK)) {
+							break; // unsolicited ping acknowledgement
+						}
+
+						// Reply to ping
+						frames = this.bufferPool.getPooledStreamBuffer();
+						Http2FrameWriter.writePingAck(this.frameParser.getPayload(), frames, this.bufferPool);
+						this.writeFrames(frames, null);
+						break;
+
+					case Http2FrameParser.FRAME_RST_STREAM:
+						Http2Stream reset = this.streams.remove(streamId);
+						if (reset != null) {
+							reset.cancel();
+						}
+						break;
+
+					case Http2FrameParser.FRAME_GOAWAY:
+						// Client closes connection once active streams complete
+						this.isGoAway = true;
+						break;
+					}
+				}
+			} catch (Http2Exception ex) {
+				// Fail the connection
+				this.servicer.requestHandler.closeConnection(ex);
+			}
+		}
+
+		/**
+		 * Receives the header block.
+		 * 
+		 * @param streamId Stream identifier.
+		 * @throws IOException If fails to receive the header block.
+		 */
+		private void receiveHeaders(int streamId) throws IOException {
+
+			// Always decode (to keep dynamic table in sync)
+			List<HttpHeader> headers = this.headerDecoder.decode(this.frameParser.getPayload(), 0,
+					this.frameParser.getPayloadLength());
+			boolean isEndStream = this.frameParser.isFlag(Http2FrameParser.FLAG_END_STREAM);
+
+			// Determine if trailers of active stream (trailers are ignored)
+			Http2Stream stream = this.streams.get(streamId);
+			if (stream != null) {
+				if ((!stream.isReceiving) || (!isEndStream)) {
+					throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Invalid trailing HEADERS");
+				}
+				this.serviceStream(stream, null);
+				return;
+			}
+
+			// Ensure new stream from the client
+			if (((streamId & 0x1) == 0) || (streamId <= this.lastStreamId)) {
+				throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Invalid stream identifier " + streamId);
+			}
+			this.lastStreamId = streamId;
+
+			// Refuse the stream if too many streams
+			if ((this.isGoAway) || (this.streams.size() >= HTTP2_MAX_CONCURRENT_STREAMS)) {
+				this.resetStream(streamId, Http2Exception.REFUSED_STREAM);
+				return;
+			}
+
+			// Load the request details
+			HttpMethod method = null;
+			String path = null;
+			String authority = null;
+			List<HttpHeader> requestHeaders = new ArrayList<>(headers.size() + 1);
+			int cookieIndex = -1;
+			StringBuilder cookies = null;
+			for (HttpHeader header : headers) {
+				String name = header.getName();
+				if ((name.length() == 0) || (name.charAt(0) != ':')) {
+
+					// Cookie may be split into multiple fields (RFC 7540 Section 8.1.2.5)
+					if ("cookie".equalsIgnoreCase(name)) {
+						if (cookieIndex < 0) {
+							cookieIndex = requestHeaders.size();
+							requestHeaders.add(header);
+						} else {
+							if (cookies == null) {
+								cookies = new StringBuilder(requestHeaders.get(cookieIndex).getValue());
+							}
+							cookies.append("; ").append(header.getValue());
+						}
+						continue;
+					}
+
+					requestHeaders.add(header);
+					continue;
+				}
+
+				// Pseudo-headers must be before headers
+				if (requestHeaders.size() > 0) {
+					this.resetStream(streamId, Http2Exception.PROTOCOL_ERROR);
+					return;
+				}
+				switch (name) {
+				case ":method":
+					method = HttpMethod.getHttpMethod(header.getValue());
+					break;
+				case ":path":
+					path = header.getValue();
+					break;
+				case ":authority":
+					authority = header.getValue();
+					break;
+				case ":scheme":
+					break; // determined by connection
+				default:
+					this.resetStream(streamId, Http2Exception.PROTOCOL_ERROR);
+					return;
+				}
+			}
+			if ((method == null) || (path == null)) {
+				this.resetStream(streamId, Http2Exception.PROTOCOL_ERROR);
+				return;
+			}
+			if (cookies != null) {
+				requestHeaders.set(cookieIndex, new SerialisableHttpHeader("cookie", cookies.toString()));
+			}
+			if (requestHeaders.size() >= AbstractHttpServicerFactory.this.metaData.maxHeaderCount) {
+				this.resetStream(streamId, Http2Exception.ENHANCE_YOUR_CALM);
+				return;
+			}
+			if (authority != null) {
+				requestHeaders.add(0, new SerialisableHttpHeader("host", authority));
+			}
+
+			// Start the stream
+			stream = new Http2Stream(this, streamId, method, path, requestHeaders, this.initialStreamSendWindow);
+			this.streams.put(streamId, stream);
+
+			// Determine if request complete
+			if (isEndStream) {
+				this.serviceStream(stream, null);
+			} else {
+				this.writeFrames(null, null); // release read buffers
+			}
+		}
+
+		/**
+		 * Receives the <code>DATA</code>.
+		 * 
+		 * @param streamId Stream identifier.
+		 * @throws IOException If fails to receive the <code>DATA</code>.
+		 */
+		private void receiveData(int streamId) throws IOException {
+			StreamBuffer<ByteBuffer> data = this.frameParser.removeData();
+			int dataLength = this.frameParser.getPayloadLength();
+			int flowControlLength = this.frameParser.getFlowControlLength();
+			boolean isEndStream = this.frameParser.isFlag(Http2FrameParser.FLAG_END_STREAM);
+
+			// Data copied to pooled buffers (bounded), so replenish connection window
+			StreamBuffer<ByteBuffer> frames = null;
+			if (flowControlLength > 0) {
+				frames = this.bufferPool.getPooledStreamBuffer();
+				Http2FrameWriter.writeWindowUpdate(0, flowControlLength, frames, this.bufferPool);
+			}
+
+			// Determine if stream receiving data
+			Http2Stream stream = this.streams.get(streamId);
+			if ((stream == null) || (!stream.isReceiving)) {
+				releaseStreamBuffers(data);
+				if (streamId > this.lastStreamId) {
+					throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "DATA on idle stream " + streamId);
+				}
+				if (frames == null) {
+					frames = this.bufferPool.getPooledStreamBuffer();
+				}
+				Http2FrameWriter.writeRstStream(streamId, Http2Exception.STREAM_CLOSED, frames, this.bufferPool);
+				this.writeFrames(frames, null);
+				return;
+			}
+
+			// Include the data in the request entity
+			if (data != null) {
+
+				// Ensure within stream and connection buffering limits
+				long maxEntityLength = AbstractHttpServicerFactory.this.metaData.maxEntityLength;
+				boolean isStreamTooLong = (stream.requestEntityLength + dataLength) > maxEntityLength;
+				if ((isStreamTooLong) || ((this.receivingEntityLength + dataLength) > maxEntityLength)) {
+					releaseStreamBuffers(data);
+					this.streams.remove(streamId);
+					stream.cancel();
+					if (frames == null) {
+						frames = this.bufferPool.getPooledStreamBuffer();
+					}
+					int errorCode = isStreamTooLong ? Http2Exception.CANCEL : Http2Exception.REFUSED_STREAM;
+					Http2FrameWriter.writeRstStream(streamId, errorCode, frames, this.bufferPool);
+					this.writeFrames(frames, null);
+					return;
+				}
+				stream.appendRequestEntity(data, dataLength);
+				this.receivingEntityLength += dataLength;
+			}
+
+			// Determine if request complete
+			if (isEndStream) {
+				this.serviceStream(stream, frames);
+				return;
+			}
+
+			// Replenish the stream window
+			if (flowControlLength > 0) {
+				Http2FrameWriter.writeWindowUpdate(streamId, flowControlLength, frames, this.bufferPool);
+			}
+			this.writeFrames(frames, null);
+		}
+
+		/**
+		 * Receives the <code>WINDOW_UPDATE</code>.
+		 * 
+		 * @param streamId Stream identifier.
+		 * @throws IOException If fails to receive the <code>WINDOW_UPDATE</code>.
+		 */
+		private void receiveWindowUpdate(int streamId) throws IOException {
+			int increment = this.frameParser.getPayloadInt(0) & 0x7fffffff;
+
+			// Increment the appropriate window
+			if (streamId == 0) {
+				if (increment == 0) {
+					throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Invalid window increment");
+				}
+				if ((((long) this.sendWindow) + increment) > Integer.MAX_VALUE) {
+					throw new Http2Exception(Http2Exception.FLOW_CONTROL_ERROR, "Connection window overflow");
+				}
+				this.sendWindow += increment;
+
+			} else {
+				Http2Stream stream = this.streams.get(streamId);
+				if (stream != null) {
+					if (increment == 0) {
+						this.resetStream(streamId, Http2Exception.PROTOCOL_ERROR);
+						return;
+					}
+					if ((((long) stream.sendWindow) + increment) > Integer.MAX_VALUE) {
+						this.resetStream(streamId, Http2Exception.FLOW_CONTROL_ERROR);
+						return;
+					}
+					stream.sendWindow += increment;
+				}
+			}
+
+			// Send data now allowed by the window
+			this.writeFrames(this.sendData(null), null);
+		}
+
+		/**
+		 * Applies the received <code>SETTINGS</code>.
+		 * 
+		 * @throws Http2Exception If invalid setting.
+		 */
+		private void applySettings() throws Http2Exception {
+			byte[] payload = this.frameParser.getPayload();
+			for (int i = 0; i < this.frameParser.getPayloadLength(); i += 6) {
+				int identifier = ((payload[i] & 0xff) << 8) | (payload[i + 1] & 0xff);
+				int value = this.frameParser.getPayloadInt(i + 2);
+				switch (identifier) {
+				case Http2FrameWriter.SETTINGS_ENABLE_PUSH:
+					if ((value != 0) && (value != 1)) {
+						throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Invalid SETTINGS_ENABLE_PUSH");
+					}
+					break; // server push not used
+
+				case Http2FrameWriter.SETTINGS_INITIAL_WINDOW_SIZE:
+					if (value < 0) {
+						throw new Http2Exception(Http2Exception.FLOW_CONTROL_ERROR,
+								"Invalid SETTINGS_INITIAL_WINDOW_SIZE");
+					}
+
+					// Adjust the stream windows by the difference
+					int delta = value - this.initialStreamSendWindow;
+					this.initialStreamSendWindow = value;
+					for (Http2Stream stream : this.streams.values()) {
+						if ((((long) stream.sendWindow) + delta) > Integer.MAX_VALUE) {
+							throw new Http2Exception(Http2Exception.FLOW_CONTROL_ERROR, "Stream window overflow");
+						}
+						stream.sendWindow += delta;
+					}
+					break;
+
+				case Http2FrameWriter.SETTINGS_MAX_FRAME_SIZE:
+					if ((value < Http2FrameParser.DEFAULT_MAX_FRAME_SIZE) || (value > 0xffffff)) {
+						throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Invalid SETTINGS_MAX_FRAME_SIZE");
+					}
+					this.maxSendFrameSize = value;
+					break;
+
+				default:
+					// Other settings not relevant, as dynamic table and push not used
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Writes the <code>DATA</code> frames allowed by the flow control windows.
+		 * 
+		 * @param frames Head {@link StreamBuffer} to append the <code>DATA</code>
+		 *               frames. May be <code>null</code>.
+		 * @return Head {@link StreamBuffer} of the frames. May be <code>null</code>
+		 *         if no frames.
+		 * @throws IOException If fails to write the <code>DATA</code> frames.
+		 */
+		private StreamBuffer<ByteBuffer> sendData(StreamBuffer<ByteBuffer> frames) throws IOException {
+			Iterator<Http2Stream> iterator = this.streams.values().iterator();
+			while ((this.sendWindow > 0) && (iterator.hasNext())) {
+				Http2Stream stream = iterator.next();
+				Http2ResponseEntity entity = stream.responseEntity;
+				if (entity == null) {
+					continue; // response not yet written
+				}
+
+				// Write the data allowed by the windows
+				while ((entity.getRemaining() > 0) && (this.sendWindow > 0) && (stream.sendWindow > 0)) {
+					int length = (int) Math.min(Math.min(entity.getRemaining(), this.maxSendFrameSize),
+							Math.min(this.sendWindow, stream.sendWindow));
+					if (frames == null) {
+						frames = this.bufferPool.getPooledStreamBuffer();
+					}
+					entity.writeData(stream.streamId, length, frames, this.bufferPool);
+					this.sendWindow -= length;
+					stream.sendWindow -= length;
+				}
+
+				// Stream complete once response written
+				if (entity.getRemaining() == 0) {
+					stream.responseEntity = null;
+					iterator.remove();
+				}
+			}
+			return frames;
+		}
+
+		/**
+		 * Writes the response for the {@link Http2Stream}.
+		 * <p>
+		 * Only invoked by the {@link Socket} {@link Thread}.
+		 * 
+		 * @param stream        {@link Http2Stream}.
+		 * @param status        {@link HttpStatus}.
+		 * @param httpHeader    Head {@link WritableHttpHeader}.
+		 * @param httpCookie    Head {@link WritableHttpCookie}.
+		 * @param contentLength Number of bytes in the entity.
+		 * @param contentType   <code>Content-Type</code>. May be <code>null</code>.
+		 * @param content       Head {@link StreamBuffer} of the entity.
+		 * @throws IOException If fails to write the response.
+		 */
+		private void writeResponse(Http2Stream stream, HttpStatus status, WritableHttpHeader httpHeader,
+				WritableHttpCookie httpCookie, long contentLength, HttpHeaderValue contentType,
+				StreamBuffer<ByteBuffer> content) throws IOException {
+
+			// Determine if stream reset (or connection closed)
+			Http2ResponseEntity entity = new Http2ResponseEntity(content);
+			if (this.streams.get(stream.streamId) != stream) {
+				entity.release();
+				return;
+			}
+
+			// Request serviced, so release the request entity
+			stream.releaseRequestEntity();
+
+			// Encode the headers
+			HpackEncoder encoder = this.headerEncoder;
+			encoder.reset();
+			encoder.encodeStatus(status.getStatusCode());
+			if (contentType != null) {
+				encoder.encodeHeader("content-type", contentType.getValue());
+			}
+			if (contentLength >= 0) {
+				encoder.encodeHeader("content-length", String.valueOf(entity.getRemaining()));
+			}
+			WritableHttpHeader header = httpHeader;
+			while (header != null) {
+				String name = header.getName().toLowerCase();
+				if (!HTTP2_CONNECTION_HEADER_NAMES.contains(name)) {
+					encoder.encodeHeader(name, header.getValue());
+				}
+				header = header.next;
+			}
+			WritableHttpCookie cookie = httpCookie;
+			while (cookie != null) {
+				encoder.encodeHeader("set-cookie", this.getSetCookieValue(cookie));
+				cookie = cookie.next;
+			}
+
+			// Write the headers
+			boolean isEndStream = (entity.getRemaining() == 0);
+			StreamBuffer<ByteBuffer> frames = this.bufferPool.getPooledStreamBuffer();
+			Http2FrameWriter.writeHeaders(stream.streamId, encoder.getBlock(), encoder.getLength(), isEndStream,
+					this.maxSendFrameSize, frames, this.bufferPool);
+
+			// Write the entity (as flow control allows)
+			if (isEndStream) {
+				entity.release();
+				this.streams.remove(stream.streamId);
+			} else {
+				stream.responseEntity = entity;
+				frames = this.sendData(frames);
+			}
+			this.pushFrames(frames);
+		}
+
+		/**
+		 * Obtains the <code>Set-Cookie</code> value.
+		 * 
+		 * @param cookie {@link WritableHttpCookie}.
+		 * @return <code>Set-Cookie</code> value.
+		 */
+		private String getSetCookieValue(WritableHttpCookie cookie) {
+
+			// Write the cookie as HTTP/1.x header
+			StreamBuffer<ByteBuffer> head = this.bufferPool.getPooledStreamBuffer();
+			StringBuilder line = new StringBuilder();
+			try {
+				cookie.write(head, this.bufferPool);
+				StreamBuffer<ByteBuffer> buffer = head;
+				while (buffer != null) {
+					ByteBuffer data = buffer.pooledBuffer;
+					int end = BufferJvmFix.position(data);
+					for (int i = 0; i < end; i++) {
+						line.append((char) (data.get(i) & 0xff));
+					}
+					buffer = buffer.next;
+				}
+			} finally {
+				releaseStreamBuffers(head);
+			}
+
+			// Return the value (without name and end of line)
+			return line.substring(line.indexOf(":") + 2, line.length() - HEADER_EOLN.length);
+		}
+
+		/**
+		 * Services the {@link Http2Stream} as its request is complete.
+		 * 
+		 * @param stream {@link Http2Stream}.
+		 * @param frames Head {@link StreamBuffer} of further frames to write. May
+		 *               be <code>null</code>.
+		 * @throws IOException If fails to service the {@link Http2Stream}.
+		 */
+		private void serviceStream(Http2Stream stream, StreamBuffer<ByteBuffer> frames) throws IOException {
+			this.endReceiving(stream);
+			this.writeFrames(frames, stream);
+		}
+
+		/**
+		 * Flags the {@link Http2Stream} as no longer receiving its request, so its
+		 * request entity is no longer buffered for the connection.
+		 * 
+		 * @param stream {@link Http2Stream}.
+		 */
+		private void endReceiving(Http2Stream stream) {
+			if (stream.isReceiving) {
+				stream.isReceiving = false;
+				this.receivingEntityLength -= stream.requestEntityLength;
+			}
+		}
+
+		/**
+		 * Services the {@link Http2Stream}.
+		 * 
+		 * @param stream {@link Http2Stream}.
+		 * @return {@link ProcessManager} to servicing the {@link Http2Stream}.
+		 */
+		private ProcessManager service(Http2Stream stream) {
+
+			// Create the connection for the stream
+			NonMaterialisedHttpHeaders headers = new MaterialisedHttpHeaders(stream.requestHeaders);
+			ByteSequence entity = (stream.requestEntity != null) ? stream.requestEntity : ByteSequence.EMPTY;
+			ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = new ProcessAwareServerHttpConnectionManagedObject<ByteBuffer>(
+					AbstractHttpServicerFactory.this.serverLocation, AbstractHttpServicerFactory.this.isSecure,
+					() -> stream.method, () -> stream.path, HTTP_2, headers, entity,
+					AbstractHttpServicerFactory.this.serverName, AbstractHttpServicerFactory.this.dateHttpHeaderClock,
+					AbstractHttpServicerFactory.this.isIncludeEscalationStackTrace, stream, this.bufferPool,
+					AbstractHttpServicerFactory.this.getHttpResponseCompression());
+
+			try {
+				try {
+					// Service the stream
+					stream.processManager = AbstractHttpServicerFactory.this.service(connection);
+					return stream.processManager;
+
+				} catch (IOException ex) {
+					// Propagate as HTTP exception
+					throw new HttpException(
+							new HttpStatus(HttpStatus.INTERNAL_SERVER_ERROR.getStatusCode(), ex.getMessage()));
+				}
+			} catch (HttpException ex) {
+				// Send HTTP exception status
+				stream.writeHttpResponse(HTTP_2, ex.getHttpStatus(), null, null, 0, null, null);
+				return FAIL_PROCESSING;
+			}
+		}
+
+		/**
+		 * Resets the stream.
+		 * 
+		 * @param streamId  Stream identifier.
+		 * @param errorCode Error code.
+		 * @throws IOException If fails to reset the stream.
+		 */
+		private void resetStream(int streamId, int errorCode) throws IOException {
+			Http2Stream stream = this.streams.remove(streamId);
+			if (stream != null) {
+				stream.cancel();
+			}
+			StreamBuffer<ByteBuffer> frames = this.bufferPool.getPooledStreamBuffer();
+			Http2FrameWriter.writeRstStream(streamId, errorCode, frames, this.bufferPool);
+			this.writeFrames(frames, null);
+		}
+
+		/**
+		 * Writes the frames after parsing a frame (releasing the read
+		 * {@link StreamBuffer} instances).
+		 * 
+		 * @param frames Head {@link StreamBuffer} of frames. May be
+		 *               <code>null</code>.
+		 * @param stream {@link Http2Stream} to service. May be <code>null</code>.
+		 * @throws IOException If fails to write the frames.
+		 */
+		private void writeFrames(StreamBuffer<ByteBuffer> frames, Http2Stream stream) throws IOException {
+			this.servicer.http2Frames = frames;
+			this.servicer.http2Stream = stream;
+			this.servicer.requestHandler.handleRequest(this.servicer);
+		}
+
+		/**
+		 * Writes the frames initiated by the server (not releasing the read
+		 * {@link StreamBuffer} instances).
+		 * 
+		 * @param frames Head {@link StreamBuffer} of frames.
+		 * @throws IOException If fails to write the frames.
+		 */
+		private void pushFrames(StreamBuffer<ByteBuffer> frames) throws IOException {
+			this.servicer.http2Frames = frames;
+			this.servicer.requestHandler.handlePushRequest(this.servicer);
+		}
+
+		/**
+		 * Releases all {@link Http2Stream} instances, as connection closed.
+		 */
+		private void release() {
+			for (Http2Stream stream : this.streams.values()) {
+				stream.cancel();
+			}
+			this.streams.clear();
+		}
+	}
+
+	/**
+	 * Stream of the {@link SocketHttp2}.
+	 */
+	private class Http2Stream implements HttpResponseWriter<ByteBuffer> {
+
+		/**
+		 * {@link SocketHttp2} of the stream.
+		 */
+		private final SocketHttp2 connection;
+
+		/**
+		 * Stream identifier.
+		 */
+		private final int streamId;
+
+		/**
+		 * {@link HttpMethod}.
+		 */
+		private final HttpMethod method;
+
+		/**
+		 * Request URI.
+		 */
+		private final String path;
+
+		/**
+		 * Request {@link HttpHeader} instances.
+		 */
+		private final List<HttpHeader> requestHeaders;
+
+		/**
+		 * Request entity. <code>null</code> if no entity.
+		 */
+		private StreamBufferByteSequence requestEntity = null;
+
+		/**
+		 * Head {@link StreamBuffer} of the request entity.
+		 */
+		private StreamBuffer<ByteBuffer> requestEntityHead = null;
+
+		/**
+		 * Tail {@link StreamBuffer} of the request entity.
+		 */
+		private StreamBuffer<ByteBuffer> requestEntityTail = null;
+
+		/**
+		 * Length of the request entity.
+		 */
+		private long requestEntityLength = 0;
+
+		/**
+		 * Indicates if receiving the request.
+		 */
+		private boolean isReceiving = true;
+
+		/**
+		 * Stream flow control window for sending <code>DATA</code>.
+		 */
+		private int sendWindow;
+
+		/**
+		 * {@link Http2ResponseEntity} awaiting flow control to be written.
+		 */
+		private Http2ResponseEntity responseEntity = null;
+
+		/**
+		 * {@link ProcessManager} servicing the stream.
+		 */
+		private ProcessManager processManager = null;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param connection     {@link SocketHttp2} of the stream.
+		 * @param streamId       Stream identifier.
+		 * @param method         {@link HttpMethod}.
+		 * @param path           Request URI.
+		 * @param requestHeaders Request {@link HttpHeader} instances.
+		 * @param sendWindow     Initial stream flow control window for sending
+		 *                       <code>DATA</code>.
+		 */
+		private Http2Stream(SocketHttp2 connection, int streamId, HttpMethod method, String path,
+				List<HttpHeader> requestHeaders, int sendWindow) {
+			this.connection = connection;
+			this.streamId = streamId;
+			this.method = method;
+			this.path = path;
+			this.requestHeaders = requestHeaders;
+			this.sendWindow = sendWindow;
+		}
+
+		/**
+		 * Appends data to the request entity.
+		 * 
+		 * @param data   Head {@link StreamBuffer} of the data.
+		 * @param length Length of the data.
+		 */
+		private void appendRequestEntity(StreamBuffer<ByteBuffer> data, int length) {
+			StreamBuffer<ByteBuffer> buffer = data;
+			while (buffer != null) {
+				int bufferLength = BufferJvmFix.position(buffer.pooledBuffer);
+				if (this.requestEntity == null) {
+					this.requestEntity = new StreamBufferByteSequence(buffer, 0, bufferLength);
+					this.requestEntityHead = buffer;
+				} else {
+					this.requestEntity.appendStreamBuffer(buffer, 0, bufferLength);
+					this.requestEntityTail.next = buffer;
+				}
+				this.requestEntityTail = buffer;
+				buffer = buffer.next;
+			}
+			this.requestEntityLength += length;
+		}
+
+		/**
+		 * Releases the request entity.
+		 */
+		private void releaseRequestEntity() {
+			releaseStreamBuffers(this.requestEntityHead);
+			this.requestEntityHead = null;
+			this.requestEntityTail = null;
+		}
+
+		/**
+		 * Cancels the stream.
+		 */
+		private void cancel() {
+			this.connection.endReceiving(this);
+			if (this.processManager != null) {
+				this.processManager.cancel();
+			}
+			this.releaseRequestEntity();
+			if (this.responseEntity != null) {
+				this.responseEntity.release();
+				this.responseEntity = null;
+			}
+		}
+
+		/*
+		 * ================= HttpResponseWriter ===================
+		 */
+
+		@Override
+		public void writeHttpResponse(HttpVersion version, HttpStatus status, WritableHttpHeader headHttpHeader,
+				WritableHttpCookie headHttpCookie, long contentLength, HttpHeaderValue contentType,
+				StreamBuffer<ByteBuffer> contentHeadStreamBuffer) {
+			this.connection.servicer.requestHandler.execute(() -> this.connection.writeResponse(this, status,
+					headHttpHeader, headHttpCookie, contentLength, contentType, contentHeadStreamBuffer));
+		}
+	}
+
+	/**
+	 * Releases the linked list of {@link StreamBuffer} instances.
+	 * 
+	 * @param head Head {@link StreamBuffer}. May be <code>null</code>.
+	 */
+	private static void releaseStreamBuffers(StreamBuffer<ByteBuffer> head) {
+		while (head != null) {
+			StreamBuffer<ByteBuffer> release = head;
+			head = head.next;
+			release.release();
+		}
+	}
+
+	/**
+	 * {@link NonMaterialisedHttpHeaders} over already materialised
+	 * {@link HttpHeader} instances.
+	 */
+	private static class MaterialisedHttpHeaders implements NonMaterialisedHttpHeaders {
+
+		/**
+		 * {@link HttpHeader} instances.
+		 */
+		private final List<HttpHeader> headers;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param headers {@link HttpHeader} instances.
+		 */
+		private MaterialisedHttpHeaders(List<HttpHeader> headers) {
+			this.headers = headers;
+		}
+
+		/*
+		 * ============= NonMaterialisedHttpHeaders ================
+		 */
+
+		@Override
+		public Iterator<NonMaterialisedHttpHeader> iterator() {
+			Iterator<HttpHeader> iterator = this.headers.iterator();
+			return new Iterator<NonMaterialisedHttpHeader>() {
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public NonMaterialisedHttpHeader next() {
+					HttpHeader header = iterator.next();
+					return new NonMaterialisedHttpHeader() {
+
+						@Override
+						public CharSequence getName() {
+							return header.getName();
+						}
+
+						@Override
+						public HttpHeader materialiseHttpHeader() {
+							return header;
+						}
+					};
+				}
+			};
+		}
+
+		@Override
+		public int length() {
+			return this.headers.size();
+		}
+	}
+
+	/**
+	 * {@link HttpResponseWriter} to write the {@link HttpResponse} to the
+	 * {@link ResponseWriter}.
+	 */
+	private static class SocketHttpResponseWriter implements HttpResponseWriter<ByteBuffer> {
+
+		/**
+		 * Writes the status line and headers.
+		 * 
+		 * @param responseHead     Head {@link StreamBuffer} to write the status line
+		 *                         and headers.
+		 * @param socketBufferPool {@link StreamBufferPool}.
+		 * @param version          {@link HttpVersion}.
+		 * @param status           {@link HttpStatus}.
+		 * @param httpHeader       Head {@link WritableHttpHeader}.
+		 * @param httpCookie       Head {@link WritableHttpCookie}.
+		 * @param contentLength    <code>Content-Length</code>. Negative value to not
+		 *                         write the <code>Content-Length</code>.
+		 * @param contentType      <code>Content-Type</code>. May be
+		 *                         <code>null</code>.
+		 * @param isChunked        Indicates if the entity is chunked.
+		 */
+		private static void writeHead(StreamBuffer<ByteBuffer> responseHead,
+				StreamBufferPool<ByteBuffer> socketBufferPool, HttpVersion version, HttpStatus status,
+				WritableHttpHeader httpHeader, WritableHttpCookie httpCookie, long contentLength,
+				HttpHeaderValue contentType, boolean isChunked) {
+
+			// Write the status line
+			version.write(responseHead, socketBufferPool);
+			StreamBuffer.write(SPACE, 0, SPACE.length, responseHead, socketBufferPool);
+			status.write(responseHead, socketBufferPool);
+			StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
+
+			// Write the headers
+			if (contentType != null) {
+				CONTENT_TYPE_NAME.write(responseHead, socketBufferPool);
+				StreamBuffer.write(COLON_SPACE, 0, COLON_SPACE.length, responseHead, socketBufferPool);
+				contentType.write(responseHead, socketBufferPool);
+				StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
+			}
+			if (contentLength >= 0) {
+				CONTENT_LENGTH_NAME.write(responseHead, socketBufferPool);
+				StreamBuffer.write(COLON_SPACE, 0, COLON_SPACE.length, responseHead, socketBufferPool);
+				StreamBuffer.write(contentLength, responseHead, socketBufferPool);
+				StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
+			}
+			if (isChunked) {
+				TRANSFER_ENCODING_NAME.write(responseHead, socketBufferPool);
+				StreamBuffer.write(COLON_SPACE, 0, COLON_SPACE.length, responseHead, socketBufferPool);
+				CHUNKED_VALUE.write(responseHead, socketBufferPool);
+				StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
+			}
+			WritableHttpHeader header = httpHeader;
+			while (header != null) {
+				header.write(responseHead, socketBufferPool);
+				header = header.next;
+			}
+			WritableHttpCookie cookie = httpCookie;
+			while (cookie != null) {
+				cookie.write(responseHead, socketBufferPool);
+				cookie = cookie.next;
+			}
+			StreamBuffer.write(HEADER_EOLN, 0, HEADER_EOLN.length, responseHead, socketBufferPool);
+		}
+
+		/**
+		 * {@link ResponseWriter}.
+		 */
+		private final ResponseWriter responseWriter;
+
+		/**
+		 * {@link StreamBufferPool}.
+		 */
+		private final StreamBufferPool<ByteBuffer> bufferPool;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param responseWriter {@link ResponseWriter}.
+		 * @param bufferPool     {@link StreamBufferPool}.
+		 */
+		private SocketHttpResponseWriter(ResponseWriter responseWriter, StreamBufferPool<ByteBuffer> bufferPool) {
+			this.responseWriter = responseWriter;
+			this.bufferPool = bufferPool;
+		}
+
+		/*
+		 * ================= HttpResponseWriter ===================
+		 */
+
+		@Override
+		public void writeHttpResponse(HttpVersion version, HttpStatus status, WritableHttpHeader headHttpHeader,
+				WritableHttpCookie headHttpCookie, long contentLength, HttpHeaderValue contentType,
+				StreamBuffer<ByteBuffer> contentHeadStreamBuffer) {
+			this.responseWriter.write((responseHead, socketBufferPool) -> writeHead(responseHead, socketBufferPool,
+					version, status, headHttpHeader, headHttpCookie, contentLength, contentType, false),
+					contentHeadStreamBuffer);
+		}
+
+		@Override
+		public boolean isStreamingSupported() {
+			return true;
+		}
+
+		@Override
+		public void writeStreamedHttpResponseHead(HttpVersion version, HttpStatus status,
+				WritableHttpHeader headHttpHeader, WritableHttpCookie headHttpCookie, HttpHeaderValue contentType) {
+			this.responseWriter.writePartial((responseHead, socketBufferPool) -> writeHead(responseHead,
+					socketBufferPool, version, status, headHttpHeader, headHttpCookie, -1, contentType, true), null);
+		}
+
+		@Override
+		public void writeStreamedHttpResponseEntity(long contentLength,
+				StreamBuffer<ByteBuffer> contentHeadStreamBuffer, boolean isLastPart) {
+
+			// Write content as a chunk
+			if (contentLength > 0) {
+
+				// Chunk data is followed by CRLF
+				StreamBuffer<ByteBuffer> contentTail = contentHeadStreamBuffer;
+				while (contentTail.next != null) {
+					contentTail = contentTail.next;
+				}
+				contentTail.next = this.bufferPool.getUnpooledStreamBuffer(ByteBuffer.wrap(HEADER_EOLN));
+
+				// Write the chunk
+				byte[] chunkSize = (Long.toHexString(contentLength) + "\r\n")
+						.getBytes(ServerHttpConnection.HTTP_CHARSET);
+				this.responseWriter.writePartial((responseHead, socketBufferPool) -> StreamBuffer.write(chunkSize, 0,
+						chunkSize.length, responseHead, socketBufferPool), contentHeadStreamBuffer);
+
+				// Content written
+				contentHeadStreamBuffer = null;
+			}
+
+			// Determine if complete the response
+			if (isLastPart) {
+				this.responseWriter.write((responseHead, socketBufferPool) -> StreamBuffer.write(LAST_CHUNK, 0,
+						LAST_CHUNK.length, responseHead, socketBufferPool), contentHeadStreamBuffer);
+
+			} else if (contentHeadStreamBuffer != null) {
+				// No content, however ensure buffers released
+				this.responseWriter.writePartial(null, contentHeadStreamBuffer);
+			}
+		}
+
+		@Override
+		public void abortStreamedHttpResponse(Throwable failure) {
+			this.responseWriter.closeConnection(failure);
+		}
+
+		@Override
+		public boolean isStreamedHttpResponseClosed() {
+			return this.responseWriter.isClosed();
+		}
+	}
+
 }
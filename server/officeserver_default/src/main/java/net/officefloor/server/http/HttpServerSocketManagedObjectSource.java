@@ -22,8 +22,10 @@ package net.officefloor.server.http;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
 import java.nio.channels.SocketChannel;
 import java.sql.Connection;
 import java.util.HashMap;
@@ -48,6 +50,7 @@ import net.officefloor.frame.api.build.Indexed;
 import net.officefloor.frame.api.build.None;
 import net.officefloor.frame.api.escalate.Escalation;
 import net.officefloor.frame.api.executive.ExecutionStrategy;
+import net.officefloor.frame.api.function.FlowCallback;
 import net.officefloor.frame.api.function.ManagedFunction;
 import net.officefloor.frame.api.function.ManagedFunctionContext;
 import net.officefloor.frame.api.manage.ProcessManager;
@@ -72,6 +75,7 @@ import net.officefloor.server.ServerSocketDecorator;
 import net.officefloor.server.SocketManager;
 import net.officefloor.server.SocketServicer;
 import net.officefloor.server.SocketServicerFactory;
+import net.officefloor.server.http.impl.HttpResponseCompression;
 import net.officefloor.server.http.impl.HttpServerLocationImpl;
 import net.officefloor.server.http.impl.ProcessAwareServerHttpConnectionManagedObject;
 import net.officefloor.server.http.parse.HttpRequestParser.HttpRequestParserMetaData;
@@ -142,6 +146,48 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 	 */
 	public static final String SYSTEM_PROPERTY_MEMORY_THRESHOLD_PERCENTAGE = "officefloor.socket.memory.threshold.percentage";
 
+	/**
+	 * Name of {@link System} property to indicate handing off events to the
+	 * {@link SocketManager} via lock free queues (rather than {@link Pipe}
+	 * notifications).
+	 */
+	public static final String SYSTEM_PROPERTY_LOCK_FREE_EVENTS = "officefloor.socket.lock.free.events";
+
+	/**
+	 * Name of {@link System} property to obtain the maximum number of
+	 * {@link StreamBuffer} instances written to the {@link Socket} by a single
+	 * gathering write.
+	 */
+	public static final String SYSTEM_PROPERTY_MAX_GATHERING_WRITE_BUFFERS = "officefloor.socket.max.gathering.write.buffers";
+
+	/**
+	 * Name of {@link System} property to indicate each {@link SocketManager}
+	 * listener binds its own {@link ServerSocket} to the port via
+	 * <code>SO_REUSEPORT</code>.
+	 */
+	public static final String SYSTEM_PROPERTY_REUSE_PORT = "officefloor.socket.reuse.port";
+
+	/**
+	 * Name of {@link System} property to obtain the milliseconds a connection may
+	 * be without requests before being closed. <code>0</code> (default) for no
+	 * timeout.
+	 */
+	public static final String SYSTEM_PROPERTY_KEEP_ALIVE_TIMEOUT = "officefloor.socket.keep.alive.timeout";
+
+	/**
+	 * Name of {@link System} property to obtain the milliseconds to read the
+	 * headers of a request once its first bytes are received. The entity is not
+	 * timed, so may be slowly uploaded. <code>0</code> (default) for no timeout.
+	 */
+	public static final String SYSTEM_PROPERTY_REQUEST_READ_TIMEOUT = "officefloor.socket.request.read.timeout";
+
+	/**
+	 * Name of {@link System} property to obtain the milliseconds a connection may
+	 * be without reading or writing data before being closed. <code>0</code> for
+	 * no timeout.
+	 */
+	public static final String SYSTEM_PROPERTY_IDLE_TIMEOUT = "officefloor.socket.idle.timeout";
+
 	/**
 	 * Name of {@link Property} indicating if secure.
 	 */
@@ -160,14 +206,79 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 
 	/**
 	 * Name of {@link Property} for the maximum entity length for HTTP parsing.
+	 * <p>
+	 * This also bounds <code>Transfer-Encoding: chunked</code> entities, as they
+	 * are buffered until complete before the {@link HttpRequest} is serviced.
 	 */
 	public static final String PROPERTY_MAX_ENTITY_LENGTH = "max.entity.length";
 
+	/**
+	 * Name of {@link Property} indicating if upgrade to {@link WebSocket} is
+	 * supported. Each {@link WebSocketMessage} is then serviced by the
+	 * {@link #WEB_SOCKET_MESSAGE_FLOW_NAME} {@link Flow}.
+	 */
+	public static final String PROPERTY_WEB_SOCKET = "websocket";
+
+	/**
+	 * Name of {@link Property} indicating if HTTP/2 is supported. HTTP/2 is
+	 * negotiated by ALPN for secure connections and by prior knowledge for clear
+	 * text connections.
+	 */
+	public static final String PROPERTY_HTTP2 = "http2";
+
+	/**
+	 * Name of {@link Property} indicating if to compress {@link HttpResponse}
+	 * entities (negotiated by the <code>Accept-Encoding</code>
+	 * {@link HttpHeader}).
+	 */
+	public static final String PROPERTY_COMPRESSION = "compression";
+
+	/**
+	 * Name of {@link Property} for the minimum {@link HttpResponse} entity length
+	 * to compress.
+	 */
+	public static final String PROPERTY_COMPRESSION_MINIMUM_LENGTH = "compression.minimum.length";
+
+	/**
+	 * Name of {@link Property} for the compression level (<code>-1</code> for
+	 * default, otherwise <code>0</code> to <code>9</code>).
+	 */
+	public static final String PROPERTY_COMPRESSION_LEVEL = "compression.level";
+
+	/**
+	 * Name of {@link Property} for the comma separated list of
+	 * <code>Content-Type</code> values to compress. Values may end with
+	 * <code>/*</code> to match all sub types.
+	 */
+	public static final String PROPERTY_COMPRESSION_CONTENT_TYPES = "compression.content.types";
+
+	/**
+	 * Name of {@link Property} for the deadline in milliseconds to service the
+	 * {@link HttpRequest}. Once passed, the remaining servicing of the
+	 * {@link HttpRequest} is dropped. <code>0</code> (default) for no deadline.
+	 * Note the deadline is only accurate to the office monitoring interval
+	 * (by default a second).
+	 */
+	public static final String PROPERTY_REQUEST_DEADLINE = "request.deadline";
+
+	/**
+	 * Name of {@link Property} for the name of the {@link HttpHeader} providing
+	 * the client deadline in milliseconds to service the {@link HttpRequest}.
+	 * Should {@link #PROPERTY_REQUEST_DEADLINE} also be configured, the earlier
+	 * deadline is used.
+	 */
+	public static final String PROPERTY_REQUEST_DEADLINE_HEADER = "request.deadline.header";
+
 	/**
 	 * Name of the {@link Flow} to handle the request.
 	 */
 	public static final String HANDLE_REQUEST_FLOW_NAME = "HANDLE_REQUEST";
 
+	/**
+	 * Name of the {@link Flow} to handle the {@link WebSocketMessage}.
+	 */
+	public static final String WEB_SOCKET_MESSAGE_FLOW_NAME = "WEB_SOCKET_MESSAGE";
+
 	/**
 	 * Name of the {@link Team} to execute the SSL tasks.
 	 */
@@ -247,6 +358,25 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 		}
 	}
 
+	/**
+	 * Obtains the {@link System} boolean property value.
+	 * 
+	 * @param name         Name of the {@link System} property.
+	 * @param defaultValue Default value.
+	 * @return {@link System} property value.
+	 */
+	private static boolean getBooleanSystemProperty(String name, boolean defaultValue) {
+		String text = System.getProperty(name, null);
+		if (CompileUtil.isBlank(text)) {
+			// No value configured, so use default
+			return defaultValue;
+
+		} else {
+			// Parse the configured value
+			return Boolean.parseBoolean(text.trim());
+		}
+	}
+
 	/**
 	 * Creates the {@link SocketManager} configured from {@link System} properties.
 	 * 
@@ -303,9 +433,25 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 			threadCompletionListenerCapture.accept(bufferPool.createThreadCompletionListener(MANAGED_OBJECT_POOL));
 		}
 
+		// Determine if hand off events lock free
+		boolean isLockFreeEvents = getBooleanSystemProperty(SYSTEM_PROPERTY_LOCK_FREE_EVENTS, false);
+
+		// Obtain the gathering of writes
+		int maxGatheringWriteBuffers = getIntegerSystemProperty(SYSTEM_PROPERTY_MAX_GATHERING_WRITE_BUFFERS,
+				SocketManager.DEFAULT_MAX_GATHERING_WRITE_BUFFERS);
+
+		// Determine if each listener accepts on its own server socket
+		boolean isReusePort = getBooleanSystemProperty(SYSTEM_PROPERTY_REUSE_PORT, false);
+
+		// Obtain the connection timeouts
+		int keepAliveTimeout = getIntegerSystemProperty(SYSTEM_PROPERTY_KEEP_ALIVE_TIMEOUT, 0);
+		int requestReadTimeout = getIntegerSystemProperty(SYSTEM_PROPERTY_REQUEST_READ_TIMEOUT, 0);
+		int idleTimeout = getIntegerSystemProperty(SYSTEM_PROPERTY_IDLE_TIMEOUT, 0);
+
 		// Create and return the socket manager
 		return new SocketManager(numberOfSocketListeners, receiveBufferSize, maxReadsOnSelect, maxActiveSocketRequests,
-				bufferPool, sendBufferSize);
+				bufferPool, sendBufferSize, isLockFreeEvents, maxGatheringWriteBuffers, isReusePort, keepAliveTimeout,
+				requestReadTimeout, idleTimeout);
 	}
 
 	/**
@@ -667,6 +813,35 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 	 */
 	private int handleRequestFlowIndex;
 
+	/**
+	 * {@link Flow} index for the handle {@link WebSocketMessage}.
+	 * <code>-1</code> if {@link WebSocket} not supported.
+	 */
+	private int webSocketMessageFlowIndex = -1;
+
+	/**
+	 * Indicates if HTTP/2 is supported.
+	 */
+	private boolean isHttp2 = false;
+
+	/**
+	 * {@link HttpResponseCompression}. <code>null</code> if not compressing
+	 * {@link HttpResponse} entities.
+	 */
+	private HttpResponseCompression responseCompression = null;
+
+	/**
+	 * Deadline in milliseconds to service the {@link HttpRequest}.
+	 * <code>0</code> for no deadline.
+	 */
+	private long requestDeadline = 0;
+
+	/**
+	 * Name of the {@link HttpHeader} providing the client deadline. May be
+	 * <code>null</code> to not obtain deadline from client.
+	 */
+	private String requestDeadlineHeaderName = null;
+
 	/**
 	 * {@link ManagedObjectExecutorFactory}.
 	 */
@@ -790,6 +965,30 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 		// Obtain the managed object source context
 		ManagedObjectSourceContext<Indexed> mosContext = context.getManagedObjectSourceContext();
 
+		// Determine if support web sockets
+		boolean isWebSocket = Boolean.parseBoolean(mosContext.getProperty(PROPERTY_WEB_SOCKET, String.valueOf(false)));
+		if (isWebSocket) {
+			Labeller<Indexed> webSocketMessageFlow = context.addFlow(WebSocketMessage.class);
+			webSocketMessageFlow.setLabel(WEB_SOCKET_MESSAGE_FLOW_NAME);
+			this.webSocketMessageFlowIndex = webSocketMessageFlow.getIndex();
+		}
+
+		// Determine if support HTTP/2
+		this.isHttp2 = Boolean.parseBoolean(mosContext.getProperty(PROPERTY_HTTP2, String.valueOf(false)));
+
+		// Determine if compress responses
+		boolean isCompression = Boolean
+				.parseBoolean(mosContext.getProperty(PROPERTY_COMPRESSION, String.valueOf(false)));
+		if (isCompression) {
+			long minimumLength = Long.parseLong(mosContext.getProperty(PROPERTY_COMPRESSION_MINIMUM_LENGTH,
+					String.valueOf(HttpResponseCompression.DEFAULT_MINIMUM_CONTENT_LENGTH)));
+			int compressionLevel = Integer
+					.parseInt(mosContext.getProperty(PROPERTY_COMPRESSION_LEVEL, String.valueOf(-1)));
+			String[] contentTypes = mosContext.getProperty(PROPERTY_COMPRESSION_CONTENT_TYPES,
+					String.join(",", HttpResponseCompression.DEFAULT_CONTENT_TYPES)).split(",");
+			this.responseCompression = new HttpResponseCompression(minimumLength, compressionLevel, contentTypes);
+		}
+
 		// Load configuration
 		int maxHeaderCount = Integer.parseInt(mosContext.getProperty(PROPERTY_MAX_HEADER_COUNT, String.valueOf(50)));
 		int maxTextLength = Integer.parseInt(mosContext.getProperty(PROPERTY_MAX_TEXT_LENGTH, String.valueOf(2048)));
@@ -799,6 +998,11 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 		// Create the request parser meta-data
 		this.httpRequestParserMetaData = new HttpRequestParserMetaData(maxHeaderCount, maxTextLength, maxEntityLength);
 
+		// Load possible request deadline
+		this.requestDeadline = Long.parseLong(mosContext.getProperty(PROPERTY_REQUEST_DEADLINE, String.valueOf(0)));
+		String deadlineHeaderName = mosContext.getProperty(PROPERTY_REQUEST_DEADLINE_HEADER, null);
+		this.requestDeadlineHeaderName = CompileUtil.isBlank(deadlineHeaderName) ? null : deadlineHeaderName.trim();
+
 		// Obtain the decorators
 		this.serverSocketDecorator = this.getServerSocketDecorator(context);
 		this.acceptedSocketDecorator = this.getAcceptedSocketDecorator(context);
@@ -871,8 +1075,9 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 					Executor executor = source.executorFactory.createExecutor(serviceContext, executorManagedObject);
 
 					// Register SSL servicing
+					String[] applicationProtocols = source.isHttp2 ? new String[] { "h2", "http/1.1" } : null;
 					SslSocketServicerFactory<?> sslServicerFactory = new SslSocketServicerFactory<>(source.sslContext,
-							servicerFactory, servicerFactory, executor);
+							servicerFactory, servicerFactory, executor, applicationProtocols);
 					socketServicerFactory = sslServicerFactory;
 					requestServicerFactory = sslServicerFactory;
 				}
@@ -972,9 +1177,69 @@ public class HttpServerSocketManagedObjectSource extends AbstractManagedObjectSo
 		protected ProcessManager service(ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection)
 				throws IOException, HttpException {
 
-			// Service request
+			// Service request (within possible deadline)
+			long deadline = this.getRequestDeadline(connection);
 			return this.context.invokeProcess(HttpServerSocketManagedObjectSource.this.handleRequestFlowIndex, null,
-					connection, 0, connection.getServiceFlowCallback());
+					connection, 0, deadline, connection.getServiceFlowCallback());
+		}
+
+		/**
+		 * Obtains the deadline to service the {@link HttpRequest}.
+		 * 
+		 * @param connection {@link ProcessAwareServerHttpConnectionManagedObject}.
+		 * @return Deadline to service the {@link HttpRequest}.
+		 */
+		private long getRequestDeadline(ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection) {
+
+			// Easy access to source
+			HttpServerSocketManagedObjectSource source = HttpServerSocketManagedObjectSource.this;
+
+			// Obtain the configured timeout
+			long timeout = source.requestDeadline;
+
+			// Determine if client provides earlier timeout
+			if (source.requestDeadlineHeaderName != null) {
+				HttpHeader header = connection.getClientRequest().getHeaders()
+						.getHeader(source.requestDeadlineHeaderName);
+				if (header != null) {
+					try {
+						long clientTimeout = Long.parseLong(header.getValue().trim());
+						if ((clientTimeout > 0) && ((timeout <= 0) || (clientTimeout < timeout))) {
+							timeout = clientTimeout;
+						}
+					} catch (NumberFormatException ex) {
+						// Ignore invalid client timeout
+					}
+				}
+			}
+
+			// Return the deadline
+			return (timeout <= 0) ? ProcessManager.NO_DEADLINE : System.currentTimeMillis() + timeout;
+		}
+
+		@Override
+		protected boolean isWebSocketSupported() {
+			return HttpServerSocketManagedObjectSource.this.webSocketMessageFlowIndex >= 0;
+		}
+
+		@Override
+		protected boolean isHttp2Supported() {
+			return HttpServerSocketManagedObjectSource.this.isHttp2;
+		}
+
+		@Override
+		protected HttpResponseCompression getHttpResponseCompression() {
+			return HttpServerSocketManagedObjectSource.this.responseCompression;
+		}
+
+		@Override
+		protected ProcessManager service(WebSocketMessage message,
+				ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection, FlowCallback callback)
+				throws IOException {
+
+			// Service message
+			return this.context.invokeProcess(HttpServerSocketManagedObjectSource.this.webSocketMessageFlowIndex,
+					message, connection, 0, callback);
 		}
 	}
 
@@ -0,0 +1,331 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.officefloor.server.http.HttpHeader;
+import net.officefloor.server.http.impl.SerialisableHttpHeader;
+
+/**
+ * <p>
+ * Decodes HPACK (RFC 7541) header blocks.
+ * <p>
+ * The dynamic table is connection state, so all header blocks of the
+ * connection must be decoded in the order received (even for refused
+ * streams).
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class HpackDecoder {
+
+	/**
+	 * Overhead in bytes of each dynamic table entry.
+	 */
+	private static final int ENTRY_OVERHEAD = 32;
+
+	/**
+	 * Maximum dynamic table size advertised to the client.
+	 */
+	private final int maxTableSize;
+
+	/**
+	 * Current maximum dynamic table size (as updated by the client).
+	 */
+	private int tableSizeLimit;
+
+	/**
+	 * Current size of the dynamic table.
+	 */
+	private int tableSize = 0;
+
+	/**
+	 * Names of the dynamic table entries (ring buffer).
+	 */
+	private String[] entryNames = new String[16];
+
+	/**
+	 * Values of the dynamic table entries (ring buffer).
+	 */
+	private String[] entryValues = new String[16];
+
+	/**
+	 * Index within the ring buffer of the newest entry.
+	 */
+	private int newestEntry = 0;
+
+	/**
+	 * Number of entries in the dynamic table.
+	 */
+	private int entryCount = 0;
+
+	/**
+	 * Position within the header block being decoded.
+	 */
+	private int position;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param maxTableSize Maximum dynamic table size advertised to the client.
+	 */
+	public HpackDecoder(int maxTableSize) {
+		this.maxTableSize = maxTableSize;
+		this.tableSizeLimit = maxTableSize;
+	}
+
+	/**
+	 * Decodes the header block.
+	 * 
+	 * @param block  Data containing the header block.
+	 * @param offset Offset into the data of the header block.
+	 * @param length Number of bytes of the header block.
+	 * @return Decoded {@link HttpHeader} instances (including pseudo-headers) in
+	 *         the order received.
+	 * @throws Http2Exception If invalid header block.
+	 */
+	public List<HttpHeader> decode(byte[] block, int offset, int length) throws Http2Exception {
+		List<HttpHeader> headers = new ArrayList<>();
+		int end = offset + length;
+		this.position = offset;
+		while (this.position < end) {
+			int representation = block[this.position] & 0xff;
+
+			// Determine the representation
+			String name;
+			String value;
+			if ((representation & 0x80) != 0) {
+				// Indexed header field
+				int index = this.decodeInteger(block, end, 7);
+				name = this.getName(index);
+				value = this.getValue(index);
+
+			} else if ((representation & 0xc0) == 0x40) {
+				// Literal header field with incremental indexing
+				int index = this.decodeInteger(block, end, 6);
+				name = (index == 0) ? this.decodeString(block, end) : this.getName(index);
+				value = this.decodeString(block, end);
+				this.addEntry(name, value);
+
+			} else if ((representation & 0xe0) == 0x20) {
+				// Dynamic table size update (must be at start of block)
+				if (headers.size() > 0) {
+					throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Table size update after header field");
+				}
+				int size = this.decodeInteger(block, end, 5);
+				if (size > this.maxTableSize) {
+					throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Table size update exceeds maximum");
+				}
+				this.tableSizeLimit = size;
+				this.evict(0);
+				continue;
+
+			} else {
+				// Literal header field without indexing (or never indexed)
+				int index = this.decodeInteger(block, end, 4);
+				name = (index == 0) ? this.decodeString(block, end) : this.getName(index);
+				value = this.decodeString(block, end);
+			}
+
+			// Include the header
+			headers.add(new SerialisableHttpHeader(name, value));
+		}
+		return headers;
+	}
+
+	/**
+	 * Decodes an integer with the prefix (RFC 7541 Section 5.1).
+	 * 
+	 * @param block      Header block.
+	 * @param end        End of the header block.
+	 * @param prefixBits Number of bits of the prefix.
+	 * @return Decoded integer.
+	 * @throws Http2Exception If invalid integer.
+	 */
+	private int decodeInteger(byte[] block, int end, int prefixBits) throws Http2Exception {
+		int mask = (1 << prefixBits) - 1;
+		int value = block[this.position++] & mask;
+		if (value < mask) {
+			return value; // fits in prefix
+		}
+
+		// Decode the continuation bytes
+		long extended = value;
+		int shift = 0;
+		for (;;) {
+			if (this.position >= end) {
+				throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Truncated integer");
+			}
+			int datum = block[this.position++] & 0xff;
+			extended += ((long) (datum & 0x7f)) << shift;
+			if (extended > Integer.MAX_VALUE) {
+				throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Integer overflow");
+			}
+			if ((datum & 0x80) == 0) {
+				return (int) extended;
+			}
+			shift += 7;
+		}
+	}
+
+	/**
+	 * Decodes a string literal (RFC 7541 Section 5.2).
+	 * 
+	 * @param block Header block.
+	 * @param end   End of the header block.
+	 * @return Decoded string.
+	 * @throws Http2Exception If invalid string literal.
+	 */
+	private String decodeString(byte[] block, int end) throws Http2Exception {
+		if (this.position >= end) {
+			throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Truncated string");
+		}
+		boolean isHuffman = (block[this.position] & 0x80) != 0;
+		int length = this.decodeInteger(block, end, 7);
+		if (length > (end - this.position)) {
+			throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Truncated string");
+		}
+		String value = isHuffman ? HpackHuffman.decode(block, this.position, length)
+				: new String(block, this.position, length, StandardCharsets.ISO_8859_1);
+		this.position += length;
+		return value;
+	}
+
+	/**
+	 * Obtains the name for the index.
+	 * 
+	 * @param index Index into the static and dynamic tables.
+	 * @return Name.
+	 * @throws Http2Exception If invalid index.
+	 */
+	private String getName(int index) throws Http2Exception {
+		return (index <= HpackStaticTable.LENGTH) ? HpackStaticTable.NAMES[this.checkIndex(index)]
+				: this.entryNames[this.getEntry(index)];
+	}
+
+	/**
+	 * Obtains the value for the index.
+	 * 
+	 * @param index Index into the static and dynamic tables.
+	 * @return Value.
+	 * @throws Http2Exception If invalid index.
+	 */
+	private String getValue(int index) throws Http2Exception {
+		return (index <= HpackStaticTable.LENGTH) ? HpackStaticTable.VALUES[this.checkIndex(index)]
+				: this.entryValues[this.getEntry(index)];
+	}
+
+	/**
+	 * Ensures the static table index is valid.
+	 * 
+	 * @param index Static table index.
+	 * @return Static table index.
+	 * @throws Http2Exception If invalid index.
+	 */
+	private int checkIndex(int index) throws Http2Exception {
+		if (index == 0) {
+			throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Invalid index 0");
+		}
+		return index;
+	}
+
+	/**
+	 * Obtains the ring buffer position of the dynamic table entry.
+	 * 
+	 * @param index Index into the static and dynamic tables.
+	 * @return Ring buffer position of the dynamic table entry.
+	 * @throws Http2Exception If invalid index.
+	 */
+	private int getEntry(int index) throws Http2Exception {
+		int age = index - HpackStaticTable.LENGTH - 1;
+		if (age >= this.entryCount) {
+			throw new Http2Exception(Http2Exception.COMPRESSION_ERROR, "Invalid index " + index);
+		}
+		return (this.newestEntry - age) & (this.entryNames.length - 1);
+	}
+
+	/**
+	 * Adds an entry to the dynamic table.
+	 * 
+	 * @param name  Name.
+	 * @param value Value.
+	 */
+	private void addEntry(String name, String value) {
+
+		// Evict to make room for the entry
+		int entrySize = name.length() + value.length() + ENTRY_OVERHEAD;
+		if (entrySize > this.tableSizeLimit) {
+			// Entry larger than table, so empties the table
+			this.evict(this.tableSizeLimit);
+			return;
+		}
+		this.evict(entrySize);
+
+		// Ensure capacity for the entry
+		if (this.entryCount == this.entryNames.length) {
+			int capacity = this.entryNames.length;
+			String[] names = new String[capacity * 2];
+			String[] values = new String[capacity * 2];
+			for (int age = 0; age < this.entryCount; age++) {
+				int from = (this.newestEntry - age) & (capacity - 1);
+				names[this.entryCount - 1 - age] = this.entryNames[from];
+				values[this.entryCount - 1 - age] = this.entryValues[from];
+			}
+			this.entryNames = names;
+			this.entryValues = values;
+			this.newestEntry = this.entryCount - 1;
+		}
+
+		// Add the entry
+		this.newestEntry = (this.newestEntry + 1) & (this.entryNames.length - 1);
+		this.entryNames[this.newestEntry] = name;
+		this.entryValues[this.newestEntry] = value;
+		this.entryCount++;
+		this.tableSize += entrySize;
+	}
+
+	/**
+	 * Evicts the oldest entries to make room in the dynamic table.
+	 * 
+	 * @param requiredSize Size required to be available in the dynamic table.
+	 */
+	private void evict(int requiredSize) {
+		while ((this.entryCount > 0) && ((this.tableSize + requiredSize) > this.tableSizeLimit)) {
+			int oldest = (this.newestEntry - (this.entryCount - 1)) & (this.entryNames.length - 1);
+			this.tableSize -= this.entryNames[oldest].length() + this.entryValues[oldest].length() + ENTRY_OVERHEAD;
+			this.entryNames[oldest] = null;
+			this.entryValues[oldest] = null;
+			this.entryCount--;
+		}
+	}
+
+	/**
+	 * Obtains the current size of the dynamic table.
+	 * 
+	 * @return Current size of the dynamic table.
+	 */
+	public int getTableSize() {
+		return this.tableSize;
+	}
+
+}
@@ -0,0 +1,192 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Encodes HPACK (RFC 7541) header blocks.
+ * <p>
+ * Header fields are encoded as literals without indexing (indexing the name
+ * from the static table where possible). As the dynamic table is never used,
+ * there is no encoding state to synchronise with the client and header blocks
+ * may be encoded in any order. The byte array is reused between header blocks
+ * to avoid allocation for each response.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class HpackEncoder {
+
+	/**
+	 * Static table index of <code>:status</code>.
+	 */
+	private static final int STATUS_INDEX = 8;
+
+	/**
+	 * Header block.
+	 */
+	private byte[] block = new byte[256];
+
+	/**
+	 * Length of the header block.
+	 */
+	private int length = 0;
+
+	/**
+	 * Resets to encode a new header block.
+	 */
+	public void reset() {
+		this.length = 0;
+	}
+
+	/**
+	 * Encodes the <code>:status</code> pseudo-header.
+	 * 
+	 * @param statusCode Status code.
+	 */
+	public void encodeStatus(int statusCode) {
+
+		// Determine if indexed in static table
+		int index;
+		switch (statusCode) {
+		case 200:
+			index = 8;
+			break;
+		case 204:
+			index = 9;
+			break;
+		case 206:
+			index = 10;
+			break;
+		case 304:
+			index = 11;
+			break;
+		case 400:
+			index = 12;
+			break;
+		case 404:
+			index = 13;
+			break;
+		case 500:
+			index = 14;
+			break;
+		default:
+			index = -1;
+			break;
+		}
+		if (index > 0) {
+			this.ensureCapacity(1);
+			this.block[this.length++] = (byte) (0x80 | index);
+			return;
+		}
+
+		// Literal status with indexed name
+		this.encodeInteger(0x00, 4, STATUS_INDEX);
+		this.encodeString(String.valueOf(statusCode));
+	}
+
+	/**
+	 * Encodes the header.
+	 * 
+	 * @param name  Lower case name of the header.
+	 * @param value Value of the header.
+	 */
+	public void encodeHeader(String name, String value) {
+		int nameIndex = HpackStaticTable.getNameIndex(name);
+		if (nameIndex > 0) {
+			// Literal without indexing (indexed name)
+			this.encodeInteger(0x00, 4, nameIndex);
+		} else {
+			// Literal without indexing (new name)
+			this.encodeInteger(0x00, 4, 0);
+			this.encodeString(name);
+		}
+		this.encodeString(value);
+	}
+
+	/**
+	 * Obtains the header block.
+	 * 
+	 * @return Header block. Only the first {@link #getLength()} bytes are valid.
+	 */
+	public byte[] getBlock() {
+		return this.block;
+	}
+
+	/**
+	 * Obtains the length of the header block.
+	 * 
+	 * @return Length of the header block.
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Encodes an integer with the prefix (RFC 7541 Section 5.1).
+	 * 
+	 * @param flags      Flags for the bits before the prefix.
+	 * @param prefixBits Number of bits of the prefix.
+	 * @param value      Value to encode.
+	 */
+	private void encodeInteger(int flags, int prefixBits, int value) {
+		this.ensureCapacity(6);
+		int mask = (1 << prefixBits) - 1;
+		if (value < mask) {
+			this.block[this.length++] = (byte) (flags | value);
+			return;
+		}
+		this.block[this.length++] = (byte) (flags | mask);
+		value -= mask;
+		while (value >= 0x80) {
+			this.block[this.length++] = (byte) ((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		this.block[this.length++] = (byte) value;
+	}
+
+	/**
+	 * Encodes a string literal (without Huffman encoding).
+	 * 
+	 * @param value Value.
+	 */
+	private void encodeString(String value) {
+		int valueLength = value.length();
+		this.encodeInteger(0x00, 7, valueLength);
+		this.ensureCapacity(valueLength);
+		for (int i = 0; i < valueLength; i++) {
+			this.block[this.length++] = (byte) value.charAt(i);
+		}
+	}
+
+	/**
+	 * Ensures capacity within the header block.
+	 * 
+	 * @param required Number of bytes required.
+	 */
+	private void ensureCapacity(int required) {
+		if ((this.length + required) > this.block.length) {
+			this.block = Arrays.copyOf(this.block, Math.max(this.block.length * 2, this.length + required));
+		}
+	}
+
+}
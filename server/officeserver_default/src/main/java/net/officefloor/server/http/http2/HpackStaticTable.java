@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HPACK static table (RFC 7541 Appendix A).
+ * 
+ * @author Daniel Sagenschneider
+ */
+class HpackStaticTable {
+
+	/**
+	 * Names of the static table entries. Index 0 is unused, as HPACK indexes start
+	 * at 1.
+	 */
+	static final String[] NAMES = new String[] { null, ":authority", ":method", ":method", ":path", ":path",
+			":scheme", ":scheme", ":status", ":status", ":status", ":status", ":status", ":status", ":status",
+			"accept-charset", "accept-encoding", "accept-language", "accept-ranges", "accept",
+			"access-control-allow-origin", "age", "allow", "authorization", "cache-control", "content-disposition",
+			"content-encoding", "content-language", "content-length", "content-location", "content-range",
+			"content-type", "cookie", "date", "etag", "expect", "expires", "from", "host", "if-match",
+			"if-modified-since", "if-none-match", "if-range", "if-unmodified-since", "last-modified", "link",
+			"location", "max-forwards", "proxy-authenticate", "proxy-authorization", "range", "referer", "refresh",
+			"retry-after", "server", "set-cookie", "strict-transport-security", "transfer-encoding", "user-agent",
+			"vary", "via", "www-authenticate" };
+
+	/**
+	 * Values of the static table entries.
+	 */
+	static final String[] VALUES = new String[] { null, "", "GET", "POST", "/", "/index.html", "http", "https", "200",
+			"204", "206", "304", "400", "404", "500", "", "gzip, deflate", "", "", "", "", "", "", "", "", "", "", "",
+			"", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "",
+			"", "", "", "", "", "", "" };
+
+	/**
+	 * Number of entries in the static table.
+	 */
+	static final int LENGTH = NAMES.length - 1;
+
+	/**
+	 * First static table index for each name.
+	 */
+	private static final Map<String, Integer> NAME_INDEXES = new HashMap<>();
+
+	static {
+		for (int i = LENGTH; i > 0; i--) {
+			NAME_INDEXES.put(NAMES[i], i);
+		}
+	}
+
+	/**
+	 * Obtains the static table index for the name.
+	 * 
+	 * @param name Lower case name.
+	 * @return Static table index for the name, or <code>0</code> if name not in
+	 *         the static table.
+	 */
+	static int getNameIndex(String name) {
+		Integer index = NAME_INDEXES.get(name);
+		return (index == null) ? 0 : index;
+	}
+
+	/**
+	 * All access via static methods.
+	 */
+	private HpackStaticTable() {
+	}
+
+}
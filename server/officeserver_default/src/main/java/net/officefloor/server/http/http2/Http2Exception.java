@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import java.io.IOException;
+
+/**
+ * HTTP/2 connection failure.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class Http2Exception extends IOException {
+
+	/**
+	 * Serial version UID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Graceful shutdown error code.
+	 */
+	public static final int NO_ERROR = 0x0;
+
+	/**
+	 * Protocol error code.
+	 */
+	public static final int PROTOCOL_ERROR = 0x1;
+
+	/**
+	 * Internal error code.
+	 */
+	public static final int INTERNAL_ERROR = 0x2;
+
+	/**
+	 * Flow control error code.
+	 */
+	public static final int FLOW_CONTROL_ERROR = 0x3;
+
+	/**
+	 * Stream closed error code.
+	 */
+	public static final int STREAM_CLOSED = 0x5;
+
+	/**
+	 * Frame size error code.
+	 */
+	public static final int FRAME_SIZE_ERROR = 0x6;
+
+	/**
+	 * Refused stream error code.
+	 */
+	public static final int REFUSED_STREAM = 0x7;
+
+	/**
+	 * Cancel error code.
+	 */
+	public static final int CANCEL = 0x8;
+
+	/**
+	 * Compression error code.
+	 */
+	public static final int COMPRESSION_ERROR = 0x9;
+
+	/**
+	 * Enhance your calm error code.
+	 */
+	public static final int ENHANCE_YOUR_CALM = 0xb;
+
+	/**
+	 * Error code to send to the client.
+	 */
+	private final int errorCode;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param errorCode Error code to send to the client.
+	 * @param reason    Reason for the failure.
+	 */
+	public Http2Exception(int errorCode, String reason) {
+		super(reason);
+		this.errorCode = errorCode;
+	}
+
+	/**
+	 * Obtains the error code to send to the client.
+	 * 
+	 * @return Error code to send to the client.
+	 */
+	public int getErrorCode() {
+		return this.errorCode;
+	}
+
+}
@@ -0,0 +1,645 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import net.officefloor.server.buffer.StreamBufferByteSequence;
+import net.officefloor.server.buffer.StreamBufferScanner;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * <p>
+ * Parses the HTTP/2 frames (RFC 7540) from the {@link StreamBufferScanner}.
+ * <p>
+ * The <code>DATA</code> frame payloads are copied into pooled
+ * {@link StreamBuffer} instances. This allows the read {@link StreamBuffer}
+ * instances to be released as soon as the frame is parsed, while the stream
+ * is serviced. <code>HEADERS</code> and <code>CONTINUATION</code> frames are
+ * combined into the single header block.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class Http2FrameParser {
+
+	/**
+	 * Connection preface sent by the client.
+	 */
+	public static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * First 8 bytes of the {@link #PREFACE} as a long. Allows detecting HTTP/2
+	 * prior knowledge connections.
+	 */
+	public static final long PREFACE_START = ByteBuffer.wrap(PREFACE).getLong();
+
+	/**
+	 * Default (and maximum accepted) frame payload length.
+	 */
+	public static final int DEFAULT_MAX_FRAME_SIZE = 16384;
+
+	/**
+	 * <code>DATA</code> frame type.
+	 */
+	public static final byte FRAME_DATA = 0x0;
+
+	/**
+	 * <code>HEADERS</code> frame type.
+	 */
+	public static final byte FRAME_HEADERS = 0x1;
+
+	/**
+	 * <code>PRIORITY</code> frame type.
+	 */
+	public static final byte FRAME_PRIORITY = 0x2;
+
+	/**
+	 * <code>RST_STREAM</code> frame type.
+	 */
+	public static final byte FRAME_RST_STREAM = 0x3;
+
+	/**
+	 * <code>SETTINGS</code> frame type.
+	 */
+	public static final byte FRAME_SETTINGS = 0x4;
+
+	/**
+	 * <code>PUSH_PROMISE</code> frame type.
+	 */
+	public static final byte FRAME_PUSH_PROMISE = 0x5;
+
+	/**
+	 * <code>PING</code> frame type.
+	 */
+	public static final byte FRAME_PING = 0x6;
+
+	/**
+	 * <code>GOAWAY</code> frame type.
+	 */
+	public static final byte FRAME_GOAWAY = 0x7;
+
+	/**
+	 * <code>WINDOW_UPDATE</code> frame type.
+	 */
+	public static final byte FRAME_WINDOW_UPDATE = 0x8;
+
+	/**
+	 * <code>CONTINUATION</code> frame type.
+	 */
+	public static final byte FRAME_CONTINUATION = 0x9;
+
+	/**
+	 * <code>END_STREAM</code> flag.
+	 */
+	public static final byte FLAG_END_STREAM = 0x1;
+
+	/**
+	 * <code>ACK</code> flag.
+	 */
+	public static final byte FLAG_ACK = 0x1;
+
+	/**
+	 * <code>END_HEADERS</code> flag.
+	 */
+	public static final byte FLAG_END_HEADERS = 0x4;
+
+	/**
+	 * <code>PADDED</code> flag.
+	 */
+	public static final byte FLAG_PADDED = 0x8;
+
+	/**
+	 * <code>PRIORITY</code> flag.
+	 */
+	public static final byte FLAG_PRIORITY = 0x20;
+
+	/**
+	 * Length of the frame header.
+	 */
+	private static final int FRAME_HEADER_LENGTH = 9;
+
+	/**
+	 * No payload.
+	 */
+	private static final byte[] NO_PAYLOAD = new byte[0];
+
+	/**
+	 * State of parsing the frame.
+	 */
+	private static enum FrameParseState {
+		PREFACE, HEADER, PAYLOAD
+	}
+
+	/**
+	 * {@link StreamBufferPool}.
+	 */
+	private final StreamBufferPool<ByteBuffer> bufferPool;
+
+	/**
+	 * Maximum length of a header block.
+	 */
+	private final int maxHeaderBlockLength;
+
+	/**
+	 * {@link FrameParseState}.
+	 */
+	private FrameParseState stateFrame = FrameParseState.PREFACE;
+
+	/**
+	 * Payload length of the current frame.
+	 */
+	private int frameLength;
+
+	/**
+	 * Type of the current frame.
+	 */
+	private byte frameType;
+
+	/**
+	 * Flags of the current frame.
+	 */
+	private byte frameFlags;
+
+	/**
+	 * Stream identifier of the current frame.
+	 */
+	private int frameStreamId;
+
+	/**
+	 * Stream identifier of the header block awaiting <code>CONTINUATION</code>
+	 * frames. <code>0</code> if not awaiting <code>CONTINUATION</code> frames.
+	 */
+	private int headerBlockStreamId = 0;
+
+	/**
+	 * Flags of the <code>HEADERS</code> frame starting the header block.
+	 */
+	private byte headerBlockFlags;
+
+	/**
+	 * Header block (reused between frames).
+	 */
+	private byte[] headerBlock = new byte[256];
+
+	/**
+	 * Type of the parsed frame.
+	 */
+	private byte type;
+
+	/**
+	 * Flags of the parsed frame.
+	 */
+	private byte flags;
+
+	/**
+	 * Stream identifier of the parsed frame.
+	 */
+	private int streamId;
+
+	/**
+	 * Payload of the parsed frame (header block for <code>HEADERS</code>).
+	 */
+	private byte[] payload = NO_PAYLOAD;
+
+	/**
+	 * Length of the payload of the parsed frame.
+	 */
+	private int payloadLength = 0;
+
+	/**
+	 * Head {@link StreamBuffer} of the data of the parsed <code>DATA</code>
+	 * frame.
+	 */
+	private StreamBuffer<ByteBuffer> dataHead = null;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param bufferPool           {@link StreamBufferPool}.
+	 * @param maxHeaderBlockLength Maximum length of a header block.
+	 */
+	public Http2FrameParser(StreamBufferPool<ByteBuffer> bufferPool, int maxHeaderBlockLength) {
+		this.bufferPool = bufferPool;
+		this.maxHeaderBlockLength = maxHeaderBlockLength;
+	}
+
+	/**
+	 * Obtains the maximum length of a header block.
+	 * 
+	 * @return Maximum length of a header block.
+	 */
+	public int getMaxHeaderBlockLength() {
+		return this.maxHeaderBlockLength;
+	}
+
+	/**
+	 * Parses the next frame.
+	 * 
+	 * @param scanner {@link StreamBufferScanner} containing the received data.
+	 * @return <code>true</code> if a frame is parsed. <code>false</code> if
+	 *         further data is required.
+	 * @throws Http2Exception If invalid frame (connection error).
+	 */
+	public boolean parse(StreamBufferScanner scanner) throws Http2Exception {
+
+		// Parse the frames
+		StreamBufferByteSequence bytes;
+		for (;;) {
+			switch (this.stateFrame) {
+			case PREFACE:
+
+				// Ensure the connection preface
+				bytes = scanner.scanBytes(PREFACE.length);
+				if (bytes == null) {
+					return false; // require further bytes
+				}
+				for (int i = 0; i < PREFACE.length; i++) {
+					if (bytes.byteAt(i) != PREFACE[i]) {
+						throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Invalid connection preface");
+					}
+				}
+				this.stateFrame = FrameParseState.HEADER;
+
+			case HEADER:
+
+				// Obtain the frame header
+				bytes = scanner.scanBytes(FRAME_HEADER_LENGTH);
+				if (bytes == null) {
+					return false; // require further bytes
+				}
+				this.frameLength = ((bytes.byteAt(0) & 0xff) << 16) | ((bytes.byteAt(1) & 0xff) << 8)
+						| (bytes.byteAt(2) & 0xff);
+				this.frameType = bytes.byteAt(3);
+				this.frameFlags = bytes.byteAt(4);
+				this.frameStreamId = readInt(bytes, 5) & 0x7fffffff;
+
+				// Ensure within frame size
+				if (this.frameLength > DEFAULT_MAX_FRAME_SIZE) {
+					throw new Http2Exception(Http2Exception.FRAME_SIZE_ERROR, "Frame too large");
+				}
+
+				// Ensure continuation of header block is not interrupted
+				boolean isContinuation = (this.frameType == FRAME_CONTINUATION);
+				if (this.headerBlockStreamId != 0) {
+					if ((!isContinuation) || (this.frameStreamId != this.headerBlockStreamId)) {
+						throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Expecting CONTINUATION frame");
+					}
+				} else if (isContinuation) {
+					throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Unexpected CONTINUATION frame");
+				}
+
+				this.stateFrame = FrameParseState.PAYLOAD;
+			case PAYLOAD:
+
+				// Obtain the payload
+				bytes = (this.frameLength == 0) ? null : scanner.scanBytes(this.frameLength);
+				if ((this.frameLength > 0) && (bytes == null)) {
+					return false; // require further bytes
+				}
+
+				// Frame parsed, so start next frame
+				this.stateFrame = FrameParseState.HEADER;
+
+				// Handle the frame
+				switch (this.frameType) {
+				case FRAME_DATA:
+					this.ensureStream();
+
+					// Copy the data into the pooled buffers
+					int dataOffset = this.getPaddedOffset();
+					int dataEnd = this.getPaddedEnd(bytes);
+					this.dataHead = null;
+					if (dataEnd > dataOffset) {
+						this.dataHead = this.bufferPool.getPooledStreamBuffer();
+						StreamBuffer<ByteBuffer> writeBuffer = this.dataHead;
+						for (int i = dataOffset; i < dataEnd; i++) {
+							writeBuffer = StreamBuffer.writeByte(bytes.byteAt(i), writeBuffer, this.bufferPool);
+						}
+					}
+					this.loadFrame(NO_PAYLOAD, dataEnd - dataOffset);
+					return true;
+
+				case FRAME_HEADERS:
+					this.ensureStream();
+
+					// Start the header block
+					int blockOffset = this.getPaddedOffset();
+					if ((this.frameFlags & FLAG_PRIORITY) != 0) {
+						blockOffset += 5; // ignore priority
+					}
+					int blockEnd = this.getPaddedEnd(bytes);
+					if (blockOffset > blockEnd) {
+						throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Invalid HEADERS padding");
+					}
+					this.headerBlockFlags = this.frameFlags;
+					this.payloadLength = 0;
+					this.appendHeaderBlock(bytes, blockOffset, blockEnd);
+					break;
+
+				case FRAME_CONTINUATION:
+					this.appendHeaderBlock(bytes, 0, this.frameLength);
+					break;
+
+				case FRAME_PRIORITY:
+					this.ensureStream();
+					this.ensureLength(5);
+					continue; // priority ignored
+
+				case FRAME_RST_STREAM:
+					this.ensureStream();
+					this.ensureLength(4);
+					this.loadFrame(this.copyPayload(bytes), this.frameLength);
+					return true;
+
+				case FRAME_SETTINGS:
+					this.ensureConnection();
+					if ((this.frameLength % 6) != 0) {
+						throw new Http2Exception(Http2Exception.FRAME_SIZE_ERROR, "Invalid SETTINGS length");
+					}
+					if (((this.frameFlags & FLAG_ACK) != 0) && (this.frameLength != 0)) {
+						throw new Http2Exception(Http2Exception.FRAME_SIZE_ERROR, "SETTINGS ack with payload");
+					}
+					this.loadFrame(this.copyPayload(bytes), this.frameLength);
+					return true;
+
+				case FRAME_PUSH_PROMISE:
+					throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "PUSH_PROMISE from client");
+
+				case FRAME_PING:
+					this.ensureConnection();
+					this.ensureLength(8);
+					this.loadFrame(this.copyPayload(bytes), this.frameLength);
+					return true;
+
+				case FRAME_GOAWAY:
+					this.ensureConnection();
+					if (this.frameLength < 8) {
+						throw new Http2Exception(Http2Exception.FRAME_SIZE_ERROR, "Invalid GOAWAY length");
+					}
+					this.loadFrame(this.copyPayload(bytes), this.frameLength);
+					return true;
+
+				case FRAME_WINDOW_UPDATE:
+					this.ensureLength(4);
+					this.loadFrame(this.copyPayload(bytes), this.frameLength);
+					return true;
+
+				default:
+					continue; // unknown frames are ignored
+				}
+
+				// Determine if header block complete
+				if ((this.frameFlags & FLAG_END_HEADERS) == 0) {
+					this.headerBlockStreamId = this.frameStreamId;
+					continue; // continue with next frame
+				}
+				this.headerBlockStreamId = 0;
+
+				// Have the header block
+				this.type = FRAME_HEADERS;
+				this.flags = this.headerBlockFlags;
+				this.streamId = this.frameStreamId;
+				this.payload = this.headerBlock;
+				return true;
+			}
+
+			// Should never get here
+			throw new Http2Exception(Http2Exception.INTERNAL_ERROR, "Invalid internal state in parsing frame");
+		}
+	}
+
+	/**
+	 * Reads a 32 bit integer.
+	 * 
+	 * @param bytes  {@link StreamBufferByteSequence}.
+	 * @param offset Offset to read the integer.
+	 * @return Integer.
+	 */
+	private static int readInt(StreamBufferByteSequence bytes, int offset) {
+		return ((bytes.byteAt(offset) & 0xff) << 24) | ((bytes.byteAt(offset + 1) & 0xff) << 16)
+				| ((bytes.byteAt(offset + 2) & 0xff) << 8) | (bytes.byteAt(offset + 3) & 0xff);
+	}
+
+	/**
+	 * Ensures the frame is for a stream.
+	 * 
+	 * @throws Http2Exception If frame for the connection.
+	 */
+	private void ensureStream() throws Http2Exception {
+		if (this.frameStreamId == 0) {
+			throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Frame type " + this.frameType + " requires stream");
+		}
+	}
+
+	/**
+	 * Ensures the frame is for the connection.
+	 * 
+	 * @throws Http2Exception If frame for a stream.
+	 */
+	private void ensureConnection() throws Http2Exception {
+		if (this.frameStreamId != 0) {
+			throw new Http2Exception(Http2Exception.PROTOCOL_ERROR,
+					"Frame type " + this.frameType + " not allowed for stream");
+		}
+	}
+
+	/**
+	 * Ensures the frame payload is of the required length.
+	 * 
+	 * @param length Required length.
+	 * @throws Http2Exception If not required length.
+	 */
+	private void ensureLength(int length) throws Http2Exception {
+		if (this.frameLength != length) {
+			throw new Http2Exception(Http2Exception.FRAME_SIZE_ERROR,
+					"Invalid length for frame type " + this.frameType);
+		}
+	}
+
+	/**
+	 * Obtains the offset of the content within a possibly padded payload.
+	 * 
+	 * @return Offset of the content.
+	 * @throws Http2Exception If invalid padding.
+	 */
+	private int getPaddedOffset() throws Http2Exception {
+		if ((this.frameFlags & FLAG_PADDED) == 0) {
+			return 0;
+		}
+		if (this.frameLength == 0) {
+			throw new Http2Exception(Http2Exception.FRAME_SIZE_ERROR, "Missing pad length");
+		}
+		return 1;
+	}
+
+	/**
+	 * Obtains the end of the content within a possibly padded payload.
+	 * 
+	 * @param bytes Payload.
+	 * @return End of the content.
+	 * @throws Http2Exception If invalid padding.
+	 */
+	private int getPaddedEnd(StreamBufferByteSequence bytes) throws Http2Exception {
+		if ((this.frameFlags & FLAG_PADDED) == 0) {
+			return this.frameLength;
+		}
+		int padLength = bytes.byteAt(0) & 0xff;
+		if (padLength >= this.frameLength) {
+			throw new Http2Exception(Http2Exception.PROTOCOL_ERROR, "Padding exceeds payload");
+		}
+		return this.frameLength - padLength;
+	}
+
+	/**
+	 * Appends the fragment to the header block.
+	 * 
+	 * @param bytes Payload.
+	 * @param start Start of the fragment within the payload.
+	 * @param end   End of the fragment within the payload.
+	 * @throws Http2Exception If header block too long.
+	 */
+	private void appendHeaderBlock(StreamBufferByteSequence bytes, int start, int end) throws Http2Exception {
+		int length = this.payloadLength + (end - start);
+		if (length > this.maxHeaderBlockLength) {
+			throw new Http2Exception(Http2Exception.ENHANCE_YOUR_CALM, "Header block too long");
+		}
+		if (length > this.headerBlock.length) {
+			this.headerBlock = Arrays.copyOf(this.headerBlock, Math.max(this.headerBlock.length * 2, length));
+		}
+		for (int i = start; i < end; i++) {
+			this.headerBlock[this.payloadLength++] = bytes.byteAt(i);
+		}
+	}
+
+	/**
+	 * Copies the frame payload.
+	 * 
+	 * @param bytes Payload.
+	 * @return Copy of the payload.
+	 */
+	private byte[] copyPayload(StreamBufferByteSequence bytes) {
+		byte[] copy = new byte[this.frameLength];
+		for (int i = 0; i < copy.length; i++) {
+			copy[i] = bytes.byteAt(i);
+		}
+		return copy;
+	}
+
+	/**
+	 * Loads the parsed frame.
+	 * 
+	 * @param payload       Payload.
+	 * @param payloadLength Length of the payload.
+	 */
+	private void loadFrame(byte[] payload, int payloadLength) {
+		this.type = this.frameType;
+		this.flags = this.frameFlags;
+		this.streamId = this.frameStreamId;
+		this.payload = payload;
+		this.payloadLength = payloadLength;
+	}
+
+	/**
+	 * Obtains the type of the parsed frame.
+	 * 
+	 * @return Type of the parsed frame.
+	 */
+	public byte getType() {
+		return this.type;
+	}
+
+	/**
+	 * Indicates if the flag is set on the parsed frame.
+	 * 
+	 * @param flag Flag.
+	 * @return <code>true</code> if the flag is set.
+	 */
+	public boolean isFlag(byte flag) {
+		return (this.flags & flag) != 0;
+	}
+
+	/**
+	 * Obtains the stream identifier of the parsed frame.
+	 * 
+	 * @return Stream identifier of the parsed frame.
+	 */
+	public int getStreamId() {
+		return this.streamId;
+	}
+
+	/**
+	 * Obtains the payload of the parsed frame. For <code>HEADERS</code> this is
+	 * the complete header block.
+	 * 
+	 * @return Payload of the parsed frame. Only the first
+	 *         {@link #getPayloadLength()} bytes are valid.
+	 */
+	public byte[] getPayload() {
+		return this.payload;
+	}
+
+	/**
+	 * Obtains the length of the payload. For <code>DATA</code> this is the
+	 * length of the data (excluding padding).
+	 * 
+	 * @return Length of the payload.
+	 */
+	public int getPayloadLength() {
+		return this.payloadLength;
+	}
+
+	/**
+	 * Obtains the flow controlled length of the parsed frame.
+	 * 
+	 * @return Flow controlled length of the parsed frame.
+	 */
+	public int getFlowControlLength() {
+		return (this.type == FRAME_DATA) ? this.frameLength : 0;
+	}
+
+	/**
+	 * Obtains an integer from the payload.
+	 * 
+	 * @param offset Offset into the payload.
+	 * @return Integer.
+	 */
+	public int getPayloadInt(int offset) {
+		return ((this.payload[offset] & 0xff) << 24) | ((this.payload[offset + 1] & 0xff) << 16)
+				| ((this.payload[offset + 2] & 0xff) << 8) | (this.payload[offset + 3] & 0xff);
+	}
+
+	/**
+	 * Removes the data of the parsed <code>DATA</code> frame.
+	 * 
+	 * @return Head {@link StreamBuffer} of the data. May be <code>null</code> if
+	 *         no data. Responsibility for releasing the {@link StreamBuffer}
+	 *         instances is passed to the caller.
+	 */
+	public StreamBuffer<ByteBuffer> removeData() {
+		StreamBuffer<ByteBuffer> head = this.dataHead;
+		this.dataHead = null;
+		return head;
+	}
+
+}
@@ -0,0 +1,230 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import java.nio.ByteBuffer;
+
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * Writes HTTP/2 frames (RFC 7540) to pooled {@link StreamBuffer} instances.
+ * <p>
+ * Frames are appended to the linked list of {@link StreamBuffer} instances, so
+ * that multiple frames may be written together.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class Http2FrameWriter {
+
+	/**
+	 * <code>SETTINGS_HEADER_TABLE_SIZE</code> identifier.
+	 */
+	public static final int SETTINGS_HEADER_TABLE_SIZE = 0x1;
+
+	/**
+	 * <code>SETTINGS_ENABLE_PUSH</code> identifier.
+	 */
+	public static final int SETTINGS_ENABLE_PUSH = 0x2;
+
+	/**
+	 * <code>SETTINGS_MAX_CONCURRENT_STREAMS</code> identifier.
+	 */
+	public static final int SETTINGS_MAX_CONCURRENT_STREAMS = 0x3;
+
+	/**
+	 * <code>SETTINGS_INITIAL_WINDOW_SIZE</code> identifier.
+	 */
+	public static final int SETTINGS_INITIAL_WINDOW_SIZE = 0x4;
+
+	/**
+	 * <code>SETTINGS_MAX_FRAME_SIZE</code> identifier.
+	 */
+	public static final int SETTINGS_MAX_FRAME_SIZE = 0x5;
+
+	/**
+	 * <code>SETTINGS_MAX_HEADER_LIST_SIZE</code> identifier.
+	 */
+	public static final int SETTINGS_MAX_HEADER_LIST_SIZE = 0x6;
+
+	/**
+	 * Writes the frame header.
+	 * 
+	 * @param length     Length of the frame payload.
+	 * @param type       Type of the frame.
+	 * @param flags      Flags of the frame.
+	 * @param streamId   Stream identifier.
+	 * @param head       Head {@link StreamBuffer} to append the frame header.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	public static void writeFrameHeader(int length, byte type, byte flags, int streamId,
+			StreamBuffer<ByteBuffer> head, StreamBufferPool<ByteBuffer> bufferPool) {
+		byte[] header = new byte[] { (byte) (length >> 16), (byte) (length >> 8), (byte) length, type, flags,
+				(byte) (streamId >> 24), (byte) (streamId >> 16), (byte) (streamId >> 8), (byte) streamId };
+		StreamBuffer.write(header, head, bufferPool);
+	}
+
+	/**
+	 * Writes the server <code>SETTINGS</code> frame.
+	 * 
+	 * @param maxConcurrentStreams Maximum number of concurrent streams.
+	 * @param maxHeaderListSize    Maximum size of the header list.
+	 * @param head                 Head {@link StreamBuffer} to append the frame.
+	 * @param bufferPool           {@link StreamBufferPool}.
+	 */
+	public static void writeSettings(int maxConcurrentStreams, int maxHeaderListSize, StreamBuffer<ByteBuffer> head,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+		writeFrameHeader(12, Http2FrameParser.FRAME_SETTINGS, (byte) 0, 0, head, bufferPool);
+		writeSetting(SETTINGS_MAX_CONCURRENT_STREAMS, maxConcurrentStreams, head, bufferPool);
+		writeSetting(SETTINGS_MAX_HEADER_LIST_SIZE, maxHeaderListSize, head, bufferPool);
+	}
+
+	/**
+	 * Writes a setting.
+	 * 
+	 * @param identifier Identifier of the setting.
+	 * @param value      Value of the setting.
+	 * @param head       Head {@link StreamBuffer} to append the setting.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	private static void writeSetting(int identifier, int value, StreamBuffer<ByteBuffer> head,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+		byte[] setting = new byte[] { (byte) (identifier >> 8), (byte) identifier, (byte) (value >> 24),
+				(byte) (value >> 16), (byte) (value >> 8), (byte) value };
+		StreamBuffer.write(setting, head, bufferPool);
+	}
+
+	/**
+	 * Writes the <code>SETTINGS</code> acknowledgement.
+	 * 
+	 * @param head       Head {@link StreamBuffer} to append the frame.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	public static void writeSettingsAck(StreamBuffer<ByteBuffer> head, StreamBufferPool<ByteBuffer> bufferPool) {
+		writeFrameHeader(0, Http2FrameParser.FRAME_SETTINGS, Http2FrameParser.FLAG_ACK, 0, head, bufferPool);
+	}
+
+	/**
+	 * Writes the <code>PING</code> acknowledgement.
+	 * 
+	 * @param opaqueData Opaque data of the received <code>PING</code>.
+	 * @param head       Head {@link StreamBuffer} to append the frame.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	public static void writePingAck(byte[] opaqueData, StreamBuffer<ByteBuffer> head,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+		writeFrameHeader(8, Http2FrameParser.FRAME_PING, Http2FrameParser.FLAG_ACK, 0, head, bufferPool);
+		StreamBuffer.write(opaqueData, 0, 8, head, bufferPool);
+	}
+
+	/**
+	 * Writes a <code>WINDOW_UPDATE</code> frame.
+	 * 
+	 * @param streamId   Stream identifier. <code>0</code> for the connection.
+	 * @param increment  Window size increment.
+	 * @param head       Head {@link StreamBuffer} to append the frame.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	public static void writeWindowUpdate(int streamId, int increment, StreamBuffer<ByteBuffer> head,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+		writeFrameHeader(4, Http2FrameParser.FRAME_WINDOW_UPDATE, (byte) 0, streamId, head, bufferPool);
+		writeInt(increment, head, bufferPool);
+	}
+
+	/**
+	 * Writes a <code>RST_STREAM</code> frame.
+	 * 
+	 * @param streamId   Stream identifier.
+	 * @param errorCode  Error code.
+	 * @param head       Head {@link StreamBuffer} to append the frame.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	public static void writeRstStream(int streamId, int errorCode, StreamBuffer<ByteBuffer> head,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+		writeFrameHeader(4, Http2FrameParser.FRAME_RST_STREAM, (byte) 0, streamId, head, bufferPool);
+		writeInt(errorCode, head, bufferPool);
+	}
+
+	/**
+	 * Writes a <code>GOAWAY</code> frame.
+	 * 
+	 * @param lastStreamId Identifier of the last stream processed.
+	 * @param errorCode    Error code.
+	 * @param head         Head {@link StreamBuffer} to append the frame.
+	 * @param bufferPool   {@link StreamBufferPool}.
+	 */
+	public static void writeGoAway(int lastStreamId, int errorCode, StreamBuffer<ByteBuffer> head,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+		writeFrameHeader(8, Http2FrameParser.FRAME_GOAWAY, (byte) 0, 0, head, bufferPool);
+		writeInt(lastStreamId, head, bufferPool);
+		writeInt(errorCode, head, bufferPool);
+	}
+
+	/**
+	 * Writes the header block as <code>HEADERS</code> frame followed by any
+	 * necessary <code>CONTINUATION</code> frames.
+	 * 
+	 * @param streamId     Stream identifier.
+	 * @param block        Header block.
+	 * @param length       Length of the header block.
+	 * @param isEndStream  Indicates if the header block ends the stream.
+	 * @param maxFrameSize Maximum frame size of the client.
+	 * @param head         Head {@link StreamBuffer} to append the frames.
+	 * @param bufferPool   {@link StreamBufferPool}.
+	 */
+	public static void writeHeaders(int streamId, byte[] block, int length, boolean isEndStream, int maxFrameSize,
+			StreamBuffer<ByteBuffer> head, StreamBufferPool<ByteBuffer> bufferPool) {
+		byte type = Http2FrameParser.FRAME_HEADERS;
+		byte endStream = isEndStream ? Http2FrameParser.FLAG_END_STREAM : 0;
+		int offset = 0;
+		do {
+			int fragmentLength = Math.min(length - offset, maxFrameSize);
+			boolean isEndHeaders = (offset + fragmentLength) == length;
+			byte flags = (byte) (endStream | (isEndHeaders ? Http2FrameParser.FLAG_END_HEADERS : 0));
+			writeFrameHeader(fragmentLength, type, flags, streamId, head, bufferPool);
+			StreamBuffer.write(block, offset, fragmentLength, head, bufferPool);
+
+			// Remaining fragments are continuations
+			offset += fragmentLength;
+			type = Http2FrameParser.FRAME_CONTINUATION;
+			endStream = 0;
+		} while (offset < length);
+	}
+
+	/**
+	 * Writes a 32 bit integer.
+	 * 
+	 * @param value      Value.
+	 * @param head       Head {@link StreamBuffer} to append the integer.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 */
+	private static void writeInt(int value, StreamBuffer<ByteBuffer> head, StreamBufferPool<ByteBuffer> bufferPool) {
+		byte[] bytes = new byte[] { (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value };
+		StreamBuffer.write(bytes, head, bufferPool);
+	}
+
+	/**
+	 * All access via static methods.
+	 */
+	private Http2FrameWriter() {
+	}
+
+}
@@ -0,0 +1,219 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import net.officefloor.server.stream.BufferJvmFix;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBuffer.FileBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * <p>
+ * Entity of a HTTP/2 response awaiting to be written as <code>DATA</code>
+ * frames.
+ * <p>
+ * As the entity may only be written as flow control windows allow, it is
+ * written in parts. Each part is copied into pooled {@link StreamBuffer}
+ * instances behind the <code>DATA</code> frame header, with the entity
+ * {@link StreamBuffer} instances released as they are consumed.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class Http2ResponseEntity {
+
+	/**
+	 * Obtains the number of bytes of the {@link StreamBuffer}.
+	 * 
+	 * @param buffer {@link StreamBuffer}.
+	 * @return Number of bytes of the {@link StreamBuffer}.
+	 * @throws IOException If fails to obtain size of file.
+	 */
+	private static long getLength(StreamBuffer<ByteBuffer> buffer) throws IOException {
+		if (buffer.pooledBuffer != null) {
+			return BufferJvmFix.position(buffer.pooledBuffer);
+		} else if (buffer.unpooledByteBuffer != null) {
+			return buffer.unpooledByteBuffer.remaining();
+		} else {
+			FileBuffer fileBuffer = buffer.fileBuffer;
+			return (fileBuffer.count >= 0) ? fileBuffer.count : (fileBuffer.file.size() - fileBuffer.position);
+		}
+	}
+
+	/**
+	 * Head {@link StreamBuffer} of the remaining entity.
+	 */
+	private StreamBuffer<ByteBuffer> head;
+
+	/**
+	 * Number of bytes already consumed from the head {@link StreamBuffer}.
+	 */
+	private long headConsumed = 0;
+
+	/**
+	 * Number of bytes of the head {@link StreamBuffer}.
+	 */
+	private long headLength;
+
+	/**
+	 * Number of bytes remaining to be written.
+	 */
+	private long remaining = 0;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param head Head {@link StreamBuffer} of the entity.
+	 * @throws IOException If fails to determine length of the entity.
+	 */
+	public Http2ResponseEntity(StreamBuffer<ByteBuffer> head) throws IOException {
+		this.head = head;
+		StreamBuffer<ByteBuffer> buffer = head;
+		while (buffer != null) {
+			this.remaining += getLength(buffer);
+			buffer = buffer.next;
+		}
+		this.headLength = (head == null) ? 0 : getLength(head);
+	}
+
+	/**
+	 * Obtains the number of bytes remaining to be written.
+	 * 
+	 * @return Number of bytes remaining to be written.
+	 */
+	public long getRemaining() {
+		return this.remaining;
+	}
+
+	/**
+	 * Writes the next <code>DATA</code> frame.
+	 * 
+	 * @param streamId   Stream identifier.
+	 * @param length     Number of bytes to write. Must not exceed
+	 *                   {@link #getRemaining()}.
+	 * @param frameHead  Head {@link StreamBuffer} to append the frame.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 * @throws IOException If fails to read the entity.
+	 */
+	public void writeData(int streamId, int length, StreamBuffer<ByteBuffer> frameHead,
+			StreamBufferPool<ByteBuffer> bufferPool) throws IOException {
+
+		// Write the frame header
+		this.remaining -= length;
+		byte flags = (this.remaining == 0) ? Http2FrameParser.FLAG_END_STREAM : 0;
+		Http2FrameWriter.writeFrameHeader(length, Http2FrameParser.FRAME_DATA, flags, streamId, frameHead,
+				bufferPool);
+
+		// Copy the data
+		StreamBuffer<ByteBuffer> target = StreamBuffer.getWriteStreamBuffer(frameHead, bufferPool);
+		while (length > 0) {
+
+			// Release consumed entity buffers
+			while (this.headConsumed == this.headLength) {
+				if (this.head == null) {
+					throw new IOException("Response entity shorter than expected");
+				}
+				this.releaseHead(true);
+			}
+
+			// Ensure space in target
+			if (target.pooledBuffer.remaining() == 0) {
+				target.next = bufferPool.getPooledStreamBuffer();
+				target = target.next;
+			}
+
+			// Copy the available data
+			int copyLength = (int) Math.min(Math.min(length, target.pooledBuffer.remaining()),
+					this.headLength - this.headConsumed);
+			if (this.head.pooledBuffer != null) {
+				ByteBuffer source = this.head.pooledBuffer.duplicate();
+				BufferJvmFix.limit(source, (int) (this.headConsumed + copyLength));
+				BufferJvmFix.position(source, (int) this.headConsumed);
+				target.pooledBuffer.put(source);
+
+			} else if (this.head.unpooledByteBuffer != null) {
+				ByteBuffer source = this.head.unpooledByteBuffer.duplicate();
+				int start = BufferJvmFix.position(source) + (int) this.headConsumed;
+				BufferJvmFix.limit(source, start + copyLength);
+				BufferJvmFix.position(source, start);
+				target.pooledBuffer.put(source);
+
+			} else {
+				FileBuffer fileBuffer = this.head.fileBuffer;
+				ByteBuffer destination = target.pooledBuffer.slice();
+				BufferJvmFix.limit(destination, copyLength);
+				long filePosition = fileBuffer.position + this.headConsumed;
+				while (destination.hasRemaining()) {
+					int bytesRead = fileBuffer.file.read(destination, filePosition);
+					if (bytesRead < 0) {
+						throw new IOException("File shorter than response entity");
+					}
+					filePosition += bytesRead;
+				}
+				BufferJvmFix.position(target.pooledBuffer, BufferJvmFix.position(target.pooledBuffer) + copyLength);
+			}
+			this.headConsumed += copyLength;
+			length -= copyLength;
+		}
+
+		// Release entity buffers once written
+		while ((this.head != null) && (this.headConsumed == this.headLength)) {
+			this.releaseHead(true);
+		}
+	}
+
+	/**
+	 * Releases the remaining entity.
+	 */
+	public void release() {
+		while (this.head != null) {
+			try {
+				this.releaseHead(false);
+			} catch (IOException ex) {
+				// Carry on to release remaining buffers
+			}
+		}
+		this.remaining = 0;
+	}
+
+	/**
+	 * Releases the head {@link StreamBuffer}.
+	 * 
+	 * @param isWritten Indicates if the head {@link StreamBuffer} was written.
+	 * @throws IOException If fails to release.
+	 */
+	private void releaseHead(boolean isWritten) throws IOException {
+		StreamBuffer<ByteBuffer> release = this.head;
+		this.head = release.next;
+		this.headConsumed = 0;
+		this.headLength = (this.head == null) ? 0 : getLength(this.head);
+		try {
+			if ((release.fileBuffer != null) && (release.fileBuffer.callback != null)) {
+				release.fileBuffer.callback.complete(release.fileBuffer.file, isWritten);
+			}
+		} finally {
+			release.release();
+		}
+	}
+
+}
@@ -36,6 +36,7 @@ import net.officefloor.server.http.ServerHttpConnection;
 import net.officefloor.server.http.impl.MaterialisingHttpRequestHeaders;
 import net.officefloor.server.http.impl.NonMaterialisedHttpHeaders;
 import net.officefloor.server.stream.impl.ByteSequence;
+import net.officefloor.server.stream.impl.CompositeByteSequence;
 
 /**
  * {@link HttpRequest} parser.
@@ -138,6 +139,10 @@ public class HttpRequestParser extends StreamBufferScanner {
 	private static final Function<Character, HttpException> exceptionInvalidContentLengthValue = (
 			digit) -> new HttpException(new HttpStatus(HttpStatus.LENGTH_REQUIRED.getStatusCode(),
 					"Content-Length header value must be an integer"));
+	private static final Supplier<HttpException> exceptionChunkSizeTooLong = () -> new HttpException(
+			new HttpStatus(HttpStatus.BAD_REQUEST.getStatusCode(), "Chunk size too long"));
+	private static final Supplier<HttpException> exceptionTrailerTooLong = () -> new HttpException(
+			new HttpStatus(HttpStatus.BAD_REQUEST.getStatusCode(), "Trailer too long"));
 
 	/**
 	 * Obtains the HTTP byte for the {@link String} value.
@@ -225,7 +230,7 @@ public class HttpRequestParser extends StreamBufferScanner {
 	 * State of parsing the {@link HttpRequest}.
 	 */
 	private static enum RequestParseState {
-		NEW_REQUEST, LEADING_CRLF, METHOD, CUSTOM_METHOD, REQUEST_URI, VERSION, CUSTOM_VERSION, REQUEST_LINE_EOLN, HEADERS, PARSE_HEADERS, ENTITY
+		NEW_REQUEST, LEADING_CRLF, METHOD, CUSTOM_METHOD, REQUEST_URI, VERSION, CUSTOM_VERSION, REQUEST_LINE_EOLN, HEADERS, PARSE_HEADERS, ENTITY, CHUNKED_ENTITY
 	}
 
 	/**
@@ -235,6 +240,13 @@ public class HttpRequestParser extends StreamBufferScanner {
 		LEADING_SPACE_CHECK, HEADER_NAME, HEADER_VALUE, HEADER_EOLN, END_OF_HEADERS
 	}
 
+	/**
+	 * State of parsing a chunked entity.
+	 */
+	private static enum ChunkParseState {
+		CHUNK_SIZE, CHUNK_SIZE_EOLN, CHUNK_DATA, CHUNK_DATA_EOLN, TRAILERS, TRAILER, TRAILER_EOLN
+	}
+
 	/**
 	 * {@link HttpRequestParserMetaData}.
 	 */
@@ -250,6 +262,11 @@ public class HttpRequestParser extends StreamBufferScanner {
 	 */
 	private HeaderParseState stateHeader = HeaderParseState.LEADING_SPACE_CHECK;
 
+	/**
+	 * {@link ChunkParseState}.
+	 */
+	private ChunkParseState stateChunk = ChunkParseState.CHUNK_SIZE;
+
 	/**
 	 * {@link Supplier} for the {@link HttpMethod}.
 	 */
@@ -280,6 +297,22 @@ public class HttpRequestParser extends StreamBufferScanner {
 	 */
 	private long contentLength = 0;
 
+	/**
+	 * Indicates if Content-Length provided.
+	 */
+	private boolean isContentLength = false;
+
+	/**
+	 * {@link CompositeByteSequence} for a chunked HTTP entity. Will be
+	 * <code>null</code> if entity not chunked.
+	 */
+	private CompositeByteSequence chunkedEntity = null;
+
+	/**
+	 * Size of the current chunk.
+	 */
+	private long chunkSize = 0;
+
 	/**
 	 * {@link ByteSequence} for the HTTP entity.
 	 */
@@ -295,6 +328,17 @@ public class HttpRequestParser extends StreamBufferScanner {
 		this.metaData = metaData;
 	}
 
+	/**
+	 * Indicates if the headers of the {@link HttpRequest} have been parsed, with
+	 * only the entity remaining to be parsed.
+	 * 
+	 * @return <code>true</code> if parsing the entity of the {@link HttpRequest}.
+	 */
+	public boolean isParsingEntity() {
+		return (this.stateRequest == RequestParseState.ENTITY)
+				|| (this.stateRequest == RequestParseState.CHUNKED_ENTITY);
+	}
+
 	/**
 	 * Parses the {@link HttpRequest}.
 	 * 
@@ -319,6 +363,8 @@ public class HttpRequestParser extends StreamBufferScanner {
 			this.headers = null;
 			this.entity = null;
 			this.contentLength = 0;
+			this.isContentLength = false;
+			this.chunkedEntity = null;
 
 			this.stateRequest = RequestParseState.LEADING_CRLF;
 		case LEADING_CRLF:
@@ -590,6 +636,7 @@ public class HttpRequestParser extends StreamBufferScanner {
 									"Content-Length header value must be an integer"));
 						}
 						this.contentLength = headerValue.toLong(exceptionInvalidContentLengthValue);
+						this.isContentLength = true;
 
 						// Determine if content length too long
 						if (this.contentLength > this.metaData.maxEntityLength) {
@@ -597,6 +644,16 @@ public class HttpRequestParser extends StreamBufferScanner {
 									"Request entity must be less than maximum of " + this.metaData.maxEntityLength
 											+ " bytes"));
 						}
+
+					} else if (MaterialisingHttpRequestHeaders.httpEqualsIgnoreCase("transfer-encoding",
+							this.headerName)) {
+						// Only chunked transfer encoding supported
+						headerValue.trim(); // remove spacing
+						if (!MaterialisingHttpRequestHeaders.httpEqualsIgnoreCase("chunked", headerValue)) {
+							throw new HttpException(new HttpStatus(HttpStatus.NOT_IMPLEMENTED.getStatusCode(),
+									"Only chunked Transfer-Encoding supported"));
+						}
+						this.chunkedEntity = new CompositeByteSequence(4);
 					}
 
 					this.stateHeader = HeaderParseState.HEADER_EOLN;
@@ -627,6 +684,19 @@ public class HttpRequestParser extends StreamBufferScanner {
 			}
 			this.skipBytes(2); // CRLF
 
+			// Determine if chunked entity
+			if (this.chunkedEntity != null) {
+
+				// Avoid ambiguous entity length (request smuggling)
+				if (this.isContentLength) {
+					throw new HttpException(new HttpStatus(HttpStatus.BAD_REQUEST.getStatusCode(),
+							"Content-Length not allowed with Transfer-Encoding"));
+				}
+
+				this.stateRequest = RequestParseState.CHUNKED_ENTITY;
+				return this.parseChunkedEntity();
+			}
+
 			this.stateRequest = RequestParseState.ENTITY;
 		case ENTITY:
 
@@ -641,6 +711,11 @@ public class HttpRequestParser extends StreamBufferScanner {
 
 			// Have the request
 			return true;
+
+		case CHUNKED_ENTITY:
+
+			// Continue parsing the chunks
+			return this.parseChunkedEntity();
 		}
 
 		// Should never get here
@@ -648,6 +723,191 @@ public class HttpRequestParser extends StreamBufferScanner {
 				"Invalid internal state in parsing request"));
 	}
 
+	/**
+	 * Parses the chunked entity.
+	 * <p>
+	 * Each chunk is decoded as it is received and retained (without copying) as
+	 * a segment of the entity {@link CompositeByteSequence}.
+	 * <p>
+	 * The {@link HttpRequest} is only dispatched for servicing once the
+	 * terminating chunk is parsed, so the entity is buffered until then (bounded
+	 * by the maximum entity length). Dispatching on the headers would require
+	 * servicing to block waiting on further chunks. This can not be supported,
+	 * as servicing may be undertaken by the {@link Thread} reading the socket.
+	 * 
+	 * @return <code>true</code> should the chunked entity be parsed.
+	 *         Otherwise, <code>false</code> if further data is required.
+	 * @throws HttpException
+	 *             If invalid chunked entity.
+	 */
+	private boolean parseChunkedEntity() throws HttpException {
+
+		// Variables for parsing
+		short checkCrLf = 0;
+
+		// Parse the chunks
+		for (;;) {
+			switch (this.stateChunk) {
+			case CHUNK_SIZE:
+
+				// Scan in the chunk size line
+				StreamBufferByteSequence chunkSizeLine = this.scanToTarget(CR_TARGET, this.metaData.maxTextLength,
+						exceptionChunkSizeTooLong);
+				if (chunkSizeLine == null) {
+					return false; // require further bytes
+				}
+
+				// Obtain the chunk size (ensuring entity not too long)
+				this.chunkSize = this.parseChunkSize(chunkSizeLine);
+
+				this.stateChunk = ChunkParseState.CHUNK_SIZE_EOLN;
+			case CHUNK_SIZE_EOLN:
+
+				// Ensure CRLF after chunk size
+				checkCrLf = this.buildShort(exceptionInvalidCharacter);
+				if (checkCrLf == -1) {
+					return false; // require further bytes
+				}
+				if (checkCrLf != CRLF) {
+					throw new HttpException(HttpStatus.BAD_REQUEST);
+				}
+				this.skipBytes(2); // CRLF
+
+				// Determine if last chunk
+				if (this.chunkSize == 0) {
+					this.stateChunk = ChunkParseState.TRAILERS;
+					continue;
+				}
+
+				this.stateChunk = ChunkParseState.CHUNK_DATA;
+			case CHUNK_DATA:
+
+				// Obtain the chunk data
+				StreamBufferByteSequence chunkData = this.scanBytes(this.chunkSize);
+				if (chunkData == null) {
+					return false; // require further bytes
+				}
+				this.chunkedEntity.appendByteSequence(chunkData);
+
+				this.stateChunk = ChunkParseState.CHUNK_DATA_EOLN;
+			case CHUNK_DATA_EOLN:
+
+				// Ensure CRLF after chunk data
+				checkCrLf = this.buildShort(exceptionInvalidCharacter);
+				if (checkCrLf == -1) {
+					return false; // require further bytes
+				}
+				if (checkCrLf != CRLF) {
+					throw new HttpException(HttpStatus.BAD_REQUEST);
+				}
+				this.skipBytes(2); // CRLF
+
+				// Next chunk
+				this.stateChunk = ChunkParseState.CHUNK_SIZE;
+				continue;
+
+			case TRAILERS:
+
+				// Determine if end of trailers
+				checkCrLf = this.buildShort(exceptionInvalidCharacter);
+				if (checkCrLf == -1) {
+					return false; // require further bytes
+				}
+				if (checkCrLf == CRLF) {
+					this.skipBytes(2); // CRLF
+
+					// Have the chunked entity
+					// TODO stream chunks to servicing (requires servicing off socket thread)
+					this.entity = this.chunkedEntity;
+
+					// Reset for new request
+					this.stateChunk = ChunkParseState.CHUNK_SIZE;
+					this.stateRequest = RequestParseState.NEW_REQUEST;
+
+					// Have the request
+					return true;
+				}
+
+				this.stateChunk = ChunkParseState.TRAILER;
+			case TRAILER:
+
+				// Skip the trailer (not made available as headers)
+				StreamBufferByteSequence trailer = this.scanToTarget(CR_TARGET, this.metaData.maxTextLength,
+						exceptionTrailerTooLong);
+				if (trailer == null) {
+					return false; // require further bytes
+				}
+
+				this.stateChunk = ChunkParseState.TRAILER_EOLN;
+			case TRAILER_EOLN:
+
+				// Ensure CRLF after trailer
+				checkCrLf = this.buildShort(exceptionInvalidCharacter);
+				if (checkCrLf == -1) {
+					return false; // require further bytes
+				}
+				if (checkCrLf != CRLF) {
+					throw new HttpException(HttpStatus.BAD_REQUEST);
+				}
+				this.skipBytes(2); // CRLF
+
+				// Check for further trailers
+				this.stateChunk = ChunkParseState.TRAILERS;
+				continue;
+			}
+		}
+	}
+
+	/**
+	 * Parses the chunk size (ignoring any chunk extensions).
+	 * 
+	 * @param chunkSizeLine
+	 *            {@link StreamBufferByteSequence} of the chunk size line.
+	 * @return Chunk size.
+	 * @throws HttpException
+	 *             If invalid chunk size or entity becomes too long.
+	 */
+	private long parseChunkSize(StreamBufferByteSequence chunkSizeLine) throws HttpException {
+
+		// Determine the maximum size of the chunk
+		long maxChunkSize = Math.min(this.metaData.maxEntityLength, Integer.MAX_VALUE) - this.chunkedEntity.length();
+
+		// Parse the hexadecimal chunk size
+		long chunkSize = 0;
+		int digitCount = 0;
+		PARSE_SIZE: for (int i = 0; i < chunkSizeLine.length(); i++) {
+			char character = (char) chunkSizeLine.byteAt(i);
+			int digit;
+			switch (character) {
+			case ';':
+			case ' ':
+			case '\t':
+				// End of chunk size (remaining are extensions)
+				break PARSE_SIZE;
+			default:
+				digit = Character.digit(character, 16);
+				if (digit < 0) {
+					throw new HttpException(
+							new HttpStatus(HttpStatus.BAD_REQUEST.getStatusCode(), "Invalid chunk size"));
+				}
+			}
+			chunkSize = (chunkSize << 4) + digit;
+			digitCount++;
+
+			// Determine if chunk too large (check each digit to avoid overflow)
+			if (chunkSize > maxChunkSize) {
+				throw new HttpException(new HttpStatus(HttpStatus.REQUEST_ENTITY_TOO_LARGE.getStatusCode(),
+						"Request entity must be less than maximum of " + this.metaData.maxEntityLength + " bytes"));
+			}
+		}
+
+		// Ensure have chunk size
+		if (digitCount == 0) {
+			throw new HttpException(new HttpStatus(HttpStatus.BAD_REQUEST.getStatusCode(), "Missing chunk size"));
+		}
+		return chunkSize;
+	}
+
 	/**
 	 * Obtains the {@link Supplier} of the {@link HttpMethod}.
 	 * 
@@ -686,6 +946,10 @@ public class HttpRequestParser extends StreamBufferScanner {
 
 	/**
 	 * Obtains the entity {@link ByteSequence}.
+	 * <p>
+	 * This is the complete entity, as {@link #parse()} only indicates the
+	 * {@link HttpRequest} is parsed once all of the entity is received (including
+	 * for chunked entities).
 	 * 
 	 * @return {@link ByteSequence} for the entity.
 	 */
@@ -0,0 +1,79 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.websocket;
+
+import java.io.IOException;
+
+import net.officefloor.server.http.WebSocket;
+
+/**
+ * {@link WebSocket} protocol failure.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WebSocketException extends IOException {
+
+	/**
+	 * Serial version UID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Protocol error close status code.
+	 */
+	public static final int PROTOCOL_ERROR = 1002;
+
+	/**
+	 * Message too big close status code.
+	 */
+	public static final int MESSAGE_TOO_BIG = 1009;
+
+	/**
+	 * Internal error close status code.
+	 */
+	public static final int INTERNAL_ERROR = 1011;
+
+	/**
+	 * Close status code to send to the client.
+	 */
+	private final int closeStatusCode;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param closeStatusCode Close status code to send to the client.
+	 * @param reason          Reason for the failure.
+	 */
+	public WebSocketException(int closeStatusCode, String reason) {
+		super(reason);
+		this.closeStatusCode = closeStatusCode;
+	}
+
+	/**
+	 * Obtains the close status code to send to the client.
+	 * 
+	 * @return Close status code to send to the client.
+	 */
+	public int getCloseStatusCode() {
+		return this.closeStatusCode;
+	}
+
+}
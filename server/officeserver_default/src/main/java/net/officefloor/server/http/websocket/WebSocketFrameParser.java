@@ -0,0 +1,417 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.websocket;
+
+import java.nio.ByteBuffer;
+
+import net.officefloor.server.buffer.StreamBufferByteSequence;
+import net.officefloor.server.buffer.StreamBufferScanner;
+import net.officefloor.server.http.WebSocket;
+import net.officefloor.server.http.WebSocketMessage;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * <p>
+ * Parses the {@link WebSocket} frames from the {@link StreamBufferScanner}.
+ * <p>
+ * Frame payloads are unmasked into pooled {@link StreamBuffer} instances. This
+ * allows the read {@link StreamBuffer} instances to be released as soon as the
+ * frame is parsed, while the {@link WebSocketMessage} is serviced.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WebSocketFrameParser {
+
+	/**
+	 * Continuation frame op code.
+	 */
+	public static final byte OPCODE_CONTINUATION = 0x0;
+
+	/**
+	 * Text frame op code.
+	 */
+	public static final byte OPCODE_TEXT = 0x1;
+
+	/**
+	 * Binary frame op code.
+	 */
+	public static final byte OPCODE_BINARY = 0x2;
+
+	/**
+	 * Close frame op code.
+	 */
+	public static final byte OPCODE_CLOSE = 0x8;
+
+	/**
+	 * Ping frame op code.
+	 */
+	public static final byte OPCODE_PING = 0x9;
+
+	/**
+	 * Pong frame op code.
+	 */
+	public static final byte OPCODE_PONG = 0xA;
+
+	/**
+	 * Maximum payload length of a control frame.
+	 */
+	private static final int MAX_CONTROL_PAYLOAD_LENGTH = 125;
+
+	/**
+	 * No control payload.
+	 */
+	private static final byte[] NO_CONTROL_PAYLOAD = new byte[0];
+
+	/**
+	 * State of parsing the frame.
+	 */
+	private static enum FrameParseState {
+		HEADER, EXTENDED_LENGTH, MASK, PAYLOAD
+	}
+
+	/**
+	 * {@link StreamBufferPool} to unmask payloads into.
+	 */
+	private final StreamBufferPool<ByteBuffer> bufferPool;
+
+	/**
+	 * Maximum length of a message.
+	 */
+	private final long maxMessageLength;
+
+	/**
+	 * {@link FrameParseState}.
+	 */
+	private FrameParseState stateFrame = FrameParseState.HEADER;
+
+	/**
+	 * Indicates if final frame of the message.
+	 */
+	private boolean isFinalFrame;
+
+	/**
+	 * Op code of the current frame.
+	 */
+	private byte frameOpCode;
+
+	/**
+	 * Number of bytes for the extended payload length.
+	 */
+	private int extendedLengthByteCount;
+
+	/**
+	 * Payload length of the current frame.
+	 */
+	private long framePayloadLength;
+
+	/**
+	 * Masking key of the current frame.
+	 */
+	private final byte[] maskingKey = new byte[4];
+
+	/**
+	 * Op code of the message being assembled. <code>-1</code> if no message in
+	 * progress.
+	 */
+	private byte messageOpCode = -1;
+
+	/**
+	 * Head {@link StreamBuffer} of the unmasked message payload.
+	 */
+	private StreamBuffer<ByteBuffer> messageHead = null;
+
+	/**
+	 * {@link StreamBuffer} to write further unmasked message payload.
+	 */
+	private StreamBuffer<ByteBuffer> messageWriteBuffer = null;
+
+	/**
+	 * Length of the message.
+	 */
+	private int messageLength = 0;
+
+	/**
+	 * Op code of the parsed frame/message.
+	 */
+	private byte opCode = -1;
+
+	/**
+	 * Unmasked payload of the parsed control frame.
+	 */
+	private byte[] controlPayload = NO_CONTROL_PAYLOAD;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param bufferPool       {@link StreamBufferPool} to unmask payloads into.
+	 * @param maxMessageLength Maximum length of a message.
+	 */
+	public WebSocketFrameParser(StreamBufferPool<ByteBuffer> bufferPool, long maxMessageLength) {
+		this.bufferPool = bufferPool;
+		this.maxMessageLength = Math.min(maxMessageLength, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * <p>
+	 * Parses the next message or control frame.
+	 * <p>
+	 * Fragmented messages are assembled, so continuation frames are never
+	 * returned.
+	 * 
+	 * @param scanner {@link StreamBufferScanner} containing the frame data.
+	 * @return <code>true</code> if a message or control frame is parsed (see
+	 *         {@link #getOpCode()}). Otherwise, <code>false</code> if further data
+	 *         is required.
+	 * @throws WebSocketException If invalid frame.
+	 */
+	public boolean parse(StreamBufferScanner scanner) throws WebSocketException {
+
+		// Clear previous control frame
+		this.opCode = -1;
+		this.controlPayload = NO_CONTROL_PAYLOAD;
+
+		// Parse the frames
+		StreamBufferByteSequence bytes;
+		for (;;) {
+			switch (this.stateFrame) {
+			case HEADER:
+
+				// Obtain the header
+				bytes = scanner.scanBytes(2);
+				if (bytes == null) {
+					return false; // require further bytes
+				}
+				byte finOpCode = bytes.byteAt(0);
+				byte maskLength = bytes.byteAt(1);
+
+				// Ensure no extensions negotiated (so no reserved bits)
+				if ((finOpCode & 0x70) != 0) {
+					throw new WebSocketException(WebSocketException.PROTOCOL_ERROR, "Reserved bits set");
+				}
+				this.isFinalFrame = (finOpCode & 0x80) != 0;
+				this.frameOpCode = (byte) (finOpCode & 0x0f);
+
+				// Client frames must be masked
+				if ((maskLength & 0x80) == 0) {
+					throw new WebSocketException(WebSocketException.PROTOCOL_ERROR, "Client frame not masked");
+				}
+
+				// Ensure valid op code
+				switch (this.frameOpCode) {
+				case OPCODE_CONTINUATION:
+					if (this.messageOpCode == -1) {
+						throw new WebSocketException(WebSocketException.PROTOCOL_ERROR,
+								"Continuation frame without message");
+					}
+					break;
+				case OPCODE_TEXT:
+				case OPCODE_BINARY:
+					if (this.messageOpCode != -1) {
+						throw new WebSocketException(WebSocketException.PROTOCOL_ERROR,
+								"New message before fragmented message complete");
+					}
+					break;
+				case OPCODE_CLOSE:
+				case OPCODE_PING:
+				case OPCODE_PONG:
+					if (!this.isFinalFrame) {
+						throw new WebSocketException(WebSocketException.PROTOCOL_ERROR, "Fragmented control frame");
+					}
+					break;
+				default:
+					throw new WebSocketException(WebSocketException.PROTOCOL_ERROR,
+							"Unknown op code " + this.frameOpCode);
+				}
+
+				// Determine the payload length
+				int length = maskLength & 0x7f;
+				switch (length) {
+				case 126:
+					this.extendedLengthByteCount = 2;
+					break;
+				case 127:
+					this.extendedLengthByteCount = 8;
+					break;
+				default:
+					this.extendedLengthByteCount = 0;
+					this.framePayloadLength = length;
+					break;
+				}
+
+				this.stateFrame = FrameParseState.EXTENDED_LENGTH;
+			case EXTENDED_LENGTH:
+
+				// Obtain the extended payload length
+				if (this.extendedLengthByteCount > 0) {
+					bytes = scanner.scanBytes(this.extendedLengthByteCount);
+					if (bytes == null) {
+						return false; // require further bytes
+					}
+					long extendedLength = 0;
+					for (int i = 0; i < this.extendedLengthByteCount; i++) {
+						extendedLength = (extendedLength << 8) | (bytes.byteAt(i) & 0xff);
+					}
+					if (extendedLength < 0) {
+						throw new WebSocketException(WebSocketException.PROTOCOL_ERROR, "Invalid payload length");
+					}
+					this.framePayloadLength = extendedLength;
+				}
+
+				// Ensure payload within limits
+				if (this.frameOpCode >= OPCODE_CLOSE) {
+					if (this.framePayloadLength > MAX_CONTROL_PAYLOAD_LENGTH) {
+						throw new WebSocketException(WebSocketException.PROTOCOL_ERROR, "Control frame too long");
+					}
+				} else if ((this.messageLength + this.framePayloadLength) > this.maxMessageLength) {
+					throw new WebSocketException(WebSocketException.MESSAGE_TOO_BIG, "Message too big");
+				}
+
+				this.stateFrame = FrameParseState.MASK;
+			case MASK:
+
+				// Obtain the masking key
+				bytes = scanner.scanBytes(4);
+				if (bytes == null) {
+					return false; // require further bytes
+				}
+				for (int i = 0; i < 4; i++) {
+					this.maskingKey[i] = bytes.byteAt(i);
+				}
+
+				this.stateFrame = FrameParseState.PAYLOAD;
+			case PAYLOAD:
+
+				// Obtain the payload
+				int payloadLength = (int) this.framePayloadLength;
+				bytes = (payloadLength == 0) ? null : scanner.scanBytes(payloadLength);
+				if ((payloadLength > 0) && (bytes == null)) {
+					return false; // require further bytes
+				}
+
+				// Frame parsed, so start next frame
+				this.stateFrame = FrameParseState.HEADER;
+
+				// Determine if control frame
+				if (this.frameOpCode >= OPCODE_CLOSE) {
+
+					// Unmask the control payload
+					byte[] payload = new byte[payloadLength];
+					for (int i = 0; i < payloadLength; i++) {
+						payload[i] = (byte) (bytes.byteAt(i) ^ this.maskingKey[i & 0x3]);
+					}
+
+					// Have the control frame
+					this.opCode = this.frameOpCode;
+					this.controlPayload = payload;
+					return true;
+				}
+
+				// Start the message
+				if (this.frameOpCode != OPCODE_CONTINUATION) {
+					this.messageOpCode = this.frameOpCode;
+					this.messageHead = this.bufferPool.getPooledStreamBuffer();
+					this.messageWriteBuffer = this.messageHead;
+					this.messageLength = 0;
+				}
+
+				// Unmask the payload into the message
+				StreamBuffer<ByteBuffer> writeBuffer = this.messageWriteBuffer;
+				for (int i = 0; i < payloadLength; i++) {
+					byte datum = (byte) (bytes.byteAt(i) ^ this.maskingKey[i & 0x3]);
+					writeBuffer = StreamBuffer.writeByte(datum, writeBuffer, this.bufferPool);
+				}
+				this.messageWriteBuffer = writeBuffer;
+				this.messageLength += payloadLength;
+
+				// Determine if message complete
+				if (!this.isFinalFrame) {
+					continue; // continue with next frame
+				}
+
+				// Have the message
+				this.opCode = this.messageOpCode;
+				this.messageOpCode = -1;
+				return true;
+			}
+
+			// Should never get here
+			throw new WebSocketException(WebSocketException.INTERNAL_ERROR,
+					"Invalid internal state in parsing frame");
+		}
+	}
+
+	/**
+	 * Obtains the op code of the parsed message or control frame.
+	 * 
+	 * @return {@link #OPCODE_TEXT}, {@link #OPCODE_BINARY}, {@link #OPCODE_CLOSE},
+	 *         {@link #OPCODE_PING} or {@link #OPCODE_PONG}.
+	 */
+	public byte getOpCode() {
+		return this.opCode;
+	}
+
+	/**
+	 * Obtains the unmasked payload of the parsed control frame.
+	 * 
+	 * @return Unmasked payload of the parsed control frame.
+	 */
+	public byte[] getControlPayload() {
+		return this.controlPayload;
+	}
+
+	/**
+	 * Obtains the length of the parsed message.
+	 * 
+	 * @return Length of the parsed message.
+	 */
+	public int getMessageLength() {
+		return this.messageLength;
+	}
+
+	/**
+	 * Removes the unmasked payload of the parsed message.
+	 * 
+	 * @return Head {@link StreamBuffer} of the unmasked payload. Responsibility
+	 *         for releasing the {@link StreamBuffer} instances is passed to the
+	 *         caller.
+	 */
+	public StreamBuffer<ByteBuffer> removeMessage() {
+		StreamBuffer<ByteBuffer> head = this.messageHead;
+		this.messageHead = null;
+		this.messageWriteBuffer = null;
+		return head;
+	}
+
+	/**
+	 * Releases the {@link StreamBuffer} instances of any partially parsed
+	 * message.
+	 */
+	public void release() {
+		StreamBuffer<ByteBuffer> head = this.removeMessage();
+		while (head != null) {
+			StreamBuffer<ByteBuffer> release = head;
+			head = head.next;
+			release.release();
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.websocket;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import net.officefloor.server.http.WebSocket;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * Writes {@link WebSocket} frames to pooled {@link StreamBuffer} instances.
+ * <p>
+ * Server frames are not masked, so the payload is written as is.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WebSocketFrameWriter {
+
+	/**
+	 * Maximum length of a close reason (as control frame payload limited to 125
+	 * bytes).
+	 */
+	private static final int MAX_CLOSE_REASON_LENGTH = 123;
+
+	/**
+	 * Writes a frame.
+	 * 
+	 * @param opCode     Op code of the frame.
+	 * @param payload    Payload of the frame.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 * @return Head {@link StreamBuffer} of the frame.
+	 */
+	public static StreamBuffer<ByteBuffer> writeFrame(byte opCode, byte[] payload,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+
+		// Write the header (final frame)
+		StreamBuffer<ByteBuffer> head = bufferPool.getPooledStreamBuffer();
+		StreamBuffer<ByteBuffer> writeBuffer = StreamBuffer.writeByte((byte) (0x80 | opCode), head, bufferPool);
+
+		// Write the payload length
+		int length = payload.length;
+		if (length < 126) {
+			writeBuffer = StreamBuffer.writeByte((byte) length, writeBuffer, bufferPool);
+		} else if (length <= 0xffff) {
+			writeBuffer = StreamBuffer.writeByte((byte) 126, writeBuffer, bufferPool);
+			writeBuffer = StreamBuffer.writeByte((byte) (length >> 8), writeBuffer, bufferPool);
+			writeBuffer = StreamBuffer.writeByte((byte) length, writeBuffer, bufferPool);
+		} else {
+			writeBuffer = StreamBuffer.writeByte((byte) 127, writeBuffer, bufferPool);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				writeBuffer = StreamBuffer.writeByte((byte) ((long) length >> shift), writeBuffer, bufferPool);
+			}
+		}
+
+		// Write the payload
+		StreamBuffer.write(payload, writeBuffer, bufferPool);
+		return head;
+	}
+
+	/**
+	 * Writes a close frame.
+	 * 
+	 * @param statusCode Close status code.
+	 * @param reason     Reason. May be <code>null</code>.
+	 * @param bufferPool {@link StreamBufferPool}.
+	 * @return Head {@link StreamBuffer} of the close frame.
+	 */
+	public static StreamBuffer<ByteBuffer> writeCloseFrame(int statusCode, String reason,
+			StreamBufferPool<ByteBuffer> bufferPool) {
+
+		// Obtain the reason (truncated to fit control frame)
+		byte[] reasonBytes = (reason == null) ? new byte[0] : reason.getBytes(StandardCharsets.UTF_8);
+		int reasonLength = Math.min(reasonBytes.length, MAX_CLOSE_REASON_LENGTH);
+
+		// Create the close payload
+		byte[] payload = new byte[2 + reasonLength];
+		payload[0] = (byte) (statusCode >> 8);
+		payload[1] = (byte) statusCode;
+		System.arraycopy(reasonBytes, 0, payload, 2, reasonLength);
+
+		// Write the close frame
+		return writeFrame(WebSocketFrameParser.OPCODE_CLOSE, payload, bufferPool);
+	}
+
+	/**
+	 * All access via static methods.
+	 */
+	private WebSocketFrameWriter() {
+	}
+
+}
@@ -0,0 +1,154 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import net.officefloor.server.http.HttpHeader;
+import net.officefloor.server.http.HttpMethod;
+import net.officefloor.server.http.HttpRequest;
+import net.officefloor.server.http.HttpVersion;
+import net.officefloor.server.http.WebSocket;
+import net.officefloor.server.http.impl.NonMaterialisedHttpHeader;
+import net.officefloor.server.http.impl.NonMaterialisedHttpHeaders;
+
+/**
+ * {@link WebSocket} opening handshake.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WebSocketHandshake {
+
+	/**
+	 * GUID appended to the key for the <code>Sec-WebSocket-Accept</code> value.
+	 */
+	private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+	/**
+	 * Supported {@link WebSocket} version.
+	 */
+	private static final String WEB_SOCKET_VERSION = "13";
+
+	/**
+	 * Obtains the <code>Sec-WebSocket-Key</code> should the {@link HttpRequest}
+	 * be a valid {@link WebSocket} upgrade request.
+	 * 
+	 * @param method  {@link HttpMethod}.
+	 * @param version {@link HttpVersion}.
+	 * @param headers {@link NonMaterialisedHttpHeaders}.
+	 * @return <code>Sec-WebSocket-Key</code>, otherwise <code>null</code> if not
+	 *         a {@link WebSocket} upgrade request.
+	 */
+	public static String getWebSocketKey(HttpMethod method, HttpVersion version,
+			NonMaterialisedHttpHeaders headers) {
+
+		// Upgrade only via HTTP/1.1 GET
+		if ((version != HttpVersion.HTTP_1_1) || (method.getEnum() != HttpMethod.HttpMethodEnum.GET)) {
+			return null;
+		}
+
+		// Obtain the upgrade headers
+		boolean isUpgradeWebSocket = false;
+		boolean isConnectionUpgrade = false;
+		boolean isSupportedVersion = false;
+		String key = null;
+		for (NonMaterialisedHttpHeader header : headers) {
+			CharSequence name = header.getName();
+			if (isName("Upgrade", name)) {
+				isUpgradeWebSocket |= hasToken("websocket", header.materialiseHttpHeader());
+			} else if (isName("Connection", name)) {
+				isConnectionUpgrade |= hasToken("upgrade", header.materialiseHttpHeader());
+			} else if (isName("Sec-WebSocket-Version", name)) {
+				isSupportedVersion |= hasToken(WEB_SOCKET_VERSION, header.materialiseHttpHeader());
+			} else if (isName("Sec-WebSocket-Key", name)) {
+				key = header.materialiseHttpHeader().getValue().trim();
+			}
+		}
+
+		// Return the key only if valid upgrade
+		return (isUpgradeWebSocket && isConnectionUpgrade && isSupportedVersion && (key != null)
+				&& (key.length() > 0)) ? key : null;
+	}
+
+	/**
+	 * Creates the <code>Sec-WebSocket-Accept</code> value.
+	 * 
+	 * @param key <code>Sec-WebSocket-Key</code>.
+	 * @return <code>Sec-WebSocket-Accept</code> value.
+	 */
+	public static String createAcceptValue(String key) {
+		try {
+			MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+			byte[] digest = sha1.digest((key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException ex) {
+			// SHA-1 required to be available in all JVMs
+			throw new IllegalStateException("SHA-1 not available", ex);
+		}
+	}
+
+	/**
+	 * Determines if the {@link HttpHeader} name.
+	 * 
+	 * @param expected Expected name.
+	 * @param name     Name of the {@link HttpHeader}.
+	 * @return <code>true</code> if matches (case insensitive).
+	 */
+	private static boolean isName(String expected, CharSequence name) {
+		int length = expected.length();
+		if (name.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (Character.toLowerCase(expected.charAt(i)) != Character.toLowerCase(name.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determines if the comma separated {@link HttpHeader} value contains the
+	 * token.
+	 * 
+	 * @param token  Token.
+	 * @param header {@link HttpHeader}.
+	 * @return <code>true</code> if contains the token (case insensitive).
+	 */
+	private static boolean hasToken(String token, HttpHeader header) {
+		for (String value : header.getValue().split(",")) {
+			if (token.equalsIgnoreCase(value.trim())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * All access via static methods.
+	 */
+	private WebSocketHandshake() {
+	}
+
+}
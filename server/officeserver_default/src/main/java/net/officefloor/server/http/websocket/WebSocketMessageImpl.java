@@ -0,0 +1,154 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.websocket;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import net.officefloor.server.http.WebSocket;
+import net.officefloor.server.http.WebSocketMessage;
+import net.officefloor.server.stream.BufferJvmFix;
+import net.officefloor.server.stream.StreamBuffer;
+
+/**
+ * {@link WebSocketMessage} over the unmasked payload {@link StreamBuffer}
+ * instances.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WebSocketMessageImpl implements WebSocketMessage {
+
+	/**
+	 * {@link WebSocket}.
+	 */
+	private final WebSocket webSocket;
+
+	/**
+	 * Indicates if text message.
+	 */
+	private final boolean isText;
+
+	/**
+	 * Length of the message.
+	 */
+	private final int length;
+
+	/**
+	 * Head {@link StreamBuffer} of the unmasked payload.
+	 */
+	private StreamBuffer<ByteBuffer> payloadHead;
+
+	/**
+	 * Lazy obtained bytes of the message.
+	 */
+	private byte[] bytes = null;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param webSocket   {@link WebSocket}.
+	 * @param isText      Indicates if text message.
+	 * @param payloadHead Head {@link StreamBuffer} of the unmasked payload.
+	 * @param length      Length of the message.
+	 */
+	public WebSocketMessageImpl(WebSocket webSocket, boolean isText, StreamBuffer<ByteBuffer> payloadHead,
+			int length) {
+		this.webSocket = webSocket;
+		this.isText = isText;
+		this.payloadHead = payloadHead;
+		this.length = length;
+	}
+
+	/**
+	 * Releases the payload {@link StreamBuffer} instances.
+	 */
+	public synchronized void release() {
+		while (this.payloadHead != null) {
+			StreamBuffer<ByteBuffer> release = this.payloadHead;
+			this.payloadHead = this.payloadHead.next;
+			release.release();
+		}
+	}
+
+	/**
+	 * Obtains the bytes of the message.
+	 * 
+	 * @return Bytes of the message.
+	 */
+	private synchronized byte[] getBytes() {
+
+		// Lazy obtain the bytes
+		if (this.bytes == null) {
+
+			// Ensure not released
+			if ((this.payloadHead == null) && (this.length > 0)) {
+				throw new IllegalStateException(WebSocketMessage.class.getSimpleName() + " already released");
+			}
+
+			// Copy out the bytes
+			byte[] data = new byte[this.length];
+			int offset = 0;
+			StreamBuffer<ByteBuffer> buffer = this.payloadHead;
+			while (buffer != null) {
+				ByteBuffer content = buffer.pooledBuffer.duplicate();
+				BufferJvmFix.flip(content);
+				int contentLength = content.remaining();
+				content.get(data, offset, contentLength);
+				offset += contentLength;
+				buffer = buffer.next;
+			}
+			this.bytes = data;
+		}
+		return this.bytes;
+	}
+
+	/*
+	 * ================== WebSocketMessage ==================
+	 */
+
+	@Override
+	public WebSocket getWebSocket() {
+		return this.webSocket;
+	}
+
+	@Override
+	public boolean isText() {
+		return this.isText;
+	}
+
+	@Override
+	public int getLength() {
+		return this.length;
+	}
+
+	@Override
+	public String getText() {
+		return new String(this.getBytes(), StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		return new ByteArrayInputStream(this.getBytes());
+	}
+
+}
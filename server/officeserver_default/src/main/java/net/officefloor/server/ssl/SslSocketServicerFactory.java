@@ -38,6 +38,7 @@ import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
 import javax.net.ssl.SSLEngineResult.HandshakeStatus;
 import javax.net.ssl.SSLEngineResult.Status;
+import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSession;
 
 import net.officefloor.frame.api.manage.ProcessManager;
@@ -87,6 +88,12 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 	 */
 	private final Executor executor;
 
+	/**
+	 * Application protocols negotiated by ALPN in order of preference.
+	 * <code>null</code> to not negotiate the application protocol.
+	 */
+	private final String[] applicationProtocols;
+
 	/**
 	 * Instantiate.
 	 * 
@@ -98,10 +105,32 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 	 */
 	public SslSocketServicerFactory(SSLContext sslContext, SocketServicerFactory<R> delegateSocketServicerFactory,
 			RequestServicerFactory<R> delegateRequestServicerFactory, Executor executor) {
+		this(sslContext, delegateSocketServicerFactory, delegateRequestServicerFactory, executor, null);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param sslContext                     {@link SSLContext}.
+	 * @param delegateSocketServicerFactory  Delegate {@link SocketServicerFactory}.
+	 * @param delegateRequestServicerFactory Delegate
+	 *                                       {@link RequestServicerFactory}.
+	 * @param executor                       {@link Executor}.
+	 * @param applicationProtocols           Application protocols negotiated by
+	 *                                       ALPN in order of preference (e.g.
+	 *                                       <code>h2</code>,
+	 *                                       <code>http/1.1</code>).
+	 *                                       <code>null</code> to not negotiate
+	 *                                       the application protocol.
+	 */
+	public SslSocketServicerFactory(SSLContext sslContext, SocketServicerFactory<R> delegateSocketServicerFactory,
+			RequestServicerFactory<R> delegateRequestServicerFactory, Executor executor,
+			String[] applicationProtocols) {
 		this.sslContext = sslContext;
 		this.delegateSocketServicerFactory = delegateSocketServicerFactory;
 		this.delegateRequestServicerFactory = delegateRequestServicerFactory;
 		this.executor = executor;
+		this.applicationProtocols = applicationProtocols;
 	}
 
 	/*
@@ -115,6 +144,13 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 		SSLEngine engine = this.sslContext.createSSLEngine();
 		engine.setUseClientMode(false); // server mode
 
+		// Negotiate the application protocol (server preference order)
+		if (this.applicationProtocols != null) {
+			SSLParameters parameters = engine.getSSLParameters();
+			parameters.setApplicationProtocols(this.applicationProtocols);
+			engine.setSSLParameters(parameters);
+		}
+
 		// Create the delegate socket servicer
 		SocketServicer<R> delegateSocketServicer = this.delegateSocketServicerFactory
 				.createSocketServicer(requestHandler);
@@ -282,7 +318,7 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 				this.socketToUnwrapBuffers.add(buffer);
 
 				// Process (with handshake data written immediately)
-				return this.process(null);
+				return this.process(null, false);
 			});
 		}
 
@@ -367,77 +403,34 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 								servicer.runSafe(() -> {
 
 									// Register the response for request
-									sslRequest.responseHeaderWriter = responseHeaderWriter;
-									sslRequest.headResponseBuffer = headResponseBuffer;
-
-									// Process SSL responses in order
-									Iterator<SslRequest> iterator = servicer.sslRequests.iterator();
-									while (iterator.hasNext()) {
-										SslRequest completeRequest = iterator.next();
-
-										// Determine if request is complete
-										if ((completeRequest.responseHeaderWriter == null)
-												&& (completeRequest.headResponseBuffer == null)) {
-											return; // request not complete
-										}
-
-										// Release the previous request buffers
-										while (completeRequest.releaseRequestBuffers != null) {
-											StreamBuffer<ByteBuffer> release = completeRequest.releaseRequestBuffers;
-											completeRequest.releaseRequestBuffers = completeRequest.releaseRequestBuffers.next;
-											release.release();
-										}
-
-										// Include header information
-										if (completeRequest.responseHeaderWriter != null) {
-											completeRequest.prepareHeadBuffer = servicer.bufferPool
-													.getPooledStreamBuffer();
-											completeRequest.responseHeaderWriter
-													.write(completeRequest.prepareHeadBuffer, servicer.bufferPool);
-										}
-
-										// Append the response buffers
-										if (completeRequest.prepareHeadBuffer == null) {
-											// Only response buffers (no header)
-											completeRequest.prepareHeadBuffer = completeRequest.headResponseBuffer;
-										} else {
-											// Append response buffers to header
-											StreamBuffer<ByteBuffer> responseTail = completeRequest.prepareHeadBuffer;
-											while (responseTail.next != null) {
-												responseTail = responseTail.next;
-											}
-											responseTail.next = completeRequest.headResponseBuffer;
-										}
-										completeRequest.headResponseBuffer = null; // included in response
-
-										// Prepare the response buffers for writing
-										StreamBuffer<ByteBuffer> buffer = completeRequest.prepareHeadBuffer;
-										while (buffer != null) {
-											if (buffer.pooledBuffer != null) {
-												BufferJvmFix.flip(buffer.pooledBuffer);
-											}
-											buffer = buffer.next;
-										}
-
-										// Include the response
-										if (servicer.currentAppToWrapBuffer == null) {
-											// Only response to wrap
-											servicer.currentAppToWrapBuffer = completeRequest.prepareHeadBuffer;
-										} else {
-											// Add to existing responses
-											StreamBuffer<ByteBuffer> responseTail = servicer.currentAppToWrapBuffer;
-											while (responseTail.next != null) {
-												responseTail = responseTail.next;
-											}
-											responseTail.next = completeRequest.prepareHeadBuffer;
-										}
-
-										// Remove the request, as included
-										iterator.remove();
-
-										// Write the response
-										servicer.process(completeRequest.responseWriter);
-									}
+									sslRequest.appendResponse(responseHeaderWriter, headResponseBuffer,
+											servicer.bufferPool);
+									sslRequest.isResponseComplete = true;
+
+									// Write the responses
+									servicer.writeResponses();
+								});
+							});
+						}
+
+						@Override
+						public void writePartial(ResponseHeaderWriter responseHeaderWriter,
+								StreamBuffer<ByteBuffer> headResponseBuffer) {
+
+							// Easy access to servicer
+							SslSocketServicer servicer = SslSocketServicer.this;
+
+							// Include part in response
+							// (appended immediately to keep order with completing write)
+							servicer.runSafe(() -> {
+								sslRequest.appendResponse(responseHeaderWriter, headResponseBuffer,
+										servicer.bufferPool);
+							});
+
+							// Wrap and write the part on socket thread
+							servicer.requestHandler.execute(() -> {
+								servicer.runSafe(() -> {
+									servicer.writeResponses();
 								});
 							});
 						}
@@ -446,6 +439,11 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 						public void closeConnection(Throwable failure) {
 							SslSocketServicer.this.requestHandler.closeConnection(failure);
 						}
+
+						@Override
+						public boolean isClosed() {
+							return responseWriter.isClosed();
+						}
 					});
 
 				} catch (Throwable ex) {
@@ -459,6 +457,95 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 			return processManager[0];
 		}
 
+		/**
+		 * <p>
+		 * Wraps and writes the available responses of the {@link SslRequest}
+		 * instances in order.
+		 * <p>
+		 * Parts of a streamed response are written as available, so only the first
+		 * incomplete {@link SslRequest} may have its response written.
+		 */
+		private void writeResponses() {
+
+			// Process SSL responses in order
+			Iterator<SslRequest> iterator = this.sslRequests.iterator();
+			while (iterator.hasNext()) {
+				SslRequest sslRequest = iterator.next();
+
+				// Determine if response available
+				boolean isResponseComplete = sslRequest.isResponseComplete;
+				if ((!isResponseComplete) && (sslRequest.responseHeaderWriter == null)
+						&& (sslRequest.headResponseBuffer == null)) {
+					return; // no further response available
+				}
+
+				// Release the previous request buffers (once response complete)
+				while ((isResponseComplete) && (sslRequest.releaseRequestBuffers != null)) {
+					StreamBuffer<ByteBuffer> release = sslRequest.releaseRequestBuffers;
+					sslRequest.releaseRequestBuffers = sslRequest.releaseRequestBuffers.next;
+					release.release();
+				}
+
+				// Include header information
+				if (sslRequest.responseHeaderWriter != null) {
+					sslRequest.prepareHeadBuffer = this.bufferPool.getPooledStreamBuffer();
+					sslRequest.responseHeaderWriter.write(sslRequest.prepareHeadBuffer, this.bufferPool);
+					sslRequest.responseHeaderWriter = null; // written
+				}
+
+				// Append the response buffers
+				if (sslRequest.prepareHeadBuffer == null) {
+					// Only response buffers (no header)
+					sslRequest.prepareHeadBuffer = sslRequest.headResponseBuffer;
+				} else {
+					// Append response buffers to header
+					StreamBuffer<ByteBuffer> responseTail = sslRequest.prepareHeadBuffer;
+					while (responseTail.next != null) {
+						responseTail = responseTail.next;
+					}
+					responseTail.next = sslRequest.headResponseBuffer;
+				}
+				sslRequest.headResponseBuffer = null; // included in response
+
+				// Prepare the response buffers for writing
+				StreamBuffer<ByteBuffer> buffer = sslRequest.prepareHeadBuffer;
+				while (buffer != null) {
+					if (buffer.pooledBuffer != null) {
+						BufferJvmFix.flip(buffer.pooledBuffer);
+					}
+					buffer = buffer.next;
+				}
+
+				// Include the response
+				if (this.currentAppToWrapBuffer == null) {
+					// Only response to wrap
+					this.currentAppToWrapBuffer = sslRequest.prepareHeadBuffer;
+				} else {
+					// Add to existing responses
+					StreamBuffer<ByteBuffer> responseTail = this.currentAppToWrapBuffer;
+					while (responseTail.next != null) {
+						responseTail = responseTail.next;
+					}
+					responseTail.next = sslRequest.prepareHeadBuffer;
+				}
+				sslRequest.prepareHeadBuffer = null; // included for wrapping
+
+				// Determine if response complete
+				if (!isResponseComplete) {
+
+					// Write the available part of the response
+					this.process(sslRequest.responseWriter, true);
+					return; // further parts of response to follow
+				}
+
+				// Remove the request, as included
+				iterator.remove();
+
+				// Write the response
+				this.process(sslRequest.responseWriter, false);
+			}
+		}
+
 		/*
 		 * ================== SocketRunnable =======================
 		 */
@@ -466,20 +553,22 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 		@Override
 		public void run() throws Throwable {
 			this.runSafe(() -> {
-				return this.process(null);
+				return this.process(null, false);
 			});
 		}
 
 		/**
 		 * Processes the data.
 		 * 
-		 * @param responseWriter {@link ResponseWriter} to use in sending the response.
+		 * @param responseWriter    {@link ResponseWriter} to use in sending the
+		 *                          response.
+		 * @param isPartialResponse Indicates if writing only part of the response.
 		 * @return Possible {@link SslRunnable} to be executed (outside locking).
 		 *         Necessary to do outside locks due to {@link ThreadLocalAwareTeam}
 		 *         blocking it's execution until complete and can't provide response
 		 *         back on different {@link Thread} when this {@link Thread} locked.
 		 */
-		private SslRunnable process(ResponseWriter responseWriter) {
+		private SslRunnable process(ResponseWriter responseWriter, boolean isPartialResponse) {
 
 			try {
 
@@ -842,7 +931,11 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 						// Send the response
 						if (responseWriter != null) {
 							// Write data for the response
-							responseWriter.write(null, responseHead);
+							if (isPartialResponse) {
+								responseWriter.writePartial(null, responseHead);
+							} else {
+								responseWriter.write(null, responseHead);
+							}
 
 						} else {
 							// Send the handshake data immediately
@@ -926,6 +1019,11 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 		 */
 		private StreamBuffer<ByteBuffer> prepareHeadBuffer = null;
 
+		/**
+		 * Indicates if the response is complete.
+		 */
+		private boolean isResponseComplete = false;
+
 		/**
 		 * Instantiate.
 		 * 
@@ -939,6 +1037,50 @@ public class SslSocketServicerFactory<R> implements SocketServicerFactory<R>, Re
 			this.responseWriter = reponseWriter;
 			this.releaseRequestBuffers = releaseRequestBuffers;
 		}
+
+		/**
+		 * Appends to the response.
+		 * 
+		 * @param responseHeaderWriter {@link ResponseHeaderWriter}. May be
+		 *                             <code>null</code>.
+		 * @param headResponseBuffer   Head {@link StreamBuffer} to the linked list of
+		 *                             {@link StreamBuffer} instances to append to the
+		 *                             response.
+		 * @param bufferPool           {@link StreamBufferPool}.
+		 */
+		private void appendResponse(ResponseHeaderWriter responseHeaderWriter,
+				StreamBuffer<ByteBuffer> headResponseBuffer, StreamBufferPool<ByteBuffer> bufferPool) {
+
+			// Determine if first part of the response
+			if ((this.responseHeaderWriter == null) && (this.headResponseBuffer == null)) {
+				this.responseHeaderWriter = responseHeaderWriter;
+				this.headResponseBuffer = headResponseBuffer;
+				return;
+			}
+
+			// Header must follow previous part, so write header into the part
+			if (responseHeaderWriter != null) {
+				StreamBuffer<ByteBuffer> partHeadBuffer = bufferPool.getPooledStreamBuffer();
+				responseHeaderWriter.write(partHeadBuffer, bufferPool);
+				StreamBuffer<ByteBuffer> partHeadTail = partHeadBuffer;
+				while (partHeadTail.next != null) {
+					partHeadTail = partHeadTail.next;
+				}
+				partHeadTail.next = headResponseBuffer;
+				headResponseBuffer = partHeadBuffer;
+			}
+
+			// Append the part
+			if (this.headResponseBuffer == null) {
+				this.headResponseBuffer = headResponseBuffer;
+			} else {
+				StreamBuffer<ByteBuffer> responseTail = this.headResponseBuffer;
+				while (responseTail.next != null) {
+					responseTail = responseTail.next;
+				}
+				responseTail.next = headResponseBuffer;
+			}
+		}
 	}
 
 	/**
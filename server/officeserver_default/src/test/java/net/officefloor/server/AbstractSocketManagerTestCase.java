@@ -394,6 +394,99 @@ public abstract class AbstractSocketManagerTestCase extends AbstractSocketManage
 		}
 	}
 
+	/**
+	 * Ensure can stream parts of the response before completing the response.
+	 */
+	@Test
+	public void sendPartialResponse() throws Exception {
+		this.tester = new SocketManagerTester(1);
+
+		// Bind to server socket
+		this.tester.bindServerSocket(null, null, (requestHandler) -> (buffer, bytesRead, isNewBuffer) -> {
+			if (bytesRead == 1) {
+				requestHandler.handleRequest("SEND");
+			}
+		}, (socketServicer) -> (request, responseWriter) -> {
+
+			// Stream parts of the response
+			responseWriter.writePartial((head, pool) -> head.write((byte) 2),
+					this.tester.createStreamBuffer(responseWriter, 3));
+			responseWriter.writePartial(null, this.tester.createStreamBuffer(responseWriter, 4));
+
+			// Complete the response from another thread
+			Thread completer = new Thread(() -> responseWriter.write((head, pool) -> head.write((byte) 5),
+					this.tester.createStreamBuffer(responseWriter, 6)));
+			completer.start();
+			return null;
+		});
+
+		this.tester.start();
+
+		// Undertake connect and send data
+		try (Socket client = this.tester.getClient()) {
+
+			// Send some data (to trigger request)
+			OutputStream outputStream = client.getOutputStream();
+			outputStream.write(1);
+			outputStream.flush();
+
+			// Receive the parts in order
+			InputStream inputStream = client.getInputStream();
+			for (int i = 2; i <= 6; i++) {
+				assertEquals(i, inputStream.read(), "Incorrect response part " + i);
+			}
+		}
+	}
+
+	/**
+	 * Ensure parts of the response are received before the response is completed.
+	 */
+	@Test
+	public void receivePartialResponseBeforeComplete() throws Exception {
+		this.tester = new SocketManagerTester(1);
+
+		// Bind to server socket
+		ThreadSafeClosure<ResponseWriter> streamingResponseWriter = new ThreadSafeClosure<>();
+		this.tester.bindServerSocket(null, null, (requestHandler) -> (buffer, bytesRead, isNewBuffer) -> {
+			if (bytesRead == 1) {
+				requestHandler.handleRequest("SEND");
+			}
+		}, (socketServicer) -> (request, responseWriter) -> {
+
+			// Stream part of the response (completing later)
+			responseWriter.writePartial((head, pool) -> head.write((byte) 2),
+					this.tester.createStreamBuffer(responseWriter, 3));
+			streamingResponseWriter.set(responseWriter);
+			return null;
+		});
+
+		this.tester.start();
+
+		// Undertake connect and send data
+		try (Socket client = this.tester.getClient()) {
+			client.setSoTimeout(10 * 1000);
+
+			// Send some data (to trigger request)
+			OutputStream outputStream = client.getOutputStream();
+			outputStream.write(1);
+			outputStream.flush();
+
+			// Ensure receive the part before the response is complete
+			InputStream inputStream = client.getInputStream();
+			assertEquals(2, inputStream.read(), "Incorrect header value");
+			assertEquals(3, inputStream.read(), "Incorrect part value");
+
+			// Stream further part
+			ResponseWriter responseWriter = streamingResponseWriter.waitAndGet();
+			responseWriter.writePartial(null, this.tester.createStreamBuffer(responseWriter, 4));
+			assertEquals(4, inputStream.read(), "Incorrect further part value");
+
+			// Complete the response
+			responseWriter.write(null, this.tester.createStreamBuffer(responseWriter, 5));
+			assertEquals(5, inputStream.read(), "Incorrect completing value");
+		}
+	}
+
 	/**
 	 * Ensure can send header and file.
 	 */
@@ -696,6 +789,71 @@ public abstract class AbstractSocketManagerTestCase extends AbstractSocketManage
 		}
 	}
 
+	/**
+	 * Ensure gathers the response {@link StreamBuffer} instances into fewer write
+	 * system calls.
+	 */
+	@Test
+	public void gatheringWriteResponse() throws IOException, InterruptedException {
+		this.tester = new SocketManagerTester(1);
+
+		// Bind to server socket
+		final int bufferCount = 5;
+		final int responseSize = this.getBufferSize() * bufferCount;
+		this.tester.bindServerSocket(null, null, (requestHandler) -> (buffer, bytesRead, isNewBuffer) -> {
+			if (bytesRead == 1) {
+				requestHandler.handleRequest((byte) 1);
+			}
+		}, (socketServicer) -> (request, responseWriter) -> {
+			// Create response across multiple buffers
+			StreamBuffer<ByteBuffer> buffers = responseWriter.getStreamBufferPool().getPooledStreamBuffer();
+			StreamBuffer<ByteBuffer> buffer = buffers;
+			for (int i = 0; i < responseSize; i++) {
+				byte value = (byte) (i % Byte.MAX_VALUE);
+				if (!buffer.write(value)) {
+					buffer.next = responseWriter.getStreamBufferPool().getPooledStreamBuffer();
+					buffer = buffer.next;
+					buffer.write(value);
+				}
+			}
+			responseWriter.write(null, buffers);
+			return null;
+		});
+
+		this.tester.start();
+
+		// Undertake connect and send data
+		try (Socket client = this.tester.getClient()) {
+
+			// Trigger the request
+			OutputStream outputStream = client.getOutputStream();
+			outputStream.write(1);
+			outputStream.flush();
+
+			// Ensure have all the data
+			InputStream inputStream = client.getInputStream();
+			for (int i = 0; i < responseSize; i++) {
+				assertEquals((byte) (i % Byte.MAX_VALUE), inputStream.read(), "Incorrect value for index " + i);
+			}
+		}
+
+		// SSL encrypts into its own buffers
+		if (this.isSecure) {
+			return;
+		}
+
+		// Ensure the response is written
+		SocketManager manager = this.tester.getSocketManager();
+		assertEquals(1, manager.getResponseCount(), "Should have written the one response");
+
+		// Ensure gathered the writes (large responses may fill the socket buffer)
+		if ((this.getMaxGatheringWriteBuffers() >= bufferCount) && (responseSize <= (64 * 1024))) {
+			long writeSystemCalls = manager.getWriteSystemCallCount();
+			assertTrue(writeSystemCalls < bufferCount, "Should gather writes (" + writeSystemCalls
+					+ " write system calls for " + bufferCount + " buffers)");
+		}
+	}
+
 	/**
 	 * Ensure can delay sending a response.
 	 */
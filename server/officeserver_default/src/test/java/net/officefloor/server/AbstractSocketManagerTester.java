@@ -180,6 +180,64 @@ public abstract class AbstractSocketManagerTester {
 		return (RequestServicerFactory<R>) this.sslSocketServicerFactory;
 	}
 
+	/**
+	 * Indicates if the {@link SocketManager} is to hand off events lock free.
+	 * 
+	 * @return <code>true</code> to hand off events lock free.
+	 */
+	protected boolean isLockFreeEvents() {
+		return false;
+	}
+
+	/**
+	 * Obtains the maximum number of {@link StreamBuffer} instances for a gathering
+	 * write.
+	 * 
+	 * @return Maximum number of {@link StreamBuffer} instances for a gathering
+	 *         write.
+	 */
+	protected int getMaxGatheringWriteBuffers() {
+		return SocketManager.DEFAULT_MAX_GATHERING_WRITE_BUFFERS;
+	}
+
+	/**
+	 * Indicates if each {@link SocketListener} is to bind its own
+	 * {@link ServerSocket} to the port via <code>SO_REUSEPORT</code>.
+	 * 
+	 * @return <code>true</code> to bind {@link ServerSocket} per
+	 *         {@link SocketListener}.
+	 */
+	protected boolean isReusePort() {
+		return false;
+	}
+
+	/**
+	 * Obtains the keep alive timeout.
+	 * 
+	 * @return Keep alive timeout in milliseconds. <code>0</code> for no timeout.
+	 */
+	protected long getKeepAliveTimeout() {
+		return 0;
+	}
+
+	/**
+	 * Obtains the request read timeout.
+	 * 
+	 * @return Request read timeout in milliseconds. <code>0</code> for no timeout.
+	 */
+	protected long getRequestReadTimeout() {
+		return 0;
+	}
+
+	/**
+	 * Obtains the idle timeout.
+	 * 
+	 * @return Idle timeout in milliseconds. <code>0</code> for no timeout.
+	 */
+	protected long getIdleTimeout() {
+		return 0;
+	}
+
 	/**
 	 * <p>
 	 * Handles completion.
@@ -249,7 +307,13 @@ public abstract class AbstractSocketManagerTester {
 			int bufferSize = AbstractSocketManagerTester.this.getBufferSize();
 			this.bufferPool = AbstractSocketManagerTester.this
 					.createStreamBufferPool(AbstractSocketManagerTester.this.getBufferSize());
-			this.manager = new SocketManager(listenerCount, bufferSize * 4, 4, 10, this.bufferPool, bufferSize);
+			this.manager = new SocketManager(listenerCount, bufferSize * 4, 4, 10, this.bufferPool, bufferSize,
+					AbstractSocketManagerTester.this.isLockFreeEvents(),
+					AbstractSocketManagerTester.this.getMaxGatheringWriteBuffers(),
+					AbstractSocketManagerTester.this.isReusePort(),
+					AbstractSocketManagerTester.this.getKeepAliveTimeout(),
+					AbstractSocketManagerTester.this.getRequestReadTimeout(),
+					AbstractSocketManagerTester.this.getIdleTimeout());
 
 			// Start servicing the sockets
 			Runnable[] runnables = this.manager.getRunnables();
@@ -260,6 +324,15 @@ public abstract class AbstractSocketManagerTester {
 			}
 		}
 
+		/**
+		 * Obtains the {@link SocketManager} being tested.
+		 * 
+		 * @return {@link SocketManager} being tested.
+		 */
+		protected SocketManager getSocketManager() {
+			return this.manager;
+		}
+
 		/**
 		 * Binds the {@link ServerSocket}.
 		 * 
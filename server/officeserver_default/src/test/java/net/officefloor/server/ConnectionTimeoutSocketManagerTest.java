@@ -0,0 +1,343 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import net.officefloor.frame.test.ThreadSafeClosure;
+import net.officefloor.server.http.mock.MockStreamBufferPool;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+
+/**
+ * Tests the {@link SocketManager} timing out connections.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class ConnectionTimeoutSocketManagerTest extends AbstractSocketManagerTester {
+
+	/**
+	 * Keep alive timeout.
+	 */
+	private long keepAliveTimeout = 0;
+
+	/**
+	 * Request read timeout.
+	 */
+	private long requestReadTimeout = 0;
+
+	/**
+	 * Idle timeout.
+	 */
+	private long idleTimeout = 0;
+
+	/**
+	 * Ensure closes connection that never sends a request.
+	 */
+	@Test
+	public void keepAliveTimeoutOnNoRequest() throws IOException {
+		this.keepAliveTimeout = 100;
+		this.tester = new SocketManagerTester(1);
+		this.bindNoRequests(false);
+		this.tester.start();
+
+		// Connect, but do not send request
+		try (Socket client = this.tester.getClient()) {
+			assertClosed(client);
+		}
+		assertEquals(1, this.tester.getSocketManager().getTimedOutConnectionCount(), "Should time out connection");
+	}
+
+	/**
+	 * Ensure closes connection after responding when no further requests.
+	 */
+	@Test
+	public void keepAliveTimeoutAfterResponse() throws IOException {
+		this.keepAliveTimeout = 200;
+		this.tester = new SocketManagerTester(1);
+
+		// Bind to server socket
+		this.tester.bindServerSocket(null, null, (requestHandler) -> (buffer, bytesRead, isNewBuffer) -> {
+			if (bytesRead == 1) {
+				requestHandler.handleRequest("SEND");
+			}
+		}, (socketServicer) -> (request, responseWriter) -> {
+			responseWriter.write(null, this.tester.createStreamBuffer(responseWriter, 2));
+			return null;
+		});
+		this.tester.start();
+
+		// Undertake request
+		try (Socket client = this.tester.getClient()) {
+			OutputStream outputStream = client.getOutputStream();
+			outputStream.write(1);
+			outputStream.flush();
+			assertEquals(2, client.getInputStream().read(), "Incorrect response");
+
+			// Connection should be closed as no further requests
+			assertClosed(client);
+		}
+		assertEquals(1, this.tester.getSocketManager().getTimedOutConnectionCount(), "Should time out connection");
+	}
+
+	/**
+	 * Ensure does not time out connection while servicing the request.
+	 */
+	@Test
+	public void noKeepAliveTimeoutWhileServicingRequest() throws Exception {
+		this.keepAliveTimeout = 100;
+		this.tester = new SocketManagerTester(1);
+
+		// Bind to server socket
+		ThreadSafeClosure<ResponseWriter> writer = new ThreadSafeClosure<>();
+		this.tester.bindServerSocket(null, null, (requestHandler) -> (buffer, bytesRead, isNewBuffer) -> {
+			if (bytesRead == 1) {
+				requestHandler.handleRequest("SEND");
+			}
+		}, (socketServicer) -> (request, responseWriter) -> {
+			writer.set(responseWriter);
+			return null;
+		});
+		this.tester.start();
+
+		// Undertake request
+		try (Socket client = this.tester.getClient()) {
+			OutputStream outputStream = client.getOutputStream();
+			outputStream.write(1);
+			outputStream.flush();
+			ResponseWriter responseWriter = writer.waitAndGet();
+
+			// Servicing beyond the keep alive timeout
+			Thread.sleep(this.keepAliveTimeout * 3);
+
+			// Ensure connection still open to receive response
+			responseWriter.write(null, this.tester.createStreamBuffer(responseWriter, 2));
+			assertEquals(2, client.getInputStream().read(), "Incorrect response");
+		}
+		assertEquals(0, this.tester.getSocketManager().getTimedOutConnectionCount(),
+				"Should not time out connection");
+	}
+
+	/**
+	 * Ensure closes connection slowly sending a request.
+	 */
+	@Test
+	public void requestReadTimeout() throws Exception {
+		this.keepAliveTimeout = 10 * 1000;
+		this.requestReadTimeout = 200;
+		this.tester = new SocketManagerTester(1);
+		this.bindNoRequests(false);
+		this.tester.start();
+
+		// Slowly send the request
+		try (Socket client = this.tester.getClient()) {
+			OutputStream outputStream = client.getOutputStream();
+			try {
+				for (int i = 0; i < 100; i++) {
+					outputStream.write(1);
+					outputStream.flush();
+					Thread.sleep(50);
+				}
+			} catch (IOException ex) {
+				// Connection closed
+			}
+			assertClosed(client);
+		}
+		assertEquals(1, this.tester.getSocketManager().getTimedOutConnectionCount(), "Should time out connection");
+	}
+
+	/**
+	 * Ensure request read timeout only covers reading the header, so that large
+	 * entities may be slowly uploaded.
+	 */
+	@Test
+	public void noRequestReadTimeoutForEntity() throws Exception {
+		this.keepAliveTimeout = 100;
+		this.requestReadTimeout = 100;
+		this.tester = new SocketManagerTester(1);
+
+		final int ENTITY_SIZE = 12;
+
+		// Bind to server socket (first byte being the header)
+		this.tester.bindServerSocket(null, null, (requestHandler) -> new SocketServicer<String>() {
+
+			private long totalBytesRead = 0;
+
+			@Override
+			public void service(StreamBuffer<ByteBuffer> readBuffer, long bytesRead, boolean isNewBuffer)
+					throws IOException {
+				this.totalBytesRead += bytesRead;
+				if (this.totalBytesRead > ENTITY_SIZE) {
+					requestHandler.handleRequest("SEND");
+				} else {
+					requestHandler.requestHeaderRead();
+				}
+			}
+		}, (socketServicer) -> (request, responseWriter) -> {
+			responseWriter.write(null, this.tester.createStreamBuffer(responseWriter, 2));
+			return null;
+		});
+		this.tester.start();
+
+		// Slowly send the entity (beyond the timeouts)
+		try (Socket client = this.tester.getClient()) {
+			OutputStream outputStream = client.getOutputStream();
+			for (int i = 0; i <= ENTITY_SIZE; i++) {
+				outputStream.write(1);
+				outputStream.flush();
+				Thread.sleep(50);
+			}
+
+			// Ensure connection still open to receive response
+			assertEquals(2, client.getInputStream().read(), "Incorrect response");
+		}
+		assertEquals(0, this.tester.getSocketManager().getTimedOutConnectionCount(),
+				"Should not time out connection");
+	}
+
+	/**
+	 * Ensure upgraded connection is not subject to keep alive and request read
+	 * timeouts.
+	 */
+	@Test
+	public void noTimeoutForUpgradedConnection() throws Exception {
+		this.keepAliveTimeout = 100;
+		this.requestReadTimeout = 100;
+		this.tester = new SocketManagerTester(1);
+		this.bindNoRequests(true);
+		this.tester.start();
+
+		// Send data without requests
+		try (Socket client = this.tester.getClient()) {
+			OutputStream outputStream = client.getOutputStream();
+			outputStream.write(1);
+			outputStream.flush();
+			Thread.sleep(this.keepAliveTimeout * 3);
+
+			// Ensure connection still open
+			client.setSoTimeout(10);
+			try {
+				client.getInputStream().read();
+				fail("Connection should still be open");
+			} catch (SocketTimeoutException ex) {
+				// Connection still open
+			}
+		}
+		assertEquals(0, this.tester.getSocketManager().getTimedOutConnectionCount(),
+				"Should not time out connection");
+	}
+
+	/**
+	 * Ensure closes upgraded connection on idle timeout.
+	 */
+	@Test
+	public void idleTimeout() throws IOException {
+		this.idleTimeout = 100;
+		this.tester = new SocketManagerTester(1);
+		this.bindNoRequests(true);
+		this.tester.start();
+
+		// Send data without requests
+		try (Socket client = this.tester.getClient()) {
+			OutputStream outputStream = client.getOutputStream();
+			outputStream.write(1);
+			outputStream.flush();
+			assertClosed(client);
+		}
+		assertEquals(1, this.tester.getSocketManager().getTimedOutConnectionCount(), "Should time out connection");
+	}
+
+	/**
+	 * Binds the {@link SocketServicer} that never receives requests.
+	 * 
+	 * @param isUpgrade Indicates to flag connection as upgraded on reading data.
+	 */
+	private void bindNoRequests(boolean isUpgrade) throws IOException {
+		this.tester.bindServerSocket(null, null, (requestHandler) -> (buffer, bytesRead, isNewBuffer) -> {
+			if (isUpgrade) {
+				requestHandler.upgradedConnection();
+			}
+		}, (socketServicer) -> (request, responseWriter) -> {
+			return fail("Should not be invoked, as no requests");
+		});
+	}
+
+	/**
+	 * Asserts the connection is closed by the server.
+	 * 
+	 * @param client Client {@link Socket}.
+	 */
+	private static void assertClosed(Socket client) throws IOException {
+		InputStream inputStream = client.getInputStream();
+		try {
+			assertEquals(-1, inputStream.read(), "Connection should be closed");
+		} catch (SocketTimeoutException ex) {
+			fail("Connection should be closed");
+		} catch (IOException ex) {
+			// Connection reset, so closed
+		}
+	}
+
+	/*
+	 * ================== AbstractSocketManagerTester ==================
+	 */
+
+	@Override
+	protected int getBufferSize() {
+		return 1024;
+	}
+
+	@Override
+	protected StreamBufferPool<ByteBuffer> createStreamBufferPool(int bufferSize) {
+		return new MockStreamBufferPool(() -> ByteBuffer.allocateDirect(bufferSize));
+	}
+
+	@Override
+	protected void handleCompletion(StreamBufferPool<ByteBuffer> bufferPool) {
+		((MockStreamBufferPool) bufferPool).assertAllBuffersReturned();
+	}
+
+	@Override
+	protected long getKeepAliveTimeout() {
+		return this.keepAliveTimeout;
+	}
+
+	@Override
+	protected long getRequestReadTimeout() {
+		return this.requestReadTimeout;
+	}
+
+	@Override
+	protected long getIdleTimeout() {
+		return this.idleTimeout;
+	}
+
+}
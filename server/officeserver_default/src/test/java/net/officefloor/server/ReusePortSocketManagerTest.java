@@ -0,0 +1,121 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SocketManager} binding a {@link ServerSocket} per
+ * {@link SocketListener} via <code>SO_REUSEPORT</code>.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class ReusePortSocketManagerTest extends BufferManagementSocketManagerTest {
+
+	@Override
+	protected boolean isReusePort() {
+		return true;
+	}
+
+	/**
+	 * Ensure connections are accepted across the {@link SocketListener}
+	 * instances.
+	 */
+	@Test
+	public void receiveDataAcrossListeners() throws Exception {
+
+		// Only spread across listeners if SO_REUSEPORT supported
+		try (ServerSocketChannel check = ServerSocketChannel.open()) {
+			assumeTrue(check.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT),
+					"SO_REUSEPORT not supported");
+		}
+
+		this.tester = new SocketManagerTester(4);
+
+		final int CONNECTION_COUNT = 20;
+
+		// Bind to server socket (recording accepts by each listener)
+		Map<Thread, AtomicInteger> listenerAccepts = new ConcurrentHashMap<>();
+		CountDownLatch received = new CountDownLatch(CONNECTION_COUNT);
+		this.tester.bindServerSocket(null, null, (requestHandler) -> {
+
+			// Accepted locally, so created by the accepting listener
+			listenerAccepts.computeIfAbsent(Thread.currentThread(), (thread) -> new AtomicInteger()).incrementAndGet();
+
+			return (buffer, bytesRead, isNewBuffer) -> {
+				if (bytesRead == 1) {
+					received.countDown();
+				}
+			};
+		}, (socketServicer) -> (request, responseWriter) -> {
+			return fail("Should not be invoked, as no requests");
+		});
+
+		this.tester.start();
+
+		// Connect and send data on each connection
+		Socket[] clients = new Socket[CONNECTION_COUNT];
+		try {
+			for (int i = 0; i < CONNECTION_COUNT; i++) {
+				clients[i] = this.tester.getClient();
+				OutputStream outputStream = clients[i].getOutputStream();
+				outputStream.write(1);
+				outputStream.flush();
+			}
+
+			// Ensure all connections are serviced
+			assertTrue(received.await(10, TimeUnit.SECONDS), "Should service all connections");
+
+			// Ensure connections accepted across the listeners
+			int acceptCount = 0;
+			for (AtomicInteger accepts : listenerAccepts.values()) {
+				acceptCount += accepts.get();
+			}
+			assertEquals(CONNECTION_COUNT, acceptCount, "Incorrect number of accepted connections");
+			assertTrue(listenerAccepts.size() > 1,
+					"Connections should be accepted by multiple listeners: " + listenerAccepts);
+
+		} finally {
+			for (Socket client : clients) {
+				if (client != null) {
+					client.close();
+				}
+			}
+		}
+	}
+
+}
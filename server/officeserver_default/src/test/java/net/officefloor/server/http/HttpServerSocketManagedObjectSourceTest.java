@@ -21,10 +21,19 @@
 package net.officefloor.server.http;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -55,6 +64,11 @@ import net.officefloor.frame.api.manage.OfficeFloor;
 import net.officefloor.frame.api.team.ThreadLocalAwareTeam;
 import net.officefloor.frame.impl.spi.team.ExecutorCachedTeamSource;
 import net.officefloor.frame.impl.spi.team.ThreadLocalAwareTeamSource;
+import net.officefloor.frame.test.ThreadSafeClosure;
+import net.officefloor.plugin.section.clazz.Next;
+import net.officefloor.plugin.section.clazz.Parameter;
+import net.officefloor.server.http.http2.HpackEncoder;
+import net.officefloor.server.http.http2.Http2FrameParser;
 import net.officefloor.server.http.impl.HttpServerLocationImpl;
 import net.officefloor.server.ssl.OfficeFloorDefaultSslContextSource;
 
@@ -200,6 +214,392 @@ public class HttpServerSocketManagedObjectSourceTest {
 		}
 	}
 
+	/**
+	 * Ensure secure {@link ServerSentEventStream} sends events to the client before
+	 * the stream is closed.
+	 */
+	@Test
+	public void secureServerSentEvents() throws Exception {
+
+		// Start secure server
+		MockServerSentEventSection.stream = new ThreadSafeClosure<>();
+		this.startServer((httpMos, deployer) -> {
+			httpMos.addProperty(HttpServerLocation.PROPERTY_HTTPS_PORT, String.valueOf(7979));
+			httpMos.addProperty(HttpServerSocketManagedObjectSource.PROPERTY_SECURE, String.valueOf(true));
+			deployer.link(httpMos.getOfficeFloorManagedObjectTeam(HttpServerSocketManagedObjectSource.SSL_TEAM_NAME),
+					deployer.addTeam("TEAM", ExecutorCachedTeamSource.class.getName()));
+		}, null, MockServerSentEventSection.class);
+
+		// Create request
+		byte[] request = UsAsciiUtil.convertToHttp("GET / HTTP/1.1\nHost: localhost\n\n");
+
+		// Subscribe for events
+		try (Socket socket = OfficeFloorDefaultSslContextSource.createClientSslContext(null).getSocketFactory()
+				.createSocket("localhost", 7979)) {
+			socket.setSoTimeout(10 * 1000);
+
+			// Send the request
+			socket.getOutputStream().write(request);
+			BufferedReader response = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+
+			// Ensure receive the subscribed event (while stream open)
+			assertEquals("HTTP/1.1 200 OK", response.readLine(), "Incorrect status");
+			readUntilLine(response, "data: SUBSCRIBED");
+
+			// Ensure receive further event (while stream open)
+			ServerSentEventStream stream = MockServerSentEventSection.stream.waitAndGet();
+			stream.sendData("UPDATE");
+			readUntilLine(response, "data: UPDATE");
+			assertFalse(stream.isClosed(), "Stream should still be open");
+
+			// Close the stream, which should complete the response
+			stream.close();
+			readUntilLine(response, "0");
+		}
+	}
+
+	/**
+	 * Reads until the line.
+	 * 
+	 * @param reader {@link BufferedReader}.
+	 * @param line   Line to read until.
+	 */
+	private static void readUntilLine(BufferedReader reader, String line) throws IOException {
+		String readLine;
+		do {
+			readLine = reader.readLine();
+			assertNotNull(readLine, "Should receive line: " + line);
+		} while (!line.equals(readLine));
+	}
+
+	/**
+	 * Ensure the <code>cookie</code> header split into multiple fields for HTTP/2
+	 * provides all the {@link HttpRequestCookie} instances.
+	 */
+	@Test
+	public void http2MultipleCookieFields() throws Exception {
+
+		// Start HTTP/2 server
+		this.startServer((httpMos, deployer) -> {
+			httpMos.addProperty(HttpServerLocation.PROPERTY_HTTP_PORT, String.valueOf(7878));
+			httpMos.addProperty(HttpServerSocketManagedObjectSource.PROPERTY_HTTP2, String.valueOf(true));
+		}, null, MockCookieSection.class);
+
+		// Create request with cookie split into multiple fields
+		HpackEncoder encoder = new HpackEncoder();
+		encoder.encodeHeader(":method", "GET");
+		encoder.encodeHeader(":scheme", "http");
+		encoder.encodeHeader(":path", "/");
+		encoder.encodeHeader(":authority", "localhost");
+		encoder.encodeHeader("cookie", "one=1");
+		encoder.encodeHeader("accept", "text/plain");
+		encoder.encodeHeader("cookie", "two=2");
+		encoder.encodeHeader("cookie", "three=3");
+		byte[] headerBlock = Arrays.copyOf(encoder.getBlock(), encoder.getLength());
+
+		// Send request with prior knowledge of HTTP/2
+		try (Socket socket = new Socket("localhost", 7878)) {
+			socket.setSoTimeout(10 * 1000);
+			OutputStream output = socket.getOutputStream();
+			output.write(Http2FrameParser.PREFACE);
+			writeHttp2Frame(output, Http2FrameParser.FRAME_SETTINGS, 0, 0, new byte[0]);
+			writeHttp2Frame(output, Http2FrameParser.FRAME_HEADERS,
+					Http2FrameParser.FLAG_END_HEADERS | Http2FrameParser.FLAG_END_STREAM, 1, headerBlock);
+			output.flush();
+
+			// Ensure all cookies available
+			assertEquals("one=1; two=2; three=3", readHttp2Entity(socket.getInputStream(), 1), "Incorrect cookies");
+		}
+	}
+
+	/**
+	 * Writes a HTTP/2 frame.
+	 * 
+	 * @param output   {@link OutputStream}.
+	 * @param type     Type of frame.
+	 * @param flags    Flags.
+	 * @param streamId Stream identifier.
+	 * @param payload  Payload.
+	 */
+	private static void writeHttp2Frame(OutputStream output, int type, int flags, int streamId, byte[] payload)
+			throws IOException {
+		int length = payload.length;
+		output.write(new byte[] { (byte) (length >> 16), (byte) (length >> 8), (byte) length, (byte) type,
+				(byte) flags, (byte) (streamId >> 24), (byte) (streamId >> 16), (byte) (streamId >> 8),
+				(byte) streamId });
+		output.write(payload);
+	}
+
+	/**
+	 * Reads the HTTP/2 response entity for the stream.
+	 * 
+	 * @param input    {@link InputStream}.
+	 * @param streamId Stream identifier.
+	 * @return Response entity.
+	 */
+	private static String readHttp2Entity(InputStream input, int streamId) throws IOException {
+		DataInputStream frames = new DataInputStream(input);
+		StringBuilder entity = new StringBuilder();
+		for (;;) {
+
+			// Read the frame
+			byte[] header = new byte[9];
+			frames.readFully(header);
+			int length = ((header[0] & 0xff) << 16) | ((header[1] & 0xff) << 8) | (header[2] & 0xff);
+			int type = header[3];
+			int flags = header[4];
+			int frameStreamId = ((header[5] & 0x7f) << 24) | ((header[6] & 0xff) << 16) | ((header[7] & 0xff) << 8)
+					| (header[8] & 0xff);
+			byte[] payload = new byte[length];
+			frames.readFully(payload);
+
+			// Ensure stream not reset or connection closed
+			assertFalse((type == Http2FrameParser.FRAME_RST_STREAM) || (type == Http2FrameParser.FRAME_GOAWAY),
+					"Stream should not be reset (frame type " + type + ")");
+
+			// Capture the entity
+			if (frameStreamId == streamId) {
+				if (type == Http2FrameParser.FRAME_DATA) {
+					entity.append(new String(payload, StandardCharsets.US_ASCII));
+				}
+				if ((flags & Http2FrameParser.FLAG_END_STREAM) != 0) {
+					return entity.toString();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Ensure {@link WebSocketMessage} servicing rejects streaming a response, as
+	 * the upgrade was the response.
+	 */
+	@Test
+	public void webSocketMessageRejectsStreamingResponse() throws Exception {
+
+		// Start server supporting web sockets
+		this.startServer((httpMos, deployer) -> {
+			httpMos.addProperty(HttpServerLocation.PROPERTY_HTTP_PORT, String.valueOf(7878));
+			httpMos.addProperty(HttpServerSocketManagedObjectSource.PROPERTY_WEB_SOCKET, String.valueOf(true));
+			DeployedOffice office = deployer.getDeployedOffice(ApplicationOfficeFloorSource.OFFICE_NAME);
+			deployer.link(
+					httpMos.getOfficeFloorManagedObjectFlow(
+							HttpServerSocketManagedObjectSource.WEB_SOCKET_MESSAGE_FLOW_NAME),
+					office.getDeployedOfficeInput("SECTION", "message"));
+		}, null, MockWebSocketSection.class);
+
+		// Create upgrade request
+		byte[] request = UsAsciiUtil.convertToHttp("GET /socket HTTP/1.1\nHost: localhost\nUpgrade: websocket\n"
+				+ "Connection: Upgrade\nSec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\nSec-WebSocket-Version: 13\n\n");
+
+		// Undertake the upgrade
+		try (Socket socket = new Socket("localhost", 7878)) {
+			socket.setSoTimeout(10 * 1000);
+			OutputStream output = socket.getOutputStream();
+			output.write(request);
+			DataInputStream input = new DataInputStream(socket.getInputStream());
+			assertEquals("HTTP/1.1 101 Switching Protocols", readLine(input), "Should upgrade");
+			while (readLine(input).length() > 0) {
+				// Ignore headers
+			}
+
+			// Send the masked text message
+			byte[] mask = new byte[] { 1, 2, 3, 4 };
+			byte[] payload = "STREAM".getBytes(StandardCharsets.UTF_8);
+			byte[] frame = new byte[2 + mask.length + payload.length];
+			frame[0] = (byte) 0x81; // final text frame
+			frame[1] = (byte) (0x80 | payload.length);
+			System.arraycopy(mask, 0, frame, 2, mask.length);
+			for (int i = 0; i < payload.length; i++) {
+				frame[2 + mask.length + i] = (byte) (payload[i] ^ mask[i % mask.length]);
+			}
+			output.write(frame);
+			output.flush();
+
+			// Ensure message indicates streaming rejected
+			assertEquals(0x81, input.readUnsignedByte(), "Should be final text frame");
+			byte[] reply = new byte[input.readUnsignedByte()];
+			input.readFully(reply);
+			assertEquals("REJECTED", new String(reply, StandardCharsets.UTF_8), "Incorrect reply");
+		}
+	}
+
+	/**
+	 * Reads a line of the response head.
+	 * 
+	 * @param input {@link InputStream}.
+	 * @return Line (without the end of line characters).
+	 */
+	private static String readLine(InputStream input) throws IOException {
+		StringBuilder line = new StringBuilder();
+		for (int character = input.read(); character != '\n'; character = input.read()) {
+			assertFalse(character < 0, "Should read line");
+			if (character != '\r') {
+				line.append((char) character);
+			}
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Ensure servicing completes without a deadline.
+	 */
+	@Test
+	public void noRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(null, null, false);
+	}
+
+	/**
+	 * Ensure servicing is dropped once the configured deadline passes.
+	 */
+	@Test
+	public void requestDeadline() throws Exception {
+		this.doRequestDeadlineTest(10L, null, true);
+	}
+
+	/**
+	 * Ensure servicing completes within the configured deadline.
+	 */
+	@Test
+	public void withinRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(100000L, null, false);
+	}
+
+	/**
+	 * Ensure servicing is dropped once the client deadline passes.
+	 */
+	@Test
+	public void clientRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(null, "10", true);
+	}
+
+	/**
+	 * Ensure client deadline may have surrounding whitespace.
+	 */
+	@Test
+	public void clientRequestDeadlineWithWhitespace() throws Exception {
+		this.doRequestDeadlineTest(null, " 10 ", true);
+	}
+
+	/**
+	 * Ensure servicing completes within the client deadline.
+	 */
+	@Test
+	public void withinClientRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(null, "100000", false);
+	}
+
+	/**
+	 * Ensure the earlier client deadline is used over the configured deadline.
+	 */
+	@Test
+	public void earlierClientRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(100000L, "10", true);
+	}
+
+	/**
+	 * Ensure the earlier configured deadline is used over the client deadline
+	 * (client can not extend the deadline).
+	 */
+	@Test
+	public void earlierConfiguredRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(10L, "100000", true);
+	}
+
+	/**
+	 * Ensure ignores invalid client deadline.
+	 */
+	@Test
+	public void invalidClientRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(null, "invalid", false);
+	}
+
+	/**
+	 * Ensure invalid client deadline falls back to the configured deadline.
+	 */
+	@Test
+	public void invalidClientRequestDeadlineFallback() throws Exception {
+		this.doRequestDeadlineTest(10L, "invalid", true);
+	}
+
+	/**
+	 * Ensure ignores negative client deadline.
+	 */
+	@Test
+	public void negativeClientRequestDeadline() throws Exception {
+		this.doRequestDeadlineTest(null, "-10", false);
+	}
+
+	/**
+	 * Ensure negative client deadline falls back to the configured deadline.
+	 */
+	@Test
+	public void negativeClientRequestDeadlineFallback() throws Exception {
+		this.doRequestDeadlineTest(10L, "-10", true);
+	}
+
+	/**
+	 * Ensure client deadline is ignored if deadline {@link HttpHeader} not
+	 * configured.
+	 */
+	@Test
+	public void clientRequestDeadlineNotConfigured() throws Exception {
+		this.startServer((httpMos, deployer) -> {
+			httpMos.addProperty(HttpServerLocation.PROPERTY_HTTP_PORT, String.valueOf(7878));
+		}, null, MockDeadlineSection.class);
+		this.assertRequestDeadline("10", false);
+	}
+
+	/**
+	 * Undertakes the request deadline test.
+	 * 
+	 * @param deadline      Configured deadline. May be <code>null</code> to not
+	 *                      configure.
+	 * @param clientTimeout Client deadline {@link HttpHeader} value. May be
+	 *                      <code>null</code> to not send.
+	 * @param isExpired     Indicates if the deadline is expected to expire.
+	 */
+	private void doRequestDeadlineTest(Long deadline, String clientTimeout, boolean isExpired) throws Exception {
+
+		// Start server with the deadline
+		this.startServer((httpMos, deployer) -> {
+			httpMos.addProperty(HttpServerLocation.PROPERTY_HTTP_PORT, String.valueOf(7878));
+			if (deadline != null) {
+				httpMos.addProperty(HttpServerSocketManagedObjectSource.PROPERTY_REQUEST_DEADLINE,
+						String.valueOf(deadline));
+			}
+			httpMos.addProperty(HttpServerSocketManagedObjectSource.PROPERTY_REQUEST_DEADLINE_HEADER, "deadline");
+		}, null, MockDeadlineSection.class);
+
+		// Ensure deadline applied
+		this.assertRequestDeadline(clientTimeout, isExpired);
+	}
+
+	/**
+	 * Asserts the request deadline.
+	 * 
+	 * @param clientTimeout Client deadline {@link HttpHeader} value. May be
+	 *                      <code>null</code> to not send.
+	 * @param isExpired     Indicates if the deadline is expected to expire.
+	 */
+	private void assertRequestDeadline(String clientTimeout, boolean isExpired) throws Exception {
+		try (CloseableHttpClient client = HttpClientTestUtil.createHttpClient()) {
+			HttpGet request = new HttpGet("http://localhost:7878");
+			if (clientTimeout != null) {
+				request.addHeader("deadline", clientTimeout);
+			}
+			HttpResponse response = client.execute(request);
+			if (isExpired) {
+				assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.getStatusCode(),
+						response.getStatusLine().getStatusCode(), "Should drop servicing after deadline");
+			} else {
+				assertEquals(HttpStatus.OK.getStatusCode(), response.getStatusLine().getStatusCode(),
+						"Should complete servicing");
+				assertEquals("COMPLETE", HttpClientTestUtil.entityToString(response), "Incorrect content");
+			}
+		}
+	}
+
 	/**
 	 * Ensure reject insecure request.
 	 */
@@ -369,6 +769,86 @@ public class HttpServerSocketManagedObjectSourceTest {
 		}
 	}
 
+	/**
+	 * Mock section for {@link ServerSentEventStream}.
+	 */
+	public static class MockServerSentEventSection {
+
+		private static ThreadSafeClosure<ServerSentEventStream> stream;
+
+		public void service(ServerHttpConnection connection) throws IOException {
+			ServerSentEventStream eventStream = connection.getResponse().openServerSentEventStream();
+			eventStream.sendData("SUBSCRIBED");
+			stream.set(eventStream);
+		}
+	}
+
+	/**
+	 * Mock section for {@link HttpRequestCookie} instances.
+	 */
+	public static class MockCookieSection {
+
+		public void service(ServerHttpConnection connection) throws IOException {
+			HttpRequestCookies cookies = connection.getRequest().getCookies();
+			StringBuilder entity = new StringBuilder();
+			for (String name : new String[] { "one", "two", "three" }) {
+				HttpRequestCookie cookie = cookies.getCookie(name);
+				if (cookie != null) {
+					entity.append((entity.length() > 0 ? "; " : "") + name + "=" + cookie.getValue());
+				}
+			}
+			connection.getResponse().getEntityWriter().write(entity.toString());
+		}
+	}
+
+	/**
+	 * Mock section for {@link WebSocketMessage}.
+	 */
+	public static class MockWebSocketSection {
+
+		public void service(ServerHttpConnection connection) throws IOException {
+			// Upgraded by server
+		}
+
+		public void message(@Parameter WebSocketMessage message, ServerHttpConnection connection)
+				throws IOException {
+
+			// Ensure can not open server sent events
+			net.officefloor.server.http.HttpResponse response = connection.getResponse();
+			String reply;
+			try {
+				response.openServerSentEventStream();
+				reply = "STREAMED";
+			} catch (IOException ex) {
+				reply = "REJECTED";
+			}
+
+			// Ensure flush does not stream the response
+			response.setStreaming(true);
+			response.getEntityWriter().write("NOT SENT");
+			response.getEntityWriter().flush();
+
+			// Reply via the web socket
+			message.getWebSocket().sendText(reply);
+		}
+	}
+
+	/**
+	 * Mock section for request deadline.
+	 */
+	public static class MockDeadlineSection {
+
+		@Next("complete")
+		public void service() throws InterruptedException {
+			// Deadline checked against approximate office time (updated each second)
+			Thread.sleep(1500);
+		}
+
+		public void complete(ServerHttpConnection connection) throws IOException {
+			connection.getResponse().getEntityWriter().write("COMPLETE");
+		}
+	}
+
 	/**
 	 * Mock section for GET.
 	 */
@@ -0,0 +1,230 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.officefloor.server.http.HttpHeader;
+
+/**
+ * Tests the {@link HpackDecoder} and {@link HpackEncoder}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class HpackTest {
+
+	/**
+	 * {@link HpackDecoder} to test.
+	 */
+	private final HpackDecoder decoder = new HpackDecoder(4096);
+
+	/**
+	 * Ensure able to decode requests without Huffman encoding (RFC 7541 C.3).
+	 */
+	@Test
+	public void requestsWithoutHuffman() throws Exception {
+		this.assertDecode("828684410f7777772e6578616d706c652e636f6d", 57, ":method", "GET", ":scheme", "http",
+				":path", "/", ":authority", "www.example.com");
+		this.assertDecode("828684be58086e6f2d6361636865", 110, ":method", "GET", ":scheme", "http", ":path", "/",
+				":authority", "www.example.com", "cache-control", "no-cache");
+		this.assertDecode("828785bf400a637573746f6d2d6b65790c637573746f6d2d76616c7565", 164, ":method", "GET",
+				":scheme", "https", ":path", "/index.html", ":authority", "www.example.com", "custom-key",
+				"custom-value");
+	}
+
+	/**
+	 * Ensure able to decode requests with Huffman encoding (RFC 7541 C.4).
+	 */
+	@Test
+	public void requestsWithHuffman() throws Exception {
+		this.assertDecode("828684418cf1e3c2e5f23a6ba0ab90f4ff", 57, ":method", "GET", ":scheme", "http", ":path",
+				"/", ":authority", "www.example.com");
+		this.assertDecode("828684be5886a8eb10649cbf", 110, ":method", "GET", ":scheme", "http", ":path", "/",
+				":authority", "www.example.com", "cache-control", "no-cache");
+		this.assertDecode("828785bf408825a849e95ba97d7f8925a849e95bb8e8b4bf", 164, ":method", "GET", ":scheme",
+				"https", ":path", "/index.html", ":authority", "www.example.com", "custom-key", "custom-value");
+	}
+
+	/**
+	 * Ensure evicts entries once dynamic table is full (and able to reduce size).
+	 */
+	@Test
+	public void evictEntries() throws Exception {
+		HpackDecoder smallDecoder = new HpackDecoder(100);
+
+		// Add entries exceeding the table size (each entry 32 + 2 bytes)
+		for (int i = 0; i < 5; i++) {
+			byte[] block = decode("40" + "01" + hex("" + i) + "01" + hex("v"));
+			smallDecoder.decode(block, 0, block.length);
+		}
+		assertEquals(68, smallDecoder.getTableSize(), "Should only retain latest two entries");
+
+		// Ensure latest entries indexed
+		byte[] indexed = decode("bebf");
+		List<HttpHeader> headers = smallDecoder.decode(indexed, 0, indexed.length);
+		assertEquals("4", headers.get(0).getName(), "Incorrect newest entry");
+		assertEquals("3", headers.get(1).getName(), "Incorrect older entry");
+
+		// Ensure reduce table size
+		byte[] update = decode("3f03");
+		smallDecoder.decode(update, 0, update.length);
+		assertEquals(34, smallDecoder.getTableSize(), "Should only retain newest entry");
+
+		// Ensure evicted entry no longer indexed
+		Http2Exception ex = assertThrows(Http2Exception.class, () -> smallDecoder.decode(indexed, 0, indexed.length));
+		assertEquals(Http2Exception.COMPRESSION_ERROR, ex.getErrorCode(), "Incorrect error code");
+	}
+
+	/**
+	 * Ensure invalid header blocks are rejected.
+	 */
+	@Test
+	public void invalidHeaderBlocks() {
+		this.assertInvalid("80"); // index 0
+		this.assertInvalid("ff00"); // index not in table
+		this.assertInvalid("400a6375"); // truncated string
+		this.assertInvalid("40810001610161"); // Huffman padding not ones
+		this.assertInvalid("3fe21f"); // table size exceeds maximum
+		this.assertInvalid("ff8080808008"); // integer overflow
+	}
+
+	/**
+	 * Ensure encodes literal without indexing (RFC 7541 C.2.2).
+	 */
+	@Test
+	public void encodeLiteralWithoutIndexing() throws Exception {
+		HpackEncoder encoder = new HpackEncoder();
+		encoder.encodeHeader(":path", "/sample/path");
+		assertEquals("040c2f73616d706c652f70617468", hex(encoder.getBlock(), encoder.getLength()),
+				"Incorrect encoding");
+	}
+
+	/**
+	 * Ensure encoded response able to be decoded.
+	 */
+	@Test
+	public void encodeResponse() throws Exception {
+		HpackEncoder encoder = new HpackEncoder();
+		for (int i = 0; i < 2; i++) {
+			encoder.reset();
+			encoder.encodeStatus(200);
+			encoder.encodeHeader("content-type", "text/plain");
+			encoder.encodeHeader("x-custom", "value");
+			encoder.encodeHeader("x-long", "x".repeat(300));
+			List<HttpHeader> headers = this.decoder.decode(encoder.getBlock(), 0, encoder.getLength());
+			assertHeaders(headers, ":status", "200", "content-type", "text/plain", "x-custom", "value", "x-long",
+					"x".repeat(300));
+		}
+		assertEquals(0, this.decoder.getTableSize(), "Encoding should not index headers");
+
+		// Ensure status not in static table
+		encoder.reset();
+		encoder.encodeStatus(201);
+		assertEquals("0803323031", hex(encoder.getBlock(), encoder.getLength()), "Incorrect status encoding");
+	}
+
+	/**
+	 * Asserts the decoded header block.
+	 * 
+	 * @param block             Header block as hex.
+	 * @param expectedTableSize Expected dynamic table size after decoding.
+	 * @param nameValuePairs    Expected name/value pairs.
+	 */
+	private void assertDecode(String block, int expectedTableSize, String... nameValuePairs) throws Exception {
+		byte[] data = decode(block);
+		List<HttpHeader> headers = this.decoder.decode(data, 0, data.length);
+		assertHeaders(headers, nameValuePairs);
+		assertEquals(expectedTableSize, this.decoder.getTableSize(), "Incorrect dynamic table size");
+	}
+
+	/**
+	 * Asserts the header block is invalid.
+	 * 
+	 * @param block Header block as hex.
+	 */
+	private void assertInvalid(String block) {
+		byte[] data = decode(block);
+		Http2Exception ex = assertThrows(Http2Exception.class,
+				() -> new HpackDecoder(4096).decode(data, 0, data.length), "Should be invalid: " + block);
+		assertEquals(Http2Exception.COMPRESSION_ERROR, ex.getErrorCode(), "Incorrect error code for " + block);
+	}
+
+	/**
+	 * Asserts the {@link HttpHeader} instances.
+	 * 
+	 * @param headers        {@link HttpHeader} instances.
+	 * @param nameValuePairs Expected name/value pairs.
+	 */
+	private static void assertHeaders(List<HttpHeader> headers, String... nameValuePairs) {
+		assertEquals(nameValuePairs.length / 2, headers.size(), "Incorrect number of headers");
+		for (int i = 0; i < headers.size(); i++) {
+			HttpHeader header = headers.get(i);
+			assertEquals(nameValuePairs[i * 2], header.getName(), "Incorrect name for header " + i);
+			assertEquals(nameValuePairs[(i * 2) + 1], header.getValue(), "Incorrect value for header " + i);
+		}
+	}
+
+	/**
+	 * Decodes the hex.
+	 * 
+	 * @param hex Hex.
+	 * @return Bytes.
+	 */
+	private static byte[] decode(String hex) {
+		byte[] data = new byte[hex.length() / 2];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) Integer.parseInt(hex.substring(i * 2, (i * 2) + 2), 16);
+		}
+		return data;
+	}
+
+	/**
+	 * Obtains the hex of the text.
+	 * 
+	 * @param text Text.
+	 * @return Hex of the text.
+	 */
+	private static String hex(String text) {
+		byte[] data = text.getBytes();
+		return hex(data, data.length);
+	}
+
+	/**
+	 * Obtains the hex of the bytes.
+	 * 
+	 * @param data   Bytes.
+	 * @param length Number of bytes.
+	 * @return Hex of the bytes.
+	 */
+	private static String hex(byte[] data, int length) {
+		StringBuilder hex = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			hex.append(String.format("%02x", data[i] & 0xff));
+		}
+		return hex.toString();
+	}
+
+}
@@ -0,0 +1,430 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.http2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.officefloor.server.buffer.StreamBufferScanner;
+import net.officefloor.server.http.mock.MockStreamBufferPool;
+import net.officefloor.server.stream.StreamBuffer;
+
+/**
+ * Tests the {@link Http2FrameParser}, {@link Http2FrameWriter} and
+ * {@link Http2ResponseEntity}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class Http2FrameParserTest {
+
+	/**
+	 * {@link MockStreamBufferPool} for copying data.
+	 */
+	private final MockStreamBufferPool bufferPool = new MockStreamBufferPool(() -> ByteBuffer.allocate(8));
+
+	/**
+	 * {@link StreamBufferScanner}.
+	 */
+	private final StreamBufferScanner scanner = new StreamBufferScanner();
+
+	/**
+	 * {@link Http2FrameParser} to test.
+	 */
+	private final Http2FrameParser parser = new Http2FrameParser(this.bufferPool, 1024);
+
+	@AfterEach
+	public void ensureBuffersReleased() {
+		MockStreamBufferPool.releaseStreamBuffers(this.parser.removeData());
+		this.bufferPool.assertAllBuffersReturned();
+	}
+
+	/**
+	 * Ensure able to parse the connection preface and <code>SETTINGS</code>.
+	 */
+	@Test
+	public void prefaceAndSettings() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		assertFalse(this.parser.parse(this.scanner), "Should require frame");
+		this.scanner.appendStreamBuffer(createBuffer(
+				createFrame(Http2FrameParser.FRAME_SETTINGS, 0, 0, 0x00, 0x04, 0x00, 0x00, 0x10, 0x00)));
+		assertTrue(this.parser.parse(this.scanner), "Should parse SETTINGS");
+		assertEquals(Http2FrameParser.FRAME_SETTINGS, this.parser.getType(), "Incorrect type");
+		assertFalse(this.parser.isFlag(Http2FrameParser.FLAG_ACK), "Should not be ack");
+		assertEquals(6, this.parser.getPayloadLength(), "Incorrect payload length");
+		assertEquals(Http2FrameWriter.SETTINGS_INITIAL_WINDOW_SIZE, this.parser.getPayload()[1],
+				"Incorrect setting identifier");
+		assertEquals(4096, this.parser.getPayloadInt(2), "Incorrect setting value");
+		assertFalse(this.parser.parse(this.scanner), "Should require further frame");
+	}
+
+	/**
+	 * Ensure invalid connection preface.
+	 */
+	@Test
+	public void invalidPreface() {
+		this.scanner.appendStreamBuffer(
+				createBuffer("GET / HTTP/1.1\r\nHost: test\r\n\r\n".getBytes(StandardCharsets.US_ASCII)));
+		this.assertFailure(Http2Exception.PROTOCOL_ERROR);
+	}
+
+	/**
+	 * Ensure combines <code>HEADERS</code> and <code>CONTINUATION</code> frames
+	 * into the header block.
+	 */
+	@Test
+	public void headersWithContinuation() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(Http2FrameParser.FRAME_HEADERS,
+				Http2FrameParser.FLAG_END_STREAM | Http2FrameParser.FLAG_PADDED | Http2FrameParser.FLAG_PRIORITY, 1,
+				2, 0, 0, 0, 3, 16, 0x82, 0x86, 0, 0)));
+		assertFalse(this.parser.parse(this.scanner), "Should require CONTINUATION");
+		this.scanner.appendStreamBuffer(
+				createBuffer(createFrame(Http2FrameParser.FRAME_CONTINUATION, Http2FrameParser.FLAG_END_HEADERS, 1,
+						0x84)));
+		assertTrue(this.parser.parse(this.scanner), "Should parse header block");
+		assertEquals(Http2FrameParser.FRAME_HEADERS, this.parser.getType(), "Incorrect type");
+		assertEquals(1, this.parser.getStreamId(), "Incorrect stream");
+		assertTrue(this.parser.isFlag(Http2FrameParser.FLAG_END_STREAM), "Should end stream");
+		assertEquals(3, this.parser.getPayloadLength(), "Incorrect header block length");
+		assertEquals((byte) 0x82, this.parser.getPayload()[0], "Incorrect header block start");
+		assertEquals((byte) 0x84, this.parser.getPayload()[2], "Incorrect header block continuation");
+	}
+
+	/**
+	 * Ensure <code>CONTINUATION</code> frame can not be interrupted.
+	 */
+	@Test
+	public void interruptedContinuation() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(Http2FrameParser.FRAME_HEADERS, 0, 1, 0x82)));
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(Http2FrameParser.FRAME_PING, 0, 0, new byte[8])));
+		this.assertFailure(Http2Exception.PROTOCOL_ERROR);
+	}
+
+	/**
+	 * Ensure header block may not exceed maximum length.
+	 */
+	@Test
+	public void headerBlockTooLarge() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(Http2FrameParser.FRAME_HEADERS,
+				Http2FrameParser.FLAG_END_HEADERS, 1, new byte[1025])));
+		this.assertFailure(Http2Exception.ENHANCE_YOUR_CALM);
+	}
+
+	/**
+	 * Ensure copies padded <code>DATA</code> into pooled buffers.
+	 */
+	@Test
+	public void paddedData() throws Exception {
+		byte[] payload = new byte[1 + 20 + 3];
+		payload[0] = 3;
+		System.arraycopy("Hello World from h2c".getBytes(StandardCharsets.US_ASCII), 0, payload, 1, 20);
+		this.scanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		this.scanner.appendStreamBuffer(createBuffer(
+				createFrame(Http2FrameParser.FRAME_DATA, Http2FrameParser.FLAG_PADDED, 3, payload)));
+		assertTrue(this.parser.parse(this.scanner), "Should parse DATA");
+		assertEquals(Http2FrameParser.FRAME_DATA, this.parser.getType(), "Incorrect type");
+		assertEquals(3, this.parser.getStreamId(), "Incorrect stream");
+		assertEquals(20, this.parser.getPayloadLength(), "Incorrect data length");
+		assertEquals(24, this.parser.getFlowControlLength(), "Flow control should include padding");
+		assertEquals("Hello World from h2c", this.removeData(), "Incorrect data");
+	}
+
+	/**
+	 * Ensure able to parse frames received a byte at a time.
+	 */
+	@Test
+	public void byteByByte() throws Exception {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		data.write(Http2FrameParser.PREFACE);
+		data.write(createFrame(Http2FrameParser.FRAME_PING, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8));
+		data.write(createFrame(Http2FrameParser.FRAME_DATA, Http2FrameParser.FLAG_END_STREAM, 1,
+				"Test".getBytes(StandardCharsets.US_ASCII)));
+		int frameCount = 0;
+		for (byte datum : data.toByteArray()) {
+			this.scanner.appendStreamBuffer(createBuffer(datum));
+			if (this.parser.parse(this.scanner)) {
+				frameCount++;
+				switch (frameCount) {
+				case 1:
+					assertEquals(Http2FrameParser.FRAME_PING, this.parser.getType(), "Should be PING");
+					assertEquals(0x01020304, this.parser.getPayloadInt(0), "Incorrect opaque data");
+					break;
+				case 2:
+					assertEquals(Http2FrameParser.FRAME_DATA, this.parser.getType(), "Should be DATA");
+					assertTrue(this.parser.isFlag(Http2FrameParser.FLAG_END_STREAM), "Should end stream");
+					assertEquals("Test", this.removeData(), "Incorrect data");
+					break;
+				}
+			}
+		}
+		assertEquals(2, frameCount, "Incorrect number of frames");
+	}
+
+	/**
+	 * Ensure frame may not exceed maximum frame size.
+	 */
+	@Test
+	public void frameTooLarge() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		this.scanner.appendStreamBuffer(createBuffer(0x00, 0x40, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x01));
+		this.assertFailure(Http2Exception.FRAME_SIZE_ERROR);
+	}
+
+	/**
+	 * Ensure frames are validated.
+	 */
+	@Test
+	public void invalidFrames() throws Exception {
+		this.assertInvalidFrame(Http2Exception.FRAME_SIZE_ERROR, Http2FrameParser.FRAME_PING, 0, 0, new byte[7]);
+		this.assertInvalidFrame(Http2Exception.PROTOCOL_ERROR, Http2FrameParser.FRAME_PING, 0, 1, new byte[8]);
+		this.assertInvalidFrame(Http2Exception.PROTOCOL_ERROR, Http2FrameParser.FRAME_DATA, 0, 0, new byte[1]);
+		this.assertInvalidFrame(Http2Exception.FRAME_SIZE_ERROR, Http2FrameParser.FRAME_SETTINGS, 0, 0,
+				new byte[5]);
+		this.assertInvalidFrame(Http2Exception.FRAME_SIZE_ERROR, Http2FrameParser.FRAME_SETTINGS,
+				Http2FrameParser.FLAG_ACK, 0, new byte[6]);
+		this.assertInvalidFrame(Http2Exception.PROTOCOL_ERROR, Http2FrameParser.FRAME_PUSH_PROMISE, 0, 1,
+				new byte[4]);
+		this.assertInvalidFrame(Http2Exception.PROTOCOL_ERROR, Http2FrameParser.FRAME_CONTINUATION,
+				Http2FrameParser.FLAG_END_HEADERS, 1, new byte[1]);
+	}
+
+	/**
+	 * Ensure unknown frames are ignored.
+	 */
+	@Test
+	public void ignoreUnknownFrames() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		this.scanner.appendStreamBuffer(createBuffer(createFrame((byte) 0x20, 0, 0, new byte[3])));
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(Http2FrameParser.FRAME_PRIORITY, 0, 1, new byte[5])));
+		this.scanner.appendStreamBuffer(
+				createBuffer(createFrame(Http2FrameParser.FRAME_SETTINGS, Http2FrameParser.FLAG_ACK, 0)));
+		assertTrue(this.parser.parse(this.scanner), "Should parse SETTINGS");
+		assertEquals(Http2FrameParser.FRAME_SETTINGS, this.parser.getType(), "Should skip to SETTINGS");
+		assertTrue(this.parser.isFlag(Http2FrameParser.FLAG_ACK), "Should be ack");
+	}
+
+	/**
+	 * Ensure writes header block split across <code>CONTINUATION</code> frames.
+	 */
+	@Test
+	public void writeHeaders() throws Exception {
+		byte[] block = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+		StreamBuffer<ByteBuffer> head = this.bufferPool.getPooledStreamBuffer();
+		StreamBuffer.write(Http2FrameParser.PREFACE, head, this.bufferPool);
+		Http2FrameWriter.writeHeaders(5, block, block.length, true, 4, head, this.bufferPool);
+		byte[] frames = getBytes(head);
+		MockStreamBufferPool.releaseStreamBuffers(head);
+		assertEquals(Http2FrameParser.PREFACE.length + (3 * 9) + block.length, frames.length,
+				"Should be three frames");
+
+		// Ensure able to parse the frames
+		this.scanner.appendStreamBuffer(createBuffer(frames));
+		assertTrue(this.parser.parse(this.scanner), "Should parse header block");
+		assertEquals(Http2FrameParser.FRAME_HEADERS, this.parser.getType(), "Incorrect type");
+		assertEquals(5, this.parser.getStreamId(), "Incorrect stream");
+		assertTrue(this.parser.isFlag(Http2FrameParser.FLAG_END_STREAM), "Should end stream");
+		assertEquals(block.length, this.parser.getPayloadLength(), "Incorrect header block length");
+		for (int i = 0; i < block.length; i++) {
+			assertEquals(block[i], this.parser.getPayload()[i], "Incorrect header block byte " + i);
+		}
+	}
+
+	/**
+	 * Ensure writes response entity as <code>DATA</code> frames.
+	 */
+	@Test
+	public void writeResponseEntity() throws Exception {
+		StreamBuffer<ByteBuffer> entity = this.bufferPool.getPooledStreamBuffer();
+		StreamBuffer.write("Pooled data ", entity, this.bufferPool);
+		StreamBuffer<ByteBuffer> last = entity;
+		while (last.next != null) {
+			last = last.next;
+		}
+		last.next = this.bufferPool.getUnpooledStreamBuffer(
+				ByteBuffer.wrap("Unpooled data".getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer());
+		Http2ResponseEntity response = new Http2ResponseEntity(entity);
+		assertEquals(25, response.getRemaining(), "Incorrect entity length");
+
+		// Write the entity as two frames
+		StreamBuffer<ByteBuffer> head = this.bufferPool.getPooledStreamBuffer();
+		StreamBuffer.write(Http2FrameParser.PREFACE, head, this.bufferPool);
+		response.writeData(7, 15, head, this.bufferPool);
+		assertEquals(10, response.getRemaining(), "Incorrect remaining");
+		response.writeData(7, 10, head, this.bufferPool);
+		byte[] frames = getBytes(head);
+		MockStreamBufferPool.releaseStreamBuffers(head);
+
+		// Ensure able to parse the frames
+		this.scanner.appendStreamBuffer(createBuffer(frames));
+		assertTrue(this.parser.parse(this.scanner), "Should parse first DATA");
+		assertFalse(this.parser.isFlag(Http2FrameParser.FLAG_END_STREAM), "First frame should not end stream");
+		assertEquals("Pooled data Unp", this.removeData(), "Incorrect first data");
+		assertTrue(this.parser.parse(this.scanner), "Should parse last DATA");
+		assertEquals(7, this.parser.getStreamId(), "Incorrect stream");
+		assertTrue(this.parser.isFlag(Http2FrameParser.FLAG_END_STREAM), "Last frame should end stream");
+		assertEquals("ooled data", this.removeData(), "Incorrect last data");
+	}
+
+	/**
+	 * Ensure releases unwritten response entity.
+	 */
+	@Test
+	public void releaseResponseEntity() throws Exception {
+		StreamBuffer<ByteBuffer> entity = this.bufferPool.getPooledStreamBuffer();
+		StreamBuffer.write("Not written as stream reset", entity, this.bufferPool);
+		Http2ResponseEntity response = new Http2ResponseEntity(entity);
+		response.release();
+		assertEquals(0, response.getRemaining(), "Should have nothing remaining");
+	}
+
+	/**
+	 * Removes the data as text.
+	 * 
+	 * @return Data text.
+	 */
+	private String removeData() {
+		StreamBuffer<ByteBuffer> data = this.parser.removeData();
+		String text = MockStreamBufferPool.getContent(data, StandardCharsets.US_ASCII);
+		MockStreamBufferPool.releaseStreamBuffers(data);
+		return text;
+	}
+
+	/**
+	 * Asserts the frame is invalid.
+	 * 
+	 * @param errorCode Expected error code.
+	 * @param type      Frame type.
+	 * @param flags     Frame flags.
+	 * @param streamId  Stream identifier.
+	 * @param payload   Payload.
+	 */
+	private void assertInvalidFrame(int errorCode, byte type, int flags, int streamId, byte[] payload) {
+		StreamBufferScanner frameScanner = new StreamBufferScanner();
+		frameScanner.appendStreamBuffer(createBuffer(Http2FrameParser.PREFACE));
+		frameScanner.appendStreamBuffer(createBuffer(createFrame(type, flags, streamId, payload)));
+		Http2FrameParser frameParser = new Http2FrameParser(this.bufferPool, 1024);
+		Http2Exception failure = assertThrows(Http2Exception.class, () -> frameParser.parse(frameScanner),
+				"Should be invalid frame type " + type);
+		assertEquals(errorCode, failure.getErrorCode(), "Incorrect error code for frame type " + type);
+	}
+
+	/**
+	 * Asserts parsing fails.
+	 * 
+	 * @param errorCode Expected error code.
+	 */
+	private void assertFailure(int errorCode) {
+		Http2Exception failure = assertThrows(Http2Exception.class, () -> this.parser.parse(this.scanner));
+		assertEquals(errorCode, failure.getErrorCode(), "Incorrect error code");
+	}
+
+	/**
+	 * Creates a frame.
+	 * 
+	 * @param type     Frame type.
+	 * @param flags    Frame flags.
+	 * @param streamId Stream identifier.
+	 * @param payload  Payload values.
+	 * @return Bytes of the frame.
+	 */
+	private static byte[] createFrame(byte type, int flags, int streamId, int... payload) {
+		byte[] data = new byte[payload.length];
+		for (int i = 0; i < payload.length; i++) {
+			data[i] = (byte) payload[i];
+		}
+		return createFrame(type, flags, streamId, data);
+	}
+
+	/**
+	 * Creates a frame.
+	 * 
+	 * @param type     Frame type.
+	 * @param flags    Frame flags.
+	 * @param streamId Stream identifier.
+	 * @param payload  Payload.
+	 * @return Bytes of the frame.
+	 */
+	private static byte[] createFrame(byte type, int flags, int streamId, byte[] payload) {
+		ByteArrayOutputStream frame = new ByteArrayOutputStream();
+		frame.write(payload.length >> 16);
+		frame.write(payload.length >> 8);
+		frame.write(payload.length);
+		frame.write(type);
+		frame.write(flags);
+		frame.write(streamId >> 24);
+		frame.write(streamId >> 16);
+		frame.write(streamId >> 8);
+		frame.write(streamId);
+		frame.write(payload, 0, payload.length);
+		return frame.toByteArray();
+	}
+
+	/**
+	 * Obtains the bytes of the {@link StreamBuffer} instances.
+	 * 
+	 * @param head Head {@link StreamBuffer}.
+	 * @return Bytes.
+	 */
+	private static byte[] getBytes(StreamBuffer<ByteBuffer> head) {
+		return MockStreamBufferPool.getContent(head, StandardCharsets.ISO_8859_1)
+				.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Creates a test {@link StreamBuffer}.
+	 * 
+	 * @param data Data for the {@link StreamBuffer}.
+	 * @return {@link StreamBuffer}.
+	 */
+	private static StreamBuffer<ByteBuffer> createBuffer(byte... data) {
+		try (MockStreamBufferPool pool = new MockStreamBufferPool(() -> ByteBuffer.allocate(data.length))) {
+			StreamBuffer<ByteBuffer> buffer = pool.getPooledStreamBuffer();
+			buffer.write(data);
+			return buffer;
+		}
+	}
+
+	/**
+	 * Creates a test {@link StreamBuffer}.
+	 * 
+	 * @param values Values for the {@link StreamBuffer}.
+	 * @return {@link StreamBuffer}.
+	 */
+	private static StreamBuffer<ByteBuffer> createBuffer(int... values) {
+		byte[] data = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			data[i] = (byte) values[i];
+		}
+		return createBuffer(data);
+	}
+
+}
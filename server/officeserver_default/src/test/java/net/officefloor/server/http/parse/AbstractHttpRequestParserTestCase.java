@@ -471,6 +471,135 @@ public abstract class AbstractHttpRequestParserTestCase {
 				"Content-Length header value must be an integer");
 	}
 
+	/**
+	 * Validate chunked entity.
+	 */
+	@Test
+	public void chunkedEntity() {
+		this.doMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\n4\nTEST\nA\n_012345678\n0\n\n",
+				HttpMethod.POST, "/path", HttpVersion.HTTP_1_1, "TEST_012345678", "Transfer-Encoding", "chunked");
+	}
+
+	/**
+	 * Validate chunked entity with chunk extensions and trailers.
+	 */
+	@Test
+	public void chunkedEntityWithExtensionsAndTrailers() {
+		this.doMethodTest(
+				"POST /path HTTP/1.1\nTransfer-Encoding: Chunked\n\n4;name=value\nTEST\n0\nTrailer: value\n\n",
+				HttpMethod.POST, "/path", HttpVersion.HTTP_1_1, "TEST", "Transfer-Encoding", "Chunked");
+	}
+
+	/**
+	 * Validate chunked entity with no content.
+	 */
+	@Test
+	public void chunkedEntityEmpty() {
+		this.doMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\n0\n\n", HttpMethod.POST, "/path",
+				HttpVersion.HTTP_1_1, "", "Transfer-Encoding", "chunked");
+	}
+
+	/**
+	 * Validate chunked entity not completely received.
+	 */
+	@Test
+	public void chunkedEntityNotAllReceived() {
+		this.doMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\n4\nTEST\n5\nMO", HttpMethod.POST,
+				"/path", HttpVersion.HTTP_1_1, null, "Transfer-Encoding", "chunked");
+	}
+
+	/**
+	 * Ensure fails on invalid chunk size.
+	 */
+	@Test
+	public void chunkedEntityInvalidChunkSize() {
+		this.doInvalidMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\nZ\n", HttpStatus.BAD_REQUEST,
+				"Invalid chunk size");
+	}
+
+	/**
+	 * Ensure fails on missing chunk size.
+	 */
+	@Test
+	public void chunkedEntityMissingChunkSize() {
+		this.doInvalidMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\n;extension\n",
+				HttpStatus.BAD_REQUEST, "Missing chunk size");
+	}
+
+	/**
+	 * Ensure fails on missing CRLF after chunk data.
+	 */
+	@Test
+	public void chunkedEntityMissingChunkDataEoln() {
+		this.doInvalidMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\n4\nTESTXX",
+				HttpStatus.BAD_REQUEST, "Bad Request");
+	}
+
+	/**
+	 * Ensure fails if a chunk is bigger than maximum entity size.
+	 */
+	@Test
+	public void chunkedEntityTooLong_Chunk() {
+		String tooLargeChunkSize = Long.toHexString(MAX_ENTITY_LENGTH + 1);
+		this.doInvalidMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\n" + tooLargeChunkSize + "\n",
+				HttpStatus.REQUEST_ENTITY_TOO_LARGE,
+				"Request entity must be less than maximum of " + MAX_ENTITY_LENGTH + " bytes");
+	}
+
+	/**
+	 * Ensure fails if accumulated chunks are bigger than maximum entity size.
+	 */
+	@Test
+	public void chunkedEntityTooLong_Accumulated() {
+		String chunk = "A".repeat((int) MAX_ENTITY_LENGTH);
+		this.doInvalidMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\n"
+				+ Long.toHexString(MAX_ENTITY_LENGTH) + "\n" + chunk + "\n1\n", HttpStatus.REQUEST_ENTITY_TOO_LARGE,
+				"Request entity must be less than maximum of " + MAX_ENTITY_LENGTH + " bytes");
+	}
+
+	/**
+	 * Ensure fails if chunk size overflows.
+	 */
+	@Test
+	public void chunkedEntityChunkSizeOverflow() {
+		this.doInvalidMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: chunked\n\nFFFFFFFFFFFFFFFFFFFF\n",
+				HttpStatus.REQUEST_ENTITY_TOO_LARGE,
+				"Request entity must be less than maximum of " + MAX_ENTITY_LENGTH + " bytes");
+	}
+
+	/**
+	 * Ensure fails for unsupported Transfer-Encoding.
+	 */
+	@Test
+	public void unsupportedTransferEncoding() {
+		this.doInvalidMethodTest("POST /path HTTP/1.1\nTransfer-Encoding: gzip\n\n", HttpStatus.NOT_IMPLEMENTED,
+				"Only chunked Transfer-Encoding supported");
+	}
+
+	/**
+	 * Ensure fails if both Content-Length and Transfer-Encoding.
+	 */
+	@Test
+	public void contentLengthWithTransferEncoding() {
+		this.doInvalidMethodTest(
+				"POST /path HTTP/1.1\nContent-Length: 4\nTransfer-Encoding: chunked\n\n4\nTEST\n0\n\n",
+				HttpStatus.BAD_REQUEST, "Content-Length not allowed with Transfer-Encoding");
+	}
+
+	/**
+	 * Ensure able to reset {@link HttpRequestParser} after chunked entity.
+	 */
+	@Test
+	public void resetAfterChunkedEntity() {
+		// Parse chunked request
+		this.doMethodTest("POST /one HTTP/1.1\nTransfer-Encoding: chunked\n\n2\nON\n1\nE\n0\n\n", HttpMethod.POST,
+				"/one", HttpVersion.HTTP_1_1, "ONE", "Transfer-Encoding", "chunked");
+
+		// Parse second request
+		this.doMethodTest("PUT /two HTTP/1.1\nContent-Length: 3\n\nTWO", HttpMethod.PUT, "/two",
+				HttpVersion.HTTP_1_1, "TWO", "Content-Length", "3");
+	}
+
 	/**
 	 * Ensure able to reset {@link HttpRequestParser} to parse another request.
 	 */
@@ -0,0 +1,312 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.officefloor.server.buffer.StreamBufferScanner;
+import net.officefloor.server.http.mock.MockStreamBufferPool;
+import net.officefloor.server.stream.StreamBuffer;
+
+/**
+ * Tests the {@link WebSocketFrameParser} and {@link WebSocketFrameWriter}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class WebSocketFrameParserTest {
+
+	/**
+	 * Masking key used for testing.
+	 */
+	private static final byte[] MASK = new byte[] { 0x37, (byte) 0xfa, 0x21, 0x3d };
+
+	/**
+	 * {@link MockStreamBufferPool} for unmasking payloads.
+	 */
+	private final MockStreamBufferPool bufferPool = new MockStreamBufferPool(() -> ByteBuffer.allocate(8));
+
+	/**
+	 * {@link StreamBufferScanner}.
+	 */
+	private final StreamBufferScanner scanner = new StreamBufferScanner();
+
+	/**
+	 * {@link WebSocketFrameParser} to test.
+	 */
+	private final WebSocketFrameParser parser = new WebSocketFrameParser(this.bufferPool, 1024);
+
+	@AfterEach
+	public void ensureBuffersReleased() {
+		this.parser.release();
+		this.bufferPool.assertAllBuffersReturned();
+	}
+
+	/**
+	 * Ensure able to parse single frame text message (example from RFC 6455).
+	 */
+	@Test
+	public void singleFrameText() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(0x81, 0x85, 0x37, 0xfa, 0x21, 0x3d, 0x7f, 0x9f, 0x4d, 0x51,
+				0x58));
+		assertTrue(this.parser.parse(this.scanner), "Should parse message");
+		assertEquals(WebSocketFrameParser.OPCODE_TEXT, this.parser.getOpCode(), "Incorrect op code");
+		assertEquals("Hello", this.removeMessage(), "Incorrect message");
+		assertFalse(this.parser.parse(this.scanner), "Should be no further messages");
+	}
+
+	/**
+	 * Ensure able to parse fragmented message (example from RFC 6455).
+	 */
+	@Test
+	public void fragmentedText() throws Exception {
+		this.scanner.appendStreamBuffer(createBuffer(0x01, 0x83, 0x37, 0xfa, 0x21, 0x3d, 0x7f, 0x9f, 0x4d, 0x80,
+				0x82, 0x37, 0xfa, 0x21, 0x3d, 0x5b, 0x95));
+		assertTrue(this.parser.parse(this.scanner), "Should parse message");
+		assertEquals(WebSocketFrameParser.OPCODE_TEXT, this.parser.getOpCode(), "Incorrect op code");
+		assertEquals("Hello", this.removeMessage(), "Incorrect message");
+	}
+
+	/**
+	 * Ensure able to parse frames received a byte at a time.
+	 */
+	@Test
+	public void byteByByte() throws Exception {
+		byte[] frame = createFrame(true, WebSocketFrameParser.OPCODE_BINARY, new byte[300]);
+		for (int i = 0; i < frame.length; i++) {
+			this.scanner.appendStreamBuffer(createBuffer(frame[i]));
+			boolean isMessage = this.parser.parse(this.scanner);
+			assertEquals(i == (frame.length - 1), isMessage, "Incorrect parse for byte " + i);
+		}
+		assertEquals(WebSocketFrameParser.OPCODE_BINARY, this.parser.getOpCode(), "Incorrect op code");
+		assertEquals(300, this.parser.getMessageLength(), "Incorrect message length");
+		MockStreamBufferPool.releaseStreamBuffers(this.parser.removeMessage());
+	}
+
+	/**
+	 * Ensure control frames may be interleaved within a fragmented message.
+	 */
+	@Test
+	public void pingWithinFragmentedMessage() throws Exception {
+		ByteArrayOutputStream frames = new ByteArrayOutputStream();
+		frames.write(createFrame(false, WebSocketFrameParser.OPCODE_TEXT, "Hel".getBytes(StandardCharsets.UTF_8)));
+		frames.write(createFrame(true, WebSocketFrameParser.OPCODE_PING, "ping".getBytes(StandardCharsets.UTF_8)));
+		frames.write(
+				createFrame(true, WebSocketFrameParser.OPCODE_CONTINUATION, "lo".getBytes(StandardCharsets.UTF_8)));
+		this.scanner.appendStreamBuffer(createBuffer(frames.toByteArray()));
+
+		// Ping provided first
+		assertTrue(this.parser.parse(this.scanner), "Should parse ping");
+		assertEquals(WebSocketFrameParser.OPCODE_PING, this.parser.getOpCode(), "Incorrect ping op code");
+		assertEquals("ping", new String(this.parser.getControlPayload(), StandardCharsets.UTF_8),
+				"Incorrect ping payload");
+
+		// Message then completed
+		assertTrue(this.parser.parse(this.scanner), "Should parse message");
+		assertEquals(WebSocketFrameParser.OPCODE_TEXT, this.parser.getOpCode(), "Incorrect message op code");
+		assertEquals("Hello", this.removeMessage(), "Incorrect message");
+	}
+
+	/**
+	 * Ensure fails on unmasked client frame.
+	 */
+	@Test
+	public void unmaskedFrame() {
+		this.scanner.appendStreamBuffer(createBuffer(0x81, 0x01, 0x41));
+		this.assertFailure(WebSocketException.PROTOCOL_ERROR);
+	}
+
+	/**
+	 * Ensure fails on reserved bits (as no extensions negotiated).
+	 */
+	@Test
+	public void reservedBits() {
+		this.scanner.appendStreamBuffer(createBuffer(0xc1, 0x80, 0x00, 0x00, 0x00, 0x00));
+		this.assertFailure(WebSocketException.PROTOCOL_ERROR);
+	}
+
+	/**
+	 * Ensure fails on continuation frame without a message.
+	 */
+	@Test
+	public void continuationWithoutMessage() {
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(true, WebSocketFrameParser.OPCODE_CONTINUATION,
+				new byte[1])));
+		this.assertFailure(WebSocketException.PROTOCOL_ERROR);
+	}
+
+	/**
+	 * Ensure fails on control frame payload too long.
+	 */
+	@Test
+	public void controlFrameTooLong() {
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(true, WebSocketFrameParser.OPCODE_PING,
+				new byte[126])));
+		this.assertFailure(WebSocketException.PROTOCOL_ERROR);
+	}
+
+	/**
+	 * Ensure fails on message too big.
+	 */
+	@Test
+	public void messageTooBig() {
+		this.scanner.appendStreamBuffer(createBuffer(createFrame(true, WebSocketFrameParser.OPCODE_BINARY,
+				new byte[1025])));
+		this.assertFailure(WebSocketException.MESSAGE_TOO_BIG);
+	}
+
+	/**
+	 * Ensure able to write frames of the various payload lengths.
+	 */
+	@Test
+	public void writeFrames() {
+		for (int length : new int[] { 0, 125, 126, 0xffff, 0x10000 }) {
+			StreamBuffer<ByteBuffer> frame = WebSocketFrameWriter.writeFrame(WebSocketFrameParser.OPCODE_BINARY,
+					new byte[length], this.bufferPool);
+			byte[] data = getBytes(frame);
+			int headerLength = (length < 126) ? 2 : (length <= 0xffff) ? 4 : 10;
+			assertEquals(headerLength + length, data.length, "Incorrect frame length for " + length);
+			assertEquals((byte) 0x82, data[0], "Incorrect final binary header for " + length);
+			assertEquals(0, data[1] & 0x80, "Server frames should not be masked for " + length);
+			MockStreamBufferPool.releaseStreamBuffers(frame);
+		}
+	}
+
+	/**
+	 * Ensure able to write close frame.
+	 */
+	@Test
+	public void writeCloseFrame() {
+		StreamBuffer<ByteBuffer> frame = WebSocketFrameWriter.writeCloseFrame(1000, "Bye", this.bufferPool);
+		byte[] data = getBytes(frame);
+		assertEquals(7, data.length, "Incorrect close frame length");
+		assertEquals((byte) 0x88, data[0], "Incorrect close header");
+		assertEquals(5, data[1], "Incorrect payload length");
+		assertEquals(1000, ((data[2] & 0xff) << 8) | (data[3] & 0xff), "Incorrect status code");
+		assertEquals("Bye", new String(data, 4, 3, StandardCharsets.UTF_8), "Incorrect reason");
+		MockStreamBufferPool.releaseStreamBuffers(frame);
+	}
+
+	/**
+	 * Ensure correct <code>Sec-WebSocket-Accept</code> (example from RFC 6455).
+	 */
+	@Test
+	public void acceptValue() {
+		assertEquals("s3pPLMBiTxaQ9kYGzzhZRbK+xOo=", WebSocketHandshake.createAcceptValue("dGhlIHNhbXBsZSBub25jZQ=="),
+				"Incorrect accept value");
+	}
+
+	/**
+	 * Removes the message as text.
+	 * 
+	 * @return Message text.
+	 */
+	private String removeMessage() {
+		StreamBuffer<ByteBuffer> message = this.parser.removeMessage();
+		String text = MockStreamBufferPool.getContent(message, StandardCharsets.UTF_8);
+		MockStreamBufferPool.releaseStreamBuffers(message);
+		return text;
+	}
+
+	/**
+	 * Asserts parsing fails.
+	 * 
+	 * @param closeStatusCode Expected close status code.
+	 */
+	private void assertFailure(int closeStatusCode) {
+		WebSocketException failure = assertThrows(WebSocketException.class, () -> this.parser.parse(this.scanner));
+		assertEquals(closeStatusCode, failure.getCloseStatusCode(), "Incorrect close status code");
+	}
+
+	/**
+	 * Creates a masked client frame.
+	 * 
+	 * @param isFinal Indicates if final frame.
+	 * @param opCode  Op code.
+	 * @param payload Payload.
+	 * @return Bytes of the frame.
+	 */
+	private static byte[] createFrame(boolean isFinal, byte opCode, byte[] payload) {
+		ByteArrayOutputStream frame = new ByteArrayOutputStream();
+		frame.write((isFinal ? 0x80 : 0x00) | opCode);
+		if (payload.length < 126) {
+			frame.write(0x80 | payload.length);
+		} else {
+			frame.write(0x80 | 126);
+			frame.write(payload.length >> 8);
+			frame.write(payload.length);
+		}
+		frame.write(MASK, 0, MASK.length);
+		for (int i = 0; i < payload.length; i++) {
+			frame.write(payload[i] ^ MASK[i & 0x3]);
+		}
+		return frame.toByteArray();
+	}
+
+	/**
+	 * Obtains the bytes of the {@link StreamBuffer} instances.
+	 * 
+	 * @param head Head {@link StreamBuffer}.
+	 * @return Bytes.
+	 */
+	private static byte[] getBytes(StreamBuffer<ByteBuffer> head) {
+		return MockStreamBufferPool.getContent(head, StandardCharsets.ISO_8859_1)
+				.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Creates a test {@link StreamBuffer}.
+	 * 
+	 * @param values Values for the {@link StreamBuffer}.
+	 * @return {@link StreamBuffer}.
+	 */
+	private static StreamBuffer<ByteBuffer> createBuffer(int... values) {
+		byte[] data = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			data[i] = (byte) values[i];
+		}
+		return createBuffer(data);
+	}
+
+	/**
+	 * Creates a test {@link StreamBuffer}.
+	 * 
+	 * @param data Data for the {@link StreamBuffer}.
+	 * @return {@link StreamBuffer}.
+	 */
+	private static StreamBuffer<ByteBuffer> createBuffer(byte... data) {
+		try (MockStreamBufferPool pool = new MockStreamBufferPool(() -> ByteBuffer.allocate(data.length))) {
+			StreamBuffer<ByteBuffer> buffer = pool.getPooledStreamBuffer();
+			buffer.write(data);
+			return buffer;
+		}
+	}
+
+}
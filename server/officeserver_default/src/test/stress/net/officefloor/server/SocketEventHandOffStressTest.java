@@ -0,0 +1,232 @@
+/*-
+ * #%L
+ * Default OfficeFloor HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+
+import net.officefloor.server.stream.BufferJvmFix;
+import net.officefloor.server.stream.StreamBuffer;
+import net.officefloor.server.stream.StreamBufferPool;
+import net.officefloor.server.stream.impl.ThreadLocalStreamBufferPool;
+import net.officefloor.test.StressTest;
+
+/**
+ * Compares handing off events to the {@link SocketManager} via {@link Pipe}
+ * against lock free hand off.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class SocketEventHandOffStressTest extends AbstractSocketManagerTester {
+
+	/**
+	 * Number of clients.
+	 */
+	private static final int CLIENT_COUNT = 16;
+
+	/**
+	 * Number of request / response round trips per client.
+	 */
+	private static final int REQUEST_COUNT = 20000;
+
+	/**
+	 * Indicates if lock free hand off.
+	 */
+	private boolean isLockFree = false;
+
+	/**
+	 * {@link ExecutorService} to service the requests on another {@link Thread}.
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Name of test.
+	 */
+	private String testName;
+
+	@Override
+	protected int getBufferSize() {
+		return 1024;
+	}
+
+	@Override
+	protected StreamBufferPool<ByteBuffer> createStreamBufferPool(int bufferSize) {
+		return new ThreadLocalStreamBufferPool(() -> ByteBuffer.allocateDirect(bufferSize), 1000, 1000);
+	}
+
+	@Override
+	protected boolean isLockFreeEvents() {
+		return this.isLockFree;
+	}
+
+	@BeforeEach
+	public void setupExecutor(TestInfo info) {
+		this.testName = info.getDisplayName();
+		this.executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	public void shutdownExecutor() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Hand off via {@link Pipe}.
+	 */
+	@StressTest
+	public void pipe() throws Exception {
+		this.isLockFree = false;
+		this.doHandOff();
+	}
+
+	/**
+	 * Hand off lock free.
+	 */
+	@StressTest
+	public void lockFree() throws Exception {
+		this.isLockFree = true;
+		this.doHandOff();
+	}
+
+	/**
+	 * Undertakes the hand off performance run.
+	 */
+	private void doHandOff() throws Exception {
+
+		// Start the server (responding on another thread)
+		this.tester = new SocketManagerTester(1);
+		this.tester.bindServerSocket(null, null, new ByteSocketServicer(),
+				(socketServicer) -> (request, responseWriter) -> {
+					this.executor.execute(() -> {
+						StreamBuffer<ByteBuffer> response = this.tester.createStreamBuffer(responseWriter, request);
+						responseWriter.write(null, response);
+					});
+					return null;
+				});
+		this.tester.start();
+
+		// Warm up
+		this.runClients(REQUEST_COUNT / 10);
+
+		// Undertake run
+		long startTime = System.currentTimeMillis();
+		long[] latencies = this.runClients(REQUEST_COUNT);
+		long runTime = Math.max(1, System.currentTimeMillis() - startTime);
+
+		// Log results
+		Arrays.sort(latencies);
+		long p99 = latencies[(int) (latencies.length * 0.99)];
+		long responsesPerSecond = (long) (((double) latencies.length) / ((double) runTime / 1000.0));
+		final String format = "%1$20s";
+		System.out.println(String.format(format, this.testName) + String.format(format, latencies.length)
+				+ " responses " + String.format(format, responsesPerSecond) + " / second "
+				+ String.format(format, p99 / 1000) + " p99 (micro-seconds)");
+	}
+
+	/**
+	 * Runs the clients.
+	 * 
+	 * @param requestCount Number of request / response round trips per client.
+	 * @return Latency (nano-seconds) of each round trip.
+	 */
+	private long[] runClients(int requestCount) throws Exception {
+		long[] latencies = new long[CLIENT_COUNT * requestCount];
+		Future[] clients = new Future[CLIENT_COUNT];
+		for (int c = 0; c < CLIENT_COUNT; c++) {
+			int offset = c * requestCount;
+			clients[c] = this.thread("client" + c, () -> {
+				try (Socket socket = this.tester.getClient()) {
+					OutputStream output = socket.getOutputStream();
+					InputStream input = socket.getInputStream();
+					for (int i = 0; i < requestCount; i++) {
+						int value = i & 0x7f;
+						long start = System.nanoTime();
+						output.write(value);
+						output.flush();
+						assertEquals(value, input.read(), "Incorrect response");
+						latencies[offset + i] = System.nanoTime() - start;
+					}
+				}
+			});
+		}
+		long startTime = System.currentTimeMillis();
+		for (int c = 0; c < CLIENT_COUNT; c++) {
+			clients[c].waitForCompletion(startTime, 120);
+		}
+		return latencies;
+	}
+
+	/**
+	 * {@link SocketServicer} treating each byte as a request.
+	 */
+	private static class ByteSocketServicer implements SocketServicerFactory<Integer>, SocketServicer<Integer> {
+
+		private final RequestHandler<Integer> requestHandler;
+
+		private int previousPosition = 0;
+
+		private ByteSocketServicer() {
+			this.requestHandler = null;
+		}
+
+		private ByteSocketServicer(RequestHandler<Integer> requestHandler) {
+			this.requestHandler = requestHandler;
+		}
+
+		@Override
+		public SocketServicer<Integer> createSocketServicer(RequestHandler<Integer> requestHandler) {
+			return new ByteSocketServicer(requestHandler);
+		}
+
+		@Override
+		public void service(StreamBuffer<ByteBuffer> readBuffer, long bytesRead, boolean isNewBuffer)
+				throws IOException {
+
+			// Setup for reading
+			int position = BufferJvmFix.position(readBuffer.pooledBuffer);
+			ByteBuffer data = readBuffer.pooledBuffer.duplicate();
+			BufferJvmFix.flip(data);
+			if (!isNewBuffer) {
+				BufferJvmFix.position(data, this.previousPosition);
+			}
+			this.previousPosition = position;
+
+			// Each byte is a request
+			while (data.remaining() > 0) {
+				this.requestHandler.handleRequest(data.get() & 0xff);
+			}
+		}
+	}
+
+}
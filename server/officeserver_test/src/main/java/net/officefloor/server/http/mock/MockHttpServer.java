@@ -59,6 +59,7 @@ import net.officefloor.server.http.HttpServerLocation;
 import net.officefloor.server.http.HttpStatus;
 import net.officefloor.server.http.HttpVersion;
 import net.officefloor.server.http.ServerHttpConnection;
+import net.officefloor.server.http.ServerSentEventStream;
 import net.officefloor.server.http.WritableHttpCookie;
 import net.officefloor.server.http.WritableHttpHeader;
 import net.officefloor.server.http.impl.MaterialisingHttpRequest;
@@ -206,11 +207,13 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
      * @param server         {@link MockHttpServer}.
      * @param serverLocation {@link HttpServerLocation}.
      * @param callback       {@link MockHttpRequestCallback}.
+     * @param eventStream    {@link MockServerSentEventStream} to receive the
+     *                       streamed events. May be <code>null</code>.
      * @return {@link ProcessAwareServerHttpConnectionManagedObject}.
      */
     private static ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> createServerHttpConnection(
             MockHttpRequestBuilder request, MockHttpServer server, HttpServerLocation serverLocation,
-            MockHttpRequestCallback callback) {
+            MockHttpRequestCallback callback, MockServerSentEventStream eventStream) {
 
         // Ensure have implementation
         if (!(request instanceof MockHttpRequestBuilderImpl)) {
@@ -243,7 +246,7 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
 
         // Handle response
         HttpResponseWriter<ByteBuffer> responseWriter = new MockHttpResponseWriter(impl, server, callback,
-                checkBufferPool);
+                checkBufferPool, eventStream);
 
         // Create the server HTTP connection
         ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = new ProcessAwareServerHttpConnectionManagedObject<>(
@@ -314,12 +317,38 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
 
         // Create the server HTTP connection
         ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = createServerHttpConnection(request, this,
-                this, callback);
+                this, callback, null);
 
         // Service the request
         this.serviceInput.service(connection, connection.getServiceFlowCallback());
     }
 
+    /**
+     * Sends the {@link MockHttpRequestBuilder} expecting a
+     * {@link ServerSentEventStream} and blocks until the stream is opened.
+     *
+     * @param request {@link MockHttpRequestBuilder}.
+     * @return {@link MockServerSentEventStream} to receive the events. Should the
+     *         response not be streamed, the {@link MockServerSentEventStream} is
+     *         closed with the {@link MockHttpResponse}.
+     */
+    public MockServerSentEventStream sendServerSentEvents(MockHttpRequestBuilder request) {
+
+        // Create the stream to receive the events
+        MockServerSentEventStream eventStream = new MockServerSentEventStream(this.timeout);
+
+        // Create the server HTTP connection
+        ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = createServerHttpConnection(request, this,
+                this, eventStream, eventStream);
+
+        // Service the request
+        this.serviceInput.service(connection, connection.getServiceFlowCallback());
+
+        // Block waiting for stream to open
+        eventStream.waitForOpen();
+        return eventStream;
+    }
+
     /**
      * Triggers direct handling of {@link MockHttpRequestBuilder}.
      *
@@ -332,7 +361,7 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
 
         // Create the server HTTP connection
         ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> connection = createServerHttpConnection(request, this,
-                this, callback);
+                this, callback, null);
 
         // Service the request
         externalServiceInput.service(connection, connection.getServiceFlowCallback());
@@ -395,22 +424,126 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
          */
         private final MockStreamBufferPool bufferPool;
 
+        /**
+         * {@link MockServerSentEventStream}. May be <code>null</code>.
+         */
+        private final MockServerSentEventStream eventStream;
+
+        /**
+         * {@link HttpVersion} of the streamed {@link HttpResponse}.
+         */
+        private HttpVersion streamedVersion = null;
+
+        /**
+         * {@link HttpStatus} of the streamed {@link HttpResponse}.
+         */
+        private HttpStatus streamedStatus = null;
+
+        /**
+         * {@link WritableHttpHeader} instances of the streamed {@link HttpResponse}.
+         */
+        private List<WritableHttpHeader> streamedHeaders = null;
+
+        /**
+         * {@link WritableHttpCookie} instances of the streamed {@link HttpResponse}.
+         */
+        private List<WritableHttpCookie> streamedCookies = null;
+
+        /**
+         * Entity of the streamed {@link HttpResponse}.
+         */
+        private final ByteArrayOutputStream streamedEntity = new ByteArrayOutputStream();
+
         /**
          * Instantiate.
          *
-         * @param request    {@link MockHttpRequestBuilderImpl}.
-         * @param server     {@link MockHttpServer}.
-         * @param callback   {@link MockHttpRequestCallback}.
-         * @param bufferPool {@link MockStreamBufferPool} to check all
-         *                   {@link StreamBuffer} instances are released on writing
-         *                   {@link HttpResponse}. May be <code>null</code>.
+         * @param request     {@link MockHttpRequestBuilderImpl}.
+         * @param server      {@link MockHttpServer}.
+         * @param callback    {@link MockHttpRequestCallback}.
+         * @param bufferPool  {@link MockStreamBufferPool} to check all
+         *                    {@link StreamBuffer} instances are released on writing
+         *                    {@link HttpResponse}. May be <code>null</code>.
+         * @param eventStream {@link MockServerSentEventStream} to receive the
+         *                    streamed entity. May be <code>null</code>.
          */
         private MockHttpResponseWriter(MockHttpRequestBuilderImpl request, MockHttpServer server,
-                                       MockHttpRequestCallback callback, MockStreamBufferPool bufferPool) {
+                                       MockHttpRequestCallback callback, MockStreamBufferPool bufferPool,
+                                       MockServerSentEventStream eventStream) {
             this.request = request;
             this.server = server;
             this.callback = callback;
             this.bufferPool = bufferPool;
+            this.eventStream = eventStream;
+        }
+
+        /**
+         * Creates the listing of response {@link WritableHttpHeader} instances.
+         *
+         * @param contentType    <code>Content-Type</code>. May be <code>null</code>.
+         * @param contentLength  <code>Content-Length</code>. Not included if not
+         *                       positive.
+         * @param headHttpHeader Head {@link WritableHttpHeader}.
+         * @return Listing of {@link WritableHttpHeader} instances.
+         */
+        private static List<WritableHttpHeader> createHeaders(HttpHeaderValue contentType, long contentLength,
+                                                              WritableHttpHeader headHttpHeader) {
+            List<WritableHttpHeader> headers = new ArrayList<>();
+            if (contentType != null) {
+                headers.add(new WritableHttpHeader("content-type", contentType));
+            }
+            if (contentLength > 0) {
+                headers.add(new WritableHttpHeader("content-length", String.valueOf(contentLength)));
+            }
+            while (headHttpHeader != null) {
+                headers.add(headHttpHeader);
+                headHttpHeader = headHttpHeader.next;
+            }
+            return headers;
+        }
+
+        /**
+         * Creates the listing of response {@link WritableHttpCookie} instances.
+         *
+         * @param headHttpCookie Head {@link WritableHttpCookie}.
+         * @return Listing of {@link WritableHttpCookie} instances.
+         */
+        private static List<WritableHttpCookie> createCookies(WritableHttpCookie headHttpCookie) {
+            List<WritableHttpCookie> cookies = new ArrayList<>();
+            while (headHttpCookie != null) {
+                cookies.add(headHttpCookie);
+                headHttpCookie = headHttpCookie.next;
+            }
+            return cookies;
+        }
+
+        /**
+         * Copies out the entity content, releasing the {@link StreamBuffer} instances.
+         *
+         * @param contentLength           Number of bytes of content.
+         * @param contentHeadStreamBuffer Head {@link StreamBuffer} of content.
+         * @return Entity content.
+         * @throws IOException If fails to read content.
+         */
+        private static byte[] copyOutContent(long contentLength, StreamBuffer<ByteBuffer> contentHeadStreamBuffer)
+                throws IOException {
+
+            // Copy out the entity
+            InputStream responseEntityInputStream = MockStreamBufferPool.createInputStream(contentHeadStreamBuffer);
+            byte[] responseEntity = new byte[(int) contentLength];
+            for (int i = 0; i < contentLength; i++) {
+                responseEntity[i] = (byte) responseEntityInputStream.read();
+            }
+
+            // Release all the buffers (as now considered written)
+            StreamBuffer<ByteBuffer> buffer = contentHeadStreamBuffer;
+            while (buffer != null) {
+                StreamBuffer<ByteBuffer> release = buffer;
+                buffer = buffer.next;
+                release.release();
+            }
+
+            // Return the entity
+            return responseEntity;
         }
 
         /*
@@ -423,39 +556,13 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
                                       StreamBuffer<ByteBuffer> contentHeadStreamBuffer) {
             try {
                 // Obtain the listing of response HTTP headers
-                List<WritableHttpHeader> headers = new ArrayList<>();
-                if (contentType != null) {
-                    headers.add(new WritableHttpHeader("content-type", contentType));
-                }
-                if (contentLength > 0) {
-                    headers.add(new WritableHttpHeader("content-length", String.valueOf(contentLength)));
-                }
-                while (headHttpHeader != null) {
-                    headers.add(headHttpHeader);
-                    headHttpHeader = headHttpHeader.next;
-                }
+                List<WritableHttpHeader> headers = createHeaders(contentType, contentLength, headHttpHeader);
 
                 // Obtain the listing of response HTTP cookies
-                List<WritableHttpCookie> cookies = new ArrayList<>();
-                while (headHttpCookie != null) {
-                    cookies.add(headHttpCookie);
-                    headHttpCookie = headHttpCookie.next;
-                }
+                List<WritableHttpCookie> cookies = createCookies(headHttpCookie);
 
-                // Copy out the response entity
-                InputStream responseEntityInputStream = MockStreamBufferPool.createInputStream(contentHeadStreamBuffer);
-                byte[] responseEntity = new byte[(int) contentLength];
-                for (int i = 0; i < contentLength; i++) {
-                    responseEntity[i] = (byte) responseEntityInputStream.read();
-                }
-
-                // Release all the buffers (as now considered written)
-                StreamBuffer<ByteBuffer> buffer = contentHeadStreamBuffer;
-                while (buffer != null) {
-                    StreamBuffer<ByteBuffer> release = buffer;
-                    buffer = buffer.next;
-                    release.release();
-                }
+                // Copy out the response entity (releasing buffers)
+                byte[] responseEntity = copyOutContent(contentLength, contentHeadStreamBuffer);
 
                 // Ensure all buffers released (if not stress test)
                 if (this.bufferPool != null) {
@@ -475,6 +582,72 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
             }
         }
 
+        @Override
+        public boolean isStreamingSupported() {
+            return true;
+        }
+
+        @Override
+        public void writeStreamedHttpResponseHead(HttpVersion version, HttpStatus status,
+                                                  WritableHttpHeader headHttpHeader, WritableHttpCookie headHttpCookie,
+                                                  HttpHeaderValue contentType) {
+
+            // Capture the status and headers
+            this.streamedVersion = version;
+            this.streamedStatus = status;
+            this.streamedHeaders = createHeaders(contentType, -1, headHttpHeader);
+            this.streamedCookies = createCookies(headHttpCookie);
+
+            // Notify stream opened
+            if (this.eventStream != null) {
+                this.eventStream.open(status, this.streamedHeaders);
+            }
+        }
+
+        @Override
+        public void writeStreamedHttpResponseEntity(long contentLength,
+                                                    StreamBuffer<ByteBuffer> contentHeadStreamBuffer,
+                                                    boolean isLastPart) {
+            try {
+                // Copy out the part (releasing buffers)
+                byte[] part = copyOutContent(contentLength, contentHeadStreamBuffer);
+                this.streamedEntity.write(part);
+                if ((this.eventStream != null) && (part.length > 0)) {
+                    this.eventStream.receive(part);
+                }
+
+                // Determine if response complete
+                if (!isLastPart) {
+                    return;
+                }
+
+                // Ensure all buffers released (if not stress test)
+                if (this.bufferPool != null) {
+                    this.bufferPool.assertAllBuffersReturned();
+                }
+
+                // Response received
+                MockHttpResponse response = this.server.createMockHttpResponse(this.request, this.streamedVersion,
+                        this.streamedStatus, this.streamedHeaders, this.streamedCookies,
+                        new ByteArrayInputStream(this.streamedEntity.toByteArray()));
+                this.callback.response(response);
+
+            } catch (Throwable ex) {
+                // Provide failed HTTP response
+                this.callback.response(this.server.createMockHttpResponse(this.request, ex));
+            }
+        }
+
+        @Override
+        public void abortStreamedHttpResponse(Throwable failure) {
+            this.callback.response(this.server.createMockHttpResponse(this.request, failure));
+        }
+
+        @Override
+        public boolean isStreamedHttpResponseClosed() {
+            return (this.eventStream != null) && (this.eventStream.isDisconnected());
+        }
+
         @Override
         public void writeHttpExternalResponse() {
 
@@ -1020,7 +1193,7 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
             HttpServerLocation serverLocation = new MockHttpServer();
             ProcessAwareServerHttpConnectionManagedObject<ByteBuffer> serverHttpConnection = new ProcessAwareServerHttpConnectionManagedObject<>(
                     serverLocation, false, () -> HttpMethod.GET, () -> "/", HttpVersion.HTTP_1_1, null, null, null,
-                    null, true, new MockHttpResponseWriter(this.request, this.server, this, null), bufferPool);
+                    null, true, new MockHttpResponseWriter(this.request, this.server, this, null, null), bufferPool);
             this.delegate = new ProcessAwareHttpResponse<>(serverHttpConnection, HttpVersion.HTTP_1_1,
                     new MockManagedObjectContext());
         }
@@ -1089,6 +1262,21 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
             return this.delegate.getEntityWriter();
         }
 
+        @Override
+        public boolean isStreaming() {
+            return this.delegate.isStreaming();
+        }
+
+        @Override
+        public void setStreaming(boolean isStreaming) throws IOException {
+            this.delegate.setStreaming(isStreaming);
+        }
+
+        @Override
+        public ServerSentEventStream openServerSentEventStream() throws IOException {
+            return this.delegate.openServerSentEventStream();
+        }
+
         @Override
         public HttpEscalationHandler getEscalationHandler() {
             return this.delegate.getEscalationHandler();
@@ -1434,7 +1622,7 @@ public class MockHttpServer implements HttpServerLocation, HttpServerImplementat
          */
         public MockServerHttpConnectionImpl(MockHttpRequestBuilder request) {
             MockHttpServer server = new MockHttpServer();
-            this.delegate = createServerHttpConnection(request, server, server, this);
+            this.delegate = createServerHttpConnection(request, server, server, this, null);
             this.delegate.setManagedObjectContext(new MockManagedObjectContext());
         }
 
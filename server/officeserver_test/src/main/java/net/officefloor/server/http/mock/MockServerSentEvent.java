@@ -0,0 +1,100 @@
+/*-
+ * #%L
+ * Testing of HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.mock;
+
+import net.officefloor.server.http.ServerSentEventStream;
+
+/**
+ * Server-Sent Event received by the {@link MockServerSentEventStream}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class MockServerSentEvent {
+
+	/**
+	 * Identifier. May be <code>null</code>.
+	 */
+	private final String id;
+
+	/**
+	 * Name of event.
+	 */
+	private final String event;
+
+	/**
+	 * Data.
+	 */
+	private final String data;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param id    Identifier. May be <code>null</code>.
+	 * @param event Name of event. May be <code>null</code> for default
+	 *              <code>message</code> event.
+	 * @param data  Data.
+	 */
+	public MockServerSentEvent(String id, String event, String data) {
+		this.id = id;
+		this.event = (event != null ? event : "message");
+		this.data = data;
+	}
+
+	/**
+	 * Obtains the identifier.
+	 * 
+	 * @return Identifier. May be <code>null</code> if not sent.
+	 */
+	public String getId() {
+		return this.id;
+	}
+
+	/**
+	 * Obtains the name of the event.
+	 * 
+	 * @return Name of the event. Will be <code>message</code> if not sent.
+	 */
+	public String getEvent() {
+		return this.event;
+	}
+
+	/**
+	 * Obtains the data, with multiple lines joined by new lines.
+	 * 
+	 * @return Data.
+	 * 
+	 * @see ServerSentEventStream#sendEvent(String, String, String)
+	 */
+	public String getData() {
+		return this.data;
+	}
+
+	/*
+	 * ===================== Object ========================
+	 */
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "[id=" + this.id + ", event=" + this.event + ", data=" + this.data
+				+ "]";
+	}
+
+}
@@ -0,0 +1,290 @@
+/*-
+ * #%L
+ * Testing of HTTP Server
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.server.http.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import net.officefloor.server.http.HttpHeader;
+import net.officefloor.server.http.HttpStatus;
+import net.officefloor.server.http.ServerHttpConnection;
+import net.officefloor.server.http.ServerSentEventStream;
+import net.officefloor.server.http.WritableHttpHeader;
+
+/**
+ * Client of a {@link ServerSentEventStream} from the {@link MockHttpServer}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class MockServerSentEventStream implements MockHttpRequestCallback {
+
+	/**
+	 * Timeout in milliseconds to wait.
+	 */
+	private final int timeout;
+
+	/**
+	 * {@link HttpStatus} of the streamed response.
+	 */
+	private HttpStatus status = null;
+
+	/**
+	 * {@link WritableHttpHeader} instances of the streamed response.
+	 */
+	private List<WritableHttpHeader> headers = null;
+
+	/**
+	 * Content received not yet parsed into a {@link MockServerSentEvent}.
+	 */
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+	/**
+	 * {@link MockServerSentEvent} instances received but not yet consumed.
+	 */
+	private final Deque<MockServerSentEvent> events = new LinkedList<>();
+
+	/**
+	 * {@link MockHttpResponse} once the response is complete.
+	 */
+	private MockHttpResponse response = null;
+
+	/**
+	 * Indicates if client has disconnected.
+	 */
+	private boolean isDisconnected = false;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param timeout Timeout in milliseconds to wait.
+	 */
+	MockServerSentEventStream(int timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Opens the stream with the status and headers.
+	 * 
+	 * @param status  {@link HttpStatus}.
+	 * @param headers {@link WritableHttpHeader} instances.
+	 */
+	synchronized void open(HttpStatus status, List<WritableHttpHeader> headers) {
+		this.status = status;
+		this.headers = headers;
+		this.notifyAll();
+	}
+
+	/**
+	 * Receives content of the stream.
+	 * 
+	 * @param content Content.
+	 */
+	synchronized void receive(byte[] content) {
+
+		// Include the content
+		this.pending.write(content, 0, content.length);
+
+		// Parse out the complete events (separated by blank line)
+		byte[] data = this.pending.toByteArray();
+		int eventStart = 0;
+		for (int i = 1; i < data.length; i++) {
+			if ((data[i] == '\n') && (data[i - 1] == '\n')) {
+				String block = new String(data, eventStart, (i - eventStart),
+						ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET);
+				this.parseEvent(block);
+				eventStart = i + 1;
+			}
+		}
+
+		// Retain remaining partial event
+		this.pending.reset();
+		this.pending.write(data, eventStart, data.length - eventStart);
+		this.notifyAll();
+	}
+
+	/**
+	 * Parses the event.
+	 * 
+	 * @param block Block of lines for the event.
+	 */
+	private void parseEvent(String block) {
+		String id = null;
+		String event = null;
+		StringBuilder data = null;
+		for (String line : block.split("\n")) {
+
+			// Ignore comments (and blank lines)
+			if ((line.length() == 0) || (line.charAt(0) == ':')) {
+				continue;
+			}
+
+			// Obtain the field and value
+			int colonIndex = line.indexOf(':');
+			String field = (colonIndex < 0 ? line : line.substring(0, colonIndex));
+			String value = (colonIndex < 0 ? "" : line.substring(colonIndex + 1));
+			if (value.startsWith(" ")) {
+				value = value.substring(1);
+			}
+
+			// Load the field
+			switch (field) {
+			case "id":
+				id = value;
+				break;
+			case "event":
+				event = value;
+				break;
+			case "data":
+				data = (data == null ? new StringBuilder() : data.append('\n')).append(value);
+				break;
+			}
+		}
+
+		// Only dispatch if data (otherwise comment only)
+		if (data != null) {
+			this.events.add(new MockServerSentEvent(id, event, data.toString()));
+		}
+	}
+
+	/**
+	 * Indicates if the client has disconnected.
+	 * 
+	 * @return <code>true</code> if the client has disconnected.
+	 */
+	synchronized boolean isDisconnected() {
+		return this.isDisconnected;
+	}
+
+	/**
+	 * Waits on the condition.
+	 * 
+	 * @param condition   Condition to wait on.
+	 * @param description Description of what is being waited on.
+	 */
+	private void waitFor(BooleanSupplier condition, String description) {
+		try {
+			long startTime = System.currentTimeMillis();
+			while (!condition.getAsBoolean()) {
+
+				// Determine if timed out
+				if ((System.currentTimeMillis() - startTime) > this.timeout) {
+					throw new Error("Timed out waiting for " + description + " (waited " + this.timeout
+							+ " milliseconds)");
+				}
+
+				// Wait some time
+				this.wait(10);
+			}
+		} catch (InterruptedException ex) {
+			throw new Error(ex);
+		}
+	}
+
+	/**
+	 * Waits for the stream to be opened (or response should it not be streamed).
+	 */
+	synchronized void waitForOpen() {
+		this.waitFor(() -> (this.status != null) || (this.response != null), "stream to open");
+	}
+
+	/**
+	 * Obtains the {@link HttpStatus}.
+	 * 
+	 * @return {@link HttpStatus}.
+	 */
+	public synchronized HttpStatus getStatus() {
+		return (this.status != null) ? this.status : this.response.getStatus();
+	}
+
+	/**
+	 * Obtains the value of the first {@link HttpHeader} by name.
+	 * 
+	 * @param name Name of the {@link HttpHeader}.
+	 * @return Value of the {@link HttpHeader} or <code>null</code> if no
+	 *         {@link HttpHeader} by name.
+	 */
+	public synchronized String getHeader(String name) {
+		if (this.headers == null) {
+			HttpHeader header = this.response.getHeader(name);
+			return (header == null) ? null : header.getValue();
+		}
+		for (WritableHttpHeader header : this.headers) {
+			if (name.equalsIgnoreCase(header.getName())) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Waits for the next {@link MockServerSentEvent}.
+	 * 
+	 * @return Next {@link MockServerSentEvent}.
+	 */
+	public synchronized MockServerSentEvent waitForEvent() {
+		this.waitFor(() -> (this.events.size() > 0) || (this.response != null), "event");
+		if (this.events.size() == 0) {
+			throw new Error("Stream closed before receiving event");
+		}
+		return this.events.removeFirst();
+	}
+
+	/**
+	 * Waits for the stream to be closed.
+	 * 
+	 * @return {@link MockHttpResponse} containing the entire stream.
+	 */
+	public synchronized MockHttpResponse waitForClose() {
+		this.waitFor(() -> this.response != null, "stream to close");
+		return this.response;
+	}
+
+	/**
+	 * Indicates if the stream is closed.
+	 * 
+	 * @return <code>true</code> if the stream is closed.
+	 */
+	public synchronized boolean isClosed() {
+		return (this.response != null) || (this.isDisconnected);
+	}
+
+	/**
+	 * Disconnects the client, so that the server is notified the stream is
+	 * closed.
+	 */
+	public synchronized void disconnect() {
+		this.isDisconnected = true;
+	}
+
+	/*
+	 * ================= MockHttpRequestCallback ====================
+	 */
+
+	@Override
+	public synchronized void response(MockHttpResponse response) {
+		this.response = response;
+		this.notifyAll();
+	}
+
+}
@@ -21,8 +21,10 @@
 package net.officefloor.server.http.mock;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
@@ -52,6 +54,7 @@ import net.officefloor.server.http.HttpResponse;
 import net.officefloor.server.http.HttpStatus;
 import net.officefloor.server.http.HttpVersion;
 import net.officefloor.server.http.ServerHttpConnection;
+import net.officefloor.server.http.ServerSentEventStream;
 import net.officefloor.server.stream.ServerInputStream;
 import net.officefloor.server.stream.ServerWriter;
 
@@ -480,4 +483,85 @@ public class MockHttpServerTest {
 		}
 	}
 
+	/**
+	 * Ensure can receive Server-Sent Events.
+	 */
+	@Test
+	public void serverSentEvents() throws Exception {
+
+		// Configure servicing
+		this.compile.office((context) -> context.addSection("SERVICER", ServerSentEventsHandler.class));
+		this.officeFloor = this.compile.compileAndOpenOfficeFloor();
+
+		// Subscribe to the events
+		MockServerSentEventStream events = this.server.sendServerSentEvents(MockHttpServer.mockRequest("/events"));
+		assertSame(HttpStatus.OK, events.getStatus(), "Incorrect status");
+		assertEquals("text/event-stream", events.getHeader("content-type"), "Incorrect content-type");
+
+		// Receive event sent while servicing
+		MockServerSentEvent event = events.waitForEvent();
+		assertEquals("message", event.getEvent(), "Incorrect default event");
+		assertEquals("SUBSCRIBED", event.getData(), "Incorrect data");
+
+		// Receive events sent after servicing (from another thread)
+		ServerSentEventStream eventStream = ServerSentEventsHandler.eventStream;
+		Thread publisher = new Thread(() -> {
+			try {
+				eventStream.sendComment("keep alive");
+				eventStream.sendEvent("1", "update", "FIRST\nSECOND");
+				eventStream.close();
+			} catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+		});
+		publisher.start();
+		event = events.waitForEvent();
+		assertEquals("1", event.getId(), "Incorrect id");
+		assertEquals("update", event.getEvent(), "Incorrect event");
+		assertEquals("FIRST\nSECOND", event.getData(), "Incorrect multi-line data");
+
+		// Ensure stream closed
+		MockHttpResponse response = events.waitForClose();
+		assertTrue(events.isClosed(), "Stream should be closed");
+		assertEquals("data: SUBSCRIBED\n\n: keep alive\n\nid: 1\nevent: update\ndata: FIRST\ndata: SECOND\n\n",
+				response.getEntity(null), "Incorrect entire stream");
+	}
+
+	/**
+	 * Ensure server is notified of client disconnecting.
+	 */
+	@Test
+	public void serverSentEventsDisconnect() throws Exception {
+
+		// Configure servicing
+		this.compile.office((context) -> context.addSection("SERVICER", ServerSentEventsHandler.class));
+		this.officeFloor = this.compile.compileAndOpenOfficeFloor();
+
+		// Subscribe to the events
+		MockServerSentEventStream events = this.server.sendServerSentEvents(MockHttpServer.mockRequest("/events"));
+		assertEquals("SUBSCRIBED", events.waitForEvent().getData(), "Incorrect data");
+		ServerSentEventStream eventStream = ServerSentEventsHandler.eventStream;
+		assertFalse(eventStream.isClosed(), "Should be open");
+
+		// Disconnect and ensure server aware
+		events.disconnect();
+		assertTrue(eventStream.isClosed(), "Should be closed on disconnect");
+		try {
+			eventStream.sendData("DISCONNECTED");
+			fail("Should not be able to send to disconnected client");
+		} catch (IOException ex) {
+			assertEquals("ServerSentEventStream closed", ex.getMessage(), "Incorrect cause");
+		}
+	}
+
+	public static class ServerSentEventsHandler {
+
+		private static volatile ServerSentEventStream eventStream;
+
+		public void service(ServerHttpConnection connection) throws IOException {
+			eventStream = connection.getResponse().openServerSentEventStream();
+			eventStream.sendData("SUBSCRIBED");
+		}
+	}
+
 }
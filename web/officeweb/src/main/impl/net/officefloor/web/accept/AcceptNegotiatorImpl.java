@@ -21,13 +21,15 @@
 package net.officefloor.web.accept;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.officefloor.server.http.HttpException;
 import net.officefloor.server.http.HttpHeader;
 import net.officefloor.server.http.HttpRequest;
 import net.officefloor.server.http.HttpRequestHeaders;
-import net.officefloor.server.http.ServerHttpConnection;
 
 /**
  * {@link AcceptNegotiator} implementation.
@@ -116,6 +118,49 @@ public class AcceptNegotiatorImpl<H> implements AcceptNegotiator<H> {
 	 */
 	private static final AcceptType MATCH_ANY = new AnyAcceptType("1", 0);
 
+	/**
+	 * Default maximum number of <code>accept</code> {@link HttpHeader} values to
+	 * memoise the negotiation.
+	 */
+	public static final int DEFAULT_MAX_MEMOISED_ACCEPT_VALUES = 256;
+
+	/**
+	 * Maximum length of <code>accept</code> {@link HttpHeader} value to memoise.
+	 * Avoids hostile clients consuming memory with large values.
+	 */
+	private static final int MAX_MEMOISED_ACCEPT_LENGTH = 512;
+
+	/**
+	 * Memoised negotiation for an <code>accept</code> {@link HttpHeader} value.
+	 */
+	private static class MemoisedNegotiation<H> {
+
+		/**
+		 * Negotiated handlers. May be <code>null</code> if no match.
+		 */
+		private final H[] handlers;
+
+		/**
+		 * Indicates if the <code>accept</code> {@link HttpHeader} value is only a
+		 * wild card, so negotiation is on the <code>content-type</code>.
+		 */
+		private final boolean isOnlyWildcard;
+
+		/**
+		 * Instantiate.
+		 * 
+		 * @param handlers
+		 *            Negotiated handlers.
+		 * @param isOnlyWildcard
+		 *            Indicates if the <code>accept</code> {@link HttpHeader} value
+		 *            is only a wild card.
+		 */
+		private MemoisedNegotiation(H[] handlers, boolean isOnlyWildcard) {
+			this.handlers = handlers;
+			this.isOnlyWildcard = isOnlyWildcard;
+		}
+	}
+
 	/**
 	 * {@link AcceptHandler} instances.
 	 */
@@ -126,14 +171,50 @@ public class AcceptNegotiatorImpl<H> implements AcceptNegotiator<H> {
 	 */
 	private final AcceptHandler<H> defaultAcceptHandler;
 
+	/**
+	 * Handlers for matching any content type.
+	 */
+	private final H[] anyHandlers;
+
+	/**
+	 * {@link MemoisedNegotiation} by <code>accept</code> {@link HttpHeader} value.
+	 */
+	private final Map<String, MemoisedNegotiation<H>> memoisedNegotiations = new ConcurrentHashMap<>();
+
+	/**
+	 * {@link MemoisedNegotiation} for only wild card <code>accept</code>
+	 * {@link HttpHeader} values.
+	 */
+	private final MemoisedNegotiation<H> onlyWildcardNegotiation = new MemoisedNegotiation<>(null, true);
+
+	/**
+	 * Maximum number of <code>accept</code> {@link HttpHeader} values to memoise
+	 * the negotiation.
+	 */
+	private final int maxMemoisedAcceptValues;
+
 	/**
 	 * Instantiate.
 	 * 
 	 * @param acceptHandlers
 	 *            {@link AcceptHandler} instances.
 	 */
-	@SuppressWarnings("unchecked")
 	public AcceptNegotiatorImpl(AcceptHandler<H>[] acceptHandlers) {
+		this(acceptHandlers, DEFAULT_MAX_MEMOISED_ACCEPT_VALUES);
+	}
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param acceptHandlers
+	 *            {@link AcceptHandler} instances.
+	 * @param maxMemoisedAcceptValues
+	 *            Maximum number of <code>accept</code> {@link HttpHeader} values
+	 *            to memoise the negotiation.
+	 */
+	@SuppressWarnings("unchecked")
+	public AcceptNegotiatorImpl(AcceptHandler<H>[] acceptHandlers, int maxMemoisedAcceptValues) {
+		this.maxMemoisedAcceptValues = maxMemoisedAcceptValues;
 
 		// Split into lists
 		AcceptHandler<H> defaultAcceptHandler = null;
@@ -168,17 +249,29 @@ public class AcceptNegotiatorImpl<H> implements AcceptNegotiator<H> {
 		// Configure
 		this.acceptHandlers = handlers.toArray(new AcceptHandler[handlers.size()]);
 		this.defaultAcceptHandler = defaultAcceptHandler;
+
+		// Negotiate for any content type
+		this.anyHandlers = this.negotiate(MATCH_ANY);
 	}
 
-	/*
-	 * ================== AcceptNegotiator ====================
+	/**
+	 * Obtains the number of memoised <code>accept</code> {@link HttpHeader}
+	 * values.
+	 * 
+	 * @return Number of memoised <code>accept</code> {@link HttpHeader} values.
 	 */
+	int getMemoisedAcceptValueCount() {
+		return this.memoisedNegotiations.size();
+	}
 
-	@Override
-	public H[] getHandler(HttpRequest request) {
-
-		// Parse out the accept type
-		AcceptType acceptType = parseAccept(request);
+	/**
+	 * Obtains the handlers for the {@link AcceptType} linked list.
+	 * 
+	 * @param acceptType
+	 *            Head {@link AcceptType} of the linked list.
+	 * @return Handlers or <code>null</code> if no match.
+	 */
+	private H[] negotiate(AcceptType acceptType) {
 
 		// Find first matching handler
 		while (acceptType != null) {
@@ -207,49 +300,111 @@ public class AcceptNegotiatorImpl<H> implements AcceptNegotiator<H> {
 	}
 
 	/**
-	 * Parses the {@link AcceptType} linked list from the
-	 * {@link ServerHttpConnection}.
+	 * Obtains the handlers for only wild card <code>accept</code>
+	 * {@link HttpHeader} values.
 	 * 
-	 * @param request
-	 *            {@link HttpRequest}.
-	 * @return Head {@link AcceptType} of the linked list.
+	 * @param headers
+	 *            {@link HttpRequestHeaders}.
+	 * @return Handlers or <code>null</code> if no match.
 	 */
-	private static AcceptType parseAccept(HttpRequest request) {
+	private H[] getOnlyWildcardHandler(HttpRequestHeaders headers) {
 
-		// Accept type
-		AcceptType head = null;
+		// Attempt to match first on input content type
+		// (e.g. if JSON sent then respond with JSON)
+		HttpHeader contentTypeHeader = headers.getHeader("content-type");
+		if (contentTypeHeader == null) {
+			return this.anyHandlers; // match any
+		}
+
+		// Match on content type and then any
+		AcceptType head = new SubTypeAcceptType(contentTypeHeader.getValue(), "1", 0);
+		head.next = MATCH_ANY;
+		return this.negotiate(head);
+	}
+
+	/**
+	 * Memoises the {@link MemoisedNegotiation}.
+	 * 
+	 * @param accept
+	 *            <code>accept</code> {@link HttpHeader} value.
+	 * @param negotiation
+	 *            {@link MemoisedNegotiation}.
+	 */
+	private void memoise(String accept, MemoisedNegotiation<H> negotiation) {
+
+		// Evict an entry once full (bounds memory should values be hostile)
+		if (this.memoisedNegotiations.size() >= this.maxMemoisedAcceptValues) {
+			Iterator<String> iterator = this.memoisedNegotiations.keySet().iterator();
+			if (iterator.hasNext()) {
+				iterator.next();
+				iterator.remove();
+			}
+		}
+
+		// Memoise the negotiation
+		if (this.maxMemoisedAcceptValues > 0) {
+			this.memoisedNegotiations.put(accept, negotiation);
+		}
+	}
 
-		// Load the accept types
+	/*
+	 * ================== AcceptNegotiator ====================
+	 */
+
+	@Override
+	public H[] getHandler(HttpRequest request) {
+
+		// Obtain the accept value (multiple values are not memoised)
 		HttpRequestHeaders headers = request.getHeaders();
+		String accept = null;
+		boolean isMemoise = true;
 		for (HttpHeader header : headers.getHeaders("accept")) {
-			head = parseAccept(header.getValue(), head);
+			if (accept != null) {
+				isMemoise = false;
+				break;
+			}
+			accept = header.getValue();
 		}
 
-		// Determine if only wild card match
-		// - no head, so will match any type
-		// - only one head that is any match, so will match any type
-		boolean isOnlyWildcard = ((head == null) || ((head.next == null) && (head.getClass() == AnyAcceptType.class)));
+		// Determine if no accept value
+		if (accept == null) {
+			return this.getOnlyWildcardHandler(headers);
+		}
 
-		// Default to content-type if wild card only
-		if (isOnlyWildcard) {
+		// Determine if memoised negotiation
+		if ((isMemoise) && (accept.length() <= MAX_MEMOISED_ACCEPT_LENGTH)) {
+			MemoisedNegotiation<H> negotiation = this.memoisedNegotiations.get(accept);
+			if (negotiation == null) {
 
-			// Attempt to match first on input content type
-			// (e.g. if JSON sent then respond with JSON)
-			HttpHeader contentTypeHeader = headers.getHeader("content-type");
-			if (contentTypeHeader != null) {
-				head = new SubTypeAcceptType(contentTypeHeader.getValue(), "1", 0);
+				// Negotiate and memoise for further requests
+				AcceptType head = parseAccept(accept, null);
+				negotiation = isOnlyWildcard(head) ? this.onlyWildcardNegotiation
+						: new MemoisedNegotiation<>(this.negotiate(head), false);
+				this.memoise(accept, negotiation);
 			}
+			return negotiation.isOnlyWildcard ? this.getOnlyWildcardHandler(headers) : negotiation.handlers;
+		}
 
-			// Now match any
-			if (head == null) {
-				head = MATCH_ANY;
-			} else {
-				head.next = MATCH_ANY;
-			}
+		// Parse out the accept types
+		AcceptType head = null;
+		for (HttpHeader header : headers.getHeaders("accept")) {
+			head = parseAccept(header.getValue(), head);
 		}
 
-		// Return the head of the linked list
-		return head;
+		// Return the negotiated handler
+		return isOnlyWildcard(head) ? this.getOnlyWildcardHandler(headers) : this.negotiate(head);
+	}
+
+	/**
+	 * Determines if only wild card match.
+	 * 
+	 * @param head
+	 *            Head {@link AcceptType} of the linked list.
+	 * @return <code>true</code> if no {@link AcceptType} or only one that is any
+	 *         match, so will match any type.
+	 */
+	private static boolean isOnlyWildcard(AcceptType head) {
+		return ((head == null) || ((head.next == null) && (head.getClass() == AnyAcceptType.class)));
 	}
 
 	/**
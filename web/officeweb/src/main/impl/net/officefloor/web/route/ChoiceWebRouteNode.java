@@ -0,0 +1,130 @@
+/*-
+ * #%L
+ * Web Plug-in
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.web.route;
+
+import net.officefloor.frame.api.build.Indexed;
+import net.officefloor.frame.api.function.ManagedFunctionContext;
+import net.officefloor.server.http.HttpMethod;
+import net.officefloor.server.http.ServerHttpConnection;
+
+/**
+ * <p>
+ * {@link WebRouteNode} for a choice between routes.
+ * <p>
+ * The {@link StaticWebRouteNode} instances are indexed by their initial
+ * character, so the choice is resolved by the next character of the path
+ * rather than attempting each route in turn.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class ChoiceWebRouteNode implements WebRouteNode {
+
+	/**
+	 * {@link LeafWebRouteNode}. May be <code>null</code>.
+	 */
+	private final LeafWebRouteNode leafNode;
+
+	/**
+	 * {@link StaticWebRouteNode} instances indexed by their initial character.
+	 */
+	private final StaticWebRouteNode[] staticNodes;
+
+	/**
+	 * {@link ParameterWebRouteNode}. May be <code>null</code>.
+	 */
+	private final ParameterWebRouteNode parameterNode;
+
+	/**
+	 * Instantiate.
+	 * 
+	 * @param leafNode      {@link LeafWebRouteNode}. May be <code>null</code>.
+	 * @param staticNodes   {@link StaticWebRouteNode} instances. Each must have a
+	 *                      different initial character.
+	 * @param parameterNode {@link ParameterWebRouteNode}. May be
+	 *                      <code>null</code>.
+	 */
+	public ChoiceWebRouteNode(LeafWebRouteNode leafNode, StaticWebRouteNode[] staticNodes,
+			ParameterWebRouteNode parameterNode) {
+		this.leafNode = leafNode;
+		this.parameterNode = parameterNode;
+
+		// Index the static nodes by their initial character
+		int maxCharacter = -1;
+		for (StaticWebRouteNode staticNode : staticNodes) {
+			maxCharacter = Math.max(maxCharacter, staticNode.getInitialCharacter());
+		}
+		this.staticNodes = new StaticWebRouteNode[maxCharacter + 1];
+		for (StaticWebRouteNode staticNode : staticNodes) {
+			this.staticNodes[staticNode.getInitialCharacter()] = staticNode;
+		}
+	}
+
+	/*
+	 * ================== WebRouteNode ==================
+	 */
+
+	@Override
+	public WebServicer handle(HttpMethod method, String path, int index, int[] parameterOffsets,
+			ServerHttpConnection connection, ManagedFunctionContext<?, Indexed> context) {
+
+		// Match in order of leaf, static and then parameter
+		WebServicer closeMatch = WebServicer.NO_MATCH;
+
+		// Attempt to complete the path
+		if (this.leafNode != null) {
+			WebServicer result = this.leafNode.handle(method, path, index, parameterOffsets, connection, context);
+			if (WebServicer.isMatch(result)) {
+				return result; // found match
+			}
+			closeMatch = WebServicer.getCloserMatch(closeMatch, result);
+		}
+
+		// Attempt the static route for the next character
+		if (index < path.length()) {
+			char character = path.charAt(index);
+			if (character < this.staticNodes.length) {
+				StaticWebRouteNode staticNode = this.staticNodes[character];
+				if (staticNode != null) {
+					WebServicer result = staticNode.handle(method, path, index, parameterOffsets, connection,
+							context);
+					if (WebServicer.isMatch(result)) {
+						return result; // found match
+					}
+					closeMatch = WebServicer.getCloserMatch(closeMatch, result);
+				}
+			}
+		}
+
+		// Attempt the parameter
+		if (this.parameterNode != null) {
+			WebServicer result = this.parameterNode.handle(method, path, index, parameterOffsets, connection,
+					context);
+			if (WebServicer.isMatch(result)) {
+				return result; // found match
+			}
+			closeMatch = WebServicer.getCloserMatch(closeMatch, result);
+		}
+
+		// Return the close match
+		return closeMatch;
+	}
+
+}
@@ -35,6 +35,7 @@ import net.officefloor.server.http.ServerHttpConnection;
 import net.officefloor.web.build.HttpValueLocation;
 import net.officefloor.web.escalation.NotFoundHttpException;
 import net.officefloor.web.state.HttpArgument;
+import net.officefloor.web.tokenise.HttpRequestTokeniser;
 
 /**
  * Leaf {@link WebRouteNode} that services the {@link HttpRequest}.
@@ -126,7 +127,7 @@ public class LeafWebRouteNode implements WebRouteNode {
 	 */
 
 	@Override
-	public WebServicer handle(HttpMethod method, String path, int index, HttpArgument headPathArgument,
+	public WebServicer handle(HttpMethod method, String path, int index, int[] parameterOffsets,
 			ServerHttpConnection connection, ManagedFunctionContext<?, Indexed> context) {
 
 		// Determine if end of path
@@ -172,28 +173,20 @@ public class LeafWebRouteNode implements WebRouteNode {
 		// Undertake handling
 		if (handler != null) {
 
-			// Obtain the named path arguments
+			// Obtain the named path arguments (only materialising on match)
 			HttpArgument namedArguments = null;
 			String[] parameterNames = handling.parameterNamesFactory.apply(method);
-			if (parameterNames.length > 0) {
+			for (int i = parameterNames.length - 1; i >= 0; i--) {
 
-				// Load the last parameter
-				String name = parameterNames[parameterNames.length - 1];
-				namedArguments = new HttpArgument(name, headPathArgument.value, HttpValueLocation.PATH);
-				headPathArgument = headPathArgument.next;
+				// Obtain the parameter value
+				int offsetIndex = i * 2;
+				String value = path.substring(parameterOffsets[offsetIndex], parameterOffsets[offsetIndex + 1]);
+				String decodedValue = HttpRequestTokeniser.decode(value);
 
-				// Load the remaining parameters
-				for (int i = parameterNames.length - 2; i >= 0; i--) {
-					name = parameterNames[i];
-
-					// Add in the parameter
-					HttpArgument nextArgument = new HttpArgument(name, headPathArgument.value, HttpValueLocation.PATH);
-					nextArgument.next = namedArguments;
-					namedArguments = nextArgument;
-
-					// Move to next argument
-					headPathArgument = headPathArgument.next;
-				}
+				// Add in the parameter
+				HttpArgument nextArgument = new HttpArgument(parameterNames[i], decodedValue, HttpValueLocation.PATH);
+				nextArgument.next = namedArguments;
+				namedArguments = nextArgument;
 			}
 
 			// Service the request
@@ -20,21 +20,10 @@
 
 package net.officefloor.web.route;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
 import net.officefloor.frame.api.build.Indexed;
 import net.officefloor.frame.api.function.ManagedFunctionContext;
 import net.officefloor.server.http.HttpMethod;
 import net.officefloor.server.http.ServerHttpConnection;
-import net.officefloor.web.build.HttpValueLocation;
-import net.officefloor.web.state.HttpArgument;
-import net.officefloor.web.tokenise.HttpRequestTokeniser;
 
 /**
  * {@link WebRouteNode} for a path parameter.
@@ -44,15 +33,15 @@ import net.officefloor.web.tokenise.HttpRequestTokeniser;
 public class ParameterWebRouteNode implements WebRouteNode {
 
 	/**
-	 * Terminating characters for the parameter.
+	 * Index of the begin offset for the parameter within the parameter offsets.
 	 */
-	private final char[] terminatingCharacters;
+	private final int offsetIndex;
 
 	/**
-	 * {@link Map} of terminating {@link Character} to {@link StaticWebRouteNode}
-	 * instances.
+	 * {@link WebRouteNode} instances indexed by their terminating character for
+	 * the parameter.
 	 */
-	private final Map<Character, WebRouteNode[]> characterToChildren;
+	private final WebRouteNode[] terminatingNodes;
 
 	/**
 	 * {@link LeafWebRouteNode}.
@@ -62,87 +51,49 @@ public class ParameterWebRouteNode implements WebRouteNode {
 	/**
 	 * Instantiate.
 	 * 
-	 * @param nodes    Further {@link StaticWebRouteNode} instances.
-	 * @param leafNode {@link LeafWebRouteNode} should the parameter finish the
-	 *                 path. May be <code>null</code> if parameter is always
-	 *                 embedded in middle of the path.
+	 * @param parameterIndex Index of the parameter within the path.
+	 * @param nodes          Further {@link StaticWebRouteNode} instances.
+	 * @param leafNode       {@link LeafWebRouteNode} should the parameter finish
+	 *                       the path. May be <code>null</code> if parameter is
+	 *                       always embedded in middle of the path.
 	 */
-	public ParameterWebRouteNode(StaticWebRouteNode[] nodes, LeafWebRouteNode leafNode) {
+	public ParameterWebRouteNode(int parameterIndex, StaticWebRouteNode[] nodes, LeafWebRouteNode leafNode) {
+		this.offsetIndex = parameterIndex * 2;
 		this.leafNode = leafNode;
 
-		// Create the terminating characters and map to children
-		Set<Character> initialCharacters = new HashSet<>();
-		Map<Character, List<WebRouteNode>> characterNodesMap = new HashMap<>();
+		// Determine the terminating characters
+		char[] pathEndCharacters = (this.leafNode != null) ? new char[] { '?', '#' } : new char[0];
+		int maxCharacter = -1;
 		for (StaticWebRouteNode node : nodes) {
-			char initialCharacter = node.getInitialCharacter();
-
-			// Add mapping of child
-			List<WebRouteNode> characterNodes = characterNodesMap.get(initialCharacter);
-			if (characterNodes == null) {
-				characterNodes = new LinkedList<>();
-				characterNodesMap.put(initialCharacter, characterNodes);
-			}
-			characterNodes.add(node);
-
-			// Keep track of all initial characters
-			initialCharacters.add(initialCharacter);
+			maxCharacter = Math.max(maxCharacter, node.getInitialCharacter());
 		}
-
-		// Determine if able to complete path with parameter
-		if (this.leafNode != null) {
-			for (char pathEndCharacter : new char[] { '?', '#' }) {
-
-				// Add mapping for path completion
-				characterNodesMap.put(pathEndCharacter, Arrays.asList(this.leafNode));
-
-				// Include the path end character
-				initialCharacters.add(pathEndCharacter);
-			}
+		for (char pathEndCharacter : pathEndCharacters) {
+			maxCharacter = Math.max(maxCharacter, pathEndCharacter);
 		}
 
-		// Create the array of terminating characters (faster matching)
-		this.terminatingCharacters = new char[initialCharacters.size()];
-		int index = 0;
-		for (Character character : initialCharacters) {
-			this.terminatingCharacters[index++] = character;
+		// Index the terminating characters (faster matching)
+		this.terminatingNodes = new WebRouteNode[maxCharacter + 1];
+		for (StaticWebRouteNode node : nodes) {
+			this.terminatingNodes[node.getInitialCharacter()] = node;
 		}
 
-		// Create the map of children
-		// (size for ASCII characters to index avoiding collisions)
-		this.characterToChildren = new HashMap<>(128);
-		for (Character initialCharacter : characterNodesMap.keySet()) {
-			List<WebRouteNode> children = characterNodesMap.get(initialCharacter);
-
-			// Load the initial character choice
-			WebRouteNode[] childrenArray = children.toArray(new WebRouteNode[children.size()]);
-			this.characterToChildren.put(initialCharacter, childrenArray);
+		// Determine if able to complete path with parameter
+		for (char pathEndCharacter : pathEndCharacters) {
+			this.terminatingNodes[pathEndCharacter] = this.leafNode;
 		}
 	}
 
-	/**
-	 * Includes the {@link HttpArgument}.
-	 * 
-	 * @param headPathArgument Head {@link HttpArgument}.of arguments.
-	 * @param argumentValue    {@link HttpArgument} value.
-	 * @return Head {@link HttpArgument} of arguments including the argument.
-	 */
-	private HttpArgument includePathArgument(HttpArgument headPathArgument, String argumentValue) {
-		String decodedArgumentValue = HttpRequestTokeniser.decode(argumentValue);
-		HttpArgument argumentIncluded = new HttpArgument(null, decodedArgumentValue, HttpValueLocation.PATH);
-		argumentIncluded.next = headPathArgument;
-		return argumentIncluded;
-	}
-
 	/*
 	 * ======================== WebRouteNode ==================
 	 */
 
 	@Override
-	public WebServicer handle(HttpMethod method, String path, int index, HttpArgument headPathArgument,
+	public WebServicer handle(HttpMethod method, String path, int index, int[] parameterOffsets,
 			ServerHttpConnection connection, ManagedFunctionContext<?, Indexed> context) {
 
 		// Capture starting position of parameter value
 		final int parameterStart = index;
+		parameterOffsets[this.offsetIndex] = parameterStart;
 
 		// Loop until match, or end of path
 		while (index < path.length()) {
@@ -151,17 +102,13 @@ public class ParameterWebRouteNode implements WebRouteNode {
 			char character = path.charAt(index);
 
 			// Determine if terminating character
-			for (int c = 0; c < this.terminatingCharacters.length; c++) {
-				char terminatingCharacter = this.terminatingCharacters[c];
-				if (character == terminatingCharacter) {
-
-					// Obtain parameter value
-					String parameterValue = path.substring(parameterStart, index);
+			if (character < this.terminatingNodes.length) {
+				WebRouteNode node = this.terminatingNodes[character];
+				if (node != null) {
 
 					// Attempt to terminate parameter
-					WebRouteNode[] nodes = this.characterToChildren.get(character);
-					WebServicer servicer = WebServicer.getBestMatch(method, path, index,
-							this.includePathArgument(headPathArgument, parameterValue), connection, context, nodes);
+					parameterOffsets[this.offsetIndex + 1] = index;
+					WebServicer servicer = node.handle(method, path, index, parameterOffsets, connection, context);
 					if (WebServicer.isMatch(servicer)) {
 						return servicer; // parameter terminated (route matched)
 					}
@@ -181,12 +128,11 @@ public class ParameterWebRouteNode implements WebRouteNode {
 				parameterEnd--;
 			}
 
-			// Obtain the parameter value (+1 as exclusive)
-			String parameterValue = path.substring(parameterStart, parameterEnd + 1);
+			// Specify the parameter end (+1 as exclusive)
+			parameterOffsets[this.offsetIndex + 1] = parameterEnd + 1;
 
 			// Handle by leaf
-			return this.leafNode.handle(method, path, index, this.includePathArgument(headPathArgument, parameterValue),
-					connection, context);
+			return this.leafNode.handle(method, path, index, parameterOffsets, connection, context);
 		}
 
 		// As here, no match
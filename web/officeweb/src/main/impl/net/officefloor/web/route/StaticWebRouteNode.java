@@ -24,7 +24,6 @@ import net.officefloor.frame.api.build.Indexed;
 import net.officefloor.frame.api.function.ManagedFunctionContext;
 import net.officefloor.server.http.HttpMethod;
 import net.officefloor.server.http.ServerHttpConnection;
-import net.officefloor.web.state.HttpArgument;
 
 /**
  * {@link WebRouteNode} for static characters.
@@ -39,19 +38,19 @@ public class StaticWebRouteNode implements WebRouteNode {
 	private final char[] characters;
 
 	/**
-	 * Further {@link WebRouteNode} instances.
+	 * Further {@link WebRouteNode}.
 	 */
-	private final WebRouteNode[] nodes;
+	private final WebRouteNode node;
 
 	/**
 	 * Instantiate.
 	 * 
 	 * @param characters Static characters.
-	 * @param nodes      Further {@link WebRouteNode} instances.
+	 * @param node       Further {@link WebRouteNode}.
 	 */
-	public StaticWebRouteNode(char[] characters, WebRouteNode[] nodes) {
+	public StaticWebRouteNode(char[] characters, WebRouteNode node) {
 		this.characters = characters;
-		this.nodes = nodes;
+		this.node = node;
 	}
 
 	/**
@@ -68,7 +67,7 @@ public class StaticWebRouteNode implements WebRouteNode {
 	 */
 
 	@Override
-	public WebServicer handle(HttpMethod method, String path, int index, HttpArgument headPathParameter,
+	public WebServicer handle(HttpMethod method, String path, int index, int[] parameterOffsets,
 			ServerHttpConnection connection, ManagedFunctionContext<?, Indexed> context) {
 
 		// Determine if enough characters
@@ -86,8 +85,7 @@ public class StaticWebRouteNode implements WebRouteNode {
 		}
 
 		// As here, match on paths, so continue matching
-		return WebServicer.getBestMatch(method, path, index + this.characters.length, headPathParameter, connection,
-				context, this.nodes);
+		return this.node.handle(method, path, index + this.characters.length, parameterOffsets, connection, context);
 	}
 
 }
@@ -24,7 +24,6 @@ import net.officefloor.frame.api.build.Indexed;
 import net.officefloor.frame.api.function.ManagedFunctionContext;
 import net.officefloor.server.http.HttpMethod;
 import net.officefloor.server.http.ServerHttpConnection;
-import net.officefloor.web.state.HttpArgument;
 
 /**
  * Node in the {@link WebRouter} route tree.
@@ -46,12 +45,13 @@ public interface WebRouteNode {
 	 * @param method           {@link HttpMethod}.
 	 * @param path             Path.
 	 * @param index            Index into the path.
-	 * @param headPathArgument Head {@link HttpArgument} from the path.
+	 * @param parameterOffsets Begin and end offsets into the path for each path
+	 *                         parameter matched so far.
 	 * @param connection       {@link ServerHttpConnection}.
 	 * @param context          {@link ManagedFunctionContext}.
 	 * @return {@link WebServicer}.
 	 */
-	WebServicer handle(HttpMethod method, String path, int index, HttpArgument headPathArgument,
+	WebServicer handle(HttpMethod method, String path, int index, int[] parameterOffsets,
 			ServerHttpConnection connection, ManagedFunctionContext<?, Indexed> context);
 
 }
@@ -42,6 +42,11 @@ import net.officefloor.web.escalation.BadRequestHttpException;
  */
 public class WebRouter {
 
+	/**
+	 * Path parameter offsets for routes without path parameters.
+	 */
+	private static final int[] NO_PARAMETER_OFFSETS = new int[0];
+
 	/**
 	 * <p>
 	 * Transforms the path to canonical path for the application.
@@ -261,17 +266,25 @@ public class WebRouter {
 	}
 
 	/**
-	 * Root {@link WebRouteNode} instances.
+	 * Root {@link WebRouteNode} of the compiled route tree.
 	 */
-	private final WebRouteNode[] nodes;
+	private final WebRouteNode node;
+
+	/**
+	 * Maximum number of path parameters for a route.
+	 */
+	private final int maxParameterCount;
 
 	/**
 	 * Instantiate.
 	 * 
-	 * @param nodes Root {@link WebRouteNode} instances.
+	 * @param node              Root {@link WebRouteNode} of the compiled route
+	 *                          tree.
+	 * @param maxParameterCount Maximum number of path parameters for a route.
 	 */
-	public WebRouter(WebRouteNode[] nodes) {
-		this.nodes = nodes;
+	public WebRouter(WebRouteNode node, int maxParameterCount) {
+		this.node = node;
+		this.maxParameterCount = maxParameterCount;
 	}
 
 	/**
@@ -290,8 +303,12 @@ public class WebRouter {
 		HttpMethod method = request.getMethod();
 		String requestUri = request.getUri();
 
+		// Path parameters captured as offsets into the path
+		int[] parameterOffsets = (this.maxParameterCount == 0) ? NO_PARAMETER_OFFSETS
+				: new int[this.maxParameterCount * 2];
+
 		// Obtain the best matching
-		return WebServicer.getBestMatch(method, requestUri, 0, null, connection, managedFunctionContext, this.nodes);
+		return this.node.handle(method, requestUri, 0, parameterOffsets, connection, managedFunctionContext);
 	}
 
 }
@@ -190,17 +190,49 @@ public class WebRouterBuilder {
 			return 0;
 		});
 
-		// Create the route tree of choices
+		// Compile the route tree
 		WebRouteChoice[] choices = this.createChoices(this.routes);
+		WebRouteNode node = this.createChoiceNode(choices, 0, true);
 
-		// Create the route tree
-		WebRouteNode[] nodes = new WebRouteNode[choices.length];
-		for (int i = 0; i < nodes.length; i++) {
-			nodes[i] = this.createNode(choices[i], new LinkedList<>(), true);
+		// Determine the maximum number of path parameters
+		int maxParameterCount = 0;
+		for (WebRoute route : this.routes) {
+			maxParameterCount = Math.max(maxParameterCount, route.parameterCount);
 		}
 
 		// Return the web router
-		return new WebRouter(nodes);
+		return new WebRouter(node, maxParameterCount);
+	}
+
+	/**
+	 * Creates the {@link ChoiceWebRouteNode}.
+	 * 
+	 * @param choices             {@link WebRouteChoice} instances.
+	 * @param parameterCount      Number of previous path parameters.
+	 * @param isWildcardOnlyMatch Indicates if wild card only match.
+	 * @return {@link ChoiceWebRouteNode}.
+	 */
+	private ChoiceWebRouteNode createChoiceNode(WebRouteChoice[] choices, int parameterCount,
+			boolean isWildcardOnlyMatch) {
+		LeafWebRouteNode leafNode = null;
+		List<StaticWebRouteNode> staticNodes = new ArrayList<>(choices.length);
+		ParameterWebRouteNode parameterNode = null;
+		for (WebRouteChoice choice : choices) {
+			WebRouteNode node = this.createNode(choice, new LinkedList<>(), parameterCount, isWildcardOnlyMatch);
+			switch (choice.type) {
+			case LEAF:
+				leafNode = (LeafWebRouteNode) node;
+				break;
+			case STATIC:
+				staticNodes.add((StaticWebRouteNode) node);
+				break;
+			case PARAMETER:
+				parameterNode = (ParameterWebRouteNode) node;
+				break;
+			}
+		}
+		return new ChoiceWebRouteNode(leafNode, staticNodes.toArray(new StaticWebRouteNode[staticNodes.size()]),
+				parameterNode);
 	}
 
 	/**
@@ -208,10 +240,11 @@ public class WebRouterBuilder {
 	 * 
 	 * @param choice              {@link WebRouteChoice}.
 	 * @param staticCharacters    Previous static characters.
+	 * @param parameterCount      Number of previous path parameters.
 	 * @param isWildcardOnlyMatch Indicates if wild card only match.
 	 * @return {@link WebRouteNode}.
 	 */
-	private WebRouteNode createNode(WebRouteChoice choice, List<Character> staticCharacters,
+	private WebRouteNode createNode(WebRouteChoice choice, List<Character> staticCharacters, int parameterCount,
 			boolean isWildcardOnlyMatch) {
 
 		// Supply the characters
@@ -230,7 +263,7 @@ public class WebRouterBuilder {
 				return node; // no need to wrap
 			} else {
 				// Wrap with static
-				return new StaticWebRouteNode(characters, new WebRouteNode[] { node });
+				return new StaticWebRouteNode(characters, node);
 			}
 		};
 
@@ -303,15 +336,12 @@ public class WebRouterBuilder {
 				// Determine if wild card only match (taking into account context path)
 				isWildcardOnlyMatch = isWildcardOnlyMatch && (this.contextPath != null)
 						&& (staticCharacters.size() <= this.contextPath.length());
-				return this.createNode(singleChoice, staticCharacters, isWildcardOnlyMatch);
+				return this.createNode(singleChoice, staticCharacters, parameterCount, isWildcardOnlyMatch);
 
 			default:
-				// Multiple routes, so create the children
+				// Multiple routes, so create the choice of children
 				WebRouteChoice[] childChoices = this.createChoices(choice.routes);
-				WebRouteNode[] children = new WebRouteNode[childChoices.length];
-				for (int i = 0; i < children.length; i++) {
-					children[i] = this.createNode(childChoices[i], new LinkedList<>(), false);
-				}
+				ChoiceWebRouteNode children = this.createChoiceNode(childChoices, parameterCount, false);
 				char[] characters = getStatic.get();
 				return new StaticWebRouteNode(characters, children);
 			}
@@ -328,12 +358,13 @@ public class WebRouterBuilder {
 					if (leafNode != null) {
 						throw new IllegalStateException("May only have one leaf node after a parameter");
 					}
-					leafNode = (LeafWebRouteNode) this.createNode(paramChoice, new LinkedList<>(), isWildcardOnlyMatch);
+					leafNode = (LeafWebRouteNode) this.createNode(paramChoice, new LinkedList<>(), parameterCount + 1,
+							isWildcardOnlyMatch);
 					break;
 
 				case STATIC:
 					StaticWebRouteNode paramStatic = (StaticWebRouteNode) this.createNode(paramChoice,
-							new LinkedList<>(), false);
+							new LinkedList<>(), parameterCount + 1, false);
 					staticNodes.add(paramStatic);
 					break;
 
@@ -345,7 +376,7 @@ public class WebRouterBuilder {
 			}
 
 			// Return the parameter node
-			return getStaticWrap.apply(new ParameterWebRouteNode(
+			return getStaticWrap.apply(new ParameterWebRouteNode(parameterCount,
 					staticNodes.toArray(new StaticWebRouteNode[staticNodes.size()]), leafNode));
 
 		default:
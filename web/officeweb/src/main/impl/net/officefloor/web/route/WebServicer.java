@@ -20,12 +20,9 @@
 
 package net.officefloor.web.route;
 
-import net.officefloor.frame.api.build.Indexed;
-import net.officefloor.frame.api.function.ManagedFunctionContext;
 import net.officefloor.server.http.HttpMethod;
 import net.officefloor.server.http.ServerHttpConnection;
 import net.officefloor.web.escalation.NotFoundHttpException;
-import net.officefloor.web.state.HttpArgument;
 
 /**
  * Servicer for web route.
@@ -113,38 +110,15 @@ public interface WebServicer {
 	}
 
 	/**
-	 * Obtains the best {@link WebServicer} for the {@link WebRouteNode} instances.
+	 * Obtains the closer match of the {@link WebServicer} instances.
 	 * 
-	 * @param method            {@link HttpMethod}.
-	 * @param path              Path.
-	 * @param index             Index within the path.
-	 * @param headPathParameter Head {@link HttpArgument}.
-	 * @param connection        {@link ServerHttpConnection}.
-	 * @param context           {@link ManagedFunctionContext}.
-	 * @param nodes             {@link WebRouteNode} instances to match on.
-	 * @return Best {@link WebServicer}.
+	 * @param closeMatch Current close match {@link WebServicer}.
+	 * @param result     {@link WebServicer} result of matching.
+	 * @return Closer match {@link WebServicer}. Should both be equally close, the
+	 *         current close match is kept.
 	 */
-	static WebServicer getBestMatch(HttpMethod method, String path, int index, HttpArgument headPathParameter,
-			ServerHttpConnection connection, ManagedFunctionContext<?, Indexed> context, WebRouteNode[] nodes) {
-
-		// Match in order of nodes
-		WebServicer closeMatch = NO_MATCH;
-		for (int i = 0; i < nodes.length; i++) {
-			WebRouteNode node = nodes[i];
-
-			// Attempt match
-			WebServicer result = node.handle(method, path, index, headPathParameter, connection, context);
-			if (isMatch(result)) {
-				return result; // found match
-			}
-
-			// Capture closest match
-			closeMatch = closeMatch.getMatchResult().matchRating >= result.getMatchResult().matchRating ? closeMatch
-					: result;
-		}
-
-		// Return the close match
-		return closeMatch;
+	static WebServicer getCloserMatch(WebServicer closeMatch, WebServicer result) {
+		return closeMatch.getMatchResult().matchRating >= result.getMatchResult().matchRating ? closeMatch : result;
 	}
 
 }
@@ -21,8 +21,8 @@
 package net.officefloor.web.tokenise;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import net.officefloor.server.http.HttpException;
@@ -51,6 +51,17 @@ public class HttpRequestTokeniser {
         }
     };
 
+    /**
+     * Default size of the entity bytes buffer.
+     */
+    private static final int DEFAULT_ENTITY_BUFFER_SIZE = 256;
+
+    /**
+     * Maximum size of the entity bytes buffer to be retained by the
+     * {@link Thread} between tokenising entities.
+     */
+    private static final int MAX_RETAINED_ENTITY_BUFFER_SIZE = 8192;
+
     /**
      * State of parsing.
      */
@@ -61,11 +72,47 @@ public class HttpRequestTokeniser {
          */
         private char[] buffer = new char[256];
 
+        /**
+         * Buffer of entity bytes with reasonable default size.
+         */
+        private byte[] bytes = new byte[DEFAULT_ENTITY_BUFFER_SIZE];
+
         /**
          * Length of {@link CharSequence}.
          */
         private int length = 0;
 
+        /**
+         * Loads the entity bytes.
+         *
+         * @param entity {@link InputStream} to the entity.
+         * @throws IOException If fails to read the entity.
+         */
+        private void loadEntity(InputStream entity) throws IOException {
+            this.length = 0;
+            for (int size = entity.read(this.bytes, 0, this.bytes.length); size != -1; size = entity.read(this.bytes,
+                    this.length, this.bytes.length - this.length)) {
+                this.length += size;
+
+                // Ensure enough space for further bytes
+                if (this.length >= this.bytes.length) {
+                    this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+                }
+            }
+        }
+
+        /**
+         * Releases the entity bytes. Should a large entity have grown the buffer,
+         * the buffer is discarded so that it is not retained by the
+         * {@link Thread}.
+         */
+        private void releaseEntity() {
+            this.length = 0;
+            if (this.bytes.length > MAX_RETAINED_ENTITY_BUFFER_SIZE) {
+                this.bytes = new byte[DEFAULT_ENTITY_BUFFER_SIZE];
+            }
+        }
+
         /*
          * ============= CharSequence ================
          */
@@ -77,7 +124,7 @@ public class HttpRequestTokeniser {
 
         @Override
         public char charAt(int index) {
-            return this.buffer[index];
+            return (char) (this.bytes[index] & 0xFF);
         }
 
         @Override
@@ -87,7 +134,7 @@ public class HttpRequestTokeniser {
 
         @Override
         public String toString() {
-            return new String(this.buffer, 0, this.length);
+            return new String(this.bytes, 0, this.length, StandardCharsets.ISO_8859_1);
         }
     }
 
@@ -137,7 +184,7 @@ public class HttpRequestTokeniser {
                 case '=':
                     // Flag to now obtain value
                     end = i; // before '='
-                    name = decode(requestUri.substring(begin, end), isRequireDecode, state);
+                    name = decode(requestUri, begin, end, isRequireDecode, state);
                     begin = i + 1; // after '='
                     end = -1;
                     break;
@@ -152,7 +199,7 @@ public class HttpRequestTokeniser {
                 case ';':
                     // Have parameter name/value, so load
                     end = i; // before terminator
-                    value = decode(requestUri.substring(begin, end), isRequireDecode, state);
+                    value = decode(requestUri, begin, end, isRequireDecode, state);
                     valueLoader.loadValue(name, value, HttpValueLocation.QUERY);
                     name = null;
 
@@ -179,7 +226,7 @@ public class HttpRequestTokeniser {
             if (end == -1) {
                 end = requestUri.length();
             }
-            value = decode(requestUri.substring(begin, end), isRequireDecode, state);
+            value = decode(requestUri, begin, end, isRequireDecode, state);
 
             // Load the value
             valueLoader.loadValue(name, value, HttpValueLocation.QUERY);
@@ -225,32 +272,33 @@ public class HttpRequestTokeniser {
         // Obtain the parse state (ready for use)
         ParseState state = parseState.get();
 
-        // Values to aid in parsing
-        String name = null;
-        String value = null;
-        boolean isRequireDecode = false;
-
-        // Parse the name / value pairs
-        int index = 0;
         try {
-            Reader reader = new InputStreamReader(request.getEntity().createBrowseInputStream(),
-                    ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET);
-            for (int character = reader.read(); character != -1; character = reader.read()) {
+            // Load the entity bytes (avoids decoding each character)
+            try {
+                state.loadEntity(request.getEntity().createBrowseInputStream());
+            } catch (IOException ex) {
+                throw new HttpException(ex);
+            }
 
-                // Load the value (ensuring enough space for value)
-                if (index >= state.buffer.length) {
-                    state.buffer = Arrays.copyOf(state.buffer, state.buffer.length * 2);
-                }
-                state.buffer[index] = (char) character;
+            // Values to aid in parsing
+            String name = null;
+            String value = null;
+            boolean isRequireDecode = false;
+            boolean isAscii = true;
+
+            // Parse the name / value pairs
+            byte[] bytes = state.bytes;
+            int begin = 0;
+            for (int i = 0; i < state.length; i++) {
+                byte character = bytes[i];
 
                 // Handle based on character
                 switch (character) {
 
                     case '=':
                         // Flag to now obtain value
-                        state.length = index; // before '='
-                        name = decode(state, isRequireDecode, state);
-                        index = -1; // reset to start
+                        name = decodeEntity(begin, i, isRequireDecode, isAscii, state);
+                        begin = i + 1; // after '='
                         break;
 
                     case '+': // space
@@ -262,34 +310,68 @@ public class HttpRequestTokeniser {
                     case '&':
                     case ';':
                         // Have parameter name/value, so load
-                        state.length = index; // before terminator
-                        value = decode(state, isRequireDecode, state);
+                        value = decodeEntity(begin, i, isRequireDecode, isAscii, state);
                         valueLoader.loadValue(name, value, HttpValueLocation.ENTITY);
                         name = null;
 
                         // Reset for next parameter name/value
-                        index = -1; // reset to start
+                        begin = i + 1; // after terminator
                         isRequireDecode = false;
+                        isAscii = true;
+                        break;
+
+                    default:
+                        // Determine if multi-byte character
+                        if (character < 0) {
+                            isAscii = false;
+                        }
                         break;
                 }
+            }
+
+            // Determine if load final value
+            if (name != null) {
 
-                // Increment for next index
-                index++;
+                // Ensure have value
+                value = decodeEntity(begin, state.length, isRequireDecode, isAscii, state);
+
+                // Load the value
+                valueLoader.loadValue(name, value, HttpValueLocation.ENTITY);
             }
-        } catch (IOException ex) {
-            throw new HttpException(ex);
+        } finally {
+            // Do not retain large entities
+            state.releaseEntity();
         }
+    }
 
-        // Determine if load final value
-        if (name != null) {
+    /**
+     * Decodes the entity bytes.
+     *
+     * @param begin           Beginning index of bytes.
+     * @param end             Ending index (exclusive) of bytes.
+     * @param isRequireDecode Indicates if escaping to decode.
+     * @param isAscii         Indicates if all bytes are ASCII characters.
+     * @param state           {@link ParseState} containing the entity bytes.
+     * @return Decoded text.
+     * @throws HttpException If fails to translate.
+     */
+    private static String decodeEntity(int begin, int end, boolean isRequireDecode, boolean isAscii, ParseState state)
+            throws HttpException {
 
-            // Ensure have value
-            state.length = index;
-            value = decode(state, isRequireDecode, state);
+        // Determine if multi-byte characters
+        if (!isAscii) {
+            String text = new String(state.bytes, begin, end - begin, ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET);
+            return decode(text, 0, text.length(), isRequireDecode, state);
+        }
 
-            // Load the value
-            valueLoader.loadValue(name, value, HttpValueLocation.ENTITY);
+        // Determine if require decode
+        if (!isRequireDecode) {
+            // ASCII, so bytes are the characters
+            return new String(state.bytes, begin, end - begin, StandardCharsets.ISO_8859_1);
         }
+
+        // Decode directly from the bytes
+        return decode(state, begin, end, true, state);
     }
 
     /**
@@ -306,32 +388,36 @@ public class HttpRequestTokeniser {
      * @return Decoded value.
      */
     public static String decode(CharSequence value) {
-        return decode(value, true, parseState.get());
+        return decode(value, 0, value.length(), true, parseState.get());
     }
 
     /**
      * Decodes the text.
      *
-     * @param text  Text to be decoded.
-     * @param state {@link ParseState}.
+     * @param text            Text containing the characters to be decoded.
+     * @param begin           Beginning index of characters to decode.
+     * @param end             Ending index (exclusive) of characters to decode.
+     * @param isRequireDecode Indicates if escaping to decode.
+     * @param state           {@link ParseState}.
      * @return Decoded text.
      * @throws HttpException If fails to translate.
      */
-    private static String decode(CharSequence text, boolean isRequireDecode, ParseState state) throws HttpException {
+    private static String decode(CharSequence text, int begin, int end, boolean isRequireDecode, ParseState state)
+            throws HttpException {
 
         // Determine if require decode
         if (!isRequireDecode) {
             // No decode required
-            return text.toString();
+            return text.subSequence(begin, end).toString();
         }
 
         // Obtain the temporary buffer
         char[] buffer = state.buffer;
 
         // Ensure temporary buffer large enough
-        if ((buffer == null) || (buffer.length < text.length())) {
+        if ((buffer == null) || (buffer.length < (end - begin))) {
             // Increase buffer size (translation should not be bigger)
-            buffer = new char[text.length()];
+            buffer = new char[end - begin];
 
             // Make available for further translations
             state.buffer = buffer;
@@ -341,7 +427,7 @@ public class HttpRequestTokeniser {
         int charIndex = 0;
         EscapeState escape = EscapeState.NONE;
         byte highBits = 0;
-        for (int i = 0; i < text.length(); i++) {
+        for (int i = begin; i < end; i++) {
             char character = text.charAt(i);
 
             // Handle on whether escaping
@@ -387,7 +473,8 @@ public class HttpRequestTokeniser {
         // Should always be in non-escape state after translating
         if (escape != EscapeState.NONE) {
             throw new BadRequestHttpException(null,
-                    "Invalid parameter text as escaping not complete: '" + text.toString() + "'");
+                    "Invalid parameter text as escaping not complete: '" + new StringBuilder().append(text, begin, end)
+                            + "'");
         }
 
         // Return the translated text
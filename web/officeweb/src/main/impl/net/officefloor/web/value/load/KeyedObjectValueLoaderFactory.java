@@ -20,6 +20,7 @@
 
 package net.officefloor.web.value.load;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
@@ -106,6 +107,7 @@ public class KeyedObjectValueLoaderFactory implements StatelessValueLoaderFactor
 
 		// Obtain the loader method
 		final Method loaderMethod = clazz.getMethod(this.methodName, String.class, this.objectType);
+		final MethodHandle loader = ValueLoaderSource.createLoader(loaderMethod);
 
 		// Return the value loader
 		return new StatelessValueLoader() {
@@ -151,7 +153,7 @@ public class KeyedObjectValueLoaderFactory implements StatelessValueLoaderFactor
 					state.put(propertyKey, parameter);
 
 					// Load the parameter
-					ValueLoaderSource.loadValue(object, loaderMethod, key, parameter);
+					ValueLoaderSource.loadValue(object, loader, key, parameter);
 				}
 
 				// Load the property onto the object
@@ -20,6 +20,7 @@
 
 package net.officefloor.web.value.load;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +71,7 @@ public class KeyedParameterValueLoaderFactory implements StatelessValueLoaderFac
 
 		// Obtain the loader method
 		final Method loaderMethod = clazz.getMethod(this.methodName, String.class, String.class);
+		final MethodHandle loader = ValueLoaderSource.createLoader(loaderMethod);
 
 		// Obtain the value location
 		final HttpValueLocation loaderLocation = ValueLoaderSource.getLocation(loaderMethod);
@@ -94,7 +96,7 @@ public class KeyedParameterValueLoaderFactory implements StatelessValueLoaderFac
 				String key = name.substring(nameIndex, keyEnd);
 
 				// Load the value
-				ValueLoaderSource.loadValue(object, loaderMethod, key, value);
+				ValueLoaderSource.loadValue(object, loader, key, value);
 			}
 
 			@Override
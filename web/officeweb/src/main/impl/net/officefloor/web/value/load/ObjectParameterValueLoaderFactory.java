@@ -20,6 +20,7 @@
 
 package net.officefloor.web.value.load;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
@@ -106,6 +107,7 @@ public class ObjectParameterValueLoaderFactory implements StatelessValueLoaderFa
 
 		// Obtain the loader method
 		final Method loaderMethod = clazz.getMethod(this.methodName, this.objectType);
+		final MethodHandle loader = ValueLoaderSource.createLoader(loaderMethod);
 
 		// Return the value loader
 		return new StatelessValueLoader() {
@@ -138,7 +140,7 @@ public class ObjectParameterValueLoaderFactory implements StatelessValueLoaderFa
 					state.put(key, parameter);
 
 					// Load the parameter
-					ValueLoaderSource.loadValue(object, loaderMethod, parameter);
+					ValueLoaderSource.loadValue(object, loader, parameter);
 				}
 
 				// Load the remaining object
@@ -97,8 +97,22 @@ public class PropertyKey {
 		}
 		PropertyKey that = (PropertyKey) obj;
 
+		// Match on property name
+		return this.isMatch(that.propertyName, 0, that.propertyName.length());
+	}
+
+	/**
+	 * Determines if the property name matches the region of the name.
+	 * 
+	 * @param name  Name containing the property name.
+	 * @param begin Index of the beginning of the property name within the name.
+	 * @param end   Index after the end of the property name within the name.
+	 * @return <code>true</code> if region of name matches the property name.
+	 */
+	public boolean isMatch(String name, int begin, int end) {
+
 		// Ensure same length
-		if (this.propertyName.length() != that.propertyName.length()) {
+		if (this.propertyName.length() != (end - begin)) {
 			return false;
 		}
 
@@ -108,7 +122,7 @@ public class PropertyKey {
 			boolean isKey = false;
 			for (int i = 0; i < this.propertyName.length(); i++) {
 				char thisChar = this.propertyName.charAt(i);
-				char thatChar = that.propertyName.charAt(i);
+				char thatChar = name.charAt(begin + i);
 
 				// Only key characters are case sensitive
 				if (!isKey) {
@@ -135,7 +149,7 @@ public class PropertyKey {
 			// Ensure characters are the same exactly
 			for (int i = 0; i < this.propertyName.length(); i++) {
 				char thisChar = this.propertyName.charAt(i);
-				char thatChar = that.propertyName.charAt(i);
+				char thatChar = name.charAt(begin + i);
 
 				// Must match
 				if (thisChar != thatChar) {
@@ -21,6 +21,7 @@
 package net.officefloor.web.value.load;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,21 +43,42 @@ public class RootStatelessValueLoader implements StatelessValueLoader {
 	private Map<PropertyKey, StatelessValueLoader> valueLoaders = new HashMap<PropertyKey, StatelessValueLoader>();
 
 	/**
-	 * {@link PropertyKeyFactory}.
+	 * {@link PropertyKey} instances indexed by the length of their property name.
+	 * This allows matching the property name directly from the name, without
+	 * creating a {@link PropertyKey} for each loaded value.
 	 */
-	private final PropertyKeyFactory propertyKeyFactory;
+	private final PropertyKey[][] propertyKeysByLength;
+
+	/**
+	 * {@link StatelessValueLoader} instances aligned to the
+	 * {@link #propertyKeysByLength}.
+	 */
+	private final StatelessValueLoader[][] valueLoadersByLength;
 
 	/**
 	 * Initiate.
 	 * 
-	 * @param valueLoaders       {@link StatelessValueLoader} instances by
-	 *                           {@link PropertyKey}.
-	 * @param propertyKeyFactory {@link PropertyKeyFactory}.
+	 * @param valueLoaders {@link StatelessValueLoader} instances by
+	 *                     {@link PropertyKey}.
 	 */
-	public RootStatelessValueLoader(Map<PropertyKey, StatelessValueLoader> valueLoaders,
-			PropertyKeyFactory propertyKeyFactory) {
+	public RootStatelessValueLoader(Map<PropertyKey, StatelessValueLoader> valueLoaders) {
 		this.valueLoaders = valueLoaders;
-		this.propertyKeyFactory = propertyKeyFactory;
+
+		// Index the value loaders by length of property name
+		int maxLength = -1;
+		for (PropertyKey propertyKey : valueLoaders.keySet()) {
+			maxLength = Math.max(maxLength, propertyKey.getPropertyName().length());
+		}
+		this.propertyKeysByLength = new PropertyKey[maxLength + 1][0];
+		this.valueLoadersByLength = new StatelessValueLoader[maxLength + 1][0];
+		valueLoaders.forEach((propertyKey, valueLoader) -> {
+			int length = propertyKey.getPropertyName().length();
+			int index = this.propertyKeysByLength[length].length;
+			this.propertyKeysByLength[length] = Arrays.copyOf(this.propertyKeysByLength[length], index + 1);
+			this.propertyKeysByLength[length][index] = propertyKey;
+			this.valueLoadersByLength[length] = Arrays.copyOf(this.valueLoadersByLength[length], index + 1);
+			this.valueLoadersByLength[length][index] = valueLoader;
+		});
 	}
 
 	/*
@@ -81,29 +103,36 @@ public class RootStatelessValueLoader implements StatelessValueLoader {
 			}
 		}
 
-		// Split out the property name from the name
-		String propertyName;
+		// Determine the extent of the property name
+		int propertyNameEnd;
+		int remainingNameIndex;
 		if (index < 0) {
 			// Entire name
-			propertyName = name.substring(nameIndex);
-			nameIndex = name.length(); // end of name
+			propertyNameEnd = name.length();
+			remainingNameIndex = name.length(); // end of name
 		} else {
 			// Not entire name
-			propertyName = name.substring(nameIndex, index);
-			nameIndex = index + 1; // ignore separator ('.' character)
+			propertyNameEnd = index;
+			remainingNameIndex = index + 1; // ignore separator ('.' character)
 		}
 
-		// Create the property key
-		PropertyKey propertyKey = this.propertyKeyFactory.createPropertyKey(propertyName);
-
-		// Obtain the value loader for the property name
-		StatelessValueLoader valueLoader = this.valueLoaders.get(propertyKey);
-		if (valueLoader == null) {
+		// Obtain the value loaders for the property name length
+		int propertyNameLength = propertyNameEnd - nameIndex;
+		if (propertyNameLength >= this.propertyKeysByLength.length) {
 			return; // no value loader for property
 		}
+		PropertyKey[] propertyKeys = this.propertyKeysByLength[propertyNameLength];
+
+		// Load the value with the value loader for the property name
+		for (int i = 0; i < propertyKeys.length; i++) {
+			if (propertyKeys[i].isMatch(name, nameIndex, propertyNameEnd)) {
+				this.valueLoadersByLength[propertyNameLength][i].loadValue(object, name, remainingNameIndex, value,
+						location, state);
+				return;
+			}
+		}
 
-		// Load the value
-		valueLoader.loadValue(object, name, nameIndex, value, location, state);
+		// As here, no value loader for property
 	}
 
 	@Override
@@ -20,6 +20,9 @@
 
 package net.officefloor.web.value.load;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -77,6 +80,85 @@ public class ValueLoaderSource {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Creates the {@link MethodHandle} to load values via the {@link Method}.
+	 * <p>
+	 * The {@link Method} is bound once for the {@link Class}, so that loading
+	 * values avoids the reflective overheads of {@link Method#invoke(Object,
+	 * Object...)}. The returned {@link MethodHandle} is typed to be invoked by
+	 * {@link #loadValue(Object, MethodHandle, Object)} (or by
+	 * {@link #loadValue(Object, MethodHandle, String, Object)} for keyed values).
+	 * 
+	 * @param method
+	 *            {@link Method} to load the values.
+	 * @return {@link MethodHandle} to load the values.
+	 */
+	public static MethodHandle createLoader(Method method) {
+
+		// Determine the type for invoking the loader
+		MethodType loaderType = (method.getParameterCount() == 1)
+				? MethodType.methodType(void.class, Object.class, Object.class)
+				: MethodType.methodType(void.class, Object.class, String.class, Object.class);
+
+		try {
+			// Bind to the method (accessible via its declaring class)
+			MethodHandle loader = MethodHandles.publicLookup().unreflect(method);
+			return loader.asType(loaderType);
+
+		} catch (IllegalAccessException ex) {
+			// Not accessible, so fail on loading (as would reflectively)
+			MethodHandle failure = MethodHandles.throwException(void.class, ex.getClass()).bindTo(ex);
+			return MethodHandles.dropArguments(failure, 0, loaderType.parameterList());
+		}
+	}
+
+	/**
+	 * Loads the value onto the object.
+	 * 
+	 * @param object
+	 *            {@link Object} to have value loaded on it.
+	 * @param loader
+	 *            {@link MethodHandle} from {@link #createLoader(Method)}.
+	 * @param value
+	 *            Value to be loaded.
+	 * @throws HttpException
+	 *             If fails to load the value.
+	 */
+	public static void loadValue(Object object, MethodHandle loader, Object value) throws HttpException {
+		try {
+			loader.invokeExact(object, value);
+		} catch (HttpException ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw new HttpException(ex);
+		}
+	}
+
+	/**
+	 * Loads the keyed value onto the object.
+	 * 
+	 * @param object
+	 *            {@link Object} to have value loaded on it.
+	 * @param loader
+	 *            {@link MethodHandle} from {@link #createLoader(Method)}.
+	 * @param key
+	 *            Key for the value.
+	 * @param value
+	 *            Value to be loaded.
+	 * @throws HttpException
+	 *             If fails to load the value.
+	 */
+	public static void loadValue(Object object, MethodHandle loader, String key, Object value) throws HttpException {
+		try {
+			loader.invokeExact(object, key, value);
+		} catch (HttpException ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw new HttpException(ex);
+		}
+	}
+
 	/**
 	 * Obtains the {@link HttpValueLocation} for the {@link Method}.
 	 * 
@@ -359,7 +441,7 @@ public class ValueLoaderSource {
 		}
 
 		// Return the root value loader
-		return new RootStatelessValueLoader(valueLoaders, propertyKeyFactory);
+		return new RootStatelessValueLoader(valueLoaders);
 	}
 
 	/**
@@ -21,6 +21,7 @@
 package net.officefloor.web.value.retrieve;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -47,6 +48,11 @@ public class PropertyMetaData {
 	 */
 	private final Map<Class<?>, Method> typeToMethod = new ConcurrentHashMap<Class<?>, Method>();
 
+	/**
+	 * Mapping of retrieving {@link MethodHandle} to the particular type.
+	 */
+	private final Map<Class<?>, MethodHandle> typeToRetriever = new ConcurrentHashMap<Class<?>, MethodHandle>();
+
 	/**
 	 * Properties on the resulting property object.
 	 */
@@ -134,6 +140,29 @@ public class PropertyMetaData {
 		return method;
 	}
 
+	/**
+	 * Obtains the {@link MethodHandle} to retrieve the property value.
+	 * 
+	 * @param type
+	 *            Type to obtain the {@link MethodHandle}.
+	 * @return {@link MethodHandle} to invoke with
+	 *         {@link ValueRetrieverSource#retrieveValue(Object, MethodHandle)}.
+	 * @throws Exception
+	 *             If fails to obtain the {@link MethodHandle}.
+	 */
+	public MethodHandle getRetriever(Class<?> type) throws Exception {
+
+		// Lazy obtain the retriever
+		MethodHandle retriever = this.typeToRetriever.get(type);
+		if (retriever == null) {
+			retriever = ValueRetrieverSource.createRetriever(this.getMethod(type));
+			this.typeToRetriever.put(type, retriever);
+		}
+
+		// Return the retriever
+		return retriever;
+	}
+
 	/**
 	 * Obtains the Properties on the resulting property object.
 	 * 
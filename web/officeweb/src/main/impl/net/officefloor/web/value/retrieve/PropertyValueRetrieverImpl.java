@@ -20,7 +20,7 @@
 
 package net.officefloor.web.value.retrieve;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.Map;
 
 import net.officefloor.server.http.HttpException;
@@ -90,11 +90,11 @@ public class PropertyValueRetrieverImpl<T> implements ValueRetriever<T> {
 		}
 
 		try {
-			// Obtain the method
-			Method method = this.metaData.getMethod(object.getClass());
+			// Obtain the retriever
+			MethodHandle retriever = this.metaData.getRetriever(object.getClass());
 
 			// Retrieve the property value
-			Object value = ValueRetrieverSource.retrieveValue(object, method);
+			Object value = ValueRetrieverSource.retrieveValue(object, retriever);
 
 			// Determine if further property navigation
 			if (name.length() > 0) {
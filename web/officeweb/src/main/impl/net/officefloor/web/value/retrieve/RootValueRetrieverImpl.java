@@ -20,6 +20,7 @@
 
 package net.officefloor.web.value.retrieve;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -33,9 +34,16 @@ import net.officefloor.server.http.HttpException;
 public class RootValueRetrieverImpl<T> implements ValueRetriever<T> {
 
 	/**
-	 * Mapping of the property name to the {@link RetrieverStruct}.
+	 * Property names indexed by their length. This allows matching the property
+	 * name directly from the name, without extracting it for look up.
 	 */
-	private final Map<String, RetrieveStruct> propertyToRetriever = new HashMap<String, RetrieveStruct>();
+	private final String[][] propertyNamesByLength;
+
+	/**
+	 * {@link RetrieveStruct} instances aligned to the
+	 * {@link #propertyNamesByLength}.
+	 */
+	private final RetrieveStruct[][] retrieversByLength;
 
 	/**
 	 * Indicates if case insensitive.
@@ -70,6 +78,8 @@ public class RootValueRetrieverImpl<T> implements ValueRetriever<T> {
 		this.isCaseInsensitive = isCaseInsensitive;
 
 		// Load the property retriever
+		Map<String, RetrieveStruct> propertyToRetriever = new HashMap<String, RetrieveStruct>();
+		int maxLength = -1;
 		for (PropertyMetaData property : properties) {
 
 			// Obtain the property name
@@ -84,8 +94,21 @@ public class RootValueRetrieverImpl<T> implements ValueRetriever<T> {
 			}
 
 			// Register the property retriever
-			this.propertyToRetriever.put(propertyName, new RetrieveStruct(propertyRetriever, property));
+			propertyToRetriever.put(propertyName, new RetrieveStruct(propertyRetriever, property));
+			maxLength = Math.max(maxLength, propertyName.length());
 		}
+
+		// Index the property retrievers by length of property name
+		this.propertyNamesByLength = new String[maxLength + 1][0];
+		this.retrieversByLength = new RetrieveStruct[maxLength + 1][0];
+		propertyToRetriever.forEach((propertyName, retriever) -> {
+			int length = propertyName.length();
+			int index = this.propertyNamesByLength[length].length;
+			this.propertyNamesByLength[length] = Arrays.copyOf(this.propertyNamesByLength[length], index + 1);
+			this.propertyNamesByLength[length][index] = propertyName;
+			this.retrieversByLength[length] = Arrays.copyOf(this.retrieversByLength[length], index + 1);
+			this.retrieversByLength[length][index] = retriever;
+		});
 	}
 
 	/*
@@ -173,25 +196,29 @@ public class RootValueRetrieverImpl<T> implements ValueRetriever<T> {
 	 */
 	private <R> R process(String name, Object object, Processor<R> processor) throws HttpException {
 
-		// Obtain the property name
-		String propertyName;
+		// Determine the extent of the property name
+		int propertyNameLength;
 		String remainingName;
 		int splitIndex = name.indexOf('.');
 		if (splitIndex < 0) {
-			propertyName = name;
+			propertyNameLength = name.length();
 			remainingName = "";
 		} else {
-			propertyName = name.substring(0, splitIndex);
+			propertyNameLength = splitIndex;
 			remainingName = name.substring(splitIndex + 1); // +1 ignore '.'
 		}
 
-		// Translate the property name
-		if (this.isCaseInsensitive) {
-			propertyName = propertyName.toLowerCase();
-		}
-
 		// Obtain the property value retrieve struct
-		RetrieveStruct retrieveStruct = this.propertyToRetriever.get(propertyName);
+		RetrieveStruct retrieveStruct = null;
+		if (propertyNameLength < this.propertyNamesByLength.length) {
+			String[] propertyNames = this.propertyNamesByLength[propertyNameLength];
+			FOUND: for (int i = 0; i < propertyNames.length; i++) {
+				if (name.regionMatches(this.isCaseInsensitive, 0, propertyNames[i], 0, propertyNameLength)) {
+					retrieveStruct = this.retrieversByLength[propertyNameLength][i];
+					break FOUND;
+				}
+			}
+		}
 
 		// Process
 		return processor.process(retrieveStruct, object, remainingName);
@@ -20,6 +20,9 @@
 
 package net.officefloor.web.value.retrieve;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -67,6 +70,48 @@ public class ValueRetrieverSource {
 		}
 	}
 
+	/**
+	 * Creates the {@link MethodHandle} to retrieve values via the {@link Method}.
+	 * 
+	 * @param method
+	 *            {@link Method} to retrieve the value.
+	 * @return {@link MethodHandle} to invoke with
+	 *         {@link #retrieveValue(Object, MethodHandle)}.
+	 * @throws IllegalAccessException
+	 *             If {@link Method} is not accessible.
+	 */
+	public static MethodHandle createRetriever(Method method) throws IllegalAccessException {
+		return MethodHandles.publicLookup().unreflect(method)
+				.asType(MethodType.methodType(Object.class, Object.class));
+	}
+
+	/**
+	 * Retrieves the value from the object.
+	 * 
+	 * @param object
+	 *            {@link Object} containing the value.
+	 * @param retriever
+	 *            {@link MethodHandle} from {@link #createRetriever(Method)}.
+	 * @return Value retrieved. May be <code>null</code>.
+	 * @throws Exception
+	 *             If fails to retrieve the value.
+	 */
+	public static Object retrieveValue(Object object, MethodHandle retriever) throws Exception {
+		try {
+
+			// Retrieve the value
+			return (Object) retriever.invokeExact(object);
+
+		} catch (Exception | Error ex) {
+			// Propagate failure of retrieving
+			throw ex;
+
+		} catch (Throwable ex) {
+			// Propagate as invocation failure
+			throw new InvocationTargetException(ex);
+		}
+	}
+
 	/**
 	 * Recursively creates the {@link PropertyMetaData} for the type.
 	 * 
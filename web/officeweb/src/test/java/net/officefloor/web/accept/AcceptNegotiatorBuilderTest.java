@@ -28,11 +28,14 @@ import net.officefloor.frame.test.OfficeFrameTestCase;
 import net.officefloor.server.http.HttpHeader;
 import net.officefloor.server.http.mock.MockHttpRequestBuilder;
 import net.officefloor.server.http.mock.MockHttpServer;
+import net.officefloor.web.accept.AcceptNegotiatorImpl.AcceptHandler;
 import net.officefloor.web.build.AcceptNegotiatorBuilder;
 import net.officefloor.web.build.NoAcceptHandlersException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -181,6 +184,63 @@ public class AcceptNegotiatorBuilderTest {
         }
     }
 
+    /**
+     * Ensure memoises the negotiation for the <code>accept</code> value.
+     */
+    @Test
+    public void memoiseNegotiation() throws Exception {
+        AcceptNegotiatorImpl<String> negotiator = this.negotiator(AcceptNegotiatorImpl.DEFAULT_MAX_MEMOISED_ACCEPT_VALUES,
+                "application/json", "text/html");
+
+        // Ensure same negotiation for same accept value
+        String[] first = negotiator.getHandler(this.request("text/html;q=0.9, application/json;q=0.1").build());
+        String[] second = negotiator.getHandler(this.request("text/html;q=0.9, application/json;q=0.1").build());
+        assertEquals("text/html", first[0], "Incorrect handler");
+        assertSame(first, second, "Should be memoised negotiation");
+        assertEquals(1, negotiator.getMemoisedAcceptValueCount(), "Incorrect number of memoised accept values");
+
+        // Ensure wild card accept continues to negotiate on content type
+        assertEquals("application/json",
+                negotiator.getHandler(this.request("*/*", "application/json").build())[0], "Incorrect JSON handler");
+        assertEquals("text/html", negotiator.getHandler(this.request("*/*", "text/html").build())[0],
+                "Incorrect HTML handler");
+
+        // Ensure multiple accept values are not memoised
+        String[] multiple = negotiator
+                .getHandler(this.request("text/plain").header("accept", "application/json").build());
+        assertEquals("application/json", multiple[0], "Incorrect handler for multiple accept values");
+        assertEquals(2, negotiator.getMemoisedAcceptValueCount(), "Should not memoise multiple accept values");
+    }
+
+    /**
+     * Ensure bounds the number of memoised <code>accept</code> values.
+     */
+    @Test
+    public void boundMemoisedNegotiations() throws Exception {
+        AcceptNegotiatorImpl<String> negotiator = this.negotiator(2, "text/html");
+        for (int i = 0; i < 10; i++) {
+            String[] handlers = negotiator.getHandler(this.request("text/html;v=" + i).build());
+            assertEquals("text/html", handlers[0], "Incorrect handler " + i);
+            assertTrue(negotiator.getMemoisedAcceptValueCount() <= 2, "Should bound memoised accept values");
+        }
+    }
+
+    /**
+     * Creates the {@link AcceptNegotiatorImpl}.
+     *
+     * @param maxMemoisedAcceptValues Maximum number of memoised <code>accept</code> values.
+     * @param contentTypes            <code>Content-Type</code> instances to create handlers.
+     * @return {@link AcceptNegotiatorImpl}.
+     */
+    @SuppressWarnings("unchecked")
+    private AcceptNegotiatorImpl<String> negotiator(int maxMemoisedAcceptValues, String... contentTypes) {
+        AcceptHandler<String>[] handlers = new AcceptHandler[contentTypes.length];
+        for (int i = 0; i < contentTypes.length; i++) {
+            handlers[i] = AcceptNegotiatorImpl.createAcceptHandler(contentTypes[i], new String[] { contentTypes[i] });
+        }
+        return new AcceptNegotiatorImpl<>(handlers, maxMemoisedAcceptValues);
+    }
+
     /**
      * Creates the {@link MockHttpRequestBuilder}.
      *
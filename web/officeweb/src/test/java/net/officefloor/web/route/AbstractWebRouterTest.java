@@ -304,6 +304,27 @@ public abstract class AbstractWebRouterTest extends OfficeFrameTestCase {
 		this.route("/image.png", T("{filename}.png", "filename", "/image"));
 	}
 
+	/**
+	 * Ensure routes on the path as provided (not on its canonical path).
+	 */
+	public void testNotMatchParentSegmentPath() {
+		this.route("/other/../path", R("/path"));
+	}
+
+	/**
+	 * Ensure routes on the path as provided (not on its canonical path).
+	 */
+	public void testNotMatchEmptySegmentPath() {
+		this.route("//path", R("/path"));
+	}
+
+	/**
+	 * Ensure not route invalid non-canonical path.
+	 */
+	public void testNotMatchInvalidCanonicalPath() {
+		this.route("/../../path", R("/path"));
+	}
+
 	/**
 	 * Ensure can match OPTIONS request on any path with application handling.
 	 */
@@ -28,6 +28,7 @@ import net.officefloor.server.http.HttpException;
 import net.officefloor.server.http.HttpHeader;
 import net.officefloor.server.http.HttpMethod;
 import net.officefloor.server.http.HttpRequest;
+import net.officefloor.server.http.ServerHttpConnection;
 import net.officefloor.server.http.UsAsciiUtil;
 import net.officefloor.server.http.mock.MockHttpRequestBuilder;
 import net.officefloor.server.http.mock.MockHttpServer;
@@ -157,6 +158,36 @@ public class HttpRequestTokeniserTest extends OfficeFrameTestCase {
 		this.doTest(HttpMethod.POST, "/path", entity, "content-type", "application/x-www-form-urlencoded");
 	}
 
+	/**
+	 * Ensure can load POST request with multi-byte characters.
+	 */
+	public void testPostWithMultiByteCharacters() throws Exception {
+		final String entity = "Name=J\u00fcrgen&Escaped=%41\u00e9";
+		this.loader.loadValue("content-type", "application/x-www-form-urlencoded", HttpValueLocation.HEADER);
+		this.loader.loadValue("content-length",
+				String.valueOf(entity.getBytes(ServerHttpConnection.DEFAULT_HTTP_ENTITY_CHARSET).length),
+				HttpValueLocation.HEADER);
+		this.loader.loadValue("Name", "J\u00fcrgen", HttpValueLocation.ENTITY);
+		this.loader.loadValue("Escaped", "A\u00e9", HttpValueLocation.ENTITY);
+		this.doTest(HttpMethod.POST, "/path", entity, "content-type", "application/x-www-form-urlencoded");
+	}
+
+	/**
+	 * Ensure can load POST request with large entity.
+	 */
+	public void testPostWithLargeEntity() throws Exception {
+		StringBuilder entity = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			entity.append(i == 0 ? "" : "&").append("name").append(i).append("=value+").append(i);
+		}
+		this.loader.loadValue("content-type", "application/x-www-form-urlencoded", HttpValueLocation.HEADER);
+		this.loader.loadValue("content-length", String.valueOf(entity.length()), HttpValueLocation.HEADER);
+		for (int i = 0; i < 1000; i++) {
+			this.loader.loadValue("name" + i, "value " + i, HttpValueLocation.ENTITY);
+		}
+		this.doTest(HttpMethod.POST, "/path", entity.toString(), "content-type", "application/x-www-form-urlencoded");
+	}
+
 	/**
 	 * Ensure can tokenise {@link HttpCookie} values.
 	 */
@@ -146,6 +146,16 @@ public class ValueLoaderTest extends OfficeFrameTestCase {
 		this.doTest(V("Ignore", "not load"));
 	}
 
+	/**
+	 * Ensure ignores unknown properties, including those of similar name.
+	 */
+	public void testIgnoreUnknownProperties() {
+		this.isCaseSensitive = false;
+		this.object.setPropertyOne("LOAD");
+		this.doTest(V("PropertyOnf", "not load"), V("Property", "not load"), V("PropertyOneExtra", "not load"),
+				V("", "not load"), V("Unknown.PropertyA", "not load"), V("PROPERTYone", "LOAD"));
+	}
+
 	/**
 	 * Ensure can load properties via aliases.
 	 */
@@ -441,6 +451,22 @@ public class ValueLoaderTest extends OfficeFrameTestCase {
 		assertEquals("Incorrect field value", "value", field.property);
 	}
 
+	/**
+	 * Ensure can load onto non-public type inheriting public setters.
+	 */
+	public void testNonPublicTypeInheritingPublicSetters() throws Exception {
+
+		// Create the value loader for the non-public type
+		ValueLoaderSource source = new ValueLoaderSource(MockNonPublicType.class, false, this.aliasMappings,
+				this.instantiator);
+		ValueLoaderFactory<MockNonPublicType> factory = source.sourceValueLoaderFactory(MockNonPublicType.class);
+
+		// Ensure can load the inherited property
+		MockNonPublicType object = new MockNonPublicType();
+		factory.createValueLoader(object).loadValue("Property", "VALUE", HttpValueLocation.QUERY);
+		assertEquals("Incorrect inherited value", "VALUE", object.property);
+	}
+
 	/**
 	 * Maps an alias for a name.
 	 * 
@@ -631,6 +657,24 @@ public class ValueLoaderTest extends OfficeFrameTestCase {
 		void setValue(String value);
 	}
 
+	/**
+	 * Mock public type providing public setters.
+	 */
+	public static class MockPublicType {
+
+		protected String property;
+
+		public void setProperty(String value) {
+			this.property = value;
+		}
+	}
+
+	/**
+	 * Mock non-public type inheriting the public setters.
+	 */
+	static class MockNonPublicType extends MockPublicType {
+	}
+
 	/**
 	 * Mock object with field annotated parameter.
 	 */
@@ -64,6 +64,14 @@ public class RetrieveValueTest extends OfficeFrameTestCase {
 		this.doTest("Unknown", null);
 	}
 
+	/**
+	 * Ensure no value on unknown property of similar name to a known property.
+	 */
+	public void testUnknownPropertyOfSimilarName() {
+		this.isCaseSensitive = false;
+		this.doTest("Valve", null, "Val", null, "ValueExtra", null, "", null, "Valve.Text", null);
+	}
+
 	/**
 	 * Ensure able to obtain object <code>toString</code> value.
 	 */
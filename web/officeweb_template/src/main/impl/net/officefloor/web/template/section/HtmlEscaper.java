@@ -0,0 +1,120 @@
+/*-
+ * #%L
+ * Web Template
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.web.template.section;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.EntityArrays;
+
+/**
+ * <p>
+ * Escapes HTML content for rendering.
+ * <p>
+ * Escapes the same characters as {@link StringEscapeUtils#ESCAPE_HTML4}.
+ * However, rather than translating and writing each character individually,
+ * the escaped entity is looked up directly by character and the unescaped runs
+ * of characters are written in bulk. This avoids allocations and the per
+ * character writes to the {@link Writer}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class HtmlEscaper {
+
+	/**
+	 * Escaped entities indexed by the character.
+	 */
+	private static final String[] ENTITIES;
+
+	static {
+		// Entities in order of precedence for escaping
+		@SuppressWarnings("unchecked")
+		Map<CharSequence, CharSequence>[] entityArrays = new Map[] { EntityArrays.BASIC_ESCAPE,
+				EntityArrays.ISO8859_1_ESCAPE, EntityArrays.HTML40_EXTENDED_ESCAPE };
+
+		// Determine the largest character to escape
+		int maxCharacter = 0;
+		for (Map<CharSequence, CharSequence> entities : entityArrays) {
+			for (CharSequence character : entities.keySet()) {
+				maxCharacter = Math.max(maxCharacter, character.charAt(0));
+			}
+		}
+
+		// Index the entities by character (first entity taking precedence)
+		ENTITIES = new String[maxCharacter + 1];
+		for (Map<CharSequence, CharSequence> entities : entityArrays) {
+			entities.forEach((character, entity) -> {
+				int index = character.charAt(0);
+				if (ENTITIES[index] == null) {
+					ENTITIES[index] = entity.toString();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Writes the HTML escaped text.
+	 * 
+	 * @param text   Text to escape.
+	 * @param writer {@link Writer} to receive the escaped text.
+	 * @throws IOException If fails to write the escaped text.
+	 */
+	public static void escape(String text, Writer writer) throws IOException {
+
+		// Write the text (escaping as necessary)
+		int length = text.length();
+		int unescapedStart = 0;
+		for (int i = 0; i < length; i++) {
+			char character = text.charAt(i);
+
+			// Determine if escape the character
+			String entity = (character < ENTITIES.length) ? ENTITIES[character] : null;
+			if (entity == null) {
+				continue; // character not escaped
+			}
+
+			// Write the unescaped characters before the entity
+			if (unescapedStart < i) {
+				writer.write(text, unescapedStart, i - unescapedStart);
+			}
+
+			// Write the entity
+			writer.write(entity);
+			unescapedStart = i + 1;
+		}
+
+		// Write the remaining unescaped characters
+		if (unescapedStart == 0) {
+			writer.write(text);
+		} else if (unescapedStart < length) {
+			writer.write(text, unescapedStart, length - unescapedStart);
+		}
+	}
+
+	/**
+	 * All access via static methods.
+	 */
+	private HtmlEscaper() {
+	}
+
+}
@@ -23,8 +23,6 @@ package net.officefloor.web.template.section;
 import java.io.IOException;
 import java.lang.reflect.Method;
 
-import org.apache.commons.text.StringEscapeUtils;
-
 import net.officefloor.server.http.HttpException;
 import net.officefloor.server.http.ServerHttpConnection;
 import net.officefloor.server.stream.ServerWriter;
@@ -107,7 +105,7 @@ public class PropertyWebTemplateWriter implements WebTemplateWriter {
 			// Write out the value
 			if (this.isEscaped) {
 				// Write the escaped value
-				StringEscapeUtils.ESCAPE_HTML4.translate(propertyTextValue, writer);
+				HtmlEscaper.escape(propertyTextValue, writer);
 			} else {
 				// Write the raw value
 				writer.write(propertyTextValue);
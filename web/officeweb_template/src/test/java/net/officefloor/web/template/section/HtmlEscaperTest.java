@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * Web Template
+ * %%
+ * Copyright (C) 2005 - 2020 Daniel Sagenschneider
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package net.officefloor.web.template.section;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+import net.officefloor.frame.test.OfficeFrameTestCase;
+
+/**
+ * Tests the {@link HtmlEscaper}.
+ * 
+ * @author Daniel Sagenschneider
+ */
+public class HtmlEscaperTest extends OfficeFrameTestCase {
+
+	/**
+	 * Ensure writes text not requiring escaping.
+	 */
+	public void testNoEscaping() throws IOException {
+		this.assertEscape("");
+		this.assertEscape("Plain text");
+	}
+
+	/**
+	 * Ensure escapes the basic HTML characters.
+	 */
+	public void testBasicEscaping() throws IOException {
+		this.assertEscape("<a href=\"link\">Tom & Jerry</a>");
+		this.assertEscape("<>&\"");
+		this.assertEscape("'single quote not escaped'");
+	}
+
+	/**
+	 * Ensure escapes the entity characters.
+	 */
+	public void testEntityEscaping() throws IOException {
+		this.assertEscape("caf\u00e9 \u00a9 \u03b1\u03b2 \u2264 \u20ac");
+		this.assertEscape("surrogate \ud83d\ude00 pair");
+	}
+
+	/**
+	 * Ensure escapes every character as per {@link StringEscapeUtils}.
+	 */
+	public void testEscapeAllCharacters() throws IOException {
+		for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+			if (Character.isSurrogate((char) i)) {
+				continue; // only valid as pair
+			}
+			this.assertEscape("a" + ((char) i) + "b");
+		}
+	}
+
+	/**
+	 * Asserts the escaping of the text.
+	 * 
+	 * @param text Text to escape.
+	 */
+	private void assertEscape(String text) throws IOException {
+		StringWriter writer = new StringWriter();
+		HtmlEscaper.escape(text, writer);
+		assertEquals("Incorrect escaping for '" + text + "'", StringEscapeUtils.ESCAPE_HTML4.translate(text),
+				writer.toString());
+	}
+
+}